@@ -0,0 +1,52 @@
+-- ========================================
+-- 로그 테이블 tx_id (change feed / 해시 체인)
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/001_log_tx_id.sql
+--
+-- 애플리케이션은 이 DDL을 실행하지 않는다. 컬럼이 없으면 change feed 릴레이와 무결성 봉인이 시작하지 않고 오류 로그를 남긴다.
+-- 모두 멱등이며, 기존 행을 재작성하지 않는다.
+--   - ADD COLUMN은 기본값 없이 추가하므로 카탈로그만 바뀐다 (짧은 ACCESS EXCLUSIVE 잠금)
+--   - SET DEFAULT는 이후 삽입되는 행에만 적용된다. 기존 행(NULL)은 발행/봉인 대상이 아니다
+--   - CREATE INDEX CONCURRENTLY는 트랜잭션 블록 안에서 실행할 수 없으므로 psql 기본(autocommit)으로 실행한다
+-- lock_timeout으로 긴 트랜잭션 뒤에 줄을 서서 수집을 막지 않도록 한다. 실패하면 다시 실행한다.
+
+SET lock_timeout = '5s';
+
+ALTER TABLE log_service.p_reservation_seat_log ADD COLUMN IF NOT EXISTS tx_id BIGINT;
+ALTER TABLE log_service.p_arthall_domain_log ADD COLUMN IF NOT EXISTS tx_id BIGINT;
+ALTER TABLE log_service.p_product_log ADD COLUMN IF NOT EXISTS tx_id BIGINT;
+ALTER TABLE log_service.p_reservation_log ADD COLUMN IF NOT EXISTS tx_id BIGINT;
+ALTER TABLE log_service.p_ticket_log ADD COLUMN IF NOT EXISTS tx_id BIGINT;
+ALTER TABLE log_service.p_payment_log ADD COLUMN IF NOT EXISTS tx_id BIGINT;
+ALTER TABLE log_service.p_user_log ADD COLUMN IF NOT EXISTS tx_id BIGINT;
+ALTER TABLE log_service.p_auth_log ADD COLUMN IF NOT EXISTS tx_id BIGINT;
+
+ALTER TABLE log_service.p_reservation_seat_log ALTER COLUMN tx_id SET DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_arthall_domain_log ALTER COLUMN tx_id SET DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_product_log ALTER COLUMN tx_id SET DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_reservation_log ALTER COLUMN tx_id SET DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_ticket_log ALTER COLUMN tx_id SET DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_payment_log ALTER COLUMN tx_id SET DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_user_log ALTER COLUMN tx_id SET DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_auth_log ALTER COLUMN tx_id SET DEFAULT (pg_current_xact_id()::text::bigint);
+
+RESET lock_timeout;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS brin_reservation_seat_log_tx_id ON log_service.p_reservation_seat_log USING BRIN (tx_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS brin_arthall_domain_log_tx_id ON log_service.p_arthall_domain_log USING BRIN (tx_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS brin_product_log_tx_id ON log_service.p_product_log USING BRIN (tx_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS brin_reservation_log_tx_id ON log_service.p_reservation_log USING BRIN (tx_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS brin_ticket_log_tx_id ON log_service.p_ticket_log USING BRIN (tx_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS brin_payment_log_tx_id ON log_service.p_payment_log USING BRIN (tx_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS brin_user_log_tx_id ON log_service.p_user_log USING BRIN (tx_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS brin_auth_log_tx_id ON log_service.p_auth_log USING BRIN (tx_id);
+
+CREATE TABLE IF NOT EXISTS log_service.p_change_feed_offset
+(
+    table_name    VARCHAR(100) PRIMARY KEY,
+    last_tx_id    BIGINT       NOT NULL,
+    last_id       UUID         NOT NULL,
+    updated_at    TIMESTAMP    NOT NULL,
+    claimed_until TIMESTAMP    NULL
+);
@@ -0,0 +1,27 @@
+-- ========================================
+-- 로그 테이블 id 유일 인덱스 (재전달/백필 중복 방지)
+-- ========================================
+-- init.sql로 만든 새 DB에는 id가 PRIMARY KEY로 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/002_log_id_unique.sql
+--
+-- Consumer는 INSERT ... ON CONFLICT DO NOTHING으로 재전달된 메시지를 건너뛰고, 백필은 ON CONFLICT (id)로 청크 사이와
+-- 기존 행과의 중복을 건너뛴다. 이 인덱스가 없으면 Consumer는 중복을 막지 못하고 백필은 시작하지 않는다.
+-- 모두 멱등이다.
+--   - 유일 인덱스를 만들기 전에 같은 id의 중복 행을 하나만 남기고 지운다 (id별 가장 먼저 들어간 행을 남긴다)
+--   - CREATE INDEX CONCURRENTLY는 트랜잭션 블록 안에서 실행할 수 없으므로 psql 기본(autocommit)으로 실행한다
+--   - 중간에 실패하면 INVALID 인덱스가 남는다. 인덱스를 지우고 다시 실행한다
+-- p_reservation_seat_log, p_arthall_domain_log는 id가 처음부터 PRIMARY KEY이다.
+
+DELETE FROM log_service.p_product_log a USING log_service.p_product_log b WHERE a.id = b.id AND a.ctid > b.ctid;
+DELETE FROM log_service.p_reservation_log a USING log_service.p_reservation_log b WHERE a.id = b.id AND a.ctid > b.ctid;
+DELETE FROM log_service.p_ticket_log a USING log_service.p_ticket_log b WHERE a.id = b.id AND a.ctid > b.ctid;
+DELETE FROM log_service.p_payment_log a USING log_service.p_payment_log b WHERE a.id = b.id AND a.ctid > b.ctid;
+DELETE FROM log_service.p_user_log a USING log_service.p_user_log b WHERE a.id = b.id AND a.ctid > b.ctid;
+DELETE FROM log_service.p_auth_log a USING log_service.p_auth_log b WHERE a.id = b.id AND a.ctid > b.ctid;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_product_log_id ON log_service.p_product_log (id);
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_reservation_log_id ON log_service.p_reservation_log (id);
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_ticket_log_id ON log_service.p_ticket_log (id);
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_payment_log_id ON log_service.p_payment_log (id);
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_user_log_id ON log_service.p_user_log (id);
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_auth_log_id ON log_service.p_auth_log (id);
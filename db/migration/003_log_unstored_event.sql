@@ -0,0 +1,20 @@
+-- ========================================
+-- 저장하지 않는 이벤트의 재전달 방지 테이블
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/003_log_unstored_event.sql
+--
+-- 저장 수준 정책(log.fidelity)으로 샘플링에서 빠지거나 롤업된 이벤트는 로그 행이 없어 ON CONFLICT로 재전달을 거를 수 없다.
+-- Consumer는 이벤트 ID를 이 테이블에 넣어 재전달을 거르고, log.fidelity.dedup-retention이 지난 행을 지운다.
+-- 이 테이블이 없으면 저장하지 않는 이벤트의 처리가 실패해 DLQ로 간다. 모두 멱등이다.
+
+CREATE TABLE IF NOT EXISTS log_service.p_log_unstored_event
+(
+    domain      VARCHAR(50) NOT NULL,
+    event_id    UUID        NOT NULL,
+    received_at TIMESTAMP   NOT NULL,
+    PRIMARY KEY (domain, event_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_log_unstored_event_received_at
+    ON log_service.p_log_unstored_event (received_at);
@@ -0,0 +1,19 @@
+-- ========================================
+-- change feed 오프셋 테이블
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/004_change_feed_offset.sql
+--
+-- 애플리케이션은 이 DDL을 실행하지 않는다. 테이블이나 선점 컬럼(claimed_until)이 없으면 change feed 릴레이가 시작하지 않고 오류 로그를 남긴다.
+-- 선점 컬럼이 없던 버전이 만든 테이블에는 컬럼만 추가한다. 모두 멱등이다.
+
+CREATE TABLE IF NOT EXISTS log_service.p_change_feed_offset
+(
+    table_name    VARCHAR(100) PRIMARY KEY,
+    last_tx_id    BIGINT       NOT NULL, -- 마지막으로 발행한 행의 (tx_id, id)
+    last_id       UUID         NOT NULL,
+    updated_at    TIMESTAMP    NOT NULL,
+    claimed_until TIMESTAMP    NULL      -- 발행 중인 인스턴스의 선점 기한 (오프셋 저장 시 해제)
+);
+
+ALTER TABLE log_service.p_change_feed_offset ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
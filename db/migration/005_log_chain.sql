@@ -0,0 +1,33 @@
+-- ========================================
+-- 해시 체인 / 체크포인트 테이블 (변조 탐지)
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/005_log_chain.sql
+--
+-- 애플리케이션은 이 DDL을 실행하지 않는다. 테이블이 없으면 무결성 봉인이 시작하지 않고 오류 로그를 남긴다.
+-- 봉인은 로그 테이블의 tx_id 컬럼도 필요하다 (001_log_tx_id.sql). 모두 멱등이다.
+
+CREATE TABLE IF NOT EXISTS log_service.p_log_chain
+(
+    table_name VARCHAR(100) NOT NULL,
+    seq        BIGINT       NOT NULL, -- 테이블 내 체인 순번 (1부터)
+    log_id     UUID         NOT NULL,
+    tx_id      BIGINT       NOT NULL,
+    chain_hash BYTEA        NOT NULL, -- SHA-256(직전 chain_hash | 행)
+    sealed_at  TIMESTAMP    NOT NULL,
+    PRIMARY KEY (table_name, seq)
+);
+
+CREATE INDEX IF NOT EXISTS idx_log_chain_sealed_at
+    ON log_service.p_log_chain (table_name, sealed_at);
+
+-- 체인 구간의 Merkle 루트 (로그로도 출력되어 DB 밖에 남는다)
+CREATE TABLE IF NOT EXISTS log_service.p_log_checkpoint
+(
+    table_name  VARCHAR(100) NOT NULL,
+    to_seq      BIGINT       NOT NULL,
+    from_seq    BIGINT       NOT NULL,
+    merkle_root BYTEA        NOT NULL,
+    created_at  TIMESTAMP    NOT NULL,
+    PRIMARY KEY (table_name, to_seq)
+);
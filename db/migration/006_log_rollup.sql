@@ -0,0 +1,17 @@
+-- ========================================
+-- 저장 수준 정책 롤업 집계 테이블
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/006_log_rollup.sql
+--
+-- 애플리케이션은 이 DDL을 실행하지 않는다. 테이블이 없으면 ROLLUP 이벤트의 건수를 메모리에 둔 채 반영하지 않고 오류 로그를 남긴다.
+-- 모두 멱등이다.
+
+CREATE TABLE IF NOT EXISTS log_service.p_log_rollup
+(
+    domain       VARCHAR(50)  NOT NULL,
+    action_type  VARCHAR(100) NOT NULL,
+    bucket_start TIMESTAMP    NOT NULL,
+    event_count  BIGINT       NOT NULL,
+    PRIMARY KEY (domain, action_type, bucket_start)
+);
@@ -0,0 +1,22 @@
+-- ========================================
+-- 스트림 소비 오프셋 테이블
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/007_stream_offset.sql
+--
+-- 애플리케이션은 이 DDL을 실행하지 않는다. log.stream.enabled를 켜기 전에 적용한다. 테이블이 없으면 스트림 소비 전환과 오프셋 저장이 실패한다.
+-- 되감기(replay) 대상 테이블도 애플리케이션이 만들지 않는다. 되감기 전에 도메인 테이블을 복사해 만들어 둔다. 예:
+--   CREATE TABLE log_service.p_payment_log_replay (LIKE log_service.p_payment_log INCLUDING DEFAULTS);
+--   CREATE UNIQUE INDEX ON log_service.p_payment_log_replay (id);
+-- 모두 멱등이다.
+
+CREATE TABLE IF NOT EXISTS log_service.p_stream_offset
+(
+    stream         VARCHAR(255) NOT NULL,
+    consumer_name  VARCHAR(255) NOT NULL, -- log-service (실시간) 또는 replay:<대상 테이블>
+    position_kind  VARCHAR(20)  NOT NULL, -- FIRST, NEXT, OFFSET, TIMESTAMP
+    position_value BIGINT       NOT NULL,
+    generation     BIGINT       NOT NULL, -- 되감을 때마다 증가
+    updated_at     TIMESTAMP    NOT NULL,
+    PRIMARY KEY (stream, consumer_name)
+);
@@ -0,0 +1,21 @@
+-- ========================================
+-- 오프라인 백필 체크포인트 테이블
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/008_backfill_checkpoint.sql
+--
+-- 애플리케이션은 이 DDL을 실행하지 않는다. 테이블이 없으면 백필이 시작하지 않고 실패한다.
+-- 적재 대상 로그 테이블의 id 유일 인덱스(002_log_id_unique.sql)도 필요하다. 모두 멱등이다.
+
+CREATE TABLE IF NOT EXISTS log_service.p_backfill_checkpoint
+(
+    fingerprint  VARCHAR(64)  NOT NULL, -- 파일 크기 + 앞뒤 64KiB의 SHA-256
+    chunk_start  BIGINT       NOT NULL, -- 바이트 구간 [chunk_start, chunk_end)
+    chunk_end    BIGINT       NOT NULL,
+    file_name    VARCHAR(255) NOT NULL,
+    row_count    BIGINT       NOT NULL,
+    inserted     BIGINT       NOT NULL,
+    invalid      BIGINT       NOT NULL,
+    completed_at TIMESTAMP    NOT NULL,
+    PRIMARY KEY (fingerprint, chunk_start, chunk_end)
+);
@@ -0,0 +1,34 @@
+-- ========================================
+-- 비동기 조회 작업 테이블
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/009_query_job.sql
+--
+-- 애플리케이션은 이 DDL을 실행하지 않는다. 테이블이 없으면 조회 작업 제출이 실패한다. 모두 멱등이다.
+
+CREATE TABLE IF NOT EXISTS log_service.p_query_job
+(
+    job_id         UUID PRIMARY KEY,
+    user_id        UUID             NOT NULL,
+    domain         VARCHAR(30)      NOT NULL,
+    from_at        TIMESTAMP        NOT NULL, -- 발생 시각 구간 [from_at, to_at)
+    to_at          TIMESTAMP        NOT NULL,
+    action_types   TEXT,                      -- 쉼표로 이은 액션 타입 (조건이 없으면 NULL)
+    entity_id      VARCHAR(64),
+    actor_user_id  UUID,
+    estimated_cost DOUBLE PRECISION,
+    estimated_rows BIGINT,
+    status         VARCHAR(20)      NOT NULL, -- QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    message        TEXT,
+    row_count      BIGINT           NOT NULL DEFAULT 0,
+    truncated      BOOLEAN          NOT NULL DEFAULT FALSE,
+    submitted_at   TIMESTAMP        NOT NULL,
+    started_at     TIMESTAMP,
+    finished_at    TIMESTAMP,
+    heartbeat_at   TIMESTAMP        NOT NULL  -- 실행 인스턴스의 마지막 기록 (orphan-timeout 기준)
+);
+
+CREATE INDEX IF NOT EXISTS idx_query_job_user_active
+    ON log_service.p_query_job (user_id) WHERE status IN ('QUEUED', 'RUNNING');
+CREATE INDEX IF NOT EXISTS idx_query_job_finished_at
+    ON log_service.p_query_job (finished_at);
@@ -0,0 +1,20 @@
+-- ========================================
+-- 수집 경로 확률적 요약 테이블
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/010_log_sketch.sql
+--
+-- 애플리케이션은 이 DDL을 실행하지 않는다. 테이블이 없으면 요약을 메모리에 둔 채 반영하지 않고, 요약 조회는 빈 결과를 돌려준다.
+-- 모두 멱등이다.
+
+CREATE TABLE IF NOT EXISTS log_service.p_log_sketch
+(
+    kind         VARCHAR(20)  NOT NULL, -- DISTINCT_USERS, TOP_ENTITIES
+    domain       VARCHAR(50)  NOT NULL,
+    scope        VARCHAR(100) NOT NULL, -- * 또는 상품 / 공연장 ID
+    bucket_start TIMESTAMP    NOT NULL,
+    action_type  VARCHAR(100) NOT NULL,
+    sketch       BYTEA        NOT NULL,
+    updated_at   TIMESTAMP    NOT NULL,
+    PRIMARY KEY (kind, domain, scope, bucket_start, action_type)
+);
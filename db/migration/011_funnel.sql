@@ -0,0 +1,36 @@
+-- ========================================
+-- 판매 퍼널 집계 / 여정 테이블
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/011_funnel.sql
+--
+-- 애플리케이션은 이 DDL을 실행하지 않는다. 테이블이 없으면 퍼널 집계를 메모리에 둔 채 반영하지 않고 여정 저장은 실패해 다음 주기에 다시 시도한다.
+-- 모두 멱등이다.
+
+CREATE TABLE IF NOT EXISTS log_service.p_funnel_stat
+(
+    product_key  VARCHAR(100) NOT NULL, -- 상품 ID 또는 unattributed
+    bucket_start TIMESTAMP    NOT NULL,
+    stage        VARCHAR(20)  NOT NULL,
+    metric       VARCHAR(20)  NOT NULL,
+    le_ms        BIGINT       NOT NULL, -- LATENCY 구간 상한 (그 외 0)
+    value        BIGINT       NOT NULL,
+    PRIMARY KEY (product_key, bucket_start, stage, metric, le_ms)
+);
+
+CREATE TABLE IF NOT EXISTS log_service.p_funnel_journey
+(
+    actor_user_id    UUID PRIMARY KEY,
+    product_id       VARCHAR(100),          -- 아직 모르면 NULL
+    stage            VARCHAR(20) NOT NULL,  -- 마지막으로 도달한 단계
+    started_at       TIMESTAMP   NOT NULL,  -- 첫 좌석 선점 시각
+    stage_at         TIMESTAMP   NOT NULL,  -- 마지막 단계 시각 (journey-ttl 만료 기준)
+    seat_held_ms     BIGINT,                -- 단계 진입 소요 시간 (모르면 NULL)
+    reserved_ms      BIGINT,
+    paid_ms          BIGINT,
+    ticket_issued_ms BIGINT,
+    version          BIGINT      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_funnel_journey_stage_at
+    ON log_service.p_funnel_journey (stage_at);
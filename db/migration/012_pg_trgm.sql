@@ -0,0 +1,10 @@
+-- ========================================
+-- 식별자 부분/유사 일치 검색용 trigram 확장
+-- ========================================
+-- init.sql로 만든 새 DB에는 이미 포함되어 있다. 기존 DB에만 적용한다.
+--   psql "$DB_URL" -f db/migration/012_pg_trgm.sql
+--
+-- 애플리케이션은 이 DDL을 실행하지 않는다. 확장이 없으면 관리 인덱스 중 gin_trgm_ops 인덱스만 만들지 않는다.
+-- 확장 생성 권한이 필요하다. 멱등이다.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
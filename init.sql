@@ -1,5 +1,8 @@
 CREATE SCHEMA IF NOT EXISTS log_service;
 
+-- 식별자 부분/유사 일치 검색 (gin_trgm_ops)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 CREATE TABLE log_service.p_reservation_seat_log
 (
     id                  UUID PRIMARY KEY,
@@ -32,7 +35,7 @@ CREATE TABLE log_service.p_arthall_domain_log
 
 CREATE TABLE log_service.p_product_log
 (
-    id            UUID        NOT NULL,
+    id            UUID PRIMARY KEY,
 
     product_id    BIGINT      NOT NULL,
 
@@ -46,7 +49,7 @@ CREATE TABLE log_service.p_product_log
 
 CREATE TABLE log_service.p_reservation_log
 (
-    id                 UUID         NOT NULL,
+    id                 UUID PRIMARY KEY,
 
     reservation_id     UUID         NOT NULL,
     reservation_number VARCHAR(255) NULL,
@@ -61,7 +64,7 @@ CREATE TABLE log_service.p_reservation_log
 
 CREATE TABLE log_service.p_ticket_log
 (
-    id             UUID         NOT NULL,
+    id             UUID PRIMARY KEY,
 
     ticket_id      UUID         NOT NULL,
     receive_method VARCHAR(255) NULL,
@@ -76,7 +79,7 @@ CREATE TABLE log_service.p_ticket_log
 
 CREATE TABLE log_service.p_payment_log
 (
-    id            UUID         NOT NULL,
+    id            UUID PRIMARY KEY,
     payment_id    UUID         NOT NULL,
     method        VARCHAR(255) NULL,
     retry_count   INT          NOT NULL DEFAULT 0,
@@ -88,7 +91,7 @@ CREATE TABLE log_service.p_payment_log
 
 CREATE TABLE log_service.p_user_log
 (
-    id            UUID        NOT NULL,
+    id            UUID PRIMARY KEY,
     user_id       UUID        NOT NULL,
     action_type   VARCHAR(50) NOT NULL,
     actor_type    VARCHAR(20) NOT NULL,
@@ -98,9 +101,348 @@ CREATE TABLE log_service.p_user_log
 
 CREATE TABLE log_service.p_auth_log
 (
-    id            UUID        NOT NULL,
+    id            UUID PRIMARY KEY,
     action_type   VARCHAR(50) NOT NULL,
     actor_type    VARCHAR(20) NOT NULL,
     actor_user_id UUID        NOT NULL, -- auth_id
     occurred_at   TIMESTAMP   NOT NULL
 );
+
+
+-- ========================================
+-- 보조 인덱스 (ManagedIndexes와 동일하게 유지)
+-- ========================================
+-- 엔티티 타임라인: (entity_id, occurred_at) / 기간 조회: occurred_at BRIN / 드문 행위: 부분 인덱스
+-- 식별자 검색: 정규화 키 식 B-tree(text_pattern_ops) + GIN trigram
+
+-- 예매 좌석
+CREATE INDEX idx_reservation_seat_log_seat_occurred_at
+    ON log_service.p_reservation_seat_log (reservation_seat_id, occurred_at);
+CREATE INDEX idx_reservation_seat_log_actor_occurred_at
+    ON log_service.p_reservation_seat_log (actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL;
+CREATE INDEX brin_reservation_seat_log_occurred_at
+    ON log_service.p_reservation_seat_log USING BRIN (occurred_at);
+CREATE INDEX idx_reservation_seat_log_seat_number_key
+    ON log_service.p_reservation_seat_log
+    ((upper(regexp_replace(seat_number, '[^[:alnum:]]', '', 'g'))) text_pattern_ops, occurred_at)
+    INCLUDE (reservation_seat_id) WHERE seat_number IS NOT NULL;
+CREATE INDEX idx_reservation_seat_log_seat_number_trgm
+    ON log_service.p_reservation_seat_log
+    USING GIN ((upper(regexp_replace(seat_number, '[^[:alnum:]]', '', 'g'))) gin_trgm_ops)
+    WHERE seat_number IS NOT NULL;
+
+-- 아트홀
+CREATE INDEX idx_arthall_domain_log_domain_occurred_at
+    ON log_service.p_arthall_domain_log (domain_type, domain_id, occurred_at);
+CREATE INDEX brin_arthall_domain_log_occurred_at
+    ON log_service.p_arthall_domain_log USING BRIN (occurred_at);
+
+-- 상품
+CREATE INDEX idx_product_log_product_occurred_at
+    ON log_service.p_product_log (product_id, occurred_at);
+CREATE INDEX idx_product_log_actor_occurred_at
+    ON log_service.p_product_log (actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL;
+CREATE INDEX brin_product_log_occurred_at
+    ON log_service.p_product_log USING BRIN (occurred_at);
+
+-- 예매
+CREATE INDEX idx_reservation_log_reservation_occurred_at
+    ON log_service.p_reservation_log (reservation_id, occurred_at);
+CREATE INDEX idx_reservation_log_actor_occurred_at
+    ON log_service.p_reservation_log (actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL;
+CREATE INDEX brin_reservation_log_occurred_at
+    ON log_service.p_reservation_log USING BRIN (occurred_at);
+CREATE INDEX idx_reservation_log_reservation_number_key
+    ON log_service.p_reservation_log
+    ((upper(regexp_replace(reservation_number, '[^[:alnum:]]', '', 'g'))) text_pattern_ops, occurred_at)
+    INCLUDE (reservation_id) WHERE reservation_number IS NOT NULL;
+CREATE INDEX idx_reservation_log_reservation_number_trgm
+    ON log_service.p_reservation_log
+    USING GIN ((upper(regexp_replace(reservation_number, '[^[:alnum:]]', '', 'g'))) gin_trgm_ops)
+    WHERE reservation_number IS NOT NULL;
+
+-- 티켓
+CREATE INDEX idx_ticket_log_ticket_occurred_at
+    ON log_service.p_ticket_log (ticket_id, occurred_at);
+CREATE INDEX idx_ticket_log_actor_occurred_at
+    ON log_service.p_ticket_log (actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL;
+CREATE INDEX brin_ticket_log_occurred_at
+    ON log_service.p_ticket_log USING BRIN (occurred_at);
+
+-- 결제
+CREATE INDEX idx_payment_log_payment_occurred_at
+    ON log_service.p_payment_log (payment_id, occurred_at);
+CREATE INDEX idx_payment_log_fail_refund_occurred_at
+    ON log_service.p_payment_log (occurred_at) INCLUDE (payment_id, action_type)
+    WHERE action_type IN ('FAIL', 'REFUND');
+CREATE INDEX idx_payment_log_actor_occurred_at
+    ON log_service.p_payment_log (actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL;
+CREATE INDEX brin_payment_log_occurred_at
+    ON log_service.p_payment_log USING BRIN (occurred_at);
+
+-- 유저
+CREATE INDEX idx_user_log_user_occurred_at
+    ON log_service.p_user_log (user_id, occurred_at);
+CREATE INDEX idx_user_log_actor_occurred_at
+    ON log_service.p_user_log (actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL;
+CREATE INDEX brin_user_log_occurred_at
+    ON log_service.p_user_log USING BRIN (occurred_at);
+
+-- auth
+CREATE INDEX idx_auth_log_actor_occurred_at
+    ON log_service.p_auth_log (actor_user_id, occurred_at);
+CREATE INDEX brin_auth_log_occurred_at
+    ON log_service.p_auth_log USING BRIN (occurred_at);
+
+-- ========================================
+-- 엔티티 상태 프로젝션
+-- ========================================
+CREATE TABLE log_service.p_entity_state
+(
+    id                 VARCHAR(100) PRIMARY KEY, -- {entity_type}:{entity_id}
+
+    entity_type        VARCHAR(30)  NOT NULL,    -- RESERVATION | RESERVATION_SEAT | PAYMENT | TICKET
+    entity_id          VARCHAR(64)  NOT NULL,
+
+    status             VARCHAR(50)  NULL,        -- 가장 늦게 발생한 이벤트의 action_type
+    attribute          VARCHAR(255) NULL,
+    last_actor_user_id UUID         NULL,
+    last_event_id      UUID         NULL,
+
+    first_occurred_at  TIMESTAMP    NULL,
+    last_occurred_at   TIMESTAMP    NULL,
+    event_count        BIGINT       NOT NULL
+);
+
+CREATE TABLE log_service.p_entity_snapshot
+(
+    id                 UUID PRIMARY KEY,
+
+    entity_type        VARCHAR(30)  NOT NULL,
+    entity_id          VARCHAR(64)  NOT NULL,
+
+    status             VARCHAR(50)  NULL,
+    attribute          VARCHAR(255) NULL,
+    last_actor_user_id UUID         NULL,
+    last_event_id      UUID         NULL,
+
+    first_occurred_at  TIMESTAMP    NULL,
+    as_of              TIMESTAMP    NOT NULL,    -- 포함된 이벤트 중 가장 늦은 발생 시각
+    event_count        BIGINT       NOT NULL
+);
+
+CREATE INDEX idx_entity_snapshot_entity_as_of
+    ON log_service.p_entity_snapshot (entity_type, entity_id, as_of);
+
+-- ========================================
+-- change feed (로그 테이블 -> 다운스트림 exchange)
+-- ========================================
+-- tx_id: 행을 삽입한 트랜잭션 ID. 컬럼 기본값으로 채워지므로 수집 경로에 쓰기가 늘지 않는다.
+-- 기존 DB에는 db/migration/001_log_tx_id.sql로 적용한다 (애플리케이션은 로그 테이블을 변경하지 않는다).
+ALTER TABLE log_service.p_reservation_seat_log ADD COLUMN tx_id BIGINT DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_arthall_domain_log ADD COLUMN tx_id BIGINT DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_product_log ADD COLUMN tx_id BIGINT DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_reservation_log ADD COLUMN tx_id BIGINT DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_ticket_log ADD COLUMN tx_id BIGINT DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_payment_log ADD COLUMN tx_id BIGINT DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_user_log ADD COLUMN tx_id BIGINT DEFAULT (pg_current_xact_id()::text::bigint);
+ALTER TABLE log_service.p_auth_log ADD COLUMN tx_id BIGINT DEFAULT (pg_current_xact_id()::text::bigint);
+
+CREATE INDEX brin_reservation_seat_log_tx_id ON log_service.p_reservation_seat_log USING BRIN (tx_id);
+CREATE INDEX brin_arthall_domain_log_tx_id ON log_service.p_arthall_domain_log USING BRIN (tx_id);
+CREATE INDEX brin_product_log_tx_id ON log_service.p_product_log USING BRIN (tx_id);
+CREATE INDEX brin_reservation_log_tx_id ON log_service.p_reservation_log USING BRIN (tx_id);
+CREATE INDEX brin_ticket_log_tx_id ON log_service.p_ticket_log USING BRIN (tx_id);
+CREATE INDEX brin_payment_log_tx_id ON log_service.p_payment_log USING BRIN (tx_id);
+CREATE INDEX brin_user_log_tx_id ON log_service.p_user_log USING BRIN (tx_id);
+CREATE INDEX brin_auth_log_tx_id ON log_service.p_auth_log USING BRIN (tx_id);
+
+CREATE TABLE log_service.p_change_feed_offset
+(
+    table_name    VARCHAR(100) PRIMARY KEY,
+    last_tx_id    BIGINT       NOT NULL, -- 마지막으로 발행한 행의 (tx_id, id)
+    last_id       UUID         NOT NULL,
+    updated_at    TIMESTAMP    NOT NULL,
+    claimed_until TIMESTAMP    NULL      -- 발행 중인 인스턴스의 선점 기한 (오프셋 저장 시 해제)
+);
+
+-- ========================================
+-- 이벤트 스키마 overflow (현재 스키마에 없는 필드 보존)
+-- ========================================
+ALTER TABLE log_service.p_reservation_seat_log ADD COLUMN overflow JSONB;
+ALTER TABLE log_service.p_arthall_domain_log ADD COLUMN overflow JSONB;
+ALTER TABLE log_service.p_product_log ADD COLUMN overflow JSONB;
+ALTER TABLE log_service.p_reservation_log ADD COLUMN overflow JSONB;
+ALTER TABLE log_service.p_ticket_log ADD COLUMN overflow JSONB;
+ALTER TABLE log_service.p_payment_log ADD COLUMN overflow JSONB;
+ALTER TABLE log_service.p_user_log ADD COLUMN overflow JSONB;
+ALTER TABLE log_service.p_auth_log ADD COLUMN overflow JSONB;
+
+-- ========================================
+-- 해시 체인 (변조 탐지)
+-- ========================================
+-- 테이블별로 커밋 순서(tx_id, id)대로 행 해시를 직전 해시에 이어 봉인한다.
+CREATE TABLE log_service.p_log_chain
+(
+    table_name VARCHAR(100) NOT NULL,
+    seq        BIGINT       NOT NULL, -- 테이블 내 체인 순번 (1부터)
+    log_id     UUID         NOT NULL,
+    tx_id      BIGINT       NOT NULL,
+    chain_hash BYTEA        NOT NULL, -- SHA-256(직전 chain_hash | 행)
+    sealed_at  TIMESTAMP    NOT NULL,
+    PRIMARY KEY (table_name, seq)
+);
+
+CREATE INDEX idx_log_chain_sealed_at
+    ON log_service.p_log_chain (table_name, sealed_at);
+
+-- 체인 구간의 Merkle 루트 (로그로도 출력되어 DB 밖에 남는다)
+CREATE TABLE log_service.p_log_checkpoint
+(
+    table_name  VARCHAR(100) NOT NULL,
+    to_seq      BIGINT       NOT NULL,
+    from_seq    BIGINT       NOT NULL,
+    merkle_root BYTEA        NOT NULL,
+    created_at  TIMESTAMP    NOT NULL,
+    PRIMARY KEY (table_name, to_seq)
+);
+
+-- 저장 수준 정책이 ROLLUP인 이벤트의 버킷별 건수 (행은 저장하지 않는다)
+CREATE TABLE log_service.p_log_rollup
+(
+    domain       VARCHAR(50)  NOT NULL,
+    action_type  VARCHAR(100) NOT NULL,
+    bucket_start TIMESTAMP    NOT NULL,
+    event_count  BIGINT       NOT NULL,
+    PRIMARY KEY (domain, action_type, bucket_start)
+);
+
+-- 저장 수준 정책으로 행을 남기지 않은 이벤트의 ID (재전달 시 프로젝션 / 집계 중복 방지). 보존 기간이 지나면 애플리케이션이 지운다
+CREATE TABLE log_service.p_log_unstored_event
+(
+    domain      VARCHAR(50) NOT NULL,
+    event_id    UUID        NOT NULL,
+    received_at TIMESTAMP   NOT NULL,
+    PRIMARY KEY (domain, event_id)
+);
+
+CREATE INDEX idx_log_unstored_event_received_at ON log_service.p_log_unstored_event (received_at);
+
+-- 수집 경로 확률적 요약 (HyperLogLog / Count-Min, deflate 압축). 인스턴스들이 행을 잠가 읽고 합쳐 쓴다
+CREATE TABLE log_service.p_log_sketch
+(
+    kind         VARCHAR(20)  NOT NULL, -- DISTINCT_USERS, TOP_ENTITIES
+    domain       VARCHAR(50)  NOT NULL,
+    scope        VARCHAR(100) NOT NULL, -- * 또는 상품 / 공연장 ID
+    bucket_start TIMESTAMP    NOT NULL,
+    action_type  VARCHAR(100) NOT NULL,
+    sketch       BYTEA        NOT NULL,
+    updated_at   TIMESTAMP    NOT NULL,
+    PRIMARY KEY (kind, domain, scope, bucket_start, action_type)
+);
+
+-- 판매 퍼널 집계 (여정 시작 버킷 기준, 끝난 여정만 반영). metric: ENTERED, DROPPED, LATENCY(le_ms 구간별 건수)
+CREATE TABLE log_service.p_funnel_stat
+(
+    product_key  VARCHAR(100) NOT NULL, -- 상품 ID 또는 unattributed
+    bucket_start TIMESTAMP    NOT NULL,
+    stage        VARCHAR(20)  NOT NULL,
+    metric       VARCHAR(20)  NOT NULL,
+    le_ms        BIGINT       NOT NULL, -- LATENCY 구간 상한 (그 외 0)
+    value        BIGINT       NOT NULL,
+    PRIMARY KEY (product_key, bucket_start, stage, metric, le_ms)
+);
+
+-- 진행 중인 구매자별 퍼널 여정 (인스턴스 간 공유, version 비교로 갱신, 끝나거나 만료되면 삭제)
+CREATE TABLE log_service.p_funnel_journey
+(
+    actor_user_id    UUID PRIMARY KEY,
+    product_id       VARCHAR(100),          -- 아직 모르면 NULL
+    stage            VARCHAR(20) NOT NULL,  -- 마지막으로 도달한 단계
+    started_at       TIMESTAMP   NOT NULL,  -- 첫 좌석 선점 시각
+    stage_at         TIMESTAMP   NOT NULL,  -- 마지막 단계 시각 (journey-ttl 만료 기준)
+    seat_held_ms     BIGINT,                -- 단계 진입 소요 시간 (모르면 NULL)
+    reserved_ms      BIGINT,
+    paid_ms          BIGINT,
+    ticket_issued_ms BIGINT,
+    version          BIGINT      NOT NULL
+);
+
+CREATE INDEX idx_funnel_journey_stage_at
+    ON log_service.p_funnel_journey (stage_at);
+
+-- 스트림 소비 모드의 소비자별 다음 읽기 위치 (처리한 메시지와 같은 트랜잭션에서 갱신)
+CREATE TABLE log_service.p_stream_offset
+(
+    stream         VARCHAR(255) NOT NULL,
+    consumer_name  VARCHAR(255) NOT NULL, -- log-service (실시간) 또는 replay:<대상 테이블>
+    position_kind  VARCHAR(20)  NOT NULL, -- FIRST, NEXT, OFFSET, TIMESTAMP
+    position_value BIGINT       NOT NULL,
+    generation     BIGINT       NOT NULL, -- 되감을 때마다 증가
+    updated_at     TIMESTAMP    NOT NULL,
+    PRIMARY KEY (stream, consumer_name)
+);
+
+-- 오프라인 백필에서 적재를 마친 입력 청크 (청크 적재와 같은 트랜잭션에서 기록)
+CREATE TABLE log_service.p_backfill_checkpoint
+(
+    fingerprint  VARCHAR(64)  NOT NULL, -- 파일 크기 + 앞뒤 64KiB의 SHA-256
+    chunk_start  BIGINT       NOT NULL, -- 바이트 구간 [chunk_start, chunk_end)
+    chunk_end    BIGINT       NOT NULL,
+    file_name    VARCHAR(255) NOT NULL,
+    row_count    BIGINT       NOT NULL,
+    inserted     BIGINT       NOT NULL,
+    invalid      BIGINT       NOT NULL,
+    completed_at TIMESTAMP    NOT NULL,
+    PRIMARY KEY (fingerprint, chunk_start, chunk_end)
+);
+
+-- 비동기 조회 작업 상태 (결과 파일은 공유 스필 디렉터리에 둔다)
+CREATE TABLE log_service.p_query_job
+(
+    job_id         UUID PRIMARY KEY,
+    user_id        UUID             NOT NULL,
+    domain         VARCHAR(30)      NOT NULL,
+    from_at        TIMESTAMP        NOT NULL, -- 발생 시각 구간 [from_at, to_at)
+    to_at          TIMESTAMP        NOT NULL,
+    action_types   TEXT,                      -- 쉼표로 이은 액션 타입 (조건이 없으면 NULL)
+    entity_id      VARCHAR(64),
+    actor_user_id  UUID,
+    estimated_cost DOUBLE PRECISION,
+    estimated_rows BIGINT,
+    status         VARCHAR(20)      NOT NULL, -- QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    message        TEXT,
+    row_count      BIGINT           NOT NULL DEFAULT 0,
+    truncated      BOOLEAN          NOT NULL DEFAULT FALSE,
+    submitted_at   TIMESTAMP        NOT NULL,
+    started_at     TIMESTAMP,
+    finished_at    TIMESTAMP,
+    heartbeat_at   TIMESTAMP        NOT NULL  -- 실행 인스턴스의 마지막 기록 (orphan-timeout 기준)
+);
+
+CREATE INDEX idx_query_job_user_active
+    ON log_service.p_query_job (user_id) WHERE status IN ('QUEUED', 'RUNNING');
+CREATE INDEX idx_query_job_finished_at
+    ON log_service.p_query_job (finished_at);
+
+-- ========================================
+-- trace 연계 (발행 요청의 trace ID로 도메인 횡단 조회)
+-- ========================================
+-- trace_id: 128비트 trace ID (64비트는 상위를 0으로 채움). 전파 헤더가 없으면 NULL이라 부분 인덱스에 들어가지 않는다.
+ALTER TABLE log_service.p_reservation_seat_log ADD COLUMN trace_id UUID;
+ALTER TABLE log_service.p_arthall_domain_log ADD COLUMN trace_id UUID;
+ALTER TABLE log_service.p_product_log ADD COLUMN trace_id UUID;
+ALTER TABLE log_service.p_reservation_log ADD COLUMN trace_id UUID;
+ALTER TABLE log_service.p_ticket_log ADD COLUMN trace_id UUID;
+ALTER TABLE log_service.p_payment_log ADD COLUMN trace_id UUID;
+ALTER TABLE log_service.p_user_log ADD COLUMN trace_id UUID;
+ALTER TABLE log_service.p_auth_log ADD COLUMN trace_id UUID;
+
+CREATE INDEX idx_reservation_seat_log_trace_id ON log_service.p_reservation_seat_log (trace_id) WHERE trace_id IS NOT NULL;
+CREATE INDEX idx_arthall_domain_log_trace_id ON log_service.p_arthall_domain_log (trace_id) WHERE trace_id IS NOT NULL;
+CREATE INDEX idx_product_log_trace_id ON log_service.p_product_log (trace_id) WHERE trace_id IS NOT NULL;
+CREATE INDEX idx_reservation_log_trace_id ON log_service.p_reservation_log (trace_id) WHERE trace_id IS NOT NULL;
+CREATE INDEX idx_ticket_log_trace_id ON log_service.p_ticket_log (trace_id) WHERE trace_id IS NOT NULL;
+CREATE INDEX idx_payment_log_trace_id ON log_service.p_payment_log (trace_id) WHERE trace_id IS NOT NULL;
+CREATE INDEX idx_user_log_trace_id ON log_service.p_user_log (trace_id) WHERE trace_id IS NOT NULL;
+CREATE INDEX idx_auth_log_trace_id ON log_service.p_auth_log (trace_id) WHERE trace_id IS NOT NULL;
@@ -3,5 +3,21 @@ package com.tickatch.logservice.arthalllog.domain.repository;
 import com.tickatch.logservice.arthalllog.domain.ArtHallLog;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ArtHallLogRepository extends JpaRepository<ArtHallLog, UUID> {}
+public interface ArtHallLogRepository extends JpaRepository<ArtHallLog, UUID> {
+
+  /** 재전달된 메시지는 PK 충돌로 건너뛴다. 새로 저장했을 때만 1을 반환한다. */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO p_arthall_domain_log (id, domain_type, domain_id, action_type, actor_type,"
+              + " actor_user_id, occurred_at, overflow, trace_id) VALUES (:#{#log.artHallLogId},"
+              + " :#{#log.domainType}, :#{#log.domainId}, :#{#log.actionType}, :#{#log.actorType},"
+              + " :#{#log.actorUserId}, :#{#log.occurredAt}, CAST(:#{#log.overflow} AS jsonb),"
+              + " :#{#log.traceId}) ON CONFLICT (id) DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(@Param("log") ArtHallLog log);
+}
@@ -3,10 +3,18 @@ package com.tickatch.logservice.arthalllog.infrastructure.messaging;
 import com.tickatch.logservice.arthalllog.domain.ArtHallLog;
 import com.tickatch.logservice.arthalllog.domain.event.ArtHallLogEvent;
 import com.tickatch.logservice.arthalllog.domain.repository.ArtHallLogRepository;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
 import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.eventtime.EventTimeProcessor;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.fidelity.FidelityPolicy;
+import com.tickatch.logservice.global.schema.EventSchemaHeaders;
+import com.tickatch.logservice.global.tracing.TraceContextHeaders;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,15 +24,26 @@ import org.springframework.transaction.annotation.Transactional;
 public class ArtHallLogConsumer {
 
   private final ArtHallLogRepository artHallLogRepository;
+  private final EventTimeProcessor eventTimeProcessor;
+  private final FidelityPolicy fidelityPolicy;
 
   @RabbitListener(
+      id = RabbitMQConfig.LISTENER_ARTHALL_LOG,
       queues = RabbitMQConfig.QUEUE_ARTHALL_LOG,
-      containerFactory = "rabbitListenerContainerFactory")
+      containerFactory = "rabbitListenerContainerFactory",
+      autoStartup = RabbitMQConfig.CONSUMER_AUTO_STARTUP)
   @Transactional
-  public void consume(ArtHallLogEvent event) {
-    try {
-      log.debug("Consuming arthall log event: {}", event);
+  public void consume(
+      ArtHallLogEvent event,
+      @Header(name = EventSchemaHeaders.OVERFLOW, required = false) String overflow,
+      @Header(name = TraceContextHeaders.TRACE_ID, required = false) UUID traceId) {
+    log.debug("Consuming arthall log event: eventId={}", event.eventId());
 
+    // 저장 수준 정책은 행 저장 여부만 정한다. 저장하지 않는 이벤트도 재전달만 거르고 집계에는 반영한다
+    FidelityPolicy.Outcome outcome =
+        fidelityPolicy.admit(
+            LogDomain.ARTHALL, event.eventId(), event.domainId(), event.actionType());
+    if (outcome.stored()) {
       ArtHallLog log =
           ArtHallLog.create(
               event.eventId(),
@@ -33,13 +52,22 @@ public class ArtHallLogConsumer {
               event.actionType(), // ACTIVATED | INACTIVATED | DELETED
               event.actorType(),
               event.actorUserId(),
-              event.occurredAt());
-
-      artHallLogRepository.save(log);
-
-    } catch (Exception e) {
-      log.error("Failed to save arthall log: {}", event, e);
-      throw e; // DLQ로 전송되도록
+              event.occurredAt(),
+              overflow,
+              traceId);
+      if (artHallLogRepository.insertIfAbsent(log) == 0) {
+        return; // 재전달: 이미 저장하고 집계했다
+      }
+    } else if (!fidelityPolicy.acceptUnstored(
+        outcome, LogDomain.ARTHALL, event.eventId(), event.actionType(), event.occurredAt())) {
+      return; // 재전달: 이미 집계했다
     }
+
+    eventTimeProcessor.onAccepted(
+        LogDomain.ARTHALL,
+        event.eventId(),
+        event.occurredAt(),
+        new LogEventFields(event.domainId(), event.actionType(), event.actorUserId(), overflow),
+        event);
   }
 }
@@ -3,5 +3,23 @@ package com.tickatch.logservice.authlog.domain.repository;
 import com.tickatch.logservice.authlog.domain.AuthLog;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface AuthLogRepository extends JpaRepository<AuthLog, UUID> {}
+public interface AuthLogRepository extends JpaRepository<AuthLog, UUID> {
+
+  /**
+   * 재전달된 메시지는 id 유일 인덱스 충돌로 건너뛴다. 새로 저장했을 때만 1을 반환한다. 충돌 대상을 지정하지 않으므로 인덱스가 없는 기존 DB에서도
+   * 실패하지 않는다 (db/migration/002_log_id_unique.sql 적용 전에는 중복을 막지 못한다).
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO p_auth_log (id, action_type, actor_type, actor_user_id, occurred_at,"
+              + " overflow, trace_id) VALUES (:#{#log.authLogId}, :#{#log.actionType},"
+              + " :#{#log.actorType}, :#{#log.actorUserId}, :#{#log.occurredAt},"
+              + " CAST(:#{#log.overflow} AS jsonb), :#{#log.traceId}) ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(@Param("log") AuthLog log);
+}
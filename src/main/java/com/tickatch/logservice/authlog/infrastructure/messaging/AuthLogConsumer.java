@@ -3,10 +3,18 @@ package com.tickatch.logservice.authlog.infrastructure.messaging;
 import com.tickatch.logservice.authlog.domain.AuthLog;
 import com.tickatch.logservice.authlog.domain.event.AuthEvent;
 import com.tickatch.logservice.authlog.domain.repository.AuthLogRepository;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
 import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.eventtime.EventTimeProcessor;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.fidelity.FidelityPolicy;
+import com.tickatch.logservice.global.schema.EventSchemaHeaders;
+import com.tickatch.logservice.global.tracing.TraceContextHeaders;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,28 +24,48 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthLogConsumer {
 
   private final AuthLogRepository authLogRepository;
+  private final EventTimeProcessor eventTimeProcessor;
+  private final FidelityPolicy fidelityPolicy;
 
   @RabbitListener(
+      id = RabbitMQConfig.LISTENER_AUTH_LOG,
       queues = RabbitMQConfig.QUEUE_AUTH_LOG,
-      containerFactory = "rabbitListenerContainerFactory")
+      containerFactory = "rabbitListenerContainerFactory",
+      autoStartup = RabbitMQConfig.CONSUMER_AUTO_STARTUP)
   @Transactional
-  public void consume(AuthEvent event) {
-    try {
-      log.debug("Consuming auth log event: {}", event);
+  public void consume(
+      AuthEvent event,
+      @Header(name = EventSchemaHeaders.OVERFLOW, required = false) String overflow,
+      @Header(name = TraceContextHeaders.TRACE_ID, required = false) UUID traceId) {
+    log.debug("Consuming auth log event: eventId={}", event.eventId());
 
+    // 저장 수준 정책은 행 저장 여부만 정한다. 저장하지 않는 이벤트도 재전달만 거르고 집계에는 반영한다
+    FidelityPolicy.Outcome outcome =
+        fidelityPolicy.admit(
+            LogDomain.AUTH, event.eventId(), event.actorUserId(), event.actionType());
+    if (outcome.stored()) {
       AuthLog log =
           AuthLog.create(
               event.eventId(),
               event.actionType(),
               event.actorType(),
               event.actorUserId(),
-              event.occurredAt());
-
-      authLogRepository.save(log);
-
-    } catch (Exception e) {
-      log.error("Failed to save auth log: {}", event, e);
-      throw e; // DLQ
+              event.occurredAt(),
+              overflow,
+              traceId);
+      if (authLogRepository.insertIfAbsent(log) == 0) {
+        return; // 재전달: 이미 저장하고 집계했다
+      }
+    } else if (!fidelityPolicy.acceptUnstored(
+        outcome, LogDomain.AUTH, event.eventId(), event.actionType(), event.occurredAt())) {
+      return; // 재전달: 이미 집계했다
     }
+
+    eventTimeProcessor.onAccepted(
+        LogDomain.AUTH,
+        event.eventId(),
+        event.occurredAt(),
+        new LogEventFields(event.actorUserId(), event.actionType(), event.actorUserId(), overflow),
+        event);
   }
 }
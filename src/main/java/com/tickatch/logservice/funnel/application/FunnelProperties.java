@@ -0,0 +1,64 @@
+package com.tickatch.logservice.funnel.application;
+
+import com.tickatch.logservice.funnel.domain.FunnelStage;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 판매 퍼널 집계 설정.
+ *
+ * @param enabled 퍼널 집계 사용 여부
+ * @param maxPending 워터마크를 기다리는 단계 이벤트 수 상한. 넘으면 오래된 이벤트부터 워터마크와 관계없이 반영한다
+ * @param journeyTtl 마지막 단계 이후 이 시간 동안 진행이 없으면 이탈로 처리한다
+ * @param saleStartRetention 상품 판매 시작 시각을 기억하는 기간 (판매 시작 → 첫 선점 소요 시간용)
+ * @param bucket 여정 시작 시각 기준 집계 버킷
+ * @param flushInterval 집계를 DB에 더하는 주기
+ * @param productField 좌석 / 예매 / 결제 / 티켓 이벤트의 overflow에서 상품 ID를 읽을 필드
+ * @param stageActions 단계별 액션 타입 (대소문자와 구분 기호 무시). 없으면 단계 기본값
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.funnel")
+public record FunnelProperties(
+    boolean enabled,
+    int maxPending,
+    Duration journeyTtl,
+    Duration saleStartRetention,
+    Duration bucket,
+    Duration flushInterval,
+    String productField,
+    Map<FunnelStage, Set<String>> stageActions) {
+
+  public FunnelProperties {
+    if (maxPending <= 0) {
+      maxPending = 100_000;
+    }
+    if (journeyTtl == null) {
+      journeyTtl = Duration.ofHours(2);
+    }
+    if (saleStartRetention == null) {
+      saleStartRetention = Duration.ofDays(7);
+    }
+    if (bucket == null || bucket.isZero() || bucket.isNegative()) {
+      bucket = Duration.ofHours(1);
+    }
+    if (flushInterval == null) {
+      flushInterval = Duration.ofSeconds(10);
+    }
+    if (productField == null || productField.isBlank()) {
+      productField = "productId";
+    }
+    Map<FunnelStage, Set<String>> actions = new EnumMap<>(FunnelStage.class);
+    for (FunnelStage stage : FunnelStage.values()) {
+      Set<String> configured = stageActions == null ? null : stageActions.get(stage);
+      actions.put(
+          stage,
+          configured == null || configured.isEmpty()
+              ? Set.of(stage.defaultActionType())
+              : Set.copyOf(configured));
+    }
+    stageActions = actions;
+  }
+}
@@ -0,0 +1,88 @@
+package com.tickatch.logservice.funnel.application;
+
+import com.tickatch.logservice.funnel.application.dto.FunnelResponse;
+import com.tickatch.logservice.funnel.domain.FunnelLatency;
+import com.tickatch.logservice.funnel.domain.FunnelStage;
+import com.tickatch.logservice.funnel.domain.FunnelStat;
+import com.tickatch.logservice.funnel.domain.repository.FunnelStatRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class FunnelQueryService {
+
+  private final FunnelStatRepository funnelStatRepository;
+
+  /** 상품의 [from, to) 버킷 퍼널. 진행 중인 여정은 끝날 때 반영되므로 최근 버킷은 늘어날 수 있다. */
+  public FunnelResponse find(String productKey, LocalDateTime from, LocalDateTime to) {
+    Map<FunnelStage, long[]> counts = new EnumMap<>(FunnelStage.class);
+    Map<FunnelStage, TreeMap<Long, Long>> histograms = new EnumMap<>(FunnelStage.class);
+    for (FunnelStat stat : funnelStatRepository.sum(productKey, from, to)) {
+      switch (stat.metric()) {
+        case ENTERED -> counts.computeIfAbsent(stat.stage(), s -> new long[2])[0] += stat.value();
+        case DROPPED -> counts.computeIfAbsent(stat.stage(), s -> new long[2])[1] += stat.value();
+        case LATENCY ->
+            histograms
+                .computeIfAbsent(stat.stage(), s -> new TreeMap<>())
+                .merge(stat.leMillis(), stat.value(), Long::sum);
+      }
+    }
+
+    List<FunnelResponse.StageStats> stages = new ArrayList<>();
+    for (FunnelStage stage : FunnelStage.values()) {
+      long[] stageCounts = counts.getOrDefault(stage, new long[2]);
+      Double conversion = null;
+      FunnelStage previous = stage.previous();
+      if (previous != null && previous != FunnelStage.SALE_STARTED) {
+        long previousEntered = counts.getOrDefault(previous, new long[2])[0];
+        conversion = previousEntered == 0 ? null : (double) stageCounts[0] / previousEntered;
+      }
+      stages.add(
+          new FunnelResponse.StageStats(
+              stage,
+              stageCounts[0],
+              stageCounts[1],
+              conversion,
+              latency(histograms.getOrDefault(stage, new TreeMap<>()))));
+    }
+    return new FunnelResponse(productKey, from, to, stages);
+  }
+
+  private static FunnelResponse.Latency latency(TreeMap<Long, Long> histogram) {
+    long count = histogram.values().stream().mapToLong(Long::longValue).sum();
+    Map<String, Long> buckets = new LinkedHashMap<>();
+    histogram.forEach(
+        (le, value) -> buckets.put(le == FunnelLatency.UNBOUNDED ? "+Inf" : le.toString(), value));
+    return new FunnelResponse.Latency(
+        count,
+        percentile(histogram, count, 0.5),
+        percentile(histogram, count, 0.9),
+        percentile(histogram, count, 0.99),
+        buckets);
+  }
+
+  private static Long percentile(TreeMap<Long, Long> histogram, long count, double quantile) {
+    if (count == 0) {
+      return null;
+    }
+    long rank = (long) Math.ceil(quantile * count);
+    long seen = 0;
+    for (Map.Entry<Long, Long> entry : histogram.entrySet()) {
+      seen += entry.getValue();
+      if (seen >= rank) {
+        return entry.getKey();
+      }
+    }
+    return histogram.lastKey();
+  }
+}
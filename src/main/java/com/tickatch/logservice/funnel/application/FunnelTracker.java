@@ -0,0 +1,563 @@
+package com.tickatch.logservice.funnel.application;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickatch.logservice.funnel.domain.FunnelJourney;
+import com.tickatch.logservice.funnel.domain.FunnelLatency;
+import com.tickatch.logservice.funnel.domain.FunnelMetric;
+import com.tickatch.logservice.funnel.domain.FunnelStage;
+import com.tickatch.logservice.funnel.domain.FunnelStatKey;
+import com.tickatch.logservice.funnel.domain.repository.FunnelAttributionReader;
+import com.tickatch.logservice.funnel.domain.repository.FunnelJourneyRepository;
+import com.tickatch.logservice.funnel.domain.repository.FunnelStatRepository;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.eventtime.EventTimeProcessor;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.eventtime.TimedLogEvent;
+import com.tickatch.logservice.global.eventtime.TooLateLogEvent;
+import com.tickatch.logservice.global.lifecycle.FlushableWriteBuffer;
+import io.github.tickatch.common.util.JsonUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 상품 / 좌석 / 예매 / 결제 / 티켓 Consumer가 저장한 이벤트를 {@link TimedLogEvent}로 받아 판매 퍼널을 스트리밍 집계한다.
+ *
+ * <p>로그 이벤트에는 단계 간 연결 키가 없으므로 구매자(행위자 ID)별 여정으로 단계를 잇는다. 여정은 첫 좌석 선점에서 시작해 티켓 발급에서 끝나고,
+ * {@code journey-ttl} 동안 진행이 없으면 마지막 단계에서 이탈한 것으로 본다.
+ *
+ * <p>도메인마다 워터마크가 다르므로 단계 이벤트는 다시 모아 두었다가, 퍼널 도메인 워터마크의 최솟값을 지난 것부터 이벤트 시간 순으로 여정에
+ * 반영한다. 예매가 늦게 도착해도 같은 구매자의 결제보다 먼저 반영된다. 보류 이벤트가 {@code max-pending}을 넘으면 오래된 것부터 먼저 반영한다.
+ *
+ * <p>진행 중인 여정은 {@link FunnelJourneyRepository}에 저장해 모든 인스턴스가 공유하고 재시작해도 이어간다. 같은 구매자의 단계를 여러
+ * 인스턴스가 나눠 소비하면 버전 비교로 한 쪽씩 반영하며, 다른 인스턴스가 소비한 앞 단계는 그 인스턴스가 워터마크를 지나 저장한 뒤에야 보인다. 보류 중인
+ * 이벤트와 아직 DB에 더하지 않은 집계는 인스턴스 메모리에 있어 비정상 종료 시 몇 초 분량을 잃을 수 있다.
+ *
+ * <p>상품 ID는 이벤트 overflow의 {@code product-field}, 없으면 같은 엔티티의 저장된 로그 overflow에서 찾고, 여정의 어느 단계에서든 처음
+ * 찾은 값으로 정한다. 끝까지 찾지 못한 여정은 {@code unattributed}로 집계한다.
+ *
+ * <p>여정의 집계(단계 도달 수, 이탈 수, 단계 간 소요 시간 히스토그램)는 여정이 끝날 때 한 번에 시작 버킷으로 더하므로, 같은 상품 / 버킷의 단계
+ * 수는 항상 앞 단계 이하이다. 집계는 메모리에 모았다가 {@code flush-interval}마다 DB에 더하며, 반영에 실패하면 되돌려 다음 주기에 다시
+ * 시도한다.
+ *
+ * <p>메트릭: {@code log.funnel.journeys{outcome}}, {@code log.funnel.events.pending}, {@code
+ * log.funnel.events.unmatched}, {@code log.funnel.events.discarded}
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class FunnelTracker implements FlushableWriteBuffer {
+
+  private static final int MAX_SAVE_ATTEMPTS = 3;
+  private static final int EXPIRE_BATCH = 1_000;
+  private static final int MAX_CACHED_KEYS = 100_000;
+  private static final Comparator<StageEvent> EVENT_TIME_ORDER =
+      Comparator.comparing(StageEvent::occurredAt)
+          .thenComparing(StageEvent::eventId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  private final FunnelProperties properties;
+  private final FunnelStatRepository funnelStatRepository;
+  private final FunnelJourneyRepository funnelJourneyRepository;
+  private final FunnelAttributionReader funnelAttributionReader;
+  private final EventTimeProcessor eventTimeProcessor;
+  private final long bucketSeconds;
+  private final Map<LogDomain, Map<String, FunnelStage>> stages = new EnumMap<>(LogDomain.class);
+  private final Set<String> saleStartActions;
+  private final PriorityQueue<StageEvent> pendingEvents = new PriorityQueue<>(EVENT_TIME_ORDER);
+  private final Object applyLock = new Object();
+  private final Cache<EntityKey, String> productIds;
+  private final Cache<String, LocalDateTime> saleStarts;
+  private final Map<FunnelStatKey, Long> stats = new ConcurrentHashMap<>();
+  private final Counter completed;
+  private final Counter dropped;
+  private final Counter unmatched;
+  private final Counter discarded;
+
+  public FunnelTracker(
+      FunnelProperties properties,
+      FunnelStatRepository funnelStatRepository,
+      FunnelJourneyRepository funnelJourneyRepository,
+      FunnelAttributionReader funnelAttributionReader,
+      EventTimeProcessor eventTimeProcessor,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.funnelStatRepository = funnelStatRepository;
+    this.funnelJourneyRepository = funnelJourneyRepository;
+    this.funnelAttributionReader = funnelAttributionReader;
+    this.eventTimeProcessor = eventTimeProcessor;
+    this.bucketSeconds = properties.bucket().toSeconds();
+    properties
+        .stageActions()
+        .forEach(
+            (stage, actions) ->
+                actions.forEach(
+                    action ->
+                        stages
+                            .computeIfAbsent(stage.domain(), domain -> new HashMap<>())
+                            .put(normalize(action), stage)));
+    this.saleStartActions =
+        properties.stageActions().get(FunnelStage.SALE_STARTED).stream()
+            .map(FunnelTracker::normalize)
+            .collect(Collectors.toUnmodifiableSet());
+
+    this.productIds =
+        Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_KEYS)
+            .expireAfterWrite(properties.journeyTtl())
+            .build();
+    this.saleStarts =
+        Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_KEYS)
+            .expireAfterWrite(properties.saleStartRetention())
+            .build();
+
+    this.completed = journeyCounter(meterRegistry, "completed");
+    this.dropped = journeyCounter(meterRegistry, "dropped");
+    this.unmatched =
+        Counter.builder("log.funnel.events.unmatched")
+            .description("진행 중인 여정이 없어 집계하지 못한 단계 이벤트 수")
+            .register(meterRegistry);
+    this.discarded =
+        Counter.builder("log.funnel.events.discarded")
+            .description("여정 저장이 계속 실패해 보류 상한을 넘겨 버린 단계 이벤트 수")
+            .register(meterRegistry);
+    Gauge.builder("log.funnel.events.pending", this, FunnelTracker::pendingEvents)
+        .description("워터마크를 기다리거나 다시 반영할 단계 이벤트 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 워터마크가 지난 단계 이벤트를 보류한다. 퍼널 단계가 아닌 이벤트는 무시한다. 허용 지연을 넘긴 이벤트({@link TooLateLogEvent})는 이미
+   * 지나간 여정을 되돌릴 수 없으므로 반영하지 않는다.
+   */
+  @EventListener
+  public void onTimed(TimedLogEvent event) {
+    LogEventFields fields = event.fields();
+    if (!properties.enabled() || fields == null || fields.actionType() == null) {
+      return;
+    }
+    FunnelStage stage =
+        stages.getOrDefault(event.domain(), Map.of()).get(normalize(fields.actionType()));
+    if (stage == null) {
+      return;
+    }
+    String productId =
+        stage == FunnelStage.SALE_STARTED
+            ? (fields.entityId() != null ? fields.entityId().toString() : null)
+            : productIdOf(fields.overflow());
+    StageEvent stageEvent =
+        new StageEvent(
+            stage,
+            event.eventId(),
+            event.occurredAt(),
+            fields.entityId(),
+            productId,
+            fields.actorUserId());
+    synchronized (pendingEvents) {
+      pendingEvents.add(stageEvent);
+    }
+  }
+
+  /** 모든 퍼널 도메인의 워터마크를 지난 이벤트(상한을 넘긴 만큼은 오래된 것부터)를 이벤트 시간 순으로 여정에 반영한다. */
+  @Scheduled(fixedDelayString = "${log.event-time.emit-interval:1s}")
+  public void advance() {
+    LocalDateTime watermark = watermark();
+    List<StageEvent> ready = new ArrayList<>();
+    synchronized (pendingEvents) {
+      while (!pendingEvents.isEmpty()
+          && (pendingEvents.size() > properties.maxPending()
+              || (watermark != null && !pendingEvents.peek().occurredAt().isAfter(watermark)))) {
+        ready.add(pendingEvents.poll());
+      }
+    }
+    apply(ready);
+  }
+
+  @Scheduled(fixedDelayString = "${log.funnel.flush-interval:10s}")
+  public void flushScheduled() {
+    expireJourneys();
+    flushPending();
+  }
+
+  @Override
+  public String name() {
+    return "funnel";
+  }
+
+  @Override
+  public int pending() {
+    return stats.size() + pendingEvents();
+  }
+
+  /** 종료 시에는 이벤트 시간 처리기가 남은 이벤트를 모두 방출한 뒤이므로 워터마크와 관계없이 반영한다. */
+  @Override
+  public void flush(Duration timeout) {
+    List<StageEvent> remaining;
+    synchronized (pendingEvents) {
+      remaining = new ArrayList<>(pendingEvents.size());
+      while (!pendingEvents.isEmpty()) {
+        remaining.add(pendingEvents.poll());
+      }
+    }
+    apply(remaining);
+    flushPending();
+  }
+
+  /** 퍼널 단계 도메인 워터마크 중 가장 늦은 값. 아직 이벤트를 받지 않은 도메인은 보류 중인 이벤트도 없으므로 제외한다. */
+  private LocalDateTime watermark() {
+    LocalDateTime min = null;
+    for (FunnelStage stage : FunnelStage.values()) {
+      LocalDateTime watermark = eventTimeProcessor.watermark(stage.domain());
+      if (watermark != null && (min == null || watermark.isBefore(min))) {
+        min = watermark;
+      }
+    }
+    return min;
+  }
+
+  /** 이벤트 시간 순 이벤트를 구매자별로 나눠 여정에 반영한다. 저장에 실패한 구매자부터는 다시 보류해 다음 주기에 반영한다. */
+  private void apply(List<StageEvent> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+
+    synchronized (applyLock) {
+      Map<UUID, List<StageEvent>> byActor = new LinkedHashMap<>();
+      for (StageEvent event : events) {
+        if (event.stage() == FunnelStage.SALE_STARTED) {
+          recordSaleStart(event);
+        } else if (event.actorUserId() == null) {
+          unmatched.increment();
+        } else {
+          byActor.computeIfAbsent(event.actorUserId(), actor -> new ArrayList<>()).add(event);
+        }
+      }
+      if (byActor.isEmpty()) {
+        return;
+      }
+      attribute(events);
+
+      List<UUID> actors = new ArrayList<>(byActor.keySet());
+      int next = 0;
+      try {
+        Map<UUID, FunnelJourney> journeys = funnelJourneyRepository.findAll(actors);
+        for (; next < actors.size(); next++) {
+          UUID actor = actors.get(next);
+          applyActor(actor, byActor.get(actor), journeys.get(actor));
+        }
+      } catch (DataAccessException e) {
+        List<StageEvent> retry = new ArrayList<>();
+        actors.subList(next, actors.size()).forEach(actor -> retry.addAll(byActor.get(actor)));
+        requeue(retry);
+        log.warn("Funnel journey update failed, retrying next cycle: events={}", retry.size(), e);
+      }
+    }
+  }
+
+  /** 한 구매자의 이벤트를 여정에 반영하고 버전 비교로 저장한다. 다른 인스턴스가 먼저 바꿨으면 다시 읽어 처음부터 반영한다. */
+  private void applyActor(UUID actor, List<StageEvent> events, FunnelJourney stored) {
+    FunnelJourney current = stored;
+    for (int attempt = 1; attempt <= MAX_SAVE_ATTEMPTS; attempt++) {
+      long version = current != null ? current.getVersion() : 0;
+      Replay replay = replay(current, events);
+      if (persist(actor, replay.journey, version)) {
+        commit(replay);
+        return;
+      }
+      current = funnelJourneyRepository.findAll(List.of(actor)).get(actor);
+    }
+    requeue(events);
+    log.debug("Funnel journey of {} kept changing, retrying next cycle", actor);
+  }
+
+  private Replay replay(FunnelJourney stored, List<StageEvent> events) {
+    Replay replay = new Replay(stored);
+    for (StageEvent event : events) {
+      String productId = productIdOf(event);
+      FunnelJourney journey = replay.journey;
+      if (event.stage() == FunnelStage.SEAT_HELD) {
+        if (journey != null && journey.getStage() == FunnelStage.SEAT_HELD) {
+          journey.attach(productId); // 같은 여정의 좌석 추가 선점
+          continue;
+        }
+        if (journey != null && !journey.isCompleted()) {
+          end(journey, true, replay); // 결제 전 새 선점: 이전 여정은 이탈
+        }
+        replay.journey =
+            FunnelJourney.start(
+                productId, productId != null ? saleStartedAt(productId) : null, event.occurredAt());
+        continue;
+      }
+
+      if (journey == null || journey.isCompleted()) {
+        replay.unmatched++;
+      } else if (journey.advance(event.stage(), productId, event.occurredAt())
+          && journey.isCompleted()) {
+        end(journey, false, replay);
+      }
+    }
+    return replay;
+  }
+
+  /** 끝난 여정은 지우고 진행 중인 여정은 저장한다. */
+  private boolean persist(UUID actor, FunnelJourney journey, long version) {
+    if (journey == null) {
+      return true;
+    }
+    if (journey.isCompleted()) {
+      return version == 0 || funnelJourneyRepository.delete(actor, version);
+    }
+    return funnelJourneyRepository.save(actor, journey, version);
+  }
+
+  /** {@code journey-ttl} 동안 진행이 없는 여정을 가져와 이탈로 집계한다. */
+  private void expireJourneys() {
+    if (!properties.enabled()) {
+      return;
+    }
+
+    LocalDateTime stageBefore = LocalDateTime.now().minus(properties.journeyTtl());
+    try {
+      List<FunnelJourney> expired;
+      do {
+        expired = funnelJourneyRepository.claimExpired(stageBefore, EXPIRE_BATCH);
+        Replay replay = new Replay(null);
+        expired.forEach(journey -> end(journey, true, replay));
+        commit(replay);
+      } while (expired.size() == EXPIRE_BATCH);
+    } catch (DataAccessException e) {
+      log.warn("Funnel journey expiry failed, retrying next cycle", e);
+    }
+  }
+
+  /** 끝난 여정의 집계를 시작 버킷에 더한다. */
+  private void end(FunnelJourney journey, boolean drop, Replay replay) {
+    String productKey = journey.getProductKey();
+    LocalDateTime bucketStart = bucketStart(journey.getStartedAt());
+    for (FunnelStage stage : FunnelStage.values()) {
+      if (!journey.reached(stage)) {
+        continue;
+      }
+      replay.add(new FunnelStatKey(productKey, bucketStart, stage, FunnelMetric.ENTERED, 0));
+      Long latency = journey.latencyInto(stage);
+      if (latency != null) {
+        replay.add(
+            new FunnelStatKey(
+                productKey,
+                bucketStart,
+                stage,
+                FunnelMetric.LATENCY,
+                FunnelLatency.upperBound(latency)));
+      }
+    }
+    if (drop) {
+      replay.add(
+          new FunnelStatKey(productKey, bucketStart, journey.getStage(), FunnelMetric.DROPPED, 0));
+      replay.dropped++;
+    } else {
+      replay.completed++;
+    }
+  }
+
+  /** 저장에 성공한 반영 결과의 집계와 메트릭을 더한다. */
+  private void commit(Replay replay) {
+    replay.stats.forEach((key, count) -> stats.merge(key, count, Long::sum));
+    completed.increment(replay.completed);
+    dropped.increment(replay.dropped);
+    unmatched.increment(replay.unmatched);
+  }
+
+  private void recordSaleStart(StageEvent event) {
+    if (event.productId() == null) {
+      return;
+    }
+    saleStarts.put(event.productId(), event.occurredAt());
+    stats.merge(
+        new FunnelStatKey(
+            event.productId(),
+            bucketStart(event.occurredAt()),
+            FunnelStage.SALE_STARTED,
+            FunnelMetric.ENTERED,
+            0),
+        1L,
+        Long::sum);
+  }
+
+  /** 이 인스턴스가 받지 않은 판매 시작은 상품 로그에서 찾는다. */
+  private LocalDateTime saleStartedAt(String productId) {
+    return saleStarts.get(
+        productId,
+        key -> {
+          try {
+            return funnelAttributionReader.findSaleStartedAt(key, saleStartActions).orElse(null);
+          } catch (DataAccessException e) {
+            log.debug("Failed to read sale start of product {}", key, e);
+            return null;
+          }
+        });
+  }
+
+  /** overflow에 상품 ID가 없는 이벤트의 엔티티를 도메인별로 모아 저장된 로그에서 한 번에 찾는다. */
+  private void attribute(List<StageEvent> events) {
+    Map<LogDomain, Set<Object>> missing = new EnumMap<>(LogDomain.class);
+    for (StageEvent event : events) {
+      if (event.productId() == null
+          && event.entityId() != null
+          && event.stage() != FunnelStage.SALE_STARTED
+          && productIds.getIfPresent(event.entityKey()) == null) {
+        missing
+            .computeIfAbsent(event.stage().domain(), domain -> new HashSet<>())
+            .add(event.entityId());
+      }
+    }
+
+    missing.forEach(
+        (domain, entityIds) -> {
+          try {
+            funnelAttributionReader
+                .findProductIds(domain, entityIds, properties.productField())
+                .forEach(
+                    (entityId, productId) ->
+                        productIds.put(new EntityKey(domain, entityId), productId));
+          } catch (DataAccessException e) {
+            log.debug("Failed to read product ids of {} entities", domain, e);
+          }
+        });
+  }
+
+  private String productIdOf(StageEvent event) {
+    if (event.productId() != null || event.entityId() == null) {
+      return event.productId();
+    }
+    return productIds.getIfPresent(event.entityKey());
+  }
+
+  private String productIdOf(String overflow) {
+    if (overflow == null || overflow.isBlank()) {
+      return null;
+    }
+    try {
+      JsonNode value =
+          JsonUtils.getObjectMapper().readTree(overflow).path(properties.productField());
+      return value.isValueNode() && !value.isNull() ? value.asText() : null;
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private void requeue(Collection<StageEvent> events) {
+    synchronized (pendingEvents) {
+      pendingEvents.addAll(events);
+      while (pendingEvents.size() > properties.maxPending()) {
+        pendingEvents.poll();
+        discarded.increment();
+      }
+    }
+  }
+
+  private int pendingEvents() {
+    synchronized (pendingEvents) {
+      return pendingEvents.size();
+    }
+  }
+
+  private synchronized void flushPending() {
+    if (stats.isEmpty()) {
+      return;
+    }
+
+    Map<FunnelStatKey, Long> drained = new HashMap<>();
+    for (FunnelStatKey key : stats.keySet()) {
+      Long count = stats.remove(key);
+      if (count != null) {
+        drained.put(key, count);
+      }
+    }
+
+    try {
+      if (!funnelStatRepository.addAll(drained)) {
+        drained.forEach((key, count) -> stats.merge(key, count, Long::sum));
+      }
+    } catch (DataAccessException e) {
+      drained.forEach((key, count) -> stats.merge(key, count, Long::sum));
+      log.warn("Funnel stat flush failed, retrying next cycle: keys={}", drained.size(), e);
+    }
+  }
+
+  private LocalDateTime bucketStart(LocalDateTime time) {
+    long epochSecond = time.toEpochSecond(ZoneOffset.UTC);
+    return LocalDateTime.ofEpochSecond(
+        Math.floorDiv(epochSecond, bucketSeconds) * bucketSeconds, 0, ZoneOffset.UTC);
+  }
+
+  private static String normalize(String actionType) {
+    return actionType.toUpperCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", "");
+  }
+
+  private static Counter journeyCounter(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder("log.funnel.journeys")
+        .tag("outcome", outcome)
+        .description("끝난 퍼널 여정 수")
+        .register(meterRegistry);
+  }
+
+  /** 워터마크를 기다리는 퍼널 단계 이벤트. {@code productId}는 이벤트 자체에서 찾은 값이다. */
+  private record StageEvent(
+      FunnelStage stage,
+      UUID eventId,
+      LocalDateTime occurredAt,
+      Object entityId,
+      String productId,
+      UUID actorUserId) {
+
+    private EntityKey entityKey() {
+      return new EntityKey(stage.domain(), entityId);
+    }
+  }
+
+  private record EntityKey(LogDomain domain, Object entityId) {}
+
+  /** 한 구매자 여정에 이벤트를 반영한 결과. 저장에 성공해야 집계에 더한다. */
+  private static final class Replay {
+
+    private final Map<FunnelStatKey, Long> stats = new HashMap<>();
+    private FunnelJourney journey;
+    private int completed;
+    private int dropped;
+    private int unmatched;
+
+    private Replay(FunnelJourney journey) {
+      this.journey = journey;
+    }
+
+    private void add(FunnelStatKey key) {
+      stats.merge(key, 1L, Long::sum);
+    }
+  }
+}
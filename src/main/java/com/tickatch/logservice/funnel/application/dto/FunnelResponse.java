@@ -0,0 +1,32 @@
+package com.tickatch.logservice.funnel.application.dto;
+
+import com.tickatch.logservice.funnel.domain.FunnelStage;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 판매 퍼널.
+ *
+ * @param stages 단계 순서대로. {@code SALE_STARTED}는 구간 안의 판매 시작 이벤트 수이고, 나머지는 구간 안에서 시작된 여정 기준이다
+ */
+public record FunnelResponse(
+    String productKey, LocalDateTime from, LocalDateTime to, List<StageStats> stages) {
+
+  /**
+   * @param entered 단계에 도달한 여정 수
+   * @param dropped 이 단계에서 멈춘 채 만료된 여정 수
+   * @param conversion 이전 여정 단계 대비 도달 비율 (첫 여정 단계, 판매 시작은 {@code null})
+   * @param latency 이전 단계에서 이 단계까지 걸린 시간 (첫 선점은 판매 시작부터)
+   */
+  public record StageStats(
+      FunnelStage stage, long entered, long dropped, Double conversion, Latency latency) {}
+
+  /**
+   * 소요 시간 분포. 백분위는 해당 백분위가 속한 히스토그램 구간의 상한이다.
+   *
+   * @param histogram 구간 상한(ms, 마지막은 {@code +Inf}) → 여정 수
+   */
+  public record Latency(
+      long count, Long p50Millis, Long p90Millis, Long p99Millis, Map<String, Long> histogram) {}
+}
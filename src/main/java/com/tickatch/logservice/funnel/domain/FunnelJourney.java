@@ -0,0 +1,113 @@
+package com.tickatch.logservice.funnel.domain;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * 구매자 한 명의 진행 중인 퍼널 여정. 첫 좌석 선점에서 시작해 티켓 발급에서 끝난다.
+ *
+ * <p>단계는 앞으로만 진행하며, 같은 단계나 이전 단계 이벤트(좌석 여러 개, 재전송)는 무시한다. 상품 ID는 처음 알게 된 값으로 정한다. 스레드 안전하지
+ * 않으므로 한 번에 한 스레드만 다루고, 저장소에는 {@link #getVersion() 버전} 비교로 저장한다.
+ *
+ * @since 1.0.0
+ */
+public class FunnelJourney {
+
+  @Getter private final LocalDateTime startedAt;
+  private final Map<FunnelStage, Long> latencies = new EnumMap<>(FunnelStage.class);
+  @Getter private String productId;
+  @Getter private FunnelStage stage;
+  @Getter private LocalDateTime stageAt;
+  @Getter private boolean completed;
+
+  /** 저장소에서 읽은 버전. 아직 저장하지 않은 여정은 0. */
+  @Getter private final long version;
+
+  private FunnelJourney(
+      String productId,
+      FunnelStage stage,
+      LocalDateTime startedAt,
+      LocalDateTime stageAt,
+      long version) {
+    this.startedAt = startedAt;
+    this.productId = productId;
+    this.stage = stage;
+    this.stageAt = stageAt;
+    this.completed = stage == FunnelStage.TICKET_ISSUED;
+    this.version = version;
+  }
+
+  /**
+   * 첫 좌석 선점으로 여정을 시작한다.
+   *
+   * @param saleStartedAt 상품 판매 시작 시각 (모르면 {@code null})
+   */
+  public static FunnelJourney start(
+      String productId, LocalDateTime saleStartedAt, LocalDateTime heldAt) {
+    FunnelJourney journey = new FunnelJourney(productId, FunnelStage.SEAT_HELD, heldAt, heldAt, 0);
+    if (saleStartedAt != null && !heldAt.isBefore(saleStartedAt)) {
+      journey.latencies.put(
+          FunnelStage.SEAT_HELD, Duration.between(saleStartedAt, heldAt).toMillis());
+    }
+    return journey;
+  }
+
+  /**
+   * 저장된 여정을 되살린다.
+   *
+   * @param latencies 단계별 진입 소요 시간 (모르는 단계는 빠진다)
+   */
+  public static FunnelJourney restore(
+      String productId,
+      FunnelStage stage,
+      LocalDateTime startedAt,
+      LocalDateTime stageAt,
+      Map<FunnelStage, Long> latencies,
+      long version) {
+    FunnelJourney journey = new FunnelJourney(productId, stage, startedAt, stageAt, version);
+    journey.latencies.putAll(latencies);
+    return journey;
+  }
+
+  /**
+   * 다음 단계로 진행한다. 중간 단계를 건너뛰면 건너뛴 단계의 소요 시간은 없다.
+   *
+   * @return 진행했으면 {@code true}
+   */
+  public boolean advance(FunnelStage next, String productId, LocalDateTime occurredAt) {
+    attach(productId);
+    if (completed || !next.isAfter(stage)) {
+      return false;
+    }
+    if (next.previous() == stage) {
+      latencies.put(next, Math.max(0, Duration.between(stageAt, occurredAt).toMillis()));
+    }
+    stage = next;
+    stageAt = occurredAt;
+    completed = next == FunnelStage.TICKET_ISSUED;
+    return true;
+  }
+
+  public void attach(String productId) {
+    if (this.productId == null) {
+      this.productId = productId;
+    }
+  }
+
+  /** 단계에 들어오기까지 걸린 시간. 알 수 없으면 {@code null}. */
+  public Long latencyInto(FunnelStage target) {
+    return latencies.get(target);
+  }
+
+  /** 단계에 도달했는지. 건너뛴 단계도 도달한 것으로 본다. */
+  public boolean reached(FunnelStage target) {
+    return !target.isAfter(stage) && target != FunnelStage.SALE_STARTED;
+  }
+
+  public String getProductKey() {
+    return productId != null ? productId : FunnelStatKey.UNATTRIBUTED;
+  }
+}
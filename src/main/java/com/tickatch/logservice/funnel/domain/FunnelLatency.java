@@ -0,0 +1,48 @@
+package com.tickatch.logservice.funnel.domain;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 단계 간 소요 시간 히스토그램 구간. 1초부터 7일까지 대략 로그 간격이며, 마지막 구간은 상한이 없다.
+ *
+ * @since 1.0.0
+ */
+public final class FunnelLatency {
+
+  public static final long UNBOUNDED = Long.MAX_VALUE;
+
+  private static final long[] BOUNDS =
+      Arrays.stream(
+              new Duration[] {
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(15),
+                Duration.ofSeconds(30),
+                Duration.ofMinutes(1),
+                Duration.ofMinutes(2),
+                Duration.ofMinutes(5),
+                Duration.ofMinutes(10),
+                Duration.ofMinutes(30),
+                Duration.ofHours(1),
+                Duration.ofHours(3),
+                Duration.ofHours(12),
+                Duration.ofDays(1),
+                Duration.ofDays(3),
+                Duration.ofDays(7)
+              })
+          .mapToLong(Duration::toMillis)
+          .toArray();
+
+  private FunnelLatency() {}
+
+  /** {@code millis}가 속하는 구간의 상한. */
+  public static long upperBound(long millis) {
+    for (long bound : BOUNDS) {
+      if (millis <= bound) {
+        return bound;
+      }
+    }
+    return UNBOUNDED;
+  }
+}
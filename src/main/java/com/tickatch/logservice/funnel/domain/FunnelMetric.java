@@ -0,0 +1,15 @@
+package com.tickatch.logservice.funnel.domain;
+
+/**
+ * 퍼널 집계 항목.
+ *
+ * @since 1.0.0
+ */
+public enum FunnelMetric {
+  /** 단계에 도달한 여정 수. */
+  ENTERED,
+  /** 이 단계에서 멈춘 채 만료된 여정 수. */
+  DROPPED,
+  /** 이전 단계에서 이 단계까지 걸린 시간 분포 ({@code leMillis} 이하 구간별 여정 수). */
+  LATENCY
+}
@@ -0,0 +1,43 @@
+package com.tickatch.logservice.funnel.domain;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+
+/**
+ * 판매 퍼널 단계. 선언 순서가 진행 순서이다.
+ *
+ * <p>{@link #SALE_STARTED}는 상품 단위 이벤트이고, 나머지는 구매자(행위자) 여정의 단계이다.
+ *
+ * @since 1.0.0
+ */
+public enum FunnelStage {
+  SALE_STARTED(LogDomain.PRODUCT, "SALE_STARTED"),
+  SEAT_HELD(LogDomain.RESERVATION_SEAT, "좌석선점"),
+  RESERVED(LogDomain.RESERVATION, "CREATED"),
+  PAID(LogDomain.PAYMENT, "SUCCESS"),
+  TICKET_ISSUED(LogDomain.TICKET, "ISSUED");
+
+  private final LogDomain domain;
+  private final String defaultActionType;
+
+  FunnelStage(LogDomain domain, String defaultActionType) {
+    this.domain = domain;
+    this.defaultActionType = defaultActionType;
+  }
+
+  public LogDomain domain() {
+    return domain;
+  }
+
+  public String defaultActionType() {
+    return defaultActionType;
+  }
+
+  /** 이전 단계. 첫 단계이면 {@code null}. */
+  public FunnelStage previous() {
+    return ordinal() == 0 ? null : values()[ordinal() - 1];
+  }
+
+  public boolean isAfter(FunnelStage other) {
+    return ordinal() > other.ordinal();
+  }
+}
@@ -0,0 +1,8 @@
+package com.tickatch.logservice.funnel.domain;
+
+/**
+ * 구간 합계 한 줄.
+ *
+ * @since 1.0.0
+ */
+public record FunnelStat(FunnelStage stage, FunnelMetric metric, long leMillis, long value) {}
@@ -0,0 +1,22 @@
+package com.tickatch.logservice.funnel.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * 퍼널 집계 키 ({@code p_funnel_stat} 기본 키).
+ *
+ * @param productKey 상품 ID 또는 {@link #UNATTRIBUTED}
+ * @param bucketStart 여정이 시작된(첫 좌석 선점) 시각의 버킷
+ * @param leMillis {@link FunnelMetric#LATENCY}의 구간 상한, 나머지 항목은 0
+ * @since 1.0.0
+ */
+public record FunnelStatKey(
+    String productKey,
+    LocalDateTime bucketStart,
+    FunnelStage stage,
+    FunnelMetric metric,
+    long leMillis) {
+
+  /** 상품 ID를 알 수 없는 여정. */
+  public static final String UNATTRIBUTED = "unattributed";
+}
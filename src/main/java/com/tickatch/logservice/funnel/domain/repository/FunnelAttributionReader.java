@@ -0,0 +1,24 @@
+package com.tickatch.logservice.funnel.domain.repository;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/** 이벤트 자체에 상품 ID가 없을 때 이미 저장된 로그에서 여정의 상품과 판매 시작 시각을 찾는다. */
+public interface FunnelAttributionReader {
+
+  /**
+   * 같은 엔티티의 저장된 로그 overflow에서 상품 ID를 찾는다.
+   *
+   * @param entityIds 도메인 엔티티 ID (UUID 또는 Long)
+   * @return 엔티티별 상품 ID. 찾지 못한 엔티티는 빠진다
+   */
+  Map<Object, String> findProductIds(
+      LogDomain domain, Collection<Object> entityIds, String productField);
+
+  /** 상품 로그에서 판매 시작 액션의 마지막 시각. */
+  Optional<LocalDateTime> findSaleStartedAt(String productId, Set<String> actionTypes);
+}
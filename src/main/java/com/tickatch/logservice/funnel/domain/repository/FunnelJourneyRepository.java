@@ -0,0 +1,41 @@
+package com.tickatch.logservice.funnel.domain.repository;
+
+import com.tickatch.logservice.funnel.domain.FunnelJourney;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 구매자별 진행 중인 퍼널 여정 저장소. 모든 인스턴스가 같은 여정을 공유하고, 재시작해도 여정이 이어진다.
+ *
+ * <p>쓰기는 {@link FunnelJourney#getVersion() 버전} 비교로 하며, 다른 인스턴스가 먼저 바꿨으면 반영하지 않고 {@code false}를
+ * 반환한다.
+ */
+public interface FunnelJourneyRepository {
+
+  /** 행위자별 여정. 여정이 없는 행위자는 빠진다. */
+  Map<UUID, FunnelJourney> findAll(Collection<UUID> actorUserIds);
+
+  /**
+   * 여정을 저장한다.
+   *
+   * @param expectedVersion 읽었던 버전. 0이면 새로 만든다
+   * @return 그 사이 다른 인스턴스가 바꿔 저장하지 않았으면 {@code false}
+   */
+  boolean save(UUID actorUserId, FunnelJourney journey, long expectedVersion);
+
+  /**
+   * 끝난 여정을 지운다.
+   *
+   * @return 그 사이 다른 인스턴스가 바꿔 지우지 않았으면 {@code false}
+   */
+  boolean delete(UUID actorUserId, long expectedVersion);
+
+  /**
+   * 마지막 단계 시각이 {@code stageBefore} 이전인 여정을 최대 {@code limit}개 지우고 반환한다. 여러 인스턴스가 같은 여정을 가져가지
+   * 않는다.
+   */
+  List<FunnelJourney> claimExpired(LocalDateTime stageBefore, int limit);
+}
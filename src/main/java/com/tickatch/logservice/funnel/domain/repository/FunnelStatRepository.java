@@ -0,0 +1,20 @@
+package com.tickatch.logservice.funnel.domain.repository;
+
+import com.tickatch.logservice.funnel.domain.FunnelStat;
+import com.tickatch.logservice.funnel.domain.FunnelStatKey;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface FunnelStatRepository {
+
+  /**
+   * 키별 증가분을 더한다.
+   *
+   * @return 테이블이 아직 준비되지 않아 반영하지 않았으면 {@code false}
+   */
+  boolean addAll(Map<FunnelStatKey, Long> deltas);
+
+  /** 상품의 [from, to) 버킷 합계. */
+  List<FunnelStat> sum(String productKey, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,94 @@
+package com.tickatch.logservice.funnel.infrastructure.persistence;
+
+import com.tickatch.logservice.funnel.domain.repository.FunnelAttributionReader;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 로그 테이블의 overflow(JSONB)와 상품 로그에서 퍼널 귀속 정보를 읽는다.
+ *
+ * <p>엔티티 조회는 도메인별 (엔티티, occurred_at) 인덱스를 쓰고, 같은 엔티티의 로그 중 상품 필드가 있는 가장 최근 행의 값을 쓴다. 판매 시작 액션은
+ * 퍼널 단계 매칭과 같게 대소문자와 구분 기호를 무시하고 비교한다.
+ */
+@Repository
+public class JdbcFunnelAttributionReader implements FunnelAttributionReader {
+
+  private static final String NORMALIZED_ACTION =
+      "upper(regexp_replace(action_type, '[^[:alnum:]]', '', 'g'))";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public JdbcFunnelAttributionReader(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public Map<Object, String> findProductIds(
+      LogDomain domain, Collection<Object> entityIds, String productField) {
+    if (entityIds.isEmpty()) {
+      return Map.of();
+    }
+
+    String column = domain.getEntityColumn();
+    String sql =
+        "SELECT DISTINCT ON ("
+            + column
+            + ") "
+            + column
+            + ", overflow ->> ? FROM "
+            + domain.getTable()
+            + " WHERE "
+            + column
+            + " IN ("
+            + String.join(", ", Collections.nCopies(entityIds.size(), "?"))
+            + ") AND overflow ->> ? IS NOT NULL ORDER BY "
+            + column
+            + ", occurred_at DESC";
+    List<Object> args = new ArrayList<>(entityIds.size() + 2);
+    args.add(productField);
+    args.addAll(entityIds);
+    args.add(productField);
+
+    Map<Object, String> productIds = new HashMap<>();
+    jdbcTemplate.query(
+        sql,
+        rs -> {
+          productIds.put(rs.getObject(1), rs.getString(2));
+        },
+        args.toArray());
+    return productIds;
+  }
+
+  @Override
+  public Optional<LocalDateTime> findSaleStartedAt(String productId, Set<String> actionTypes) {
+    Optional<Object> id = LogDomain.PRODUCT.parseEntityId(productId);
+    if (id.isEmpty() || actionTypes.isEmpty()) {
+      return Optional.empty();
+    }
+
+    String sql =
+        "SELECT MAX(occurred_at) FROM "
+            + LogDomain.PRODUCT.getTable()
+            + " WHERE product_id = ? AND "
+            + NORMALIZED_ACTION
+            + " IN ("
+            + String.join(", ", Collections.nCopies(actionTypes.size(), "?"))
+            + ")";
+    List<Object> args = new ArrayList<>(actionTypes.size() + 1);
+    args.add(id.get());
+    args.addAll(actionTypes);
+    Timestamp startedAt = jdbcTemplate.queryForObject(sql, Timestamp.class, args.toArray());
+    return Optional.ofNullable(startedAt).map(Timestamp::toLocalDateTime);
+  }
+}
@@ -0,0 +1,173 @@
+package com.tickatch.logservice.funnel.infrastructure.persistence;
+
+import com.tickatch.logservice.funnel.domain.FunnelJourney;
+import com.tickatch.logservice.funnel.domain.FunnelStage;
+import com.tickatch.logservice.funnel.domain.repository.FunnelJourneyRepository;
+import com.tickatch.logservice.global.migration.SchemaMigrations;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 진행 중인 퍼널 여정을 {@code p_funnel_journey}에 행위자별 한 행으로 저장한다.
+ *
+ * <p>쓰기는 {@code version} 비교(새 여정은 {@code ON CONFLICT DO NOTHING})로 하고, 만료 여정은 {@code FOR
+ * UPDATE SKIP LOCKED}로 골라 지우므로 여러 인스턴스가 같은 여정을 나눠 갖지 않는다. 테이블은 애플리케이션이 만들지 않으며, 없으면 예외를
+ * 던져 호출자가 다음 주기에 다시 시도한다.
+ */
+@Repository
+public class JdbcFunnelJourneyRepository implements FunnelJourneyRepository {
+
+  static final String TABLE = "p_funnel_journey";
+
+  private static final Set<FunnelStage> LATENCY_STAGES =
+      EnumSet.range(FunnelStage.SEAT_HELD, FunnelStage.TICKET_ISSUED);
+
+  private static final String LATENCY_COLUMNS =
+      String.join(", ", LATENCY_STAGES.stream().map(JdbcFunnelJourneyRepository::column).toList());
+
+  private static final String COLUMNS =
+      "product_id, stage, started_at, stage_at, " + LATENCY_COLUMNS + ", version";
+
+  private static final String INSERT =
+      "INSERT INTO "
+          + TABLE
+          + " (actor_user_id, "
+          + COLUMNS
+          + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 1) ON CONFLICT (actor_user_id) DO NOTHING";
+
+  private static final String UPDATE =
+      "UPDATE "
+          + TABLE
+          + " SET product_id = ?, stage = ?, started_at = ?, stage_at = ?, seat_held_ms = ?,"
+          + " reserved_ms = ?, paid_ms = ?, ticket_issued_ms = ?, version = version + 1"
+          + " WHERE actor_user_id = ? AND version = ?";
+
+  private static final String DELETE =
+      "DELETE FROM " + TABLE + " WHERE actor_user_id = ? AND version = ?";
+
+  private static final String CLAIM_EXPIRED =
+      "DELETE FROM "
+          + TABLE
+          + " WHERE actor_user_id IN (SELECT actor_user_id FROM "
+          + TABLE
+          + " WHERE stage_at < ? ORDER BY stage_at LIMIT ? FOR UPDATE SKIP LOCKED)"
+          + " RETURNING actor_user_id, "
+          + COLUMNS;
+
+  private static final RowMapper<FunnelJourney> JOURNEY_MAPPER =
+      JdbcFunnelJourneyRepository::mapJourney;
+
+  private final JdbcTemplate jdbcTemplate;
+  private volatile boolean schemaReady;
+
+  public JdbcFunnelJourneyRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public Map<UUID, FunnelJourney> findAll(Collection<UUID> actorUserIds) {
+    verifySchema();
+    if (actorUserIds.isEmpty()) {
+      return Map.of();
+    }
+
+    String sql =
+        "SELECT actor_user_id, "
+            + COLUMNS
+            + " FROM "
+            + TABLE
+            + " WHERE actor_user_id IN ("
+            + String.join(", ", Collections.nCopies(actorUserIds.size(), "?"))
+            + ")";
+    Map<UUID, FunnelJourney> journeys = new HashMap<>();
+    jdbcTemplate.query(
+        sql,
+        rs -> {
+          journeys.put(rs.getObject(1, UUID.class), mapJourney(rs, rs.getRow()));
+        },
+        actorUserIds.toArray());
+    return journeys;
+  }
+
+  @Override
+  public boolean save(UUID actorUserId, FunnelJourney journey, long expectedVersion) {
+    verifySchema();
+    List<Object> values = new ArrayList<>();
+    values.add(journey.getProductId());
+    values.add(journey.getStage().name());
+    values.add(Timestamp.valueOf(journey.getStartedAt()));
+    values.add(Timestamp.valueOf(journey.getStageAt()));
+    for (FunnelStage stage : LATENCY_STAGES) {
+      values.add(journey.latencyInto(stage));
+    }
+
+    if (expectedVersion == 0) {
+      values.add(0, actorUserId);
+      return jdbcTemplate.update(INSERT, values.toArray()) == 1;
+    }
+    values.add(actorUserId);
+    values.add(expectedVersion);
+    return jdbcTemplate.update(UPDATE, values.toArray()) == 1;
+  }
+
+  @Override
+  public boolean delete(UUID actorUserId, long expectedVersion) {
+    verifySchema();
+    return jdbcTemplate.update(DELETE, actorUserId, expectedVersion) == 1;
+  }
+
+  @Override
+  public List<FunnelJourney> claimExpired(LocalDateTime stageBefore, int limit) {
+    verifySchema();
+    return jdbcTemplate.query(CLAIM_EXPIRED, JOURNEY_MAPPER, Timestamp.valueOf(stageBefore), limit);
+  }
+
+  private void verifySchema() {
+    if (!schemaReady) {
+      if (!SchemaMigrations.missingTables(jdbcTemplate, TABLE).isEmpty()) {
+        throw new IllegalStateException(
+            TABLE + " is missing; apply " + JdbcFunnelStatRepository.MIGRATION);
+      }
+      schemaReady = true;
+    }
+  }
+
+  /** 1열은 actor_user_id, 이어서 {@link #COLUMNS} 순서. */
+  private static FunnelJourney mapJourney(ResultSet rs, int rowNum) throws SQLException {
+    Map<FunnelStage, Long> latencies = new EnumMap<>(FunnelStage.class);
+    int index = 6;
+    for (FunnelStage stage : LATENCY_STAGES) {
+      long latency = rs.getLong(index++);
+      if (!rs.wasNull()) {
+        latencies.put(stage, latency);
+      }
+    }
+    return FunnelJourney.restore(
+        rs.getString(2),
+        FunnelStage.valueOf(rs.getString(3)),
+        rs.getTimestamp(4).toLocalDateTime(),
+        rs.getTimestamp(5).toLocalDateTime(),
+        latencies,
+        rs.getLong(index));
+  }
+
+  private static String column(FunnelStage stage) {
+    return stage.name().toLowerCase(Locale.ROOT) + "_ms";
+  }
+}
@@ -0,0 +1,113 @@
+package com.tickatch.logservice.funnel.infrastructure.persistence;
+
+import com.tickatch.logservice.funnel.domain.FunnelMetric;
+import com.tickatch.logservice.funnel.domain.FunnelStage;
+import com.tickatch.logservice.funnel.domain.FunnelStat;
+import com.tickatch.logservice.funnel.domain.FunnelStatKey;
+import com.tickatch.logservice.funnel.domain.repository.FunnelStatRepository;
+import com.tickatch.logservice.global.migration.SchemaMigrations;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 퍼널 집계를 {@code p_funnel_stat}에 키별 증가분으로 더한다 (PostgreSQL upsert).
+ *
+ * <p>테이블은 애플리케이션이 만들지 않는다. 없으면({@link #MIGRATION} 미적용) 반영하지 않고 오류 로그를 한 번 남긴다.
+ */
+@Slf4j
+@Repository
+public class JdbcFunnelStatRepository implements FunnelStatRepository {
+
+  static final String TABLE = "p_funnel_stat";
+
+  static final String MIGRATION = "db/migration/011_funnel.sql";
+
+  private static final String UPSERT =
+      "INSERT INTO "
+          + TABLE
+          + " (product_key, bucket_start, stage, metric, le_ms, value) VALUES (?, ?, ?, ?, ?, ?)"
+          + " ON CONFLICT (product_key, bucket_start, stage, metric, le_ms)"
+          + " DO UPDATE SET value = "
+          + TABLE
+          + ".value + EXCLUDED.value";
+
+  private static final String SUM =
+      "SELECT stage, metric, le_ms, SUM(value) FROM "
+          + TABLE
+          + " WHERE product_key = ? AND bucket_start >= ? AND bucket_start < ?"
+          + " GROUP BY stage, metric, le_ms";
+
+  private final JdbcTemplate jdbcTemplate;
+  private volatile boolean schemaReady;
+  private boolean migrationReported;
+
+  public JdbcFunnelStatRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public boolean addAll(Map<FunnelStatKey, Long> deltas) {
+    if (!verifySchema()) {
+      return false;
+    }
+
+    List<Object[]> args = new ArrayList<>(deltas.size());
+    deltas.forEach(
+        (key, value) ->
+            args.add(
+                new Object[] {
+                  key.productKey(),
+                  Timestamp.valueOf(key.bucketStart()),
+                  key.stage().name(),
+                  key.metric().name(),
+                  key.leMillis(),
+                  value
+                }));
+    jdbcTemplate.batchUpdate(UPSERT, args);
+    return true;
+  }
+
+  @Override
+  public List<FunnelStat> sum(String productKey, LocalDateTime from, LocalDateTime to) {
+    if (!verifySchema()) {
+      return List.of();
+    }
+
+    return jdbcTemplate.query(
+        SUM,
+        (rs, rowNum) ->
+            new FunnelStat(
+                FunnelStage.valueOf(rs.getString(1)),
+                FunnelMetric.valueOf(rs.getString(2)),
+                rs.getLong(3),
+                rs.getLong(4)),
+        productKey,
+        Timestamp.valueOf(from),
+        Timestamp.valueOf(to));
+  }
+
+  private synchronized boolean verifySchema() {
+    if (schemaReady) {
+      return true;
+    }
+
+    try {
+      if (SchemaMigrations.missingTables(jdbcTemplate, TABLE).isEmpty()) {
+        schemaReady = true;
+      } else if (!migrationReported) {
+        migrationReported = true;
+        log.error("Funnel stat flush disabled: {} missing. Apply {}", TABLE, MIGRATION);
+      }
+    } catch (DataAccessException e) {
+      log.warn("Funnel stat table is not ready yet", e);
+    }
+    return schemaReady;
+  }
+}
@@ -0,0 +1,35 @@
+package com.tickatch.logservice.funnel.presentation;
+
+import com.tickatch.logservice.funnel.application.FunnelQueryService;
+import com.tickatch.logservice.funnel.application.dto.FunnelResponse;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/logs/funnel")
+@RequiredArgsConstructor
+public class FunnelController {
+
+  private final FunnelQueryService funnelQueryService;
+
+  /** 상품 ID(또는 {@code unattributed})의 구간별 판매 퍼널. {@code to}가 없으면 현재 시각까지. */
+  @GetMapping("/{productKey}")
+  public ResponseEntity<FunnelResponse> find(
+      @PathVariable String productKey,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to) {
+    LocalDateTime end = to != null ? to : LocalDateTime.now();
+    if (!from.isBefore(end)) {
+      return ResponseEntity.badRequest().build();
+    }
+    return ResponseEntity.ok(funnelQueryService.find(productKey, from, end));
+  }
+}
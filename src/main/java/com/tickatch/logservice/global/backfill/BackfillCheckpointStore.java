@@ -0,0 +1,68 @@
+package com.tickatch.logservice.global.backfill;
+
+import com.tickatch.logservice.global.migration.SchemaMigrations;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * {@code p_backfill_checkpoint} 테이블에 끝난 청크를 기록한다.
+ *
+ * <p>기록은 청크 적재와 같은 트랜잭션에서 하므로, 중단 후 다시 실행하면 커밋된 청크만 건너뛴다. 청크 크기를 바꾸면 경계가 달라져 처음부터 다시
+ * 읽지만 이미 있는 이벤트는 넣지 않는다.
+ *
+ * <p>테이블은 애플리케이션이 만들지 않는다. 기존 DB는 {@link #MIGRATION}을 적용한 뒤 백필을 실행한다.
+ *
+ * @since 1.0.0
+ */
+final class BackfillCheckpointStore {
+
+  static final String TABLE = "p_backfill_checkpoint";
+
+  static final String MIGRATION = "db/migration/008_backfill_checkpoint.sql";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  BackfillCheckpointStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    if (!SchemaMigrations.missingTables(jdbcTemplate, TABLE).isEmpty()) {
+      throw new IllegalStateException(TABLE + " is missing; apply " + MIGRATION);
+    }
+  }
+
+  /** 파일에서 이미 끝난 청크의 {@code start:end} 목록. */
+  Set<String> completed(BackfillFile file) {
+    return new HashSet<>(
+        jdbcTemplate.query(
+            "SELECT chunk_start, chunk_end FROM " + TABLE + " WHERE fingerprint = ?",
+            (rs, rowNum) -> key(rs.getLong("chunk_start"), rs.getLong("chunk_end")),
+            file.fingerprint()));
+  }
+
+  void record(BackfillChunk chunk, long rows, long inserted, long invalid) {
+    jdbcTemplate.update(
+        "INSERT INTO "
+            + TABLE
+            + " (fingerprint, chunk_start, chunk_end, file_name, row_count, inserted, invalid,"
+            + " completed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON CONFLICT (fingerprint, chunk_start, chunk_end) DO NOTHING",
+        chunk.file().fingerprint(),
+        chunk.start(),
+        chunk.end(),
+        chunk.file().path().getFileName().toString(),
+        rows,
+        inserted,
+        invalid,
+        Timestamp.valueOf(LocalDateTime.now()));
+  }
+
+  static String key(BackfillChunk chunk) {
+    return key(chunk.start(), chunk.end());
+  }
+
+  private static String key(long start, long end) {
+    return start + ":" + end;
+  }
+}
@@ -0,0 +1,87 @@
+package com.tickatch.logservice.global.backfill;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 파일의 바이트 구간 {@code [start, end)}.
+ *
+ * <p>청크는 구간 안에서 시작하는 줄을 모두 가진다. 구간 끝을 넘는 줄도 끝까지 읽고, 구간 중간에서 시작하면 첫 줄 경계까지 건너뛴다. 그래서 청크
+ * 경계를 줄과 상관없이 크기로만 나눠도 모든 줄이 정확히 한 청크에 속하고, 같은 설정이면 재시작해도 경계가 같다.
+ *
+ * @since 1.0.0
+ */
+record BackfillChunk(BackfillFile file, long start, long end) {
+
+  private static final int READ_BUFFER = 64 * 1024;
+
+  @FunctionalInterface
+  interface LineHandler {
+
+    /**
+     * @param lineStart 줄 첫 바이트의 파일 위치 (오류 보고용)
+     */
+    void accept(long lineStart, String line);
+  }
+
+  long length() {
+    return end - start;
+  }
+
+  /** 청크에 속한 줄을 순서대로 넘긴다. 빈 줄과 CSV 헤더는 건너뛴다. */
+  void read(LineHandler handler) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+      // 직전 바이트부터 읽어 첫 줄이 구간 시작에서 바로 시작하는지 확인한다
+      long position = start == 0 ? 0 : start - 1;
+      channel.position(position);
+      InputStream in = new BufferedInputStream(Channels.newInputStream(channel), READ_BUFFER);
+      ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+
+      if (start > 0) {
+        int b;
+        while ((b = in.read()) != -1) {
+          position++;
+          if (b == '\n') {
+            break;
+          }
+        }
+      }
+
+      while (position < end) {
+        long lineStart = position;
+        line.reset();
+        int b;
+        while ((b = in.read()) != -1) {
+          position++;
+          if (b == '\n') {
+            break;
+          }
+          line.write(b);
+        }
+        if (b == -1 && line.size() == 0) {
+          return;
+        }
+
+        String text = line.toString(StandardCharsets.UTF_8);
+        if (text.endsWith("\r")) {
+          text = text.substring(0, text.length() - 1);
+        }
+        if (lineStart == 0) {
+          if (file.hasHeader()) {
+            continue;
+          }
+          text = BackfillFile.stripBom(text);
+        }
+        if (!text.isBlank()) {
+          handler.accept(lineStart, text);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,215 @@
+package com.tickatch.logservice.global.backfill;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import io.github.tickatch.common.util.JsonUtils;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 백필 입력 파일 하나.
+ *
+ * <p>도메인은 파일 이름 앞부분의 도메인 키로 정한다(가장 긴 키 우선). 형식은 확장자로 정하며 {@code .ndjson}/{@code .jsonl}은 한 줄에
+ * 이벤트 JSON 하나, {@code .csv}는 첫 줄이 헤더인 CSV다. CSV 값에는 줄바꿈이 없어야 한다. 헤더는 이벤트 필드(camelCase)나 테이블
+ * 컬럼(snake_case) 이름을 쓸 수 있고, 테이블 덤프의 {@code id}는 {@code eventId}로 읽는다.
+ *
+ * <p>지문은 파일 크기와 앞뒤 64KiB의 SHA-256이다. 이름을 바꾼 같은 파일도 체크포인트를 이어 쓴다.
+ *
+ * @since 1.0.0
+ */
+record BackfillFile(
+    Path path,
+    LogDomain domain,
+    Format format,
+    long size,
+    String fingerprint,
+    List<String> header) {
+
+  private static final int FINGERPRINT_BYTES = 64 * 1024;
+  private static final ObjectMapper OBJECT_MAPPER = JsonUtils.getObjectMapper();
+
+  enum Format {
+    NDJSON,
+    CSV
+  }
+
+  /**
+   * 파일 이름으로 도메인과 형식을 정하고 지문을 계산한다.
+   *
+   * @throws IllegalArgumentException 도메인 키나 확장자를 알 수 없음
+   */
+  static BackfillFile open(Path path) throws IOException {
+    String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+    LogDomain domain = null;
+    for (LogDomain candidate : LogDomain.values()) {
+      if (name.startsWith(candidate.getKey())
+          && (domain == null || candidate.getKey().length() > domain.getKey().length())) {
+        domain = candidate;
+      }
+    }
+    if (domain == null) {
+      throw new IllegalArgumentException("File name does not start with a log domain key");
+    }
+
+    Format format;
+    if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+      format = Format.NDJSON;
+    } else if (name.endsWith(".csv")) {
+      format = Format.CSV;
+    } else {
+      throw new IllegalArgumentException("Unsupported dump format (use .ndjson, .jsonl or .csv)");
+    }
+
+    List<String> header = List.of();
+    if (format == Format.CSV) {
+      try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+        String line = reader.readLine();
+        if (line == null) {
+          throw new IllegalArgumentException("CSV dump has no header");
+        }
+        header = parseCsvLine(stripBom(line)).stream().map(BackfillFile::toFieldName).toList();
+      }
+    }
+    long size = Files.size(path);
+    return new BackfillFile(path, domain, format, size, fingerprint(path, size), header);
+  }
+
+  /** 파일을 {@code chunkBytes} 단위 바이트 구간으로 나눈다. 줄 경계는 읽을 때 맞춘다. */
+  List<BackfillChunk> chunks(long chunkBytes) {
+    List<BackfillChunk> chunks = new ArrayList<>();
+    for (long start = 0; start < size; start += chunkBytes) {
+      chunks.add(new BackfillChunk(this, start, Math.min(size, start + chunkBytes)));
+    }
+    return chunks;
+  }
+
+  /**
+   * 한 줄을 이벤트 본문으로 읽는다. 빈 CSV 값은 필드가 없는 것으로 본다.
+   *
+   * @throws IllegalArgumentException 읽을 수 없는 줄
+   */
+  ObjectNode parse(String line) {
+    if (format == Format.NDJSON) {
+      JsonNode node;
+      try {
+        node = OBJECT_MAPPER.readTree(line);
+      } catch (JsonProcessingException e) {
+        throw new IllegalArgumentException("Unreadable JSON");
+      }
+      if (!(node instanceof ObjectNode body)) {
+        throw new IllegalArgumentException("Line is not a JSON object");
+      }
+      return body;
+    }
+
+    List<String> values = parseCsvLine(line);
+    if (values.size() != header.size()) {
+      throw new IllegalArgumentException(
+          "Expected " + header.size() + " CSV values but found " + values.size());
+    }
+    ObjectNode body = OBJECT_MAPPER.createObjectNode();
+    for (int i = 0; i < values.size(); i++) {
+      if (!values.get(i).isEmpty()) {
+        body.put(header.get(i), values.get(i));
+      }
+    }
+    return body;
+  }
+
+  boolean hasHeader() {
+    return format == Format.CSV;
+  }
+
+  static String stripBom(String line) {
+    return line.startsWith("\uFEFF") ? line.substring(1) : line;
+  }
+
+  /** RFC 4180 한 줄. 큰따옴표로 감싼 값 안의 {@code ""}는 큰따옴표 하나다. */
+  static List<String> parseCsvLine(String line) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          value.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          value.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quoted CSV value");
+    }
+    values.add(value.toString());
+    return values;
+  }
+
+  /**
+   * {@code reservation_seat_id} → {@code reservationSeatId}. 테이블 덤프의 {@code id}는 {@code eventId}다.
+   */
+  static String toFieldName(String column) {
+    String trimmed = column.trim();
+    if (trimmed.equals("id")) {
+      return "eventId";
+    }
+    StringBuilder field = new StringBuilder(trimmed.length());
+    boolean upper = false;
+    for (char c : trimmed.toCharArray()) {
+      if (c == '_') {
+        upper = true;
+      } else {
+        field.append(upper ? Character.toUpperCase(c) : c);
+        upper = false;
+      }
+    }
+    return field.toString();
+  }
+
+  private static String fingerprint(Path path, long size) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    digest.update(ByteBuffer.allocate(Long.BYTES).putLong(size).flip());
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(FINGERPRINT_BYTES);
+      for (long position : new long[] {0, Math.max(0, size - FINGERPRINT_BYTES)}) {
+        buffer.clear();
+        while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0) {
+          // 버퍼를 채울 때까지 읽는다
+        }
+        digest.update(buffer.flip());
+      }
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+}
@@ -0,0 +1,383 @@
+package com.tickatch.logservice.global.backfill;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.logging.FailureLogLimiter;
+import com.tickatch.logservice.global.quota.ThroughputBucket;
+import com.tickatch.logservice.global.schema.EventSchemaDecoder;
+import io.github.tickatch.common.util.JsonUtils;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * NDJSON/CSV 덤프를 도메인 로그 테이블에 병렬로 적재한다.
+ *
+ * <p>입력 파일을 크기 단위 청크로 나눠 fork-join 풀에서 {@code parallelism}개씩 처리한다. 청크마다 줄을 읽어 이벤트 스키마를 현재
+ * 버전으로 맞추고({@link EventSchemaDecoder#upcast}), 테이블 컬럼 기준으로 검증한 뒤, 트랜잭션 하나에서 임시 테이블로 {@code COPY}하고
+ * 발생 시각 순으로 넣는다. 중복과 이미 있는 이벤트는 {@code id} 유일 인덱스 충돌로 건너뛴다. 끝난 청크는 같은 트랜잭션에서 체크포인트로
+ * 남는다. 적재 트랜잭션은 {@code synchronous_commit}을 끄므로 DB가 비정상 종료되면 마지막 몇 청크가 체크포인트와 함께 사라지고, 다시
+ * 실행하면 그 청크부터 적재한다.
+ *
+ * <p>백필한 행은 {@code tx_id}가 비어 있어 change feed로 발행되지 않고 해시 체인에 봉인되지 않는다. 무결성 검증은 실시간 수집된 행만
+ * 보장한다.
+ *
+ * <p>실시간 수집을 굶기지 않도록 동시 커넥션 수를 {@code parallelism}으로 묶고, 초당 행 수 예산을 적용하며, 청크를 시작하기 전에 그
+ * 도메인 큐 적체가 {@code liveBacklogThreshold}를 넘으면 줄어들 때까지 기다린다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "log.backfill.enabled", havingValue = "true")
+public class BackfillImporter {
+
+  private static final Duration RETRY_BACKOFF = Duration.ofSeconds(2);
+
+  private final BackfillProperties properties;
+  private final EventSchemaDecoder schemaDecoder;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final AmqpAdmin amqpAdmin;
+  private final FailureLogLimiter failureLogLimiter;
+  private final ThroughputBucket rowBudget;
+  private final ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+  private final Map<LogDomain, BackfillTable> tables = new EnumMap<>(LogDomain.class);
+  private BackfillCheckpointStore checkpointStore;
+  private BackfillProgress progress;
+
+  public BackfillImporter(
+      BackfillProperties properties,
+      EventSchemaDecoder schemaDecoder,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      AmqpAdmin amqpAdmin,
+      FailureLogLimiter failureLogLimiter) {
+    this.properties = properties;
+    this.schemaDecoder = schemaDecoder;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.amqpAdmin = amqpAdmin;
+    this.failureLogLimiter = failureLogLimiter;
+    this.rowBudget =
+        properties.rowsPerSecond() > 0
+            ? new ThroughputBucket(properties.rowsPerSecond(), properties.rowsPerSecond())
+            : null;
+  }
+
+  /**
+   * 파일 하나 또는 디렉터리 안의 덤프 파일을 모두 적재한다. 이름을 해석할 수 없는 파일은 건너뛴다.
+   *
+   * @param input 덤프 파일 또는 디렉터리
+   */
+  public BackfillReport run(Path input) throws IOException {
+    checkpointStore = new BackfillCheckpointStore(jdbcTemplate);
+
+    List<BackfillChunk> pending = new ArrayList<>();
+    long chunks = 0;
+    long pendingBytes = 0;
+    for (Path path : listFiles(input)) {
+      BackfillFile file;
+      try {
+        file = BackfillFile.open(path);
+      } catch (IllegalArgumentException e) {
+        log.warn("Skipped backfill file {}: {}", path, e.getMessage());
+        continue;
+      }
+      Set<String> completed = checkpointStore.completed(file);
+      for (BackfillChunk chunk : file.chunks(properties.chunkSize().toBytes())) {
+        chunks++;
+        if (!completed.contains(BackfillCheckpointStore.key(chunk))) {
+          pending.add(chunk);
+          pendingBytes += chunk.length();
+        }
+      }
+      log.info(
+          "Backfill file: path={}, domain={}, format={}, size={}, completedChunks={}",
+          path,
+          file.domain().getKey(),
+          file.format(),
+          file.size(),
+          completed.size());
+    }
+
+    // id 유일 인덱스가 없는 테이블이 있으면 적재를 시작하기 전에 실패한다
+    pending.stream().map(chunk -> chunk.file().domain()).distinct().forEach(this::tableOf);
+
+    progress = new BackfillProgress(chunks, chunks - pending.size(), pendingBytes);
+    log.info(
+        "Backfill started: chunks={}, pending={}, parallelism={}, rowsPerSecond={}",
+        chunks,
+        pending.size(),
+        properties.parallelism(),
+        properties.rowsPerSecond());
+
+    ScheduledExecutorService reporter =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "backfill-progress");
+              thread.setDaemon(true);
+              return thread;
+            });
+    long interval = properties.progressInterval().toMillis();
+    reporter.scheduleAtFixedRate(
+        () -> log.info("Backfill progress: {}", progress.describe()),
+        interval,
+        interval,
+        TimeUnit.MILLISECONDS);
+
+    ForkJoinPool pool = new ForkJoinPool(properties.parallelism());
+    try {
+      if (!pending.isEmpty()) {
+        pool.invoke(new ChunkTask(pending, 0, pending.size()));
+      }
+    } finally {
+      pool.shutdown();
+      reporter.shutdownNow();
+    }
+
+    BackfillReport report = progress.report();
+    log.info("Backfill finished: {}", progress.describe());
+    return report;
+  }
+
+  /** 청크 하나를 읽고 적재한다. 재시도 후에도 실패하면 건너뛰고, 다음 실행에서 다시 시도된다. */
+  private void importChunk(BackfillChunk chunk) {
+    LogDomain domain = chunk.file().domain();
+    BackfillTable table = tableOf(domain);
+    awaitLiveBacklog(domain);
+
+    List<String[]> rows = new ArrayList<>();
+    long[] invalid = new long[1];
+    try {
+      chunk.read(
+          (lineStart, line) -> {
+            try {
+              rows.add(toRow(table, chunk.file().parse(line)));
+            } catch (IllegalArgumentException | AmqpException e) {
+              invalid[0]++;
+              long suppressed = failureLogLimiter.tryAcquire(chunk.file().path().toString());
+              if (suppressed != FailureLogLimiter.DENIED) {
+                log.warn(
+                    "Invalid backfill line: file={}, byte={}, reason={} (suppressed={})",
+                    chunk.file().path(),
+                    lineStart,
+                    e.getMessage(),
+                    suppressed);
+              }
+            }
+          });
+    } catch (IOException e) {
+      progress.failed(chunk);
+      log.error("Failed to read backfill chunk: {}", describe(chunk), e);
+      return;
+    }
+
+    throttle(rows.size());
+    for (int attempt = 1; ; attempt++) {
+      try {
+        long inserted = load(table, chunk, rows, invalid[0]);
+        progress.completed(chunk, rows.size(), inserted, invalid[0]);
+        return;
+      } catch (DataAccessException e) {
+        if (attempt >= properties.maxAttempts()) {
+          progress.failed(chunk);
+          log.error("Failed to load backfill chunk: {}", describe(chunk), e);
+          return;
+        }
+        log.warn(
+            "Retrying backfill chunk: {} (attempt={}, cause={})",
+            describe(chunk),
+            attempt,
+            e.getMostSpecificCause().getMessage());
+        LockSupport.parkNanos(RETRY_BACKOFF.toNanos() * attempt);
+      }
+    }
+  }
+
+  private long load(BackfillTable table, BackfillChunk chunk, List<String[]> rows, long invalid) {
+    Long inserted =
+        transactionTemplate.execute(
+            status -> {
+              // 체크포인트가 같은 트랜잭션에 있으므로 유실되어도 다시 실행하면 복구된다
+              jdbcTemplate.execute("SET LOCAL synchronous_commit = off");
+              long count = 0;
+              if (!rows.isEmpty()) {
+                jdbcTemplate.execute(table.createStageSql());
+                jdbcTemplate.execute(
+                    (ConnectionCallback<Long>)
+                        connection ->
+                            copy(connection.unwrap(PGConnection.class), table.copySql(), rows));
+                count = jdbcTemplate.update(table.insertSql());
+              }
+              checkpointStore.record(chunk, rows.size(), count, invalid);
+              return count;
+            });
+    return inserted == null ? 0 : inserted;
+  }
+
+  private static long copy(PGConnection connection, String sql, List<String[]> rows)
+      throws SQLException {
+    StringBuilder csv = new StringBuilder(rows.size() * 128);
+    for (String[] row : rows) {
+      for (int i = 0; i < row.length; i++) {
+        if (i > 0) {
+          csv.append(',');
+        }
+        // 따옴표 없는 빈 값은 NULL, 따옴표로 감싼 값은 그대로 읽힌다
+        if (row[i] != null) {
+          csv.append('"').append(row[i].replace("\"", "\"\"")).append('"');
+        }
+      }
+      csv.append('\n');
+    }
+    try {
+      return connection.getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * 덤프 본문을 현재 스키마로 맞춘 행으로 바꾼다. 테이블 덤프의 {@code tx_id}는 버리고 {@code overflow}는 스키마가 떼어 낸 필드와
+   * 합친다.
+   */
+  private String[] toRow(BackfillTable table, ObjectNode body) {
+    body.remove("txId");
+    JsonNode dumpedOverflow = body.remove("overflow");
+    ObjectNode overflow = schemaDecoder.upcast(table.domain(), body);
+
+    if (dumpedOverflow != null && !dumpedOverflow.isNull()) {
+      JsonNode previous = dumpedOverflow;
+      if (previous.isTextual()) {
+        try {
+          previous = objectMapper.readTree(previous.asText());
+        } catch (JsonProcessingException e) {
+          throw new IllegalArgumentException("Invalid JSON in overflow");
+        }
+      }
+      if (previous instanceof ObjectNode merged) {
+        if (overflow != null) {
+          merged.setAll(overflow);
+        }
+        overflow = merged;
+      }
+    }
+    return table.toRow(body, overflow);
+  }
+
+  private synchronized BackfillTable tableOf(LogDomain domain) {
+    return tables.computeIfAbsent(domain, key -> BackfillTable.load(key, jdbcTemplate));
+  }
+
+  private void throttle(int rows) {
+    if (rowBudget == null || rows == 0) {
+      return;
+    }
+    long waitNanos = rowBudget.reserve(rows);
+    long deadline = System.nanoTime() + waitNanos;
+    for (long remaining = waitNanos; remaining > 0; remaining = deadline - System.nanoTime()) {
+      LockSupport.parkNanos(this, remaining);
+    }
+  }
+
+  /** 실시간 Consumer가 밀려 있으면 그 도메인 청크를 시작하지 않고 기다린다. */
+  private void awaitLiveBacklog(LogDomain domain) {
+    if (properties.liveBacklogThreshold() <= 0) {
+      return;
+    }
+    boolean paused = false;
+    while (true) {
+      QueueInformation queue;
+      try {
+        queue = amqpAdmin.getQueueInfo(domain.getQueue());
+      } catch (AmqpException e) {
+        log.warn("Cannot read live queue backlog of {}: {}", domain.getQueue(), e.getMessage());
+        return;
+      }
+      if (queue == null || queue.getMessageCount() <= properties.liveBacklogThreshold()) {
+        if (paused) {
+          log.info("Resumed {} backfill", domain.getKey());
+        }
+        return;
+      }
+      if (!paused) {
+        log.info(
+            "Paused {} backfill: live queue backlog {} > {}",
+            domain.getKey(),
+            queue.getMessageCount(),
+            properties.liveBacklogThreshold());
+        paused = true;
+      }
+      LockSupport.parkNanos(properties.backlogPause().toNanos());
+    }
+  }
+
+  private static List<Path> listFiles(Path input) throws IOException {
+    if (!Files.isDirectory(input)) {
+      return List.of(input);
+    }
+    try (Stream<Path> files = Files.list(input)) {
+      return files.filter(Files::isRegularFile).sorted().toList();
+    }
+  }
+
+  private static String describe(BackfillChunk chunk) {
+    return chunk.file().path() + "[" + chunk.start() + ", " + chunk.end() + ")";
+  }
+
+  /** 청크 목록을 반으로 나눠 fork하고, 하나가 남으면 적재한다. */
+  private final class ChunkTask extends RecursiveAction {
+
+    private final List<BackfillChunk> chunks;
+    private final int from;
+    private final int to;
+
+    private ChunkTask(List<BackfillChunk> chunks, int from, int to) {
+      this.chunks = chunks;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        importChunk(chunks.get(from));
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new ChunkTask(chunks, from, mid), new ChunkTask(chunks, mid, to));
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.tickatch.logservice.global.backfill;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 청크 작업들이 함께 갱신하는 진행 상황. 주기 로그와 최종 결과를 만든다.
+ *
+ * @since 1.0.0
+ */
+final class BackfillProgress {
+
+  private static final double MIB = 1024.0 * 1024.0;
+
+  private final long totalChunks;
+  private final long resumedChunks;
+  private final long totalBytes;
+  private final long startedAt = System.nanoTime();
+  private final LongAdder chunks = new LongAdder();
+  private final LongAdder failedChunks = new LongAdder();
+  private final LongAdder bytes = new LongAdder();
+  private final LongAdder rows = new LongAdder();
+  private final LongAdder inserted = new LongAdder();
+  private final LongAdder invalid = new LongAdder();
+
+  BackfillProgress(long totalChunks, long resumedChunks, long totalBytes) {
+    this.totalChunks = totalChunks;
+    this.resumedChunks = resumedChunks;
+    this.totalBytes = totalBytes;
+  }
+
+  void completed(BackfillChunk chunk, long chunkRows, long chunkInserted, long chunkInvalid) {
+    chunks.increment();
+    bytes.add(chunk.length());
+    rows.add(chunkRows);
+    inserted.add(chunkInserted);
+    invalid.add(chunkInvalid);
+  }
+
+  void failed(BackfillChunk chunk) {
+    chunks.increment();
+    failedChunks.increment();
+    bytes.add(chunk.length());
+  }
+
+  /** 진행률, 처리량, 남은 시간 추정. 진행 로그 한 줄이다. */
+  String describe() {
+    long doneBytes = bytes.sum();
+    double seconds = Math.max(1e-3, (System.nanoTime() - startedAt) / 1_000_000_000.0);
+    double bytesPerSecond = doneBytes / seconds;
+    long eta = bytesPerSecond == 0 ? -1 : (long) ((totalBytes - doneBytes) / bytesPerSecond);
+    return String.format(
+        Locale.ROOT,
+        "chunks=%d/%d (resumed=%d, failed=%d), %.1f/%.1f MiB (%.1f%%), rows=%d"
+            + " (inserted=%d, invalid=%d), %.0f rows/s, %.1f MiB/s, eta=%s",
+        chunks.sum(),
+        totalChunks - resumedChunks,
+        resumedChunks,
+        failedChunks.sum(),
+        doneBytes / MIB,
+        totalBytes / MIB,
+        totalBytes == 0 ? 100.0 : doneBytes * 100.0 / totalBytes,
+        rows.sum(),
+        inserted.sum(),
+        invalid.sum(),
+        rows.sum() / seconds,
+        bytesPerSecond / MIB,
+        eta < 0 ? "-" : Duration.ofSeconds(eta));
+  }
+
+  BackfillReport report() {
+    long totalRows = rows.sum();
+    long totalInserted = inserted.sum();
+    return new BackfillReport(
+        totalChunks,
+        resumedChunks,
+        failedChunks.sum(),
+        totalRows,
+        totalInserted,
+        totalRows - totalInserted,
+        invalid.sum(),
+        bytes.sum(),
+        Duration.ofNanos(System.nanoTime() - startedAt));
+  }
+}
@@ -0,0 +1,50 @@
+package com.tickatch.logservice.global.backfill;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 오프라인 백필 명령 설정.
+ *
+ * @param enabled 사용 여부. 켜면 애플리케이션이 수집 대신 덤프를 적재하고 종료한다 ({@code backfill} 프로파일)
+ * @param input 덤프 파일 또는 디렉터리 경로. 파일 이름은 도메인 키로 시작해야 한다 (예: {@code payment-2025-01.ndjson})
+ * @param parallelism 동시에 적재하는 청크 수 (= 사용하는 DB 커넥션 수)
+ * @param chunkSize 파일을 나누는 단위. 청크 하나가 트랜잭션 하나다
+ * @param rowsPerSecond 전체 적재 속도 상한. 0이면 제한하지 않는다
+ * @param liveBacklogThreshold 도메인 큐에 쌓인 메시지가 이 값을 넘으면 그 도메인 적재를 멈춘다. 0이면 확인하지 않는다
+ * @param backlogPause 실시간 큐 적체 시 다시 확인하기 전 대기
+ * @param progressInterval 진행률 로그 주기
+ * @param maxAttempts DB 오류 시 청크 하나를 시도하는 최대 횟수
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.backfill")
+public record BackfillProperties(
+    boolean enabled,
+    String input,
+    int parallelism,
+    DataSize chunkSize,
+    int rowsPerSecond,
+    long liveBacklogThreshold,
+    Duration backlogPause,
+    Duration progressInterval,
+    int maxAttempts) {
+
+  public BackfillProperties {
+    if (parallelism <= 0) {
+      parallelism = 2;
+    }
+    if (chunkSize == null || chunkSize.toBytes() <= 0) {
+      chunkSize = DataSize.ofMegabytes(8);
+    }
+    if (backlogPause == null) {
+      backlogPause = Duration.ofSeconds(5);
+    }
+    if (progressInterval == null) {
+      progressInterval = Duration.ofSeconds(10);
+    }
+    if (maxAttempts <= 0) {
+      maxAttempts = 3;
+    }
+  }
+}
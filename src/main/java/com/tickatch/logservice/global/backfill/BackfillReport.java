@@ -0,0 +1,34 @@
+package com.tickatch.logservice.global.backfill;
+
+import java.time.Duration;
+
+/**
+ * 백필 실행 결과.
+ *
+ * @param chunks 전체 청크 수
+ * @param resumedChunks 이전 실행에서 끝나 건너뛴 청크 수
+ * @param failedChunks 재시도 후에도 적재하지 못한 청크 수. 다시 실행하면 이 청크부터 이어서 적재한다
+ * @param rows 읽은 유효 행 수
+ * @param inserted 새로 넣은 행 수
+ * @param duplicates 청크 안 중복이거나 이미 있어 넣지 않은 행 수
+ * @param invalid 읽을 수 없거나 검증에 실패한 줄 수
+ * @param bytes 처리한 입력 바이트
+ * @param elapsed 실행 시간
+ * @since 1.0.0
+ */
+public record BackfillReport(
+    long chunks,
+    long resumedChunks,
+    long failedChunks,
+    long rows,
+    long inserted,
+    long duplicates,
+    long invalid,
+    long bytes,
+    Duration elapsed) {
+
+  public double rowsPerSecond() {
+    double seconds = elapsed.toNanos() / 1_000_000_000.0;
+    return seconds == 0 ? 0 : rows / seconds;
+  }
+}
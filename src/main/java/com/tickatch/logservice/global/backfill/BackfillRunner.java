@@ -0,0 +1,42 @@
+package com.tickatch.logservice.global.backfill;
+
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * 백필 명령 진입점. {@code backfill} 프로파일로 실행하면 덤프를 적재하고 종료한다.
+ *
+ * <p>ApplicationRunner는 {@code ApplicationReadyEvent} 이전에 실행되므로 이 프로세스의 리스너는 시작되지 않는다. 실패한 청크가
+ * 있으면 종료 코드 1로 끝나며, 같은 명령을 다시 실행하면 끝나지 않은 청크부터 이어서 적재한다.
+ *
+ * <pre>
+ * java -jar log-service.jar --spring.profiles.active=backfill --log.backfill.input=/dumps
+ * </pre>
+ *
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "log.backfill.enabled", havingValue = "true")
+public class BackfillRunner implements ApplicationRunner {
+
+  private final BackfillImporter importer;
+  private final BackfillProperties properties;
+  private final ApplicationContext applicationContext;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    if (properties.input() == null || properties.input().isBlank()) {
+      throw new IllegalStateException("log.backfill.input is required");
+    }
+    BackfillReport report = importer.run(Path.of(properties.input()));
+    int exitCode = report.failedChunks() == 0 ? 0 : 1;
+    System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+  }
+}
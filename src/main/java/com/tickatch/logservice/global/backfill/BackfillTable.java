@@ -0,0 +1,210 @@
+package com.tickatch.logservice.global.backfill;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import io.github.tickatch.common.util.JsonUtils;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 도메인 테이블 컬럼 정보로 이벤트 본문을 검증하고 적재용 행으로 바꾼다.
+ *
+ * <p>컬럼은 이벤트 본문의 camelCase 필드에 대응시킨다({@code id}는 {@code eventId}, {@code overflow}는 스키마에 없는 필드).
+ * 값은 컬럼 타입으로 읽을 수 있어야 하고, 기본값 없는 NOT NULL 컬럼은 값이 있어야 한다. 잘못된 행은 이 단계에서 걸러서 DB 쪽 캐스팅 오류로 청크
+ * 전체가 실패하지 않게 한다.
+ *
+ * <p>{@code tx_id}는 비워서 넣는다. 과거 이벤트가 change feed로 다시 발행되지 않는 대신 해시 체인에도 봉인되지 않으므로, 백필한 행은 무결성
+ * 검증 대상이 아니다.
+ *
+ * <p>중복은 {@code id} 유일 인덱스로 막는다. 인덱스가 없으면 청크 사이나 기존 행과의 중복을 걸러낼 수 없으므로 {@link #load}가 실패한다.
+ *
+ * @since 1.0.0
+ */
+final class BackfillTable {
+
+  static final String STAGE_TABLE = "backfill_stage";
+
+  private static final String TX_ID = "tx_id";
+  private static final String OVERFLOW = "overflow";
+  private static final String OCCURRED_AT = "occurred_at";
+
+  /** {@code id} 한 컬럼에 대한 유효한 유일 인덱스(PK 포함)가 있는지. */
+  private static final String HAS_UNIQUE_ID_SQL =
+      "SELECT EXISTS (SELECT 1 FROM pg_index i JOIN pg_attribute a"
+          + " ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]"
+          + " WHERE i.indrelid = to_regclass(?) AND i.indisunique AND i.indisvalid"
+          + " AND i.indnkeyatts = 1 AND i.indpred IS NULL AND a.attname = 'id')";
+
+  private final ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+  private final LogDomain domain;
+  private final List<Column> columns;
+  private final boolean hasTxId;
+
+  private BackfillTable(LogDomain domain, List<Column> columns, boolean hasTxId) {
+    this.domain = domain;
+    this.columns = columns;
+    this.hasTxId = hasTxId;
+    if (columns.stream().noneMatch(column -> column.name().equals(OCCURRED_AT))) {
+      throw new IllegalStateException(domain.getTable() + " has no occurred_at column");
+    }
+  }
+
+  static BackfillTable load(LogDomain domain, JdbcTemplate jdbc) {
+    List<Column> columns =
+        jdbc.query(
+            "SELECT column_name, udt_name, column_default, is_nullable, character_maximum_length"
+                + " FROM information_schema.columns"
+                + " WHERE table_schema = current_schema() AND table_name = ?"
+                + " ORDER BY ordinal_position",
+            (rs, rowNum) ->
+                new Column(
+                    rs.getString("column_name"),
+                    rs.getString("udt_name"),
+                    rs.getString("column_default"),
+                    "YES".equals(rs.getString("is_nullable")),
+                    (Integer) rs.getObject("character_maximum_length")),
+            domain.getTable());
+    if (columns.isEmpty()) {
+      throw new IllegalStateException("Log table not found: " + domain.getTable());
+    }
+    Boolean hasUniqueId = jdbc.queryForObject(HAS_UNIQUE_ID_SQL, Boolean.class, domain.getTable());
+    if (!Boolean.TRUE.equals(hasUniqueId)) {
+      throw new IllegalStateException(
+          domain.getTable()
+              + " has no unique index on id; apply db/migration/002_log_id_unique.sql");
+    }
+    boolean hasTxId = columns.stream().anyMatch(column -> column.name().equals(TX_ID));
+    return new BackfillTable(
+        domain,
+        columns.stream().filter(column -> !column.name().equals(TX_ID)).toList(),
+        hasTxId);
+  }
+
+  LogDomain domain() {
+    return domain;
+  }
+
+  /**
+   * 스키마 변환을 마친 본문을 컬럼 순서의 텍스트 값으로 바꾼다.
+   *
+   * @param overflow 스키마에 없어 떼어 낸 필드. 없으면 {@code null}
+   * @throws IllegalArgumentException 필수 값이 없거나 컬럼 타입으로 읽을 수 없음
+   */
+  String[] toRow(ObjectNode body, ObjectNode overflow) {
+    String[] row = new String[columns.size()];
+    for (int i = 0; i < row.length; i++) {
+      Column column = columns.get(i);
+      JsonNode value = column.name().equals(OVERFLOW) ? overflow : body.get(column.fieldName());
+      row[i] = value == null || value.isNull() ? null : column.normalize(value, objectMapper);
+      if (row[i] == null && !column.nullable() && column.defaultExpression() == null) {
+        throw new IllegalArgumentException("Missing required field " + column.fieldName());
+      }
+    }
+    return row;
+  }
+
+  String createStageSql() {
+    return "CREATE TEMP TABLE "
+        + STAGE_TABLE
+        + " ("
+        + columns.stream().map(column -> column.name() + " text").collect(Collectors.joining(", "))
+        + ") ON COMMIT DROP";
+  }
+
+  String copySql() {
+    return "COPY "
+        + STAGE_TABLE
+        + " ("
+        + columnList()
+        + ") FROM STDIN WITH (FORMAT csv)";
+  }
+
+  /**
+   * 스테이징 테이블의 행을 발생 시각 순으로 넣는다. 정렬 기준은 텍스트 컬럼이 아니라 캐스팅한 출력 컬럼이다.
+   *
+   * <p>청크 안 중복, 다른 청크나 실시간 수집으로 이미 들어간 이벤트는 모두 {@code id} 유일 인덱스 충돌로 건너뛴다. 먼저 커밋된 쪽이 남고, 동시에 같은
+   * 이벤트를 넣는 트랜잭션은 먼저 들어간 쪽의 커밋을 기다린다.
+   */
+  String insertSql() {
+    return "INSERT INTO "
+        + domain.getTable()
+        + " ("
+        + columnList()
+        + (hasTxId ? ", " + TX_ID : "")
+        + ") SELECT "
+        + columns.stream().map(Column::selectExpression).collect(Collectors.joining(", "))
+        + (hasTxId ? ", NULL" : "")
+        + " FROM "
+        + STAGE_TABLE
+        + " s ORDER BY "
+        + OCCURRED_AT
+        + " ON CONFLICT (id) DO NOTHING";
+  }
+
+  private String columnList() {
+    return columns.stream().map(Column::name).collect(Collectors.joining(", "));
+  }
+
+  private record Column(
+      String name, String type, String defaultExpression, boolean nullable, Integer maxLength) {
+
+    String fieldName() {
+      return BackfillFile.toFieldName(name);
+    }
+
+    String selectExpression() {
+      String cast = "s." + name + "::" + type;
+      return (defaultExpression == null
+              ? cast
+              : "COALESCE(" + cast + ", " + defaultExpression + ")")
+          + " AS "
+          + name;
+    }
+
+    /** DB가 그대로 캐스팅할 수 있는 텍스트로 바꾼다. */
+    String normalize(JsonNode value, ObjectMapper objectMapper) {
+      if (type.equals("jsonb") || type.equals("json")) {
+        if (!value.isTextual()) {
+          return value.toString();
+        }
+        try {
+          return objectMapper.readTree(value.asText()).toString();
+        } catch (JsonProcessingException e) {
+          throw new IllegalArgumentException("Invalid JSON in " + fieldName());
+        }
+      }
+
+      String text = value.isValueNode() ? value.asText().trim() : value.toString();
+      try {
+        return switch (type) {
+          case "uuid" -> UUID.fromString(text).toString();
+          case "timestamp" -> LocalDateTime.parse(text.replace(' ', 'T')).toString();
+          case "int2" -> String.valueOf(Short.parseShort(text));
+          case "int4" -> String.valueOf(Integer.parseInt(text));
+          case "int8" -> String.valueOf(Long.parseLong(text));
+          case "bool" -> {
+            if (!text.equalsIgnoreCase("true") && !text.equalsIgnoreCase("false")) {
+              throw new IllegalArgumentException("Invalid boolean in " + fieldName());
+            }
+            yield text.toLowerCase();
+          }
+          default -> {
+            if (maxLength != null && text.length() > maxLength) {
+              throw new IllegalArgumentException(fieldName() + " exceeds " + maxLength + " chars");
+            }
+            yield text;
+          }
+        };
+      } catch (DateTimeParseException | NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid " + type + " in " + fieldName());
+      }
+    }
+  }
+}
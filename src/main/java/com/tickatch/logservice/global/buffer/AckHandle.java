@@ -0,0 +1,44 @@
+package com.tickatch.logservice.global.buffer;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ShutdownSignalException;
+import java.io.IOException;
+
+/**
+ * 버퍼에 적재된 메시지의 지연 ack 정보.
+ *
+ * <p>채널이 이미 닫혔으면(종료 중 flush 등) ack는 실패하고 메시지는 재전달된다. 재전달분은 PK 중복으로 걸러진다.
+ *
+ * @since 1.0.0
+ */
+public record AckHandle(Channel channel, long deliveryTag) {
+
+  public boolean ack() {
+    try {
+      channel.basicAck(deliveryTag, false);
+      return true;
+    } catch (IOException | ShutdownSignalException e) {
+      return false;
+    }
+  }
+
+  /** 종료 등으로 적재하지 못한 메시지를 큐로 되돌린다. */
+  public boolean requeue() {
+    try {
+      channel.basicNack(deliveryTag, false, true);
+      return true;
+    } catch (IOException | ShutdownSignalException e) {
+      return false;
+    }
+  }
+
+  /** 재큐잉 없이 거절하여 DLQ로 보낸다. */
+  public boolean reject() {
+    try {
+      channel.basicNack(deliveryTag, false, false);
+      return true;
+    } catch (IOException | ShutdownSignalException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.tickatch.logservice.global.buffer;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 쓰기 버퍼가 GC에 주는 영향을 GC / 스레드 MXBean으로 측정한다.
+ *
+ * <p>GC 알림을 받아 {@code log.write-buffer.gc.pause}에 수집기, 종류(minor / major), 그 순간 버퍼에 flush 대기 레코드가
+ * 있었는지({@code buffering})를 태그로 기록한다. actuator의 {@code jvm.gc.pause}와 달리 버퍼가 차 있는 구간의 정지만 따로 볼 수 있다.
+ * 리스너의 적재 구간과 flush 스레드의 배치 구간이 힙에 할당한 바이트는 {@code log.write-buffer.heap.allocated}에 구간별로 더한다. 같은
+ * 구간의 {@code log.write-buffer.bytes.written}과 비교하면 오프힙으로 옮긴 만큼 힙 할당이 줄었는지 확인할 수 있다. 스레드별 할당 측정을
+ * 지원하지 않는 JVM에서는 할당 지표를 0으로 둔다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+public final class GcImpactMetrics implements AutoCloseable {
+
+  private final String queue;
+  private final IntSupplier occupancy;
+  private final MeterRegistry meterRegistry;
+  private final com.sun.management.ThreadMXBean threads;
+  private final Counter enqueueAllocated;
+  private final Counter flushAllocated;
+  private final List<NotificationEmitter> emitters = new ArrayList<>();
+  private final NotificationListener listener = this::onNotification;
+
+  public GcImpactMetrics(String queue, IntSupplier occupancy, MeterRegistry meterRegistry) {
+    this.queue = queue;
+    this.occupancy = occupancy;
+    this.meterRegistry = meterRegistry;
+    this.threads = allocationMeter(ManagementFactory.getThreadMXBean());
+    this.enqueueAllocated = allocatedCounter("enqueue");
+    this.flushAllocated = allocatedCounter("flush");
+
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      if (collector instanceof NotificationEmitter emitter) {
+        emitter.addNotificationListener(listener, null, null);
+        emitters.add(emitter);
+      }
+    }
+  }
+
+  /** 현재 스레드가 지금까지 힙에 할당한 바이트. 구간 시작 시 호출해 {@code record*}에 넘긴다. */
+  public long allocatedBytes() {
+    return threads == null ? 0 : threads.getCurrentThreadAllocatedBytes();
+  }
+
+  /** 리스너 스레드에서 {@code allocatedBefore} 이후 할당한 바이트를 적재 구간에 더한다. */
+  public void recordEnqueue(long allocatedBefore) {
+    enqueueAllocated.increment(Math.max(0, allocatedBytes() - allocatedBefore));
+  }
+
+  /** flush 스레드에서 {@code allocatedBefore} 이후 할당한 바이트를 배치 구간에 더한다. */
+  public void recordFlush(long allocatedBefore) {
+    flushAllocated.increment(Math.max(0, allocatedBytes() - allocatedBefore));
+  }
+
+  @Override
+  public void close() {
+    for (NotificationEmitter emitter : emitters) {
+      try {
+        emitter.removeNotificationListener(listener);
+      } catch (ListenerNotFoundException e) {
+        log.debug("GC notification listener already removed", e);
+      }
+    }
+    emitters.clear();
+  }
+
+  void recordPause(String collector, String action, long durationMillis) {
+    Timer.builder("log.write-buffer.gc.pause")
+        .tag("queue", queue)
+        .tag("gc", collector)
+        .tag("action", action)
+        .tag("buffering", String.valueOf(occupancy.getAsInt() > 0))
+        .description("GC 정지 시간 (버퍼에 flush 대기 레코드가 있었는지 여부별)")
+        .register(meterRegistry)
+        .record(durationMillis, TimeUnit.MILLISECONDS);
+  }
+
+  private void onNotification(Notification notification, Object handback) {
+    if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(
+        notification.getType())) {
+      return;
+    }
+    GarbageCollectionNotificationInfo info =
+        GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+    recordPause(info.getGcName(), info.getGcAction(), info.getGcInfo().getDuration());
+  }
+
+  private Counter allocatedCounter(String stage) {
+    return Counter.builder("log.write-buffer.heap.allocated")
+        .tag("queue", queue)
+        .tag("stage", stage)
+        .baseUnit("bytes")
+        .description("버퍼 적재 / flush 구간에서 힙에 할당한 바이트")
+        .register(meterRegistry);
+  }
+
+  private static com.sun.management.ThreadMXBean allocationMeter(ThreadMXBean bean) {
+    if (bean instanceof com.sun.management.ThreadMXBean threads
+        && threads.isThreadAllocatedMemorySupported()
+        && threads.isThreadAllocatedMemoryEnabled()) {
+      return threads;
+    }
+    return null;
+  }
+}
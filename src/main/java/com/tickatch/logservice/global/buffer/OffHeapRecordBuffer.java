@@ -0,0 +1,128 @@
+package com.tickatch.logservice.global.buffer;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 다이렉트 메모리 위의 고정 슬롯 링 버퍼.
+ *
+ * <p>레코드는 힙 객체가 아니라 슬롯 안의 바이트로만 존재하므로, 피크 시 대량 적재가 young GC 부담으로 이어지지 않는다. 여러 리스너 스레드가 기록하고
+ * 하나의 flush 스레드가 읽는다. flush 스레드는 {@link #record}로 슬롯을 직접 읽어 JDBC 배치를 만들고, 커밋 후 {@link
+ * #release}로 슬롯을 돌려준다. 버퍼가 가득 차면 {@link #put}이 대기하여 리스너에 backpressure가 걸린다.
+ *
+ * @since 1.0.0
+ */
+public final class OffHeapRecordBuffer {
+
+  private final ByteBuffer memory;
+  private final int capacity;
+  private final int slotSize;
+  private final Object[] attachments;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notFull = lock.newCondition();
+  private final Condition notEmpty = lock.newCondition();
+
+  private long head; // 다음에 읽을 위치
+  private long tail; // 다음에 쓸 위치
+
+  public OffHeapRecordBuffer(int capacity, int slotSize) {
+    this.capacity = capacity;
+    this.slotSize = slotSize;
+    this.memory = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, slotSize));
+    this.attachments = new Object[capacity];
+  }
+
+  /**
+   * 빈 슬롯이 생길 때까지 기다린 뒤 레코드를 기록한다.
+   *
+   * @param attachment 레코드와 함께 보관할 작은 힙 객체 (ack 정보 등)
+   * @return 버퍼가 가득 차 대기한 시간 (ns)
+   * @throws java.nio.BufferOverflowException 레코드가 슬롯 크기를 넘는 경우. 슬롯은 사용되지 않는다
+   */
+  public long put(RecordWriter writer, Object attachment) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      long waitStart = 0;
+      while (tail - head == capacity) {
+        if (waitStart == 0) {
+          waitStart = System.nanoTime();
+        }
+        notFull.await();
+      }
+
+      int slot = (int) (tail % capacity);
+      writer.write(slotView(slot));
+      attachments[slot] = attachment;
+      tail++;
+      notEmpty.signal();
+      return waitStart == 0 ? 0 : System.nanoTime() - waitStart;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** {@code max}개가 쌓이거나 {@code linger}가 지날 때까지 기다린 뒤, 읽을 수 있는 레코드 수(최대 max)를 반환한다. */
+  public int awaitBatch(int max, Duration linger) throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      long deadline = System.nanoTime() + linger.toNanos();
+      while (tail - head < max) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          break;
+        }
+        notEmpty.awaitNanos(remaining);
+      }
+      return (int) Math.min(max, tail - head);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** 아직 release되지 않은 {@code index}번째 레코드를 읽기 전용으로 반환한다. flush 스레드에서만 호출한다. */
+  public ByteBuffer record(int index) {
+    return slotView((int) ((head + index) % capacity)).asReadOnlyBuffer();
+  }
+
+  public Object attachment(int index) {
+    return attachments[(int) ((head + index) % capacity)];
+  }
+
+  /** 앞에서부터 {@code count}개 슬롯을 비우고 대기 중인 리스너를 깨운다. */
+  public void release(int count) {
+    lock.lock();
+    try {
+      for (int i = 0; i < count; i++) {
+        attachments[(int) ((head + i) % capacity)] = null;
+      }
+      head += count;
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int size() {
+    lock.lock();
+    try {
+      return (int) (tail - head);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  public long bytes() {
+    return memory.capacity();
+  }
+
+  private ByteBuffer slotView(int slot) {
+    return memory.slice(slot * slotSize, slotSize);
+  }
+}
@@ -0,0 +1,73 @@
+package com.tickatch.logservice.global.buffer;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * 고정 레이아웃 레코드의 필드 인코딩.
+ *
+ * <p>UUID는 null 플래그 1바이트 + long 2개, 시각은 epoch micros long, 문자열은 길이(short, -1은 null) + UTF-8 바이트로
+ * 기록한다.
+ *
+ * @since 1.0.0
+ */
+public final class RecordCodec {
+
+  private RecordCodec() {}
+
+  public static void putUuid(ByteBuffer buffer, UUID value) {
+    if (value == null) {
+      buffer.put((byte) 0).putLong(0).putLong(0);
+      return;
+    }
+    buffer
+        .put((byte) 1)
+        .putLong(value.getMostSignificantBits())
+        .putLong(value.getLeastSignificantBits());
+  }
+
+  public static UUID getUuid(ByteBuffer buffer) {
+    boolean present = buffer.get() == 1;
+    long most = buffer.getLong();
+    long least = buffer.getLong();
+    return present ? new UUID(most, least) : null;
+  }
+
+  public static void putTime(ByteBuffer buffer, LocalDateTime value) {
+    buffer.putLong(value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000);
+  }
+
+  public static LocalDateTime getTime(ByteBuffer buffer) {
+    long micros = buffer.getLong();
+    return LocalDateTime.ofEpochSecond(
+        Math.floorDiv(micros, 1_000_000L),
+        (int) Math.floorMod(micros, 1_000_000L) * 1_000,
+        ZoneOffset.UTC);
+  }
+
+  public static void putString(ByteBuffer buffer, String value) {
+    if (value == null) {
+      buffer.putShort((short) -1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > Short.MAX_VALUE) {
+      throw new BufferOverflowException();
+    }
+    buffer.putShort((short) bytes.length).put(bytes);
+  }
+
+  public static String getString(ByteBuffer buffer) {
+    short length = buffer.getShort();
+    if (length < 0) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
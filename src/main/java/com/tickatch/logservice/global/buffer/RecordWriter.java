@@ -0,0 +1,10 @@
+package com.tickatch.logservice.global.buffer;
+
+import java.nio.ByteBuffer;
+
+/** 슬롯에 레코드를 기록한다. 슬롯 크기를 넘으면 {@link java.nio.BufferOverflowException}이 발생한다. */
+@FunctionalInterface
+public interface RecordWriter {
+
+  void write(ByteBuffer slot);
+}
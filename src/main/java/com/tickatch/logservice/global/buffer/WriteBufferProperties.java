@@ -0,0 +1,34 @@
+package com.tickatch.logservice.global.buffer;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 오프힙 쓰기 버퍼 설정.
+ *
+ * @param enabled 활성화 시 예매 좌석 로그를 버퍼를 거쳐 배치로 저장한다 (수동 ack)
+ * @param capacity 버퍼 슬롯 수. 가득 차면 리스너가 빈 슬롯을 기다린다
+ * @param slotSize 레코드 하나에 할당하는 바이트 수. 넘치는 레코드는 버퍼를 거치지 않고 바로 저장한다
+ * @param batchSize JDBC 배치 최대 크기 (버퍼 리스너 prefetch로도 사용)
+ * @param linger 배치가 차지 않았을 때 flush 전 최대 대기 시간
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.write-buffer")
+public record WriteBufferProperties(
+    boolean enabled, int capacity, int slotSize, int batchSize, Duration linger) {
+
+  public WriteBufferProperties {
+    if (capacity <= 0) {
+      capacity = 65_536;
+    }
+    if (slotSize <= 0) {
+      slotSize = 256;
+    }
+    if (batchSize <= 0) {
+      batchSize = 500;
+    }
+    if (linger == null) {
+      linger = Duration.ofMillis(20);
+    }
+  }
+}
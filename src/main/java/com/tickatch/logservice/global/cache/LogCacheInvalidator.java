@@ -0,0 +1,48 @@
+package com.tickatch.logservice.global.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Consumer가 새 로그를 저장했을 때 해당 엔티티의 타임라인 캐시를 무효화한다.
+ *
+ * <p>트랜잭션 안에서 호출되면 커밋 이후에 제거하여, 커밋 전 조회가 이전 결과를 다시 캐시에 올리는 것을 막는다.
+ *
+ * @since 1.0.0
+ */
+@Component
+@RequiredArgsConstructor
+public class LogCacheInvalidator {
+
+  private final CacheManager cacheManager;
+
+  public void evictAfterCommit(String cacheName, Object key) {
+    if (key == null) {
+      return;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      evict(cacheName, key);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            evict(cacheName, key);
+          }
+        });
+  }
+
+  private void evict(String cacheName, Object key) {
+    Cache cache = cacheManager.getCache(cacheName);
+    if (cache != null) {
+      cache.evict(key);
+    }
+  }
+}
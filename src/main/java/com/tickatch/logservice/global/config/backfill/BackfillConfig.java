@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.backfill;
+
+import com.tickatch.logservice.global.backfill.BackfillProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(BackfillProperties.class)
+public class BackfillConfig {}
@@ -0,0 +1,64 @@
+package com.tickatch.logservice.global.config.buffer;
+
+import com.tickatch.logservice.global.buffer.WriteBufferProperties;
+import com.tickatch.logservice.global.dbhealth.DbHealthBreaker;
+import com.tickatch.logservice.global.lifecycle.IngestLifecycleProperties;
+import com.tickatch.logservice.global.lifecycle.StartupTimingRecorder;
+import com.tickatch.logservice.global.logging.RateLimitedListenerErrorHandler;
+import com.tickatch.logservice.global.profiling.IngestEventRecorder;
+import com.tickatch.logservice.global.quota.IngestQuotaInterceptor;
+import com.tickatch.logservice.global.schema.EventSchemaDecoder;
+import com.tickatch.logservice.global.tracing.TraceContextExtractor;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(WriteBufferProperties.class)
+public class WriteBufferConfig {
+
+  public static final String BUFFERED_CONTAINER_FACTORY = "bufferedListenerContainerFactory";
+
+  /**
+   * 오프힙 버퍼 리스너용 컨테이너 팩토리.
+   *
+   * <p>메시지는 버퍼에 적재만 하고 반환되므로, 배치 커밋 후 flush 스레드가 ack하도록 수동 ack를 사용한다. prefetch는 한 배치를 채울 수 있도록
+   * 배치 크기로 둔다.
+   */
+  @Bean(BUFFERED_CONTAINER_FACTORY)
+  @ConditionalOnProperty(name = "log.write-buffer.enabled", havingValue = "true")
+  public SimpleRabbitListenerContainerFactory bufferedListenerContainerFactory(
+      ConnectionFactory connectionFactory,
+      MessageConverter jsonMessageConverter,
+      RateLimitedListenerErrorHandler listenerErrorHandler,
+      WriteBufferProperties writeBufferProperties,
+      IngestLifecycleProperties ingestLifecycleProperties,
+      StartupTimingRecorder startupTimingRecorder,
+      DbHealthBreaker dbHealthBreaker,
+      IngestQuotaInterceptor ingestQuotaInterceptor,
+      EventSchemaDecoder eventSchemaDecoder,
+      TraceContextExtractor traceContextExtractor,
+      IngestEventRecorder ingestEventRecorder) {
+    SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+    factory.setConnectionFactory(connectionFactory);
+    factory.setMessageConverter(ingestEventRecorder.timed(jsonMessageConverter));
+    factory.setDefaultRequeueRejected(false); // 실패 시 DLQ
+    factory.setErrorHandler(listenerErrorHandler);
+    factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+    factory.setPrefetchCount(writeBufferProperties.batchSize());
+    factory.setShutdownTimeout(ingestLifecycleProperties.drainTimeout().toMillis());
+    factory.setAfterReceivePostProcessors(
+        startupTimingRecorder,
+        ingestEventRecorder.decodeStart(),
+        eventSchemaDecoder,
+        traceContextExtractor,
+        ingestEventRecorder.decodeEnd());
+    factory.setAdviceChain(dbHealthBreaker, ingestQuotaInterceptor, ingestEventRecorder);
+    return factory;
+  }
+}
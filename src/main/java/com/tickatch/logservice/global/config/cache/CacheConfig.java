@@ -0,0 +1,41 @@
+package com.tickatch.logservice.global.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 엔티티 타임라인 조회용 Caffeine 캐시 설정.
+ *
+ * <p>캐시 이름을 미리 등록해 두어야 Actuator가 기동 시점에 hit/miss/eviction 메트릭({@code cache.gets},
+ * {@code cache.evictions})을 바인딩한다.
+ *
+ * @since 1.0.0
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(LogCacheProperties.class)
+public class CacheConfig {
+
+  @Bean
+  public CacheManager cacheManager(LogCacheProperties properties) {
+    CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+    cacheManager.setCaffeine(
+        Caffeine.newBuilder()
+            .maximumSize(properties.maximumSize())
+            .expireAfterWrite(properties.expireAfterWrite())
+            .recordStats());
+    cacheManager.setCacheNames(
+        List.of(
+            CacheNames.PAYMENT_LOG_TIMELINE,
+            CacheNames.RESERVATION_LOG_TIMELINE,
+            CacheNames.TICKET_LOG_TIMELINE));
+    cacheManager.setAllowNullValues(false);
+    return cacheManager;
+  }
+}
@@ -0,0 +1,17 @@
+package com.tickatch.logservice.global.config.cache;
+
+/**
+ * 엔티티 단위 이력(타임라인) 조회 캐시 이름.
+ *
+ * <p>키는 각 로그의 엔티티 ID(paymentId, reservationId, ticketId)이다.
+ *
+ * @since 1.0.0
+ */
+public final class CacheNames {
+
+  public static final String PAYMENT_LOG_TIMELINE = "paymentLogTimeline";
+  public static final String RESERVATION_LOG_TIMELINE = "reservationLogTimeline";
+  public static final String TICKET_LOG_TIMELINE = "ticketLogTimeline";
+
+  private CacheNames() {}
+}
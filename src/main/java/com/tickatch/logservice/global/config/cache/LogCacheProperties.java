@@ -0,0 +1,24 @@
+package com.tickatch.logservice.global.config.cache;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 타임라인 조회 캐시 설정.
+ *
+ * @param maximumSize 캐시별 최대 엔트리 수 (초과 시 W-TinyLFU 정책으로 제거)
+ * @param expireAfterWrite 적재 후 만료 시간
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.cache")
+public record LogCacheProperties(long maximumSize, Duration expireAfterWrite) {
+
+  public LogCacheProperties {
+    if (maximumSize <= 0) {
+      maximumSize = 10_000;
+    }
+    if (expireAfterWrite == null) {
+      expireAfterWrite = Duration.ofMinutes(10);
+    }
+  }
+}
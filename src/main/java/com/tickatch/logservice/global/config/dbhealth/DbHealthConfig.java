@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.dbhealth;
+
+import com.tickatch.logservice.global.dbhealth.DbHealthProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DbHealthProperties.class)
+public class DbHealthConfig {}
@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.dispatch;
+
+import com.tickatch.logservice.global.dispatch.StripedDispatchProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StripedDispatchProperties.class)
+public class StripedDispatchConfig {}
@@ -0,0 +1,11 @@
+package com.tickatch.logservice.global.config.eventtime;
+
+import com.tickatch.logservice.global.eventtime.EventTimeProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(EventTimeProperties.class)
+public class EventTimeConfig {}
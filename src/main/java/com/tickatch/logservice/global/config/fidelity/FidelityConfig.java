@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.fidelity;
+
+import com.tickatch.logservice.global.fidelity.FidelityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(FidelityProperties.class)
+public class FidelityConfig {}
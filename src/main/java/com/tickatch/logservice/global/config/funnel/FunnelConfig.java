@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.funnel;
+
+import com.tickatch.logservice.funnel.application.FunnelProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(FunnelProperties.class)
+public class FunnelConfig {}
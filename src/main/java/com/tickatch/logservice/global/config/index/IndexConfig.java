@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.index;
+
+import com.tickatch.logservice.global.index.IndexProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IndexProperties.class)
+public class IndexConfig {}
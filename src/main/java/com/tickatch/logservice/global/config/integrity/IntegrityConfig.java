@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.integrity;
+
+import com.tickatch.logservice.global.integrity.IntegrityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IntegrityProperties.class)
+public class IntegrityConfig {}
@@ -0,0 +1,51 @@
+package com.tickatch.logservice.global.config.outbox;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.outbox.ChangeFeedProperties;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.ExchangeBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ChangeFeedProperties.class)
+public class ChangeFeedConfig {
+
+  /** 리포팅 파이프라인이 구독하는 change feed exchange. 라우팅 키: {@code changefeed.<도메인 키>}. */
+  public static final String CHANGE_FEED_EXCHANGE = "tickatch.log.changefeed";
+
+  /** 모든 도메인의 배치를 받는 내구성 큐. 릴레이는 mandatory로 발행하므로 바인딩이 없으면 배치를 실패로 본다. */
+  public static final String CHANGE_FEED_QUEUE = "tickatch.log.changefeed.queue";
+
+  public static final String CHANGE_FEED_BINDING_PATTERN = "changefeed.#";
+
+  public static String routingKey(LogDomain domain) {
+    return "changefeed." + domain.getKey();
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "log.change-feed.enabled", havingValue = "true")
+  public TopicExchange changeFeedExchange() {
+    return ExchangeBuilder.topicExchange(CHANGE_FEED_EXCHANGE).durable(true).build();
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "log.change-feed.enabled", havingValue = "true")
+  public Queue changeFeedQueue() {
+    return QueueBuilder.durable(CHANGE_FEED_QUEUE).build();
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "log.change-feed.enabled", havingValue = "true")
+  public Binding changeFeedBinding(Queue changeFeedQueue, TopicExchange changeFeedExchange) {
+    return BindingBuilder.bind(changeFeedQueue)
+        .to(changeFeedExchange)
+        .with(CHANGE_FEED_BINDING_PATTERN);
+  }
+}
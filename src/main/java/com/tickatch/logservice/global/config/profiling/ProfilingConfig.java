@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.profiling;
+
+import com.tickatch.logservice.global.profiling.ProfilingProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProfilingProperties.class)
+public class ProfilingConfig {}
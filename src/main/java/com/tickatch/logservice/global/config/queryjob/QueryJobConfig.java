@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.queryjob;
+
+import com.tickatch.logservice.logquery.application.QueryJobProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(QueryJobProperties.class)
+public class QueryJobConfig {}
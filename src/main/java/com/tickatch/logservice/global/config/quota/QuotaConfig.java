@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.quota;
+
+import com.tickatch.logservice.global.quota.IngestQuotaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IngestQuotaProperties.class)
+public class QuotaConfig {}
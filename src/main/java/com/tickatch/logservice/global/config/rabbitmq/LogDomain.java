@@ -0,0 +1,129 @@
+package com.tickatch.logservice.global.config.rabbitmq;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 로그 수집 대상 도메인.
+ *
+ * <p>큐/라우팅 키/리스너 ID, 이벤트 본문에서 엔티티를 식별하는 필드명, 저장 테이블을 한곳에서 관리한다. 엔티티 키는 샤딩 라우팅 등 엔티티 단위 처리가
+ * 필요한 곳에서 사용한다.
+ *
+ * @since 1.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LogDomain {
+  RESERVATION_SEAT(
+      "reservation-seat",
+      RabbitMQConfig.QUEUE_RESERVATION_SEAT_LOG,
+      RabbitMQConfig.ROUTING_KEY_RESERVATION_SEAT_LOG,
+      RabbitMQConfig.LISTENER_RESERVATION_SEAT_LOG,
+      "reservationSeatId",
+      "p_reservation_seat_log"),
+  ARTHALL(
+      "arthall",
+      RabbitMQConfig.QUEUE_ARTHALL_LOG,
+      RabbitMQConfig.ROUTING_KEY_ARTHALL_LOG,
+      RabbitMQConfig.LISTENER_ARTHALL_LOG,
+      "domainId",
+      "p_arthall_domain_log"),
+  PRODUCT(
+      "product",
+      RabbitMQConfig.QUEUE_PRODUCT_LOG,
+      RabbitMQConfig.ROUTING_KEY_PRODUCT_LOG,
+      RabbitMQConfig.LISTENER_PRODUCT_LOG,
+      "productId",
+      "p_product_log"),
+  RESERVATION(
+      "reservation",
+      RabbitMQConfig.QUEUE_RESERVATION_LOG,
+      RabbitMQConfig.ROUTING_KEY_RESERVATION_LOG,
+      RabbitMQConfig.LISTENER_RESERVATION_LOG,
+      "reservationId",
+      "p_reservation_log"),
+  TICKET(
+      "ticket",
+      RabbitMQConfig.QUEUE_TICKET_LOG,
+      RabbitMQConfig.ROUTING_KEY_TICKET_LOG,
+      RabbitMQConfig.LISTENER_TICKET_LOG,
+      "ticketId",
+      "p_ticket_log"),
+  PAYMENT(
+      "payment",
+      RabbitMQConfig.QUEUE_PAYMENT_LOG,
+      RabbitMQConfig.ROUTING_KEY_PAYMENT_LOG,
+      RabbitMQConfig.LISTENER_PAYMENT_LOG,
+      "paymentId",
+      "p_payment_log"),
+  USER(
+      "user",
+      RabbitMQConfig.QUEUE_USER_LOG,
+      RabbitMQConfig.ROUTING_KEY_USER_LOG,
+      RabbitMQConfig.LISTENER_USER_LOG,
+      "userId",
+      "p_user_log"),
+  AUTH(
+      "auth",
+      RabbitMQConfig.QUEUE_AUTH_LOG,
+      RabbitMQConfig.ROUTING_KEY_AUTH_LOG,
+      RabbitMQConfig.LISTENER_AUTH_LOG,
+      "actorUserId",
+      "p_auth_log");
+
+  private static final String SHARD_SUFFIX = ".shard.";
+
+  private final String key;
+  private final String queue;
+  private final String routingKey;
+  private final String listenerId;
+  private final String entityKeyField;
+  private final String table;
+
+  /** 엔티티 키 필드에 대응하는 로그 테이블 컬럼명 (예: reservationSeatId → reservation_seat_id). */
+  public String getEntityColumn() {
+    return entityKeyField.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase();
+  }
+
+  /** 엔티티 ID 문자열을 저장 컬럼 타입(예매 좌석, 공연장, 상품은 숫자, 그 외는 UUID)으로 바꾼다. 형식이 맞지 않으면 비어 있다. */
+  public Optional<Object> parseEntityId(String value) {
+    try {
+      return Optional.of(hasNumericEntityId() ? Long.valueOf(value) : UUID.fromString(value));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  /** 엔티티 ID 컬럼이 BIGINT인 도메인. */
+  public boolean hasNumericEntityId() {
+    return this == RESERVATION_SEAT || this == ARTHALL || this == PRODUCT;
+  }
+
+  public static Optional<LogDomain> fromKey(String key) {
+    return Arrays.stream(values()).filter(domain -> domain.getKey().equals(key)).findFirst();
+  }
+
+  public static Optional<LogDomain> fromQueue(String queue) {
+    return Arrays.stream(values()).filter(domain -> domain.getQueue().equals(queue)).findFirst();
+  }
+
+  /**
+   * 리스너가 메시지를 받은 큐로 DB에 쓰는 도메인을 찾는다.
+   *
+   * <p>샤드 큐({@code <원본 큐>.shard.N})는 원본 큐의 도메인으로 본다. 샤딩 모드의 원본 큐는 샤드로 재발행만 하므로 비어 있는 값을 반환한다.
+   */
+  public static Optional<LogDomain> fromConsumerQueue(String queue, boolean sharded) {
+    if (queue == null) {
+      return Optional.empty();
+    }
+
+    int shardIndex = queue.indexOf(SHARD_SUFFIX);
+    if (shardIndex >= 0) {
+      return fromQueue(queue.substring(0, shardIndex));
+    }
+    return sharded ? Optional.empty() : fromQueue(queue);
+  }
+}
@@ -1,6 +1,18 @@
 package com.tickatch.logservice.global.config.rabbitmq;
 
+import com.tickatch.logservice.global.dbhealth.DbHealthBreaker;
+import com.tickatch.logservice.global.dispatch.KeyStripedDispatcher;
+import com.tickatch.logservice.global.dispatch.StripedDispatchProperties;
+import com.tickatch.logservice.global.lifecycle.IngestLifecycleProperties;
+import com.tickatch.logservice.global.lifecycle.StartupTimingRecorder;
+import com.tickatch.logservice.global.logging.FailureLogLimiter;
+import com.tickatch.logservice.global.logging.RateLimitedListenerErrorHandler;
+import com.tickatch.logservice.global.profiling.IngestEventRecorder;
+import com.tickatch.logservice.global.quota.IngestQuotaInterceptor;
+import com.tickatch.logservice.global.schema.EventSchemaDecoder;
+import com.tickatch.logservice.global.tracing.TraceContextExtractor;
 import io.github.tickatch.common.util.JsonUtils;
+import org.springframework.amqp.core.AcknowledgeMode;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.ExchangeBuilder;
@@ -11,10 +23,12 @@ import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFacto
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(IngestLifecycleProperties.class)
 public class RabbitMQConfig {
 
   /* =========================
@@ -54,6 +68,22 @@ public class RabbitMQConfig {
   public static final String QUEUE_AUTH_LOG = "tickatch.auth.log.queue";
   public static final String ROUTING_KEY_AUTH_LOG = "auth.log";
 
+  /* =========================
+   * Listener ID
+   * ========================= */
+  public static final String LISTENER_RESERVATION_SEAT_LOG = "reservationSeatLogListener";
+  public static final String LISTENER_ARTHALL_LOG = "artHallLogListener";
+  public static final String LISTENER_PRODUCT_LOG = "productLogListener";
+  public static final String LISTENER_RESERVATION_LOG = "reservationLogListener";
+  public static final String LISTENER_TICKET_LOG = "ticketLogListener";
+  public static final String LISTENER_PAYMENT_LOG = "paymentLogListener";
+  public static final String LISTENER_USER_LOG = "userLogListener";
+  public static final String LISTENER_AUTH_LOG = "authLogListener";
+
+  // Consumer는 IngestLifecycleCoordinator가 DB 검증 후 시작한다.
+  // 샤딩 모드에서는 원본 큐를 ShardRouter가 소비하고, Consumer는 할당된 샤드 큐만 소비한다.
+  public static final String CONSUMER_AUTO_STARTUP = "false";
+
   /* =========================
    * Exchange
    * ========================= */
@@ -326,14 +356,54 @@ public class RabbitMQConfig {
   /* =========================
    * Listener Factory
    * ========================= */
+  @Bean
+  public RateLimitedListenerErrorHandler listenerErrorHandler(FailureLogLimiter failureLogLimiter) {
+    return new RateLimitedListenerErrorHandler(failureLogLimiter);
+  }
+
   @Bean
   public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
-      ConnectionFactory connectionFactory, MessageConverter jsonMessageConverter) {
+      ConnectionFactory connectionFactory,
+      MessageConverter jsonMessageConverter,
+      RateLimitedListenerErrorHandler listenerErrorHandler,
+      IngestLifecycleProperties ingestLifecycleProperties,
+      StartupTimingRecorder startupTimingRecorder,
+      DbHealthBreaker dbHealthBreaker,
+      IngestQuotaInterceptor ingestQuotaInterceptor,
+      EventSchemaDecoder eventSchemaDecoder,
+      TraceContextExtractor traceContextExtractor,
+      IngestEventRecorder ingestEventRecorder,
+      KeyStripedDispatcher keyStripedDispatcher,
+      StripedDispatchProperties stripedDispatchProperties) {
     SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
     factory.setConnectionFactory(connectionFactory);
-    factory.setMessageConverter(jsonMessageConverter);
+    // JFR recording 중에는 JSON 바인딩 시간을 메시지 이벤트의 디코딩 시간에 더한다.
+    factory.setMessageConverter(ingestEventRecorder.timed(jsonMessageConverter));
     factory.setDefaultRequeueRejected(false); // 실패 시 DLQ
+    // 리스너 실패 로그는 Consumer마다 남기지 않고 여기서 큐별 빈도 제한을 거쳐 한 번만 남긴다.
+    factory.setErrorHandler(listenerErrorHandler);
     factory.setPrefetchCount(10);
+    // 정지 시 처리 중인 메시지의 커밋/ack를 drain 기한까지 기다린다.
+    factory.setShutdownTimeout(ingestLifecycleProperties.drainTimeout().toMillis());
+    // 이전 스키마 버전은 현재 버전으로 올리고, 모르는 필드는 overflow 헤더로 옮긴 뒤 디코딩한다.
+    // 발행 쪽 trace 컨텍스트는 전파 헤더에서 꺼내 리스너 헤더로 넘긴다 (trace_id 컬럼).
+    factory.setAfterReceivePostProcessors(
+        startupTimingRecorder,
+        ingestEventRecorder.decodeStart(),
+        eventSchemaDecoder,
+        traceContextExtractor,
+        ingestEventRecorder.decodeEnd());
+    // DB가 느려지거나 처리량 예산 / 커넥션 레인을 넘으면 큐별로 컨테이너를 멈춘다 (메시지는 DLQ 대신 브로커로 돌아간다).
+    // JFR 메시지 이벤트는 리스너 바로 앞에서 재므로 예산/차단기 대기를 포함하지 않는다.
+    factory.setAdviceChain(dbHealthBreaker, ingestQuotaInterceptor, ingestEventRecorder);
+    if (stripedDispatchProperties.enabled()) {
+      // 엔티티 키 스트라이프가 저장 후 메시지마다 ack한다. 차단기와 예산 advice는 도메인별 스트라이프 스레드에서
+      // 실행되므로 한 도메인의 대기가 다른 도메인의 저장을 막지 않는다.
+      factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+      factory.setPrefetchCount(stripedDispatchProperties.prefetch());
+      factory.setAdviceChain(
+          keyStripedDispatcher, dbHealthBreaker, ingestQuotaInterceptor, ingestEventRecorder);
+    }
     return factory;
   }
 }
@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.recent;
+
+import com.tickatch.logservice.global.recent.RecentWindowProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RecentWindowProperties.class)
+public class RecentWindowConfig {}
@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.schema;
+
+import com.tickatch.logservice.global.schema.EventSchemaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EventSchemaProperties.class)
+public class EventSchemaConfig {}
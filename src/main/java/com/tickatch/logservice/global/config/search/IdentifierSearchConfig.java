@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.search;
+
+import com.tickatch.logservice.logsearch.application.IdentifierSearchProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IdentifierSearchProperties.class)
+public class IdentifierSearchConfig {}
@@ -0,0 +1,69 @@
+package com.tickatch.logservice.global.config.sharding;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.CustomExchange;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 샤딩 모드용 Exchange / Queue / Binding 선언.
+ *
+ * <p>도메인마다 consistent-hash exchange({@code x-consistent-hash}, rabbitmq_consistent_hash_exchange
+ * 플러그인 필요)를 두고, 같은 가중치로 바인딩된 샤드 큐 N개로 엔티티 키를 분산한다. 샤드 큐는 single-active-consumer로 선언하여 리밸런싱
+ * 중 두 인스턴스가 잠시 함께 구독하더라도 한 인스턴스만 메시지를 받는다.
+ *
+ * @since 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "log.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+  public static final String SHARD_EXCHANGE_PREFIX = RabbitMQConfig.LOG_EXCHANGE + ".shard.";
+
+  public static String shardExchange(LogDomain domain) {
+    return SHARD_EXCHANGE_PREFIX + domain.getKey();
+  }
+
+  public static String shardQueue(LogDomain domain, int shard) {
+    return domain.getQueue() + ".shard." + shard;
+  }
+
+  @Bean
+  public Declarables shardDeclarables(ShardingProperties properties) {
+    List<Declarable> declarables = new ArrayList<>();
+
+    for (LogDomain domain : LogDomain.values()) {
+      CustomExchange exchange =
+          new CustomExchange(shardExchange(domain), "x-consistent-hash", true, false);
+      declarables.add(exchange);
+
+      for (int shard = 0; shard < properties.shardCount(); shard++) {
+        Queue queue =
+            QueueBuilder.durable(shardQueue(domain, shard))
+                .withArgument("x-dead-letter-exchange", RabbitMQConfig.LOG_EXCHANGE + ".dlx")
+                .withArgument("x-dead-letter-routing-key", "dlq." + domain.getRoutingKey())
+                .withArgument("x-single-active-consumer", true)
+                .build();
+        declarables.add(queue);
+
+        // consistent-hash exchange에서 바인딩 키는 가중치를 의미한다.
+        Binding binding = BindingBuilder.bind(queue).to(exchange).with("1").noargs();
+        declarables.add(binding);
+      }
+    }
+
+    return new Declarables(declarables);
+  }
+}
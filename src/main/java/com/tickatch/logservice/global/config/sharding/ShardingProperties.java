@@ -0,0 +1,30 @@
+package com.tickatch.logservice.global.config.sharding;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 샤딩 소비 모드 설정.
+ *
+ * @param enabled 샤딩 모드 사용 여부
+ * @param shardCount 도메인별 샤드 큐 개수 (운영 중 변경 시 키-샤드 매핑이 바뀐다)
+ * @param virtualNodes 인스턴스당 해시 링 가상 노드 수
+ * @param confirmTimeout 라우터가 샤드 exchange 재발행의 publisher confirm을 기다리는 시간
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.sharding")
+public record ShardingProperties(
+    boolean enabled, int shardCount, int virtualNodes, Duration confirmTimeout) {
+
+  public ShardingProperties {
+    if (shardCount <= 0) {
+      shardCount = 16;
+    }
+    if (virtualNodes <= 0) {
+      virtualNodes = 64;
+    }
+    if (confirmTimeout == null) {
+      confirmTimeout = Duration.ofSeconds(5);
+    }
+  }
+}
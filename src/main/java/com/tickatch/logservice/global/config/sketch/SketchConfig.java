@@ -0,0 +1,9 @@
+package com.tickatch.logservice.global.config.sketch;
+
+import com.tickatch.logservice.global.sketch.SketchProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SketchProperties.class)
+public class SketchConfig {}
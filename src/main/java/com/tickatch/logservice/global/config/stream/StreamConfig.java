@@ -0,0 +1,96 @@
+package com.tickatch.logservice.global.config.stream;
+
+import com.rabbitmq.stream.Environment;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.stream.RabbitStreamSource;
+import com.tickatch.logservice.global.stream.StreamProperties;
+import com.tickatch.logservice.global.stream.StreamSource;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 스트림 소비 모드용 스트림 큐 선언.
+ *
+ * <p>도메인마다 {@code <기존 큐>.stream} 스트림 큐({@code x-queue-type: stream}, rabbitmq_stream 플러그인 필요)를 같은
+ * 라우팅 키로 로그 교환기에 바인딩한다. 스트림으로 옮긴 도메인의 기존 큐 바인딩은 다시 선언하지 않으며, 브로커에 이미 있는 바인딩은 StreamIngestManager가
+ * 해제하고 기존 리스너를 멈춘 뒤에 스트림 소비를 시작한다. 스트림 모드를 끄면 기존 바인딩이 다시 선언되며, 스트림 큐는 {@code max-age}가 지나면 비워진다.
+ *
+ * @since 1.0.0
+ */
+@Configuration
+@EnableConfigurationProperties(StreamProperties.class)
+@ConditionalOnProperty(prefix = "log.stream", name = "enabled", havingValue = "true")
+public class StreamConfig {
+
+  @Bean
+  public Declarables streamDeclarables(
+      StreamProperties properties,
+      @Value("${log.sharding.enabled:false}") boolean sharded,
+      @Value("${log.write-buffer.enabled:false}") boolean writeBufferEnabled) {
+    if (sharded) {
+      throw new IllegalStateException("log.stream.enabled cannot be combined with log.sharding");
+    }
+
+    List<Declarable> declarables = new ArrayList<>();
+    for (LogDomain domain : LogDomain.values()) {
+      if (!properties.streams(domain, writeBufferEnabled)) {
+        continue;
+      }
+
+      Queue stream =
+          QueueBuilder.durable(StreamProperties.streamOf(domain))
+              .stream()
+              .withArgument("x-max-age", properties.maxAge().toSeconds() + "s")
+              .build();
+      declarables.add(stream);
+      declarables.add(
+          new Binding(
+              stream.getName(),
+              Binding.DestinationType.QUEUE,
+              RabbitMQConfig.LOG_EXCHANGE,
+              domain.getRoutingKey(),
+              null));
+    }
+    return new Declarables(declarables);
+  }
+
+  @Bean
+  public StreamSource rabbitStreamSource(Environment rabbitStreamEnvironment) {
+    return new RabbitStreamSource(rabbitStreamEnvironment);
+  }
+
+  /** RabbitAdmin이 재연결 때마다 기존 큐 바인딩을 다시 만들지 않도록 선언 대상에서 뺀다. 브로커에 남은 바인딩은 지우지 않는다. */
+  @Bean
+  public static BeanPostProcessor classicQueueBindingFilter(
+      org.springframework.core.env.Environment environment) {
+    StreamProperties properties =
+        Binder.get(environment).bindOrCreate("log.stream", StreamProperties.class);
+    boolean writeBufferEnabled =
+        environment.getProperty("log.write-buffer.enabled", Boolean.class, false);
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof Binding binding && binding.isDestinationQueue()) {
+          LogDomain.fromQueue(binding.getDestination())
+              .filter(domain -> RabbitMQConfig.LOG_EXCHANGE.equals(binding.getExchange()))
+              .filter(domain -> properties.streams(domain, writeBufferEnabled))
+              .ifPresent(domain -> binding.setShouldDeclare(false));
+        }
+        return bean;
+      }
+    };
+  }
+}
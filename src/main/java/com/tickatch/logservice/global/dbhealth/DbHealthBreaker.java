@@ -0,0 +1,433 @@
+package com.tickatch.logservice.global.dbhealth;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.lifecycle.IngestLifecycleCoordinator;
+import com.tickatch.logservice.global.quota.ThroughputBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장 지연과 커넥션 풀 대기 시간을 보고 큐별 리스너 컨테이너를 멈추고 다시 여는 차단기.
+ *
+ * <p>리스너 컨테이너 advice chain에서 메시지마다 저장 시간(처리량 예산 대기와 커넥션 대기 포함)을 잰다. 평가 주기마다 느린 호출 비율이
+ * {@code slowCallRate} 이상이거나, 평균 Hikari 커넥션 대기 시간이 {@code poolWaitThreshold}를 넘으면 해당 큐의 컨테이너를
+ * 멈춘다(OPEN). 아직 끝나지 않은 호출도 기준 시간을 넘기면 느린 호출로 센다. 컨테이너를 멈추면 prefetch된 메시지는 브로커로 돌아가고, 차단
+ * 중 도착한 메시지와 DB 타임아웃으로 실패한 메시지는 DLQ 대신 재큐잉한다.
+ *
+ * <p>차단 시간이 지나면 컨테이너를 다시 시작하되 초당 {@code probePermitsPerSecond}건만 처리한다(HALF_OPEN). 정상 구간마다 허용량을
+ * 두 배로 늘리고 {@code rampSteps}번 이어지면 차단을 해제한다. 반개방 중 느린 호출이 하나라도 있으면 차단 시간을 두 배로 늘려 다시 멈춘다.
+ * 큐마다 Consumer가 하나라 Consumer 수 대신 처리량으로 서서히 연다.
+ *
+ * <p>차단기가 멈춘 컨테이너만 다시 시작하고, 수집 파이프라인이 실행 중일 때만 시작/정지한다. 스트림 모드 도메인은 advice chain을 거치지
+ * 않으므로 대상이 아니다.
+ *
+ * <p>메트릭: {@code log.db-health.state{queue}} (0: CLOSED, 1: HALF_OPEN, 2: OPEN), {@code
+ * log.db-health.transition{queue,state}}, {@code log.db-health.requeued{queue}}
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class DbHealthBreaker implements MethodInterceptor {
+
+  public enum State {
+    CLOSED,
+    HALF_OPEN,
+    OPEN
+  }
+
+  private static final String POOL_ACQUIRE_TIMER = "hikaricp.connections.acquire";
+
+  private final DbHealthProperties properties;
+  private final boolean sharded;
+  private final RabbitListenerEndpointRegistry listenerRegistry;
+  private final IngestLifecycleCoordinator coordinator;
+  private final MeterRegistry meterRegistry;
+  private final Map<LogDomain, Circuit> circuits = new EnumMap<>(LogDomain.class);
+  private final Map<Thread, Call> inFlight = new ConcurrentHashMap<>();
+
+  private long poolAcquireCount = -1;
+  private double poolAcquireNanos;
+  private volatile double poolWaitMillis;
+
+  public DbHealthBreaker(
+      DbHealthProperties properties,
+      @Value("${log.sharding.enabled:false}") boolean sharded,
+      RabbitListenerEndpointRegistry listenerRegistry,
+      IngestLifecycleCoordinator coordinator,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.sharded = sharded;
+    this.listenerRegistry = listenerRegistry;
+    this.coordinator = coordinator;
+    this.meterRegistry = meterRegistry;
+
+    for (LogDomain domain : LogDomain.values()) {
+      Circuit circuit = new Circuit(domain, properties.openDuration(), meterRegistry);
+      circuits.put(domain, circuit);
+      Gauge.builder("log.db-health.state", circuit, c -> c.state.ordinal())
+          .tag("queue", domain.getQueue())
+          .description("DB 상태 차단기 상태 (0: CLOSED, 1: HALF_OPEN, 2: OPEN)")
+          .register(meterRegistry);
+    }
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    if (!properties.enabled()) {
+      return invocation.proceed();
+    }
+
+    Optional<LogDomain> domain = resolveDomain(invocation.getArguments());
+    if (domain.isEmpty()) {
+      return invocation.proceed();
+    }
+
+    Circuit circuit = circuits.get(domain.get());
+    if (circuit.state == State.OPEN) {
+      // 정지 중인 컨테이너에 남은 prefetch 메시지: DB에 닿지 않고 브로커로 돌려보낸다
+      circuit.requeued.increment();
+      throw new ImmediateRequeueAmqpException("DB health breaker open: " + domain.get().getQueue());
+    }
+    ThroughputBucket probe = circuit.probe;
+    if (probe != null) {
+      park(probe.reserve());
+    }
+
+    Thread thread = Thread.currentThread();
+    Call call = new Call(circuit, System.nanoTime());
+    inFlight.put(thread, call);
+    boolean failed = false;
+    try {
+      return invocation.proceed();
+    } catch (Throwable e) {
+      if (!isDatabaseUnavailable(e)) {
+        throw e;
+      }
+      failed = true;
+      circuit.requeued.increment();
+      throw new ImmediateRequeueAmqpException("Database unavailable, requeued", e);
+    } finally {
+      inFlight.remove(thread);
+      if (!call.counted) {
+        circuit.record(System.nanoTime() - call.startedAt, failed, slowCallNanos());
+      }
+    }
+  }
+
+  /** advice chain 밖(쓰기 버퍼 flush 스레드 등)에서 저장한 결과를 반영한다. */
+  public void record(LogDomain domain, long elapsedNanos, boolean failed) {
+    if (properties.enabled()) {
+      circuits.get(domain).record(elapsedNanos, failed, slowCallNanos());
+    }
+  }
+
+  /** DB 연결 불가, 커넥션 대기 초과, 쿼리 타임아웃처럼 재시도하면 성공할 수 있는 DB 실패인지. */
+  public static boolean isDatabaseUnavailable(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof TransientDataAccessException
+          || cause instanceof CannotGetJdbcConnectionException
+          || cause instanceof SQLTransientException) {
+        return true;
+      }
+      // 08xxx: 연결 오류, 53300: 커넥션 수 초과, 57014: statement_timeout
+      if (cause instanceof SQLException sql && sql.getSQLState() != null) {
+        String state = sql.getSQLState();
+        if (state.startsWith("08") || state.equals("53300") || state.equals("57014")) {
+          return true;
+        }
+      }
+      if (cause.getCause() == cause) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  @Scheduled(fixedDelayString = "${log.db-health.evaluation-interval:5s}")
+  public synchronized void evaluate() {
+    if (!properties.enabled()) {
+      return;
+    }
+
+    long now = System.nanoTime();
+    long slowCallNanos = slowCallNanos();
+    for (Call call : inFlight.values()) {
+      if (!call.counted && now - call.startedAt >= slowCallNanos) {
+        call.counted = true; // 끝나지 않은 호출은 한 번만 느린 호출로 센다
+        call.circuit.record(now - call.startedAt, false, slowCallNanos);
+      }
+    }
+    boolean poolSaturated = samplePoolWait();
+
+    for (Circuit circuit : circuits.values()) {
+      circuit.calls = circuit.callCount.sumThenReset();
+      circuit.slowCalls = circuit.slowCallCount.sumThenReset();
+      boolean poolBound =
+          poolSaturated && !properties.protectedDomains().contains(circuit.domain.getKey());
+
+      switch (circuit.state) {
+        case CLOSED -> {
+          if (circuit.calls >= properties.minimumCalls()
+              && circuit.slowCalls >= circuit.calls * properties.slowCallRate()) {
+            open(circuit, "slow calls " + circuit.slowCalls + "/" + circuit.calls, now);
+          } else if (poolBound && circuit.calls > 0) {
+            open(circuit, String.format("pool wait %.1fms", poolWaitMillis), now);
+          }
+        }
+        case OPEN -> {
+          if (now - circuit.openedAt >= circuit.openFor.toNanos()) {
+            halfOpen(circuit);
+          } else {
+            pause(circuit); // 샤드 재할당 등으로 다시 시작된 컨테이너를 멈춘다
+          }
+        }
+        case HALF_OPEN -> {
+          if (circuit.slowCalls > 0 || poolBound) {
+            Duration doubled = circuit.openFor.multipliedBy(2);
+            circuit.openFor =
+                doubled.compareTo(properties.maxOpenDuration()) > 0
+                    ? properties.maxOpenDuration()
+                    : doubled;
+            open(circuit, "probe failed: slow calls " + circuit.slowCalls, now);
+          } else if (++circuit.rampStep >= properties.rampSteps()) {
+            close(circuit);
+          } else {
+            circuit.probe = probeBucket(circuit.rampStep);
+          }
+        }
+      }
+    }
+  }
+
+  public DbHealthStatus status() {
+    List<DbHealthStatus.Circuit> snapshot =
+        circuits.values().stream()
+            .map(
+                circuit -> {
+                  ThroughputBucket probe = circuit.probe;
+                  return new DbHealthStatus.Circuit(
+                      circuit.domain.getKey(),
+                      circuit.domain.getQueue(),
+                      circuit.state,
+                      circuit.calls,
+                      circuit.slowCalls,
+                      circuit.openFor.toMillis(),
+                      probe == null ? null : probePermitsPerSecond(circuit.rampStep),
+                      circuit.paused,
+                      circuit.lastReason,
+                      circuit.lastTransitionAt);
+                })
+            .toList();
+    return new DbHealthStatus(properties.enabled(), poolWaitMillis, snapshot);
+  }
+
+  private void open(Circuit circuit, String reason, long now) {
+    if (circuit.state == State.CLOSED) {
+      circuit.openFor = properties.openDuration();
+    }
+    circuit.openedAt = now;
+    circuit.probe = null;
+    transition(circuit, State.OPEN, reason);
+    log.warn(
+        "DB health breaker opened: queue={}, reason={}, openFor={}",
+        circuit.domain.getQueue(),
+        reason,
+        circuit.openFor);
+    pause(circuit);
+  }
+
+  private void halfOpen(Circuit circuit) {
+    circuit.rampStep = 0;
+    circuit.probe = probeBucket(0);
+    transition(circuit, State.HALF_OPEN, "probe");
+    log.info(
+        "DB health breaker half-open: queue={}, permitsPerSecond={}",
+        circuit.domain.getQueue(),
+        properties.probePermitsPerSecond());
+    resume(circuit);
+  }
+
+  private void close(Circuit circuit) {
+    circuit.probe = null;
+    circuit.openFor = properties.openDuration();
+    transition(circuit, State.CLOSED, "recovered");
+    log.info("DB health breaker closed: queue={}", circuit.domain.getQueue());
+    resume(circuit);
+  }
+
+  private void transition(Circuit circuit, State state, String reason) {
+    circuit.state = state;
+    circuit.lastReason = reason;
+    circuit.lastTransitionAt = Instant.now();
+    Counter.builder("log.db-health.transition")
+        .tag("queue", circuit.domain.getQueue())
+        .tag("state", state.name())
+        .description("DB 상태 차단기 상태 전환 수")
+        .register(meterRegistry)
+        .increment();
+  }
+
+  /** 실행 중인 컨테이너를 멈춘다. 처리 중 메시지는 완료를 기다리지 않고 평가 스레드를 돌려준다. */
+  private void pause(Circuit circuit) {
+    if (!coordinator.isRunning()) {
+      return;
+    }
+    MessageListenerContainer container =
+        listenerRegistry.getListenerContainer(circuit.domain.getListenerId());
+    if (container != null && container.isRunning()) {
+      circuit.paused = true;
+      container.stop(
+          () -> log.info("Listener paused by DB health breaker: {}", circuit.domain.getQueue()));
+    }
+  }
+
+  /** 차단기가 멈춘 컨테이너만 다시 시작한다. 그 사이 다른 경로로 옮겨 은퇴한 리스너는 그대로 둔다. */
+  private void resume(Circuit circuit) {
+    if (!circuit.paused || !coordinator.isRunning()) {
+      return;
+    }
+    String listenerId = circuit.domain.getListenerId();
+    MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+    if (container != null && !container.isRunning() && !coordinator.isRetired(listenerId)) {
+      container.start();
+    }
+    circuit.paused = false;
+  }
+
+  /** 직전 평가 이후 Hikari 커넥션 획득의 평균 대기 시간을 구하고, 기준을 넘었는지 돌려준다. */
+  private boolean samplePoolWait() {
+    Timer acquire = meterRegistry.find(POOL_ACQUIRE_TIMER).timer();
+    if (acquire == null) {
+      return false;
+    }
+    long count = acquire.count();
+    double totalNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+    long acquired = count - poolAcquireCount;
+    double waitedNanos = totalNanos - poolAcquireNanos;
+    boolean first = poolAcquireCount < 0;
+    poolAcquireCount = count;
+    poolAcquireNanos = totalNanos;
+    if (first || acquired <= 0) {
+      poolWaitMillis = 0;
+      return false;
+    }
+    poolWaitMillis = waitedNanos / acquired / 1_000_000.0;
+    return poolWaitMillis > properties.poolWaitThreshold().toMillis();
+  }
+
+  private ThroughputBucket probeBucket(int rampStep) {
+    return new ThroughputBucket(probePermitsPerSecond(rampStep), 1);
+  }
+
+  private double probePermitsPerSecond(int rampStep) {
+    return properties.probePermitsPerSecond() * (1L << Math.min(rampStep, 30));
+  }
+
+  private long slowCallNanos() {
+    return properties.slowCallThreshold().toNanos();
+  }
+
+  private static void park(long waitNanos) {
+    long deadline = System.nanoTime() + waitNanos;
+    // 종료 시 interrupt되면 대기를 멈추고 처리한다
+    for (long remaining = waitNanos;
+        remaining > 0 && !Thread.currentThread().isInterrupted();
+        remaining = deadline - System.nanoTime()) {
+      LockSupport.parkNanos(DbHealthBreaker.class, remaining);
+    }
+  }
+
+  /** 컨테이너가 리스너에 넘기는 인자(Message 또는 배치)에서 수신 큐의 도메인을 찾는다. */
+  private Optional<LogDomain> resolveDomain(Object[] arguments) {
+    for (Object argument : arguments) {
+      Message message = null;
+      if (argument instanceof Message single) {
+        message = single;
+      } else if (argument instanceof List<?> batch
+          && !batch.isEmpty()
+          && batch.get(0) instanceof Message first) {
+        message = first;
+      }
+      if (message != null) {
+        return LogDomain.fromConsumerQueue(
+            message.getMessageProperties().getConsumerQueue(), sharded);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static final class Circuit {
+
+    private final LogDomain domain;
+    private final LongAdder callCount = new LongAdder();
+    private final LongAdder slowCallCount = new LongAdder();
+    private final Counter requeued;
+
+    private volatile State state = State.CLOSED;
+    private volatile ThroughputBucket probe;
+    private volatile Duration openFor;
+    private volatile long calls;
+    private volatile long slowCalls;
+    private volatile boolean paused;
+    private volatile String lastReason;
+    private volatile Instant lastTransitionAt;
+    private volatile int rampStep;
+    private long openedAt;
+
+    private Circuit(LogDomain domain, Duration openFor, MeterRegistry meterRegistry) {
+      this.domain = domain;
+      this.openFor = openFor;
+      this.requeued =
+          Counter.builder("log.db-health.requeued")
+              .tag("queue", domain.getQueue())
+              .description("차단 중이거나 DB 타임아웃으로 DLQ 대신 재큐잉한 메시지 수")
+              .register(meterRegistry);
+    }
+
+    private void record(long elapsedNanos, boolean failed, long slowCallNanos) {
+      callCount.increment();
+      if (failed || elapsedNanos >= slowCallNanos) {
+        slowCallCount.increment();
+      }
+    }
+  }
+
+  private static final class Call {
+
+    private final Circuit circuit;
+    private final long startedAt;
+    private volatile boolean counted;
+
+    private Call(Circuit circuit, long startedAt) {
+      this.circuit = circuit;
+      this.startedAt = startedAt;
+    }
+  }
+}
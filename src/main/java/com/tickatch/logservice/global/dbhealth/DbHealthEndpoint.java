@@ -0,0 +1,24 @@
+package com.tickatch.logservice.global.dbhealth;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 큐별 DB 상태 차단기 상태를 조회하는 Actuator 엔드포인트 ({@code /actuator/dbhealth}).
+ *
+ * @since 1.0.0
+ */
+@Component
+@Endpoint(id = "dbhealth")
+@RequiredArgsConstructor
+public class DbHealthEndpoint {
+
+  private final DbHealthBreaker breaker;
+
+  @ReadOperation
+  public DbHealthStatus status() {
+    return breaker.status();
+  }
+}
@@ -0,0 +1,64 @@
+package com.tickatch.logservice.global.dbhealth;
+
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * DB 상태 기반 리스너 차단기 설정.
+ *
+ * @param enabled 비활성화 시 지연을 측정하지 않고 리스너를 멈추지 않는다
+ * @param slowCallThreshold 이보다 오래 걸린 저장(커넥션 대기 포함)은 느린 호출로 센다
+ * @param slowCallRate 평가 구간의 느린 호출 비율이 이 값 이상이면 차단한다
+ * @param minimumCalls 평가 구간 호출이 이보다 적으면 비율로 차단하지 않는다
+ * @param poolWaitThreshold 평가 구간의 평균 Hikari 커넥션 대기 시간이 이 값을 넘으면 보호 도메인을 제외한 큐를 차단한다
+ * @param openDuration 처음 차단했을 때 리스너를 멈춰 두는 시간. 반개방 중 다시 차단되면 두 배씩 늘린다
+ * @param maxOpenDuration 차단 시간 상한
+ * @param probePermitsPerSecond 반개방 첫 구간의 초당 처리 메시지 수. 정상 구간마다 두 배로 늘린다
+ * @param rampSteps 반개방에서 정상 구간이 이만큼 이어지면 차단을 해제한다
+ * @param protectedDomains 커넥션 대기만으로는 멈추지 않는 도메인 (예약된 DB 커넥션 사용). 자기 저장 지연으로는 차단된다
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.db-health")
+public record DbHealthProperties(
+    boolean enabled,
+    Duration slowCallThreshold,
+    double slowCallRate,
+    int minimumCalls,
+    Duration poolWaitThreshold,
+    Duration openDuration,
+    Duration maxOpenDuration,
+    double probePermitsPerSecond,
+    int rampSteps,
+    Set<String> protectedDomains) {
+
+  public DbHealthProperties {
+    if (slowCallThreshold == null) {
+      slowCallThreshold = Duration.ofSeconds(2);
+    }
+    if (slowCallRate <= 0 || slowCallRate > 1) {
+      slowCallRate = 0.5;
+    }
+    if (minimumCalls <= 0) {
+      minimumCalls = 20;
+    }
+    if (poolWaitThreshold == null) {
+      poolWaitThreshold = Duration.ofMillis(500);
+    }
+    if (openDuration == null) {
+      openDuration = Duration.ofSeconds(10);
+    }
+    if (maxOpenDuration == null || maxOpenDuration.compareTo(openDuration) < 0) {
+      maxOpenDuration = openDuration.multipliedBy(30);
+    }
+    if (probePermitsPerSecond <= 0) {
+      probePermitsPerSecond = 5;
+    }
+    if (rampSteps <= 0) {
+      rampSteps = 4;
+    }
+    if (protectedDomains == null) {
+      protectedDomains = Set.of("payment", "auth");
+    }
+  }
+}
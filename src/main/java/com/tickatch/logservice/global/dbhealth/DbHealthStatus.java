@@ -0,0 +1,34 @@
+package com.tickatch.logservice.global.dbhealth;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DB 상태 기반 차단기 스냅샷 (Actuator {@code dbhealth} 엔드포인트 응답).
+ *
+ * @param poolWaitMillis 직전 평가 구간의 평균 Hikari 커넥션 대기 시간
+ * @since 1.0.0
+ */
+public record DbHealthStatus(boolean enabled, double poolWaitMillis, List<Circuit> circuits) {
+
+  /**
+   * 큐별 차단 상태.
+   *
+   * @param calls 직전 평가 구간의 저장 호출 수
+   * @param slowCalls 직전 평가 구간의 느린 호출 수 (DB 타임아웃 실패 포함)
+   * @param openForMillis 현재 차단 시간 (반개방 중 다시 차단되면 늘어난다)
+   * @param probePermitsPerSecond 반개방 중 허용하는 초당 처리 메시지 수
+   * @param paused 차단기가 멈춘 리스너 컨테이너인지
+   */
+  public record Circuit(
+      String domain,
+      String queue,
+      DbHealthBreaker.State state,
+      long calls,
+      long slowCalls,
+      long openForMillis,
+      Double probePermitsPerSecond,
+      boolean paused,
+      String lastReason,
+      Instant lastTransitionAt) {}
+}
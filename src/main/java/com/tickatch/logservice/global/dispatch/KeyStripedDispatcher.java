@@ -0,0 +1,289 @@
+package com.tickatch.logservice.global.dispatch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.rabbitmq.client.Channel;
+import com.tickatch.logservice.global.buffer.AckHandle;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.lifecycle.FlushableWriteBuffer;
+import com.tickatch.logservice.global.logging.FailureLogLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리스너 컨테이너 advice chain 맨 앞에서 메시지를 엔티티 키 해시로 단일 스레드 스트라이프에 나눠 처리한다.
+ *
+ * <p>큐마다 Consumer 스레드는 하나라 큐 순서대로 받고, 같은 엔티티(reservationSeatId, paymentId, ...)는 항상 같은 스트라이프에서 차례로
+ * 저장되므로 엔티티별 순서가 유지된다. 서로 다른 엔티티는 스트라이프 수만큼 동시에 저장된다. 스트라이프는 도메인마다 따로 둔다. 엔티티 키는 본문 최상위 필드만 스트리밍으로
+ * 읽어 찾고, 키가 없는 메시지는 순서 보장 대상이 아니므로 delivery tag로 나눈다.
+ *
+ * <p>컨테이너는 수동 ack로 동작하고, 스트라이프가 리스너를 실행한 뒤 메시지마다 {@code multiple=false}로 ack한다. 완료 순서가 delivery tag
+ * 순서와 달라도 각 ack는 자기 메시지만 확인하므로, 아직 처리 중인 앞 메시지를 함께 확인하는 일이 없다. 실패한 메시지는 재큐잉 없이 DLQ로 보내고, DB 상태 차단기가
+ * 재큐잉을 요청한 메시지만 큐로 되돌린다. 차단기와 처리량 예산 advice는 이 advice 뒤에 있어 스트라이프 스레드에서 실행되므로, 예산을 넘거나 차단된 도메인은 자기
+ * 스트라이프만 멈추고 다른 도메인(우선 도메인 포함)의 저장을 막지 않는다.
+ *
+ * <p>스트라이프 큐가 가득 차면 리스너 스레드가 기다리고, 그동안 prefetch 이후 메시지는 브로커에 남는다. 종료 시에는 리스너가 멈춘 뒤
+ * {@link FlushableWriteBuffer}로 남은 메시지를 처리한다. 채널이 먼저 닫혀 ack가 실패한 메시지는 재전달되고 PK 중복으로 걸러진다.
+ *
+ * <p>샤딩 모드의 라우터처럼 도메인을 알 수 없는 큐와 대상이 아닌 도메인은 리스너 스레드에서 바로 처리하고 ack한다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Order(FlushableWriteBuffer.RECEIVE_ORDER)
+public class KeyStripedDispatcher
+    implements MethodInterceptor, FlushableWriteBuffer, SmartLifecycle {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  private final StripedDispatchProperties properties;
+  private final FailureLogLimiter failureLogLimiter;
+  private final boolean sharded;
+  private final Map<LogDomain, BlockingQueue<Runnable>[]> stripes =
+      new EnumMap<>(LogDomain.class);
+  private final List<Thread> workers = new ArrayList<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final Timer backpressureTimer;
+  private final Counter acked;
+  private final Counter rejected;
+  private final Counter requeued;
+  private volatile boolean running;
+
+  @SuppressWarnings("unchecked")
+  public KeyStripedDispatcher(
+      StripedDispatchProperties properties,
+      FailureLogLimiter failureLogLimiter,
+      @Value("${log.sharding.enabled:false}") boolean sharded,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.failureLogLimiter = failureLogLimiter;
+    this.sharded = sharded;
+    for (LogDomain domain : LogDomain.values()) {
+      if (properties.appliesTo(domain.getKey())) {
+        BlockingQueue<Runnable>[] domainStripes = new BlockingQueue[properties.stripes()];
+        for (int i = 0; i < domainStripes.length; i++) {
+          domainStripes[i] = new ArrayBlockingQueue<>(properties.stripeCapacity());
+        }
+        stripes.put(domain, domainStripes);
+      }
+    }
+
+    Gauge.builder("log.striped.in-flight", inFlight, AtomicInteger::get)
+        .description("스트라이프에 넘겨 ack 전인 메시지 수")
+        .register(meterRegistry);
+    this.backpressureTimer =
+        Timer.builder("log.striped.backpressure.wait")
+            .description("스트라이프 큐가 가득 차 리스너가 대기한 시간")
+            .register(meterRegistry);
+    this.acked =
+        Counter.builder("log.striped.completed").tag("result", "acked").register(meterRegistry);
+    this.rejected =
+        Counter.builder("log.striped.completed").tag("result", "rejected").register(meterRegistry);
+    this.requeued =
+        Counter.builder("log.striped.completed").tag("result", "requeued").register(meterRegistry);
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    if (!properties.enabled()) {
+      return invocation.proceed();
+    }
+
+    Channel channel = null;
+    Message message = null;
+    for (Object argument : invocation.getArguments()) {
+      if (argument instanceof Channel c) {
+        channel = c;
+      } else if (argument instanceof Message m) {
+        message = m;
+      }
+    }
+    if (channel == null || message == null) {
+      return invocation.proceed();
+    }
+
+    AckHandle ackHandle = new AckHandle(channel, message.getMessageProperties().getDeliveryTag());
+    Optional<LogDomain> domain =
+        LogDomain.fromConsumerQueue(message.getMessageProperties().getConsumerQueue(), sharded)
+            .filter(d -> properties.appliesTo(d.getKey()));
+    if (domain.isEmpty()) {
+      process(invocation, message, ackHandle, false);
+      return null;
+    }
+
+    Message received = message;
+    BlockingQueue<Runnable>[] domainStripes = stripes.get(domain.get());
+    BlockingQueue<Runnable> stripe =
+        domainStripes[stripeOf(domain.get(), message, domainStripes.length)];
+    Runnable task = () -> process(invocation, received, ackHandle, true);
+    inFlight.incrementAndGet();
+    if (!stripe.offer(task)) {
+      long start = System.nanoTime();
+      try {
+        stripe.put(task);
+      } catch (InterruptedException e) {
+        inFlight.decrementAndGet();
+        Thread.currentThread().interrupt();
+        ackHandle.requeue(); // 종료 중: DLQ 대신 큐로 되돌린다
+        return null;
+      } finally {
+        backpressureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public String name() {
+    return "key-striped-dispatcher";
+  }
+
+  @Override
+  public int pending() {
+    return inFlight.get();
+  }
+
+  @Override
+  public void flush(Duration timeout) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void start() {
+    if (!properties.enabled()) {
+      return;
+    }
+
+    running = true;
+    stripes.forEach(
+        (domain, domainStripes) -> {
+          for (int i = 0; i < domainStripes.length; i++) {
+            BlockingQueue<Runnable> stripe = domainStripes[i];
+            workers.add(
+                Thread.ofPlatform()
+                    .name("log-stripe-" + domain.getKey() + "-" + i)
+                    .start(() -> runStripe(stripe)));
+          }
+        });
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    for (Thread worker : workers) {
+      try {
+        worker.join(1_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+    workers.clear();
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void runStripe(BlockingQueue<Runnable> stripe) {
+    while (running || !stripe.isEmpty()) {
+      try {
+        Runnable task = stripe.poll(100, TimeUnit.MILLISECONDS);
+        if (task != null) {
+          task.run();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /** 리스너(와 뒤의 advice)를 실행하고 결과에 따라 이 메시지만 ack, 재큐잉 또는 DLQ로 보낸다. */
+  private void process(
+      MethodInvocation invocation, Message message, AckHandle ackHandle, boolean striped) {
+    try {
+      invocation.proceed();
+      ackHandle.ack();
+      acked.increment();
+    } catch (ImmediateRequeueAmqpException e) {
+      ackHandle.requeue(); // DB 상태 차단기 / 처리량 예산: DLQ 대신 큐로 되돌린다
+      requeued.increment();
+    } catch (Throwable e) {
+      ackHandle.reject();
+      rejected.increment();
+      String queue = message.getMessageProperties().getConsumerQueue();
+      long suppressed = failureLogLimiter.tryAcquire(queue);
+      if (suppressed != FailureLogLimiter.DENIED) {
+        log.warn(
+            "Striped listener failed, sent to DLQ: queue={} (suppressed={})", queue, suppressed, e);
+      }
+    } finally {
+      if (striped) {
+        inFlight.decrementAndGet();
+      }
+    }
+  }
+
+  static int stripeOf(LogDomain domain, Message message, int stripeCount) {
+    String key = entityKey(message.getBody(), domain.getEntityKeyField());
+    int hash =
+        key != null
+            ? key.hashCode() * 0x9e3779b9
+            : (int) message.getMessageProperties().getDeliveryTag();
+    return Math.floorMod(hash ^ (hash >>> 16), stripeCount);
+  }
+
+  /** 본문 최상위 필드에서 엔티티 키를 찾는다. 다른 필드의 값은 읽지 않고 건너뛴다. */
+  static String entityKey(byte[] body, String field) {
+    try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if (field.equals(name)) {
+          return value.isScalarValue() && value != JsonToken.VALUE_NULL ? parser.getText() : null;
+        }
+        parser.skipChildren();
+      }
+    } catch (IOException e) {
+      return null; // 메시지 변환기가 실패시켜 DLQ로 보낸다
+    }
+    return null;
+  }
+}
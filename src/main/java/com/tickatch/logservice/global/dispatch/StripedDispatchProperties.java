@@ -0,0 +1,38 @@
+package com.tickatch.logservice.global.dispatch;
+
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 엔티티 키 기준 스트라이프 병렬 처리 설정.
+ *
+ * @param enabled 사용 여부. 켜면 기본 리스너 컨테이너가 수동 ack로 바뀐다
+ * @param stripes 도메인별 단일 스레드 스트라이프 수 (기본: CPU 코어 수)
+ * @param stripeCapacity 스트라이프별 대기 메시지 수. 가득 차면 리스너 스레드가 기다린다
+ * @param prefetch 컨테이너별 미확인 메시지 상한
+ * @param domains 스트라이프로 처리할 도메인 키. 비어 있으면 전체 도메인
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.striped")
+public record StripedDispatchProperties(
+    boolean enabled, int stripes, int stripeCapacity, int prefetch, Set<String> domains) {
+
+  public StripedDispatchProperties {
+    if (stripes <= 0) {
+      stripes = Runtime.getRuntime().availableProcessors();
+    }
+    if (stripeCapacity <= 0) {
+      stripeCapacity = 128;
+    }
+    if (prefetch <= 0) {
+      prefetch = 250;
+    }
+    if (domains == null) {
+      domains = Set.of();
+    }
+  }
+
+  public boolean appliesTo(String domain) {
+    return domains.isEmpty() || domains.contains(domain);
+  }
+}
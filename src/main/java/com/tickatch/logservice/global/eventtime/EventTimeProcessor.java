@@ -0,0 +1,178 @@
+package com.tickatch.logservice.global.eventtime;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.lifecycle.FlushableWriteBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Consumer가 받은 이벤트를 이벤트 시간 순으로 재정렬해 내부 구독자에게 전달한다.
+ *
+ * <p>도착 순서가 아니라 occurredAt 기준으로 처리해야 하는 집계/스트리밍은 {@link TimedLogEvent}를, 허용 지연을 넘긴 이벤트는 {@link
+ * TooLateLogEvent}를 구독한다. 최근 구간 저장소, 요약(sketch), 판매 퍼널이 이 경로로 이벤트를 받는다. 저장 수준 정책으로 행을 저장하지 않는
+ * 이벤트도 들어온다. 이벤트는 커밋 이후에만 버퍼에 들어가므로 롤백된 메시지는 방출되지 않는다.
+ *
+ * <p>종료 시에는 {@link FlushableWriteBuffer}로 수집 버퍼가 모두 반영된 뒤, 구독자 버퍼보다 먼저 워터마크를 기다리던 이벤트를 모두
+ * 방출한다.
+ *
+ * <p>메트릭: {@code log.eventtime.watermark.lag}(벽시계 - 워터마크, 초), {@code
+ * log.eventtime.reorder.buffered}, {@code log.eventtime.reorder.overflow}, {@code
+ * log.eventtime.events}.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Order(FlushableWriteBuffer.EVENT_TIME_ORDER)
+public class EventTimeProcessor implements FlushableWriteBuffer {
+
+  private final ApplicationEventPublisher eventPublisher;
+  private final Map<LogDomain, EventTimeStream> streams = new EnumMap<>(LogDomain.class);
+  private final Map<LogDomain, Map<Timeliness, Counter>> counters = new EnumMap<>(LogDomain.class);
+
+  public EventTimeProcessor(
+      EventTimeProperties properties,
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry) {
+    this.eventPublisher = eventPublisher;
+
+    for (LogDomain domain : LogDomain.values()) {
+      EventTimeStream stream = new EventTimeStream(domain, properties);
+      streams.put(domain, stream);
+
+      Gauge.builder("log.eventtime.watermark.lag", stream, EventTimeProcessor::lagSeconds)
+          .tag("queue", domain.getQueue())
+          .description("벽시계 대비 워터마크 지연 (초)")
+          .baseUnit("seconds")
+          .register(meterRegistry);
+      Gauge.builder("log.eventtime.reorder.buffered", stream, EventTimeStream::buffered)
+          .tag("queue", domain.getQueue())
+          .description("워터마크 대기 중인 이벤트 수")
+          .register(meterRegistry);
+      FunctionCounter.builder("log.eventtime.reorder.overflow", stream, EventTimeStream::overflowed)
+          .tag("queue", domain.getQueue())
+          .description("버퍼 초과로 워터마크를 강제 전진시킨 횟수")
+          .register(meterRegistry);
+
+      Map<Timeliness, Counter> byTimeliness = new EnumMap<>(Timeliness.class);
+      for (Timeliness timeliness : Timeliness.values()) {
+        byTimeliness.put(
+            timeliness,
+            Counter.builder("log.eventtime.events")
+                .tag("queue", domain.getQueue())
+                .tag("timeliness", timeliness.tag())
+                .description("워터마크 대비 도착 분류별 이벤트 수")
+                .register(meterRegistry));
+      }
+      counters.put(domain, byTimeliness);
+    }
+  }
+
+  /**
+   * Consumer 트랜잭션이 커밋된 뒤 이벤트를 재정렬 버퍼에 넣는다. 행 저장 여부와 관계없이 받은 이벤트마다 한 번 호출한다.
+   *
+   * @param fields 구독자가 도메인과 무관하게 읽는 공통 필드
+   * @param payload Consumer가 받은 원본 이벤트 레코드
+   */
+  public void onAccepted(
+      LogDomain domain,
+      UUID eventId,
+      LocalDateTime occurredAt,
+      LogEventFields fields,
+      Object payload) {
+    if (occurredAt == null) {
+      return;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      accept(domain, eventId, occurredAt, fields, payload);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            accept(domain, eventId, occurredAt, fields, payload);
+          }
+        });
+  }
+
+  /** 도메인의 현재 워터마크. 아직 이벤트를 받지 않았으면 {@code null}. */
+  public LocalDateTime watermark(LogDomain domain) {
+    return streams.get(domain).watermark();
+  }
+
+  @Scheduled(fixedDelayString = "${log.event-time.emit-interval:1s}")
+  public synchronized void emit() {
+    LocalDateTime now = LocalDateTime.now();
+    long nowNanos = System.nanoTime();
+    streams.values().forEach(stream -> publish(stream.advance(now, nowNanos)));
+  }
+
+  @Override
+  public String name() {
+    return "event-time";
+  }
+
+  @Override
+  public int pending() {
+    return streams.values().stream().mapToInt(EventTimeStream::buffered).sum();
+  }
+
+  /** 리스너와 수집 버퍼 drain 이후 호출되어, 워터마크를 기다리던 이벤트를 모두 방출한다. */
+  @Override
+  public synchronized void flush(Duration timeout) {
+    streams.values().forEach(stream -> publish(stream.drainAll()));
+  }
+
+  private void accept(
+      LogDomain domain,
+      UUID eventId,
+      LocalDateTime occurredAt,
+      LogEventFields fields,
+      Object payload) {
+    Timeliness timeliness =
+        streams.get(domain).accept(eventId, occurredAt, fields, payload, System.nanoTime());
+    counters.get(domain).get(timeliness).increment();
+  }
+
+  private void publish(EventTimeStream.Emission emission) {
+    for (TooLateLogEvent event : emission.tooLate()) {
+      publishSafely(event, event.eventId());
+    }
+    for (TimedLogEvent event : emission.ready()) {
+      publishSafely(event, event.eventId());
+    }
+  }
+
+  private void publishSafely(Object event, UUID eventId) {
+    try {
+      eventPublisher.publishEvent(event);
+    } catch (Exception e) {
+      log.warn("Event-time subscriber failed: eventId={}", eventId, e);
+    }
+  }
+
+  private static double lagSeconds(EventTimeStream stream) {
+    LocalDateTime watermark = stream.watermark();
+    if (watermark == null) {
+      return 0;
+    }
+    return Duration.between(watermark, LocalDateTime.now()).toMillis() / 1000.0;
+  }
+}
@@ -0,0 +1,36 @@
+package com.tickatch.logservice.global.eventtime;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 이벤트 시간(occurredAt) 기준 처리 설정.
+ *
+ * @param maxOutOfOrderness 워터마크를 관측된 최대 이벤트 시간보다 뒤로 두는 간격 (재정렬 대기 시간)
+ * @param allowedLateness 워터마크보다 늦은 이벤트를 late로 방출하는 허용 범위. 이보다 늦으면 side output으로 보낸다
+ * @param reorderBufferSize 큐별 재정렬 버퍼 최대 크기. 초과 시 가장 오래된 이벤트부터 강제 방출한다
+ * @param idleTimeout 이 시간 동안 이벤트가 없으면 벽시계 기준으로 워터마크를 전진시킨다
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.event-time")
+public record EventTimeProperties(
+    Duration maxOutOfOrderness,
+    Duration allowedLateness,
+    int reorderBufferSize,
+    Duration idleTimeout) {
+
+  public EventTimeProperties {
+    if (maxOutOfOrderness == null) {
+      maxOutOfOrderness = Duration.ofSeconds(5);
+    }
+    if (allowedLateness == null) {
+      allowedLateness = Duration.ofMinutes(5);
+    }
+    if (reorderBufferSize <= 0) {
+      reorderBufferSize = 10_000;
+    }
+    if (idleTimeout == null) {
+      idleTimeout = Duration.ofSeconds(30);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package com.tickatch.logservice.global.eventtime;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * 도메인(큐) 하나의 워터마크와 재정렬 버퍼.
+ *
+ * <p>워터마크는 관측된 최대 이벤트 시간에서 {@code maxOutOfOrderness}를 뺀 값이며 감소하지 않는다. 버퍼에는 워터마크 이후의 이벤트가
+ * occurredAt 순으로 쌓이고, 워터마크가 지나간 이벤트부터 방출된다.
+ *
+ * @since 1.0.0
+ */
+final class EventTimeStream {
+
+  private static final Comparator<TimedLogEvent> EVENT_TIME_ORDER =
+      Comparator.comparing(TimedLogEvent::occurredAt).thenComparing(TimedLogEvent::eventId);
+
+  private final LogDomain domain;
+  private final EventTimeProperties properties;
+  private final PriorityQueue<TimedLogEvent> buffer = new PriorityQueue<>(EVENT_TIME_ORDER);
+  private final List<TooLateLogEvent> tooLate = new ArrayList<>();
+
+  private LocalDateTime maxEventTime;
+  private LocalDateTime watermark;
+  private long lastArrivalNanos;
+  private long overflowed;
+
+  EventTimeStream(LogDomain domain, EventTimeProperties properties) {
+    this.domain = domain;
+    this.properties = properties;
+  }
+
+  synchronized Timeliness accept(
+      UUID eventId,
+      LocalDateTime occurredAt,
+      LogEventFields fields,
+      Object payload,
+      long nowNanos) {
+    lastArrivalNanos = nowNanos;
+
+    if (watermark != null && !occurredAt.isAfter(watermark)) {
+      if (occurredAt.isBefore(watermark.minus(properties.allowedLateness()))) {
+        tooLate.add(new TooLateLogEvent(domain, eventId, occurredAt, watermark, fields, payload));
+        return Timeliness.TOO_LATE;
+      }
+      buffer.add(new TimedLogEvent(domain, eventId, occurredAt, true, fields, payload));
+      return Timeliness.LATE;
+    }
+
+    buffer.add(new TimedLogEvent(domain, eventId, occurredAt, false, fields, payload));
+    if (maxEventTime == null || occurredAt.isAfter(maxEventTime)) {
+      maxEventTime = occurredAt;
+      advanceTo(occurredAt.minus(properties.maxOutOfOrderness()));
+    }
+    if (buffer.size() > properties.reorderBufferSize()) {
+      // 버퍼가 가득 차면 가장 오래된 이벤트까지 워터마크를 당겨 방출 대상으로 만든다
+      overflowed++;
+      advanceTo(buffer.peek().occurredAt());
+    }
+    return Timeliness.ON_TIME;
+  }
+
+  /** 워터마크를 지난 이벤트를 꺼낸다. 유휴 상태이면 벽시계 기준으로 워터마크를 전진시킨다. */
+  synchronized Emission advance(LocalDateTime now, long nowNanos) {
+    if (maxEventTime != null && nowNanos - lastArrivalNanos > properties.idleTimeout().toNanos()) {
+      advanceTo(now.minus(properties.maxOutOfOrderness()));
+    }
+
+    List<TimedLogEvent> ready = new ArrayList<>();
+    while (!buffer.isEmpty() && !buffer.peek().occurredAt().isAfter(watermark)) {
+      ready.add(buffer.poll());
+    }
+    return takeEmission(ready);
+  }
+
+  /** 종료 시 워터마크와 무관하게 버퍼를 모두 비운다. */
+  synchronized Emission drainAll() {
+    List<TimedLogEvent> ready = new ArrayList<>(buffer.size());
+    while (!buffer.isEmpty()) {
+      ready.add(buffer.poll());
+    }
+    return takeEmission(ready);
+  }
+
+  synchronized int buffered() {
+    return buffer.size();
+  }
+
+  synchronized LocalDateTime watermark() {
+    return watermark;
+  }
+
+  synchronized long overflowed() {
+    return overflowed;
+  }
+
+  private void advanceTo(LocalDateTime candidate) {
+    if (watermark == null || candidate.isAfter(watermark)) {
+      watermark = candidate;
+    }
+  }
+
+  private Emission takeEmission(List<TimedLogEvent> ready) {
+    List<TooLateLogEvent> late = List.copyOf(tooLate);
+    tooLate.clear();
+    return new Emission(ready, late);
+  }
+
+  record Emission(List<TimedLogEvent> ready, List<TooLateLogEvent> tooLate) {}
+}
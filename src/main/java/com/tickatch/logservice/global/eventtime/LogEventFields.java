@@ -0,0 +1,14 @@
+package com.tickatch.logservice.global.eventtime;
+
+import java.util.UUID;
+
+/**
+ * 이벤트 시간 구독자가 도메인과 무관하게 읽는 로그 이벤트 공통 필드.
+ *
+ * @param entityId 도메인 엔티티 ID (UUID 또는 Long)
+ * @param actorUserId 행위자 ID. 없으면 {@code null}
+ * @param overflow 스키마에 없는 필드 JSON. 없으면 {@code null}
+ * @since 1.0.0
+ */
+public record LogEventFields(
+    Object entityId, String actionType, UUID actorUserId, String overflow) {}
@@ -0,0 +1,22 @@
+package com.tickatch.logservice.global.eventtime;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 워터마크를 지나 이벤트 시간 순으로 방출되는 로그 이벤트.
+ *
+ * <p>{@code @EventListener}로 구독한다. 같은 도메인 안에서는 단일 스레드가 occurredAt 순으로 발행한다.
+ *
+ * @param late 워터마크 이후에 도착했지만 허용 지연 안에 든 이벤트. 이미 닫힌 구간을 보정할 때 사용한다
+ * @param payload Consumer가 받은 원본 이벤트 레코드
+ * @since 1.0.0
+ */
+public record TimedLogEvent(
+    LogDomain domain,
+    UUID eventId,
+    LocalDateTime occurredAt,
+    boolean late,
+    LogEventFields fields,
+    Object payload) {}
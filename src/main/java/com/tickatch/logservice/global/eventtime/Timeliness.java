@@ -0,0 +1,12 @@
+package com.tickatch.logservice.global.eventtime;
+
+/** 도착 시점 워터마크 대비 이벤트 분류. */
+enum Timeliness {
+  ON_TIME,
+  LATE,
+  TOO_LATE;
+
+  String tag() {
+    return name().toLowerCase();
+  }
+}
@@ -0,0 +1,21 @@
+package com.tickatch.logservice.global.eventtime;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 허용 지연을 넘겨 도착한 이벤트 (side output).
+ *
+ * <p>로그 자체는 이미 저장되었으며, 시간 구간 집계 등 이벤트 시간 처리에서만 제외된다.
+ *
+ * @param watermark 도착 시점의 워터마크
+ * @since 1.0.0
+ */
+public record TooLateLogEvent(
+    LogDomain domain,
+    UUID eventId,
+    LocalDateTime occurredAt,
+    LocalDateTime watermark,
+    LogEventFields fields,
+    Object payload) {}
@@ -0,0 +1,18 @@
+package com.tickatch.logservice.global.fidelity;
+
+/**
+ * 이벤트를 어느 정도로 보존할지 나타내는 저장 수준.
+ *
+ * @since 1.0.0
+ */
+public enum Fidelity {
+
+  /** 모든 이벤트를 행으로 저장한다. */
+  FULL,
+
+  /** 엔티티 ID 해시로 결정되는 일부 엔티티의 이벤트만 저장한다. */
+  SAMPLE,
+
+  /** 행을 저장하지 않고 버킷별 건수만 집계한다. */
+  ROLLUP
+}
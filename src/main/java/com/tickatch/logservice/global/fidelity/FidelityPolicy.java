@@ -0,0 +1,250 @@
+package com.tickatch.logservice.global.fidelity;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.fidelity.FidelityProperties.Rule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consumer가 저장 전에 이벤트를 행으로 남길지 결정한다.
+ *
+ * <p>도메인 / 액션 타입별 규칙({@link FidelityProperties})에 따라 전부 저장하거나, 엔티티 ID 해시가 비율 안에 드는 이벤트만 저장하거나,
+ * 건수만 {@link FidelityRollup}에 집계한다. 샘플링은 엔티티 ID(없으면 이벤트 ID)의 해시로 결정하므로 인스턴스와 재전달에 관계없이 같은
+ * 엔티티는 항상 같은 결과가 나오고, 저장된 엔티티의 이력은 빠짐없이 남는다.
+ *
+ * <p>결정은 행 저장에만 적용된다. Consumer는 결과와 관계없이 프로젝션과 이벤트 시간 구독자(요약, 퍼널, 최근 구간)에 이벤트를 넘기므로 집계는
+ * 저장 수준을 낮춰도 정확하다. 저장하지 않는 이벤트는 {@link #acceptUnstored}가 {@link UnstoredEventLedger}로 재전달을 거르고, 롤업
+ * 건수는 트랜잭션이 커밋된 뒤에 더한다.
+ *
+ * <p>Spring Cloud Config refresh로 {@code log.fidelity.*}가 바뀌면 규칙을 다시 바인딩해 교체한다. 잘못된 규칙이면
+ * 기존 규칙을 유지한다.
+ *
+ * <p>메트릭: {@code log.fidelity.events{queue, outcome=stored|sampled_out|rolled_up}}. sampled_out과
+ * rolled_up이 저장하지 않은 행 수다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class FidelityPolicy {
+
+  static final String PREFIX = "log.fidelity";
+  static final String DEFAULT_ACTION = "DEFAULT";
+  private static final String UNKNOWN_ACTION = "UNKNOWN";
+
+  private final Environment environment;
+  private final FidelityRollup rollup;
+  private final UnstoredEventLedger ledger;
+  private final Map<LogDomain, Counter[]> outcomes = new EnumMap<>(LogDomain.class);
+  private volatile CompiledPolicy policy;
+
+  public FidelityPolicy(
+      FidelityProperties properties,
+      Environment environment,
+      FidelityRollup rollup,
+      UnstoredEventLedger ledger,
+      MeterRegistry meterRegistry) {
+    this.environment = environment;
+    this.rollup = rollup;
+    this.ledger = ledger;
+    this.policy = CompiledPolicy.compile(properties);
+
+    for (LogDomain domain : LogDomain.values()) {
+      outcomes.put(
+          domain,
+          new Counter[] {
+            outcomeCounter(meterRegistry, domain, Outcome.STORED),
+            outcomeCounter(meterRegistry, domain, Outcome.SAMPLED_OUT),
+            outcomeCounter(meterRegistry, domain, Outcome.ROLLED_UP)
+          });
+    }
+  }
+
+  /**
+   * 이벤트를 행으로 저장할지 결정한다. 결정만 하고 집계는 하지 않는다.
+   *
+   * @param entityId 샘플링 기준 엔티티 ID. {@code null}이면 이벤트 ID를 쓴다
+   * @return {@link Outcome#STORED}가 아니면 행을 저장하지 않고 {@link #acceptUnstored}를 호출한다
+   */
+  public Outcome admit(LogDomain domain, UUID eventId, Object entityId, String actionType) {
+    CompiledPolicy current = policy;
+    if (!current.enabled()) {
+      return Outcome.STORED;
+    }
+
+    Rule rule = current.ruleOf(domain, actionType);
+    Outcome outcome =
+        switch (rule.mode()) {
+          case FULL -> Outcome.STORED;
+          case SAMPLE ->
+              sampleFraction(entityId != null ? entityId : eventId) < rule.rate()
+                  ? Outcome.STORED
+                  : Outcome.SAMPLED_OUT;
+          case ROLLUP -> Outcome.ROLLED_UP;
+        };
+    outcomes.get(domain)[outcome.ordinal()].increment();
+    return outcome;
+  }
+
+  /**
+   * 저장하지 않는 이벤트의 재전달을 거르고, 롤업 대상이면 커밋 후 건수를 더한다. Consumer 트랜잭션 안에서 호출한다.
+   *
+   * @return 처음 온 이벤트이면 {@code true}. {@code false}이면 이미 집계했으므로 프로젝션과 이벤트 시간 처리를 건너뛴다
+   */
+  public boolean acceptUnstored(
+      Outcome outcome,
+      LogDomain domain,
+      UUID eventId,
+      String actionType,
+      LocalDateTime occurredAt) {
+    if (!ledger.record(domain, eventId)) {
+      return false;
+    }
+
+    if (outcome == Outcome.ROLLED_UP) {
+      rollup.addAfterCommit(
+          domain,
+          actionType != null ? actionType : UNKNOWN_ACTION,
+          policy.bucketStart(occurredAt));
+    }
+    return true;
+  }
+
+  @EventListener(EnvironmentChangeEvent.class)
+  public void onEnvironmentChange(EnvironmentChangeEvent event) {
+    if (event.getKeys().stream().noneMatch(key -> key.startsWith(PREFIX))) {
+      return;
+    }
+
+    try {
+      FidelityProperties refreshed =
+          Binder.get(environment).bindOrCreate(PREFIX, FidelityProperties.class);
+      policy = CompiledPolicy.compile(refreshed);
+      log.info(
+          "Fidelity policy refreshed: enabled={}, rules={}",
+          refreshed.enabled(),
+          refreshed.rules());
+    } catch (RuntimeException e) {
+      log.warn("Invalid fidelity policy, keeping the previous rules", e);
+    }
+  }
+
+  /** 키를 [0, 1) 구간에 고르게 대응시킨다. UUID / 숫자는 비트를 그대로 섞고, 그 외에는 문자열 FNV-1a 해시를 섞는다. */
+  static double sampleFraction(Object key) {
+    long h;
+    if (key instanceof UUID uuid) {
+      h = uuid.getMostSignificantBits() ^ uuid.getLeastSignificantBits();
+    } else if (key instanceof Number number) {
+      h = number.longValue();
+    } else {
+      h = 0xcbf29ce484222325L;
+      for (byte b : String.valueOf(key).getBytes(StandardCharsets.UTF_8)) {
+        h = (h ^ (b & 0xff)) * 0x100000001b3L;
+      }
+    }
+    // MurmurHash3 fmix64
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return (h >>> 11) * 0x1.0p-53;
+  }
+
+  /** 액션 타입 비교 키. 설정 키의 relaxed binding과 맞추기 위해 문자와 숫자만 대문자로 남긴다. */
+  static String normalize(String actionType) {
+    return actionType.toUpperCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", "");
+  }
+
+  private static Counter outcomeCounter(
+      MeterRegistry meterRegistry, LogDomain domain, Outcome outcome) {
+    return Counter.builder("log.fidelity.events")
+        .tag("queue", domain.getQueue())
+        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+        .description("저장 수준 정책 적용 결과별 이벤트 수")
+        .register(meterRegistry);
+  }
+
+  /** 저장 수준 정책 적용 결과. */
+  public enum Outcome {
+    STORED,
+    SAMPLED_OUT,
+    ROLLED_UP;
+
+    public boolean stored() {
+      return this == STORED;
+    }
+  }
+
+  /** 바인딩된 규칙을 도메인별로 정리하고, 액션 타입별 조회 결과를 캐시한다. */
+  private record CompiledPolicy(
+      boolean enabled,
+      long bucketSeconds,
+      Map<LogDomain, Map<String, Rule>> rules,
+      Map<LogDomain, Map<String, Rule>> resolved) {
+
+    static CompiledPolicy compile(FidelityProperties properties) {
+      Map<LogDomain, Map<String, Rule>> rules = new EnumMap<>(LogDomain.class);
+      Map<LogDomain, Map<String, Rule>> resolved = new EnumMap<>(LogDomain.class);
+      properties
+          .rules()
+          .forEach(
+              (key, actions) -> {
+                LogDomain domain =
+                    LogDomain.fromKey(key)
+                        .orElseThrow(
+                            () ->
+                                new IllegalArgumentException(
+                                    "Unknown log domain in fidelity rules: " + key));
+                Map<String, Rule> normalized = new HashMap<>();
+                actions.forEach((action, rule) -> normalized.put(normalize(action), rule));
+                rules.put(domain, normalized);
+                resolved.put(domain, new ConcurrentHashMap<>());
+              });
+      return new CompiledPolicy(
+          properties.enabled(),
+          Math.max(1, properties.rollupBucket().toSeconds()),
+          rules,
+          resolved);
+    }
+
+    Rule ruleOf(LogDomain domain, String actionType) {
+      Map<String, Rule> actions = rules.get(domain);
+      if (actions == null) {
+        return Rule.FULL;
+      }
+      if (actionType == null) {
+        return actions.getOrDefault(DEFAULT_ACTION, Rule.FULL);
+      }
+      return resolved
+          .get(domain)
+          .computeIfAbsent(
+              actionType,
+              action ->
+                  actions.getOrDefault(
+                      normalize(action), actions.getOrDefault(DEFAULT_ACTION, Rule.FULL)));
+    }
+
+    LocalDateTime bucketStart(LocalDateTime occurredAt) {
+      long epochSecond =
+          (occurredAt != null ? occurredAt : LocalDateTime.now()).toEpochSecond(ZoneOffset.UTC);
+      return LocalDateTime.ofEpochSecond(
+          Math.floorDiv(epochSecond, bucketSeconds) * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+  }
+}
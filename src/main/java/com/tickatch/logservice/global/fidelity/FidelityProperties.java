@@ -0,0 +1,51 @@
+package com.tickatch.logservice.global.fidelity;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 도메인 / 액션 타입별 저장 수준 설정.
+ *
+ * <p>{@code rules.<도메인 키>.<액션 타입>}에 규칙을 둔다. 액션 타입은 대소문자와 구분 기호를 무시하고 비교하며, {@code default} 규칙은
+ * 나머지 액션 타입에 적용된다. 규칙이 없으면 {@link Fidelity#FULL}이다. 한글 액션 타입은 {@code "[좌석선점]"}처럼 대괄호로 감싸야
+ * 키가 보존된다.
+ *
+ * @param enabled 저장 수준 정책 사용 여부
+ * @param rollupBucket 롤업 집계 버킷 크기
+ * @param rules 도메인 키 → 액션 타입 → 규칙
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.fidelity")
+public record FidelityProperties(
+    boolean enabled, Duration rollupBucket, Map<String, Map<String, Rule>> rules) {
+
+  public FidelityProperties {
+    if (rollupBucket == null || rollupBucket.isZero() || rollupBucket.isNegative()) {
+      rollupBucket = Duration.ofMinutes(1);
+    }
+    if (rules == null) {
+      rules = Map.of();
+    }
+  }
+
+  /**
+   * 저장 수준 규칙.
+   *
+   * @param mode 저장 수준
+   * @param rate {@link Fidelity#SAMPLE}에서 저장할 엔티티 비율 (0~1)
+   */
+  public record Rule(Fidelity mode, double rate) {
+
+    static final Rule FULL = new Rule(Fidelity.FULL, 1.0);
+
+    public Rule {
+      if (mode == null) {
+        mode = Fidelity.FULL;
+      }
+      if (rate < 0 || rate > 1) {
+        throw new IllegalArgumentException("Fidelity sample rate must be within [0, 1]: " + rate);
+      }
+    }
+  }
+}
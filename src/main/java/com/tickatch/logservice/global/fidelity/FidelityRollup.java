@@ -0,0 +1,160 @@
+package com.tickatch.logservice.global.fidelity;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.lifecycle.FlushableWriteBuffer;
+import com.tickatch.logservice.global.migration.SchemaMigrations;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link Fidelity#ROLLUP} 이벤트의 버킷별 건수를 메모리에 모았다가 {@code p_log_rollup}에 더한다.
+ *
+ * <p>건수는 Consumer 트랜잭션이 커밋된 뒤에 더하므로 롤백된 메시지는 집계되지 않는다. 재전달은 {@link UnstoredEventLedger}가
+ * 걸러 낸 뒤에 여기에 온다.
+ *
+ * <p>이벤트마다 키 하나의 {@code merge}만 하고, DB 반영은 {@code rollup-flush-interval}마다 키당 upsert 한 번으로 한다. 반영한
+ * 키는 {@code remove}로 원자적으로 떼어 내므로 반영 중 들어온 건수는 다음 주기로 넘어간다. 반영에 실패하면 건수를 되돌려 다음 주기에 다시
+ * 시도한다. 테이블이 없으면({@code db/migration/006_log_rollup.sql} 미적용) 건수를 메모리에 둔 채 반영하지 않는다.
+ *
+ * <p>종료 시에는 {@link FlushableWriteBuffer}로 리스너가 멈춘 뒤 남은 건수를 반영한다. 비정상 종료 시에는 마지막 반영 주기 동안의 건수를
+ * 잃는다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class FidelityRollup implements FlushableWriteBuffer {
+
+  static final String TABLE = "p_log_rollup";
+
+  static final String MIGRATION = "db/migration/006_log_rollup.sql";
+
+  private static final String UPSERT =
+      "INSERT INTO "
+          + TABLE
+          + " (domain, action_type, bucket_start, event_count) VALUES (?, ?, ?, ?)"
+          + " ON CONFLICT (domain, action_type, bucket_start)"
+          + " DO UPDATE SET event_count = "
+          + TABLE
+          + ".event_count + EXCLUDED.event_count";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Map<RollupKey, Long> counts = new ConcurrentHashMap<>();
+  private volatile boolean schemaReady;
+  private boolean migrationReported;
+
+  public FidelityRollup(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+
+    Gauge.builder("log.fidelity.rollup.pending", this, FidelityRollup::pending)
+        .description("DB에 반영되지 않은 롤업 집계 키 수")
+        .register(meterRegistry);
+  }
+
+  /** 현재 트랜잭션이 커밋되면 건수를 더한다. 트랜잭션 밖이면 바로 더한다. */
+  void addAfterCommit(LogDomain domain, String actionType, LocalDateTime bucketStart) {
+    RollupKey key = new RollupKey(domain, actionType, bucketStart);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      add(key);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            add(key);
+          }
+        });
+  }
+
+  private void add(RollupKey key) {
+    counts.merge(key, 1L, Long::sum);
+  }
+
+  @Scheduled(fixedDelayString = "${log.fidelity.rollup-flush-interval:10s}")
+  public void flushScheduled() {
+    flushPending();
+  }
+
+  @Override
+  public String name() {
+    return "fidelity-rollup";
+  }
+
+  @Override
+  public int pending() {
+    return counts.size();
+  }
+
+  @Override
+  public void flush(Duration timeout) {
+    flushPending();
+  }
+
+  private synchronized void flushPending() {
+    if (counts.isEmpty() || !verifySchema()) {
+      return;
+    }
+
+    Map<RollupKey, Long> drained = new HashMap<>();
+    for (RollupKey key : counts.keySet()) {
+      Long count = counts.remove(key);
+      if (count != null) {
+        drained.put(key, count);
+      }
+    }
+
+    List<Object[]> args = new ArrayList<>(drained.size());
+    drained.forEach(
+        (key, count) ->
+            args.add(
+                new Object[] {
+                  key.domain().getKey(),
+                  key.actionType(),
+                  Timestamp.valueOf(key.bucketStart()),
+                  count
+                }));
+    try {
+      jdbcTemplate.batchUpdate(UPSERT, args);
+    } catch (DataAccessException e) {
+      drained.forEach((key, count) -> counts.merge(key, count, Long::sum));
+      log.warn("Fidelity rollup flush failed, retrying next cycle: keys={}", drained.size(), e);
+    }
+  }
+
+  private boolean verifySchema() {
+    if (schemaReady) {
+      return true;
+    }
+
+    try {
+      if (SchemaMigrations.missingTables(jdbcTemplate, TABLE).isEmpty()) {
+        schemaReady = true;
+      } else if (!migrationReported) {
+        migrationReported = true;
+        log.error("Fidelity rollup flush disabled: {} missing. Apply {}", TABLE, MIGRATION);
+      }
+    } catch (DataAccessException e) {
+      log.warn("Fidelity rollup table is not ready yet", e);
+    }
+    return schemaReady;
+  }
+
+  private record RollupKey(LogDomain domain, String actionType, LocalDateTime bucketStart) {}
+}
@@ -0,0 +1,73 @@
+package com.tickatch.logservice.global.fidelity;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 행으로 저장하지 않는 이벤트의 ID를 {@code p_log_unstored_event}에 남겨 재전달을 거른다.
+ *
+ * <p>저장하는 이벤트는 로그 테이블의 {@code ON CONFLICT DO NOTHING}이 중복을 거르지만, 샘플링에서 빠지거나 롤업된 이벤트는 거를 행이
+ * 없다. Consumer 트랜잭션 안에서 이벤트 ID만 담은 행을 {@code ON CONFLICT DO NOTHING}으로 넣고, 이미 있으면 재전달로 보고 프로젝션과
+ * 집계를 건너뛴다. 트랜잭션이 롤백되면 행도 함께 사라지므로 재전달된 메시지는 처음 온 것으로 처리된다.
+ *
+ * <p>행은 {@code log.fidelity.dedup-retention}이 지나면 지운다. 재전달은 그보다 훨씬 짧은 시간 안에 일어난다고 본다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class UnstoredEventLedger {
+
+  static final String TABLE = "p_log_unstored_event";
+
+  private static final String INSERT =
+      "INSERT INTO "
+          + TABLE
+          + " (domain, event_id, received_at) VALUES (?, ?, ?)"
+          + " ON CONFLICT (domain, event_id) DO NOTHING";
+
+  private static final String PURGE = "DELETE FROM " + TABLE + " WHERE received_at < ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final Duration retention;
+
+  public UnstoredEventLedger(
+      JdbcTemplate jdbcTemplate,
+      @Value("${log.fidelity.dedup-retention:7d}") Duration retention) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.retention = retention;
+  }
+
+  /**
+   * 이벤트 ID를 기록한다. 호출자의 트랜잭션에 참여한다.
+   *
+   * @return 처음 기록했으면 {@code true}, 이미 기록된 이벤트(재전달)이면 {@code false}
+   */
+  public boolean record(LogDomain domain, UUID eventId) {
+    return jdbcTemplate.update(
+            INSERT, domain.getKey(), eventId, Timestamp.valueOf(LocalDateTime.now()))
+        > 0;
+  }
+
+  @Scheduled(fixedDelayString = "${log.fidelity.dedup-purge-interval:1h}")
+  public void purgeExpired() {
+    try {
+      int purged =
+          jdbcTemplate.update(PURGE, Timestamp.valueOf(LocalDateTime.now().minus(retention)));
+      if (purged > 0) {
+        log.debug("Purged unstored event ids: count={}", purged);
+      }
+    } catch (DataAccessException e) {
+      log.warn("Unstored event id purge failed, retrying next cycle", e);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.tickatch.logservice.global.index;
+
+import java.util.List;
+
+/**
+ * 인덱스 어드바이저 결과 (pg_stat 통계 기준, 통계 리셋 이후 누적 값).
+ *
+ * @since 1.0.0
+ */
+public record IndexAdvice(
+    boolean supported,
+    List<UnusedIndex> unusedIndexes,
+    List<ManagedIndex> missingManagedIndexes,
+    List<SeqScanHotspot> seqScanHotspots) {
+
+  public static IndexAdvice unsupported() {
+    return new IndexAdvice(false, List.of(), List.of(), List.of());
+  }
+
+  /** 스캔되지 않았지만 매 INSERT마다 갱신 비용을 치르는 인덱스. */
+  public record UnusedIndex(String table, String index, long scans, long sizeBytes) {}
+
+  /** 인덱스 스캔보다 순차 스캔이 많은 큰 테이블 (누락 인덱스 후보). */
+  public record SeqScanHotspot(
+      String table, long liveRows, long seqScans, long seqTuplesRead, long indexScans) {}
+}
@@ -0,0 +1,130 @@
+package com.tickatch.logservice.global.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그 테이블 인덱스의 사용/누락 현황을 PostgreSQL 통계(pg_stat_user_indexes, pg_stat_user_tables)로 진단한다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexAdvisor {
+
+  private static final String UNUSED_INDEXES =
+      """
+      SELECT s.relname, s.indexrelname, s.idx_scan, pg_relation_size(s.indexrelid) AS size_bytes
+        FROM pg_stat_user_indexes s
+        JOIN pg_index i ON i.indexrelid = s.indexrelid
+       WHERE s.schemaname = current_schema()
+         AND s.relname LIKE 'p\\_%'
+         AND NOT i.indisprimary
+         AND NOT i.indisunique
+         AND s.idx_scan = 0
+       ORDER BY size_bytes DESC
+      """;
+
+  private static final String SEQ_SCAN_HOTSPOTS =
+      """
+      SELECT relname, n_live_tup, seq_scan, seq_tup_read, COALESCE(idx_scan, 0) AS idx_scan
+        FROM pg_stat_user_tables
+       WHERE schemaname = current_schema()
+         AND relname LIKE 'p\\_%'
+         AND n_live_tup >= ?
+         AND seq_scan > COALESCE(idx_scan, 0)
+       ORDER BY seq_tup_read DESC
+      """;
+
+  /** 진행 중인 {@code CREATE INDEX CONCURRENTLY}도 indisvalid가 false이므로 유효한 것으로 본다. */
+  private static final String INDEX_VALIDITY =
+      """
+      SELECT c.relname,
+             i.indisvalid
+               OR EXISTS (SELECT 1 FROM pg_stat_progress_create_index p
+                           WHERE p.index_relid = i.indexrelid) AS usable
+        FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indexrelid
+        JOIN pg_namespace n ON n.oid = c.relnamespace
+       WHERE n.nspname = current_schema()
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final IndexProperties properties;
+  private final ObjectProvider<ManagedIndexSource> indexSources;
+
+  public boolean isSupported() {
+    String product =
+        jdbcTemplate.execute(
+            (ConnectionCallback<String>)
+                connection -> connection.getMetaData().getDatabaseProductName());
+    return "PostgreSQL".equalsIgnoreCase(product);
+  }
+
+  public IndexAdvice advise() {
+    if (!isSupported()) {
+      return IndexAdvice.unsupported();
+    }
+
+    List<IndexAdvice.UnusedIndex> unused =
+        jdbcTemplate.query(
+            UNUSED_INDEXES,
+            (rs, rowNum) ->
+                new IndexAdvice.UnusedIndex(
+                    rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4)));
+
+    List<IndexAdvice.SeqScanHotspot> hotspots =
+        jdbcTemplate.query(
+            SEQ_SCAN_HOTSPOTS,
+            (rs, rowNum) ->
+                new IndexAdvice.SeqScanHotspot(
+                    rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)),
+            properties.seqScanMinRows());
+
+    return new IndexAdvice(true, unused, missingManagedIndexes(), hotspots);
+  }
+
+  /** 없거나, 빌드가 중단돼 무효(indisvalid = false)로 남은 관리 인덱스. 무효 인덱스는 플래너가 쓰지 않는다. */
+  public List<ManagedIndex> missingManagedIndexes() {
+    Map<String, Boolean> usable = indexUsability();
+    return managedIndexes().stream()
+        .filter(index -> !Boolean.TRUE.equals(usable.get(index.name())))
+        .toList();
+  }
+
+  /**
+   * 빌드가 중단돼 무효로 남은 관리 인덱스. {@code CREATE INDEX ... IF NOT EXISTS}는 이름만 보고 건너뛰므로 지운 뒤 다시 만들어야 한다.
+   */
+  public List<ManagedIndex> invalidManagedIndexes() {
+    Map<String, Boolean> usable = indexUsability();
+    return managedIndexes().stream()
+        .filter(index -> Boolean.FALSE.equals(usable.get(index.name())))
+        .toList();
+  }
+
+  /** 공통 인덱스와 기능 모듈이 등록한 인덱스. */
+  public List<ManagedIndex> managedIndexes() {
+    List<ManagedIndex> indexes = new ArrayList<>(ManagedIndexes.ALL);
+    indexSources.orderedStream().forEach(source -> indexes.addAll(source.managedIndexes()));
+    return indexes;
+  }
+
+  private Map<String, Boolean> indexUsability() {
+    Map<String, Boolean> usable = new HashMap<>();
+    jdbcTemplate.query(
+        INDEX_VALIDITY,
+        rs -> {
+          usable.put(rs.getString(1), rs.getBoolean(2));
+        });
+    return usable;
+  }
+}
@@ -0,0 +1,24 @@
+package com.tickatch.logservice.global.index;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 미사용 인덱스, 누락된 관리 인덱스, 순차 스캔 과다 테이블을 조회하는 Actuator 엔드포인트 ({@code /actuator/indexadvisor}).
+ *
+ * @since 1.0.0
+ */
+@Component
+@Endpoint(id = "indexadvisor")
+@RequiredArgsConstructor
+public class IndexAdvisorEndpoint {
+
+  private final IndexAdvisor indexAdvisor;
+
+  @ReadOperation
+  public IndexAdvice advise() {
+    return indexAdvisor.advise();
+  }
+}
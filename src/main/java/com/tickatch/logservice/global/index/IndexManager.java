@@ -0,0 +1,84 @@
+package com.tickatch.logservice.global.index;
+
+import com.tickatch.logservice.global.lifecycle.IngestReadyEvent;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 누락된 관리 인덱스를 생성한다.
+ *
+ * <p>수집이 시작된 뒤({@link IngestReadyEvent}) 기동 스레드에서 {@code CREATE INDEX CONCURRENTLY}로 생성하므로 쓰기를 막지
+ * 않는다. 이전 빌드가 중단돼 무효로 남은 인덱스는 {@code DROP INDEX CONCURRENTLY}로 지운 뒤 다시 만든다. PostgreSQL이 아니거나
+ * {@code log.index.auto-create=false}이면 건너뛴다.
+ *
+ * <p>{@code pg_trgm} 확장은 만들지 않는다. 확장이 없으면({@link #MIGRATION} 미적용) trigram 인덱스만 건너뛰고 오류 로그를 남긴다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexManager {
+
+  static final String MIGRATION = "db/migration/012_pg_trgm.sql";
+
+  private static final String HAS_TRIGRAM_EXTENSION =
+      "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final IndexAdvisor indexAdvisor;
+  private final IndexProperties properties;
+
+  @EventListener(IngestReadyEvent.class)
+  public void onIngestReady() {
+    if (!properties.autoCreate()) {
+      return;
+    }
+
+    try {
+      if (!indexAdvisor.isSupported()) {
+        return;
+      }
+      List<ManagedIndex> missing = indexAdvisor.missingManagedIndexes();
+      if (missing.stream().anyMatch(IndexManager::needsTrigram) && !hasTrigramExtension()) {
+        log.error(
+            "Skipping trigram managed indexes: pg_trgm extension missing. Apply {}", MIGRATION);
+        missing = missing.stream().filter(index -> !needsTrigram(index)).toList();
+      }
+      Set<String> invalid =
+          indexAdvisor.invalidManagedIndexes().stream()
+              .map(ManagedIndex::name)
+              .collect(Collectors.toSet());
+      for (ManagedIndex index : missing) {
+        try {
+          // CONCURRENTLY는 트랜잭션 밖에서만 실행 가능 (JdbcTemplate 기본 auto-commit)
+          if (invalid.contains(index.name())) {
+            log.warn("Dropping invalid managed index {} on {}", index.name(), index.table());
+            jdbcTemplate.execute(index.dropStatement());
+          }
+          log.info("Creating managed index {} on {}", index.name(), index.table());
+          jdbcTemplate.execute(index.createStatement());
+        } catch (DataAccessException e) {
+          log.error("Failed to create managed index {}", index.name(), e);
+        }
+      }
+    } catch (DataAccessException e) {
+      log.error("Failed to create managed indexes", e);
+    }
+  }
+
+  private static boolean needsTrigram(ManagedIndex index) {
+    return index.definition().contains("gin_trgm_ops");
+  }
+
+  private boolean hasTrigramExtension() {
+    return Boolean.TRUE.equals(jdbcTemplate.queryForObject(HAS_TRIGRAM_EXTENSION, Boolean.class));
+  }
+}
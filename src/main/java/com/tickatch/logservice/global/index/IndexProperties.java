@@ -0,0 +1,20 @@
+package com.tickatch.logservice.global.index;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 인덱스 관리/어드바이저 설정.
+ *
+ * @param autoCreate 기동 시 누락된 관리 인덱스를 {@code CREATE INDEX CONCURRENTLY}로 생성할지 여부
+ * @param seqScanMinRows 순차 스캔 과다 테이블로 판단할 최소 행 수
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.index")
+public record IndexProperties(boolean autoCreate, long seqScanMinRows) {
+
+  public IndexProperties {
+    if (seqScanMinRows <= 0) {
+      seqScanMinRows = 10_000;
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.tickatch.logservice.global.index;
+
+/**
+ * 로그 서비스가 직접 관리하는 보조 인덱스.
+ *
+ * @param name 인덱스 이름
+ * @param table 대상 테이블
+ * @param definition {@code ON <table>} 뒤에 오는 정의 (USING, 컬럼, INCLUDE, WHERE)
+ * @param purpose 인덱스를 유지하는 이유 (조회 패턴)
+ * @since 1.0.0
+ */
+public record ManagedIndex(String name, String table, String definition, String purpose) {
+
+  public String createStatement() {
+    return "CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON " + table + " " + definition;
+  }
+
+  public String dropStatement() {
+    return "DROP INDEX CONCURRENTLY IF EXISTS " + name;
+  }
+}
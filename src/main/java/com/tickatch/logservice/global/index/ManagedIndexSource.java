@@ -0,0 +1,14 @@
+package com.tickatch.logservice.global.index;
+
+import java.util.List;
+
+/**
+ * 기능 모듈이 자기 조회 패턴에 필요한 관리 인덱스를 등록하는 지점. 빈으로 등록하면 {@link IndexAdvisor}가 {@link ManagedIndexes}와 함께
+ * 누락 여부를 확인하고 {@link IndexManager}가 생성한다.
+ *
+ * @since 1.0.0
+ */
+public interface ManagedIndexSource {
+
+  List<ManagedIndex> managedIndexes();
+}
@@ -0,0 +1,141 @@
+package com.tickatch.logservice.global.index;
+
+import java.util.List;
+
+/**
+ * 감사 로그 조회 패턴에 맞춘 공통 인덱스 목록. init.sql과 동일하게 유지한다. 기능 모듈 전용 인덱스는 {@link ManagedIndexSource}로
+ * 등록한다.
+ *
+ * <ul>
+ *   <li>엔티티 타임라인: (entity_id, occurred_at) 복합 B-tree
+ *   <li>사용자 활동: (actor_user_id, occurred_at) 부분 B-tree (행위자가 없는 행은 들어가지 않는다)
+ *   <li>기간 조회: 추가 순서대로 쌓이는 heap이므로 occurred_at BRIN (B-tree 대비 수백 분의 1 크기)
+ *   <li>드물지만 중요한 행위: 결제 FAIL/REFUND 부분 인덱스 (index-only scan용 INCLUDE)
+ *   <li>trace 조회: trace_id 부분 B-tree (전파 헤더가 없는 행은 들어가지 않는다)
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+public final class ManagedIndexes {
+
+  public static final List<ManagedIndex> ALL =
+      List.of(
+          // 예매 좌석
+          new ManagedIndex(
+              "idx_reservation_seat_log_seat_occurred_at",
+              "p_reservation_seat_log",
+              "(reservation_seat_id, occurred_at)",
+              "좌석 이력 조회"),
+          new ManagedIndex(
+              "idx_reservation_seat_log_actor_occurred_at",
+              "p_reservation_seat_log",
+              "(actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL",
+              "사용자 기준 좌석 선점/취소 조회"),
+          brin("p_reservation_seat_log"),
+          trace("p_reservation_seat_log"),
+          // 아트홀
+          new ManagedIndex(
+              "idx_arthall_domain_log_domain_occurred_at",
+              "p_arthall_domain_log",
+              "(domain_type, domain_id, occurred_at)",
+              "아트홀/스테이지 이력 조회"),
+          brin("p_arthall_domain_log"),
+          trace("p_arthall_domain_log"),
+          // 상품
+          new ManagedIndex(
+              "idx_product_log_product_occurred_at",
+              "p_product_log",
+              "(product_id, occurred_at)",
+              "상품 이력 조회"),
+          new ManagedIndex(
+              "idx_product_log_actor_occurred_at",
+              "p_product_log",
+              "(actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL",
+              "사용자 기준 상품 변경 조회"),
+          brin("p_product_log"),
+          trace("p_product_log"),
+          // 예매
+          new ManagedIndex(
+              "idx_reservation_log_reservation_occurred_at",
+              "p_reservation_log",
+              "(reservation_id, occurred_at)",
+              "예매 타임라인 조회"),
+          new ManagedIndex(
+              "idx_reservation_log_actor_occurred_at",
+              "p_reservation_log",
+              "(actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL",
+              "사용자 기준 예매 이력 조회"),
+          brin("p_reservation_log"),
+          trace("p_reservation_log"),
+          // 티켓
+          new ManagedIndex(
+              "idx_ticket_log_ticket_occurred_at",
+              "p_ticket_log",
+              "(ticket_id, occurred_at)",
+              "티켓 타임라인 조회"),
+          new ManagedIndex(
+              "idx_ticket_log_actor_occurred_at",
+              "p_ticket_log",
+              "(actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL",
+              "사용자 기준 티켓 이력 조회"),
+          brin("p_ticket_log"),
+          trace("p_ticket_log"),
+          // 결제
+          new ManagedIndex(
+              "idx_payment_log_payment_occurred_at",
+              "p_payment_log",
+              "(payment_id, occurred_at)",
+              "결제 타임라인 조회"),
+          new ManagedIndex(
+              "idx_payment_log_fail_refund_occurred_at",
+              "p_payment_log",
+              "(occurred_at) INCLUDE (payment_id, action_type)"
+                  + " WHERE action_type IN ('FAIL', 'REFUND')",
+              "결제 실패/환불 기간 조회"),
+          new ManagedIndex(
+              "idx_payment_log_actor_occurred_at",
+              "p_payment_log",
+              "(actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL",
+              "사용자 기준 결제 이력 조회"),
+          brin("p_payment_log"),
+          trace("p_payment_log"),
+          // 유저
+          new ManagedIndex(
+              "idx_user_log_user_occurred_at",
+              "p_user_log",
+              "(user_id, occurred_at)",
+              "사용자 이력 조회"),
+          new ManagedIndex(
+              "idx_user_log_actor_occurred_at",
+              "p_user_log",
+              "(actor_user_id, occurred_at) WHERE actor_user_id IS NOT NULL",
+              "행위자 기준 사용자 변경 조회"),
+          brin("p_user_log"),
+          trace("p_user_log"),
+          // auth
+          new ManagedIndex(
+              "idx_auth_log_actor_occurred_at",
+              "p_auth_log",
+              "(actor_user_id, occurred_at)",
+              "인증 이력 조회"),
+          brin("p_auth_log"),
+          trace("p_auth_log"));
+
+  private ManagedIndexes() {}
+
+  private static ManagedIndex trace(String table) {
+    return new ManagedIndex(
+        "idx_" + table.substring(2) + "_trace_id",
+        table,
+        "(trace_id) WHERE trace_id IS NOT NULL",
+        "trace ID 기준 도메인 횡단 조회");
+  }
+
+  private static ManagedIndex brin(String table) {
+    return new ManagedIndex(
+        "brin_" + table.substring(2) + "_occurred_at",
+        table,
+        "USING BRIN (occurred_at)",
+        "기간 조회 (append-only heap)");
+  }
+}
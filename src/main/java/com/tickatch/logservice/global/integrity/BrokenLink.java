@@ -0,0 +1,25 @@
+package com.tickatch.logservice.global.integrity;
+
+import java.util.UUID;
+
+/**
+ * 검증에서 발견한 끊어진 고리.
+ *
+ * @param seq 체인 순번 (체크포인트 불일치는 체크포인트의 마지막 순번)
+ * @param logId 로그 행 ID. 순번 누락/체크포인트 불일치는 {@code null}
+ * @param kind 끊어진 이유
+ * @since 1.0.0
+ */
+public record BrokenLink(long seq, UUID logId, Kind kind) {
+
+  public enum Kind {
+    /** 체인에는 있지만 로그 행이 삭제되었다. */
+    MISSING_ROW,
+    /** 로그 행 또는 체인 해시가 수정되었다. */
+    HASH_MISMATCH,
+    /** 체인 행이 삭제되었다. */
+    SEQ_GAP,
+    /** 체인 해시 구간이 Merkle 체크포인트와 다르다 (체인을 다시 계산해 덮어쓴 경우). */
+    CHECKPOINT_MISMATCH
+  }
+}
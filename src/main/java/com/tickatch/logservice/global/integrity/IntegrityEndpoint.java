@@ -0,0 +1,44 @@
+package com.tickatch.logservice.global.integrity;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그 테이블 해시 체인을 월 단위로 검증하는 Actuator 엔드포인트 ({@code /actuator/integrity/{domain}?month=2026-09}).
+ *
+ * <p>봉인된 행만 검증한다. 같은 달에 발생했지만 봉인되지 않은 행(tx_id 마이그레이션 이전 행, 백필한 행)은 {@code unsealedRows}로 알리며
+ * {@code intact} 판단에 들어가지 않는다.
+ *
+ * @since 1.0.0
+ */
+@Component
+@Endpoint(id = "integrity")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "log.integrity.enabled", havingValue = "true")
+public class IntegrityEndpoint {
+
+  private final LogChainVerifier verifier;
+
+  @ReadOperation
+  public IntegrityReport verify(@Selector String domain, String month) {
+    LogDomain logDomain =
+        LogDomain.fromKey(domain)
+            .orElseThrow(
+                () ->
+                    new InvalidEndpointRequestException(
+                        "Unknown log domain: " + domain, "Unknown log domain"));
+    try {
+      return verifier.verify(logDomain, YearMonth.parse(month));
+    } catch (DateTimeParseException e) {
+      throw new InvalidEndpointRequestException("month must be yyyy-MM: " + month, "Invalid month");
+    }
+  }
+}
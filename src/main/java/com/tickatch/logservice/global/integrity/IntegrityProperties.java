@@ -0,0 +1,38 @@
+package com.tickatch.logservice.global.integrity;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 로그 해시 체인 / 검증 설정.
+ *
+ * @param enabled 해시 체인 봉인 사용 여부 (PostgreSQL 전용)
+ * @param batchSize 한 트랜잭션에서 봉인할 최대 행 수
+ * @param checkpointInterval Merkle 루트 체크포인트 주기
+ * @param verifyChunkRows 검증 작업 하나가 맡는 최대 체인 길이. 이보다 긴 구간은 나눠서 병렬로 검증한다
+ * @param verifyParallelism 검증에 동시에 쓰는 DB 커넥션 수
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.integrity")
+public record IntegrityProperties(
+    boolean enabled,
+    int batchSize,
+    Duration checkpointInterval,
+    int verifyChunkRows,
+    int verifyParallelism) {
+
+  public IntegrityProperties {
+    if (batchSize <= 0) {
+      batchSize = 1000;
+    }
+    if (checkpointInterval == null) {
+      checkpointInterval = Duration.ofHours(1);
+    }
+    if (verifyChunkRows <= 0) {
+      verifyChunkRows = 20_000;
+    }
+    if (verifyParallelism <= 0) {
+      verifyParallelism = 4;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package com.tickatch.logservice.global.integrity;
+
+import java.util.List;
+
+/**
+ * 로그 테이블 해시 체인 검증 결과.
+ *
+ * @param table 로그 테이블
+ * @param period 검증 구간 (봉인 시각 기준 월, 예: 2026-09)
+ * @param fromSeq 검증한 첫 체인 순번
+ * @param toSeq 검증한 마지막 체인 순번
+ * @param verifiedRows 검증한 체인 행 수
+ * @param verifiedCheckpoints 검증한 Merkle 체크포인트 수
+ * @param unsealedRows 발생 시각이 해당 월이지만 봉인되지 않아 검증하지 못한 행 수 (tx_id 마이그레이션 이전 행, 백필한 행)
+ * @param brokenCount 끊어진 고리 수
+ * @param brokenLinks 끊어진 고리 (순번 순, 최대 1000개)
+ * @param elapsedMillis 검증 소요 시간
+ * @since 1.0.0
+ */
+public record IntegrityReport(
+    String table,
+    String period,
+    long fromSeq,
+    long toSeq,
+    long verifiedRows,
+    int verifiedCheckpoints,
+    long unsealedRows,
+    long brokenCount,
+    List<BrokenLink> brokenLinks,
+    long elapsedMillis) {
+
+  /** 봉인된 행에서 끊어진 고리가 없는지. 봉인되지 않은 행({@code unsealedRows})은 판단하지 않는다. */
+  public boolean isIntact() {
+    return brokenCount == 0;
+  }
+}
@@ -0,0 +1,21 @@
+package com.tickatch.logservice.global.integrity;
+
+/**
+ * 해시 체인/체크포인트 테이블 이름과 공용 값.
+ *
+ * <p>테이블은 애플리케이션이 만들지 않는다. 새 DB는 {@code init.sql}, 기존 DB는 {@link #MIGRATION}으로 만든다.
+ *
+ * @since 1.0.0
+ */
+final class IntegritySchema {
+
+  static final String CHAIN_TABLE = "p_log_chain";
+  static final String CHECKPOINT_TABLE = "p_log_checkpoint";
+
+  static final String MIGRATION = "db/migration/005_log_chain.sql";
+
+  /** 봉인과 체크포인트를 한 인스턴스만 수행하도록 하는 advisory lock 키. */
+  static final long ADVISORY_LOCK_KEY = 0x4c4f47434841494eL; // "LOGCHAIN"
+
+  private IntegritySchema() {}
+}
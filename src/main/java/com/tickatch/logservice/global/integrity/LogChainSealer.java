@@ -0,0 +1,314 @@
+package com.tickatch.logservice.global.integrity;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.lifecycle.IngestReadyEvent;
+import com.tickatch.logservice.global.migration.SchemaMigrations;
+import com.tickatch.logservice.global.outbox.ChangeFeedSchema;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.MessageDigest;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 커밋된 로그 행을 테이블별 해시 체인으로 봉인한다.
+ *
+ * <p>change feed와 같이 {@code pg_snapshot_xmin} 미만 트랜잭션의 행을 (tx_id, id) 순으로 배치 단위로 읽고, 각 행의 해시를 직전 체인
+ * 해시에 이어 계산해 {@code p_log_chain}에 한 번의 배치 INSERT로 기록한다. Consumer 트랜잭션에는 행당 왕복이 추가되지 않으며, 체인 순서는
+ * 커밋 순서로 고정된다. 커밋 후 봉인까지는 폴링 주기만큼 지연된다.
+ *
+ * <p>{@code checkpointInterval}마다 마지막 체크포인트 이후 체인 해시의 Merkle 루트를 {@code p_log_checkpoint}에 남기고 로그로도
+ * 출력한다. 로그는 Logstash로 DB 밖에 보관되므로, DB 권한으로 체인 전체를 다시 계산해 덮어써도 외부에 남은 루트와 달라진다.
+ *
+ * <p>tx_id가 NULL인 행, 즉 tx_id 마이그레이션 이전에 저장된 행과 백필한 행은 봉인하지 않으므로 위변조를 검증할 수 없다. 검증 결과는 이런
+ * 행의 수를 {@code unsealedRows}로 따로 보여 준다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "log.integrity.enabled", havingValue = "true")
+public class LogChainSealer {
+
+  /** 한 번에 Merkle 루트로 묶는 최대 체인 길이 (메모리 상한). */
+  private static final int MAX_CHECKPOINT_ROWS = 1 << 18;
+
+  private static final String INSERT_LINK =
+      "INSERT INTO "
+          + IntegritySchema.CHAIN_TABLE
+          + " (table_name, seq, log_id, tx_id, chain_hash, sealed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+  private final IntegrityProperties properties;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Map<LogDomain, Counter> sealedRows = new EnumMap<>(LogDomain.class);
+  private volatile boolean schemaReady;
+  private boolean migrationReported;
+
+  public LogChainSealer(
+      IntegrityProperties properties,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+    for (LogDomain domain : LogDomain.values()) {
+      sealedRows.put(
+          domain,
+          Counter.builder("log.integrity.sealed")
+              .tag("table", domain.getTable())
+              .description("해시 체인으로 봉인한 행 수")
+              .register(meterRegistry));
+    }
+  }
+
+  @EventListener({ApplicationReadyEvent.class, IngestReadyEvent.class})
+  public void onReady() {
+    verifySchema();
+  }
+
+  @Scheduled(fixedDelayString = "${log.integrity.seal-interval:1s}")
+  public void seal() {
+    if (!verifySchema()) {
+      return;
+    }
+
+    for (LogDomain domain : LogDomain.values()) {
+      try {
+        boolean hasMore = true;
+        while (hasMore) {
+          hasMore = Boolean.TRUE.equals(transactionTemplate.execute(status -> sealBatch(domain)));
+        }
+      } catch (RuntimeException e) {
+        log.warn("Log chain sealing failed for {}", domain.getTable(), e);
+      }
+    }
+  }
+
+  @Scheduled(
+      initialDelayString = "${log.integrity.checkpoint-interval:1h}",
+      fixedDelayString = "${log.integrity.checkpoint-interval:1h}")
+  public void checkpoint() {
+    if (!schemaReady) {
+      return;
+    }
+
+    for (LogDomain domain : LogDomain.values()) {
+      try {
+        boolean hasMore = true;
+        while (hasMore) {
+          hasMore =
+              Boolean.TRUE.equals(transactionTemplate.execute(status -> checkpointBatch(domain)));
+        }
+      } catch (RuntimeException e) {
+        log.warn("Log chain checkpoint failed for {}", domain.getTable(), e);
+      }
+    }
+  }
+
+  /**
+   * 봉인되지 않은 행을 최대 batchSize개 봉인한다.
+   *
+   * @return 배치가 가득 차 더 봉인할 행이 남아 있을 수 있으면 {@code true}
+   */
+  private boolean sealBatch(LogDomain domain) {
+    if (!tryLock()) {
+      return false; // 다른 인스턴스가 봉인 중
+    }
+
+    ChainHead head = loadHead(domain);
+    Sealing sealing = new Sealing(domain, head, Timestamp.valueOf(LocalDateTime.now()));
+    jdbcTemplate.query(
+        "SELECT * FROM "
+            + domain.getTable()
+            + " WHERE tx_id IS NOT NULL AND tx_id < "
+            + ChangeFeedSchema.SNAPSHOT_XMIN
+            + " AND (tx_id, id) > (?, ?) ORDER BY tx_id, id LIMIT ?",
+        sealing,
+        head.txId(),
+        head.logId(),
+        properties.batchSize());
+    if (sealing.links.isEmpty()) {
+      return false;
+    }
+
+    jdbcTemplate.batchUpdate(INSERT_LINK, sealing.links);
+    sealedRows.get(domain).increment(sealing.links.size());
+    return sealing.links.size() == properties.batchSize();
+  }
+
+  /**
+   * 마지막 체크포인트 이후의 체인 해시를 최대 {@link #MAX_CHECKPOINT_ROWS}개 묶어 Merkle 루트를 남긴다.
+   *
+   * @return 더 묶을 체인이 남아 있으면 {@code true}
+   */
+  private boolean checkpointBatch(LogDomain domain) {
+    if (!tryLock()) {
+      return false;
+    }
+
+    Long lastCheckpoint =
+        jdbcTemplate.queryForObject(
+            "SELECT COALESCE(MAX(to_seq), 0) FROM "
+                + IntegritySchema.CHECKPOINT_TABLE
+                + " WHERE table_name = ?",
+            Long.class,
+            domain.getTable());
+    long fromSeq = lastCheckpoint + 1;
+    List<byte[]> leaves = new ArrayList<>();
+    long[] toSeq = {lastCheckpoint};
+    jdbcTemplate.query(
+        "SELECT seq, chain_hash FROM "
+            + IntegritySchema.CHAIN_TABLE
+            + " WHERE table_name = ? AND seq >= ? ORDER BY seq LIMIT ?",
+        (RowCallbackHandler)
+            rs -> {
+              leaves.add(rs.getBytes("chain_hash"));
+              toSeq[0] = rs.getLong("seq");
+            },
+        domain.getTable(),
+        fromSeq,
+        MAX_CHECKPOINT_ROWS);
+    if (leaves.isEmpty()) {
+      return false;
+    }
+
+    byte[] root = MerkleTree.root(leaves);
+    jdbcTemplate.update(
+        "INSERT INTO "
+            + IntegritySchema.CHECKPOINT_TABLE
+            + " (table_name, to_seq, from_seq, merkle_root, created_at) VALUES (?, ?, ?, ?, ?)",
+        domain.getTable(),
+        toSeq[0],
+        fromSeq,
+        root,
+        Timestamp.valueOf(LocalDateTime.now()));
+    // 외부(Logstash)에 남는 루트. DB 안의 체인과 체크포인트를 함께 고쳐도 이 값과 대조해 찾을 수 있다.
+    log.info(
+        "Log chain checkpoint: table={}, seq={}..{}, merkleRoot={}",
+        domain.getTable(),
+        fromSeq,
+        toSeq[0],
+        HexFormat.of().formatHex(root));
+    return leaves.size() == MAX_CHECKPOINT_ROWS;
+  }
+
+  private boolean tryLock() {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(
+            "SELECT pg_try_advisory_xact_lock(?)",
+            Boolean.class,
+            IntegritySchema.ADVISORY_LOCK_KEY));
+  }
+
+  private ChainHead loadHead(LogDomain domain) {
+    List<ChainHead> heads =
+        jdbcTemplate.query(
+            "SELECT seq, tx_id, log_id, chain_hash FROM "
+                + IntegritySchema.CHAIN_TABLE
+                + " WHERE table_name = ? ORDER BY seq DESC LIMIT 1",
+            (rs, rowNum) ->
+                new ChainHead(
+                    rs.getLong("seq"),
+                    rs.getLong("tx_id"),
+                    rs.getObject("log_id", UUID.class),
+                    rs.getBytes("chain_hash")),
+            domain.getTable());
+    return heads.isEmpty() ? ChainHead.GENESIS : heads.get(0);
+  }
+
+  private synchronized boolean verifySchema() {
+    if (schemaReady) {
+      return true;
+    }
+
+    try {
+      List<String> missing = ChangeFeedSchema.tablesWithoutTxId(jdbcTemplate);
+      if (!missing.isEmpty()) {
+        if (!migrationReported) {
+          migrationReported = true;
+          log.error(
+              "Log chain sealing disabled: tx_id column missing on {}. Apply {}",
+              missing,
+              ChangeFeedSchema.MIGRATION);
+        }
+        return false;
+      }
+      List<String> missingTables =
+          SchemaMigrations.missingTables(
+              jdbcTemplate, IntegritySchema.CHAIN_TABLE, IntegritySchema.CHECKPOINT_TABLE);
+      if (!missingTables.isEmpty()) {
+        if (!migrationReported) {
+          migrationReported = true;
+          log.error(
+              "Log chain sealing disabled: {} missing. Apply {}",
+              missingTables,
+              IntegritySchema.MIGRATION);
+        }
+        return false;
+      }
+      schemaReady = true;
+    } catch (DataAccessException e) {
+      log.warn("Log chain schema is not ready yet", e);
+    }
+    return schemaReady;
+  }
+
+  /** 테이블 체인의 마지막 고리. */
+  private record ChainHead(long seq, long txId, UUID logId, byte[] chainHash) {
+
+    static final ChainHead GENESIS = new ChainHead(0, 0, new UUID(0, 0), RowDigest.GENESIS);
+  }
+
+  /** 읽은 순서대로 체인 해시를 이어 붙여 INSERT 파라미터를 만든다. */
+  private static final class Sealing implements RowCallbackHandler {
+
+    private final String table;
+    private final Timestamp sealedAt;
+    private final MessageDigest digest = RowDigest.sha256();
+    private final List<Object[]> links = new ArrayList<>();
+    private RowDigest rowDigest;
+    private long seq;
+    private byte[] previous;
+
+    private Sealing(LogDomain domain, ChainHead head, Timestamp sealedAt) {
+      this.table = domain.getTable();
+      this.sealedAt = sealedAt;
+      this.seq = head.seq();
+      this.previous = head.chainHash();
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+      if (rowDigest == null) {
+        rowDigest = RowDigest.of(rs.getMetaData(), 1);
+      }
+      previous = rowDigest.chain(digest, previous, rs);
+      links.add(
+          new Object[] {
+            table, ++seq, rs.getObject("id", UUID.class), rs.getLong("tx_id"), previous, sealedAt
+          });
+    }
+  }
+}
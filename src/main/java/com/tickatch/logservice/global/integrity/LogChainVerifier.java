@@ -0,0 +1,356 @@
+package com.tickatch.logservice.global.integrity;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.MessageDigest;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그 테이블 해시 체인을 병렬로 검증한다.
+ *
+ * <p>각 체인 해시는 직전 해시와 행만으로 다시 계산되므로, 순번 구간을 {@code verifyChunkRows} 단위까지 fork-join으로 나눠 구간마다 직전
+ * 순번의 저장된 해시에서 시작해 독립적으로 검증한다. 구간마다 체인과 로그 행을 조인한 쿼리 한 번으로 읽는다. 불일치가 나와도 저장된 해시로 이어서
+ * 검증하므로, 수정된 행 하나가 뒤의 모든 행을 깨진 것으로 보고하지 않고 그 행만 지목한다.
+ *
+ * <p>구간 안의 Merkle 체크포인트도 저장된 체인 해시로 루트를 다시 계산해 대조한다. 체인을 통째로 다시 계산해 덮어쓴 경우는 체크포인트에서
+ * 드러난다.
+ *
+ * <p>로그 행은 체인에 기록한 (id, tx_id)로 찾는다. 002 마이그레이션 전의 테이블처럼 id가 유일하지 않아 같은 고리에 여러 행이 이어지면, 그중
+ * 하나라도 해시가 맞으면 온전한 것으로 본다.
+ *
+ * <p>봉인은 tx_id가 있는 행만 대상으로 하므로, tx_id 마이그레이션 이전에 저장된 행과 백필한 행은 검증할 수 없다. 이런 행의 수는 결과의
+ * {@code unsealedRows}로 따로 알린다.
+ *
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "log.integrity.enabled", havingValue = "true")
+public class LogChainVerifier {
+
+  static final int MAX_REPORTED_LINKS = 1000;
+
+  private final IntegrityProperties properties;
+  private final JdbcTemplate jdbcTemplate;
+  private final Map<LogDomain, Counter> brokenLinks = new EnumMap<>(LogDomain.class);
+
+  public LogChainVerifier(
+      IntegrityProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.jdbcTemplate = jdbcTemplate;
+
+    for (LogDomain domain : LogDomain.values()) {
+      brokenLinks.put(
+          domain,
+          Counter.builder("log.integrity.broken")
+              .tag("table", domain.getTable())
+              .description("검증에서 발견한 끊어진 해시 체인 고리 수")
+              .register(meterRegistry));
+    }
+  }
+
+  /** 봉인 시각이 해당 월인 체인 구간을 검증한다. */
+  public IntegrityReport verify(LogDomain domain, YearMonth month) {
+    long startedAt = System.nanoTime();
+    List<Long> range =
+        jdbcTemplate.queryForObject(
+            "SELECT MIN(seq), MAX(seq) FROM "
+                + IntegritySchema.CHAIN_TABLE
+                + " WHERE table_name = ? AND sealed_at >= ? AND sealed_at < ?",
+            (rs, rowNum) -> Arrays.asList(rs.getObject(1, Long.class), rs.getObject(2, Long.class)),
+            domain.getTable(),
+            Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+            Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+    long unsealedRows = countUnsealed(domain, month);
+    if (range == null || range.get(0) == null) {
+      return new IntegrityReport(
+          domain.getTable(),
+          month.toString(),
+          0,
+          0,
+          0,
+          0,
+          unsealedRows,
+          0,
+          List.of(),
+          elapsedMillis(startedAt));
+    }
+
+    long fromSeq = range.get(0);
+    long toSeq = range.get(1);
+    ForkJoinPool pool = new ForkJoinPool(properties.verifyParallelism());
+    try {
+      Verification chain = pool.invoke(new SegmentTask(domain, fromSeq, toSeq, fromSeq));
+      Verification checkpoints =
+          pool.submit(() -> verifyCheckpoints(domain, fromSeq, toSeq)).join();
+      Verification result = chain.merge(checkpoints);
+
+      brokenLinks.get(domain).increment(result.broken);
+      return new IntegrityReport(
+          domain.getTable(),
+          month.toString(),
+          fromSeq,
+          toSeq,
+          chain.rows,
+          checkpoints.checkpoints,
+          unsealedRows,
+          result.broken,
+          List.copyOf(result.links),
+          elapsedMillis(startedAt));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /** 체인 구간 하나를 직전 순번의 저장된 해시에서 시작해 검증한다. */
+  private Verification verifySegment(LogDomain domain, long lo, long hi, boolean rangeStart) {
+    Verification result = new Verification();
+    byte[] previous = lo == 1 ? RowDigest.GENESIS : storedHash(domain, lo - 1);
+    if (previous == null && rangeStart) {
+      result.add(new BrokenLink(lo - 1, null, BrokenLink.Kind.SEQ_GAP));
+    }
+
+    SegmentCheck check = new SegmentCheck(lo, previous, result);
+    jdbcTemplate.query(
+        "SELECT c.seq AS chain_seq, c.log_id AS chain_log_id, c.chain_hash AS chain_hash_value,"
+            + " l.* FROM "
+            + IntegritySchema.CHAIN_TABLE
+            + " c LEFT JOIN "
+            + domain.getTable()
+            + " l ON l.id = c.log_id AND l.tx_id = c.tx_id"
+            + " WHERE c.table_name = ? AND c.seq BETWEEN ? AND ? ORDER BY c.seq",
+        check,
+        domain.getTable(),
+        lo,
+        hi);
+    check.finish();
+    for (long seq = check.expectedSeq; seq <= hi; seq++) {
+      result.add(new BrokenLink(seq, null, BrokenLink.Kind.SEQ_GAP));
+    }
+    return result;
+  }
+
+  /** 구간 안의 체크포인트를 병렬로 대조한다. 검증 풀에서 실행되어 같은 병렬도를 쓴다. */
+  private Verification verifyCheckpoints(LogDomain domain, long fromSeq, long toSeq) {
+    List<long[]> checkpoints =
+        jdbcTemplate.query(
+            "SELECT from_seq, to_seq FROM "
+                + IntegritySchema.CHECKPOINT_TABLE
+                + " WHERE table_name = ? AND from_seq >= ? AND to_seq <= ? ORDER BY to_seq",
+            (rs, rowNum) -> new long[] {rs.getLong("from_seq"), rs.getLong("to_seq")},
+            domain.getTable(),
+            fromSeq,
+            toSeq);
+
+    return checkpoints.parallelStream()
+        .map(checkpoint -> verifyCheckpoint(domain, checkpoint[0], checkpoint[1]))
+        .reduce(new Verification(), Verification::merge);
+  }
+
+  private Verification verifyCheckpoint(LogDomain domain, long fromSeq, long toSeq) {
+    List<byte[]> leaves =
+        jdbcTemplate.queryForList(
+            "SELECT chain_hash FROM "
+                + IntegritySchema.CHAIN_TABLE
+                + " WHERE table_name = ? AND seq BETWEEN ? AND ? ORDER BY seq",
+            byte[].class,
+            domain.getTable(),
+            fromSeq,
+            toSeq);
+    byte[] stored =
+        jdbcTemplate.queryForObject(
+            "SELECT merkle_root FROM "
+                + IntegritySchema.CHECKPOINT_TABLE
+                + " WHERE table_name = ? AND to_seq = ?",
+            byte[].class,
+            domain.getTable(),
+            toSeq);
+
+    Verification result = new Verification();
+    result.checkpoints = 1;
+    if (!MessageDigest.isEqual(MerkleTree.root(leaves), stored)) {
+      result.add(new BrokenLink(toSeq, null, BrokenLink.Kind.CHECKPOINT_MISMATCH));
+    }
+    return result;
+  }
+
+  /** 발생 시각이 해당 월이지만 tx_id가 없어 봉인되지 않은 행 수 (tx_id 마이그레이션 이전 행, 백필한 행). */
+  private long countUnsealed(LogDomain domain, YearMonth month) {
+    Long count =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM "
+                + domain.getTable()
+                + " WHERE tx_id IS NULL AND occurred_at >= ? AND occurred_at < ?",
+            Long.class,
+            Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+            Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()));
+    return count == null ? 0 : count;
+  }
+
+  private byte[] storedHash(LogDomain domain, long seq) {
+    List<byte[]> hashes =
+        jdbcTemplate.queryForList(
+            "SELECT chain_hash FROM "
+                + IntegritySchema.CHAIN_TABLE
+                + " WHERE table_name = ? AND seq = ?",
+            byte[].class,
+            domain.getTable(),
+            seq);
+    return hashes.isEmpty() ? null : hashes.get(0);
+  }
+
+  private static long elapsedMillis(long startedAt) {
+    return (System.nanoTime() - startedAt) / 1_000_000;
+  }
+
+  /** 순번 구간을 verifyChunkRows 이하가 될 때까지 반으로 나눈다. */
+  private final class SegmentTask extends RecursiveTask<Verification> {
+
+    private final LogDomain domain;
+    private final long lo;
+    private final long hi;
+    private final long rangeStart;
+
+    private SegmentTask(LogDomain domain, long lo, long hi, long rangeStart) {
+      this.domain = domain;
+      this.lo = lo;
+      this.hi = hi;
+      this.rangeStart = rangeStart;
+    }
+
+    @Override
+    protected Verification compute() {
+      if (hi - lo < properties.verifyChunkRows()) {
+        return verifySegment(domain, lo, hi, lo == rangeStart);
+      }
+
+      long mid = lo + (hi - lo) / 2;
+      SegmentTask left = new SegmentTask(domain, lo, mid, rangeStart);
+      SegmentTask right = new SegmentTask(domain, mid + 1, hi, rangeStart);
+      left.fork();
+      Verification rightResult = right.compute();
+      return left.join().merge(rightResult);
+    }
+  }
+
+  /**
+   * 조인 결과를 순번 순으로 읽으며 해시를 다시 계산해 대조한다. 한 순번에 이어진 행을 모두 본 뒤 판정하므로, 다 읽은 뒤 {@link #finish}로
+   * 마지막 순번을 반영한다.
+   */
+  private static final class SegmentCheck implements RowCallbackHandler {
+
+    private static final int FIRST_LOG_COLUMN = 4;
+
+    private final MessageDigest digest = RowDigest.sha256();
+    private final Verification result;
+    private RowDigest rowDigest;
+    private long expectedSeq;
+    private byte[] previous;
+
+    private long seq = -1;
+    private UUID logId;
+    private byte[] seqPrevious;
+    private boolean missing;
+    private boolean matched;
+
+    private SegmentCheck(long lo, byte[] previous, Verification result) {
+      this.expectedSeq = lo;
+      this.previous = previous;
+      this.result = result;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+      if (rowDigest == null) {
+        rowDigest = RowDigest.of(rs.getMetaData(), FIRST_LOG_COLUMN);
+      }
+
+      long rowSeq = rs.getLong("chain_seq");
+      byte[] stored = rs.getBytes("chain_hash_value");
+      if (rowSeq == seq) {
+        // 같은 (id, tx_id)의 중복 행: 하나라도 맞으면 봉인한 행이 남아 있다
+        matched = matched || matches(rs, stored);
+        return;
+      }
+
+      finish();
+      for (; expectedSeq < rowSeq; expectedSeq++) {
+        result.add(new BrokenLink(expectedSeq, null, BrokenLink.Kind.SEQ_GAP));
+        previous = null; // 직전 해시를 모르므로 이 행은 대조하지 않는다
+      }
+      expectedSeq = rowSeq + 1;
+
+      seq = rowSeq;
+      logId = rs.getObject("chain_log_id", UUID.class);
+      seqPrevious = previous;
+      missing = rs.getObject("id") == null;
+      matched = !missing && matches(rs, stored);
+      previous = stored;
+    }
+
+    /** 마지막으로 읽은 순번을 판정한다. */
+    private void finish() {
+      if (seq < 0) {
+        return;
+      }
+      result.rows++;
+      if (missing) {
+        result.add(new BrokenLink(seq, logId, BrokenLink.Kind.MISSING_ROW));
+      } else if (!matched) {
+        result.add(new BrokenLink(seq, logId, BrokenLink.Kind.HASH_MISMATCH));
+      }
+      seq = -1;
+    }
+
+    private boolean matches(ResultSet rs, byte[] stored) throws SQLException {
+      return seqPrevious == null
+          || MessageDigest.isEqual(rowDigest.chain(digest, seqPrevious, rs), stored);
+    }
+  }
+
+  /** 구간별 검증 결과. 왼쪽 구간 결과에 오른쪽을 이어 붙여 순번 순서를 유지한다. */
+  private static final class Verification {
+
+    private long rows;
+    private int checkpoints;
+    private long broken;
+    private final List<BrokenLink> links = new ArrayList<>();
+
+    private void add(BrokenLink link) {
+      broken++;
+      if (links.size() < MAX_REPORTED_LINKS) {
+        links.add(link);
+      }
+    }
+
+    private Verification merge(Verification other) {
+      Verification merged = new Verification();
+      merged.rows = rows + other.rows;
+      merged.checkpoints = checkpoints + other.checkpoints;
+      merged.broken = broken + other.broken;
+      merged.links.addAll(links);
+      for (BrokenLink link : other.links) {
+        if (merged.links.size() >= MAX_REPORTED_LINKS) {
+          break;
+        }
+        merged.links.add(link);
+      }
+      return merged;
+    }
+  }
+}
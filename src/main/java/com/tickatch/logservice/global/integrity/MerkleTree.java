@@ -0,0 +1,43 @@
+package com.tickatch.logservice.global.integrity;
+
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * 체인 해시 구간의 Merkle 루트.
+ *
+ * <p>잎은 체인 해시 그대로, 내부 노드는 {@code SHA-256(0x01 | left | right)}이다. 짝이 없는 마지막 노드는 그대로 한 단계 올린다.
+ *
+ * @since 1.0.0
+ */
+final class MerkleTree {
+
+  private static final byte NODE_PREFIX = 0x01;
+
+  private MerkleTree() {}
+
+  static byte[] root(List<byte[]> leaves) {
+    if (leaves.isEmpty()) {
+      return RowDigest.GENESIS;
+    }
+
+    MessageDigest digest = RowDigest.sha256();
+    byte[][] level = leaves.toArray(new byte[0][]);
+    int size = level.length;
+    while (size > 1) {
+      int next = 0;
+      for (int i = 0; i < size; i += 2) {
+        if (i + 1 == size) {
+          level[next++] = level[i];
+          continue;
+        }
+        digest.update(NODE_PREFIX);
+        digest.update(level[i]);
+        digest.update(level[i + 1]);
+        level[next++] = digest.digest();
+      }
+      size = next;
+    }
+    return level[0];
+  }
+}
@@ -0,0 +1,83 @@
+package com.tickatch.logservice.global.integrity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 로그 행을 이전 체인 해시에 이어 SHA-256으로 해시한다.
+ *
+ * <p>컬럼은 이름순으로, 값은 DB 텍스트 표현으로 길이를 붙여 넣는다. NULL 컬럼은 건너뛰므로 나중에 nullable 컬럼이 추가되어도 기존 행의 해시가
+ * 바뀌지 않고, 값을 지우거나 채우는 수정은 해시가 달라진다. 봉인과 검증이 같은 규칙을 쓰도록 이 클래스만 해시를 만든다.
+ *
+ * @since 1.0.0
+ */
+final class RowDigest {
+
+  static final int HASH_BYTES = 32;
+
+  /** 체인의 첫 행 앞에 두는 해시. */
+  static final byte[] GENESIS = new byte[HASH_BYTES];
+
+  private final int[] columns;
+  private final byte[][] names;
+
+  private RowDigest(int[] columns, byte[][] names) {
+    this.columns = columns;
+    this.names = names;
+  }
+
+  /** {@code firstColumn}번째 컬럼부터를 로그 행으로 보고 해시 순서를 정한다. */
+  static RowDigest of(ResultSetMetaData metaData, int firstColumn) throws SQLException {
+    Map<String, Integer> sorted = new TreeMap<>();
+    for (int i = firstColumn; i <= metaData.getColumnCount(); i++) {
+      sorted.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+    }
+
+    int[] columns = new int[sorted.size()];
+    byte[][] names = new byte[sorted.size()][];
+    int index = 0;
+    for (Map.Entry<String, Integer> column : sorted.entrySet()) {
+      columns[index] = column.getValue();
+      names[index] = column.getKey().getBytes(StandardCharsets.UTF_8);
+      index++;
+    }
+    return new RowDigest(columns, names);
+  }
+
+  byte[] chain(MessageDigest digest, byte[] previous, ResultSet rs) throws SQLException {
+    digest.update(previous);
+    for (int i = 0; i < columns.length; i++) {
+      String value = rs.getString(columns[i]);
+      if (value == null) {
+        continue;
+      }
+      update(digest, names[i]);
+      update(digest, value.getBytes(StandardCharsets.UTF_8));
+    }
+    return digest.digest();
+  }
+
+  static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static void update(MessageDigest digest, byte[] bytes) {
+    int length = bytes.length;
+    digest.update((byte) (length >>> 24));
+    digest.update((byte) (length >>> 16));
+    digest.update((byte) (length >>> 8));
+    digest.update((byte) length);
+    digest.update(bytes);
+  }
+}
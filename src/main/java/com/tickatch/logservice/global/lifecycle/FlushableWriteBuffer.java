@@ -0,0 +1,32 @@
+package com.tickatch.logservice.global.lifecycle;
+
+import java.time.Duration;
+
+/**
+ * 수집 경로에서 DB 반영 전 이벤트를 모아 두는 쓰기 버퍼.
+ *
+ * <p>빈으로 등록하면 종료 시 {@link IngestLifecycleCoordinator}가 리스너를 모두 멈춘 뒤 {@link #flush}를 {@code @Order}
+ * 순서로 호출한다. 앞 단계 버퍼의 flush가 다음 단계 버퍼에 이벤트를 넘기므로 수집 → 저장 → 이벤트 시간 → 집계 순서를 지켜야 한다. 순서를
+ * 지정하지 않은 버퍼(집계)는 마지막에 flush된다.
+ *
+ * @since 1.0.0
+ */
+public interface FlushableWriteBuffer {
+
+  /** 메시지를 받아 리스너 로직을 실행하는 버퍼 (디스패처, 스트림 워커). */
+  int RECEIVE_ORDER = 0;
+
+  /** 리스너가 넘긴 로그를 DB에 쓰는 버퍼. */
+  int PERSIST_ORDER = 100;
+
+  /** 커밋된 로그를 이벤트 시간 순으로 집계 구독자에게 넘기는 버퍼. */
+  int EVENT_TIME_ORDER = 200;
+
+  String name();
+
+  /** 아직 DB에 반영되지 않은 이벤트 수. */
+  int pending();
+
+  /** 남은 이벤트를 기한 내에 모두 반영한다. */
+  void flush(Duration timeout);
+}
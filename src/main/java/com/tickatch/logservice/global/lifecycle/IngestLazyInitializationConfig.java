@@ -0,0 +1,34 @@
+package com.tickatch.logservice.global.lifecycle;
+
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+/**
+ * {@code spring.main.lazy-initialization=true}(fast-start 프로파일)에서도 수집 경로 빈은 즉시 생성한다.
+ *
+ * <p>{@link RabbitListener} 엔드포인트는 빈 생성 시점에 등록되므로 Consumer/Router가 지연 생성되면 메시지를 소비하지 않는다. 조회
+ * API, QueryDSL 등 나머지 빈은 첫 사용 시점까지 생성을 미룬다.
+ *
+ * @since 1.0.0
+ */
+@Configuration
+public class IngestLazyInitializationConfig {
+
+  @Bean
+  static LazyInitializationExcludeFilter rabbitListenerLazyInitializationExcludeFilter() {
+    return (beanName, beanDefinition, beanType) -> hasRabbitListener(beanType);
+  }
+
+  private static boolean hasRabbitListener(Class<?> beanType) {
+    if (AnnotatedElementUtils.hasAnnotation(beanType, RabbitListener.class)) {
+      return true;
+    }
+    MethodIntrospector.MetadataLookup<RabbitListener> lookup =
+        method -> AnnotatedElementUtils.findMergedAnnotation(method, RabbitListener.class);
+    return !MethodIntrospector.selectMethods(beanType, lookup).isEmpty();
+  }
+}
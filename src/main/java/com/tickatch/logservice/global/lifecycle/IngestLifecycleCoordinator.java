@@ -0,0 +1,279 @@
+package com.tickatch.logservice.global.lifecycle;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 수집 파이프라인의 기동/종료 순서를 조정한다.
+ *
+ * <p>기동: DB 연결과 8개 로그 테이블을 확인한 뒤에만 리스너를 시작한다. 샤딩 모드에서는 {@link IngestReadyEvent}를 받은
+ * ShardAssignmentManager가 소유 샤드 기준으로 시작한다.
+ *
+ * <p>종료: {@link ContextClosedEvent} 시점(Lifecycle 정지와 커넥션 풀 종료 이전)에 readiness를 내리고, 모든 리스너의 fetch를
+ * 멈춰 처리 중인 메시지의 커밋/ack를 기다린 다음, 쓰기 버퍼를 flush한다. 전체 과정은 {@code log.ingest.drain-timeout} 안에서
+ * 끝난다.
+ *
+ * <p>다른 경로(스트림 소비 등)로 옮긴 도메인의 리스너는 {@link #retire}로 멈추며, 이후 기동이나 DB 상태 차단기가 다시 시작하지 않는다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class IngestLifecycleCoordinator {
+
+  public enum State {
+    STARTING,
+    VERIFYING,
+    RUNNING,
+    DRAINING,
+    DRAINED
+  }
+
+  private final ApplicationContext applicationContext;
+  private final RabbitListenerEndpointRegistry listenerRegistry;
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectProvider<FlushableWriteBuffer> writeBuffers;
+  private final IngestLifecycleProperties properties;
+  private final boolean sharded;
+  private final Set<String> retiredListeners = ConcurrentHashMap.newKeySet();
+
+  private volatile State state = State.STARTING;
+  private volatile Instant readyAt;
+  private volatile Instant drainStartedAt;
+  private volatile Long drainElapsedMillis;
+  private volatile String lastError;
+
+  public IngestLifecycleCoordinator(
+      ApplicationContext applicationContext,
+      RabbitListenerEndpointRegistry listenerRegistry,
+      JdbcTemplate jdbcTemplate,
+      ObjectProvider<FlushableWriteBuffer> writeBuffers,
+      IngestLifecycleProperties properties,
+      @Value("${log.sharding.enabled:false}") boolean sharded) {
+    this.applicationContext = applicationContext;
+    this.listenerRegistry = listenerRegistry;
+    this.jdbcTemplate = jdbcTemplate;
+    this.writeBuffers = writeBuffers;
+    this.properties = properties;
+    this.sharded = sharded;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady(ApplicationReadyEvent event) {
+    if (event.getApplicationContext() != applicationContext) {
+      return;
+    }
+    Thread thread = new Thread(this::verifyAndStart, "ingest-startup");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @EventListener(ContextClosedEvent.class)
+  public void onContextClosed(ContextClosedEvent event) {
+    if (event.getApplicationContext() == applicationContext) {
+      drain();
+    }
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public boolean isRunning() {
+    return state == State.RUNNING;
+  }
+
+  /** 다른 경로가 소비하도록 넘긴 리스너인지. 이런 리스너는 다시 시작하지 않는다. */
+  public boolean isRetired(String listenerId) {
+    return retiredListeners.contains(listenerId);
+  }
+
+  /**
+   * 리스너를 멈추고 처리 중 메시지의 완료(커밋, ack)를 기다린다. 이후 {@link #reinstate} 전까지 다시 시작하지 않는다.
+   *
+   * @return 기한 안에 멈췄으면 {@code true}
+   */
+  public boolean retire(String listenerId, Duration timeout) {
+    retiredListeners.add(listenerId);
+    MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+    if (container == null || !container.isRunning()) {
+      return true;
+    }
+    CountDownLatch stopped = new CountDownLatch(1);
+    container.stop(stopped::countDown);
+    try {
+      return stopped.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  /** {@link #retire}를 취소하고, 수집 중이면 리스너를 다시 시작한다. */
+  public synchronized void reinstate(String listenerId) {
+    retiredListeners.remove(listenerId);
+    MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+    if (state == State.RUNNING && !sharded && container != null && !container.isRunning()) {
+      container.start();
+    }
+  }
+
+  /** 리스너를 모두 멈추고 쓰기 버퍼를 비운다. 이미 진행 중이거나 끝났으면 아무 것도 하지 않는다. */
+  public void drain() {
+    synchronized (this) {
+      if (state == State.DRAINING || state == State.DRAINED) {
+        return;
+      }
+      state = State.DRAINING;
+      drainStartedAt = Instant.now();
+    }
+
+    AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+    long startedAt = System.nanoTime();
+    long deadline = startedAt + properties.drainTimeout().toNanos();
+    log.info("Draining ingest pipeline (timeout={})", properties.drainTimeout());
+
+    // 1. fetch 중단 + 처리 중 메시지 완료(커밋, ack) 대기 — 컨테이너는 병렬로 정지한다.
+    Collection<MessageListenerContainer> containers = listenerRegistry.getListenerContainers();
+    CountDownLatch stopped = new CountDownLatch(containers.size());
+    for (MessageListenerContainer container : containers) {
+      if (container.isRunning()) {
+        container.stop(stopped::countDown);
+      } else {
+        stopped.countDown();
+      }
+    }
+    try {
+      if (!stopped.await(remainingNanos(deadline), TimeUnit.NANOSECONDS)) {
+        log.warn("Listener containers did not stop within drain timeout: {}", stopped.getCount());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    // 2. 리스너가 멈춘 뒤 남은 쓰기 버퍼 반영
+    writeBuffers
+        .orderedStream()
+        .forEach(
+            buffer -> {
+              try {
+                buffer.flush(Duration.ofNanos(remainingNanos(deadline)));
+              } catch (RuntimeException e) {
+                lastError = buffer.name() + ": " + e.getMessage();
+                log.error("Failed to flush write buffer {} on shutdown", buffer.name(), e);
+              }
+            });
+
+    drainElapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    state = State.DRAINED;
+    log.info("Ingest pipeline drained in {} ms", drainElapsedMillis);
+  }
+
+  public IngestStatus status() {
+    List<IngestStatus.Listener> listeners =
+        listenerRegistry.getListenerContainerIds().stream()
+            .sorted()
+            .map(
+                id -> {
+                  MessageListenerContainer container = listenerRegistry.getListenerContainer(id);
+                  Integer activeConsumers =
+                      container instanceof SimpleMessageListenerContainer simple
+                          ? simple.getActiveConsumerCount()
+                          : null;
+                  return new IngestStatus.Listener(id, container.isRunning(), activeConsumers);
+                })
+            .toList();
+    List<IngestStatus.Buffer> buffers =
+        writeBuffers
+            .orderedStream()
+            .map(buffer -> new IngestStatus.Buffer(buffer.name(), buffer.pending()))
+            .toList();
+
+    return new IngestStatus(
+        state,
+        readyAt,
+        drainStartedAt,
+        drainElapsedMillis,
+        properties.drainTimeout().toMillis(),
+        lastError,
+        listeners,
+        buffers);
+  }
+
+  private void verifyAndStart() {
+    state = State.VERIFYING;
+    while (state == State.VERIFYING) {
+      try {
+        verifyDatabase();
+        break;
+      } catch (DataAccessException e) {
+        lastError = e.getMessage();
+        log.warn(
+            "Ingest startup check failed, retrying in {}: {}",
+            properties.startupRetryInterval(),
+            e.getMessage());
+        try {
+          Thread.sleep(properties.startupRetryInterval().toMillis());
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+
+    synchronized (this) {
+      if (state != State.VERIFYING) {
+        return; // 검증 중 종료가 시작됨
+      }
+      state = State.RUNNING;
+      readyAt = Instant.now();
+      lastError = null;
+
+      if (!sharded) {
+        for (LogDomain domain : LogDomain.values()) {
+          MessageListenerContainer container =
+              listenerRegistry.getListenerContainer(domain.getListenerId());
+          if (container != null && !container.isRunning() && !isRetired(domain.getListenerId())) {
+            container.start();
+          }
+        }
+      }
+    }
+
+    log.info("Ingest pipeline ready; database and log tables verified");
+    applicationContext.publishEvent(new IngestReadyEvent(readyAt));
+  }
+
+  private void verifyDatabase() {
+    jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+    for (LogDomain domain : LogDomain.values()) {
+      jdbcTemplate.queryForList("SELECT 1 FROM " + domain.getTable() + " WHERE 1 = 0");
+    }
+  }
+
+  private static long remainingNanos(long deadline) {
+    return Math.max(0, deadline - System.nanoTime());
+  }
+}
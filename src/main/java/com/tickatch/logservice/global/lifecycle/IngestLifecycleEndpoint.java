@@ -0,0 +1,24 @@
+package com.tickatch.logservice.global.lifecycle;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 수집 파이프라인 기동/drain 진행 상황을 조회하는 Actuator 엔드포인트 ({@code /actuator/ingest}).
+ *
+ * @since 1.0.0
+ */
+@Component
+@Endpoint(id = "ingest")
+@RequiredArgsConstructor
+public class IngestLifecycleEndpoint {
+
+  private final IngestLifecycleCoordinator coordinator;
+
+  @ReadOperation
+  public IngestStatus status() {
+    return coordinator.status();
+  }
+}
@@ -0,0 +1,24 @@
+package com.tickatch.logservice.global.lifecycle;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 수집 파이프라인 기동/종료 설정.
+ *
+ * @param drainTimeout 종료 시 리스너 정지와 버퍼 flush를 모두 마쳐야 하는 기한
+ * @param startupRetryInterval 기동 시 DB 검증 실패 후 재시도 간격
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.ingest")
+public record IngestLifecycleProperties(Duration drainTimeout, Duration startupRetryInterval) {
+
+  public IngestLifecycleProperties {
+    if (drainTimeout == null) {
+      drainTimeout = Duration.ofSeconds(30);
+    }
+    if (startupRetryInterval == null) {
+      startupRetryInterval = Duration.ofSeconds(5);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.tickatch.logservice.global.lifecycle;
+
+import java.time.Instant;
+
+/**
+ * DB 연결과 로그 테이블 검증이 끝나 메시지 소비를 시작해도 되는 시점에 발행된다.
+ *
+ * @since 1.0.0
+ */
+public record IngestReadyEvent(Instant verifiedAt) {}
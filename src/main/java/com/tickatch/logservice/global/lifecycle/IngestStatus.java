@@ -0,0 +1,24 @@
+package com.tickatch.logservice.global.lifecycle;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 수집 파이프라인 상태 스냅샷 (Actuator {@code ingest} 엔드포인트 응답).
+ *
+ * @since 1.0.0
+ */
+public record IngestStatus(
+    IngestLifecycleCoordinator.State state,
+    Instant readyAt,
+    Instant drainStartedAt,
+    Long drainElapsedMillis,
+    long drainTimeoutMillis,
+    String lastError,
+    List<Listener> listeners,
+    List<Buffer> buffers) {
+
+  public record Listener(String id, boolean running, Integer activeConsumers) {}
+
+  public record Buffer(String name, int pending) {}
+}
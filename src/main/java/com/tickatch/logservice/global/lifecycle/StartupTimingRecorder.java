@@ -0,0 +1,84 @@
+package com.tickatch.logservice.global.lifecycle;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * JVM 기동부터 각 단계까지 걸린 시간을 기록한다 (startup 벤치마크 지표).
+ *
+ * <p>{@code log.startup.time{stage=ready|ingest_ready|first_message}}(초)로 노출되며, 배포마다 Prometheus에
+ * 남으므로 기동 최적화 효과와 회귀를 추적할 수 있다. 첫 메시지 시점은 리스너 컨테이너의 after-receive 후처리로 측정한다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class StartupTimingRecorder implements MessagePostProcessor {
+
+  private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+  private volatile long readyMillis = -1;
+  private volatile long ingestReadyMillis = -1;
+  private volatile long firstMessageMillis = -1;
+
+  public StartupTimingRecorder(MeterRegistry meterRegistry) {
+    registerGauge(meterRegistry, "ready", () -> readyMillis);
+    registerGauge(meterRegistry, "ingest_ready", () -> ingestReadyMillis);
+    registerGauge(meterRegistry, "first_message", () -> firstMessageMillis);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (readyMillis < 0) {
+      readyMillis = sinceJvmStart();
+    }
+  }
+
+  @EventListener(IngestReadyEvent.class)
+  public void onIngestReady() {
+    ingestReadyMillis = sinceJvmStart();
+  }
+
+  @Override
+  public Message postProcessMessage(Message message) {
+    if (firstMessageMillis < 0) {
+      recordFirstMessage();
+    }
+    return message;
+  }
+
+  private synchronized void recordFirstMessage() {
+    if (firstMessageMillis >= 0) {
+      return;
+    }
+    firstMessageMillis = sinceJvmStart();
+    log.info(
+        "Startup timing: ready={} ms, ingestReady={} ms, firstMessage={} ms",
+        readyMillis,
+        ingestReadyMillis,
+        firstMessageMillis);
+  }
+
+  private long sinceJvmStart() {
+    return System.currentTimeMillis() - jvmStartMillis;
+  }
+
+  private static void registerGauge(
+      MeterRegistry meterRegistry, String stage, LongSupplier millis) {
+    Gauge.builder(
+            "log.startup.time",
+            () -> millis.getAsLong() < 0 ? Double.NaN : millis.getAsLong() / 1000.0)
+        .tag("stage", stage)
+        .description("JVM 시작부터 해당 단계까지 걸린 시간")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,48 @@
+package com.tickatch.logservice.global.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link RingBufferAsyncAppender}의 버퍼 적재량과 버린 이벤트 수를 메트릭으로 노출한다.
+ *
+ * <ul>
+ *   <li>{@code logging.async.dropped{appender, reason=discarded|overflow}}
+ *   <li>{@code logging.async.queued{appender}}
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (RingBufferAsyncAppender.Statistics statistics : RingBufferAsyncAppender.statistics()) {
+      String appender = statistics.getAppenderName();
+
+      FunctionCounter.builder(
+              "logging.async.dropped",
+              statistics,
+              RingBufferAsyncAppender.Statistics::getDiscarded)
+          .tags("appender", appender, "reason", "discarded")
+          .description("버퍼 압박으로 버린 DEBUG/INFO 로그 수")
+          .register(registry);
+      FunctionCounter.builder(
+              "logging.async.dropped",
+              statistics,
+              RingBufferAsyncAppender.Statistics::getOverflowed)
+          .tags("appender", appender, "reason", "overflow")
+          .description("버퍼가 가득 차 버린 로그 수")
+          .register(registry);
+      Gauge.builder(
+              "logging.async.queued", statistics, RingBufferAsyncAppender.Statistics::getQueued)
+          .tag("appender", appender)
+          .description("출력 대기 중인 로그 수")
+          .register(registry);
+    }
+  }
+}
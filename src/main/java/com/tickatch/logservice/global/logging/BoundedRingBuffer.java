@@ -0,0 +1,94 @@
+package com.tickatch.logservice.global.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 고정 크기 lock-free 링 버퍼 (Vyukov bounded MPMC queue).
+ *
+ * <p>슬롯마다 시퀀스를 두어 생산자/소비자가 CAS만으로 위치를 확보한다. 가득 차면 {@link #offer}는 대기하지 않고 {@code false}를
+ * 반환한다.
+ *
+ * @since 1.0.0
+ */
+final class BoundedRingBuffer<E> {
+
+  private final int mask;
+  private final AtomicReferenceArray<E> slots;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail = new AtomicLong();
+  private final AtomicLong head = new AtomicLong();
+
+  BoundedRingBuffer(int requestedCapacity) {
+    int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+    this.mask = capacity - 1;
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+  }
+
+  boolean offer(E element) {
+    long position = tail.get();
+    int index;
+    while (true) {
+      index = (int) (position & mask);
+      long diff = sequences.get(index) - position;
+      if (diff == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          break;
+        }
+        position = tail.get();
+      } else if (diff < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+    slots.set(index, element);
+    sequences.set(index, position + 1);
+    return true;
+  }
+
+  E poll() {
+    long position = head.get();
+    int index;
+    while (true) {
+      index = (int) (position & mask);
+      long diff = sequences.get(index) - (position + 1);
+      if (diff == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          break;
+        }
+        position = head.get();
+      } else if (diff < 0) {
+        return null;
+      } else {
+        position = head.get();
+      }
+    }
+    E element = slots.get(index);
+    slots.set(index, null);
+    sequences.set(index, position + mask + 1);
+    return element;
+  }
+
+  int capacity() {
+    return mask + 1;
+  }
+
+  int size() {
+    long size = tail.get() - head.get();
+    return (int) Math.max(0, Math.min(size, capacity()));
+  }
+
+  int remainingCapacity() {
+    return capacity() - size();
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+}
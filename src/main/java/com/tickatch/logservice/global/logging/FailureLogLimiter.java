@@ -0,0 +1,85 @@
+package com.tickatch.logservice.global.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 큐별 실패 로그 출력 빈도를 토큰 버킷으로 제한한다.
+ *
+ * <p>poison message가 반복 유입되어도 큐마다 초당 {@code permitsPerSecond}건(최대 {@code burst}건 연속)까지만 에러 로그를 남기고,
+ * 나머지는 건수만 집계하여 다음 허용 로그에 함께 출력한다.
+ *
+ * @since 1.0.0
+ */
+@Component
+public class FailureLogLimiter {
+
+  /** 로그 출력이 허용되지 않은 경우의 반환값. */
+  public static final long DENIED = -1;
+
+  private final double permitsPerSecond;
+  private final double burst;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+  public FailureLogLimiter(
+      @Value("${log.logging.failure.permits-per-second:1}") double permitsPerSecond,
+      @Value("${log.logging.failure.burst:5}") double burst,
+      MeterRegistry meterRegistry) {
+    this.permitsPerSecond = permitsPerSecond;
+    this.burst = burst;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * 실패 로그 출력 허용 여부를 확인한다.
+   *
+   * @param queue 실패가 발생한 큐 이름
+   * @return 허용 시 직전 허용 이후 억제된 로그 수, 억제 시 {@link #DENIED}
+   */
+  public long tryAcquire(String queue) {
+    return buckets.computeIfAbsent(queue, this::newBucket).tryAcquire();
+  }
+
+  private Bucket newBucket(String queue) {
+    Counter suppressed =
+        Counter.builder("log.consumer.failure.log.suppressed")
+            .tag("queue", queue)
+            .description("rate limit으로 생략된 실패 로그 수")
+            .register(meterRegistry);
+    return new Bucket(suppressed);
+  }
+
+  private final class Bucket {
+
+    private final Counter suppressedCounter;
+    private double tokens = burst;
+    private long refilledAt = System.nanoTime();
+    private long suppressed;
+
+    private Bucket(Counter suppressedCounter) {
+      this.suppressedCounter = suppressedCounter;
+    }
+
+    private synchronized long tryAcquire() {
+      long now = System.nanoTime();
+      tokens = Math.min(burst, tokens + (now - refilledAt) / 1_000_000_000.0 * permitsPerSecond);
+      refilledAt = now;
+
+      if (tokens < 1) {
+        suppressed++;
+        suppressedCounter.increment();
+        return DENIED;
+      }
+
+      tokens -= 1;
+      long result = suppressed;
+      suppressed = 0;
+      return result;
+    }
+  }
+}
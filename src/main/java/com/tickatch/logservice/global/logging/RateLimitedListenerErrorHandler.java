@@ -0,0 +1,46 @@
+package com.tickatch.logservice.global.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.listener.ConditionalRejectingErrorHandler;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+/**
+ * 리스너 실패 로그를 큐별로 {@link FailureLogLimiter}를 거쳐 한 곳에서 남기는 컨테이너 에러 핸들러.
+ *
+ * <p>Consumer는 예외를 잡지 않고 던지기만 하고, 컨테이너가 이 핸들러로 넘긴다. 기본 핸들러처럼 fatal 예외는 재큐잉 없이 거부하고, 나머지는
+ * 컨테이너의 {@code defaultRequeueRejected=false} 설정으로 DLQ로 간다. DB 상태 차단기 / 처리량 예산이 던진 {@link
+ * ImmediateRequeueAmqpException}은 실패가 아니므로 남기지 않는다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+public class RateLimitedListenerErrorHandler extends ConditionalRejectingErrorHandler {
+
+  static final String UNKNOWN_QUEUE = "unknown";
+
+  private final FailureLogLimiter failureLogLimiter;
+
+  public RateLimitedListenerErrorHandler(FailureLogLimiter failureLogLimiter) {
+    this.failureLogLimiter = failureLogLimiter;
+  }
+
+  @Override
+  protected void log(Throwable t) {
+    if (t instanceof ImmediateRequeueAmqpException
+        || t.getCause() instanceof ImmediateRequeueAmqpException) {
+      return;
+    }
+
+    Message failed = t instanceof ListenerExecutionFailedException e ? e.getFailedMessage() : null;
+    String queue =
+        failed != null && failed.getMessageProperties().getConsumerQueue() != null
+            ? failed.getMessageProperties().getConsumerQueue()
+            : UNKNOWN_QUEUE;
+    long suppressed = failureLogLimiter.tryAcquire(queue);
+    if (suppressed != FailureLogLimiter.DENIED) {
+      log.error("Listener failed, sent to DLQ: queue={} (suppressed={})", queue, suppressed, t);
+    }
+  }
+}
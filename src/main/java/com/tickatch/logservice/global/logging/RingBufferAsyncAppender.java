@@ -0,0 +1,215 @@
+package com.tickatch.logservice.global.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * lock-free 링 버퍼 기반 비동기 Appender.
+ *
+ * <p>리스너 스레드는 이벤트를 버퍼에 넣기만 하고, 실제 출력(Console, Logstash)은 전용 워커 스레드가 담당한다. 출력 대상이 느려지거나 끊겨도
+ * 호출 스레드는 대기하지 않는다.
+ *
+ * <ul>
+ *   <li>남은 용량이 {@code discardingThreshold} 이하이면 INFO 이하 이벤트를 버린다.
+ *   <li>버퍼가 가득 차면 레벨과 무관하게 버린다.
+ *   <li>버린 건수는 {@link #statistics()}로 노출되어 메트릭으로 수집된다.
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+public class RingBufferAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+    implements AppenderAttachable<ILoggingEvent> {
+
+  private static final Map<String, Statistics> STATISTICS = new ConcurrentHashMap<>();
+
+  private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+  private int bufferSize = 8192;
+  private int discardingThreshold = -1;
+  private boolean includeCallerData = false;
+  private int maxFlushTime = 1000;
+
+  private BoundedRingBuffer<ILoggingEvent> buffer;
+  private Statistics statistics;
+  private Thread worker;
+  private volatile boolean workerParked;
+
+  /** 현재 설정된 비동기 Appender별 통계 (logback 재설정 시에도 누적 값 유지). */
+  public static Collection<Statistics> statistics() {
+    return List.copyOf(STATISTICS.values());
+  }
+
+  @Override
+  public void start() {
+    if (isStarted()) {
+      return;
+    }
+    if (!appenders.iteratorForAppenders().hasNext()) {
+      addError("No attached appenders found for [" + getName() + "]");
+      return;
+    }
+
+    buffer = new BoundedRingBuffer<>(bufferSize);
+    if (discardingThreshold < 0) {
+      discardingThreshold = buffer.capacity() / 5;
+    }
+    statistics = STATISTICS.computeIfAbsent(getName(), Statistics::new);
+    statistics.buffer = buffer;
+
+    worker = new Thread(this::drain, "async-log-" + getName());
+    worker.setDaemon(true);
+    super.start();
+    worker.start();
+  }
+
+  @Override
+  public void stop() {
+    if (!isStarted()) {
+      return;
+    }
+    super.stop();
+
+    LockSupport.unpark(worker);
+    try {
+      worker.join(maxFlushTime);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (worker.isAlive()) {
+      addWarn("Max flush time exceeded; " + buffer.size() + " queued events were dropped");
+    }
+    appenders.detachAndStopAllAppenders();
+  }
+
+  @Override
+  protected void append(ILoggingEvent event) {
+    if (buffer.remainingCapacity() <= discardingThreshold
+        && event.getLevel().toInt() <= Level.INFO_INT) {
+      statistics.discarded.increment();
+      return;
+    }
+
+    event.prepareForDeferredProcessing();
+    if (includeCallerData) {
+      event.getCallerData();
+    }
+
+    if (!buffer.offer(event)) {
+      statistics.overflowed.increment();
+      return;
+    }
+    if (workerParked) {
+      LockSupport.unpark(worker);
+    }
+  }
+
+  private void drain() {
+    while (isStarted() || !buffer.isEmpty()) {
+      ILoggingEvent event = buffer.poll();
+      if (event == null) {
+        workerParked = true;
+        if (buffer.isEmpty() && isStarted()) {
+          LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        workerParked = false;
+        continue;
+      }
+      appenders.appendLoopOnAppenders(event);
+    }
+  }
+
+  public void setBufferSize(int bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+
+  public void setDiscardingThreshold(int discardingThreshold) {
+    this.discardingThreshold = discardingThreshold;
+  }
+
+  public void setIncludeCallerData(boolean includeCallerData) {
+    this.includeCallerData = includeCallerData;
+  }
+
+  public void setMaxFlushTime(int maxFlushTime) {
+    this.maxFlushTime = maxFlushTime;
+  }
+
+  @Override
+  public void addAppender(Appender<ILoggingEvent> appender) {
+    appenders.addAppender(appender);
+  }
+
+  @Override
+  public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+    return appenders.iteratorForAppenders();
+  }
+
+  @Override
+  public Appender<ILoggingEvent> getAppender(String name) {
+    return appenders.getAppender(name);
+  }
+
+  @Override
+  public boolean isAttached(Appender<ILoggingEvent> appender) {
+    return appenders.isAttached(appender);
+  }
+
+  @Override
+  public void detachAndStopAllAppenders() {
+    appenders.detachAndStopAllAppenders();
+  }
+
+  @Override
+  public boolean detachAppender(Appender<ILoggingEvent> appender) {
+    return appenders.detachAppender(appender);
+  }
+
+  @Override
+  public boolean detachAppender(String name) {
+    return appenders.detachAppender(name);
+  }
+
+  /** Appender 이름별 버퍼 상태와 버린 이벤트 수. */
+  public static final class Statistics {
+
+    private final String appenderName;
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private volatile BoundedRingBuffer<ILoggingEvent> buffer;
+
+    private Statistics(String appenderName) {
+      this.appenderName = appenderName;
+    }
+
+    public String getAppenderName() {
+      return appenderName;
+    }
+
+    /** 버퍼 압박으로 버린 DEBUG/INFO 이벤트 수. */
+    public long getDiscarded() {
+      return discarded.sum();
+    }
+
+    /** 버퍼가 가득 차 버린 이벤트 수. */
+    public long getOverflowed() {
+      return overflowed.sum();
+    }
+
+    public int getQueued() {
+      BoundedRingBuffer<ILoggingEvent> current = buffer;
+      return current == null ? 0 : current.size();
+    }
+  }
+}
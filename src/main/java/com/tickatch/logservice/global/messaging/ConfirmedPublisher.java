@@ -0,0 +1,70 @@
+package com.tickatch.logservice.global.messaging;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 브로커가 메시지를 큐에 넣었음을 확인한 뒤에만 반환하는 발행기.
+ *
+ * <p>{@code mandatory}로 발행하고 publisher confirm(correlated)을 기다린다. 브로커는 라우팅할 큐가 없는 메시지도 ack하므로,
+ * confirm 전에 도착하는 basic.return을 함께 확인해야 유실을 알 수 있다. nack, 반송, 제한 시간 초과는 모두 {@link AmqpException}으로
+ * 던지므로 호출 측은 오프셋 저장이나 원본 메시지 ack를 하지 않고 재시도하면 된다.
+ *
+ * @since 1.0.0
+ */
+@Component
+public class ConfirmedPublisher {
+
+  private final RabbitTemplate rabbitTemplate;
+
+  public ConfirmedPublisher(ConnectionFactory connectionFactory) {
+    this.rabbitTemplate = new RabbitTemplate(connectionFactory);
+    this.rabbitTemplate.setMandatory(true);
+    // 반송 메시지는 CorrelationData에 붙는다. 콜백은 반송 처리를 켜기 위한 것
+    this.rabbitTemplate.setReturnsCallback(returned -> {});
+  }
+
+  /**
+   * @throws AmqpException 브로커가 nack했거나, 라우팅할 큐가 없어 반송했거나, {@code timeout} 안에 confirm이 오지 않았을 때
+   */
+  public void publish(String exchange, String routingKey, Message message, Duration timeout) {
+    CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+    rabbitTemplate.send(exchange, routingKey, message, correlation);
+
+    CorrelationData.Confirm confirm;
+    try {
+      confirm = correlation.getFuture().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new AmqpException("Interrupted while waiting for publisher confirm", e);
+    } catch (ExecutionException | TimeoutException e) {
+      throw new AmqpException("No publisher confirm for " + exchange + "/" + routingKey, e);
+    }
+
+    // 반송은 confirm보다 먼저 CorrelationData에 기록된다
+    ReturnedMessage returned = correlation.getReturned();
+    if (returned != null) {
+      throw new AmqpException(
+          "Unroutable message returned from "
+              + exchange
+              + "/"
+              + routingKey
+              + ": "
+              + returned.getReplyText());
+    }
+    if (!confirm.isAck()) {
+      throw new AmqpException(
+          "Broker nacked message to " + exchange + "/" + routingKey + ": " + confirm.getReason());
+    }
+  }
+}
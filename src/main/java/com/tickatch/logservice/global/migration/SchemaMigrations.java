@@ -0,0 +1,45 @@
+package com.tickatch.logservice.global.migration;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 컴포넌트가 쓰는 테이블이 마이그레이션으로 만들어졌는지 확인한다.
+ *
+ * <p>애플리케이션은 DDL을 실행하지 않는다. 새 DB는 {@code init.sql}, 기존 DB는 {@code db/migration}의 번호 순 스크립트로 테이블을
+ * 만들고, 컴포넌트는 필요한 테이블이 있는지만 확인해 없으면 기능을 멈추고 적용할 스크립트를 로그로 알린다.
+ *
+ * @since 1.0.0
+ */
+public final class SchemaMigrations {
+
+  private static final String TABLE_EXISTS = "SELECT to_regclass(?) IS NOT NULL";
+
+  /** 단일 컬럼에 대한 유효한 전체(부분 인덱스가 아닌) 유일 인덱스가 있는지. */
+  private static final String HAS_UNIQUE_INDEX =
+      "SELECT EXISTS (SELECT 1 FROM pg_index i JOIN pg_attribute a"
+          + " ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]"
+          + " WHERE i.indrelid = to_regclass(?) AND i.indisunique AND i.indisvalid"
+          + " AND i.indnkeyatts = 1 AND i.indpred IS NULL AND a.attname = ?)";
+
+  private SchemaMigrations() {}
+
+  /** 현재 search_path에서 찾을 수 없는 테이블. 비어 있지 않으면 마이그레이션이 적용되지 않은 것이다. */
+  public static List<String> missingTables(JdbcTemplate jdbcTemplate, String... tables) {
+    List<String> missing = new ArrayList<>();
+    for (String table : tables) {
+      Boolean exists = jdbcTemplate.queryForObject(TABLE_EXISTS, Boolean.class, table);
+      if (!Boolean.TRUE.equals(exists)) {
+        missing.add(table);
+      }
+    }
+    return missing;
+  }
+
+  /** {@code ON CONFLICT (column)}의 대상이 될 수 있는 유일 인덱스가 있는지. */
+  public static boolean hasUniqueIndex(JdbcTemplate jdbcTemplate, String table, String column) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(HAS_UNIQUE_INDEX, Boolean.class, table, column));
+  }
+}
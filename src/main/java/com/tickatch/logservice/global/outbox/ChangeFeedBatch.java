@@ -0,0 +1,17 @@
+package com.tickatch.logservice.global.outbox;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 다운스트림으로 발행하는 행 묶음.
+ *
+ * <p>{@code to}가 메시지 ID가 되므로 소비 측은 이를 기준으로 중복을 거를 수 있다 (at-least-once).
+ *
+ * @param from 직전 배치의 마지막 위치 (미포함)
+ * @param to 이 배치의 마지막 위치 (포함)
+ * @param rows 컬럼명-값 목록
+ * @since 1.0.0
+ */
+public record ChangeFeedBatch(
+    String domain, String table, String from, String to, List<Map<String, Object>> rows) {}
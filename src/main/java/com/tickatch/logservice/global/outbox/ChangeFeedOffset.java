@@ -0,0 +1,19 @@
+package com.tickatch.logservice.global.outbox;
+
+import java.util.UUID;
+
+/**
+ * 테이블별 마지막 발행 위치. 행은 (tx_id, id) 순으로 발행된다.
+ *
+ * @param txId 행을 삽입한 트랜잭션 ID ({@code pg_current_xact_id()})
+ * @since 1.0.0
+ */
+public record ChangeFeedOffset(long txId, UUID id) {
+
+  public static final ChangeFeedOffset START = new ChangeFeedOffset(0, new UUID(0, 0));
+
+  @Override
+  public String toString() {
+    return txId + ":" + id;
+  }
+}
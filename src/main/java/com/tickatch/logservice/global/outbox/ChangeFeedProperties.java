@@ -0,0 +1,30 @@
+package com.tickatch.logservice.global.outbox;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 로그 테이블 change feed 릴레이 설정.
+ *
+ * @param enabled 활성화 시 새로 커밋된 로그 행을 다운스트림 exchange로 발행한다 (PostgreSQL 전용)
+ * @param batchSize 메시지 하나에 담는 최대 행 수
+ * @param pollInterval 테이블 폴링 주기
+ * @param confirmTimeout 브로커 publisher confirm 대기 시간
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.change-feed")
+public record ChangeFeedProperties(
+    boolean enabled, int batchSize, Duration pollInterval, Duration confirmTimeout) {
+
+  public ChangeFeedProperties {
+    if (batchSize <= 0) {
+      batchSize = 500;
+    }
+    if (pollInterval == null) {
+      pollInterval = Duration.ofSeconds(1);
+    }
+    if (confirmTimeout == null) {
+      confirmTimeout = Duration.ofSeconds(10);
+    }
+  }
+}
@@ -0,0 +1,339 @@
+package com.tickatch.logservice.global.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.tickatch.logservice.global.config.outbox.ChangeFeedConfig;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.lifecycle.IngestReadyEvent;
+import com.tickatch.logservice.global.messaging.ConfirmedPublisher;
+import io.github.tickatch.common.util.JsonUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.util.PGobject;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 로그 테이블에 새로 커밋된 행을 배치로 다운스트림 exchange에 발행하는 change feed 릴레이.
+ *
+ * <p>각 행은 삽입한 트랜잭션 ID({@code tx_id})를 컬럼 기본값으로 갖는다. 릴레이는 {@code pg_snapshot_xmin} 미만(종료가 확정된) 트랜잭션의
+ * 행만 (tx_id, id) 순으로 읽으므로, 나중에 커밋되는 앞선 트랜잭션의 행을 건너뛰지 않는다.
+ *
+ * <p>배치 하나는 세 단계로 처리한다. 테이블별 advisory lock을 잡은 짧은 트랜잭션에서 오프셋과 행을 읽고 오프셋 행에 선점 기한을 기록한 뒤, 트랜잭션과 잠금을
+ * 놓고 {@link ConfirmedPublisher}로 발행한다(mandatory + confirm, 반송되면 실패). 마지막으로 읽은 오프셋이 그대로일 때만 새 오프셋을
+ * 저장하고 선점을 푼다. 발행이 실패하면 오프셋이 그대로라 선점이 만료된 뒤 같은 배치를 다시 보낸다 (at-least-once). 선점이 만료된 뒤 늦게 저장하는 쪽은
+ * 오프셋을 바꾸지 않으므로 중복 발행만 생기고, 소비 측은 메시지 ID로 거른다. 잠금과 선점은 테이블별이라 한 테이블의 발행이 느려도 다른 테이블은 다른 인스턴스가 발행할 수
+ * 있다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "log.change-feed.enabled", havingValue = "true")
+public class ChangeFeedRelay {
+
+  /** 테이블별 advisory lock 키의 상위 비트 ("LOGFEED"). 하위 8비트에 도메인 순번을 더한다. */
+  private static final long ADVISORY_LOCK_BASE = 0x4c4f474645454400L;
+
+  private final ChangeFeedProperties properties;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ConfirmedPublisher publisher;
+  private final Map<LogDomain, Counter> publishedRows = new EnumMap<>(LogDomain.class);
+  private final Map<LogDomain, AtomicLong> lastPublishedTxId = new EnumMap<>(LogDomain.class);
+  private volatile boolean schemaReady;
+  private boolean migrationReported;
+
+  public ChangeFeedRelay(
+      ChangeFeedProperties properties,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      ConfirmedPublisher publisher,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.publisher = publisher;
+
+    for (LogDomain domain : LogDomain.values()) {
+      publishedRows.put(
+          domain,
+          Counter.builder("log.change-feed.rows")
+              .tag("table", domain.getTable())
+              .description("다운스트림으로 발행한 행 수")
+              .register(meterRegistry));
+      AtomicLong txId = new AtomicLong();
+      lastPublishedTxId.put(domain, txId);
+      Gauge.builder("log.change-feed.offset.tx", txId, AtomicLong::get)
+          .tag("table", domain.getTable())
+          .description("마지막으로 발행한 행의 트랜잭션 ID")
+          .register(meterRegistry);
+    }
+  }
+
+  /** 리스너가 시작되기 전에 tx_id / 오프셋 테이블 마이그레이션 적용 여부를 확인한다. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public void onApplicationReady() {
+    verifySchema();
+  }
+
+  /** 기동 시 DB가 준비되지 않았던 경우 재시도한다. 마이그레이션 전이면 폴링마다 다시 확인한다. */
+  @EventListener(IngestReadyEvent.class)
+  public void onIngestReady() {
+    verifySchema();
+  }
+
+  @Scheduled(fixedDelayString = "${log.change-feed.poll-interval:1s}")
+  public void relay() {
+    if (!verifySchema()) {
+      return;
+    }
+
+    for (LogDomain domain : LogDomain.values()) {
+      try {
+        boolean hasMore = true;
+        while (hasMore) {
+          hasMore = relayBatch(domain);
+        }
+      } catch (RuntimeException e) {
+        log.warn("Change feed relay failed for {}", domain.getTable(), e);
+      }
+    }
+  }
+
+  /**
+   * 배치 하나를 읽어 발행하고 오프셋을 저장한다. 발행하는 동안에는 DB 트랜잭션도 잠금도 잡지 않는다.
+   *
+   * @return 배치가 가득 차 더 읽을 행이 남아 있을 수 있으면 {@code true}
+   */
+  private boolean relayBatch(LogDomain domain) {
+    Pending pending = transactionTemplate.execute(status -> readBatch(domain));
+    if (pending == null) {
+      return false;
+    }
+
+    publish(domain, pending.batch());
+
+    Boolean saved =
+        transactionTemplate.execute(status -> saveOffset(domain, pending.from(), pending.to()));
+    if (!Boolean.TRUE.equals(saved)) {
+      // 다른 인스턴스가 같은 구간을 먼저 발행하고 오프셋을 옮겼다. 이번 발행은 중복이다
+      log.debug("Change feed offset for {} moved concurrently", domain.getTable());
+      return false;
+    }
+
+    publishedRows.get(domain).increment(pending.rows());
+    lastPublishedTxId.get(domain).set(pending.to().txId());
+    return pending.rows() == properties.batchSize();
+  }
+
+  /** 다른 인스턴스가 이 테이블을 읽는 중이거나 읽을 행이 없으면 {@code null}. */
+  private Pending readBatch(LogDomain domain) {
+    if (!tryLock(domain)) {
+      return null;
+    }
+
+    ChangeFeedOffset from = loadOffset(domain);
+    List<Map<String, Object>> rows =
+        jdbcTemplate.queryForList(
+            "SELECT * FROM "
+                + domain.getTable()
+                + " WHERE tx_id IS NOT NULL AND tx_id < "
+                + ChangeFeedSchema.SNAPSHOT_XMIN
+                + " AND (tx_id, id) > (?, ?) ORDER BY tx_id, id LIMIT ?",
+            from.txId(),
+            from.id(),
+            properties.batchSize());
+    if (rows.isEmpty() || !claim(domain, from)) {
+      return null;
+    }
+
+    Map<String, Object> last = rows.get(rows.size() - 1);
+    ChangeFeedOffset to =
+        new ChangeFeedOffset(((Number) last.get("tx_id")).longValue(), (UUID) last.get("id"));
+    ChangeFeedBatch batch =
+        new ChangeFeedBatch(
+            domain.getKey(),
+            domain.getTable(),
+            from.toString(),
+            to.toString(),
+            toPayloadRows(rows));
+    return new Pending(from, to, rows.size(), batch);
+  }
+
+  private void publish(LogDomain domain, ChangeFeedBatch batch) {
+    byte[] body;
+    try {
+      body = JsonUtils.getObjectMapper().writeValueAsBytes(batch);
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to serialize change feed batch", e);
+    }
+
+    Message message =
+        MessageBuilder.withBody(body)
+            .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+            .setMessageId(batch.table() + ":" + batch.to())
+            .build();
+    publisher.publish(
+        ChangeFeedConfig.CHANGE_FEED_EXCHANGE,
+        ChangeFeedConfig.routingKey(domain),
+        message,
+        properties.confirmTimeout());
+  }
+
+  private boolean tryLock(LogDomain domain) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.queryForObject(
+            "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, lockKey(domain)));
+  }
+
+  static long lockKey(LogDomain domain) {
+    return ADVISORY_LOCK_BASE + domain.ordinal();
+  }
+
+  private ChangeFeedOffset loadOffset(LogDomain domain) {
+    List<ChangeFeedOffset> offsets =
+        jdbcTemplate.query(
+            "SELECT last_tx_id, last_id FROM "
+                + ChangeFeedSchema.OFFSET_TABLE
+                + " WHERE table_name = ?",
+            (rs, rowNum) ->
+                new ChangeFeedOffset(rs.getLong("last_tx_id"), rs.getObject("last_id", UUID.class)),
+            domain.getTable());
+    return offsets.isEmpty() ? ChangeFeedOffset.START : offsets.get(0);
+  }
+
+  /**
+   * 발행하는 동안 다른 인스턴스가 같은 배치를 읽지 않도록 confirm 대기 시간의 두 배만큼 테이블을 선점한다. 발행이 실패해 오프셋을 저장하지 못하면 선점이 만료된 뒤
+   * 어느 인스턴스든 다시 읽는다.
+   *
+   * @return 다른 인스턴스가 선점 중이면 {@code false}
+   */
+  private boolean claim(LogDomain domain, ChangeFeedOffset from) {
+    LocalDateTime now = LocalDateTime.now();
+    int claimed =
+        jdbcTemplate.update(
+            "INSERT INTO "
+                + ChangeFeedSchema.OFFSET_TABLE
+                + " AS o (table_name, last_tx_id, last_id, updated_at, claimed_until)"
+                + " VALUES (?, ?, ?, ?, ?)"
+                + " ON CONFLICT (table_name) DO UPDATE SET claimed_until = EXCLUDED.claimed_until"
+                + " WHERE o.claimed_until IS NULL OR o.claimed_until < EXCLUDED.updated_at",
+            domain.getTable(),
+            from.txId(),
+            from.id(),
+            Timestamp.valueOf(now),
+            Timestamp.valueOf(now.plus(properties.confirmTimeout().multipliedBy(2))));
+    return claimed == 1;
+  }
+
+  /**
+   * 오프셋이 {@code expected} 그대로일 때만 {@code offset}으로 옮긴다. 오프셋 행 잠금으로 비교와 저장이 원자적이다.
+   *
+   * @return 저장했으면 {@code true}
+   */
+  private boolean saveOffset(LogDomain domain, ChangeFeedOffset expected, ChangeFeedOffset offset) {
+    int updated =
+        jdbcTemplate.update(
+            "INSERT INTO "
+                + ChangeFeedSchema.OFFSET_TABLE
+                + " AS o (table_name, last_tx_id, last_id, updated_at) VALUES (?, ?, ?, ?)"
+                + " ON CONFLICT (table_name) DO UPDATE SET last_tx_id = EXCLUDED.last_tx_id,"
+                + " last_id = EXCLUDED.last_id, updated_at = EXCLUDED.updated_at,"
+                + " claimed_until = NULL WHERE o.last_tx_id = ? AND o.last_id = ?",
+            domain.getTable(),
+            offset.txId(),
+            offset.id(),
+            Timestamp.valueOf(LocalDateTime.now()),
+            expected.txId(),
+            expected.id());
+    return updated == 1;
+  }
+
+  /** JDBC 타입을 JSON으로 직렬화 가능한 값으로 바꾼다. */
+  private static List<Map<String, Object>> toPayloadRows(List<Map<String, Object>> rows) {
+    List<Map<String, Object>> payload = new ArrayList<>(rows.size());
+    for (Map<String, Object> row : rows) {
+      Map<String, Object> converted = new LinkedHashMap<>();
+      row.forEach((column, value) -> converted.put(column, toPayloadValue(value)));
+      payload.add(converted);
+    }
+    return payload;
+  }
+
+  private static Object toPayloadValue(Object value) {
+    if (value instanceof Timestamp timestamp) {
+      return timestamp.toLocalDateTime().toString();
+    }
+    if (value instanceof PGobject json && json.getValue() != null) {
+      // jsonb(overflow)는 문자열이 아닌 JSON 객체로 싣는다
+      try {
+        return JsonUtils.getObjectMapper().readTree(json.getValue());
+      } catch (JsonProcessingException e) {
+        return json.getValue();
+      }
+    }
+    return value;
+  }
+
+  private synchronized boolean verifySchema() {
+    if (schemaReady) {
+      return true;
+    }
+
+    try {
+      List<String> missing = ChangeFeedSchema.tablesWithoutTxId(jdbcTemplate);
+      if (!missing.isEmpty()) {
+        if (!migrationReported) {
+          migrationReported = true;
+          log.error(
+              "Change feed disabled: tx_id column missing on {}. Apply {}",
+              missing,
+              ChangeFeedSchema.MIGRATION);
+        }
+        return false;
+      }
+      if (!ChangeFeedSchema.hasOffsetTable(jdbcTemplate)) {
+        if (!migrationReported) {
+          migrationReported = true;
+          log.error(
+              "Change feed disabled: {} missing. Apply {}",
+              ChangeFeedSchema.OFFSET_TABLE,
+              ChangeFeedSchema.OFFSET_MIGRATION);
+        }
+        return false;
+      }
+      schemaReady = true;
+    } catch (DataAccessException e) {
+      log.warn("Change feed schema is not ready yet", e);
+    }
+    return schemaReady;
+  }
+
+  /** 읽었지만 아직 오프셋을 저장하지 않은 배치. */
+  private record Pending(
+      ChangeFeedOffset from, ChangeFeedOffset to, int rows, ChangeFeedBatch batch) {}
+}
@@ -0,0 +1,64 @@
+package com.tickatch.logservice.global.outbox;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * change feed에 필요한 컬럼/테이블 정의.
+ *
+ * <p>{@code tx_id}는 컬럼 기본값으로 채워지므로 수집 트랜잭션에 별도 쓰기가 늘지 않는다. 로그 테이블 변경은 운영 중인 대용량 테이블에 잠금을 잡으므로
+ * 애플리케이션이 실행하지 않고, 새 DB는 {@code init.sql}, 기존 DB는 {@code db/migration/001_log_tx_id.sql}로 적용한다. 기본값
+ * 지정 이전의 행(NULL)은 발행 대상이 아니다. 커밋 순서로 로그를 읽는 다른 컴포넌트(무결성 체인 등)도 같은 컬럼을 쓴다.
+ *
+ * <p>오프셋 테이블도 애플리케이션이 만들지 않는다. 기존 DB는 {@code db/migration/004_change_feed_offset.sql}로 만들고,
+ * 릴레이는 테이블과 선점 컬럼이 있는지만 확인한다.
+ *
+ * @since 1.0.0
+ */
+public final class ChangeFeedSchema {
+
+  public static final String MIGRATION = "db/migration/001_log_tx_id.sql";
+
+  static final String OFFSET_MIGRATION = "db/migration/004_change_feed_offset.sql";
+
+  static final String OFFSET_TABLE = "p_change_feed_offset";
+
+  /** 이보다 작은 트랜잭션은 모두 커밋 또는 롤백이 끝났다. */
+  public static final String SNAPSHOT_XMIN =
+      "(pg_snapshot_xmin(pg_current_snapshot())::text::bigint)";
+
+  /** 오프셋 테이블이 선점 컬럼까지 준비되었으면 1. */
+  static final String COUNT_OFFSET_CLAIM =
+      "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = current_schema()"
+          + " AND table_name = '"
+          + OFFSET_TABLE
+          + "' AND column_name = 'claimed_until'";
+
+  /** tx_id 컬럼과 기본값이 모두 준비되었으면 1. */
+  static final String COUNT_TX_ID_DEFAULT =
+      "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = current_schema()"
+          + " AND table_name = ? AND column_name = 'tx_id' AND column_default IS NOT NULL";
+
+  private ChangeFeedSchema() {}
+
+  /** tx_id 컬럼 또는 기본값이 없는 로그 테이블. 비어 있지 않으면 마이그레이션이 적용되지 않은 것이다. */
+  public static List<String> tablesWithoutTxId(JdbcTemplate jdbcTemplate) {
+    List<String> missing = new ArrayList<>();
+    for (LogDomain domain : LogDomain.values()) {
+      Integer prepared =
+          jdbcTemplate.queryForObject(COUNT_TX_ID_DEFAULT, Integer.class, domain.getTable());
+      if (prepared == null || prepared == 0) {
+        missing.add(domain.getTable());
+      }
+    }
+    return missing;
+  }
+
+  /** 오프셋 테이블이 없거나 선점 컬럼이 빠져 있으면 {@code false}. */
+  static boolean hasOffsetTable(JdbcTemplate jdbcTemplate) {
+    Integer prepared = jdbcTemplate.queryForObject(COUNT_OFFSET_CLAIM, Integer.class);
+    return prepared != null && prepared > 0;
+  }
+}
@@ -0,0 +1,21 @@
+package com.tickatch.logservice.global.profiling;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * JFR recording 상태 (Actuator {@code profiling} 엔드포인트 응답).
+ *
+ * @param state JFR recording 상태 ({@code RUNNING}, {@code STOPPED}, ...)
+ * @param duration 요청한 길이 (상한 적용 후)
+ * @param sizeBytes 파일 크기. 실행 중이면 디스크 저장소에 쓴 크기
+ * @since 1.0.0
+ */
+public record FlightRecordingInfo(
+    long id,
+    String name,
+    String state,
+    Instant startedAt,
+    Instant stoppedAt,
+    Duration duration,
+    long sizeBytes) {}
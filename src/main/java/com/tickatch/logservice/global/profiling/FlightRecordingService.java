@@ -0,0 +1,211 @@
+package com.tickatch.logservice.global.profiling;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 운영 중 요청으로 JFR recording을 시작/정지하고 파일을 보관한다.
+ *
+ * <p>한 번에 하나만 실행하고, 길이는 {@code maxDuration}, 크기는 {@code maxSize}로 제한한다. 길이가 지나면 JFR이 스스로 멈추고
+ * 파일을 쓴다. 끝난 recording은 {@code maxRecordings}개까지 보관하고 그보다 오래된 파일은 지운다. 수집 파이프라인 이벤트({@link
+ * IngestMessageEvent}, {@link IngestBatchEvent})는 설정과 상관없이 켠다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class FlightRecordingService {
+
+  private static final String NAME_PREFIX = "log-ingest-";
+
+  private final ProfilingProperties properties;
+  private final Map<Long, Recording> recordings = new LinkedHashMap<>();
+
+  public FlightRecordingService(ProfilingProperties properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * recording을 시작한다.
+   *
+   * @param duration recording 길이 (null: {@code defaultDuration}). {@code maxDuration}을 넘으면 줄인다
+   * @param settings JFR 설정 이름 (null: {@code settings})
+   * @throws IllegalStateException 이미 실행 중인 recording이 있을 때
+   * @throws IllegalArgumentException 길이가 0 이하이거나 설정 이름을 모를 때
+   */
+  public synchronized FlightRecordingInfo start(Duration duration, String settings) {
+    for (Recording recording : recordings.values()) {
+      if (isActive(recording)) {
+        throw new IllegalStateException("Recording already running: " + recording.getId());
+      }
+    }
+    Duration length = duration == null ? properties.defaultDuration() : duration;
+    if (length.isZero() || length.isNegative()) {
+      throw new IllegalArgumentException("duration must be positive: " + length);
+    }
+    if (length.compareTo(properties.maxDuration()) > 0) {
+      length = properties.maxDuration();
+    }
+
+    Configuration configuration =
+        configuration(settings == null ? properties.settings() : settings);
+    Recording recording = new Recording(configuration);
+    try {
+      Files.createDirectories(properties.directory());
+      recording.setName(NAME_PREFIX + recording.getId() + "-" + Instant.now().getEpochSecond());
+      recording.setDestination(properties.directory().resolve(recording.getName() + ".jfr"));
+    } catch (IOException e) {
+      recording.close();
+      throw new UncheckedIOException(e);
+    }
+    recording.enable(IngestMessageEvent.class).withThreshold(properties.messageThreshold());
+    recording.enable(IngestBatchEvent.class);
+    recording.setToDisk(true);
+    recording.setMaxSize(properties.maxSize().toBytes());
+    recording.setDuration(length);
+    recording.start();
+
+    recordings.put(recording.getId(), recording);
+    evictFinished();
+    log.info(
+        "JFR recording started: id={}, settings={}, duration={}",
+        recording.getId(),
+        configuration.getName(),
+        length);
+    return info(recording);
+  }
+
+  /** 실행 중인 recording을 멈추고 파일을 쓴다. 이미 끝났으면 그대로 돌려준다. */
+  public synchronized FlightRecordingInfo stop(long id) {
+    Recording recording = get(id);
+    if (isActive(recording)) {
+      recording.stop();
+      log.info("JFR recording stopped: id={}", id);
+    }
+    return info(recording);
+  }
+
+  public synchronized List<FlightRecordingInfo> list() {
+    return recordings.values().stream().map(FlightRecordingService::info).toList();
+  }
+
+  /**
+   * 끝난 recording의 파일 경로.
+   *
+   * @throws IllegalStateException 아직 실행 중일 때
+   */
+  public synchronized Path file(long id) {
+    Recording recording = get(id);
+    if (isActive(recording)) {
+      throw new IllegalStateException("Recording still running: " + id);
+    }
+    Path destination = recording.getDestination();
+    if (destination == null || !Files.isRegularFile(destination)) {
+      throw new IllegalStateException("Recording file missing: " + id);
+    }
+    return destination;
+  }
+
+  /** 끝난 recording의 {@code [from, to]} 구간 상위 병목을 요약한다. */
+  public HotSpotSummary summarize(long id, Instant from, Instant to, int top) {
+    Path file = file(id);
+    try {
+      return HotSpotSummarizer.summarize(file, from, to, top);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** 종료 시 실행 중인 recording은 멈춰 파일을 남긴다. */
+  @PreDestroy
+  public synchronized void close() {
+    for (Recording recording : recordings.values()) {
+      if (isActive(recording) && recording.getState() != RecordingState.NEW) {
+        recording.stop();
+      }
+      recording.close();
+    }
+    recordings.clear();
+  }
+
+  private Recording get(long id) {
+    Recording recording = recordings.get(id);
+    if (recording == null) {
+      throw new IllegalArgumentException("Unknown recording: " + id);
+    }
+    return recording;
+  }
+
+  /** 보관 수를 넘으면 가장 오래된 끝난 recording부터 파일과 함께 지운다. */
+  private void evictFinished() {
+    List<Recording> finished = new ArrayList<>();
+    for (Recording recording : recordings.values()) {
+      if (!isActive(recording)) {
+        finished.add(recording);
+      }
+    }
+    for (int i = 0; i < finished.size() && recordings.size() > properties.maxRecordings(); i++) {
+      Recording recording = finished.get(i);
+      recordings.remove(recording.getId());
+      Path destination = recording.getDestination();
+      recording.close();
+      try {
+        if (destination != null) {
+          Files.deleteIfExists(destination);
+        }
+      } catch (IOException e) {
+        log.warn("Failed to delete JFR recording file {}", destination, e);
+      }
+    }
+  }
+
+  private static Configuration configuration(String name) {
+    try {
+      return Configuration.getConfiguration(name);
+    } catch (IOException | ParseException e) {
+      throw new IllegalArgumentException("Unknown JFR settings: " + name, e);
+    }
+  }
+
+  private static boolean isActive(Recording recording) {
+    return recording.getState() == RecordingState.NEW
+        || recording.getState() == RecordingState.DELAYED
+        || recording.getState() == RecordingState.RUNNING;
+  }
+
+  private static FlightRecordingInfo info(Recording recording) {
+    Path destination = recording.getDestination();
+    long size;
+    try {
+      size =
+          destination != null && Files.isRegularFile(destination)
+              ? Files.size(destination)
+              : recording.getSize();
+    } catch (IOException e) {
+      size = recording.getSize();
+    }
+    return new FlightRecordingInfo(
+        recording.getId(),
+        recording.getName(),
+        recording.getState().name(),
+        recording.getStartTime(),
+        recording.getStopTime(),
+        recording.getDuration(),
+        size);
+  }
+}
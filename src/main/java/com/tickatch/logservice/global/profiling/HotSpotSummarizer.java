@@ -0,0 +1,276 @@
+package com.tickatch.logservice.global.profiling;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * JFR recording 파일을 한 번 읽어 구간의 상위 병목을 요약한다.
+ *
+ * <p>CPU 실행 샘플, 모니터 진입 대기, 스레드 park(커넥션 풀 대기 등), 할당 샘플, GC 정지 시간과 수집 파이프라인 이벤트를 같은 구간으로
+ * 집계하므로, 느린 원인이 락 경합인지 GC인지 JSON 바인딩인지 저장인지 한 응답에서 비교할 수 있다.
+ *
+ * @since 1.0.0
+ */
+public final class HotSpotSummarizer {
+
+  private static final String APPLICATION_PACKAGE = "com.tickatch.";
+
+  private HotSpotSummarizer() {}
+
+  /**
+   * @param from 이 시각 이전에 시작한 이벤트는 제외한다 (null: 처음부터)
+   * @param to 이 시각 이후에 시작한 이벤트는 제외한다 (null: 끝까지)
+   * @param top 항목별로 돌려주는 최대 개수
+   */
+  public static HotSpotSummary summarize(Path file, Instant from, Instant to, int top)
+      throws IOException {
+    Accumulator acc = new Accumulator();
+    try (RecordingFile recording = new RecordingFile(file)) {
+      while (recording.hasMoreEvents()) {
+        RecordedEvent event = recording.readEvent();
+        Instant start = event.getStartTime();
+        if ((from != null && start.isBefore(from)) || (to != null && start.isAfter(to))) {
+          continue;
+        }
+        acc.add(event);
+      }
+    }
+    return acc.summary(top);
+  }
+
+  private static final class Accumulator {
+
+    private Instant first;
+    private Instant last;
+    private long executionSamples;
+    private final Map<String, Long> selfFrames = new HashMap<>();
+    private final Map<String, Long> applicationFrames = new HashMap<>();
+    private final Map<String, WaitStat> monitors = new HashMap<>();
+    private final Map<String, WaitStat> parks = new HashMap<>();
+    private final Map<String, Long> allocations = new HashMap<>();
+    private long allocatedBytes;
+    private long collections;
+    private long gcPauseNanos;
+    private long gcLongestPauseNanos;
+    private final Map<String, MessageStat> messages = new HashMap<>();
+    private final Map<String, BatchStat> batches = new HashMap<>();
+
+    private void add(RecordedEvent event) {
+      Instant start = event.getStartTime();
+      first = first == null || start.isBefore(first) ? start : first;
+      last = last == null || start.isAfter(last) ? start : last;
+
+      switch (event.getEventType().getName()) {
+        case "jdk.ExecutionSample" -> addSample(event.getStackTrace());
+        case "jdk.JavaMonitorEnter" ->
+            monitors
+                .computeIfAbsent(className(event.getClass("monitorClass")), key -> new WaitStat())
+                .add(event.getDuration());
+        case "jdk.ThreadPark" ->
+            parks
+                .computeIfAbsent(className(event.getClass("parkedClass")), key -> new WaitStat())
+                .add(event.getDuration());
+        case "jdk.ObjectAllocationSample" -> {
+          long weight = event.getLong("weight");
+          allocations.merge(className(event.getClass("objectClass")), weight, Long::sum);
+          allocatedBytes += weight;
+        }
+        case "jdk.GarbageCollection" -> {
+          long pause = event.getDuration("sumOfPauses").toNanos();
+          collections++;
+          gcPauseNanos += pause;
+          gcLongestPauseNanos =
+              Math.max(gcLongestPauseNanos, event.getDuration("longestPause").toNanos());
+        }
+        case IngestMessageEvent.NAME ->
+            messages
+                .computeIfAbsent(event.getString("queue"), key -> new MessageStat())
+                .add(
+                    event.getLong("decodeNanos"),
+                    event.getLong("persistNanos"),
+                    event.getBoolean("failed"));
+        case IngestBatchEvent.NAME ->
+            batches
+                .computeIfAbsent(event.getString("queue"), key -> new BatchStat())
+                .add(
+                    event.getInt("batchSize"),
+                    event.getLong("decodeNanos"),
+                    event.getLong("persistNanos"));
+        default -> {}
+      }
+    }
+
+    private void addSample(RecordedStackTrace stackTrace) {
+      executionSamples++;
+      if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+        return;
+      }
+      List<RecordedFrame> frames = stackTrace.getFrames();
+      selfFrames.merge(methodName(frames.get(0)), 1L, Long::sum);
+      for (RecordedFrame frame : frames) {
+        if (frame.isJavaFrame()
+            && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+          applicationFrames.merge(methodName(frame), 1L, Long::sum);
+          return;
+        }
+      }
+    }
+
+    private HotSpotSummary summary(int top) {
+      return new HotSpotSummary(
+          first,
+          last,
+          executionSamples,
+          frames(selfFrames, top),
+          frames(applicationFrames, top),
+          waits(monitors, top),
+          waits(parks, top),
+          allocations.entrySet().stream()
+              .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+              .limit(top)
+              .map(
+                  entry ->
+                      new HotSpotSummary.Allocation(
+                          entry.getKey(),
+                          entry.getValue(),
+                          percent(entry.getValue(), allocatedBytes)))
+              .toList(),
+          new HotSpotSummary.Gc(collections, millis(gcPauseNanos), millis(gcLongestPauseNanos)),
+          sorted(messages, stat -> stat.persistNanos, MessageStat::toSummary),
+          sorted(batches, stat -> stat.persistNanos, BatchStat::toSummary));
+    }
+
+    private List<HotSpotSummary.Frame> frames(Map<String, Long> counts, int top) {
+      return counts.entrySet().stream()
+          .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+          .limit(top)
+          .map(
+              entry ->
+                  new HotSpotSummary.Frame(
+                      entry.getKey(),
+                      entry.getValue(),
+                      percent(entry.getValue(), executionSamples)))
+          .toList();
+    }
+
+    private static List<HotSpotSummary.Wait> waits(Map<String, WaitStat> stats, int top) {
+      return stats.entrySet().stream()
+          .sorted(Comparator.comparingLong(entry -> -entry.getValue().totalNanos))
+          .limit(top)
+          .map(
+              entry ->
+                  new HotSpotSummary.Wait(
+                      entry.getKey(),
+                      entry.getValue().events,
+                      millis(entry.getValue().totalNanos),
+                      millis(entry.getValue().maxNanos)))
+          .toList();
+    }
+
+    private static <S, R> List<R> sorted(
+        Map<String, S> stats, Function<S, Long> weight, Function<Map.Entry<String, S>, R> mapper) {
+      return stats.entrySet().stream()
+          .sorted(Comparator.comparingLong(entry -> -weight.apply(entry.getValue())))
+          .map(mapper)
+          .toList();
+    }
+  }
+
+  private static final class WaitStat {
+
+    private long events;
+    private long totalNanos;
+    private long maxNanos;
+
+    private void add(Duration duration) {
+      long nanos = duration.toNanos();
+      events++;
+      totalNanos += nanos;
+      maxNanos = Math.max(maxNanos, nanos);
+    }
+  }
+
+  private static final class MessageStat {
+
+    private long messages;
+    private long failed;
+    private long decodeNanos;
+    private long persistNanos;
+    private long maxPersistNanos;
+
+    private void add(long decode, long persist, boolean failure) {
+      messages++;
+      failed += failure ? 1 : 0;
+      decodeNanos += decode;
+      persistNanos += persist;
+      maxPersistNanos = Math.max(maxPersistNanos, persist);
+    }
+
+    private static HotSpotSummary.MessageStat toSummary(Map.Entry<String, MessageStat> entry) {
+      MessageStat stat = entry.getValue();
+      return new HotSpotSummary.MessageStat(
+          entry.getKey(),
+          stat.messages,
+          stat.failed,
+          stat.decodeNanos / 1_000.0 / stat.messages,
+          stat.persistNanos / 1_000.0 / stat.messages,
+          millis(stat.maxPersistNanos));
+    }
+  }
+
+  private static final class BatchStat {
+
+    private long batches;
+    private long records;
+    private long decodeNanos;
+    private long persistNanos;
+    private long maxPersistNanos;
+
+    private void add(int batchSize, long decode, long persist) {
+      batches++;
+      records += batchSize;
+      decodeNanos += decode;
+      persistNanos += persist;
+      maxPersistNanos = Math.max(maxPersistNanos, persist);
+    }
+
+    private static HotSpotSummary.BatchStat toSummary(Map.Entry<String, BatchStat> entry) {
+      BatchStat stat = entry.getValue();
+      return new HotSpotSummary.BatchStat(
+          entry.getKey(),
+          stat.batches,
+          (double) stat.records / stat.batches,
+          millis(stat.decodeNanos) / stat.batches,
+          millis(stat.persistNanos) / stat.batches,
+          millis(stat.maxPersistNanos));
+    }
+  }
+
+  private static String methodName(RecordedFrame frame) {
+    return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+  }
+
+  private static String className(RecordedClass recordedClass) {
+    return recordedClass == null ? "(none)" : recordedClass.getName();
+  }
+
+  private static double percent(long part, long total) {
+    return total == 0 ? 0 : Math.round(part * 1000.0 / total) / 10.0;
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
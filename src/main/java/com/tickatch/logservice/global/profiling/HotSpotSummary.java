@@ -0,0 +1,57 @@
+package com.tickatch.logservice.global.profiling;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * JFR recording 구간의 상위 병목 요약.
+ *
+ * @param from 구간 안 첫 이벤트 시각
+ * @param to 구간 안 마지막 이벤트 시각
+ * @param executionSamples CPU 실행 샘플 수
+ * @param hotMethods 실행 샘플 맨 위 프레임(자기 시간) 상위
+ * @param hotApplicationFrames 실행 샘플에서 가장 가까운 애플리케이션 프레임 상위 (JDK/라이브러리 시간을 부른 코드)
+ * @param lockContention 모니터 진입 대기 (대기한 객체 타입별)
+ * @param threadParks 스레드 park 대기 (블로커 타입별: 커넥션 풀, 큐 등)
+ * @param allocations 할당 샘플 추정 바이트 상위
+ * @param messages 큐별 {@link IngestMessageEvent} 집계 (저장 시간 합이 큰 순)
+ * @param batches 큐별 {@link IngestBatchEvent} 집계
+ * @since 1.0.0
+ */
+public record HotSpotSummary(
+    Instant from,
+    Instant to,
+    long executionSamples,
+    List<Frame> hotMethods,
+    List<Frame> hotApplicationFrames,
+    List<Wait> lockContention,
+    List<Wait> threadParks,
+    List<Allocation> allocations,
+    Gc gc,
+    List<MessageStat> messages,
+    List<BatchStat> batches) {
+
+  public record Frame(String method, long samples, double percent) {}
+
+  public record Wait(String on, long events, double totalMillis, double maxMillis) {}
+
+  public record Allocation(String type, long bytes, double percent) {}
+
+  public record Gc(long collections, double totalPauseMillis, double longestPauseMillis) {}
+
+  public record MessageStat(
+      String queue,
+      long messages,
+      long failed,
+      double meanDecodeMicros,
+      double meanPersistMicros,
+      double maxPersistMillis) {}
+
+  public record BatchStat(
+      String queue,
+      long batches,
+      double meanBatchSize,
+      double meanDecodeMillis,
+      double meanPersistMillis,
+      double maxPersistMillis) {}
+}
@@ -0,0 +1,74 @@
+package com.tickatch.logservice.global.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 쓰기 버퍼가 배치 하나를 저장한 JFR 이벤트.
+ *
+ * <p>이벤트 구간은 배치 INSERT와 커밋, ack까지의 시간이다. 이 이벤트를 켠 recording이 없으면 {@link #isEnabled()}가 거짓이라 시간을
+ * 재지 않는다.
+ *
+ * @since 1.0.0
+ */
+@Name(IngestBatchEvent.NAME)
+@Label("Ingest Batch")
+@Category({"Tickatch", "Log Ingest"})
+@Description("쓰기 버퍼 배치 저장 시간")
+@StackTrace(false)
+public class IngestBatchEvent extends Event {
+
+  public static final String NAME = "com.tickatch.log.IngestBatch";
+
+  @Label("Queue")
+  String queue;
+
+  @Label("Batch Size")
+  int batchSize;
+
+  @Label("Decode Time")
+  @Description("버퍼 슬롯의 레코드를 읽어 JDBC 파라미터로 바인딩한 시간")
+  @Timespan
+  long decodeNanos;
+
+  @Label("Persist Time")
+  @Description("배치 구간에서 바인딩을 뺀 시간 (INSERT, 커밋, ack)")
+  @Timespan
+  long persistNanos;
+
+  private transient long startedAt;
+
+  /** 배치 구간을 시작한다. */
+  public static IngestBatchEvent start() {
+    IngestBatchEvent event = new IngestBatchEvent();
+    if (event.isEnabled()) {
+      event.startedAt = System.nanoTime();
+      event.begin();
+    }
+    return event;
+  }
+
+  /** 레코드 하나를 바인딩한 시간을 더한다. */
+  public void addDecodeNanos(long nanos) {
+    decodeNanos += nanos;
+  }
+
+  /** 배치 구간을 끝내고, 임계값을 넘었으면 기록한다. */
+  public void finish(String queue, int batchSize) {
+    if (startedAt == 0) {
+      return; // 시작할 때 꺼져 있었다
+    }
+    end();
+    if (shouldCommit()) {
+      this.queue = queue;
+      this.batchSize = batchSize;
+      this.persistNanos = Math.max(0, System.nanoTime() - startedAt - decodeNanos);
+      commit();
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package com.tickatch.logservice.global.profiling;
+
+import java.util.List;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.amqp.support.converter.SmartMessageConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 수신 메시지마다 {@link IngestMessageEvent}를 기록한다.
+ *
+ * <p>디코딩 시간은 after-receive 후처리({@link #decodeStart()}부터 {@link #decodeEnd()}까지)와 리스너 어댑터의 JSON
+ * 바인딩({@link #timed(MessageConverter)})을 더한 값이다. 둘은 스트라이프 모드에서 서로 다른 스레드에서 실행되므로 수신 측 메시지
+ * 헤더로 넘긴다. 저장 시간은 advice chain 맨 뒤에서 잰 리스너 실행 시간에서 바인딩 시간을 뺀 값이다. 처리량 예산과 차단기 대기는 포함하지
+ * 않는다.
+ *
+ * <p>이벤트를 켠 JFR recording이 없으면 헤더를 쓰지 않고 시간도 재지 않는다.
+ *
+ * @since 1.0.0
+ */
+@Component
+public class IngestEventRecorder implements MethodInterceptor {
+
+  /** 후처리를 시작한 시각 ({@link System#nanoTime()}). */
+  static final String DECODE_STARTED = "x-log-decode-started";
+
+  /** 지금까지 잰 디코딩 시간(ns). */
+  static final String DECODE_NANOS = "x-log-decode-nanos";
+
+  private final MessagePostProcessor decodeStart = this::markDecodeStart;
+  private final MessagePostProcessor decodeEnd = this::markDecodeEnd;
+
+  /** after-receive 후처리 맨 앞에 둔다. */
+  public MessagePostProcessor decodeStart() {
+    return decodeStart;
+  }
+
+  /** after-receive 후처리 맨 뒤에 둔다. */
+  public MessagePostProcessor decodeEnd() {
+    return decodeEnd;
+  }
+
+  /** 리스너 어댑터의 JSON 바인딩 시간을 디코딩 시간에 더하는 변환기로 감싼다. */
+  public MessageConverter timed(MessageConverter delegate) {
+    return new TimedMessageConverter(delegate);
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    IngestMessageEvent event = new IngestMessageEvent();
+    Message message = event.isEnabled() ? firstMessage(invocation.getArguments()) : null;
+    if (message == null) {
+      return invocation.proceed();
+    }
+
+    MessageProperties properties = message.getMessageProperties();
+    long decodedBefore = decodeNanos(properties);
+    long start = System.nanoTime();
+    event.begin();
+    boolean failed = true;
+    try {
+      Object result = invocation.proceed();
+      failed = false;
+      return result;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        long elapsed = System.nanoTime() - start;
+        long decoded = decodeNanos(properties);
+        event.queue = properties.getConsumerQueue();
+        event.bodyBytes = message.getBody() == null ? 0 : message.getBody().length;
+        event.decodeNanos = decoded;
+        event.persistNanos = Math.max(0, elapsed - (decoded - decodedBefore));
+        event.failed = failed;
+        event.commit();
+      }
+    }
+  }
+
+  private Message markDecodeStart(Message message) {
+    MessageProperties properties = message.getMessageProperties();
+    if (new IngestMessageEvent().isEnabled()) {
+      properties.setHeader(DECODE_STARTED, System.nanoTime());
+      properties.setHeader(DECODE_NANOS, 0L);
+    } else if (properties.getHeaders().containsKey(DECODE_NANOS)) {
+      properties.getHeaders().remove(DECODE_STARTED); // 샤드 큐로 재발행된 메시지에 남은 값
+      properties.getHeaders().remove(DECODE_NANOS);
+    }
+    return message;
+  }
+
+  private Message markDecodeEnd(Message message) {
+    MessageProperties properties = message.getMessageProperties();
+    if (properties.getHeader(DECODE_STARTED) instanceof Long started) {
+      properties.getHeaders().remove(DECODE_STARTED);
+      addDecodeNanos(properties, System.nanoTime() - started);
+    }
+    return message;
+  }
+
+  private static void addDecodeNanos(MessageProperties properties, long nanos) {
+    properties.setHeader(DECODE_NANOS, decodeNanos(properties) + nanos);
+  }
+
+  private static long decodeNanos(MessageProperties properties) {
+    return properties.getHeader(DECODE_NANOS) instanceof Long nanos ? nanos : 0;
+  }
+
+  private static Message firstMessage(Object[] arguments) {
+    for (Object argument : arguments) {
+      if (argument instanceof Message message) {
+        return message;
+      }
+      if (argument instanceof List<?> batch
+          && !batch.isEmpty()
+          && batch.get(0) instanceof Message first) {
+        return first;
+      }
+    }
+    return null;
+  }
+
+  /** 바인딩 시간을 재는 변환기. 리스너 인자 타입 힌트는 그대로 넘긴다. */
+  private static final class TimedMessageConverter implements SmartMessageConverter {
+
+    private final MessageConverter delegate;
+
+    private TimedMessageConverter(MessageConverter delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Message toMessage(Object object, MessageProperties messageProperties)
+        throws MessageConversionException {
+      return delegate.toMessage(object, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(Message message) throws MessageConversionException {
+      return fromMessage(message, null);
+    }
+
+    @Override
+    public Object fromMessage(Message message, Object conversionHint)
+        throws MessageConversionException {
+      if (!new IngestMessageEvent().isEnabled()) {
+        return convert(message, conversionHint);
+      }
+      long start = System.nanoTime();
+      try {
+        return convert(message, conversionHint);
+      } finally {
+        addDecodeNanos(message.getMessageProperties(), System.nanoTime() - start);
+      }
+    }
+
+    private Object convert(Message message, Object conversionHint) {
+      return conversionHint != null && delegate instanceof SmartMessageConverter smart
+          ? smart.fromMessage(message, conversionHint)
+          : delegate.fromMessage(message);
+    }
+  }
+}
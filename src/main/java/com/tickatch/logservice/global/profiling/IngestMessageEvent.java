@@ -0,0 +1,47 @@
+package com.tickatch.logservice.global.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 메시지 하나를 수신해 저장하기까지의 JFR 이벤트.
+ *
+ * <p>이벤트 구간은 리스너 실행 시간이다. 이 이벤트를 켠 recording이 없으면 {@link #isEnabled()}가 거짓이라 필드를 채우지 않는다.
+ *
+ * @since 1.0.0
+ */
+@Name(IngestMessageEvent.NAME)
+@Label("Ingest Message")
+@Category({"Tickatch", "Log Ingest"})
+@Description("수신한 로그 메시지 하나의 디코딩/저장 시간")
+@StackTrace(false)
+public class IngestMessageEvent extends Event {
+
+  public static final String NAME = "com.tickatch.log.IngestMessage";
+
+  @Label("Queue")
+  String queue;
+
+  @Label("Body Size")
+  @DataAmount
+  long bodyBytes;
+
+  @Label("Decode Time")
+  @Description("스키마 업캐스트, trace 헤더 추출, JSON 바인딩 시간")
+  @Timespan
+  long decodeNanos;
+
+  @Label("Persist Time")
+  @Description("리스너 실행 시간에서 JSON 바인딩을 뺀 시간 (저장과 후속 처리)")
+  @Timespan
+  long persistNanos;
+
+  @Label("Failed")
+  boolean failed;
+}
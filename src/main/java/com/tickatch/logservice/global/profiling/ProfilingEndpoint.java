@@ -0,0 +1,100 @@
+package com.tickatch.logservice.global.profiling;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청 시 JFR recording Actuator 엔드포인트.
+ *
+ * <ul>
+ *   <li>{@code POST /actuator/profiling} 본문 {@code {"duration": "2m", "settings": "profile"}}: 시작
+ *   <li>{@code DELETE /actuator/profiling/{id}}: 정지
+ *   <li>{@code GET /actuator/profiling/{id}}: {@code .jfr} 파일 내려받기 (JDK Mission Control로 연다)
+ *   <li>{@code GET /actuator/profiling/{id}/summary?top=10&from=...&to=...}: 상위 병목 요약
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+@Component
+@WebEndpoint(id = "profiling")
+@RequiredArgsConstructor
+public class ProfilingEndpoint {
+
+  private static final String SUMMARY = "summary";
+  private static final int DEFAULT_TOP = 10;
+
+  private final FlightRecordingService recordingService;
+
+  @ReadOperation
+  public List<FlightRecordingInfo> recordings() {
+    return recordingService.list();
+  }
+
+  @WriteOperation
+  public FlightRecordingInfo start(
+      @OptionalParameter Duration duration, @OptionalParameter String settings) {
+    try {
+      return recordingService.start(duration, settings);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      throw new InvalidEndpointRequestException(e.getMessage(), "Cannot start recording");
+    }
+  }
+
+  @DeleteOperation
+  public FlightRecordingInfo stop(@Selector long id) {
+    try {
+      return recordingService.stop(id);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidEndpointRequestException(e.getMessage(), "Unknown recording");
+    }
+  }
+
+  @ReadOperation(produces = "application/octet-stream")
+  public Resource download(@Selector long id) {
+    try {
+      return new FileSystemResource(recordingService.file(id));
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      throw new InvalidEndpointRequestException(e.getMessage(), "Recording not available");
+    }
+  }
+
+  @ReadOperation
+  public HotSpotSummary summary(
+      @Selector long id,
+      @Selector String view,
+      @OptionalParameter Integer top,
+      @OptionalParameter String from,
+      @OptionalParameter String to) {
+    if (!SUMMARY.equals(view)) {
+      throw new InvalidEndpointRequestException("Unknown view: " + view, "Unknown view");
+    }
+    try {
+      return recordingService.summarize(
+          id, instant(from), instant(to), top == null || top <= 0 ? DEFAULT_TOP : top);
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      throw new InvalidEndpointRequestException(e.getMessage(), "Recording not available");
+    }
+  }
+
+  private static Instant instant(String value) {
+    try {
+      return value == null ? null : Instant.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new InvalidEndpointRequestException(
+          "from/to must be ISO-8601 instants: " + value, "Invalid time");
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package com.tickatch.logservice.global.profiling;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 요청 시 JFR recording 설정.
+ *
+ * @param directory recording 파일 디렉터리 (인스턴스 로컬)
+ * @param settings JFR 설정 이름 ({@code default}: 오버헤드 1% 미만, {@code profile}: 샘플링 주기가 짧고 락/할당 이벤트 포함)
+ * @param defaultDuration 기간을 지정하지 않았을 때의 recording 길이
+ * @param maxDuration recording 길이 상한. 길게 요청해도 이 시간이 지나면 멈춘다
+ * @param maxSize recording 파일 크기 상한. 넘으면 오래된 구간부터 버린다
+ * @param maxRecordings 보관하는 recording 수. 넘으면 가장 오래된 끝난 recording의 파일을 지운다
+ * @param messageThreshold 이보다 짧은 메시지 이벤트는 기록하지 않는다 (0: 모두 기록)
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.profiling")
+public record ProfilingProperties(
+    Path directory,
+    String settings,
+    Duration defaultDuration,
+    Duration maxDuration,
+    DataSize maxSize,
+    int maxRecordings,
+    Duration messageThreshold) {
+
+  public ProfilingProperties {
+    if (directory == null) {
+      directory = Path.of(System.getProperty("java.io.tmpdir"), "log-service-jfr");
+    }
+    if (settings == null || settings.isBlank()) {
+      settings = "profile";
+    }
+    if (maxDuration == null) {
+      maxDuration = Duration.ofMinutes(5);
+    }
+    if (defaultDuration == null) {
+      defaultDuration = Duration.ofMinutes(1);
+    }
+    if (defaultDuration.compareTo(maxDuration) > 0) {
+      defaultDuration = maxDuration;
+    }
+    if (maxSize == null) {
+      maxSize = DataSize.ofMegabytes(100);
+    }
+    if (maxRecordings <= 0) {
+      maxRecordings = 3;
+    }
+    if (messageThreshold == null) {
+      messageThreshold = Duration.ZERO;
+    }
+  }
+}
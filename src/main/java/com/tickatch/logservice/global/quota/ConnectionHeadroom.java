@@ -0,0 +1,15 @@
+package com.tickatch.logservice.global.quota;
+
+/**
+ * DB 커넥션 풀에 남은 여유 커넥션 수.
+ *
+ * @since 1.0.0
+ */
+public interface ConnectionHeadroom {
+
+  /** 확인할 수 없을 때 반환하는 값. 여유가 충분한 것으로 본다. */
+  int UNKNOWN = Integer.MAX_VALUE;
+
+  /** 최대 풀 크기에서 사용 중인 커넥션을 뺀 수. 리스너뿐 아니라 조회 API, 스케줄러 등 모든 사용자를 센다. */
+  int available();
+}
@@ -0,0 +1,41 @@
+package com.tickatch.logservice.global.quota;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hikari 풀의 사용 중 커넥션 수로 여유 커넥션을 구한다. 풀이 아직 만들어지지 않았거나 Hikari가 아니면 {@link #UNKNOWN}.
+ *
+ * @since 1.0.0
+ */
+@Component
+public class HikariConnectionHeadroom implements ConnectionHeadroom {
+
+  private final ObjectProvider<DataSource> dataSource;
+
+  public HikariConnectionHeadroom(ObjectProvider<DataSource> dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @Override
+  public int available() {
+    DataSource source = dataSource.getIfAvailable();
+    if (source == null) {
+      return UNKNOWN;
+    }
+    try {
+      if (!source.isWrapperFor(HikariDataSource.class)) {
+        return UNKNOWN;
+      }
+      HikariDataSource hikari = source.unwrap(HikariDataSource.class);
+      HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+      return pool == null ? UNKNOWN : hikari.getMaximumPoolSize() - pool.getActiveConnections();
+    } catch (SQLException e) {
+      return UNKNOWN;
+    }
+  }
+}
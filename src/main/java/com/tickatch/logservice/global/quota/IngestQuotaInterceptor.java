@@ -0,0 +1,248 @@
+package com.tickatch.logservice.global.quota;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.lifecycle.IngestLifecycleCoordinator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리스너 컨테이너 advice chain에서 도메인별 처리량 예산과 DB 커넥션 레인을 적용한다.
+ *
+ * <p>예산을 넘거나 레인이 가득 차면 Consumer 스레드를 붙잡아 두지 않고 해당 큐의 리스너 컨테이너를 멈춘다. 멈추는 동안 prefetch된 메시지는
+ * 브로커로 돌아가고, 이미 넘겨받은 메시지는 DLQ 대신 재큐잉한다. 멈춘 시간은 예산이 다시 찰 때까지(최소 {@code minPause})이며, 이 인터셉터가
+ * 멈춘 컨테이너만 다시 시작한다. 다시 시작할 때 DB 상태 차단기가 열려 있으면 차단기가 다음 평가에서 다시 멈춘다.
+ *
+ * <p>우선 도메인을 제외한 도메인은 {@code 풀 크기 - reservedConnections}개의 공유 레인을 나눠 쓰고, 조회 API나 스케줄러처럼 리스너 밖에서
+ * 쓰는 커넥션까지 포함해 풀의 여유 커넥션이 {@code reservedConnections} 이하이면 처리하지 않는다. 폭주하는 도메인이나 무거운 조회가 있어도
+ * 결제/인증 로그용 커넥션이 남는다.
+ *
+ * <p>샤딩 모드에서는 DB에 쓰는 샤드 큐에만 적용하고, 원본 큐를 재발행하는 라우터에는 적용하지 않는다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class IngestQuotaInterceptor implements MethodInterceptor {
+
+  private final IngestQuotaProperties properties;
+  private final boolean sharded;
+  private final RabbitListenerEndpointRegistry listenerRegistry;
+  private final IngestLifecycleCoordinator coordinator;
+  private final ConnectionHeadroom connectionHeadroom;
+  private final Semaphore sharedLane;
+  private final Map<LogDomain, ThroughputBucket> buckets = new EnumMap<>(LogDomain.class);
+  private final Map<LogDomain, Pause> pauses = new EnumMap<>(LogDomain.class);
+  private final Counter laneSaturated;
+
+  public IngestQuotaInterceptor(
+      IngestQuotaProperties properties,
+      @Value("${log.sharding.enabled:false}") boolean sharded,
+      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+      RabbitListenerEndpointRegistry listenerRegistry,
+      IngestLifecycleCoordinator coordinator,
+      ConnectionHeadroom connectionHeadroom,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.sharded = sharded;
+    this.listenerRegistry = listenerRegistry;
+    this.coordinator = coordinator;
+    this.connectionHeadroom = connectionHeadroom;
+    this.sharedLane = new Semaphore(Math.max(1, poolSize - properties.reservedConnections()));
+
+    for (LogDomain domain : LogDomain.values()) {
+      IngestQuotaProperties.Budget budget = properties.budgetOf(domain.getKey());
+      buckets.put(domain, new ThroughputBucket(budget.permitsPerSecond(), budget.burst()));
+
+      Pause pause = new Pause(domain, meterRegistry);
+      pauses.put(domain, pause);
+      Gauge.builder("log.quota.paused", pause, p -> p.active ? 1 : 0)
+          .tag("queue", domain.getQueue())
+          .description("처리량 예산 초과나 레인 포화로 소비를 멈춘 상태 (1: 정지)")
+          .register(meterRegistry);
+    }
+
+    Gauge.builder("log.quota.lane.available", sharedLane, Semaphore::availablePermits)
+        .description("일반 도메인 공유 레인의 남은 DB 커넥션 수")
+        .register(meterRegistry);
+    this.laneSaturated =
+        Counter.builder("log.quota.lane.saturated")
+            .description("공유 레인이나 커넥션 풀 여유가 없어 소비를 멈춘 횟수")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    if (!properties.enabled()) {
+      return invocation.proceed();
+    }
+
+    Optional<LogDomain> domain = resolveDomain(invocation.getArguments());
+    if (domain.isEmpty()) {
+      return invocation.proceed();
+    }
+
+    Pause pause = pauses.get(domain.get());
+    if (pause.active && System.nanoTime() - pause.until < 0) {
+      // 정지 중인 컨테이너에 남은 prefetch 메시지: 처리하지 않고 브로커로 돌려보낸다
+      throw requeue(pause, "paused");
+    }
+
+    long waitNanos = buckets.get(domain.get()).tryReserve(1);
+    if (waitNanos > 0) {
+      pause(pause, waitNanos);
+      throw requeue(pause, "over budget");
+    }
+    if (properties.criticalDomains().contains(domain.get().getKey())) {
+      return invocation.proceed();
+    }
+
+    if (!sharedLane.tryAcquire()) {
+      throw saturated(pause, "shared lane full");
+    }
+    try {
+      if (connectionHeadroom.available() <= properties.reservedConnections()) {
+        throw saturated(pause, "connection pool reserved");
+      }
+      return invocation.proceed();
+    } finally {
+      sharedLane.release();
+    }
+  }
+
+  /** 정지 시간이 지난 도메인의 컨테이너를 다시 시작한다. */
+  @Scheduled(fixedDelayString = "${log.quota.resume-check-interval:100ms}")
+  public void resumeExpired() {
+    long now = System.nanoTime();
+    for (Pause pause : pauses.values()) {
+      synchronized (pause) {
+        if (!pause.active || now - pause.until < 0) {
+          continue;
+        }
+        pause.active = false;
+        pause.pausedTimer.record(now - pause.pausedAt, TimeUnit.NANOSECONDS);
+        resume(pause);
+      }
+    }
+  }
+
+  private ImmediateRequeueAmqpException saturated(Pause pause, String reason) {
+    laneSaturated.increment();
+    pause(pause, 0);
+    return requeue(pause, reason);
+  }
+
+  private ImmediateRequeueAmqpException requeue(Pause pause, String reason) {
+    pause.requeued.increment();
+    return new ImmediateRequeueAmqpException(
+        "Ingest quota " + reason + ": " + pause.domain.getQueue());
+  }
+
+  /** 최소 {@code minPause}, 최대 {@code waitNanos}까지 도메인을 멈춘다. 이미 멈춘 도메인은 더 늦은 시각으로만 늘린다. */
+  private void pause(Pause pause, long waitNanos) {
+    long now = System.nanoTime();
+    long until = now + Math.max(waitNanos, properties.minPause().toNanos());
+    synchronized (pause) {
+      if (!pause.active) {
+        pause.active = true;
+        pause.pausedAt = now;
+        pause.until = until;
+      } else if (until - pause.until > 0) {
+        pause.until = until;
+      }
+      stop(pause);
+    }
+  }
+
+  /** 실행 중인 컨테이너를 멈춘다. 처리 중 메시지는 완료를 기다리지 않고 호출 스레드를 돌려준다. */
+  private void stop(Pause pause) {
+    if (pause.stopped || !coordinator.isRunning()) {
+      return;
+    }
+    MessageListenerContainer container =
+        listenerRegistry.getListenerContainer(pause.domain.getListenerId());
+    if (container != null && container.isRunning()) {
+      pause.stopped = true;
+      container.stop(
+          () -> log.debug("Listener paused by ingest quota: {}", pause.domain.getQueue()));
+    }
+  }
+
+  /** 이 인터셉터가 멈춘 컨테이너만 다시 시작한다. 그 사이 다른 경로로 옮겨 은퇴한 리스너는 그대로 둔다. */
+  private void resume(Pause pause) {
+    if (!pause.stopped) {
+      return;
+    }
+    pause.stopped = false;
+    if (!coordinator.isRunning()) {
+      return;
+    }
+    String listenerId = pause.domain.getListenerId();
+    MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+    if (container != null && !container.isRunning() && !coordinator.isRetired(listenerId)) {
+      container.start();
+    }
+  }
+
+  /** 컨테이너가 리스너에 넘기는 인자(Message 또는 배치)에서 수신 큐의 도메인을 찾는다. */
+  private Optional<LogDomain> resolveDomain(Object[] arguments) {
+    for (Object argument : arguments) {
+      Message message = null;
+      if (argument instanceof Message single) {
+        message = single;
+      } else if (argument instanceof List<?> batch
+          && !batch.isEmpty()
+          && batch.get(0) instanceof Message first) {
+        message = first;
+      }
+      if (message != null) {
+        return LogDomain.fromConsumerQueue(
+            message.getMessageProperties().getConsumerQueue(), sharded);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static final class Pause {
+
+    private final LogDomain domain;
+    private final Timer pausedTimer;
+    private final Counter requeued;
+
+    private volatile boolean active;
+    private volatile boolean stopped;
+    private volatile long pausedAt;
+    private volatile long until;
+
+    private Pause(LogDomain domain, MeterRegistry meterRegistry) {
+      this.domain = domain;
+      this.pausedTimer =
+          Timer.builder("log.quota.throttle.wait")
+              .tag("queue", domain.getQueue())
+              .description("처리량 예산 초과나 레인 포화로 소비를 멈춘 시간")
+              .register(meterRegistry);
+      this.requeued =
+          Counter.builder("log.quota.requeued")
+              .tag("queue", domain.getQueue())
+              .description("소비 정지 중 처리하지 않고 재큐잉한 메시지 수")
+              .register(meterRegistry);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.tickatch.logservice.global.quota;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 도메인별 수집 처리량 예산과 우선순위 레인 설정.
+ *
+ * @param enabled 비활성화 시 모든 큐를 제한 없이 처리한다
+ * @param defaultBudget {@code domains}에 없는 도메인의 예산
+ * @param domains 도메인 키({@code LogDomain#getKey()})별 예산
+ * @param criticalDomains 공유 레인을 거치지 않는 우선 도메인 (예약된 DB 커넥션 사용)
+ * @param reservedConnections 우선 도메인 전용으로 남겨 두는 DB 커넥션 수
+ * @param minPause 예산 초과나 레인 포화로 리스너 컨테이너를 멈추는 최소 시간
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.quota")
+public record IngestQuotaProperties(
+    boolean enabled,
+    Budget defaultBudget,
+    Map<String, Budget> domains,
+    Set<String> criticalDomains,
+    int reservedConnections,
+    Duration minPause) {
+
+  public IngestQuotaProperties {
+    if (defaultBudget == null) {
+      defaultBudget = new Budget(500, 1000);
+    }
+    if (domains == null) {
+      domains = Map.of();
+    }
+    if (criticalDomains == null) {
+      criticalDomains = Set.of("payment", "auth");
+    }
+    if (reservedConnections < 0) {
+      reservedConnections = 0;
+    }
+    if (minPause == null) {
+      minPause = Duration.ofMillis(200);
+    }
+  }
+
+  public Budget budgetOf(String domainKey) {
+    return domains.getOrDefault(domainKey, defaultBudget);
+  }
+
+  /**
+   * 토큰 버킷 예산.
+   *
+   * @param permitsPerSecond 초당 처리 메시지 수
+   * @param burst 순간 최대 처리 메시지 수
+   */
+  public record Budget(double permitsPerSecond, double burst) {}
+}
@@ -0,0 +1,55 @@
+package com.tickatch.logservice.global.quota;
+
+/**
+ * 대기 시간을 예약하는 토큰 버킷.
+ *
+ * <p>{@link #reserve}는 토큰이 부족하면 음수(부채)로 차감하고 채워질 때까지의 대기 시간을 돌려준다. 대기는 호출자가 락 밖에서 수행하므로
+ * 여러 스레드가 도착 순서대로 줄을 선다. {@link #tryReserve}는 토큰이 부족하면 차감하지 않아, 호출자가 기다리는 대신 작업을 돌려보낼 때 쓴다.
+ *
+ * @since 1.0.0
+ */
+public final class ThroughputBucket {
+
+  private final double permitsPerNano;
+  private final double burst;
+  private double tokens;
+  private long refilledAt = System.nanoTime();
+
+  public ThroughputBucket(double permitsPerSecond, double burst) {
+    this.permitsPerNano = permitsPerSecond / 1_000_000_000.0;
+    this.burst = Math.max(1, burst);
+    this.tokens = this.burst;
+  }
+
+  /** 토큰 하나를 차감하고, 사용 가능해질 때까지 기다려야 하는 시간(ns)을 반환한다. */
+  public long reserve() {
+    return reserve(1);
+  }
+
+  /** 토큰 {@code permits}개를 한 번에 차감한다. 배치 단위로 예산을 적용할 때 쓴다. */
+  public synchronized long reserve(int permits) {
+    refill();
+    tokens -= permits;
+    return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+  }
+
+  /**
+   * 토큰이 {@code permits}개 이상이면 차감하고 0을, 부족하면 차감하지 않고 채워질 때까지의 시간(ns)을 반환한다. {@code burst}보다 큰 요청은
+   * 버킷이 가득 찼을 때 허용한다.
+   */
+  public synchronized long tryReserve(int permits) {
+    refill();
+    double needed = Math.min(permits, burst);
+    if (tokens >= needed) {
+      tokens -= permits;
+      return 0;
+    }
+    return (long) Math.ceil((needed - tokens) / permitsPerNano);
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    tokens = Math.min(burst, tokens + (now - refilledAt) * permitsPerNano);
+    refilledAt = now;
+  }
+}
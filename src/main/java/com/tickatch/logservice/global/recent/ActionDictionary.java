@@ -0,0 +1,42 @@
+package com.tickatch.logservice.global.recent;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * action_type 문자열을 정수 코드로 사전 인코딩한다.
+ *
+ * <p>코드 발급은 도메인 쓰기 락 안에서만 일어나고, 조회는 락 없이 읽는다.
+ *
+ * @since 1.0.0
+ */
+final class ActionDictionary {
+
+  static final int ABSENT = -1;
+
+  private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+  private volatile String[] names = new String[0];
+
+  int encode(String actionType) {
+    Integer code = codes.get(actionType);
+    if (code != null) {
+      return code;
+    }
+
+    String[] current = names;
+    String[] next = Arrays.copyOf(current, current.length + 1);
+    next[current.length] = actionType;
+    names = next;
+    codes.put(actionType, current.length);
+    return current.length;
+  }
+
+  int lookup(String actionType) {
+    return codes.getOrDefault(actionType, ABSENT);
+  }
+
+  String[] names() {
+    return names;
+  }
+}
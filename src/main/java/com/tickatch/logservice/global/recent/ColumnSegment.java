@@ -0,0 +1,116 @@
+package com.tickatch.logservice.global.recent;
+
+/**
+ * 고정 크기 컬럼 세그먼트.
+ *
+ * <p>발생 시각(epoch micros), 사전 코드화한 action_type, 엔티티/행위자 ID(상위·하위 long)를 컬럼별 원시 배열에 담는다. 쓰기는 도메인당 한
+ * 스레드이며, 값을 기록한 뒤 {@code size}를 volatile로 공개하므로 조회 스레드는 읽은 size까지 락 없이 스캔할 수 있다.
+ *
+ * @since 1.0.0
+ */
+final class ColumnSegment {
+
+  /** 행당 바이트 수 (occurredAt 8 + action 4 + entity 16 + actor 16). */
+  static final int BYTES_PER_ROW = 44;
+
+  static final long NO_ID = 0L;
+
+  private final long[] occurredAt;
+  private final int[] action;
+  private final long[] entityHi;
+  private final long[] entityLo;
+  private final long[] actorHi;
+  private final long[] actorLo;
+
+  private volatile int size;
+  private volatile long minOccurredAt = Long.MAX_VALUE;
+  private volatile long maxOccurredAt = Long.MIN_VALUE;
+
+  ColumnSegment(int capacity) {
+    occurredAt = new long[capacity];
+    action = new int[capacity];
+    entityHi = new long[capacity];
+    entityLo = new long[capacity];
+    actorHi = new long[capacity];
+    actorLo = new long[capacity];
+  }
+
+  boolean isFull() {
+    return size == occurredAt.length;
+  }
+
+  void append(
+      long occurredAtMicros,
+      int actionCode,
+      long entityHi,
+      long entityLo,
+      long actorHi,
+      long actorLo) {
+    int row = size;
+    occurredAt[row] = occurredAtMicros;
+    action[row] = actionCode;
+    this.entityHi[row] = entityHi;
+    this.entityLo[row] = entityLo;
+    this.actorHi[row] = actorHi;
+    this.actorLo[row] = actorLo;
+    if (occurredAtMicros < minOccurredAt) {
+      minOccurredAt = occurredAtMicros;
+    }
+    if (occurredAtMicros > maxOccurredAt) {
+      maxOccurredAt = occurredAtMicros;
+    }
+    size = row + 1;
+  }
+
+  /**
+   * 조건에 맞는 행을 action 코드별로 센다.
+   *
+   * @param counts action 코드를 인덱스로 하는 누적 배열. 세그먼트에 더 큰 코드가 있으면 무시한다
+   * @param filterEntity 엔티티 조건 사용 여부 (false면 entity 인자는 무시)
+   * @param filterActor 행위자 조건 사용 여부
+   */
+  void countByAction(
+      long fromMicros,
+      long toMicros,
+      boolean filterEntity,
+      long entityHi,
+      long entityLo,
+      boolean filterActor,
+      long actorHi,
+      long actorLo,
+      long[] counts) {
+    int rows = size;
+    if (rows == 0 || maxOccurredAt < fromMicros || minOccurredAt > toMicros) {
+      return;
+    }
+
+    for (int row = 0; row < rows; row++) {
+      long at = occurredAt[row];
+      if (at < fromMicros || at > toMicros) {
+        continue;
+      }
+      if (filterEntity && (this.entityHi[row] != entityHi || this.entityLo[row] != entityLo)) {
+        continue;
+      }
+      if (filterActor && (this.actorHi[row] != actorHi || this.actorLo[row] != actorLo)) {
+        continue;
+      }
+      int code = action[row];
+      if (code < counts.length) {
+        counts[code]++;
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  long maxOccurredAt() {
+    return maxOccurredAt;
+  }
+
+  long bytes() {
+    return (long) occurredAt.length * BYTES_PER_ROW;
+  }
+}
@@ -0,0 +1,31 @@
+package com.tickatch.logservice.global.recent;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 최근 구간 인메모리 컬럼 저장소 설정.
+ *
+ * @param enabled 비활성화 시 모든 조회가 DB로 간다
+ * @param window 유지할 이벤트 시간 구간. 이보다 오래된 세그먼트는 제거된다
+ * @param segmentRows 세그먼트당 행 수
+ * @param maxMemory 전체 도메인 세그먼트 메모리 상한. 초과 시 가장 많이 가진 도메인의 오래된 세그먼트부터 제거한다
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.recent")
+public record RecentWindowProperties(
+    boolean enabled, Duration window, int segmentRows, DataSize maxMemory) {
+
+  public RecentWindowProperties {
+    if (window == null) {
+      window = Duration.ofHours(3);
+    }
+    if (segmentRows <= 0) {
+      segmentRows = 8192;
+    }
+    if (maxMemory == null) {
+      maxMemory = DataSize.ofMegabytes(64);
+    }
+  }
+}
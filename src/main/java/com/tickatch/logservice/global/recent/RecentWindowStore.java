@@ -0,0 +1,294 @@
+package com.tickatch.logservice.global.recent;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.eventtime.EventTimeProcessor;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.eventtime.TimedLogEvent;
+import com.tickatch.logservice.global.eventtime.TooLateLogEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 도메인별 최근 구간 이벤트를 컬럼 세그먼트 링으로 보관하는 인메모리 저장소.
+ *
+ * <p>커밋된 이벤트를 {@link TimedLogEvent}로 받아 적재하고, 대시보드 집계처럼 최근 구간만 보는 조회는 DB 대신 원시 배열 스캔으로 응답한다. 저장 수준
+ * 정책으로 행을 저장하지 않은 이벤트도 받으므로 샘플링 / 롤업 중에는 DB보다 정확한 건수를 돌려준다. 저장소는
+ * 기동 시각 이후(세그먼트가 제거되면 제거된 구간 이후)의 이벤트만 보유하고, 이 인스턴스가 도메인 큐의 유일한 소비자일 때만 빠짐없이 보유한다. 여러 인스턴스나
+ * 샤드가 나눠 소비하면 각자 일부만 보므로, 조회 전에 {@link #covers}로 응답 가능 여부를 확인한다.
+ *
+ * <p>세그먼트는 {@code window}보다 오래되면 제거되고, 전체 메모리가 {@code maxMemory}를 넘으면 세그먼트를 가장 많이 가진 도메인의 오래된
+ * 세그먼트부터 제거된다.
+ *
+ * @since 1.0.0
+ */
+@Component
+public class RecentWindowStore {
+
+  private static final long NOT_OWNED = Long.MAX_VALUE;
+
+  private final RecentWindowProperties properties;
+  private final SoleConsumerProbe soleConsumerProbe;
+  private final EventTimeProcessor eventTimeProcessor;
+  private final int maxSegments;
+  private final long segmentBytes;
+  private final Map<LogDomain, DomainColumns> columns = new EnumMap<>(LogDomain.class);
+  private final Object allocationLock = new Object();
+  private volatile int allocatedSegments;
+
+  public RecentWindowStore(
+      RecentWindowProperties properties,
+      SoleConsumerProbe soleConsumerProbe,
+      EventTimeProcessor eventTimeProcessor,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.soleConsumerProbe = soleConsumerProbe;
+    this.eventTimeProcessor = eventTimeProcessor;
+    this.segmentBytes = (long) properties.segmentRows() * ColumnSegment.BYTES_PER_ROW;
+    this.maxSegments =
+        (int) Math.max(LogDomain.values().length, properties.maxMemory().toBytes() / segmentBytes);
+
+    long startedAt = toMicros(LocalDateTime.now());
+    for (LogDomain domain : LogDomain.values()) {
+      DomainColumns domainColumns = new DomainColumns(startedAt);
+      columns.put(domain, domainColumns);
+      Gauge.builder("log.recent.rows", domainColumns, DomainColumns::rows)
+          .tag("queue", domain.getQueue())
+          .description("최근 구간 저장소에 보관 중인 이벤트 수")
+          .register(meterRegistry);
+    }
+
+    Gauge.builder("log.recent.memory", this, store -> store.allocatedSegments * store.segmentBytes)
+        .description("최근 구간 저장소에 할당된 세그먼트 메모리")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /** 워터마크가 지난 이벤트를 적재한다. 구간 집계는 순서와 무관하므로 늦은 이벤트도 그대로 더한다. */
+  @EventListener
+  public void onTimed(TimedLogEvent event) {
+    append(event.domain(), event.occurredAt(), event.fields());
+  }
+
+  /** 허용 지연을 넘긴 이벤트도 구간 집계에서 빠지지 않도록 적재한다. */
+  @EventListener
+  public void onTooLate(TooLateLogEvent event) {
+    append(event.domain(), event.occurredAt(), event.fields());
+  }
+
+  /**
+   * [from, to] 구간의 이벤트를 DB와 같게 보유하고 있는지 여부.
+   *
+   * <p>이 인스턴스가 {@code from} 이전부터 마지막 확인까지 계속 유일한 소비자였고, 구간이 보관 범위 안이며, {@code to}가 워터마크와 마지막 소유
+   * 확인 시각을 넘지 않아야 한다. 워터마크 이후 이벤트는 아직 재정렬 버퍼에 있다.
+   */
+  public boolean covers(LogDomain domain, LocalDateTime from, LocalDateTime to) {
+    if (!properties.enabled()) {
+      return false;
+    }
+    DomainColumns domainColumns = columns.get(domain);
+    long ownedSince = domainColumns.ownedSince;
+    LocalDateTime watermark = eventTimeProcessor.watermark(domain);
+    long toMicros = toMicros(to);
+    return ownedSince != NOT_OWNED
+        && toMicros(from) >= Math.max(ownedSince, domainColumns.coveredFrom)
+        && toMicros <= domainColumns.ownedUntil
+        && watermark != null
+        && toMicros <= toMicros(watermark);
+  }
+
+  /**
+   * [from, to] 구간의 이벤트를 action_type별로 센다.
+   *
+   * @param entityId 엔티티 조건 (UUID 또는 Long, {@code null}이면 전체)
+   * @param actorUserId 행위자 조건 ({@code null}이면 전체)
+   */
+  public Map<String, Long> countByAction(
+      LogDomain domain,
+      LocalDateTime from,
+      LocalDateTime to,
+      Object entityId,
+      UUID actorUserId) {
+    DomainColumns domainColumns = columns.get(domain);
+    String[] names = domainColumns.dictionary.names();
+    long[] counts = new long[names.length];
+
+    long fromMicros = toMicros(from);
+    long toMicros = toMicros(to);
+    for (ColumnSegment segment : domainColumns.segments) {
+      segment.countByAction(
+          fromMicros,
+          toMicros,
+          entityId != null,
+          high(entityId),
+          low(entityId),
+          actorUserId != null,
+          high(actorUserId),
+          low(actorUserId),
+          counts);
+    }
+
+    Map<String, Long> result = new LinkedHashMap<>();
+    for (int code = 0; code < names.length; code++) {
+      if (counts[code] > 0) {
+        result.put(names[code], counts[code]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 도메인별로 이 인스턴스가 큐의 유일한 소비자인지 확인한다. 다른 소비자가 보이면 보유 구간을 버리고, 다시 유일해진 시각부터 새로 보유한다. 두 확인
+   * 사이에 다른 소비자가 붙었다 떠나는 경우는 잡지 못하므로 주기는 짧게 둔다.
+   */
+  @Scheduled(fixedDelayString = "${log.recent.ownership-check-interval:10s}")
+  public void checkOwnership() {
+    for (Map.Entry<LogDomain, DomainColumns> entry : columns.entrySet()) {
+      DomainColumns domainColumns = entry.getValue();
+      long now = toMicros(LocalDateTime.now());
+      if (properties.enabled() && soleConsumerProbe.isSoleConsumer(entry.getKey())) {
+        if (domainColumns.ownedSince == NOT_OWNED) {
+          domainColumns.ownedSince = now;
+        }
+        domainColumns.ownedUntil = now;
+      } else {
+        domainColumns.ownedSince = NOT_OWNED;
+      }
+    }
+  }
+
+  /** {@code window}보다 오래된 세그먼트를 제거한다. 쓰기 중인 마지막 세그먼트는 남긴다. */
+  @Scheduled(fixedDelayString = "${log.recent.eviction-interval:1m}")
+  public void evictExpired() {
+    long threshold = toMicros(LocalDateTime.now().minus(properties.window()));
+    synchronized (allocationLock) {
+      for (DomainColumns domainColumns : columns.values()) {
+        ColumnSegment[] segments = domainColumns.segments;
+        int expired = 0;
+        while (expired < segments.length - 1 && segments[expired].maxOccurredAt() < threshold) {
+          expired++;
+        }
+        if (expired > 0) {
+          evict(domainColumns, expired);
+        }
+      }
+    }
+  }
+
+  private void append(LogDomain domain, LocalDateTime occurredAt, LogEventFields fields) {
+    if (!properties.enabled() || fields == null) {
+      return;
+    }
+    DomainColumns domainColumns = columns.get(domain);
+    long occurredAtMicros = toMicros(occurredAt);
+
+    synchronized (domainColumns) {
+      if (occurredAtMicros < domainColumns.coveredFrom) {
+        return; // 기동 이전 또는 이미 제거된 구간의 이벤트
+      }
+
+      ColumnSegment active = domainColumns.active();
+      if (active == null || active.isFull()) {
+        active = allocate(domainColumns);
+      }
+      active.append(
+          occurredAtMicros,
+          domainColumns.dictionary.encode(fields.actionType()),
+          high(fields.entityId()),
+          low(fields.entityId()),
+          high(fields.actorUserId()),
+          low(fields.actorUserId()));
+    }
+  }
+
+  private ColumnSegment allocate(DomainColumns target) {
+    synchronized (allocationLock) {
+      if (allocatedSegments >= maxSegments) {
+        evictLargest();
+      }
+
+      ColumnSegment segment = new ColumnSegment(properties.segmentRows());
+      ColumnSegment[] segments = target.segments;
+      ColumnSegment[] next = Arrays.copyOf(segments, segments.length + 1);
+      next[segments.length] = segment;
+      target.segments = next;
+      allocatedSegments++;
+      return segment;
+    }
+  }
+
+  /** 메모리 상한 도달 시 세그먼트를 가장 많이 가진 도메인의 가장 오래된 세그먼트를 제거한다. */
+  private void evictLargest() {
+    DomainColumns largest = null;
+    for (DomainColumns domainColumns : columns.values()) {
+      if (domainColumns.segments.length > 1
+          && (largest == null || domainColumns.segments.length > largest.segments.length)) {
+        largest = domainColumns;
+      }
+    }
+    if (largest != null) {
+      evict(largest, 1);
+    }
+  }
+
+  private void evict(DomainColumns domainColumns, int count) {
+    ColumnSegment[] segments = domainColumns.segments;
+    long coveredFrom = domainColumns.coveredFrom;
+    for (int i = 0; i < count; i++) {
+      coveredFrom = Math.max(coveredFrom, segments[i].maxOccurredAt() + 1);
+    }
+    domainColumns.coveredFrom = coveredFrom;
+    domainColumns.segments = Arrays.copyOfRange(segments, count, segments.length);
+    allocatedSegments -= count;
+  }
+
+  private static long toMicros(LocalDateTime time) {
+    return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+  }
+
+  private static long high(Object id) {
+    return id instanceof UUID uuid ? uuid.getMostSignificantBits() : ColumnSegment.NO_ID;
+  }
+
+  private static long low(Object id) {
+    if (id instanceof UUID uuid) {
+      return uuid.getLeastSignificantBits();
+    }
+    return id instanceof Number number ? number.longValue() : ColumnSegment.NO_ID;
+  }
+
+  private static final class DomainColumns {
+
+    private final ActionDictionary dictionary = new ActionDictionary();
+    private volatile ColumnSegment[] segments = new ColumnSegment[0];
+    private volatile long coveredFrom;
+    private volatile long ownedSince = NOT_OWNED;
+    private volatile long ownedUntil;
+
+    private DomainColumns(long coveredFrom) {
+      this.coveredFrom = coveredFrom;
+    }
+
+    private ColumnSegment active() {
+      ColumnSegment[] current = segments;
+      return current.length == 0 ? null : current[current.length - 1];
+    }
+
+    private long rows() {
+      long rows = 0;
+      for (ColumnSegment segment : segments) {
+        rows += segment.size();
+      }
+      return rows;
+    }
+  }
+}
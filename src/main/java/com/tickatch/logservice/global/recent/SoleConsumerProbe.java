@@ -0,0 +1,71 @@
+package com.tickatch.logservice.global.recent;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.stream.StreamIngestManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 인스턴스가 도메인 큐의 유일한 소비자인지 확인한다.
+ *
+ * <p>브로커가 보고한 큐 소비자 수가 이 인스턴스 리스너의 활성 소비자 수와 같을 때만 유일하다고 본다. 샤딩 모드(큐가 샤드로 나뉜다)와 스트림 소비
+ * 도메인(단일 활성 소비자가 어느 인스턴스인지 알 수 없다)은 항상 유일하지 않다. 확인에 실패하면 유일하지 않은 것으로 본다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SoleConsumerProbe {
+
+  private final RabbitListenerEndpointRegistry listenerRegistry;
+  private final AmqpAdmin amqpAdmin;
+  private final ObjectProvider<StreamIngestManager> streamIngestManager;
+  private final boolean sharded;
+
+  public SoleConsumerProbe(
+      RabbitListenerEndpointRegistry listenerRegistry,
+      AmqpAdmin amqpAdmin,
+      ObjectProvider<StreamIngestManager> streamIngestManager,
+      @Value("${log.sharding.enabled:false}") boolean sharded) {
+    this.listenerRegistry = listenerRegistry;
+    this.amqpAdmin = amqpAdmin;
+    this.streamIngestManager = streamIngestManager;
+    this.sharded = sharded;
+  }
+
+  public boolean isSoleConsumer(LogDomain domain) {
+    if (sharded) {
+      return false;
+    }
+    StreamIngestManager streams = streamIngestManager.getIfAvailable();
+    if (streams != null && streams.consumes(domain)) {
+      return false;
+    }
+
+    MessageListenerContainer container =
+        listenerRegistry.getListenerContainer(domain.getListenerId());
+    if (!(container instanceof SimpleMessageListenerContainer simple) || !simple.isRunning()) {
+      return false;
+    }
+    int local = simple.getActiveConsumerCount();
+    if (local == 0) {
+      return false;
+    }
+
+    try {
+      QueueInformation queue = amqpAdmin.getQueueInfo(domain.getQueue());
+      return queue != null && queue.getConsumerCount() == local;
+    } catch (AmqpException e) {
+      log.debug("Failed to read consumer count of {}", domain.getQueue(), e);
+      return false;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.tickatch.logservice.global.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tickatch.logservice.global.schema.EventSchemaDefinition.Upcast;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 한 버전에서 현재 버전까지의 업캐스트 단계를 하나로 합친 변환기.
+ *
+ * <p>기동 시 단계별 이름 변경을 최종 이름으로 합성해 두므로, 메시지마다 버전 수만큼 본문을 다시 훑지 않고 필드 이름 변경, actionType 변경,
+ * 기본값 채우기를 한 번씩만 수행한다.
+ *
+ * @since 1.0.0
+ */
+final class CompiledUpcaster {
+
+  static final String ACTION_FIELD = "actionType";
+
+  private final Map<String, String> fieldRenames;
+  private final Map<String, String> actionRenames;
+  private final Map<String, JsonNode> defaults;
+
+  private CompiledUpcaster(
+      Map<String, String> fieldRenames,
+      Map<String, String> actionRenames,
+      Map<String, JsonNode> defaults) {
+    this.fieldRenames = fieldRenames;
+    this.actionRenames = actionRenames;
+    this.defaults = defaults;
+  }
+
+  /** 오래된 버전부터 순서대로 놓인 단계를 합성한다. */
+  static CompiledUpcaster compile(List<Upcast> steps) {
+    Map<String, JsonNode> defaults = new LinkedHashMap<>();
+    for (int i = 0; i < steps.size(); i++) {
+      List<Upcast> later = steps.subList(i + 1, steps.size());
+      for (Map.Entry<String, JsonNode> entry : steps.get(i).defaults().entrySet()) {
+        defaults.put(trace(entry.getKey(), later, Upcast::renameFields), entry.getValue());
+      }
+    }
+
+    return new CompiledUpcaster(
+        compose(steps, Upcast::renameFields),
+        compose(steps, Upcast::renameActions),
+        Map.copyOf(defaults));
+  }
+
+  void apply(ObjectNode body) {
+    if (!fieldRenames.isEmpty()) {
+      // 이름을 맞바꾸는 경우가 있으므로 모두 떼어 낸 뒤 새 이름으로 붙인다
+      Map<String, JsonNode> moved = new HashMap<>();
+      fieldRenames.forEach(
+          (from, to) -> {
+            JsonNode value = body.remove(from);
+            if (value != null) {
+              moved.put(to, value);
+            }
+          });
+      moved.forEach(body::set);
+    }
+
+    if (!actionRenames.isEmpty()) {
+      JsonNode action = body.get(ACTION_FIELD);
+      if (action != null && action.isTextual()) {
+        String renamed = actionRenames.get(action.textValue());
+        if (renamed != null) {
+          body.put(ACTION_FIELD, renamed);
+        }
+      }
+    }
+
+    defaults.forEach(
+        (field, value) -> {
+          if (!body.hasNonNull(field)) {
+            body.set(field, value.deepCopy());
+          }
+        });
+  }
+
+  private static Map<String, String> compose(
+      List<Upcast> steps, Function<Upcast, Map<String, String>> renames) {
+    Set<String> names = new LinkedHashSet<>();
+    steps.forEach(step -> names.addAll(renames.apply(step).keySet()));
+
+    Map<String, String> composed = new HashMap<>();
+    for (String name : names) {
+      String traced = trace(name, steps, renames);
+      if (!traced.equals(name)) {
+        composed.put(name, traced);
+      }
+    }
+    return Map.copyOf(composed);
+  }
+
+  private static String trace(
+      String name, List<Upcast> steps, Function<Upcast, Map<String, String>> renames) {
+    String current = name;
+    for (Upcast step : steps) {
+      current = renames.apply(step).getOrDefault(current, current);
+    }
+    return current;
+  }
+}
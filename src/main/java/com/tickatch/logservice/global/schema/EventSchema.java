@@ -0,0 +1,116 @@
+package com.tickatch.logservice.global.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.schema.EventSchemaDefinition.Upcast;
+import com.tickatch.logservice.global.schema.EventSchemaDefinition.Version;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * 도메인 하나의 컴파일된 이벤트 스키마.
+ *
+ * <p>버전별로 현재 버전까지 올리는 {@link CompiledUpcaster}를 미리 만들어 두고, 디코딩 시 버전 번호로 배열에서 바로 꺼낸다.
+ *
+ * @since 1.0.0
+ */
+@Getter
+final class EventSchema {
+
+  private final LogDomain domain;
+  private final int oldestVersion;
+  private final int currentVersion;
+  private final int unversioned;
+  private final Set<String> currentFields;
+  private final CompiledUpcaster[] upcasters;
+
+  private EventSchema(
+      LogDomain domain,
+      int oldestVersion,
+      int currentVersion,
+      int unversioned,
+      Set<String> currentFields,
+      CompiledUpcaster[] upcasters) {
+    this.domain = domain;
+    this.oldestVersion = oldestVersion;
+    this.currentVersion = currentVersion;
+    this.unversioned = unversioned;
+    this.currentFields = currentFields;
+    this.upcasters = upcasters;
+  }
+
+  static EventSchema compile(EventSchemaDefinition definition) {
+    LogDomain domain =
+        LogDomain.fromKey(definition.domain())
+            .orElseThrow(
+                () ->
+                    new IllegalStateException(
+                        "Unknown log domain in event schema: " + definition.domain()));
+    List<Version> versions = definition.versions();
+    if (versions.isEmpty()) {
+      throw new IllegalStateException("Event schema has no versions: " + domain.getKey());
+    }
+
+    int oldest = versions.get(0).version();
+    for (int i = 0; i < versions.size(); i++) {
+      if (versions.get(i).version() != oldest + i) {
+        throw new IllegalStateException(
+            "Event schema versions must increase by 1: " + domain.getKey());
+      }
+    }
+    Version current = versions.get(versions.size() - 1);
+    if (current.fields().isEmpty()) {
+      throw new IllegalStateException(
+          "Current event schema version must list its fields: " + domain.getKey());
+    }
+
+    int unversioned = definition.unversioned() == null ? oldest : definition.unversioned();
+    if (unversioned < oldest || unversioned > current.version()) {
+      throw new IllegalStateException(
+          "Unversioned event schema version out of range: " + domain.getKey());
+    }
+
+    // upcasters[i]: 버전 oldest + i에서 현재 버전까지. 현재 버전은 변환이 없다.
+    CompiledUpcaster[] upcasters = new CompiledUpcaster[versions.size() - 1];
+    for (int i = 0; i < upcasters.length; i++) {
+      List<Upcast> steps =
+          versions.subList(i + 1, versions.size()).stream().map(Version::upcast).toList();
+      upcasters[i] = CompiledUpcaster.compile(steps);
+    }
+
+    return new EventSchema(
+        domain, oldest, current.version(), unversioned, current.fields(), upcasters);
+  }
+
+  /**
+   * 본문을 현재 버전으로 올리고, 현재 버전에 없는 필드를 떼어 낸다.
+   *
+   * <p>현재 버전보다 새로운 버전은 모르는 필드만 떼어 내고 그대로 디코딩한다.
+   *
+   * @return 떼어 낸 필드. 없으면 {@code null}
+   */
+  ObjectNode upcast(ObjectNode body, int version) {
+    if (version < currentVersion) {
+      upcasters[version - oldestVersion].apply(body);
+    }
+
+    ObjectNode overflow = null;
+    Iterator<Map.Entry<String, JsonNode>> fields = body.properties().iterator();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      if (!currentFields.contains(field.getKey())) {
+        if (overflow == null) {
+          overflow = JsonNodeFactory.instance.objectNode();
+        }
+        overflow.set(field.getKey(), field.getValue());
+        fields.remove();
+      }
+    }
+    return overflow;
+  }
+}
@@ -0,0 +1,189 @@
+package com.tickatch.logservice.global.schema;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import io.github.tickatch.common.util.JsonUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리스너 컨테이너의 after-receive 후처리로 메시지 본문을 현재 스키마 버전으로 맞춘다.
+ *
+ * <p>이전 버전 본문은 컴파일된 업캐스터로 변환하고, 현재 버전에 없는 필드는 본문에서 떼어 {@link EventSchemaHeaders#OVERFLOW} 헤더로
+ * 옮긴다. 그래서 이벤트 record는 현재 버전만 알면 되고, 발행 서비스가 필드를 추가해도 DLQ로 가거나 값이 버려지지 않는다. 변환할 것이 없는
+ * 메시지는 본문을 다시 쓰지 않는다. 발행 쪽이 보낸 {@link EventSchemaHeaders#OVERFLOW} 헤더는 항상 지운다.
+ *
+ * <p>가장 오래된 버전보다 이전 버전이나 읽을 수 없는 버전 헤더는 DLQ로 보낸다. 현재보다 새로운 버전은 모르는 필드만 떼어 내고 저장한다.
+ *
+ * <p>샤딩 모드에서는 원본 큐를 재발행하는 라우터를 건너뛰고, DB에 쓰는 샤드 큐에서 한 번만 변환한다.
+ *
+ * <p>메트릭: {@code log.schema.decoded{result=current|upcast|newer}}, {@code log.schema.overflow}
+ *
+ * @since 1.0.0
+ */
+@Component
+public class EventSchemaDecoder implements MessagePostProcessor {
+
+  private static final int CURRENT = 0;
+  private static final int UPCAST = 1;
+  private static final int NEWER = 2;
+
+  private final EventSchemaRegistry registry;
+  private final boolean enabled;
+  private final boolean sharded;
+  private final ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+  private final Map<LogDomain, Counter[]> decoded = new EnumMap<>(LogDomain.class);
+  private final Map<LogDomain, Counter> overflowed = new EnumMap<>(LogDomain.class);
+
+  public EventSchemaDecoder(
+      EventSchemaRegistry registry,
+      EventSchemaProperties properties,
+      @Value("${log.sharding.enabled:false}") boolean sharded,
+      MeterRegistry meterRegistry) {
+    this.registry = registry;
+    this.enabled = properties.enabled();
+    this.sharded = sharded;
+
+    for (LogDomain domain : LogDomain.values()) {
+      decoded.put(
+          domain,
+          new Counter[] {
+            decodedCounter(meterRegistry, domain, "current"),
+            decodedCounter(meterRegistry, domain, "upcast"),
+            decodedCounter(meterRegistry, domain, "newer")
+          });
+      overflowed.put(
+          domain,
+          Counter.builder("log.schema.overflow")
+              .tag("queue", domain.getQueue())
+              .description("현재 스키마에 없는 필드를 overflow로 옮긴 메시지 수")
+              .register(meterRegistry));
+    }
+  }
+
+  @Override
+  public Message postProcessMessage(Message message) {
+    MessageProperties messageProperties = message.getMessageProperties();
+    // overflow 헤더는 이 후처리만 채운다. 발행 쪽이 보낸 값은 본문 검증 없이 저장되므로 버린다
+    messageProperties.getHeaders().remove(EventSchemaHeaders.OVERFLOW);
+    if (!enabled) {
+      return message;
+    }
+
+    LogDomain domain =
+        LogDomain.fromConsumerQueue(messageProperties.getConsumerQueue(), sharded).orElse(null);
+    EventSchema schema = domain == null ? null : registry.schemaOf(domain);
+    if (schema == null) {
+      return message;
+    }
+
+    ObjectNode body;
+    try {
+      JsonNode root = objectMapper.readTree(message.getBody());
+      if (!(root instanceof ObjectNode object)) {
+        return message; // 메시지 변환기가 실패시켜 DLQ로 보낸다
+      }
+      body = object;
+    } catch (IOException e) {
+      return message;
+    }
+
+    JsonNode versionField = body.remove(EventSchemaHeaders.VERSION_FIELD);
+    int version =
+        resolveVersion(
+            schema, messageProperties.getHeader(EventSchemaHeaders.VERSION), versionField);
+
+    ObjectNode overflow = schema.upcast(body, version);
+
+    int result =
+        version < schema.getCurrentVersion()
+            ? UPCAST
+            : version > schema.getCurrentVersion() ? NEWER : CURRENT;
+    decoded.get(domain)[result].increment();
+    if (overflow != null) {
+      overflowed.get(domain).increment();
+    }
+    if (result == CURRENT && overflow == null && versionField == null) {
+      return message;
+    }
+
+    try {
+      byte[] upcasted = objectMapper.writeValueAsBytes(body);
+      messageProperties.setContentLength(upcasted.length);
+      messageProperties.setHeader(EventSchemaHeaders.VERSION, schema.getCurrentVersion());
+      if (overflow != null) {
+        messageProperties.setHeader(EventSchemaHeaders.OVERFLOW, overflow.toString());
+      }
+      return new Message(upcasted, messageProperties);
+    } catch (JsonProcessingException e) {
+      throw new AmqpRejectAndDontRequeueException("Failed to re-encode upcasted message", e);
+    }
+  }
+
+  /**
+   * 메시지 밖에서 읽은 이벤트 본문(백필 덤프 등)을 현재 스키마 버전으로 맞춘다.
+   *
+   * <p>버전은 본문의 {@code schemaVersion} 필드로 판단한다. 메트릭은 남기지 않는다.
+   *
+   * @return 현재 버전에 없어 떼어 낸 필드. 없거나 스키마 처리를 껐으면 {@code null}
+   * @throws AmqpRejectAndDontRequeueException 지원하지 않거나 읽을 수 없는 버전
+   */
+  public ObjectNode upcast(LogDomain domain, ObjectNode body) {
+    EventSchema schema = enabled ? registry.schemaOf(domain) : null;
+    if (schema == null) {
+      return null;
+    }
+    JsonNode versionField = body.remove(EventSchemaHeaders.VERSION_FIELD);
+    return schema.upcast(body, resolveVersion(schema, null, versionField));
+  }
+
+  private static int resolveVersion(EventSchema schema, Object header, JsonNode versionField) {
+    int version;
+    if (header instanceof Number number) {
+      version = number.intValue();
+    } else if (header != null) {
+      version = parseVersion(header.toString());
+    } else if (versionField != null && versionField.canConvertToInt()) {
+      version = versionField.intValue();
+    } else if (versionField != null) {
+      version = parseVersion(versionField.asText());
+    } else {
+      version = schema.getUnversioned();
+    }
+
+    if (version < schema.getOldestVersion()) {
+      throw new AmqpRejectAndDontRequeueException(
+          "Unsupported " + schema.getDomain().getKey() + " event schema version: " + version);
+    }
+    return version;
+  }
+
+  private static int parseVersion(String value) {
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new AmqpRejectAndDontRequeueException("Unreadable event schema version: " + value, e);
+    }
+  }
+
+  private static Counter decodedCounter(
+      MeterRegistry meterRegistry, LogDomain domain, String result) {
+    return Counter.builder("log.schema.decoded")
+        .tag("queue", domain.getQueue())
+        .tag("result", result)
+        .description("스키마 버전 처리 결과별 디코딩 메시지 수")
+        .register(meterRegistry);
+  }
+}
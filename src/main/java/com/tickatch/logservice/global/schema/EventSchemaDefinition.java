@@ -0,0 +1,74 @@
+package com.tickatch.logservice.global.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 스키마 파일({@code event-schemas/<domain>.json})의 내용.
+ *
+ * <pre>{@code
+ * {
+ *   "domain": "product",
+ *   "unversioned": 1,
+ *   "versions": [
+ *     { "version": 1, "fields": ["eventId", "productId", "actionType", ...] },
+ *     { "version": 2, "fields": [...],
+ *       "upcast": {
+ *         "renameFields": { "productNo": "productId" },
+ *         "renameActions": { "SALE_OPENED": "SALE_STARTED" },
+ *         "defaults": { "actorType": "SYSTEM" } } }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * <p>각 버전의 {@code upcast}는 직전 버전에서 해당 버전으로 올리는 규칙이다. 마지막 버전이 Consumer의 이벤트 record와 같아야 한다.
+ *
+ * @param domain {@code LogDomain} 키
+ * @param unversioned 버전 헤더가 없는 메시지의 버전. 없으면 가장 오래된 버전
+ * @param versions 버전 목록 (1씩 증가)
+ * @since 1.0.0
+ */
+record EventSchemaDefinition(String domain, Integer unversioned, List<Version> versions) {
+
+  EventSchemaDefinition {
+    versions = versions == null ? List.of() : List.copyOf(versions);
+  }
+
+  /**
+   * 스키마 버전.
+   *
+   * @param version 버전 번호
+   * @param fields 이 버전의 필드 목록. 마지막 버전에 없는 필드는 overflow로 보내진다
+   * @param upcast 직전 버전에서 이 버전으로 올리는 규칙
+   */
+  record Version(int version, Set<String> fields, Upcast upcast) {
+
+    Version {
+      fields = fields == null ? Set.of() : Set.copyOf(fields);
+      upcast = upcast == null ? Upcast.NONE : upcast;
+    }
+  }
+
+  /**
+   * 한 단계 업캐스트 규칙.
+   *
+   * @param renameFields 이전 필드명 → 새 필드명
+   * @param renameActions 이전 actionType → 새 actionType
+   * @param defaults 값이 없을 때 채울 필드 (새 버전 필드명 기준)
+   */
+  record Upcast(
+      Map<String, String> renameFields,
+      Map<String, String> renameActions,
+      Map<String, JsonNode> defaults) {
+
+    static final Upcast NONE = new Upcast(null, null, null);
+
+    Upcast {
+      renameFields = renameFields == null ? Map.of() : Map.copyOf(renameFields);
+      renameActions = renameActions == null ? Map.of() : Map.copyOf(renameActions);
+      defaults = defaults == null ? Map.of() : Map.copyOf(defaults);
+    }
+  }
+}
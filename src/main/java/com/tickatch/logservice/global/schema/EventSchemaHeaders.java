@@ -0,0 +1,20 @@
+package com.tickatch.logservice.global.schema;
+
+/**
+ * 이벤트 스키마 관련 메시지 헤더.
+ *
+ * @since 1.0.0
+ */
+public final class EventSchemaHeaders {
+
+  /** 발행 서비스가 붙이는 이벤트 스키마 버전. 없으면 스키마 파일의 {@code unversioned} 버전으로 본다. */
+  public static final String VERSION = "x-schema-version";
+
+  /** 현재 버전 스키마에 없는 필드를 모은 JSON 객체. Consumer가 overflow 컬럼에 그대로 저장한다. */
+  public static final String OVERFLOW = "x-log-overflow";
+
+  /** 헤더 대신 본문에 버전을 싣는 발행 서비스용 필드. 디코딩 시 본문에서 제거된다. */
+  static final String VERSION_FIELD = "schemaVersion";
+
+  private EventSchemaHeaders() {}
+}
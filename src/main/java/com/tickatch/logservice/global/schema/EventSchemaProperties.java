@@ -0,0 +1,20 @@
+package com.tickatch.logservice.global.schema;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 이벤트 스키마 레지스트리 설정.
+ *
+ * @param enabled 비활성화 시 메시지를 변환 없이 그대로 디코딩한다
+ * @param location 스키마 파일 위치 패턴. {@code file:} 경로를 쓰면 Consumer 재배포 없이 스키마 파일만 교체해 재기동할 수 있다
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.schema")
+public record EventSchemaProperties(boolean enabled, String location) {
+
+  public EventSchemaProperties {
+    if (location == null || location.isBlank()) {
+      location = "classpath*:event-schemas/*.json";
+    }
+  }
+}
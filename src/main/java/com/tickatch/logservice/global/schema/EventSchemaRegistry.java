@@ -0,0 +1,61 @@
+package com.tickatch.logservice.global.schema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import io.github.tickatch.common.util.JsonUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로컬 스키마 파일을 읽어 도메인별 이벤트 스키마를 보관하는 레지스트리.
+ *
+ * <p>기동 시 한 번 읽고 업캐스트 단계를 컴파일한다. 파일이 잘못되었으면 기동을 실패시켜, 잘못된 변환으로 로그가 저장되지 않게 한다. 스키마 파일이
+ * 없는 도메인은 변환 없이 디코딩된다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class EventSchemaRegistry {
+
+  private final Map<LogDomain, EventSchema> schemas = new EnumMap<>(LogDomain.class);
+
+  public EventSchemaRegistry(EventSchemaProperties properties) throws IOException {
+    if (!properties.enabled()) {
+      return;
+    }
+
+    ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+    Resource[] resources =
+        new PathMatchingResourcePatternResolver().getResources(properties.location());
+    for (Resource resource : resources) {
+      EventSchemaDefinition definition;
+      try (InputStream in = resource.getInputStream()) {
+        definition = objectMapper.readValue(in, EventSchemaDefinition.class);
+      }
+
+      EventSchema schema = EventSchema.compile(definition);
+      if (schemas.putIfAbsent(schema.getDomain(), schema) != null) {
+        throw new IllegalStateException(
+            "Duplicate event schema for domain: " + schema.getDomain().getKey());
+      }
+      log.info(
+          "Loaded event schema: domain={}, versions={}..{}, unversioned={}",
+          schema.getDomain().getKey(),
+          schema.getOldestVersion(),
+          schema.getCurrentVersion(),
+          schema.getUnversioned());
+    }
+  }
+
+  /** 도메인의 스키마. 스키마 파일이 없으면 {@code null}. */
+  EventSchema schemaOf(LogDomain domain) {
+    return schemas.get(domain);
+  }
+}
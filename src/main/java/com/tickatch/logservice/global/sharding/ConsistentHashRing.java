@@ -0,0 +1,55 @@
+package com.tickatch.logservice.global.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 인스턴스 ID 기반 consistent hash 링.
+ *
+ * <p>인스턴스마다 가상 노드를 링에 배치하고, 키는 시계 방향으로 가장 가까운 노드의 인스턴스에 할당된다. 인스턴스가 추가/제거되면 해당 인스턴스의
+ * 구간에 속한 키만 이동한다.
+ *
+ * @since 1.0.0
+ */
+public final class ConsistentHashRing {
+
+  private final TreeMap<Long, String> ring = new TreeMap<>();
+
+  public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+    for (String member : members) {
+      for (int i = 0; i < virtualNodes; i++) {
+        ring.put(hash(member + "#" + i), member);
+      }
+    }
+  }
+
+  public boolean isEmpty() {
+    return ring.isEmpty();
+  }
+
+  /** 키를 담당하는 인스턴스 ID. 링이 비어 있으면 {@code null}. */
+  public String ownerOf(String key) {
+    if (ring.isEmpty()) {
+      return null;
+    }
+    Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+    return (entry != null ? entry : ring.firstEntry()).getValue();
+  }
+
+  /** FNV-1a 64bit 해시 후 비트 혼합(murmur3 fmix64)으로 분포를 고르게 한다. */
+  static long hash(String value) {
+    long h = 0xcbf29ce484222325L;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b & 0xff;
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
@@ -0,0 +1,200 @@
+package com.tickatch.logservice.global.sharding;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.config.sharding.ShardingConfig;
+import com.tickatch.logservice.global.config.sharding.ShardingProperties;
+import com.tickatch.logservice.global.lifecycle.IngestReadyEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Eureka 멤버십을 기준으로 샤드 큐 소유권을 계산하고 Consumer 컨테이너의 구독 큐를 조정한다.
+ *
+ * <p>레지스트리 갱신({@link HeartbeatEvent})마다 멤버 목록을 확인하고, 변경되었을 때만 consistent hash 링을 다시 만들어
+ * 소유 샤드를 재할당한다. 멤버가 바뀌어도 이동하는 샤드는 추가/제거된 인스턴스의 구간뿐이므로, 인스턴스 로컬 캐시·중복 제거·집계 상태가 대부분 그대로
+ * 유효하다.
+ *
+ * <p>원본 큐 순서를 지키려면 라우터가 한 인스턴스에서만 돌아야 하므로, 라우터 리더는 멤버십 대신 {@link ShardRouterLeadership}의 DB
+ * advisory lock으로 정하고 {@code leader-check-interval}마다 다시 확인한다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "log.sharding", name = "enabled", havingValue = "true")
+public class ShardAssignmentManager {
+
+  private final RabbitListenerEndpointRegistry listenerRegistry;
+  private final DiscoveryClient discoveryClient;
+  private final ShardRouterLeadership routerLeadership;
+  private final ShardingProperties properties;
+  private final String serviceId;
+  private final String instanceId;
+
+  private final Map<LogDomain, List<String>> assignments = new EnumMap<>(LogDomain.class);
+  private volatile List<String> members = List.of();
+  private volatile boolean routerLeader;
+  private volatile boolean ready;
+
+  public ShardAssignmentManager(
+      RabbitListenerEndpointRegistry listenerRegistry,
+      DiscoveryClient discoveryClient,
+      ShardRouterLeadership routerLeadership,
+      ShardingProperties properties,
+      MeterRegistry meterRegistry,
+      @Value("${spring.application.name}") String serviceId,
+      @Value("${eureka.instance.instance-id:${spring.application.name}}") String instanceId) {
+    this.listenerRegistry = listenerRegistry;
+    this.discoveryClient = discoveryClient;
+    this.routerLeadership = routerLeadership;
+    this.properties = properties;
+    this.serviceId = serviceId;
+    this.instanceId = instanceId;
+
+    Gauge.builder("log.sharding.owned.shards", this, ShardAssignmentManager::ownedShardCount)
+        .description("이 인스턴스가 소유한 샤드 큐 수")
+        .register(meterRegistry);
+    Gauge.builder("log.sharding.members", this, manager -> manager.members.size())
+        .description("샤드를 나눠 가진 인스턴스 수")
+        .register(meterRegistry);
+  }
+
+  @EventListener(IngestReadyEvent.class)
+  public void onIngestReady() {
+    ready = true;
+    rebalance(true);
+  }
+
+  @EventListener(HeartbeatEvent.class)
+  public void onHeartbeat() {
+    rebalance(false);
+  }
+
+  /** drain 시작 전에 호출되어, 진행 중인 재할당을 마무리하고 이후 재할당을 막는다. */
+  @EventListener(ContextClosedEvent.class)
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  public synchronized void onContextClosed() {
+    ready = false;
+  }
+
+  public synchronized void rebalance(boolean force) {
+    if (!ready) {
+      return;
+    }
+
+    List<String> current = currentMembers();
+    if (!force && current.equals(members)) {
+      return;
+    }
+
+    ConsistentHashRing ring = new ConsistentHashRing(current, properties.virtualNodes());
+
+    for (LogDomain domain : LogDomain.values()) {
+      List<String> owned =
+          IntStream.range(0, properties.shardCount())
+              .filter(shard -> instanceId.equals(ring.ownerOf(domain.getKey() + "#" + shard)))
+              .mapToObj(shard -> ShardingConfig.shardQueue(domain, shard))
+              .toList();
+      subscribe(domain.getListenerId(), owned);
+      assignments.put(domain, owned);
+    }
+
+    updateRouter();
+
+    members = current;
+    log.info(
+        "Shard assignment updated: members={}, ownedShards={}, routerLeader={}",
+        current,
+        ownedShardCount(),
+        routerLeader);
+  }
+
+  /** 리더 잠금을 잡았거나 잃었으면 이 인스턴스의 라우터를 시작하거나 멈춘다. */
+  @Scheduled(fixedDelayString = "${log.sharding.leader-check-interval:5s}")
+  public synchronized void updateRouter() {
+    if (!ready) {
+      return;
+    }
+
+    boolean leader = routerLeadership.acquire();
+    if (leader != routerLeader) {
+      log.info("Shard router leadership changed: leader={}", leader);
+    }
+    routerLeader = leader;
+    MessageListenerContainer router =
+        listenerRegistry.getListenerContainer(ShardRouter.LISTENER_ID);
+    if (router != null) {
+      if (routerLeader && !router.isRunning()) {
+        router.start();
+      } else if (!routerLeader && router.isRunning()) {
+        router.stop();
+      }
+    }
+  }
+
+  public synchronized Map<LogDomain, List<String>> getAssignments() {
+    return Map.copyOf(assignments);
+  }
+
+  public List<String> getMembers() {
+    return members;
+  }
+
+  public boolean isRouterLeader() {
+    return routerLeader;
+  }
+
+  private List<String> currentMembers() {
+    Set<String> ids = new TreeSet<>();
+    ids.add(instanceId);
+    for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+      if (instance.getInstanceId() != null) {
+        ids.add(instance.getInstanceId());
+      }
+    }
+    return List.copyOf(ids);
+  }
+
+  private void subscribe(String listenerId, List<String> queues) {
+    MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+    if (!(container instanceof AbstractMessageListenerContainer listenerContainer)) {
+      return;
+    }
+
+    if (queues.isEmpty()) {
+      listenerContainer.stop();
+      return;
+    }
+
+    // 실행 중인 컨테이너는 큐 변경 시 Consumer를 재구독한다 (처리 중 메시지는 완료 후 전환)
+    listenerContainer.setQueueNames(queues.toArray(String[]::new));
+    if (!listenerContainer.isRunning()) {
+      listenerContainer.start();
+    }
+  }
+
+  private synchronized int ownedShardCount() {
+    return assignments.values().stream().mapToInt(List::size).sum();
+  }
+}
@@ -0,0 +1,89 @@
+package com.tickatch.logservice.global.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.config.sharding.ShardingConfig;
+import com.tickatch.logservice.global.config.sharding.ShardingProperties;
+import com.tickatch.logservice.global.messaging.ConfirmedPublisher;
+import io.github.tickatch.common.util.JsonUtils;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 원본 로그 큐의 메시지를 엔티티 키 기준으로 도메인별 consistent-hash exchange에 재발행한다.
+ *
+ * <p>발행 서비스는 기존 토픽 exchange를 그대로 사용하고, 라우터가 엔티티 키를 라우팅 키로 붙여 샤드 큐로 보낸다. 원본 큐 순서를 유지하기 위해 라우터는
+ * 클러스터 전체에서 한 인스턴스에서만 동작하며, {@link ShardAssignmentManager}가 DB advisory lock으로 담당 인스턴스를 정한다.
+ *
+ * <p>재발행은 {@link ConfirmedPublisher}로 브로커가 샤드 큐에 넣었음을 확인한 뒤에만 원본 메시지를 ack한다. confirm이 nack이거나
+ * 반송되거나 제한 시간 안에 오지 않으면 원본 메시지를 재큐잉하므로 라우터에서 메시지가 사라지지 않는다. 재큐잉된 메시지가 다시 발행되면 샤드 큐에
+ * 중복이 생길 수 있지만, 소비자가 이벤트 ID로 중복을 제거한다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "log.sharding", name = "enabled", havingValue = "true")
+public class ShardRouter {
+
+  public static final String LISTENER_ID = "logShardRouter";
+
+  private final ConfirmedPublisher publisher;
+  private final ShardingProperties properties;
+
+  @RabbitListener(
+      id = LISTENER_ID,
+      queues = {
+        RabbitMQConfig.QUEUE_RESERVATION_SEAT_LOG,
+        RabbitMQConfig.QUEUE_ARTHALL_LOG,
+        RabbitMQConfig.QUEUE_PRODUCT_LOG,
+        RabbitMQConfig.QUEUE_RESERVATION_LOG,
+        RabbitMQConfig.QUEUE_TICKET_LOG,
+        RabbitMQConfig.QUEUE_PAYMENT_LOG,
+        RabbitMQConfig.QUEUE_USER_LOG,
+        RabbitMQConfig.QUEUE_AUTH_LOG
+      },
+      containerFactory = "rabbitListenerContainerFactory",
+      autoStartup = "false")
+  public void route(Message message) {
+    String queue = message.getMessageProperties().getConsumerQueue();
+    LogDomain domain =
+        LogDomain.fromQueue(queue)
+            .orElseThrow(
+                () -> new AmqpRejectAndDontRequeueException("Unknown log queue: " + queue));
+
+    String exchange = ShardingConfig.shardExchange(domain);
+    String routingKey = entityKey(domain, message.getBody());
+    try {
+      publisher.publish(exchange, routingKey, message, properties.confirmTimeout());
+    } catch (AmqpException e) {
+      log.warn("Failed to route {} message to {}, requeueing", domain.getKey(), exchange, e);
+      throw new ImmediateRequeueAmqpException("Shard publish not confirmed: " + exchange, e);
+    }
+  }
+
+  private String entityKey(LogDomain domain, byte[] body) {
+    try {
+      JsonNode root = JsonUtils.getObjectMapper().readTree(body);
+      JsonNode key = root.path(domain.getEntityKeyField());
+      if (key.isMissingNode() || key.isNull()) {
+        // 엔티티 키가 없는 메시지는 eventId로 분산한다 (순서 보장 대상 아님)
+        key = root.path("eventId");
+      }
+      return key.asText("");
+    } catch (IOException e) {
+      log.error("Failed to read entity key from {} message", domain.getKey(), e);
+      throw new AmqpRejectAndDontRequeueException("Unreadable log message", e); // DLQ로 전송
+    }
+  }
+}
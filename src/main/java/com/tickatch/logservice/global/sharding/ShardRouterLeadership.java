@@ -0,0 +1,112 @@
+package com.tickatch.logservice.global.sharding;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 샤드 라우터를 실행할 인스턴스를 PostgreSQL 세션 advisory lock으로 정한다.
+ *
+ * <p>잠금을 잡은 커넥션을 풀에 돌려주지 않고 들고 있으며, 커넥션이 끊기면 DB가 잠금을 풀어 다른 인스턴스가 가져간다. Eureka 멤버십은 인스턴스마다
+ * 갱신 시점이 달라 잠시 두 인스턴스가 서로 리더라고 볼 수 있지만, 잠금은 한 세션만 잡을 수 있다. 다만 DB와의 연결만 끊긴 인스턴스는 다음 확인까지
+ * 라우터를 계속 실행하므로, 확인 주기만큼 두 라우터가 겹칠 수 있다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "log.sharding", name = "enabled", havingValue = "true")
+public class ShardRouterLeadership {
+
+  /** 샤드 라우터 리더 advisory lock 키 ("LOGROUTE"). */
+  static final long LOCK_KEY = 0x4c4f47524f555445L;
+
+  private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+  private final DataSource dataSource;
+  private Connection lockConnection;
+
+  public ShardRouterLeadership(DataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /** 잠금을 계속 잡고 있거나 새로 잡았으면 {@code true}. 잡고 있던 커넥션이 끊겼으면 다시 시도한다. */
+  public synchronized boolean acquire() {
+    try {
+      if (lockConnection != null) {
+        if (lockConnection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+          return true;
+        }
+        log.warn("Lost shard router leader lock connection");
+        closeQuietly(); // 세션이 끝났으므로 잠금도 풀렸다
+      }
+
+      Connection candidate = dataSource.getConnection();
+      boolean locked = false;
+      try {
+        locked = tryLock(candidate);
+      } finally {
+        if (!locked) {
+          candidate.close();
+        }
+      }
+      if (locked) {
+        lockConnection = candidate;
+      }
+      return locked;
+    } catch (SQLException e) {
+      log.warn("Failed to acquire shard router leader lock", e);
+      closeQuietly();
+      return false;
+    }
+  }
+
+  public synchronized boolean isLeader() {
+    return lockConnection != null;
+  }
+
+  /** 종료 시 잠금을 풀어 다른 인스턴스가 바로 이어받게 한다. 라우터 리스너는 그 전에 drain에서 멈춘다. */
+  @PreDestroy
+  public synchronized void release() {
+    if (lockConnection == null) {
+      return;
+    }
+    try (PreparedStatement statement =
+        lockConnection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+      statement.setLong(1, LOCK_KEY);
+      statement.execute();
+    } catch (SQLException e) {
+      log.debug("Failed to release shard router leader lock", e);
+    } finally {
+      closeQuietly();
+    }
+  }
+
+  private static boolean tryLock(Connection connection) throws SQLException {
+    try (PreparedStatement statement =
+        connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+      statement.setLong(1, LOCK_KEY);
+      try (ResultSet rs = statement.executeQuery()) {
+        return rs.next() && rs.getBoolean(1);
+      }
+    }
+  }
+
+  private void closeQuietly() {
+    if (lockConnection == null) {
+      return;
+    }
+    try {
+      lockConnection.close();
+    } catch (SQLException e) {
+      log.debug("Failed to close shard router leader lock connection", e);
+    }
+    lockConnection = null;
+  }
+}
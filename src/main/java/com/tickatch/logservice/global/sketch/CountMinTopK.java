@@ -0,0 +1,191 @@
+package com.tickatch.logservice.global.sketch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 많이 나온 엔티티 상위 K개 추정용 Count-Min 스케치 + 후보 목록.
+ *
+ * <p>폭 {@code w}, 깊이 {@code d}의 카운터 행렬에 건수를 더하고, 추정치가 큰 후보 K개를 따로 유지한다. 추정치는 실제보다 작지 않으며, 확률
+ * {@code 1 - e^-d} 이상으로 실제보다 최대 {@code (e / w) * N}만큼 크다 (N: 전체 건수). 합치기는 카운터를 더한 뒤 양쪽 후보를 합친
+ * 행렬에서 다시 추정해 K개를 고른다.
+ *
+ * <p>후보 목록은 최솟값 후보를 기억해 두고, 새 항목의 추정치가 그보다 클 때만 교체한다. 스레드 안전하지 않다.
+ *
+ * @since 1.0.0
+ */
+public final class CountMinTopK implements MergeableSketch {
+
+  private final int width;
+  private final int depth;
+  private final int capacity;
+  private final long[] counters;
+  private final Map<String, Long> candidates = new HashMap<>();
+  private long total;
+  private String minItem;
+
+  public CountMinTopK(int width, int depth, int capacity) {
+    if (width <= 0 || depth <= 0 || capacity <= 0) {
+      throw new IllegalArgumentException(
+          "Invalid Count-Min dimensions: " + width + "x" + depth + ", k=" + capacity);
+    }
+    this.width = width;
+    this.depth = depth;
+    this.capacity = capacity;
+    this.counters = new long[width * depth];
+  }
+
+  public void add(String item) {
+    long hash = hash(item);
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      int index = index(hash, row);
+      estimate = Math.min(estimate, ++counters[index]);
+    }
+    total++;
+    offer(item, estimate);
+  }
+
+  /** 추정 건수 (실제 이상). */
+  public long estimate(String item) {
+    long hash = hash(item);
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      estimate = Math.min(estimate, counters[index(hash, row)]);
+    }
+    return estimate;
+  }
+
+  /** 추정치 내림차순 상위 {@code limit}개. */
+  public List<Map.Entry<String, Long>> top(int limit) {
+    List<Map.Entry<String, Long>> entries = new ArrayList<>(candidates.size());
+    candidates.keySet().forEach(item -> entries.add(Map.entry(item, estimate(item))));
+    entries.sort(
+        Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+    return entries.subList(0, Math.min(limit, entries.size()));
+  }
+
+  public long total() {
+    return total;
+  }
+
+  /** 추정치가 실제보다 클 수 있는 최대 건수 ({@code ceil(e / w * N)}). */
+  public long errorBound() {
+    return (long) Math.ceil(Math.E / width * total);
+  }
+
+  /** {@link #errorBound()}가 성립할 확률 ({@code 1 - e^-d}). */
+  public double confidence() {
+    return 1 - Math.exp(-depth);
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  @Override
+  public void merge(MergeableSketch other) {
+    CountMinTopK sketch = (CountMinTopK) other;
+    if (sketch.width != width || sketch.depth != depth) {
+      throw new IllegalArgumentException(
+          "Count-Min dimension mismatch: "
+              + width
+              + "x"
+              + depth
+              + " vs "
+              + sketch.width
+              + "x"
+              + sketch.depth);
+    }
+    for (int i = 0; i < counters.length; i++) {
+      counters[i] += sketch.counters[i];
+    }
+    total += sketch.total;
+
+    List<String> items = new ArrayList<>(candidates.keySet());
+    items.addAll(sketch.candidates.keySet());
+    candidates.clear();
+    minItem = null;
+    for (String item : items) {
+      if (!candidates.containsKey(item)) {
+        offer(item, estimate(item));
+      }
+    }
+  }
+
+  @Override
+  public byte[] toBytes() {
+    return SketchCodec.encode(
+        out -> {
+          out.writeInt(width);
+          out.writeInt(depth);
+          out.writeInt(capacity);
+          out.writeLong(total);
+          for (long counter : counters) {
+            out.writeLong(counter);
+          }
+          out.writeInt(candidates.size());
+          for (String item : candidates.keySet()) {
+            out.writeUTF(item);
+          }
+        });
+  }
+
+  public static CountMinTopK fromBytes(byte[] bytes) {
+    return SketchCodec.decode(
+        bytes,
+        in -> {
+          CountMinTopK sketch = new CountMinTopK(in.readInt(), in.readInt(), in.readInt());
+          sketch.total = in.readLong();
+          for (int i = 0; i < sketch.counters.length; i++) {
+            sketch.counters[i] = in.readLong();
+          }
+          int size = in.readInt();
+          for (int i = 0; i < size; i++) {
+            String item = in.readUTF();
+            sketch.offer(item, sketch.estimate(item));
+          }
+          return sketch;
+        });
+  }
+
+  private void offer(String item, long estimate) {
+    if (candidates.containsKey(item) || candidates.size() < capacity) {
+      boolean added = candidates.put(item, estimate) == null;
+      if (added || item.equals(minItem)) {
+        minItem = null; // 최솟값 후보가 바뀌었을 수 있다
+      }
+      return;
+    }
+    if (minItem == null) {
+      minItem =
+          candidates.entrySet().stream().min(Map.Entry.comparingByValue()).orElseThrow().getKey();
+    }
+    if (estimate > candidates.get(minItem)) {
+      candidates.remove(minItem);
+      candidates.put(item, estimate);
+      minItem = null;
+    }
+  }
+
+  private int index(long hash, int row) {
+    // Kirsch-Mitzenmacher: 해시 두 개로 행별 해시를 만든다
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    return row * width + Math.floorMod(h1 + row * h2, width);
+  }
+
+  private static long hash(String item) {
+    long h = 0xcbf29ce484222325L; // FNV-1a 64
+    for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b & 0xff;
+      h *= 0x100000001b3L;
+    }
+    return MergeableSketch.mix(h);
+  }
+}
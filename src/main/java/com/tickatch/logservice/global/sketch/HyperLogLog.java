@@ -0,0 +1,117 @@
+package com.tickatch.logservice.global.sketch;
+
+import java.util.UUID;
+
+/**
+ * 고유 사용자 수 추정용 HyperLogLog.
+ *
+ * <p>레지스터 {@code m = 2^precision}개를 쓰며 상대 표준 오차는 {@code 1.04 / sqrt(m)}이다 (precision 12: 약 1.6%).
+ * 합치기는 레지스터별 최댓값이므로 합집합의 추정치가 되고, 같은 사용자가 여러 버킷 / 인스턴스에 나타나도 한 번만 센다. 작은 값은 선형 계수로
+ * 보정한다.
+ *
+ * <p>스레드 안전하지 않다.
+ *
+ * @since 1.0.0
+ */
+public final class HyperLogLog implements MergeableSketch {
+
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 16;
+
+  private final int precision;
+  private final byte[] registers;
+
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException("HyperLogLog precision out of range: " + precision);
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  public static long hash(UUID value) {
+    return MergeableSketch.mix(
+        MergeableSketch.mix(value.getMostSignificantBits()) ^ value.getLeastSignificantBits());
+  }
+
+  public void add(UUID value) {
+    addHash(hash(value));
+  }
+
+  public void addHash(long hash) {
+    int index = (int) (hash >>> (Long.SIZE - precision));
+    // 인덱스로 쓴 비트를 밀어내고, 나머지가 모두 0이어도 순위가 유한하도록 끝에 1을 둔다
+    int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+    if (rank > registers[index]) {
+      registers[index] = (byte) rank;
+    }
+  }
+
+  public long estimate() {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+    double estimate = alpha(m) * m * m / sum;
+    if (estimate <= 2.5 * m && zeros > 0) {
+      estimate = m * Math.log((double) m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  /** 상대 표준 오차 ({@code 1.04 / sqrt(m)}). 약 95% 구간은 이 값의 두 배이다. */
+  public double relativeStandardError() {
+    return 1.04 / Math.sqrt(registers.length);
+  }
+
+  public int precision() {
+    return precision;
+  }
+
+  @Override
+  public void merge(MergeableSketch other) {
+    HyperLogLog hll = (HyperLogLog) other;
+    if (hll.precision != precision) {
+      throw new IllegalArgumentException(
+          "HyperLogLog precision mismatch: " + precision + " vs " + hll.precision);
+    }
+    for (int i = 0; i < registers.length; i++) {
+      if (hll.registers[i] > registers[i]) {
+        registers[i] = hll.registers[i];
+      }
+    }
+  }
+
+  @Override
+  public byte[] toBytes() {
+    return SketchCodec.encode(
+        out -> {
+          out.writeByte(precision);
+          out.write(registers);
+        });
+  }
+
+  public static HyperLogLog fromBytes(byte[] bytes) {
+    return SketchCodec.decode(
+        bytes,
+        in -> {
+          HyperLogLog hll = new HyperLogLog(in.readByte());
+          in.readFully(hll.registers);
+          return hll;
+        });
+  }
+
+  private static double alpha(int m) {
+    return switch (m) {
+      case 16 -> 0.673;
+      case 32 -> 0.697;
+      case 64 -> 0.709;
+      default -> 0.7213 / (1 + 1.079 / m);
+    };
+  }
+}
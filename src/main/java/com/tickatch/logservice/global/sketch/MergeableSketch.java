@@ -0,0 +1,28 @@
+package com.tickatch.logservice.global.sketch;
+
+/**
+ * 버킷 / 인스턴스 간에 합칠 수 있는 확률적 요약.
+ *
+ * <p>같은 설정(정밀도, 폭, 깊이)으로 만든 요약끼리만 합칠 수 있다. 직렬화 형식에는 설정이 함께 들어가므로 설정을 바꾸면 이전 버킷과는 합쳐지지
+ * 않는다.
+ *
+ * @since 1.0.0
+ */
+public interface MergeableSketch {
+
+  /** {@code other}를 이 요약에 더한다. {@code other}는 바뀌지 않는다. */
+  void merge(MergeableSketch other);
+
+  /** 압축한 직렬화 형식. */
+  byte[] toBytes();
+
+  /** 64비트 해시 마무리 (MurmurHash3 fmix64). */
+  static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
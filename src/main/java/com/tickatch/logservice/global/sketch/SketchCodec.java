@@ -0,0 +1,50 @@
+package com.tickatch.logservice.global.sketch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/** 요약 직렬화. 레지스터 / 카운터 배열은 대부분 0이므로 deflate로 압축한다. */
+final class SketchCodec {
+
+  static final byte VERSION = 1;
+
+  private SketchCodec() {}
+
+  interface Body {
+    void write(DataOutputStream out) throws IOException;
+  }
+
+  interface Reader<T> {
+    T read(DataInputStream in) throws IOException;
+  }
+
+  static byte[] encode(Body body) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+      out.writeByte(VERSION);
+      body.write(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  static <T> T decode(byte[] bytes, Reader<T> reader) {
+    try (DataInputStream in =
+        new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+      byte version = in.readByte();
+      if (version != VERSION) {
+        throw new IllegalArgumentException("Unsupported sketch version: " + version);
+      }
+      return reader.read(in);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Corrupted sketch", e);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.tickatch.logservice.global.sketch;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * 요약 하나의 키 ({@code p_log_sketch} 기본 키).
+ *
+ * @param scope {@link #ALL} 또는 범위 엔티티 ID (상품 ID, 공연장 ID)
+ * @since 1.0.0
+ */
+public record SketchKey(
+    SketchKind kind,
+    LogDomain domain,
+    String actionType,
+    String scope,
+    LocalDateTime bucketStart) {
+
+  /** 도메인 전체 범위. */
+  public static final String ALL = "*";
+
+  /** 여러 인스턴스가 같은 키들을 같은 순서로 잠그도록 하는 순서. */
+  static final Comparator<SketchKey> LOCK_ORDER =
+      Comparator.comparing(SketchKey::kind)
+          .thenComparing(SketchKey::domain)
+          .thenComparing(SketchKey::scope)
+          .thenComparing(SketchKey::bucketStart)
+          .thenComparing(SketchKey::actionType);
+}
@@ -0,0 +1,25 @@
+package com.tickatch.logservice.global.sketch;
+
+import java.util.function.Function;
+
+/**
+ * 요약 종류. {@code p_log_sketch.kind}에 이름으로 저장된다.
+ *
+ * @since 1.0.0
+ */
+public enum SketchKind {
+  /** 행위자(actor_user_id) 고유 수 ({@link HyperLogLog}). */
+  DISTINCT_USERS(HyperLogLog::fromBytes),
+  /** 엔티티 ID별 건수 상위 K개 ({@link CountMinTopK}). */
+  TOP_ENTITIES(CountMinTopK::fromBytes);
+
+  private final Function<byte[], MergeableSketch> decoder;
+
+  SketchKind(Function<byte[], MergeableSketch> decoder) {
+    this.decoder = decoder;
+  }
+
+  public MergeableSketch decode(byte[] bytes) {
+    return decoder.apply(bytes);
+  }
+}
@@ -0,0 +1,68 @@
+package com.tickatch.logservice.global.sketch;
+
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 수집 경로 확률적 요약 설정.
+ *
+ * @param enabled 요약 수집 사용 여부
+ * @param bucket 요약 시간 버킷 크기. 조회 구간은 버킷 경계로 맞춰진다
+ * @param precision HyperLogLog 정밀도 (레지스터 {@code 2^precision}개, 상대 표준 오차 {@code 1.04 / sqrt(2^p)})
+ * @param width Count-Min 폭 (과대 추정 상한 {@code e / width * N})
+ * @param depth Count-Min 깊이 (상한이 성립할 확률 {@code 1 - e^-depth})
+ * @param topK 버킷별로 유지하는 상위 후보 수
+ * @param flushInterval 메모리 요약을 DB에 합치는 주기
+ * @param scopedDomains 엔티티 ID별 고유 사용자 수도 유지하는 도메인 키 (상품, 공연장)
+ * @param productScopedDomains overflow의 상품 ID별 고유 사용자 수도 유지하는 도메인 키 (좌석, 예매). 상품 ID 필드는 {@code
+ *     log.funnel.product-field}를 따른다
+ * @param maxQueryBuckets 한 번에 조회할 수 있는 최대 버킷 수
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.sketch")
+public record SketchProperties(
+    boolean enabled,
+    Duration bucket,
+    int precision,
+    int width,
+    int depth,
+    int topK,
+    Duration flushInterval,
+    Set<String> scopedDomains,
+    Set<String> productScopedDomains,
+    int maxQueryBuckets) {
+
+  public SketchProperties {
+    if (bucket == null || bucket.isZero() || bucket.isNegative()) {
+      bucket = Duration.ofHours(1);
+    }
+    if (precision == 0) {
+      precision = 12;
+    }
+    if (precision < HyperLogLog.MIN_PRECISION || precision > HyperLogLog.MAX_PRECISION) {
+      throw new IllegalArgumentException("log.sketch.precision must be within [4, 16]");
+    }
+    if (width <= 0) {
+      width = 1024;
+    }
+    if (depth <= 0) {
+      depth = 4;
+    }
+    if (topK <= 0) {
+      topK = 100;
+    }
+    if (flushInterval == null) {
+      flushInterval = Duration.ofSeconds(30);
+    }
+    scopedDomains =
+        scopedDomains == null ? Set.of("product", "arthall") : Set.copyOf(scopedDomains);
+    productScopedDomains =
+        productScopedDomains == null
+            ? Set.of("reservation-seat", "reservation")
+            : Set.copyOf(productScopedDomains);
+    if (maxQueryBuckets <= 0) {
+      maxQueryBuckets = 24 * 31;
+    }
+  }
+}
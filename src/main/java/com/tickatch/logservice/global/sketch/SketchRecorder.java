@@ -0,0 +1,272 @@
+package com.tickatch.logservice.global.sketch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.eventtime.TimedLogEvent;
+import com.tickatch.logservice.global.eventtime.TooLateLogEvent;
+import com.tickatch.logservice.global.lifecycle.FlushableWriteBuffer;
+import io.github.tickatch.common.util.JsonUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 수집 경로에서 버킷별 요약을 메모리에 만들고 주기적으로 {@link SketchStore}에 합친다.
+ *
+ * <p>커밋된 이벤트({@link TimedLogEvent})마다 (도메인, 액션 타입, 버킷) 키의 {@link HyperLogLog}에 행위자를,
+ * {@link CountMinTopK}에 엔티티 ID를 더한다. 저장 수준 정책으로 행을 저장하지 않은 이벤트도 받으므로 요약은 샘플링과
+ * 무관하다. {@code scoped-domains}의 도메인은 엔티티 ID 범위, {@code product-scoped-domains}의 도메인(좌석, 예매)은
+ * overflow의 상품 ID 범위의 {@link HyperLogLog}도 유지한다. "상품 X의 좌석을 선점한 고유 사용자 수"는 좌석 도메인에 상품 ID 범위로
+ * 묻는다. 이벤트마다 키 하나의 {@code compute}만 하고, 반영은 {@code flush-interval}마다 키를 떼어 내 DB 요약과 합친다. 반영에 실패하면
+ * 떼어 낸 요약을 되돌려 다음 주기에 다시 시도한다.
+ *
+ * <p>종료 시에는 {@link FlushableWriteBuffer}로 리스너가 멈춘 뒤 남은 요약을 반영한다. 비정상 종료 시에는 마지막 반영 주기 동안의 요약을
+ * 잃는다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SketchRecorder implements FlushableWriteBuffer {
+
+  private final SketchProperties properties;
+  private final SketchStore sketchStore;
+  private final long bucketSeconds;
+  private final String productField;
+  private final Set<LogDomain> scopedDomains = EnumSet.noneOf(LogDomain.class);
+  private final Set<LogDomain> productScopedDomains = EnumSet.noneOf(LogDomain.class);
+  private final Map<SketchKey, MergeableSketch> sketches = new ConcurrentHashMap<>();
+
+  public SketchRecorder(
+      SketchProperties properties,
+      SketchStore sketchStore,
+      MeterRegistry meterRegistry,
+      @Value("${log.funnel.product-field:productId}") String productField) {
+    this.properties = properties;
+    this.sketchStore = sketchStore;
+    this.productField = productField;
+    this.bucketSeconds = properties.bucket().toSeconds();
+    for (String key : properties.scopedDomains()) {
+      LogDomain.fromKey(key).ifPresent(scopedDomains::add);
+    }
+    for (String key : properties.productScopedDomains()) {
+      LogDomain.fromKey(key).ifPresent(productScopedDomains::add);
+    }
+
+    Gauge.builder("log.sketch.pending", this, SketchRecorder::pending)
+        .description("DB에 반영되지 않은 요약 키 수")
+        .register(meterRegistry);
+  }
+
+  /** 워터마크가 지난 이벤트를 요약에 더한다. 요약은 합칠 수 있으므로 늦은 이벤트도 해당 버킷에 그대로 더한다. */
+  @EventListener
+  public void onTimed(TimedLogEvent event) {
+    recordFields(event.domain(), event.occurredAt(), event.fields());
+  }
+
+  /** 허용 지연을 넘긴 이벤트도 DB에 저장된 버킷 요약에 합친다. */
+  @EventListener
+  public void onTooLate(TooLateLogEvent event) {
+    recordFields(event.domain(), event.occurredAt(), event.fields());
+  }
+
+  /**
+   * 아직 반영되지 않은 [from, to) 버킷 요약을 복사해 합친다.
+   *
+   * @param actionType {@code null}이면 모든 액션 타입
+   */
+  public Optional<MergeableSketch> pending(
+      SketchKind kind,
+      LogDomain domain,
+      String actionType,
+      String scope,
+      LocalDateTime from,
+      LocalDateTime to) {
+    MergeableSketch[] merged = new MergeableSketch[1];
+    for (SketchKey key : sketches.keySet()) {
+      if (key.kind() != kind
+          || key.domain() != domain
+          || !key.scope().equals(scope)
+          || (actionType != null && !key.actionType().equals(actionType))
+          || key.bucketStart().isBefore(from)
+          || !key.bucketStart().isBefore(to)) {
+        continue;
+      }
+      sketches.computeIfPresent(
+          key,
+          (k, sketch) -> {
+            if (merged[0] == null) {
+              merged[0] = kind.decode(sketch.toBytes());
+            } else {
+              merged[0].merge(sketch);
+            }
+            return sketch;
+          });
+    }
+    return Optional.ofNullable(merged[0]);
+  }
+
+  /** {@code time}이 속한 버킷의 시작 시각. */
+  public LocalDateTime bucketStart(LocalDateTime time) {
+    long epochSecond = time.toEpochSecond(ZoneOffset.UTC);
+    return LocalDateTime.ofEpochSecond(
+        Math.floorDiv(epochSecond, bucketSeconds) * bucketSeconds, 0, ZoneOffset.UTC);
+  }
+
+  public Duration bucket() {
+    return properties.bucket();
+  }
+
+  public boolean isScoped(LogDomain domain) {
+    return scopedDomains.contains(domain) || productScopedDomains.contains(domain);
+  }
+
+  @Scheduled(fixedDelayString = "${log.sketch.flush-interval:30s}")
+  public void flushScheduled() {
+    flushPending();
+  }
+
+  @Override
+  public String name() {
+    return "sketch";
+  }
+
+  @Override
+  public int pending() {
+    return sketches.size();
+  }
+
+  @Override
+  public void flush(Duration timeout) {
+    flushPending();
+  }
+
+  private void recordFields(LogDomain domain, LocalDateTime occurredAt, LogEventFields fields) {
+    if (!properties.enabled() || fields == null || fields.actionType() == null) {
+      return;
+    }
+    record(
+        domain,
+        fields.entityId(),
+        scopeOf(domain, fields),
+        fields.actionType(),
+        fields.actorUserId(),
+        occurredAt);
+  }
+
+  /**
+   * @param scope 범위 {@link HyperLogLog}의 범위 ID. {@code null}이면 도메인 전체에만 더한다
+   */
+  void record(
+      LogDomain domain,
+      Object entityId,
+      String scope,
+      String actionType,
+      UUID actorUserId,
+      LocalDateTime occurredAt) {
+    LocalDateTime bucketStart = bucketStart(occurredAt);
+    if (actorUserId != null) {
+      addUser(
+          new SketchKey(
+              SketchKind.DISTINCT_USERS, domain, actionType, SketchKey.ALL, bucketStart),
+          actorUserId);
+      if (scope != null) {
+        addUser(
+            new SketchKey(SketchKind.DISTINCT_USERS, domain, actionType, scope, bucketStart),
+            actorUserId);
+      }
+    }
+    if (entityId != null) {
+      sketches.compute(
+          new SketchKey(SketchKind.TOP_ENTITIES, domain, actionType, SketchKey.ALL, bucketStart),
+          (key, sketch) -> {
+            CountMinTopK topK =
+                sketch != null
+                    ? (CountMinTopK) sketch
+                    : new CountMinTopK(properties.width(), properties.depth(), properties.topK());
+            topK.add(entityId.toString());
+            return topK;
+          });
+    }
+  }
+
+  /** 엔티티 범위 도메인은 엔티티 ID, 상품 범위 도메인은 overflow의 상품 ID. 어느 쪽도 아니거나 값이 없으면 {@code null}. */
+  String scopeOf(LogDomain domain, LogEventFields fields) {
+    if (scopedDomains.contains(domain)) {
+      return fields.entityId() != null ? fields.entityId().toString() : null;
+    }
+    if (!productScopedDomains.contains(domain)
+        || fields.overflow() == null
+        || fields.overflow().isBlank()) {
+      return null;
+    }
+    try {
+      JsonNode value = JsonUtils.getObjectMapper().readTree(fields.overflow()).path(productField);
+      return value.isValueNode() && !value.isNull() ? value.asText() : null;
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private void addUser(SketchKey key, UUID actorUserId) {
+    sketches.compute(
+        key,
+        (k, sketch) -> {
+          HyperLogLog hll =
+              sketch != null ? (HyperLogLog) sketch : new HyperLogLog(properties.precision());
+          hll.add(actorUserId);
+          return hll;
+        });
+  }
+
+  private synchronized void flushPending() {
+    if (sketches.isEmpty()) {
+      return;
+    }
+
+    Map<SketchKey, MergeableSketch> drained = new HashMap<>();
+    for (SketchKey key : sketches.keySet()) {
+      MergeableSketch sketch = sketches.remove(key);
+      if (sketch != null) {
+        drained.put(key, sketch);
+      }
+    }
+
+    try {
+      if (!sketchStore.mergeAll(drained)) {
+        restore(drained);
+      }
+    } catch (DataAccessException e) {
+      restore(drained);
+      log.warn("Sketch flush failed, retrying next cycle: keys={}", drained.size(), e);
+    }
+  }
+
+  private void restore(Map<SketchKey, MergeableSketch> drained) {
+    drained.forEach(
+        (key, sketch) ->
+            sketches.merge(
+                key,
+                sketch,
+                (current, restored) -> {
+                  current.merge(restored);
+                  return current;
+                }));
+  }
+}
@@ -0,0 +1,193 @@
+package com.tickatch.logservice.global.sketch;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.migration.SchemaMigrations;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 요약을 {@code p_log_sketch}에 압축된 바이트로 저장하고 합친다.
+ *
+ * <p>DB에서는 요약을 합칠 수 없으므로 {@code SELECT ... FOR UPDATE}로 기존 요약을 잠가 읽고, 메모리에서 합친 결과로 덮어쓴다. 여러
+ * 인스턴스가 같은 버킷을 동시에 반영해도 키를 같은 순서로 잠그므로 교착 없이 순서대로 합쳐진다.
+ *
+ * <p>테이블은 애플리케이션이 만들지 않는다. 없으면({@link #MIGRATION} 미적용) 반영과 조회를 하지 않고 오류 로그를 한 번 남긴다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+public class SketchStore {
+
+  static final String TABLE = "p_log_sketch";
+
+  static final String MIGRATION = "db/migration/010_log_sketch.sql";
+
+  private static final String KEY_CONDITION =
+      " WHERE kind = ? AND domain = ? AND scope = ? AND bucket_start = ? AND action_type = ?";
+
+  private static final String SELECT_FOR_UPDATE =
+      "SELECT sketch FROM " + TABLE + KEY_CONDITION + " FOR UPDATE";
+
+  private static final String INSERT =
+      "INSERT INTO "
+          + TABLE
+          + " (kind, domain, scope, bucket_start, action_type, sketch, updated_at)"
+          + " VALUES (?, ?, ?, ?, ?, ?, ?)"
+          + " ON CONFLICT (kind, domain, scope, bucket_start, action_type) DO NOTHING";
+
+  private static final String UPDATE =
+      "UPDATE " + TABLE + " SET sketch = ?, updated_at = ?" + KEY_CONDITION;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private volatile boolean schemaReady;
+  private boolean migrationReported;
+
+  public SketchStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * 요약들을 저장된 요약에 한 트랜잭션으로 합친다.
+   *
+   * @return 테이블이 아직 준비되지 않았으면 {@code false}
+   * @throws DataAccessException 반영 실패. 아무것도 반영되지 않는다
+   */
+  boolean mergeAll(Map<SketchKey, MergeableSketch> sketches) {
+    if (!verifySchema()) {
+      return false;
+    }
+
+    Map<SketchKey, MergeableSketch> ordered = new TreeMap<>(SketchKey.LOCK_ORDER);
+    ordered.putAll(sketches);
+    transactionTemplate.executeWithoutResult(
+        status -> ordered.forEach((key, sketch) -> mergeOne(key, sketch)));
+    return true;
+  }
+
+  /**
+   * [from, to) 버킷의 요약을 모두 합친다.
+   *
+   * @param actionType {@code null}이면 모든 액션 타입
+   * @return 저장된 요약이 없으면 빈 값
+   */
+  public Optional<MergeableSketch> load(
+      SketchKind kind,
+      LogDomain domain,
+      String actionType,
+      String scope,
+      LocalDateTime from,
+      LocalDateTime to) {
+    if (!verifySchema()) {
+      return Optional.empty();
+    }
+
+    StringBuilder sql =
+        new StringBuilder("SELECT sketch FROM ")
+            .append(TABLE)
+            .append(" WHERE kind = ? AND domain = ? AND scope = ?")
+            .append(" AND bucket_start >= ? AND bucket_start < ?");
+    List<Object> args = new ArrayList<>();
+    args.add(kind.name());
+    args.add(domain.getKey());
+    args.add(scope);
+    args.add(Timestamp.valueOf(from));
+    args.add(Timestamp.valueOf(to));
+    if (actionType != null) {
+      sql.append(" AND action_type = ?");
+      args.add(actionType);
+    }
+
+    MergeableSketch[] merged = new MergeableSketch[1];
+    jdbcTemplate.query(
+        sql.toString(),
+        rs -> {
+          MergeableSketch sketch = kind.decode(rs.getBytes(1));
+          if (merged[0] == null) {
+            merged[0] = sketch;
+          } else {
+            merge(merged[0], sketch);
+          }
+        },
+        args.toArray());
+    return Optional.ofNullable(merged[0]);
+  }
+
+  private void mergeOne(SketchKey key, MergeableSketch sketch) {
+    Object[] keyArgs = {
+      key.kind().name(),
+      key.domain().getKey(),
+      key.scope(),
+      Timestamp.valueOf(key.bucketStart()),
+      key.actionType()
+    };
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+    List<byte[]> existing =
+        jdbcTemplate.query(SELECT_FOR_UPDATE, (rs, rowNum) -> rs.getBytes(1), keyArgs);
+    if (existing.isEmpty()) {
+      int inserted =
+          jdbcTemplate.update(
+              INSERT,
+              keyArgs[0],
+              keyArgs[1],
+              keyArgs[2],
+              keyArgs[3],
+              keyArgs[4],
+              sketch.toBytes(),
+              now);
+      if (inserted == 1) {
+        return;
+      }
+      // 다른 인스턴스가 먼저 만들었다
+      existing = jdbcTemplate.query(SELECT_FOR_UPDATE, (rs, rowNum) -> rs.getBytes(1), keyArgs);
+    }
+
+    MergeableSketch stored = key.kind().decode(existing.get(0));
+    MergeableSketch result = merge(stored, sketch) ? stored : sketch;
+    jdbcTemplate.update(
+        UPDATE, result.toBytes(), now, keyArgs[0], keyArgs[1], keyArgs[2], keyArgs[3], keyArgs[4]);
+  }
+
+  /** 설정이 바뀌어 합칠 수 없는 요약은 버리고 새 요약을 쓴다. */
+  private static boolean merge(MergeableSketch target, MergeableSketch source) {
+    try {
+      target.merge(source);
+      return true;
+    } catch (IllegalArgumentException e) {
+      log.warn("Discarding incompatible sketch: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  private synchronized boolean verifySchema() {
+    if (schemaReady) {
+      return true;
+    }
+
+    try {
+      if (SchemaMigrations.missingTables(jdbcTemplate, TABLE).isEmpty()) {
+        schemaReady = true;
+      } else if (!migrationReported) {
+        migrationReported = true;
+        log.error("Sketch store disabled: {} missing. Apply {}", TABLE, MIGRATION);
+      }
+    } catch (DataAccessException e) {
+      log.warn("Sketch table is not ready yet", e);
+    }
+    return schemaReady;
+  }
+}
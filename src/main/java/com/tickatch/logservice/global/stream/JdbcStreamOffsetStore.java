@@ -0,0 +1,114 @@
+package com.tickatch.logservice.global.stream;
+
+import com.tickatch.logservice.global.migration.SchemaMigrations;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code p_stream_offset} 테이블에 소비자별 위치를 저장한다.
+ *
+ * <p>수집 트랜잭션 안에서 호출되므로 JPA 트랜잭션의 커넥션을 그대로 쓴다. 저장은 같은 세대이고 오프셋이 뒤로 가지 않을 때만 반영된다.
+ *
+ * <p>테이블은 애플리케이션이 만들지 않는다. 없으면 처음 쓸 때 {@link IllegalStateException}으로 실패하고, 기존 DB는 {@link
+ * #MIGRATION}을 적용한다.
+ *
+ * @since 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "log.stream.enabled", havingValue = "true")
+public class JdbcStreamOffsetStore implements StreamOffsetStore {
+
+  static final String TABLE = "p_stream_offset";
+
+  static final String MIGRATION = "db/migration/007_stream_offset.sql";
+
+  private static final String COMMIT =
+      "INSERT INTO "
+          + TABLE
+          + " AS o (stream, consumer_name, position_kind, position_value, generation, updated_at)"
+          + " VALUES (?, ?, 'OFFSET', ?, ?, ?) ON CONFLICT (stream, consumer_name) DO UPDATE"
+          + " SET position_kind = 'OFFSET', position_value = EXCLUDED.position_value,"
+          + " updated_at = EXCLUDED.updated_at"
+          + " WHERE o.generation = EXCLUDED.generation"
+          + " AND (o.position_kind <> 'OFFSET' OR o.position_value <= EXCLUDED.position_value)";
+
+  private static final String INITIALIZE =
+      "INSERT INTO "
+          + TABLE
+          + " (stream, consumer_name, position_kind, position_value, generation, updated_at)"
+          + " VALUES (?, ?, ?, ?, 1, ?) ON CONFLICT (stream, consumer_name) DO NOTHING";
+
+  private static final String RESET =
+      "INSERT INTO "
+          + TABLE
+          + " AS o (stream, consumer_name, position_kind, position_value, generation, updated_at)"
+          + " VALUES (?, ?, ?, ?, 1, ?) ON CONFLICT (stream, consumer_name) DO UPDATE"
+          + " SET position_kind = EXCLUDED.position_kind,"
+          + " position_value = EXCLUDED.position_value, generation = o.generation + 1,"
+          + " updated_at = EXCLUDED.updated_at";
+
+  private final JdbcTemplate jdbcTemplate;
+  private volatile boolean schemaReady;
+
+  public JdbcStreamOffsetStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public Optional<Checkpoint> load(String stream, String consumerName) {
+    verifySchema();
+    List<Checkpoint> checkpoints =
+        jdbcTemplate.query(
+            "SELECT position_kind, position_value, generation FROM "
+                + TABLE
+                + " WHERE stream = ? AND consumer_name = ?",
+            (rs, rowNum) ->
+                new Checkpoint(
+                    new StreamPosition(
+                        StreamPosition.Kind.valueOf(rs.getString("position_kind")),
+                        rs.getLong("position_value")),
+                    rs.getLong("generation")),
+            stream,
+            consumerName);
+    return checkpoints.stream().findFirst();
+  }
+
+  @Override
+  public boolean commit(String stream, String consumerName, long generation, long nextOffset) {
+    verifySchema();
+    return jdbcTemplate.update(COMMIT, stream, consumerName, nextOffset, generation, now()) == 1;
+  }
+
+  @Override
+  public boolean initialize(String stream, String consumerName, StreamPosition position) {
+    verifySchema();
+    return jdbcTemplate.update(
+            INITIALIZE, stream, consumerName, position.kind().name(), position.value(), now())
+        == 1;
+  }
+
+  @Override
+  public void reset(String stream, String consumerName, StreamPosition position) {
+    verifySchema();
+    jdbcTemplate.update(
+        RESET, stream, consumerName, position.kind().name(), position.value(), now());
+  }
+
+  private void verifySchema() {
+    if (!schemaReady) {
+      if (!SchemaMigrations.missingTables(jdbcTemplate, TABLE).isEmpty()) {
+        throw new IllegalStateException(TABLE + " is missing; apply " + MIGRATION);
+      }
+      schemaReady = true;
+    }
+  }
+
+  private static Timestamp now() {
+    return Timestamp.valueOf(LocalDateTime.now());
+  }
+}
@@ -0,0 +1,47 @@
+package com.tickatch.logservice.global.stream;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.util.List;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareMessageListener;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+/**
+ * 스트림 메시지를 도메인의 기존 {@code @RabbitListener}로 저장한다.
+ *
+ * <p>리스너 컨테이너가 쓰는 어댑터를 채널 없이 직접 호출하므로, 스키마 업캐스트와 Consumer의 저장 수준 정책, 프로젝션, 캐시 무효화가 큐 소비와
+ * 똑같이 적용된다. Consumer의 트랜잭션은 워커가 연 배치 트랜잭션에 참여한다. 이미 저장된 이벤트 ID는 Consumer가 부수 효과 없이 건너뛰므로
+ * 되감아 다시 읽어도 같은 결과가 된다. 단, 롤업 집계 대상 이벤트는 건수가 다시 더해진다.
+ *
+ * @since 1.0.0
+ */
+final class ListenerStreamWriter implements StreamRecordWriter {
+
+  private final LogDomain domain;
+  private final MessagePostProcessor schemaDecoder;
+  private final ChannelAwareMessageListener listener;
+
+  ListenerStreamWriter(
+      LogDomain domain, MessagePostProcessor schemaDecoder, ChannelAwareMessageListener listener) {
+    this.domain = domain;
+    this.schemaDecoder = schemaDecoder;
+    this.listener = listener;
+  }
+
+  @Override
+  public void write(List<StreamRecord> records) {
+    for (StreamRecord record : records) {
+      Message message = record.message();
+      message.getMessageProperties().setConsumerQueue(domain.getQueue());
+      Message decoded = schemaDecoder.postProcessMessage(message);
+      try {
+        listener.onMessage(decoded, null);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new ListenerExecutionFailedException("Stream listener failed", e, decoded);
+      }
+    }
+  }
+}
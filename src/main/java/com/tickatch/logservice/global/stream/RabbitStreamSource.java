@@ -0,0 +1,80 @@
+package com.tickatch.logservice.global.stream;
+
+import com.rabbitmq.stream.ConsumerBuilder;
+import com.rabbitmq.stream.Environment;
+import com.rabbitmq.stream.NoOffsetException;
+import com.rabbitmq.stream.OffsetSpecification;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.rabbit.stream.support.StreamMessageProperties;
+import org.springframework.rabbit.stream.support.converter.DefaultStreamMessageConverter;
+
+/**
+ * RabbitMQ 스트림 프로토콜 클라이언트로 스트림 큐를 읽는다.
+ *
+ * <p>이름 있는 구독은 single active consumer로 등록되어 인스턴스가 여럿이어도 한 곳에서만 받는다. 브로커 쪽 오프셋 추적은 쓰지 않고, 활성화될
+ * 때마다 DB에 저장된 위치에서 다시 시작한다. 메시지 처리와 오프셋 저장이 같은 DB 트랜잭션에 묶이기 때문이다.
+ *
+ * @since 1.0.0
+ */
+public class RabbitStreamSource implements StreamSource {
+
+  private final Environment environment;
+  private final DefaultStreamMessageConverter messageConverter =
+      new DefaultStreamMessageConverter();
+
+  public RabbitStreamSource(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public Subscription subscribe(
+      String stream,
+      String consumerName,
+      Supplier<StreamPosition> position,
+      Consumer<StreamRecord> handler) {
+    ConsumerBuilder builder =
+        environment
+            .consumerBuilder()
+            .stream(stream)
+            .noTrackingStrategy()
+            .messageHandler(
+                (context, message) ->
+                    handler.accept(
+                        new StreamRecord(
+                            context.offset(),
+                            messageConverter.toMessage(
+                                message, new StreamMessageProperties(context)))));
+    if (consumerName == null) {
+      builder.offset(toSpecification(position.get()));
+    } else {
+      builder
+          .name(consumerName)
+          .singleActiveConsumer()
+          .consumerUpdateListener(
+              context -> context.isActive() ? toSpecification(position.get()) : null);
+    }
+
+    com.rabbitmq.stream.Consumer consumer = builder.build();
+    return consumer::close;
+  }
+
+  /** 마지막으로 커밋된 청크의 첫 오프셋. 그 청크의 나머지 메시지는 포함하지 않는다. */
+  @Override
+  public long lastOffset(String stream) {
+    try {
+      return environment.queryStreamStats(stream).committedChunkId();
+    } catch (NoOffsetException e) {
+      return -1;
+    }
+  }
+
+  private static OffsetSpecification toSpecification(StreamPosition position) {
+    return switch (position.kind()) {
+      case FIRST -> OffsetSpecification.first();
+      case NEXT -> OffsetSpecification.next();
+      case OFFSET -> OffsetSpecification.offset(position.value());
+      case TIMESTAMP -> OffsetSpecification.timestamp(position.value());
+    };
+  }
+}
@@ -0,0 +1,16 @@
+package com.tickatch.logservice.global.stream;
+
+/**
+ * 다시 시도해도 저장할 수 없는 스트림 메시지를 보관한다. 보관이 끝나야 워커가 오프셋을 넘기므로, 실패하면 예외를 던져야 한다.
+ *
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface StreamDeadLetters {
+
+  /**
+   * @param cause 마지막 저장 실패
+   * @throws RuntimeException 보관하지 못했을 때. 워커는 {@code retryBackoff} 뒤 다시 보관을 시도한다
+   */
+  void send(StreamRecord record, RuntimeException cause);
+}
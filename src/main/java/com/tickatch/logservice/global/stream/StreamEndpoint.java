@@ -0,0 +1,52 @@
+package com.tickatch.logservice.global.stream;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.OptionalParameter;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스트림 워커 상태 조회와 되감기 Actuator 엔드포인트.
+ *
+ * <p>{@code POST /actuator/stream/{domain}} 본문 {@code {"position": "2026-10-19T00:00:00Z",
+ * "target": "p_payment_log_replay"}}. position은 {@code first}, 오프셋, ISO-8601 시각이고, target을 생략하면 실시간
+ * 소비를 되감는다.
+ *
+ * @since 1.0.0
+ */
+@Component
+@Endpoint(id = "stream")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "log.stream.enabled", havingValue = "true")
+public class StreamEndpoint {
+
+  private final StreamIngestManager manager;
+
+  @ReadOperation
+  public List<StreamIngestStatus> status() {
+    return manager.status();
+  }
+
+  @WriteOperation
+  public StreamIngestStatus rewind(
+      @Selector String domain, String position, @OptionalParameter String target) {
+    LogDomain logDomain =
+        LogDomain.fromKey(domain)
+            .orElseThrow(
+                () ->
+                    new InvalidEndpointRequestException(
+                        "Unknown log domain: " + domain, "Unknown log domain"));
+    try {
+      return manager.rewind(logDomain, StreamPosition.parse(position), target);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidEndpointRequestException(e.getMessage(), "Invalid stream rewind");
+    }
+  }
+}
@@ -0,0 +1,392 @@
+package com.tickatch.logservice.global.stream;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.lifecycle.FlushableWriteBuffer;
+import com.tickatch.logservice.global.lifecycle.IngestLifecycleCoordinator;
+import com.tickatch.logservice.global.lifecycle.IngestLifecycleProperties;
+import com.tickatch.logservice.global.lifecycle.IngestReadyEvent;
+import com.tickatch.logservice.global.logging.FailureLogLimiter;
+import com.tickatch.logservice.global.messaging.ConfirmedPublisher;
+import com.tickatch.logservice.global.schema.EventSchemaDecoder;
+import com.tickatch.logservice.global.tracing.TraceContextExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.AbstractMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareMessageListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 도메인별 스트림 워커를 관리한다.
+ *
+ * <p>{@link IngestReadyEvent} 이후 대상 도메인마다 기존 큐에서 스트림으로 소비를 넘긴다. 한 이벤트를 두 경로가 동시에 저장하지 않도록 다음 순서를
+ * 지키며, 단계가 실패하면 {@code retryBackoff} 뒤 그 단계부터 다시 진행한다.
+ *
+ * <ol>
+ *   <li>스트림 시작 위치를 저장하고(이미 있으면 유지) 기존 큐의 교환기 바인딩을 해제한다. 해제에 실패하면 넘기지 않는다.
+ *   <li>기존 리스너가 큐에 남은 메시지를 마저 소비할 때까지 기다린다.
+ *   <li>기존 리스너를 멈추고 은퇴시킨다({@link IngestLifecycleCoordinator#retire}). 정지 중 반납된 메시지가 있으면 다시 돌려 2로
+ *       돌아간다.
+ *   <li>다른 인스턴스의 소비자도 모두 빠진 뒤 실시간 워커를 시작한다.
+ * </ol>
+ *
+ * <p>실시간 워커는 인스턴스 사이에서 하나만 활성화되는 소비자로 스트림을 읽어 기존 {@code @RabbitListener}로 저장한다. 시작 위치가
+ * {@code next}이면 바인딩 해제 직전 시각부터 읽으므로, 두 큐에 모두 들어간 메시지는 기존 리스너가 저장을 끝낸 뒤 다시 읽혀 중복 확인에 걸린다. 저장할 수 없는
+ * 메시지는 기존 큐와 같은 DLQ({@code dlq.<라우팅 키>})로 발행 확인을 받아 보낸다. 스트림 경로에는 처리량 예산과 DB 상태 차단기 advice가 적용되지
+ * 않으며, 워커 큐와 배치 크기가 DB 부하 상한이 된다. 모든 인스턴스가 같은 스트림 설정을 써야 하며, 기존 큐를 소비하는 인스턴스가 남아 있으면 넘기지 않는다.
+ *
+ * <p>되감기는 도메인 테이블이면 실시간 워커의 위치를 바꾸고, 별도 테이블이면 지정한 위치부터 시작 시점의 마지막 오프셋까지 그 테이블에 다시 적재하는 작업을 띄운다. 재적재
+ * 위치는 대상 테이블별 소비자 이름({@code replay:<table>})으로 저장된다. 재적재는 저장할 수 없는 메시지를 DLQ로 보내지 않고 건너뛴다.
+ *
+ * <p>종료 시 {@link FlushableWriteBuffer}로 수신을 멈추고 받아 둔 메시지를 저장한다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Order(FlushableWriteBuffer.RECEIVE_ORDER)
+@ConditionalOnProperty(name = "log.stream.enabled", havingValue = "true")
+public class StreamIngestManager implements FlushableWriteBuffer {
+
+  static final String LIVE_CONSUMER = "log-service";
+  static final String REPLAY_CONSUMER_PREFIX = "replay:";
+
+  private static final String DEAD_LETTER_EXCHANGE = RabbitMQConfig.LOG_EXCHANGE + ".dlx";
+  private static final Duration DEAD_LETTER_CONFIRM_TIMEOUT = Duration.ofSeconds(10);
+
+  private final StreamProperties properties;
+  private final StreamSource source;
+  private final StreamOffsetStore offsetStore;
+  private final RabbitListenerEndpointRegistry listenerRegistry;
+  /** 리스너 컨테이너의 after-receive 후처리와 같은 디코딩 (스키마 업캐스트, trace 컨텍스트). */
+  private final MessagePostProcessor receiveDecoder;
+  private final AmqpAdmin amqpAdmin;
+  private final ConfirmedPublisher publisher;
+  private final IngestLifecycleCoordinator coordinator;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final FailureLogLimiter failureLogLimiter;
+  private final MeterRegistry meterRegistry;
+  private final Duration stopTimeout;
+  private final boolean writeBufferEnabled;
+  private final Map<LogDomain, StreamIngestWorker> live = new EnumMap<>(LogDomain.class);
+  /** 기존 큐 바인딩을 해제했지만 아직 스트림으로 넘기지 못한 도메인과 해제 시각. */
+  private final Map<LogDomain, Instant> unbound = new EnumMap<>(LogDomain.class);
+  private final Map<String, Replay> replays = new TreeMap<>();
+  private boolean closed;
+
+  public StreamIngestManager(
+      StreamProperties properties,
+      StreamSource source,
+      StreamOffsetStore offsetStore,
+      RabbitListenerEndpointRegistry listenerRegistry,
+      EventSchemaDecoder schemaDecoder,
+      TraceContextExtractor traceContextExtractor,
+      AmqpAdmin amqpAdmin,
+      ConfirmedPublisher publisher,
+      IngestLifecycleCoordinator coordinator,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      FailureLogLimiter failureLogLimiter,
+      MeterRegistry meterRegistry,
+      IngestLifecycleProperties ingestLifecycleProperties,
+      @Value("${log.write-buffer.enabled:false}") boolean writeBufferEnabled) {
+    this.properties = properties;
+    this.source = source;
+    this.offsetStore = offsetStore;
+    this.listenerRegistry = listenerRegistry;
+    this.receiveDecoder =
+        message ->
+            traceContextExtractor.postProcessMessage(schemaDecoder.postProcessMessage(message));
+    this.amqpAdmin = amqpAdmin;
+    this.publisher = publisher;
+    this.coordinator = coordinator;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.failureLogLimiter = failureLogLimiter;
+    this.meterRegistry = meterRegistry;
+    this.stopTimeout = ingestLifecycleProperties.drainTimeout();
+    this.writeBufferEnabled = writeBufferEnabled;
+  }
+
+  public boolean consumes(LogDomain domain) {
+    return properties.streams(domain, writeBufferEnabled);
+  }
+
+  @EventListener(IngestReadyEvent.class)
+  public void onIngestReady() {
+    switchPending();
+  }
+
+  /** 아직 스트림으로 넘기지 못한 도메인의 전환을 한 단계씩 진행한다. */
+  @Scheduled(fixedDelayString = "${log.stream.retry-backoff:5s}")
+  public synchronized void switchPending() {
+    if (closed || !coordinator.isRunning()) {
+      return;
+    }
+    for (LogDomain domain : LogDomain.values()) {
+      if (!consumes(domain) || live.containsKey(domain)) {
+        continue;
+      }
+      try {
+        if (switchToStream(domain)) {
+          unbound.remove(domain);
+          startLive(domain);
+          log.info("Switched {} to stream consumption", domain.getQueue());
+        }
+      } catch (AmqpException e) {
+        log.warn(
+            "Failed to switch {} to stream, retrying in {}: {}",
+            domain.getQueue(),
+            properties.retryBackoff(),
+            e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * 도메인 스트림을 지정한 위치로 되감아 다시 처리한다.
+   *
+   * @param target 대상 테이블. {@code null}이거나 도메인 테이블이면 실시간 소비 위치를 바꾼다
+   * @throws IllegalArgumentException 스트림으로 소비하지 않거나 아직 전환 중인 도메인, 또는 잘못된 대상 테이블 이름
+   */
+  public synchronized StreamIngestStatus rewind(
+      LogDomain domain, StreamPosition position, String target) {
+    if (!consumes(domain)) {
+      throw new IllegalArgumentException(
+          "Domain is not consumed from a stream: " + domain.getKey());
+    }
+    if (closed) {
+      throw new IllegalStateException("Stream ingest is shutting down");
+    }
+
+    String stream = StreamProperties.streamOf(domain);
+    if (target == null || target.isBlank() || target.equals(domain.getTable())) {
+      if (!live.containsKey(domain)) {
+        throw new IllegalArgumentException(
+            "Stream switch is still in progress for " + domain.getKey());
+      }
+      StreamIngestWorker worker = live.remove(domain);
+      if (worker != null) {
+        worker.stop(stopTimeout);
+      }
+      offsetStore.reset(stream, LIVE_CONSUMER, position);
+      log.info("Rewound live stream consumer: stream={}, position={}", stream, position);
+      return startLive(domain).status(domain.getKey(), domain.getTable());
+    }
+
+    TableStreamWriter writer =
+        TableStreamWriter.create(domain, target, receiveDecoder, jdbcTemplate);
+    Replay previous = replays.remove(target);
+    if (previous != null) {
+      previous.worker().stop(stopTimeout);
+    }
+
+    String consumer = REPLAY_CONSUMER_PREFIX + target;
+    long lastOffset = source.lastOffset(stream);
+    offsetStore.reset(stream, consumer, position);
+    StreamIngestWorker worker = newWorker(stream, consumer, false, lastOffset, writer, null);
+    worker.start(position);
+    replays.put(target, new Replay(domain, worker));
+    log.info(
+        "Started stream replay: stream={}, position={}, lastOffset={}, target={}",
+        stream,
+        position,
+        lastOffset,
+        target);
+    return worker.status(domain.getKey(), target);
+  }
+
+  public synchronized List<StreamIngestStatus> status() {
+    List<StreamIngestStatus> statuses = new ArrayList<>();
+    live.forEach(
+        (domain, worker) -> statuses.add(worker.status(domain.getKey(), domain.getTable())));
+    replays.forEach(
+        (target, replay) -> statuses.add(replay.worker().status(replay.domain().getKey(), target)));
+    return statuses;
+  }
+
+  @Override
+  public String name() {
+    return "stream-ingest";
+  }
+
+  @Override
+  public synchronized int pending() {
+    int pending = 0;
+    for (StreamIngestWorker worker : live.values()) {
+      pending += worker.pending();
+    }
+    for (Replay replay : replays.values()) {
+      pending += replay.worker().pending();
+    }
+    return pending;
+  }
+
+  /** 모든 워커의 수신을 멈추고, 받아 둔 메시지를 기한 안에 저장한다. */
+  @Override
+  public void flush(Duration timeout) {
+    List<StreamIngestWorker> workers = new ArrayList<>();
+    synchronized (this) {
+      closed = true;
+      workers.addAll(live.values());
+      replays.values().forEach(replay -> workers.add(replay.worker()));
+    }
+
+    long deadline = System.nanoTime() + timeout.toNanos();
+    for (StreamIngestWorker worker : workers) {
+      worker.stop(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+    }
+  }
+
+  /**
+   * 기존 큐에서 스트림으로 넘기는 단계를 진행한다.
+   *
+   * @return 기존 리스너가 멈추고 기존 큐를 소비하는 곳이 없어 실시간 워커를 시작해도 되면 {@code true}
+   * @throws AmqpException 브로커에 바인딩 해제나 큐 조회를 하지 못함
+   */
+  private boolean switchToStream(LogDomain domain) {
+    String listenerId = domain.getListenerId();
+    if (!unbound.containsKey(domain)) {
+      if (properties.initial().kind() == StreamPosition.Kind.NEXT) {
+        offsetStore.initialize(
+            StreamProperties.streamOf(domain),
+            LIVE_CONSUMER,
+            StreamPosition.timestamp(Instant.now()));
+      }
+      amqpAdmin.removeBinding(
+          new Binding(
+              domain.getQueue(),
+              Binding.DestinationType.QUEUE,
+              RabbitMQConfig.LOG_EXCHANGE,
+              domain.getRoutingKey(),
+              null));
+      unbound.put(domain, Instant.now());
+      log.info("Unbound classic queue {}; draining before stream switch", domain.getQueue());
+    }
+
+    if (classicQueue(domain).ready() > 0) {
+      coordinator.reinstate(listenerId); // 지난 시도에서 멈췄다면 다시 돌려 마저 소비한다
+      return false;
+    }
+    if (!coordinator.retire(listenerId, stopTimeout)) {
+      return false; // 처리 중 메시지가 끝나면 다음 주기에 다시 확인한다
+    }
+    ClassicQueue queue = classicQueue(domain);
+    if (queue.ready() > 0) {
+      coordinator.reinstate(listenerId); // 정지하면서 반납된 prefetch 메시지
+      return false;
+    }
+    if (queue.consumers() > 0) {
+      log.info(
+          "Waiting for {} consumer(s) on {} to stop before stream switch (since {})",
+          queue.consumers(),
+          domain.getQueue(),
+          unbound.get(domain));
+      return false;
+    }
+    return true;
+  }
+
+  private ClassicQueue classicQueue(LogDomain domain) {
+    QueueInformation info = amqpAdmin.getQueueInfo(domain.getQueue());
+    return info == null
+        ? new ClassicQueue(0, 0)
+        : new ClassicQueue(info.getMessageCount(), info.getConsumerCount());
+  }
+
+  private StreamIngestWorker startLive(LogDomain domain) {
+    StreamIngestWorker worker =
+        newWorker(
+            StreamProperties.streamOf(domain),
+            LIVE_CONSUMER,
+            true,
+            StreamIngestWorker.UNBOUNDED,
+            new ListenerStreamWriter(domain, receiveDecoder, listenerOf(domain)),
+            deadLettersOf(domain));
+    worker.start(properties.initial());
+    live.put(domain, worker);
+    return worker;
+  }
+
+  private StreamIngestWorker newWorker(
+      String stream,
+      String consumer,
+      boolean singleActive,
+      long lastOffset,
+      StreamRecordWriter writer,
+      StreamDeadLetters deadLetters) {
+    return new StreamIngestWorker(
+        stream,
+        consumer,
+        singleActive,
+        lastOffset,
+        source,
+        offsetStore,
+        writer,
+        deadLetters,
+        transactionTemplate,
+        properties,
+        failureLogLimiter,
+        meterRegistry);
+  }
+
+  private ChannelAwareMessageListener listenerOf(LogDomain domain) {
+    MessageListenerContainer container =
+        listenerRegistry.getListenerContainer(domain.getListenerId());
+    if (container instanceof AbstractMessageListenerContainer listenerContainer
+        && listenerContainer.getMessageListener() instanceof ChannelAwareMessageListener listener) {
+      return listener;
+    }
+    throw new IllegalStateException("No listener registered for " + domain.getListenerId());
+  }
+
+  /** 기존 큐의 DLQ와 같은 라우팅 키로 보내고, 원래 위치를 헤더로 남긴다. */
+  private StreamDeadLetters deadLettersOf(LogDomain domain) {
+    String stream = StreamProperties.streamOf(domain);
+    return (record, cause) -> {
+      Message message = record.message();
+      MessageProperties messageProperties = message.getMessageProperties();
+      messageProperties.setHeader("x-original-exchange", RabbitMQConfig.LOG_EXCHANGE);
+      messageProperties.setHeader("x-original-routingKey", domain.getRoutingKey());
+      messageProperties.setHeader("x-original-stream", stream);
+      messageProperties.setHeader("x-original-offset", record.offset());
+      if (cause != null) {
+        messageProperties.setHeader("x-exception-message", String.valueOf(cause.getMessage()));
+      }
+      publisher.publish(
+          DEAD_LETTER_EXCHANGE,
+          "dlq." + domain.getRoutingKey(),
+          message,
+          DEAD_LETTER_CONFIRM_TIMEOUT);
+    };
+  }
+
+  private record Replay(LogDomain domain, StreamIngestWorker worker) {}
+
+  private record ClassicQueue(long ready, long consumers) {}
+}
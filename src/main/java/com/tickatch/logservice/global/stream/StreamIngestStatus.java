@@ -0,0 +1,34 @@
+package com.tickatch.logservice.global.stream;
+
+/**
+ * 스트림 워커 하나의 상태.
+ *
+ * @param target 재적재 대상 테이블. 실시간 소비면 도메인 테이블
+ * @param nextOffset 커밋된 다음 읽기 오프셋. 아직 모르면 {@code -1}
+ * @param lastOffset 재적재 끝 오프셋. 실시간 소비면 {@code null}
+ * @param deadLettered 저장하지 못해 DLQ로 보낸 메시지 수
+ * @param skipped 저장하지 못해 건너뛴 메시지 수 (보관처가 없는 재적재)
+ * @param queued 받았지만 아직 저장하지 않은 메시지 수
+ * @since 1.0.0
+ */
+public record StreamIngestStatus(
+    String domain,
+    String stream,
+    String consumer,
+    String target,
+    State state,
+    long nextOffset,
+    Long lastOffset,
+    long written,
+    long deadLettered,
+    long skipped,
+    int queued,
+    String lastError) {
+
+  public enum State {
+    RUNNING,
+    /** 재적재가 끝 오프셋까지 저장을 마침. */
+    DONE,
+    STOPPED
+  }
+}
@@ -0,0 +1,477 @@
+package com.tickatch.logservice.global.stream;
+
+import com.tickatch.logservice.global.logging.FailureLogLimiter;
+import com.tickatch.logservice.global.stream.StreamIngestStatus.State;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * 스트림 하나를 배치로 읽어 저장하고, 배치와 같은 트랜잭션에서 다음 읽기 오프셋을 저장하는 워커.
+ *
+ * <p>스트림 클라이언트 스레드는 받은 메시지를 제한된 큐에 넣기만 하고, 워커 스레드가 {@code batchSize}개 또는 {@code linger}까지 모아 한
+ * 트랜잭션으로 저장한다. 저장과 오프셋이 함께 커밋되므로 재시작하면 커밋된 오프셋부터 다시 읽고, 그 사이 중복은 writer가 걸러 낸다.
+ *
+ * <p>배치가 실패하면 메시지마다 따로 다시 저장한다. 일시적인 DB 장애는 {@code retryBackoff} 간격으로 같은 메시지를 계속 다시 시도하고, 그 밖의 실패는
+ * {@link StreamDeadLetters}로 보관한 뒤에만 오프셋을 넘긴다. 보관에 실패하면 같은 간격으로 보관을 다시 시도한다. 보관처가 없는 워커(재적재)는 오프셋을
+ * 로그로 남기고 건너뛰며, 건너뛴 메시지는 스트림에 남아 있으므로 원인을 고친 뒤 해당 오프셋으로 되감아 다시 읽을 수 있다.
+ *
+ * <p>저장된 위치의 세대가 바뀌면(다른 곳에서 되감음) 구독을 닫고 새 위치에서 다시 구독한다. {@code lastOffset}이 있으면 그 오프셋까지
+ * 저장하고 끝난다.
+ *
+ * <p>메트릭: {@code log.stream.records{stream,consumer,result=written|dead-lettered|skipped}}
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+final class StreamIngestWorker {
+
+  /** 끝 오프셋 없이 계속 읽는다. */
+  static final long UNBOUNDED = Long.MAX_VALUE;
+
+  /** 끝 오프셋까지 읽는 재적재 작업이 이 시간 동안 메시지를 받지 못하면 끝난 것으로 본다. */
+  private static final long REPLAY_IDLE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+  private enum Outcome {
+    COMMITTED,
+    FAILED,
+    STALE,
+    ABORTED
+  }
+
+  private final String stream;
+  private final String consumerName;
+  private final boolean singleActive;
+  private final long lastOffset;
+  private final StreamSource source;
+  private final StreamOffsetStore offsetStore;
+  private final StreamRecordWriter writer;
+  private final StreamDeadLetters deadLetters;
+  private final TransactionOperations transactions;
+  private final StreamProperties properties;
+  private final FailureLogLimiter failureLogLimiter;
+  private final BlockingQueue<Delivery> queue;
+  private final AtomicLong epoch = new AtomicLong();
+  private final AtomicLong writtenCount = new AtomicLong();
+  private final AtomicLong deadLetteredCount = new AtomicLong();
+  private final AtomicLong skippedCount = new AtomicLong();
+  private final Counter written;
+  private final Counter deadLettered;
+  private final Counter skipped;
+
+  private StreamPosition initialPosition;
+  private Thread thread;
+  private volatile StreamSource.Subscription subscription;
+  private volatile long generation;
+  private volatile long nextOffset = -1;
+  private volatile State state = State.STOPPED;
+  private volatile boolean stopping;
+  private volatile boolean aborted;
+  private volatile RuntimeException lastFailure;
+
+  /**
+   * @param deadLetters 저장할 수 없는 메시지의 보관처. {@code null}이면 건너뛴다
+   */
+  StreamIngestWorker(
+      String stream,
+      String consumerName,
+      boolean singleActive,
+      long lastOffset,
+      StreamSource source,
+      StreamOffsetStore offsetStore,
+      StreamRecordWriter writer,
+      StreamDeadLetters deadLetters,
+      TransactionOperations transactions,
+      StreamProperties properties,
+      FailureLogLimiter failureLogLimiter,
+      MeterRegistry meterRegistry) {
+    this.stream = stream;
+    this.consumerName = consumerName;
+    this.singleActive = singleActive;
+    this.lastOffset = lastOffset;
+    this.source = source;
+    this.offsetStore = offsetStore;
+    this.writer = writer;
+    this.deadLetters = deadLetters;
+    this.transactions = transactions;
+    this.properties = properties;
+    this.failureLogLimiter = failureLogLimiter;
+    this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    this.written = recordCounter(meterRegistry, "written");
+    this.deadLettered = recordCounter(meterRegistry, "dead-lettered");
+    this.skipped = recordCounter(meterRegistry, "skipped");
+  }
+
+  /** 저장된 위치에서, 없으면 {@code initial}에서 읽기 시작한다. */
+  synchronized void start(StreamPosition initial) {
+    initialPosition = initial;
+    stopping = false;
+    aborted = false;
+    if (lastOffset < 0) {
+      state = State.DONE; // 빈 스트림
+      return;
+    }
+
+    state = State.RUNNING;
+    thread =
+        Thread.ofPlatform().name("log-stream-" + stream + "/" + consumerName).start(this::run);
+  }
+
+  /**
+   * 수신을 멈추고 이미 받은 메시지를 기한 안에 저장한 뒤 끝낸다. 기한을 넘기면 저장 중인 배치를 버리며, 버린 메시지는 커밋된 오프셋부터 다시
+   * 읽힌다.
+   */
+  void stop(Duration timeout) {
+    Thread worker;
+    synchronized (this) {
+      stopping = true;
+      worker = thread;
+    }
+    closeSubscription();
+    if (worker == null) {
+      return;
+    }
+
+    try {
+      worker.join(Math.max(1, timeout.toMillis()));
+      if (worker.isAlive()) {
+        aborted = true;
+        worker.interrupt();
+        worker.join(1_000);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  StreamIngestStatus status(String domain, String target) {
+    RuntimeException failure = lastFailure;
+    return new StreamIngestStatus(
+        domain,
+        stream,
+        consumerName,
+        target,
+        state,
+        nextOffset,
+        lastOffset == UNBOUNDED ? null : lastOffset,
+        writtenCount.get(),
+        deadLetteredCount.get(),
+        skippedCount.get(),
+        queue.size(),
+        failure == null ? null : failure.getMessage());
+  }
+
+  State state() {
+    return state;
+  }
+
+  int pending() {
+    return queue.size();
+  }
+
+  private void run() {
+    List<StreamRecord> batch = new ArrayList<>(properties.batchSize());
+    long idleSince = System.nanoTime();
+    try {
+      subscribe();
+      while (!aborted && !(stopping && queue.isEmpty())) {
+        if (!fill(batch)) {
+          if (lastOffset != UNBOUNDED && System.nanoTime() - idleSince > REPLAY_IDLE_NANOS) {
+            state = State.DONE;
+            return;
+          }
+          continue;
+        }
+
+        Outcome outcome = writeBatch(batch);
+        batch.clear();
+        idleSince = System.nanoTime();
+        if (outcome == Outcome.ABORTED) {
+          return;
+        }
+        if (outcome != Outcome.COMMITTED) {
+          resubscribe(outcome == Outcome.FAILED);
+        } else if (nextOffset > lastOffset) {
+          state = State.DONE;
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (RuntimeException e) {
+      lastFailure = e;
+      log.error("Stream ingest worker failed: stream={}, consumer={}", stream, consumerName, e);
+    } finally {
+      closeSubscription();
+      if (state == State.RUNNING) {
+        state = State.STOPPED;
+      }
+    }
+  }
+
+  /** 첫 메시지를 기다린 뒤 {@code linger} 안에 도착한 메시지를 {@code batchSize}까지 모은다. */
+  private boolean fill(List<StreamRecord> batch) throws InterruptedException {
+    long deadline = 0;
+    while (batch.size() < properties.batchSize()) {
+      long waitNanos =
+          batch.isEmpty() ? TimeUnit.MILLISECONDS.toNanos(100) : deadline - System.nanoTime();
+      if (waitNanos <= 0) {
+        break;
+      }
+      Delivery delivery = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+      if (delivery == null) {
+        break;
+      }
+      StreamRecord record = delivery.record();
+      if (delivery.epoch() != epoch.get()
+          || record.offset() < nextOffset
+          || record.offset() > lastOffset) {
+        continue; // 이전 구독분, 이미 커밋한 오프셋, 재적재 범위 밖
+      }
+      if (batch.isEmpty()) {
+        deadline = System.nanoTime() + properties.linger().toNanos();
+      }
+      batch.add(record);
+    }
+    return !batch.isEmpty();
+  }
+
+  private Outcome writeBatch(List<StreamRecord> batch) {
+    Outcome outcome = commit(batch, batch.get(batch.size() - 1).offset() + 1);
+    if (outcome == Outcome.COMMITTED) {
+      count(writtenCount, written, batch.size());
+      return outcome;
+    }
+    if (outcome != Outcome.FAILED) {
+      return outcome;
+    }
+
+    // 배치 중 어떤 메시지가 실패했는지 모르므로 하나씩 다시 저장한다.
+    for (StreamRecord record : batch) {
+      outcome = commit(List.of(record), record.offset() + 1);
+      if (outcome == Outcome.COMMITTED) {
+        count(writtenCount, written, 1);
+        continue;
+      }
+      if (outcome == Outcome.FAILED) {
+        outcome = discard(record);
+      }
+      if (outcome != Outcome.COMMITTED) {
+        return outcome;
+      }
+    }
+    return Outcome.COMMITTED;
+  }
+
+  /** 메시지와 다음 오프셋을 한 트랜잭션으로 저장한다. 일시적인 DB 장애는 성공하거나 중단될 때까지 다시 시도한다. */
+  private Outcome commit(List<StreamRecord> records, long next) {
+    while (true) {
+      try {
+        transactions.executeWithoutResult(
+            status -> {
+              if (!records.isEmpty()) {
+                writer.write(records);
+              }
+              if (!offsetStore.commit(stream, consumerName, generation, next)) {
+                throw new StaleCheckpointException();
+              }
+            });
+        nextOffset = next;
+        return Outcome.COMMITTED;
+      } catch (StaleCheckpointException e) {
+        log.info(
+            "Stream checkpoint moved, resubscribing: stream={}, consumer={}", stream, consumerName);
+        return Outcome.STALE;
+      } catch (RuntimeException e) {
+        lastFailure = e;
+        if (!isTransient(e)) {
+          return Outcome.FAILED;
+        }
+        log.warn(
+            "Stream batch failed, retrying in {}: stream={}, offset={}",
+            properties.retryBackoff(),
+            stream,
+            next,
+            e);
+        if (!sleep(properties.retryBackoff())) {
+          return Outcome.ABORTED;
+        }
+      }
+    }
+  }
+
+  /** 저장할 수 없는 메시지를 보관처로 보내거나 건너뛰고, 오프셋을 다음 메시지로 넘긴다. */
+  private Outcome discard(StreamRecord record) {
+    if (deadLetters == null) {
+      skip(record);
+      return commit(List.of(), record.offset() + 1);
+    }
+
+    RuntimeException cause = lastFailure;
+    while (true) {
+      try {
+        deadLetters.send(record, cause);
+        break;
+      } catch (RuntimeException e) {
+        lastFailure = e;
+        log.warn(
+            "Failed to dead-letter stream message, retrying in {}: stream={}, offset={}",
+            properties.retryBackoff(),
+            stream,
+            record.offset(),
+            e);
+        if (!sleep(properties.retryBackoff())) {
+          return Outcome.ABORTED;
+        }
+      }
+    }
+    count(deadLetteredCount, deadLettered, 1);
+    long suppressed = failureLogLimiter.tryAcquire(stream);
+    if (suppressed != FailureLogLimiter.DENIED) {
+      log.error(
+          "Dead-lettered stream message: stream={}, offset={} (suppressed={})",
+          stream,
+          record.offset(),
+          suppressed,
+          cause);
+    }
+    return commit(List.of(), record.offset() + 1);
+  }
+
+  private void skip(StreamRecord record) {
+    count(skippedCount, skipped, 1);
+    long suppressed = failureLogLimiter.tryAcquire(stream);
+    if (suppressed != FailureLogLimiter.DENIED) {
+      log.error(
+          "Skipped stream message: stream={}, offset={} (suppressed={})",
+          stream,
+          record.offset(),
+          suppressed,
+          lastFailure);
+    }
+  }
+
+  private void subscribe() {
+    long current = epoch.incrementAndGet();
+    subscription =
+        source.subscribe(
+            stream,
+            singleActive ? consumerName : null,
+            this::resolvePosition,
+            record -> enqueue(current, record));
+  }
+
+  /** 구독을 닫고 저장된 위치에서 다시 구독한다. 실패 후라면 잠시 기다린다. */
+  private void resubscribe(boolean backoff) throws InterruptedException {
+    closeSubscription();
+    queue.clear();
+    if (backoff) {
+      Thread.sleep(properties.retryBackoff().toMillis());
+    }
+    if (!stopping) {
+      subscribe();
+    }
+  }
+
+  /** 구독 시작(또는 활성화) 시 저장된 위치와 세대를 다시 읽는다. */
+  private StreamPosition resolvePosition() {
+    StreamOffsetStore.Checkpoint checkpoint =
+        offsetStore
+            .load(stream, consumerName)
+            .orElse(new StreamOffsetStore.Checkpoint(initialPosition, 0));
+    generation = checkpoint.generation();
+    StreamPosition position = checkpoint.position();
+    nextOffset = position.kind() == StreamPosition.Kind.OFFSET ? position.value() : -1;
+    return position;
+  }
+
+  /** 스트림 클라이언트 스레드에서 호출된다. 큐가 가득 차면 기다리며, 그동안 수신이 멈춘다. */
+  private void enqueue(long subscriptionEpoch, StreamRecord record) {
+    Delivery delivery = new Delivery(subscriptionEpoch, record);
+    try {
+      while (!queue.offer(delivery, 100, TimeUnit.MILLISECONDS)) {
+        if (stopping || subscriptionEpoch != epoch.get()) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void closeSubscription() {
+    StreamSource.Subscription current = subscription;
+    subscription = null;
+    if (current != null) {
+      try {
+        current.close();
+      } catch (RuntimeException e) {
+        log.warn("Failed to close stream subscription: stream={}", stream, e);
+      }
+    }
+  }
+
+  private boolean sleep(Duration duration) {
+    try {
+      Thread.sleep(duration.toMillis());
+      return !aborted;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private Counter recordCounter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("log.stream.records")
+        .tag("stream", stream)
+        .tag("consumer", consumerName)
+        .tag("result", result)
+        .description("스트림에서 읽어 처리한 메시지 수")
+        .register(meterRegistry);
+  }
+
+  private static void count(AtomicLong total, Counter counter, int amount) {
+    total.addAndGet(amount);
+    counter.increment(amount);
+  }
+
+  /** 다시 시도하면 성공할 수 있는 실패인지 (커넥션, 타임아웃, 교착 등). */
+  static boolean isTransient(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof TransientDataAccessException
+          || cause instanceof RecoverableDataAccessException
+          || cause instanceof CannotCreateTransactionException
+          || cause instanceof SQLTransientException
+          || cause instanceof SQLRecoverableException) {
+        return true;
+      }
+      if (cause.getCause() == cause) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  private record Delivery(long epoch, StreamRecord record) {}
+
+  /** 저장된 위치의 세대가 바뀌어 이 워커의 오프셋을 저장하지 않았다. */
+  private static final class StaleCheckpointException extends RuntimeException {
+
+    private StaleCheckpointException() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package com.tickatch.logservice.global.stream;
+
+import java.util.Optional;
+
+/**
+ * 스트림 소비자별 다음 읽기 위치 저장소.
+ *
+ * <p>되감기는 위치와 함께 세대를 올린다. 이전 세대로 읽던 워커의 다음 저장은 실패하므로, 다른 인스턴스에서 되감아도 활성 워커가 새 위치에서 다시
+ * 시작한다.
+ *
+ * @since 1.0.0
+ */
+public interface StreamOffsetStore {
+
+  Optional<Checkpoint> load(String stream, String consumerName);
+
+  /**
+   * 다음 읽기 오프셋을 저장한다. 처리한 메시지와 같은 트랜잭션에서 호출한다.
+   *
+   * @return 세대가 바뀌었거나 저장된 오프셋보다 뒤로 가면 {@code false}
+   */
+  boolean commit(String stream, String consumerName, long generation, long nextOffset);
+
+  /**
+   * 저장된 위치가 없을 때만 시작 위치를 저장한다. 여러 인스턴스가 동시에 호출해도 처음 저장한 위치가 남는다.
+   *
+   * @return 이번 호출로 저장했으면 {@code true}
+   */
+  boolean initialize(String stream, String consumerName, StreamPosition position);
+
+  /** 읽기 위치를 바꾸고 세대를 올린다. */
+  void reset(String stream, String consumerName, StreamPosition position);
+
+  /**
+   * 저장된 위치.
+   *
+   * @param generation 되감을 때마다 1씩 오른다
+   */
+  record Checkpoint(StreamPosition position, long generation) {}
+}
@@ -0,0 +1,77 @@
+package com.tickatch.logservice.global.stream;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 스트림에서 읽기 시작할 위치.
+ *
+ * @param kind 위치 종류
+ * @param value {@link Kind#OFFSET}이면 오프셋, {@link Kind#TIMESTAMP}이면 epoch millis. 그 외에는 0
+ * @since 1.0.0
+ */
+public record StreamPosition(Kind kind, long value) {
+
+  public enum Kind {
+    /** 보관 중인 가장 오래된 메시지. */
+    FIRST,
+    /** 구독 이후 새로 들어오는 메시지. */
+    NEXT,
+    OFFSET,
+    /** 브로커가 해당 시각 이후에 저장한 메시지. */
+    TIMESTAMP
+  }
+
+  public StreamPosition {
+    if (kind == null) {
+      throw new IllegalArgumentException("Stream position kind is required");
+    }
+    if (kind == Kind.OFFSET && value < 0) {
+      throw new IllegalArgumentException("Stream offset must not be negative: " + value);
+    }
+  }
+
+  public static StreamPosition first() {
+    return new StreamPosition(Kind.FIRST, 0);
+  }
+
+  public static StreamPosition next() {
+    return new StreamPosition(Kind.NEXT, 0);
+  }
+
+  public static StreamPosition offset(long offset) {
+    return new StreamPosition(Kind.OFFSET, offset);
+  }
+
+  public static StreamPosition timestamp(Instant timestamp) {
+    return new StreamPosition(Kind.TIMESTAMP, timestamp.toEpochMilli());
+  }
+
+  /**
+   * {@code first}, {@code next}, 오프셋 숫자, ISO-8601 시각(예: {@code 2026-10-19T00:00:00Z})을 읽는다.
+   *
+   * @throws IllegalArgumentException 읽을 수 없는 값
+   */
+  public static StreamPosition parse(String text) {
+    if (text == null || text.isBlank()) {
+      throw new IllegalArgumentException("Stream position is required");
+    }
+
+    String value = text.trim();
+    if (value.equalsIgnoreCase("first")) {
+      return first();
+    }
+    if (value.equalsIgnoreCase("next")) {
+      return next();
+    }
+    if (value.chars().allMatch(Character::isDigit)) {
+      return offset(Long.parseLong(value));
+    }
+    try {
+      return timestamp(Instant.parse(value));
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException(
+          "Stream position must be first, next, an offset or an ISO-8601 instant: " + text, e);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.tickatch.logservice.global.stream;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * RabbitMQ 스트림 소비 모드 설정.
+ *
+ * @param enabled 사용 여부. 켜면 대상 도메인은 스트림 큐에서 배치로 소비한다 (샤딩 모드와 함께 쓸 수 없다)
+ * @param maxAge 스트림 보관 기간. 이 기간 안의 시점으로만 되감을 수 있다
+ * @param batchSize 트랜잭션 하나로 저장하는 최대 메시지 수
+ * @param linger 배치가 차지 않았을 때 최대 대기
+ * @param queueCapacity 도메인별로 받아 두는 최대 메시지 수. 가득 차면 스트림 수신이 멈춘다
+ * @param retryBackoff DB 장애 시 같은 배치를 다시 시도하기 전 대기
+ * @param initialPosition 저장된 오프셋이 없을 때 시작 위치 ({@code first}, {@code next}, 오프셋, ISO-8601 시각)
+ * @param domains 스트림으로 소비할 도메인 키. 비어 있으면 전체 도메인
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.stream")
+public record StreamProperties(
+    boolean enabled,
+    Duration maxAge,
+    int batchSize,
+    Duration linger,
+    int queueCapacity,
+    Duration retryBackoff,
+    String initialPosition,
+    Set<String> domains) {
+
+  private static final String STREAM_SUFFIX = ".stream";
+
+  public StreamProperties {
+    if (maxAge == null) {
+      maxAge = Duration.ofDays(7);
+    }
+    if (batchSize <= 0) {
+      batchSize = 500;
+    }
+    if (linger == null) {
+      linger = Duration.ofMillis(200);
+    }
+    if (queueCapacity <= 0) {
+      queueCapacity = batchSize * 4;
+    }
+    if (retryBackoff == null) {
+      retryBackoff = Duration.ofSeconds(5);
+    }
+    if (initialPosition == null || initialPosition.isBlank()) {
+      initialPosition = "next";
+    }
+    StreamPosition.parse(initialPosition);
+    if (domains == null) {
+      domains = Set.of();
+    }
+  }
+
+  public StreamPosition initial() {
+    return StreamPosition.parse(initialPosition);
+  }
+
+  /** 스트림으로 소비하는 도메인인지. 쓰기 버퍼를 켠 예매 좌석 도메인은 기존 배치 INSERT 경로를 유지한다. */
+  public boolean streams(LogDomain domain, boolean writeBufferEnabled) {
+    if (!enabled || (writeBufferEnabled && domain == LogDomain.RESERVATION_SEAT)) {
+      return false;
+    }
+    return domains.isEmpty() || domains.contains(domain.getKey());
+  }
+
+  /** 도메인의 스트림 큐 이름 ({@code <기존 큐>.stream}). */
+  public static String streamOf(LogDomain domain) {
+    return domain.getQueue() + STREAM_SUFFIX;
+  }
+}
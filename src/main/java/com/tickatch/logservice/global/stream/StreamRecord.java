@@ -0,0 +1,10 @@
+package com.tickatch.logservice.global.stream;
+
+import org.springframework.amqp.core.Message;
+
+/**
+ * 스트림에서 읽은 메시지와 그 오프셋.
+ *
+ * @since 1.0.0
+ */
+public record StreamRecord(long offset, Message message) {}
@@ -0,0 +1,14 @@
+package com.tickatch.logservice.global.stream;
+
+import java.util.List;
+
+/**
+ * 스트림 메시지 배치를 저장한다. 워커가 연 트랜잭션 안에서 호출되며, 같은 메시지를 다시 받아도 결과가 같아야 한다.
+ *
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface StreamRecordWriter {
+
+  void write(List<StreamRecord> records);
+}
@@ -0,0 +1,37 @@
+package com.tickatch.logservice.global.stream;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 오프셋으로 다시 읽을 수 있는 메시지 스트림.
+ *
+ * <p>운영에서는 {@link RabbitStreamSource}가 RabbitMQ 스트림 큐를 읽는다. 브로커 없이 검증할 때는 메모리 구현으로 바꿔 끼운다.
+ *
+ * @since 1.0.0
+ */
+public interface StreamSource {
+
+  /**
+   * 스트림을 구독한다. 핸들러는 오프셋 순서대로 한 스레드에서 호출되며, 핸들러가 막히면 수신도 멈춘다.
+   *
+   * @param consumerName 인스턴스 사이에서 하나만 활성화할 소비자 이름. {@code null}이면 단독 구독
+   * @param position 시작 위치. 단독 구독은 즉시, 이름 있는 구독은 이 인스턴스가 활성화될 때마다 호출한다
+   */
+  Subscription subscribe(
+      String stream,
+      String consumerName,
+      Supplier<StreamPosition> position,
+      Consumer<StreamRecord> handler);
+
+  /** 지금까지 저장된 마지막 오프셋. 비어 있으면 {@code -1}. */
+  long lastOffset(String stream);
+
+  /** 구독 해제 핸들. */
+  @FunctionalInterface
+  interface Subscription extends AutoCloseable {
+
+    @Override
+    void close();
+  }
+}
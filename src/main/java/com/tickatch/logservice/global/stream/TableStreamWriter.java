@@ -0,0 +1,171 @@
+package com.tickatch.logservice.global.stream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.migration.SchemaMigrations;
+import com.tickatch.logservice.global.schema.EventSchemaHeaders;
+import com.tickatch.logservice.global.tracing.TraceContextHeaders;
+import io.github.tickatch.common.util.JsonUtils;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 스트림 메시지를 도메인 테이블과 같은 구조의 별도 테이블에 다시 적재한다.
+ *
+ * <p>대상 테이블은 {@code <도메인 테이블>_}로 시작해야 한다. 애플리케이션은 DDL을 실행하지 않으므로 운영자가 도메인 테이블 컬럼과 기본값을 복사해({@code
+ * LIKE ... INCLUDING DEFAULTS}) 미리 만들고 {@code id} 유니크 인덱스를 걸어 둔다. 컬럼은 이벤트 본문의 camelCase 필드에
+ * 대응시키고({@code id}는 {@code eventId}, {@code overflow}는 overflow 헤더, {@code trace_id}는 trace ID 헤더),
+ * 값이 없으면 컬럼 기본값을 쓴다. {@code ON CONFLICT (id) DO NOTHING}으로 넣으므로 같은 구간을 다시 적재해도 중복되지 않는다.
+ *
+ * <p>저장 수준 정책, 프로젝션 등 Consumer의 부수 효과는 적용하지 않는다. 원본 이벤트를 그대로 다시 쌓는 용도다.
+ *
+ * @since 1.0.0
+ */
+final class TableStreamWriter implements StreamRecordWriter {
+
+  private static final Pattern TABLE_NAME = Pattern.compile("[a-z][a-z0-9_]{0,50}");
+
+  private final LogDomain domain;
+  private final MessagePostProcessor schemaDecoder;
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+  private final List<Column> columns;
+  private final String insertSql;
+
+  private TableStreamWriter(
+      LogDomain domain,
+      String table,
+      MessagePostProcessor schemaDecoder,
+      JdbcTemplate jdbcTemplate,
+      List<Column> columns) {
+    this.domain = domain;
+    this.schemaDecoder = schemaDecoder;
+    this.jdbcTemplate = jdbcTemplate;
+    this.columns = columns;
+    this.insertSql =
+        "INSERT INTO "
+            + table
+            + " ("
+            + columns.stream().map(Column::name).collect(Collectors.joining(", "))
+            + ") VALUES ("
+            + columns.stream().map(Column::placeholder).collect(Collectors.joining(", "))
+            + ") ON CONFLICT (id) DO NOTHING";
+  }
+
+  /**
+   * 대상 테이블을 확인하고 writer를 만든다.
+   *
+   * @throws IllegalArgumentException 대상 테이블 이름이 규칙에 맞지 않거나, 테이블 또는 {@code id} 유니크 인덱스가 없음
+   */
+  static TableStreamWriter create(
+      LogDomain domain, String table, MessagePostProcessor schemaDecoder, JdbcTemplate jdbc) {
+    if (!TABLE_NAME.matcher(table).matches() || !table.startsWith(domain.getTable() + "_")) {
+      throw new IllegalArgumentException(
+          "Target table must be a lower-case name starting with " + domain.getTable() + "_");
+    }
+
+    if (!SchemaMigrations.missingTables(jdbc, table).isEmpty()
+        || !SchemaMigrations.hasUniqueIndex(jdbc, table, "id")) {
+      throw new IllegalArgumentException(
+          "Target table "
+              + table
+              + " must exist with a unique index on id: CREATE TABLE "
+              + table
+              + " (LIKE "
+              + domain.getTable()
+              + " INCLUDING DEFAULTS); CREATE UNIQUE INDEX ON "
+              + table
+              + " (id)");
+    }
+
+    List<Column> columns =
+        jdbc.query(
+            "SELECT column_name, udt_name, column_default FROM information_schema.columns"
+                + " WHERE table_schema = current_schema() AND table_name = ?"
+                + " ORDER BY ordinal_position",
+            (rs, rowNum) ->
+                new Column(
+                    rs.getString("column_name"),
+                    rs.getString("udt_name"),
+                    rs.getString("column_default")),
+            table);
+    return new TableStreamWriter(domain, table, schemaDecoder, jdbc, columns);
+  }
+
+  @Override
+  public void write(List<StreamRecord> records) {
+    List<Object[]> rows = new ArrayList<>(records.size());
+    for (StreamRecord record : records) {
+      rows.add(toRow(record.message()));
+    }
+    jdbcTemplate.batchUpdate(insertSql, rows);
+  }
+
+  private Object[] toRow(Message message) {
+    message.getMessageProperties().setConsumerQueue(domain.getQueue());
+    Message decoded = schemaDecoder.postProcessMessage(message);
+    JsonNode body;
+    try {
+      body = objectMapper.readTree(decoded.getBody());
+    } catch (IOException e) {
+      throw new AmqpRejectAndDontRequeueException("Unreadable stream message body", e);
+    }
+    if (!body.isObject() || !body.hasNonNull("eventId")) {
+      throw new AmqpRejectAndDontRequeueException("Stream message has no eventId");
+    }
+
+    Object[] row = new Object[columns.size()];
+    for (int i = 0; i < row.length; i++) {
+      String name = columns.get(i).name();
+      if (name.equals("overflow")) {
+        row[i] = decoded.getMessageProperties().getHeader(EventSchemaHeaders.OVERFLOW);
+        continue;
+      }
+      if (name.equals("trace_id")) {
+        Object traceId = decoded.getMessageProperties().getHeader(TraceContextHeaders.TRACE_ID);
+        row[i] = traceId == null ? null : traceId.toString();
+        continue;
+      }
+      JsonNode value = body.get(name.equals("id") ? "eventId" : toFieldName(name));
+      row[i] =
+          value == null || value.isNull()
+              ? null
+              : value.isValueNode() ? value.asText() : value.toString();
+    }
+    return row;
+  }
+
+  /** {@code reservation_seat_id} → {@code reservationSeatId}. */
+  private static String toFieldName(String column) {
+    StringBuilder field = new StringBuilder(column.length());
+    boolean upper = false;
+    for (char c : column.toCharArray()) {
+      if (c == '_') {
+        upper = true;
+      } else {
+        field.append(upper ? Character.toUpperCase(c) : c);
+        upper = false;
+      }
+    }
+    return field.toString();
+  }
+
+  /** 대상 테이블 컬럼. 값이 없으면 컬럼 기본값으로 채운다. */
+  private record Column(String name, String type, String defaultExpression) {
+
+    String placeholder() {
+      String cast = "?::" + type;
+      return defaultExpression == null
+          ? cast
+          : "COALESCE(" + cast + ", " + defaultExpression + ")";
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.tickatch.logservice.global.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 리스너 컨테이너의 after-receive 후처리로 발행 쪽 trace 컨텍스트를 꺼낸다.
+ *
+ * <p>W3C {@code traceparent}, B3 단일 헤더 {@code b3}, B3 다중 헤더 {@code X-B3-TraceId}/{@code
+ * X-B3-SpanId} 순으로 보고, 찾으면 {@link TraceContextHeaders}의 헤더로 넘긴다. 리스너 관측(observation)을 켜지 않아도 되고,
+ * 메시지를 버퍼에 쌓았다가 다른 스레드에서 저장하는 경로에서도 발행 쪽 trace를 잃지 않는다. 헤더가 없거나 형식이 틀리면 trace 없이 저장한다.
+ *
+ * <p>메트릭: {@code log.trace.context{result=present|absent}}
+ *
+ * @since 1.0.0
+ */
+@Component
+public class TraceContextExtractor implements MessagePostProcessor {
+
+  private static final String TRACEPARENT = "traceparent";
+  private static final String B3 = "b3";
+  private static final String B3_TRACE_ID = "X-B3-TraceId";
+  private static final String B3_SPAN_ID = "X-B3-SpanId";
+
+  private final Counter present;
+  private final Counter absent;
+
+  public TraceContextExtractor(MeterRegistry meterRegistry) {
+    this.present = counter(meterRegistry, "present");
+    this.absent = counter(meterRegistry, "absent");
+  }
+
+  @Override
+  public Message postProcessMessage(Message message) {
+    MessageProperties messageProperties = message.getMessageProperties();
+    Optional<TraceParent> parent = extract(messageProperties);
+    if (parent.isPresent()) {
+      messageProperties.setHeader(TraceContextHeaders.TRACE_ID, parent.get().traceId());
+      messageProperties.setHeader(TraceContextHeaders.PARENT, parent.get());
+      present.increment();
+    } else {
+      // 샤드 큐로 재발행된 메시지에 남은 이전 값은 버린다
+      messageProperties.getHeaders().remove(TraceContextHeaders.TRACE_ID);
+      messageProperties.getHeaders().remove(TraceContextHeaders.PARENT);
+      absent.increment();
+    }
+    return message;
+  }
+
+  /** 메시지 헤더에서 발행 쪽 trace 컨텍스트를 읽는다. */
+  public static Optional<TraceParent> extract(MessageProperties messageProperties) {
+    String traceparent = header(messageProperties, TRACEPARENT);
+    if (traceparent != null) {
+      // version-traceId(32)-spanId(16)-flags
+      String[] parts = traceparent.trim().split("-");
+      if (parts.length >= 4 && parts[0].length() == 2 && !parts[0].equals("ff")) {
+        Optional<TraceParent> parent =
+            parts[1].length() == 32 ? TraceParent.parse(parts[1], parts[2]) : Optional.empty();
+        if (parent.isPresent()) {
+          return parent;
+        }
+      }
+    }
+
+    String b3 = header(messageProperties, B3);
+    if (b3 != null) {
+      // traceId-spanId[-sampled[-parentSpanId]]. 샘플링 플래그만 있는 값("0", "1", "d")은 ID가 없다
+      String[] parts = b3.trim().split("-");
+      if (parts.length >= 2) {
+        Optional<TraceParent> parent = TraceParent.parse(parts[0], parts[1]);
+        if (parent.isPresent()) {
+          return parent;
+        }
+      }
+    }
+
+    return TraceParent.parse(
+        header(messageProperties, B3_TRACE_ID), header(messageProperties, B3_SPAN_ID));
+  }
+
+  private static String header(MessageProperties messageProperties, String name) {
+    Object value = messageProperties.getHeader(name);
+    return value == null ? null : value.toString(); // LongString 포함
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("log.trace.context")
+        .tag("result", result)
+        .description("발행 쪽 trace 컨텍스트 헤더 유무별 수신 메시지 수")
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,20 @@
+package com.tickatch.logservice.global.tracing;
+
+/**
+ * 수신한 trace 컨텍스트를 리스너에 넘기는 메시지 헤더.
+ *
+ * <p>{@link TraceContextExtractor}가 수신 직후 발행 쪽 전파 헤더({@code traceparent}, {@code b3}, {@code
+ * X-B3-*})를 읽어 채운다. 브로커로 나가지 않는 수신 측 헤더다.
+ *
+ * @since 1.0.0
+ */
+public final class TraceContextHeaders {
+
+  /** 발행 쪽 trace ID ({@link java.util.UUID}). Consumer가 trace_id 컬럼에 저장한다. */
+  public static final String TRACE_ID = "x-log-trace-id";
+
+  /** 발행 쪽 trace ID와 span ID ({@link TraceParent}). 배치 저장 span의 링크에 쓴다. */
+  public static final String PARENT = "x-log-trace-parent";
+
+  private TraceContextHeaders() {}
+}
@@ -0,0 +1,68 @@
+package com.tickatch.logservice.global.tracing;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 메시지를 발행한 쪽의 trace 컨텍스트 (trace ID와 발행 span ID).
+ *
+ * <p>trace ID는 128비트를 그대로 {@link UUID}에 담아 {@code uuid} 컬럼(16바이트)에 저장한다. 64비트 trace ID는 상위 64비트를
+ * 0으로 채운다 (W3C/B3 호환 규칙과 같다).
+ *
+ * @param spanId 발행 span ID (64비트)
+ * @since 1.0.0
+ */
+public record TraceParent(UUID traceId, long spanId) {
+
+  public String traceIdHex() {
+    return traceIdHex(traceId);
+  }
+
+  /** trace ID 16진 문자열. 상위 64비트가 0이면 Brave와 같이 16자리로 쓴다. */
+  public static String traceIdHex(UUID traceId) {
+    return traceId.getMostSignificantBits() == 0
+        ? toHex(traceId.getLeastSignificantBits())
+        : toHex(traceId.getMostSignificantBits()) + toHex(traceId.getLeastSignificantBits());
+  }
+
+  public String spanIdHex() {
+    return toHex(spanId);
+  }
+
+  /** 16진 trace ID(16 또는 32자리)와 span ID(16자리)를 읽는다. 형식이 틀리거나 0이면 빈 값. */
+  public static Optional<TraceParent> parse(String traceIdHex, String spanIdHex) {
+    UUID traceId = parseTraceId(traceIdHex).orElse(null);
+    if (traceId == null || spanIdHex == null || spanIdHex.length() != 16) {
+      return Optional.empty();
+    }
+    try {
+      long spanId = Long.parseUnsignedLong(spanIdHex, 16);
+      return spanId == 0 ? Optional.empty() : Optional.of(new TraceParent(traceId, spanId));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  /** 16진 trace ID(16 또는 32자리)나 UUID 표기를 읽는다. 형식이 틀리거나 0이면 빈 값. */
+  public static Optional<UUID> parseTraceId(String value) {
+    if (value == null) {
+      return Optional.empty();
+    }
+    String hex = value.length() == 36 ? value.replace("-", "") : value;
+    if (hex.length() != 16 && hex.length() != 32) {
+      return Optional.empty();
+    }
+    try {
+      long high = hex.length() == 32 ? Long.parseUnsignedLong(hex, 0, 16, 16) : 0;
+      long low = Long.parseUnsignedLong(hex, hex.length() - 16, hex.length(), 16);
+      return high == 0 && low == 0 ? Optional.empty() : Optional.of(new UUID(high, low));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static String toHex(long value) {
+    String hex = Long.toHexString(value);
+    return "0".repeat(16 - hex.length()) + hex;
+  }
+}
@@ -0,0 +1,77 @@
+package com.tickatch.logservice.logquery.application;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 비동기 조회 작업 설정. 동시에 실행되는 조회 수가 {@code workers}로 묶이므로 DB에 걸리는 부하도 그만큼으로 제한된다.
+ *
+ * @param workers 동시에 실행하는 작업 수 (= 사용하는 DB 커넥션 수)
+ * @param queueCapacity 실행을 기다릴 수 있는 작업 수
+ * @param perUserLimit 사용자별 대기 + 실행 중 작업 수 상한
+ * @param maxEstimatedRows 실행 계획 예상 행 수가 이 값을 넘으면 받지 않는다
+ * @param maxEstimatedCost 실행 계획 비용이 이 값을 넘으면 받지 않는다
+ * @param maxResultRows 결과로 저장하는 최대 행 수. 넘으면 잘린 결과로 끝난다
+ * @param queryTimeout 작업 쿼리 하나의 제한 시간
+ * @param fetchSize 커서에서 한 번에 가져오는 행 수
+ * @param spillDirectory 결과 파일 디렉터리. 모든 인스턴스가 함께 마운트한 공유 볼륨이어야 한다
+ * @param retention 끝난 작업과 결과 파일을 보관하는 기간
+ * @param orphanTimeout 실행 인스턴스의 하트비트가 이 기간 동안 없으면 작업을 실패로 끝낸다
+ * @param maxPageSize 결과 페이지 최대 행 수
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.query-job")
+public record QueryJobProperties(
+    int workers,
+    int queueCapacity,
+    int perUserLimit,
+    long maxEstimatedRows,
+    double maxEstimatedCost,
+    long maxResultRows,
+    Duration queryTimeout,
+    int fetchSize,
+    Path spillDirectory,
+    Duration retention,
+    Duration orphanTimeout,
+    int maxPageSize) {
+
+  public QueryJobProperties {
+    if (workers <= 0) {
+      workers = 2;
+    }
+    if (queueCapacity <= 0) {
+      queueCapacity = 16;
+    }
+    if (perUserLimit <= 0) {
+      perUserLimit = 2;
+    }
+    if (maxEstimatedRows <= 0) {
+      maxEstimatedRows = 10_000_000;
+    }
+    if (maxEstimatedCost <= 0) {
+      maxEstimatedCost = 50_000_000;
+    }
+    if (maxResultRows <= 0) {
+      maxResultRows = 1_000_000;
+    }
+    if (queryTimeout == null) {
+      queryTimeout = Duration.ofMinutes(30);
+    }
+    if (fetchSize <= 0) {
+      fetchSize = 1000;
+    }
+    if (spillDirectory == null) {
+      spillDirectory = Path.of(System.getProperty("java.io.tmpdir"), "log-query-jobs");
+    }
+    if (retention == null) {
+      retention = Duration.ofHours(1);
+    }
+    if (orphanTimeout == null) {
+      orphanTimeout = Duration.ofMinutes(1);
+    }
+    if (maxPageSize <= 0) {
+      maxPageSize = 1000;
+    }
+  }
+}
@@ -0,0 +1,343 @@
+package com.tickatch.logservice.logquery.application;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.logquery.application.dto.QueryJobRequest;
+import com.tickatch.logservice.logquery.application.dto.QueryResultPage;
+import com.tickatch.logservice.logquery.domain.QueryEstimate;
+import com.tickatch.logservice.logquery.domain.QueryJob;
+import com.tickatch.logservice.logquery.domain.QueryJobRejection;
+import com.tickatch.logservice.logquery.domain.QueryJobStatus;
+import com.tickatch.logservice.logquery.domain.QuerySpec;
+import com.tickatch.logservice.logquery.domain.repository.QueryJobReader;
+import com.tickatch.logservice.logquery.domain.repository.QueryJobRepository;
+import com.tickatch.logservice.logquery.domain.repository.QueryResultStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 오래 걸리는 감사 조회를 HTTP 요청 밖에서 실행한다.
+ *
+ * <p>제출 시 실행 계획으로 비용을 추정해 상한을 넘으면 받지 않고, 사용자별 동시 작업 수와 작업자 대기열 크기로 입장을 제한한다. 받은 작업은
+ * {@code workers}개 스레드가 커서로 읽어 결과 저장소(스필 파일)에 쓰며, 클라이언트는 상태를 조회하고 결과를 페이지로 읽는다. 취소하면 실행
+ * 중인 쿼리도 DB에서 취소된다.
+ *
+ * <p>작업 상태는 {@link QueryJobRepository}(DB)에, 결과는 모든 인스턴스가 공유하는 스필 디렉터리에 두므로 로드밸런서 뒤의 어느 인스턴스든
+ * 조회, 결과 읽기, 취소를 처리한다. 실행은 제출받은 인스턴스가 맡아 {@code heartbeat-interval}마다 진행 행 수를 기록하고, 다른 인스턴스에서
+ * 들어온 취소를 그때 반영한다. 실행 인스턴스가 죽어 {@code orphanTimeout} 동안 기록이 없는 작업은 실패로 끝낸다. 끝난 작업과 결과는
+ * {@code retention}이 지나면 지워진다.
+ *
+ * <p>메트릭: {@code log.query.jobs{result}}, {@code log.query.jobs.active}
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+public class QueryJobService {
+
+  private static final String ORPHANED = "Query job lost its worker instance";
+
+  private final QueryJobReader queryJobReader;
+  private final QueryJobRepository queryJobRepository;
+  private final QueryResultStore queryResultStore;
+  private final QueryJobProperties properties;
+  /** 이 인스턴스가 실행 중이거나 실행을 기다리는 작업. */
+  private final Map<UUID, QueryJob> jobs = new ConcurrentHashMap<>();
+  private final ThreadPoolExecutor executor;
+  private final Map<QueryJobStatus, Counter> finished = new EnumMap<>(QueryJobStatus.class);
+
+  public QueryJobService(
+      QueryJobReader queryJobReader,
+      QueryJobRepository queryJobRepository,
+      QueryResultStore queryResultStore,
+      QueryJobProperties properties,
+      MeterRegistry meterRegistry) {
+    this.queryJobReader = queryJobReader;
+    this.queryJobRepository = queryJobRepository;
+    this.queryResultStore = queryResultStore;
+    this.properties = properties;
+
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            properties.workers(),
+            properties.workers(),
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.queueCapacity()),
+            runnable -> {
+              Thread thread = new Thread(runnable, "query-job-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    for (QueryJobStatus status : QueryJobStatus.values()) {
+      if (status != QueryJobStatus.QUEUED && status != QueryJobStatus.RUNNING) {
+        finished.put(
+            status,
+            Counter.builder("log.query.jobs")
+                .tag("result", status.name().toLowerCase())
+                .description("결과별로 끝난 조회 작업 수")
+                .register(meterRegistry));
+      }
+    }
+    Gauge.builder("log.query.jobs.active", jobs, QueryJobService::activeJobs)
+        .description("이 인스턴스에서 대기 + 실행 중인 조회 작업 수")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 조회 작업을 제출한다. 입장 제어에서 거절되면 {@code REJECTED} 상태의 작업을 돌려준다.
+   *
+   * @return 도메인 키를 모르거나 구간 또는 엔티티 ID가 잘못되었으면 빈 값
+   */
+  public Optional<QueryJob> submit(UUID userId, QueryJobRequest request) {
+    Optional<QuerySpec> parsed = toSpec(request);
+    if (parsed.isEmpty()) {
+      return Optional.empty();
+    }
+    QuerySpec spec = parsed.get();
+
+    if (queryJobRepository.countActive(userId) >= properties.perUserLimit()) {
+      return Optional.of(
+          reject(userId, spec, null, QueryJobRejection.USER_LIMIT, "Too many active query jobs"));
+    }
+    QueryEstimate estimate = queryJobReader.estimate(spec);
+    if (estimate.rows() > properties.maxEstimatedRows()
+        || estimate.cost() > properties.maxEstimatedCost()) {
+      return Optional.of(
+          reject(
+              userId,
+              spec,
+              estimate,
+              QueryJobRejection.TOO_EXPENSIVE,
+              "Estimated cost exceeds the limit; narrow the time range or add filters"));
+    }
+
+    // 추정하는 동안 같은 사용자가 다른 인스턴스에도 제출했을 수 있으므로 먼저 저장하고 다시 센다
+    QueryJob job = QueryJob.queued(userId, spec, estimate);
+    queryJobRepository.save(job);
+    if (queryJobRepository.countActive(userId) > properties.perUserLimit()) {
+      queryJobRepository.delete(job.getJobId());
+      return Optional.of(
+          reject(
+              userId, spec, estimate, QueryJobRejection.USER_LIMIT, "Too many active query jobs"));
+    }
+
+    jobs.put(job.getJobId(), job);
+    try {
+      executor.execute(() -> run(job));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(job.getJobId());
+      queryJobRepository.delete(job.getJobId());
+      return Optional.of(
+          reject(userId, spec, estimate, QueryJobRejection.QUEUE_FULL, "Query job queue is full"));
+    }
+    log.info(
+        "Query job submitted: jobId={}, domain={}, estimatedRows={}, estimatedCost={}",
+        job.getJobId(),
+        spec.domain().getKey(),
+        estimate.rows(),
+        estimate.cost());
+    return Optional.of(job);
+  }
+
+  /** 사용자의 작업. 다른 사용자의 작업은 없는 것으로 본다. */
+  public Optional<QueryJob> find(UUID userId, UUID jobId) {
+    return queryJobRepository.findById(jobId).filter(job -> job.getUserId().equals(userId));
+  }
+
+  /**
+   * 끝난 작업의 결과 한 페이지. 페이지 크기는 {@code maxPageSize}로 줄인다.
+   *
+   * @return 결과 파일이 지워졌으면 빈 값
+   */
+  public Optional<QueryResultPage> readPage(QueryJob job, int page, int size) {
+    int pageSize = Math.max(1, Math.min(size, properties.maxPageSize()));
+    long offset = (long) Math.max(0, page) * pageSize;
+    try {
+      return Optional.of(
+          new QueryResultPage(
+              job.getJobId(),
+              page,
+              pageSize,
+              job.getRowCount(),
+              job.isTruncated(),
+              offset >= job.getRowCount()
+                  ? List.of()
+                  : queryResultStore.read(job.getJobId(), offset, pageSize)));
+    } catch (NoSuchFileException e) {
+      log.warn("Query job result is missing: jobId={}", job.getJobId());
+      return Optional.empty();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * 끝나지 않은 작업은 취소하고, 끝난 작업은 결과와 함께 지운다. 다른 인스턴스가 실행 중인 작업은 DB 상태만 바꾸고, 실행 인스턴스가 다음
+   * 하트비트에서 쿼리를 취소한다.
+   */
+  public Optional<QueryJob> cancel(UUID userId, UUID jobId) {
+    return find(userId, jobId)
+        .map(
+            job -> {
+              if (queryJobRepository.cancel(jobId)) {
+                QueryJob local = jobs.get(jobId);
+                if (local != null) {
+                  local.cancel();
+                }
+                log.info("Query job cancelled: jobId={}", jobId);
+                return queryJobRepository.findById(jobId).orElse(job);
+              }
+              queryJobRepository.delete(jobId);
+              queryResultStore.delete(jobId);
+              return job;
+            });
+  }
+
+  /** 이 인스턴스가 실행 중인 작업의 진행 행 수와 생존을 기록하고, 다른 인스턴스에서 취소된 작업을 취소한다. */
+  @Scheduled(fixedDelayString = "${log.query-job.heartbeat-interval:5s}")
+  public void heartbeat() {
+    Set<UUID> cancelled = queryJobRepository.heartbeat(List.copyOf(jobs.values()));
+    for (UUID jobId : cancelled) {
+      QueryJob job = jobs.get(jobId);
+      if (job != null && job.cancel()) {
+        log.info("Query job cancelled by another instance: jobId={}", jobId);
+      }
+    }
+  }
+
+  /** 실행 인스턴스를 잃은 작업을 실패로 끝내고, 보관 기간이 지난 작업과 결과를 지운다. */
+  @Scheduled(fixedDelayString = "${log.query-job.cleanup-interval:1m}")
+  public void evictExpired() {
+    LocalDateTime now = LocalDateTime.now();
+    int orphaned = queryJobRepository.failOrphaned(now.minus(properties.orphanTimeout()), ORPHANED);
+    if (orphaned > 0) {
+      log.warn("Failed {} query jobs whose worker instance stopped heartbeating", orphaned);
+    }
+    queryJobRepository
+        .deleteFinishedBefore(now.minus(properties.retention()))
+        .forEach(queryResultStore::delete);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+    for (QueryJob job : jobs.values()) {
+      job.cancel();
+      queryJobRepository.cancel(job.getJobId());
+      queryResultStore.delete(job.getJobId());
+    }
+  }
+
+  private void run(QueryJob job) {
+    try {
+      if (!queryJobRepository.markRunning(job.getJobId())) {
+        job.cancel(); // 대기 중 다른 인스턴스에서 취소
+      }
+      execute(job);
+    } finally {
+      jobs.remove(job.getJobId());
+    }
+  }
+
+  private void execute(QueryJob job) {
+    if (!job.start()) {
+      finished.get(job.getStatus()).increment(); // 대기 중 취소
+      return;
+    }
+
+    long limit = properties.maxResultRows();
+    long[] written = new long[1];
+    try (QueryResultStore.Writer writer = queryResultStore.create(job.getJobId())) {
+      long read =
+          queryJobReader.stream(
+              job.getSpec(),
+              limit + 1,
+              job::onCancel,
+              row -> {
+                if (written[0] < limit) {
+                  writer.write(row);
+                  if (++written[0] % properties.fetchSize() == 0) {
+                    job.progress(written[0]);
+                  }
+                }
+              });
+      writer.close();
+      job.succeed(written[0], read > limit);
+    } catch (Exception e) {
+      job.fail(e.getMessage());
+      if (job.getStatus() == QueryJobStatus.FAILED) {
+        log.warn("Query job failed: jobId={}", job.getJobId(), e);
+      }
+    } finally {
+      // 실행 중 다른 인스턴스에서 취소되었으면 DB는 이미 CANCELLED이다
+      if (!queryJobRepository.finish(job) || job.getStatus() != QueryJobStatus.SUCCEEDED) {
+        queryResultStore.delete(job.getJobId());
+      }
+      finished.get(job.getStatus()).increment();
+    }
+  }
+
+  private QueryJob reject(
+      UUID userId,
+      QuerySpec spec,
+      QueryEstimate estimate,
+      QueryJobRejection rejection,
+      String message) {
+    finished.get(QueryJobStatus.REJECTED).increment();
+    return QueryJob.rejected(userId, spec, estimate, rejection, message);
+  }
+
+  private static double activeJobs(Map<UUID, QueryJob> jobs) {
+    return jobs.values().stream().filter(QueryJob::isActive).count();
+  }
+
+  private static Optional<QuerySpec> toSpec(QueryJobRequest request) {
+    Optional<LogDomain> domain =
+        request.domain() == null ? Optional.empty() : LogDomain.fromKey(request.domain());
+    if (domain.isEmpty()
+        || request.from() == null
+        || request.to() == null
+        || !request.from().isBefore(request.to())) {
+      return Optional.empty();
+    }
+    Object entityId = null;
+    if (request.entityId() != null && !request.entityId().isBlank()) {
+      Optional<Object> parsed = domain.get().parseEntityId(request.entityId());
+      if (parsed.isEmpty()) {
+        return Optional.empty();
+      }
+      entityId = parsed.get();
+    }
+    return Optional.of(
+        new QuerySpec(
+            domain.get(),
+            request.from(),
+            request.to(),
+            request.actionTypes(),
+            entityId,
+            request.actorUserId()));
+  }
+}
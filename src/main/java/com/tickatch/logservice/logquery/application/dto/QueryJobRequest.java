@@ -0,0 +1,22 @@
+package com.tickatch.logservice.logquery.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 조회 작업 요청.
+ *
+ * @param domain 도메인 키 (예: payment)
+ * @param from 구간 시작 (포함)
+ * @param to 구간 끝 (제외)
+ * @param actionTypes 행위 종류. 비우면 전체
+ * @param entityId 도메인 엔티티 ID (UUID 또는 숫자)
+ */
+public record QueryJobRequest(
+    String domain,
+    LocalDateTime from,
+    LocalDateTime to,
+    Set<String> actionTypes,
+    String entityId,
+    UUID actorUserId) {}
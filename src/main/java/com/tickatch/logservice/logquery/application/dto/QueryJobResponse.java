@@ -0,0 +1,50 @@
+package com.tickatch.logservice.logquery.application.dto;
+
+import com.tickatch.logservice.logquery.domain.QueryJob;
+import com.tickatch.logservice.logquery.domain.QueryJobRejection;
+import com.tickatch.logservice.logquery.domain.QueryJobStatus;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 조회 작업 상태.
+ *
+ * @param rowCount 지금까지 쓴 결과 행 수 (실행 중에는 진행 중인 값)
+ * @param truncated 결과가 최대 행 수에서 잘렸는지
+ * @param rejection 받지 않은 이유 ({@code REJECTED}일 때)
+ * @param message 실패/거절 사유
+ */
+public record QueryJobResponse(
+    UUID jobId,
+    QueryJobStatus status,
+    String domain,
+    LocalDateTime from,
+    LocalDateTime to,
+    Double estimatedCost,
+    Long estimatedRows,
+    long rowCount,
+    boolean truncated,
+    QueryJobRejection rejection,
+    String message,
+    LocalDateTime submittedAt,
+    LocalDateTime startedAt,
+    LocalDateTime finishedAt) {
+
+  public static QueryJobResponse from(QueryJob job) {
+    return new QueryJobResponse(
+        job.getJobId(),
+        job.getStatus(),
+        job.getSpec().domain().getKey(),
+        job.getSpec().from(),
+        job.getSpec().to(),
+        job.getEstimate() == null ? null : job.getEstimate().cost(),
+        job.getEstimate() == null ? null : job.getEstimate().rows(),
+        job.getRowCount(),
+        job.isTruncated(),
+        job.getRejection(),
+        job.getMessage(),
+        job.getSubmittedAt(),
+        job.getStartedAt(),
+        job.getFinishedAt());
+  }
+}
@@ -0,0 +1,19 @@
+package com.tickatch.logservice.logquery.application.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 조회 작업 결과 한 페이지 (발생 시각 순).
+ *
+ * @param totalRows 작업 결과 전체 행 수
+ * @param truncated 결과가 최대 행 수에서 잘렸는지
+ */
+public record QueryResultPage(
+    UUID jobId,
+    int page,
+    int size,
+    long totalRows,
+    boolean truncated,
+    List<Map<String, Object>> rows) {}
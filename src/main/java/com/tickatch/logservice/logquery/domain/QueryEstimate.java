@@ -0,0 +1,9 @@
+package com.tickatch.logservice.logquery.domain;
+
+/**
+ * 실행 계획 기준 조회 비용 추정.
+ *
+ * @param cost 플래너 비용 (PostgreSQL {@code Total Cost})
+ * @param rows 예상 결과 행 수
+ */
+public record QueryEstimate(double cost, long rows) {}
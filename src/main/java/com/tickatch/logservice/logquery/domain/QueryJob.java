@@ -0,0 +1,175 @@
+package com.tickatch.logservice.logquery.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Getter;
+
+/**
+ * 백그라운드 조회 작업 하나. 실행하는 인스턴스에서는 상태 전이가 이 객체에서 일어나며 작업자 스레드와 요청 스레드가 함께 호출한다. 다른
+ * 인스턴스는 저장소에 공유된 상태를 {@link #restore}로 읽기만 한다.
+ *
+ * <p>취소는 대기 중이면 실행을 건너뛰게 하고, 실행 중이면 등록된 취소 동작(DB 쿼리 취소)을 바로 호출한다.
+ *
+ * @since 1.0.0
+ */
+@Getter
+public class QueryJob {
+
+  private final UUID jobId;
+  private final UUID userId;
+  private final QuerySpec spec;
+  private final QueryEstimate estimate;
+  private final QueryJobRejection rejection;
+  private final LocalDateTime submittedAt;
+
+  private volatile QueryJobStatus status;
+  private volatile String message;
+  private volatile long rowCount;
+  private volatile boolean truncated;
+  private volatile LocalDateTime startedAt;
+  private volatile LocalDateTime finishedAt;
+  private Runnable canceller;
+
+  private QueryJob(
+      UUID jobId,
+      UUID userId,
+      QuerySpec spec,
+      QueryEstimate estimate,
+      QueryJobStatus status,
+      QueryJobRejection rejection,
+      String message,
+      LocalDateTime submittedAt) {
+    this.jobId = jobId;
+    this.userId = userId;
+    this.spec = spec;
+    this.estimate = estimate;
+    this.status = status;
+    this.rejection = rejection;
+    this.message = message;
+    this.submittedAt = submittedAt;
+    if (status == QueryJobStatus.REJECTED) {
+      this.finishedAt = submittedAt;
+    }
+  }
+
+  public static QueryJob queued(UUID userId, QuerySpec spec, QueryEstimate estimate) {
+    return new QueryJob(
+        UUID.randomUUID(),
+        userId,
+        spec,
+        estimate,
+        QueryJobStatus.QUEUED,
+        null,
+        null,
+        LocalDateTime.now());
+  }
+
+  public static QueryJob rejected(
+      UUID userId,
+      QuerySpec spec,
+      QueryEstimate estimate,
+      QueryJobRejection rejection,
+      String message) {
+    return new QueryJob(
+        UUID.randomUUID(),
+        userId,
+        spec,
+        estimate,
+        QueryJobStatus.REJECTED,
+        rejection,
+        message,
+        LocalDateTime.now());
+  }
+
+  /** 저장소에서 읽은 작업. 상태를 보여 주기만 하며 실행하지 않는다. */
+  public static QueryJob restore(
+      UUID jobId,
+      UUID userId,
+      QuerySpec spec,
+      QueryEstimate estimate,
+      QueryJobStatus status,
+      String message,
+      long rowCount,
+      boolean truncated,
+      LocalDateTime submittedAt,
+      LocalDateTime startedAt,
+      LocalDateTime finishedAt) {
+    QueryJob job =
+        new QueryJob(jobId, userId, spec, estimate, status, null, message, submittedAt);
+    job.rowCount = rowCount;
+    job.truncated = truncated;
+    job.startedAt = startedAt;
+    job.finishedAt = finishedAt;
+    return job;
+  }
+
+  /** 대기 중인 작업을 실행 상태로 바꾼다. 그 사이 취소되었으면 {@code false}. */
+  public synchronized boolean start() {
+    if (status != QueryJobStatus.QUEUED) {
+      return false;
+    }
+    status = QueryJobStatus.RUNNING;
+    startedAt = LocalDateTime.now();
+    return true;
+  }
+
+  /** 실행 중 취소 동작을 등록한다. 이미 취소되었으면 바로 호출한다. */
+  public synchronized void onCancel(Runnable action) {
+    if (status == QueryJobStatus.CANCELLED) {
+      action.run();
+    } else {
+      canceller = action;
+    }
+  }
+
+  public void progress(long rows) {
+    rowCount = rows;
+  }
+
+  public synchronized void succeed(long rows, boolean limitReached) {
+    if (status == QueryJobStatus.RUNNING) {
+      rowCount = rows;
+      truncated = limitReached;
+      finish(QueryJobStatus.SUCCEEDED);
+    }
+  }
+
+  public synchronized void fail(String reason) {
+    if (status == QueryJobStatus.RUNNING) {
+      message = reason;
+      finish(QueryJobStatus.FAILED);
+    }
+  }
+
+  /**
+   * 끝나지 않은 작업을 취소한다.
+   *
+   * @return 이미 끝난 작업이면 {@code false}
+   */
+  public synchronized boolean cancel() {
+    if (isFinished()) {
+      return false;
+    }
+    Runnable action = canceller;
+    finish(QueryJobStatus.CANCELLED);
+    if (action != null) {
+      action.run();
+    }
+    return true;
+  }
+
+  /** 사용자별 동시 작업 수에 포함되는 상태인지. */
+  public boolean isActive() {
+    return status == QueryJobStatus.QUEUED || status == QueryJobStatus.RUNNING;
+  }
+
+  public boolean isFinished() {
+    return !isActive();
+  }
+
+  private void finish(QueryJobStatus finalStatus) {
+    status = finalStatus;
+    finishedAt = LocalDateTime.now();
+    canceller = null;
+  }
+}
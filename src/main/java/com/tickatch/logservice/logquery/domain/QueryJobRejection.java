@@ -0,0 +1,18 @@
+package com.tickatch.logservice.logquery.domain;
+
+/**
+ * 조회 작업을 받지 않은 이유.
+ *
+ * @since 1.0.0
+ */
+public enum QueryJobRejection {
+
+  /** 사용자별 동시 작업 수 상한. */
+  USER_LIMIT,
+
+  /** 작업자 대기열이 가득 찼다. */
+  QUEUE_FULL,
+
+  /** 예상 비용이나 행 수가 상한을 넘는다. 구간이나 조건을 좁혀야 한다. */
+  TOO_EXPENSIVE
+}
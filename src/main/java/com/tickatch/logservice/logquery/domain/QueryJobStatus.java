@@ -0,0 +1,25 @@
+package com.tickatch.logservice.logquery.domain;
+
+/**
+ * 조회 작업 상태.
+ *
+ * @since 1.0.0
+ */
+public enum QueryJobStatus {
+
+  /** 작업자 대기 중. */
+  QUEUED,
+
+  /** 실행하며 결과를 스필 파일에 쓰는 중. */
+  RUNNING,
+
+  /** 결과를 모두 썼다. 페이지로 읽을 수 있다. */
+  SUCCEEDED,
+
+  FAILED,
+
+  CANCELLED,
+
+  /** 입장 제어에서 거절되어 실행하지 않았다. */
+  REJECTED
+}
@@ -0,0 +1,26 @@
+package com.tickatch.logservice.logquery.domain;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 조회 작업의 조건. 발생 시각 구간은 필수이고 나머지 조건은 {@code null}이거나 비어 있으면 걸지 않는다.
+ *
+ * @param from 구간 시작 (포함)
+ * @param to 구간 끝 (제외)
+ * @param entityId 도메인 엔티티 ID (UUID 또는 숫자)
+ */
+public record QuerySpec(
+    LogDomain domain,
+    LocalDateTime from,
+    LocalDateTime to,
+    Set<String> actionTypes,
+    Object entityId,
+    UUID actorUserId) {
+
+  public QuerySpec {
+    actionTypes = actionTypes == null ? Set.of() : Set.copyOf(actionTypes);
+  }
+}
@@ -0,0 +1,29 @@
+package com.tickatch.logservice.logquery.domain.repository;
+
+import com.tickatch.logservice.logquery.domain.QueryEstimate;
+import com.tickatch.logservice.logquery.domain.QuerySpec;
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/** 조회 작업의 비용을 추정하고, 결과를 커서로 끝까지 읽는다. */
+public interface QueryJobReader {
+
+  /** 조건에 맞는 조회의 실행 계획 비용과 예상 행 수. 쿼리는 실행하지 않는다. */
+  QueryEstimate estimate(QuerySpec spec);
+
+  /**
+   * 조건에 맞는 행을 발생 시각 순으로 최대 {@code limit}행 읽어 넘긴다.
+   *
+   * @param onCancel 실행 중인 쿼리를 취소하는 동작을 받는다
+   * @return 읽은 행 수
+   */
+  long stream(QuerySpec spec, long limit, Consumer<Runnable> onCancel, RowHandler handler);
+
+  @FunctionalInterface
+  interface RowHandler {
+
+    /** 컬럼 이름 → 값. 시각은 ISO-8601 문자열, JSONB는 JSON 값이다. */
+    void accept(Map<String, Object> row) throws IOException;
+  }
+}
@@ -0,0 +1,48 @@
+package com.tickatch.logservice.logquery.domain.repository;
+
+import com.tickatch.logservice.logquery.domain.QueryJob;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 조회 작업 상태를 인스턴스 사이에 공유한다. 작업은 제출받은 인스턴스가 실행하고, 상태 조회와 취소는 어느 인스턴스에서나 한다.
+ *
+ * <p>상태 변경은 모두 대기/실행 중인 작업에만 적용되며, 적용되었는지를 반환한다.
+ */
+public interface QueryJobRepository {
+
+  /** 대기 상태로 새로 저장한다. */
+  void save(QueryJob job);
+
+  Optional<QueryJob> findById(UUID jobId);
+
+  /** 사용자의 대기 + 실행 중 작업 수. 다른 인스턴스의 작업도 포함한다. */
+  long countActive(UUID userId);
+
+  /** 대기 중인 작업을 실행 상태로 바꾼다. 그 사이 다른 인스턴스에서 취소되었으면 {@code false}. */
+  boolean markRunning(UUID jobId);
+
+  /** 실행한 인스턴스가 작업의 끝난 상태(건수, 잘림 여부, 사유 포함)를 기록한다. */
+  boolean finish(QueryJob job);
+
+  boolean cancel(UUID jobId);
+
+  /**
+   * 이 인스턴스가 가진 작업의 진행 행 수와 생존 시각을 갱신한다.
+   *
+   * @return 그중 다른 인스턴스에서 취소된 작업 ID
+   */
+  Set<UUID> heartbeat(Collection<QueryJob> jobs);
+
+  /** 생존 시각이 {@code heartbeatBefore}보다 오래된 작업을 실패로 끝낸다 (실행하던 인스턴스가 사라졌다). */
+  int failOrphaned(LocalDateTime heartbeatBefore, String message);
+
+  /** {@code finishedBefore} 전에 끝난 작업을 지우고 그 ID를 반환한다. */
+  List<UUID> deleteFinishedBefore(LocalDateTime finishedBefore);
+
+  void delete(UUID jobId);
+}
@@ -0,0 +1,24 @@
+package com.tickatch.logservice.logquery.domain.repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/** 조회 작업 결과를 DB 밖(스필 파일)에 두고 페이지 단위로 다시 읽는다. */
+public interface QueryResultStore {
+
+  /** 작업 결과를 새로 쓴다. 닫아야 읽을 수 있다. */
+  Writer create(UUID jobId) throws IOException;
+
+  /** {@code offset}번째 행부터 최대 {@code limit}행. */
+  List<Map<String, Object>> read(UUID jobId, long offset, int limit) throws IOException;
+
+  void delete(UUID jobId);
+
+  interface Writer extends Closeable {
+
+    void write(Map<String, Object> row) throws IOException;
+  }
+}
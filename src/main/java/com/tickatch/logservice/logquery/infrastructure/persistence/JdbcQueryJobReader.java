@@ -0,0 +1,158 @@
+package com.tickatch.logservice.logquery.infrastructure.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickatch.logservice.logquery.application.QueryJobProperties;
+import com.tickatch.logservice.logquery.domain.QueryEstimate;
+import com.tickatch.logservice.logquery.domain.QuerySpec;
+import com.tickatch.logservice.logquery.domain.repository.QueryJobReader;
+import io.github.tickatch.common.util.JsonUtils;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+import org.postgresql.util.PGobject;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 로그 테이블을 발생 시각 순 커서로 읽는다 (PostgreSQL 전용).
+ *
+ * <p>비용은 {@code EXPLAIN (FORMAT JSON)}의 최상위 노드에서 읽는다. 실행은 롤백으로 끝나는 트랜잭션 안에서 {@code fetchSize}행씩
+ * 가져오므로 결과 전체를 메모리에 올리지 않으며, 취소 동작은 실행 중인 statement를 DB에서 취소한다.
+ */
+@Repository
+public class JdbcQueryJobReader implements QueryJobReader {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final QueryJobProperties properties;
+  private final ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+
+  public JdbcQueryJobReader(DataSource dataSource, QueryJobProperties properties) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.properties = properties;
+  }
+
+  @Override
+  public QueryEstimate estimate(QuerySpec spec) {
+    List<Object> args = new ArrayList<>();
+    String sql = "EXPLAIN (FORMAT JSON) " + select(spec, args);
+    String plan = jdbcTemplate.queryForObject(sql, String.class, args.toArray());
+    try {
+      JsonNode root = objectMapper.readTree(plan).path(0).path("Plan");
+      return new QueryEstimate(
+          root.path("Total Cost").asDouble(), root.path("Plan Rows").asLong());
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unreadable query plan", e);
+    }
+  }
+
+  @Override
+  public long stream(
+      QuerySpec spec, long limit, Consumer<Runnable> onCancel, RowHandler handler) {
+    List<Object> args = new ArrayList<>();
+    String sql = select(spec, args) + " LIMIT ?";
+    args.add(limit);
+
+    Long count =
+        jdbcTemplate.execute(
+            (ConnectionCallback<Long>)
+                connection -> {
+                  boolean autoCommit = connection.getAutoCommit();
+                  // 커서 기반 fetch는 트랜잭션 안에서만 동작한다
+                  connection.setAutoCommit(false);
+                  try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.setFetchSize(properties.fetchSize());
+                    statement.setQueryTimeout(
+                        (int) Math.max(1, properties.queryTimeout().toSeconds()));
+                    for (int i = 0; i < args.size(); i++) {
+                      statement.setObject(i + 1, args.get(i));
+                    }
+                    onCancel.accept(() -> cancel(statement));
+                    return read(statement, handler);
+                  } finally {
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                  }
+                });
+    return count == null ? 0 : count;
+  }
+
+  private long read(PreparedStatement statement, RowHandler handler) throws SQLException {
+    long count = 0;
+    try (ResultSet rs = statement.executeQuery()) {
+      ResultSetMetaData metaData = rs.getMetaData();
+      while (rs.next()) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+          row.put(metaData.getColumnLabel(i), toValue(rs.getObject(i)));
+        }
+        try {
+          handler.accept(row);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private Object toValue(Object value) {
+    if (value instanceof Timestamp timestamp) {
+      return timestamp.toLocalDateTime().toString();
+    }
+    if (value instanceof PGobject json && json.getValue() != null) {
+      try {
+        return objectMapper.readTree(json.getValue());
+      } catch (JsonProcessingException e) {
+        return json.getValue();
+      }
+    }
+    return value;
+  }
+
+  private static String select(QuerySpec spec, List<Object> args) {
+    StringBuilder sql =
+        new StringBuilder("SELECT * FROM ")
+            .append(spec.domain().getTable())
+            .append(" WHERE occurred_at >= ? AND occurred_at < ?");
+    args.add(Timestamp.valueOf(spec.from()));
+    args.add(Timestamp.valueOf(spec.to()));
+    if (!spec.actionTypes().isEmpty()) {
+      sql.append(" AND action_type IN (")
+          .append(String.join(", ", Collections.nCopies(spec.actionTypes().size(), "?")))
+          .append(")");
+      args.addAll(spec.actionTypes());
+    }
+    if (spec.entityId() != null) {
+      sql.append(" AND ").append(spec.domain().getEntityColumn()).append(" = ?");
+      args.add(spec.entityId());
+    }
+    if (spec.actorUserId() != null) {
+      sql.append(" AND actor_user_id = ?");
+      args.add(spec.actorUserId());
+    }
+    return sql.append(" ORDER BY occurred_at, id").toString();
+  }
+
+  private static void cancel(PreparedStatement statement) {
+    try {
+      statement.cancel();
+    } catch (SQLException e) {
+      // 이미 끝났거나 닫힌 statement
+    }
+  }
+}
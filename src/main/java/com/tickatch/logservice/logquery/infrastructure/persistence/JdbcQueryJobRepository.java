@@ -0,0 +1,262 @@
+package com.tickatch.logservice.logquery.infrastructure.persistence;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.migration.SchemaMigrations;
+import com.tickatch.logservice.logquery.domain.QueryEstimate;
+import com.tickatch.logservice.logquery.domain.QueryJob;
+import com.tickatch.logservice.logquery.domain.QueryJobStatus;
+import com.tickatch.logservice.logquery.domain.QuerySpec;
+import com.tickatch.logservice.logquery.domain.repository.QueryJobRepository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 조회 작업 상태를 {@code p_query_job}에 작업별 한 행으로 저장한다.
+ *
+ * <p>상태 변경은 {@code status} 조건부 UPDATE로 하므로 실행 인스턴스의 완료와 다른 인스턴스의 취소가 겹쳐도 먼저 반영된 쪽만 남는다. 액션
+ * 타입 조건은 쉼표로 이어 저장한다.
+ *
+ * <p>테이블은 애플리케이션이 만들지 않는다. 기존 DB는 {@link #MIGRATION}을 적용한다.
+ */
+@Repository
+public class JdbcQueryJobRepository implements QueryJobRepository {
+
+  static final String TABLE = "p_query_job";
+
+  private static final String ACTIVE = "status IN ('QUEUED', 'RUNNING')";
+
+  private static final String COLUMNS =
+      "job_id, user_id, domain, from_at, to_at, action_types, entity_id, actor_user_id,"
+          + " estimated_cost, estimated_rows, status, message, row_count, truncated,"
+          + " submitted_at, started_at, finished_at";
+
+  static final String MIGRATION = "db/migration/009_query_job.sql";
+
+  private static final String INSERT =
+      "INSERT INTO "
+          + TABLE
+          + " ("
+          + COLUMNS
+          + ", heartbeat_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private volatile boolean schemaReady;
+
+  public JdbcQueryJobRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void save(QueryJob job) {
+    verifySchema();
+    QuerySpec spec = job.getSpec();
+    QueryEstimate estimate = job.getEstimate();
+    jdbcTemplate.update(
+        INSERT,
+        job.getJobId(),
+        job.getUserId(),
+        spec.domain().getKey(),
+        Timestamp.valueOf(spec.from()),
+        Timestamp.valueOf(spec.to()),
+        spec.actionTypes().isEmpty() ? null : String.join(",", spec.actionTypes()),
+        spec.entityId() == null ? null : String.valueOf(spec.entityId()),
+        spec.actorUserId(),
+        estimate == null ? null : estimate.cost(),
+        estimate == null ? null : estimate.rows(),
+        job.getStatus().name(),
+        job.getMessage(),
+        job.getRowCount(),
+        job.isTruncated(),
+        Timestamp.valueOf(job.getSubmittedAt()),
+        null,
+        null,
+        Timestamp.valueOf(LocalDateTime.now()));
+  }
+
+  @Override
+  public Optional<QueryJob> findById(UUID jobId) {
+    verifySchema();
+    return jdbcTemplate
+        .query(
+            "SELECT " + COLUMNS + " FROM " + TABLE + " WHERE job_id = ?",
+            JdbcQueryJobRepository::mapJob,
+            jobId)
+        .stream()
+        .findFirst();
+  }
+
+  @Override
+  public long countActive(UUID userId) {
+    verifySchema();
+    Long count =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + TABLE + " WHERE user_id = ? AND " + ACTIVE,
+            Long.class,
+            userId);
+    return count == null ? 0 : count;
+  }
+
+  @Override
+  public boolean markRunning(UUID jobId) {
+    verifySchema();
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    return jdbcTemplate.update(
+            "UPDATE "
+                + TABLE
+                + " SET status = 'RUNNING', started_at = ?, heartbeat_at = ?"
+                + " WHERE job_id = ? AND status = 'QUEUED'",
+            now,
+            now,
+            jobId)
+        == 1;
+  }
+
+  @Override
+  public boolean finish(QueryJob job) {
+    verifySchema();
+    return jdbcTemplate.update(
+            "UPDATE "
+                + TABLE
+                + " SET status = ?, message = ?, row_count = ?, truncated = ?, finished_at = ?"
+                + " WHERE job_id = ? AND "
+                + ACTIVE,
+            job.getStatus().name(),
+            job.getMessage(),
+            job.getRowCount(),
+            job.isTruncated(),
+            Timestamp.valueOf(job.getFinishedAt()),
+            job.getJobId())
+        == 1;
+  }
+
+  @Override
+  public boolean cancel(UUID jobId) {
+    verifySchema();
+    return jdbcTemplate.update(
+            "UPDATE "
+                + TABLE
+                + " SET status = 'CANCELLED', finished_at = ? WHERE job_id = ? AND "
+                + ACTIVE,
+            Timestamp.valueOf(LocalDateTime.now()),
+            jobId)
+        == 1;
+  }
+
+  @Override
+  public Set<UUID> heartbeat(Collection<QueryJob> jobs) {
+    verifySchema();
+    if (jobs.isEmpty()) {
+      return Set.of();
+    }
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> args = new ArrayList<>(jobs.size());
+    for (QueryJob job : jobs) {
+      args.add(new Object[] {job.getRowCount(), now, job.getJobId()});
+    }
+    jdbcTemplate.batchUpdate(
+        "UPDATE "
+            + TABLE
+            + " SET row_count = ?, heartbeat_at = ? WHERE job_id = ? AND "
+            + ACTIVE,
+        args);
+
+    String sql =
+        "SELECT job_id FROM "
+            + TABLE
+            + " WHERE status = 'CANCELLED' AND job_id IN ("
+            + String.join(", ", Collections.nCopies(jobs.size(), "?"))
+            + ")";
+    return new HashSet<>(
+        jdbcTemplate.queryForList(
+            sql, UUID.class, jobs.stream().map(QueryJob::getJobId).toArray()));
+  }
+
+  @Override
+  public int failOrphaned(LocalDateTime heartbeatBefore, String message) {
+    verifySchema();
+    return jdbcTemplate.update(
+        "UPDATE "
+            + TABLE
+            + " SET status = 'FAILED', message = ?, finished_at = ? WHERE "
+            + ACTIVE
+            + " AND heartbeat_at < ?",
+        message,
+        Timestamp.valueOf(LocalDateTime.now()),
+        Timestamp.valueOf(heartbeatBefore));
+  }
+
+  @Override
+  public List<UUID> deleteFinishedBefore(LocalDateTime finishedBefore) {
+    verifySchema();
+    return jdbcTemplate.queryForList(
+        "DELETE FROM " + TABLE + " WHERE finished_at < ? RETURNING job_id",
+        UUID.class,
+        Timestamp.valueOf(finishedBefore));
+  }
+
+  @Override
+  public void delete(UUID jobId) {
+    verifySchema();
+    jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE job_id = ?", jobId);
+  }
+
+  private void verifySchema() {
+    if (!schemaReady) {
+      if (!SchemaMigrations.missingTables(jdbcTemplate, TABLE).isEmpty()) {
+        throw new IllegalStateException(TABLE + " is missing; apply " + MIGRATION);
+      }
+      schemaReady = true;
+    }
+  }
+
+  /** {@link #COLUMNS} 순서. */
+  private static QueryJob mapJob(ResultSet rs, int rowNum) throws SQLException {
+    LogDomain domain =
+        LogDomain.fromKey(rs.getString("domain"))
+            .orElseThrow(() -> new SQLException("Unknown domain in query job"));
+    String actionTypes = rs.getString("action_types");
+    String entityId = rs.getString("entity_id");
+    QuerySpec spec =
+        new QuerySpec(
+            domain,
+            rs.getTimestamp("from_at").toLocalDateTime(),
+            rs.getTimestamp("to_at").toLocalDateTime(),
+            actionTypes == null ? Set.of() : Set.copyOf(Arrays.asList(actionTypes.split(","))),
+            entityId == null ? null : domain.parseEntityId(entityId).orElse(null),
+            rs.getObject("actor_user_id", UUID.class));
+
+    double cost = rs.getDouble("estimated_cost");
+    QueryEstimate estimate =
+        rs.wasNull() ? null : new QueryEstimate(cost, rs.getLong("estimated_rows"));
+
+    return QueryJob.restore(
+        rs.getObject("job_id", UUID.class),
+        rs.getObject("user_id", UUID.class),
+        spec,
+        estimate,
+        QueryJobStatus.valueOf(rs.getString("status")),
+        rs.getString("message"),
+        rs.getLong("row_count"),
+        rs.getBoolean("truncated"),
+        toLocalDateTime(rs.getTimestamp("submitted_at")),
+        toLocalDateTime(rs.getTimestamp("started_at")),
+        toLocalDateTime(rs.getTimestamp("finished_at")));
+  }
+
+  private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+    return timestamp == null ? null : timestamp.toLocalDateTime();
+  }
+}
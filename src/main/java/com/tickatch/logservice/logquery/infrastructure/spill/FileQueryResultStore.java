@@ -0,0 +1,156 @@
+package com.tickatch.logservice.logquery.infrastructure.spill;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tickatch.logservice.logquery.application.QueryJobProperties;
+import com.tickatch.logservice.logquery.application.QueryJobService;
+import com.tickatch.logservice.logquery.domain.repository.QueryResultStore;
+import io.github.tickatch.common.util.JsonUtils;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * 작업 결과를 NDJSON 파일({@code <jobId>.ndjson})에 쓴다.
+ *
+ * <p>쓰면서 {@value #INDEX_STRIDE}행마다 바이트 위치를 남기고 닫을 때 색인 파일({@code <jobId>.idx})로 저장하므로, 페이지는 가장
+ * 가까운 색인 위치로 이동해 최대 {@value #INDEX_STRIDE}행만 건너뛰고 읽는다. 작업을 실행한 인스턴스와 결과를 읽는 인스턴스가 다를 수
+ * 있으므로 디렉터리는 모든 인스턴스가 함께 마운트한 공유 볼륨(NFS 등)이어야 한다. 다른 인스턴스가 쓰는 중일 수 있어 기동 시 남은 파일을 지우지
+ * 않고, 보관 기간이 지난 작업의 파일은 {@link QueryJobService}가 지운다.
+ */
+@Slf4j
+@Component
+public class FileQueryResultStore implements QueryResultStore {
+
+  static final int INDEX_STRIDE = 1000;
+
+  private static final String SUFFIX = ".ndjson";
+  private static final String INDEX_SUFFIX = ".idx";
+  private static final TypeReference<Map<String, Object>> ROW = new TypeReference<>() {};
+
+  private final Path directory;
+  private final ObjectMapper objectMapper = JsonUtils.getObjectMapper();
+
+  public FileQueryResultStore(QueryJobProperties properties) throws IOException {
+    this.directory = properties.spillDirectory();
+    Files.createDirectories(directory);
+  }
+
+  @Override
+  public Writer create(UUID jobId) throws IOException {
+    return new SpillWriter(jobId, Files.newOutputStream(fileOf(jobId)));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws java.nio.file.NoSuchFileException 결과 파일이나 색인 파일이 없을 때 (지워졌거나 다른 디렉터리를 보는 인스턴스)
+   */
+  @Override
+  public List<Map<String, Object>> read(UUID jobId, long offset, int limit) throws IOException {
+    LongBuffer index = ByteBuffer.wrap(Files.readAllBytes(indexOf(jobId))).asLongBuffer();
+    int slot = (int) Math.min(offset / INDEX_STRIDE, index.limit() - 1);
+    long skip = offset - (long) slot * INDEX_STRIDE;
+
+    List<Map<String, Object>> rows = new ArrayList<>(limit);
+    try (FileChannel channel = FileChannel.open(fileOf(jobId), StandardOpenOption.READ)) {
+      channel.position(index.get(slot));
+      BufferedReader reader =
+          new BufferedReader(
+              new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+      String line;
+      while (rows.size() < limit && (line = reader.readLine()) != null) {
+        if (skip > 0) {
+          skip--;
+          continue;
+        }
+        rows.add(objectMapper.readValue(line, ROW));
+      }
+    }
+    return rows;
+  }
+
+  @Override
+  public void delete(UUID jobId) {
+    deleteFile(indexOf(jobId));
+    deleteFile(fileOf(jobId));
+  }
+
+  private Path fileOf(UUID jobId) {
+    return directory.resolve(jobId + SUFFIX);
+  }
+
+  private Path indexOf(UUID jobId) {
+    return directory.resolve(jobId + INDEX_SUFFIX);
+  }
+
+  private void deleteFile(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("Failed to delete query result file {}", path, e);
+    }
+  }
+
+  /** 행을 한 줄씩 쓰고 색인을 만든다. 닫을 때 색인 파일을 쓰므로 그 전에는 읽히지 않는다. */
+  private final class SpillWriter implements Writer {
+
+    private final UUID jobId;
+    private final OutputStream out;
+    private long[] index = new long[16];
+    private long rows;
+    private long position;
+    private boolean closed;
+
+    private SpillWriter(UUID jobId, OutputStream out) {
+      this.jobId = jobId;
+      this.out = new BufferedOutputStream(out, 64 * 1024);
+    }
+
+    @Override
+    public void write(Map<String, Object> row) throws IOException {
+      if (rows % INDEX_STRIDE == 0) {
+        int slot = (int) (rows / INDEX_STRIDE);
+        if (slot == index.length) {
+          index = Arrays.copyOf(index, slot * 2);
+        }
+        index[slot] = position;
+      }
+      byte[] line = objectMapper.writeValueAsBytes(row);
+      out.write(line);
+      out.write('\n');
+      position += line.length + 1;
+      rows++;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      out.close();
+      int slots = Math.max(1, (int) ((rows + INDEX_STRIDE - 1) / INDEX_STRIDE));
+      ByteBuffer buffer = ByteBuffer.allocate(slots * Long.BYTES);
+      buffer.asLongBuffer().put(index, 0, slots);
+      Files.write(indexOf(jobId), buffer.array());
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.tickatch.logservice.logquery.presentation;
+
+import com.tickatch.logservice.logquery.application.QueryJobService;
+import com.tickatch.logservice.logquery.application.dto.QueryJobRequest;
+import com.tickatch.logservice.logquery.application.dto.QueryJobResponse;
+import com.tickatch.logservice.logquery.application.dto.QueryResultPage;
+import com.tickatch.logservice.logquery.domain.QueryJob;
+import com.tickatch.logservice.logquery.domain.QueryJobRejection;
+import com.tickatch.logservice.logquery.domain.QueryJobStatus;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/** 사용자는 게이트웨이가 넣어 주는 {@code X-User-Id} 헤더로 구분한다. */
+@RestController
+@RequestMapping("/api/v1/logs/query-jobs")
+@RequiredArgsConstructor
+public class QueryJobController {
+
+  private static final String USER_HEADER = "X-User-Id";
+
+  private final QueryJobService queryJobService;
+
+  /** 작업을 제출한다. 받으면 202, 동시 작업 수/대기열 초과는 429, 비용 초과는 422. */
+  @PostMapping
+  public ResponseEntity<QueryJobResponse> submit(
+      @RequestHeader(USER_HEADER) UUID userId, @RequestBody QueryJobRequest request) {
+    return queryJobService
+        .submit(userId, request)
+        .map(job -> ResponseEntity.status(statusOf(job)).body(QueryJobResponse.from(job)))
+        .orElseGet(() -> ResponseEntity.badRequest().build());
+  }
+
+  @GetMapping("/{jobId}")
+  public ResponseEntity<QueryJobResponse> get(
+      @RequestHeader(USER_HEADER) UUID userId, @PathVariable UUID jobId) {
+    return queryJobService
+        .find(userId, jobId)
+        .map(job -> ResponseEntity.ok(QueryJobResponse.from(job)))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /** 성공한 작업의 결과 페이지. 아직 끝나지 않았거나 실패한 작업은 409, 결과 파일이 지워졌으면 410. */
+  @GetMapping("/{jobId}/results")
+  public ResponseEntity<QueryResultPage> results(
+      @RequestHeader(USER_HEADER) UUID userId,
+      @PathVariable UUID jobId,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "100") int size) {
+    return queryJobService
+        .find(userId, jobId)
+        .map(
+            job ->
+                job.getStatus() == QueryJobStatus.SUCCEEDED
+                    ? queryJobService
+                        .readPage(job, page, size)
+                        .map(ResponseEntity::ok)
+                        .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).build())
+                    : ResponseEntity.status(HttpStatus.CONFLICT).<QueryResultPage>build())
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /** 실행 중이면 취소하고, 끝난 작업이면 결과와 함께 지운다. */
+  @DeleteMapping("/{jobId}")
+  public ResponseEntity<QueryJobResponse> cancel(
+      @RequestHeader(USER_HEADER) UUID userId, @PathVariable UUID jobId) {
+    return queryJobService
+        .cancel(userId, jobId)
+        .map(job -> ResponseEntity.ok(QueryJobResponse.from(job)))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  private static HttpStatus statusOf(QueryJob job) {
+    if (job.getStatus() != QueryJobStatus.REJECTED) {
+      return HttpStatus.ACCEPTED;
+    }
+    return job.getRejection() == QueryJobRejection.TOO_EXPENSIVE
+        ? HttpStatus.UNPROCESSABLE_ENTITY
+        : HttpStatus.TOO_MANY_REQUESTS;
+  }
+}
@@ -0,0 +1,56 @@
+package com.tickatch.logservice.logsearch.application;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 식별자 검색 설정. 응답 시간이 테이블 크기가 아니라 아래 상한으로 정해진다.
+ *
+ * @param maxMatches 응답에 담는 최대 엔티티 수
+ * @param scanRows 접두어/부분 일치에서 인덱스로 읽는 최대 행 수
+ * @param eventsPerEntity 엔티티별 타임라인 최대 건수 (최근 순)
+ * @param queryTimeout 검색 쿼리 하나의 제한 시간
+ * @param recentCacheSize 최근 식별자 캐시의 최대 키 수 (식별자 종류별)
+ * @param recentCacheTtl 엔티티가 하나뿐인 식별자(예매 번호)의 캐시 만료 시간
+ * @param matchCacheTtl 여러 엔티티가 쓰는 식별자(좌석 번호)의 캐시 만료 시간. 다른 인스턴스가 저장한 엔티티는 이 시간이 지나야 보인다
+ * @param maxTraceEvents trace 조회 응답에 담는 최대 이벤트 수 (발생 순)
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "log.search")
+public record IdentifierSearchProperties(
+    int maxMatches,
+    int scanRows,
+    int eventsPerEntity,
+    Duration queryTimeout,
+    long recentCacheSize,
+    Duration recentCacheTtl,
+    Duration matchCacheTtl,
+    int maxTraceEvents) {
+
+  public IdentifierSearchProperties {
+    if (maxMatches <= 0) {
+      maxMatches = 20;
+    }
+    if (scanRows <= 0) {
+      scanRows = 1000;
+    }
+    if (eventsPerEntity <= 0) {
+      eventsPerEntity = 100;
+    }
+    if (queryTimeout == null) {
+      queryTimeout = Duration.ofSeconds(2);
+    }
+    if (recentCacheSize <= 0) {
+      recentCacheSize = 100_000;
+    }
+    if (recentCacheTtl == null) {
+      recentCacheTtl = Duration.ofHours(24);
+    }
+    if (matchCacheTtl == null) {
+      matchCacheTtl = Duration.ofMinutes(1);
+    }
+    if (maxTraceEvents <= 0) {
+      maxTraceEvents = 1000;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.tickatch.logservice.logsearch.application;
+
+import com.tickatch.logservice.logsearch.application.dto.IdentifierSearchResponse;
+import com.tickatch.logservice.logsearch.application.dto.IdentifierSearchResponse.EntityTimeline;
+import com.tickatch.logservice.logsearch.domain.IdentifierMatch;
+import com.tickatch.logservice.logsearch.domain.IdentifierMatches;
+import com.tickatch.logservice.logsearch.domain.IdentifierType;
+import com.tickatch.logservice.logsearch.domain.MatchMode;
+import com.tickatch.logservice.logsearch.domain.TimelineEntry;
+import com.tickatch.logservice.logsearch.domain.repository.IdentifierSearchReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class IdentifierSearchService {
+
+  /** trigram 인덱스가 쓰이는 최소 키 길이. 더 짧으면 접두어 검색으로 바꾼다. */
+  private static final int MIN_FUZZY_KEY_LENGTH = 3;
+
+  private final IdentifierSearchReader identifierSearchReader;
+  private final RecentIdentifierCache recentIdentifierCache;
+  private final IdentifierSearchProperties properties;
+
+  /**
+   * 식별자로 엔티티를 찾아 타임라인을 함께 반환한다. 정확히 일치는 최근 식별자 캐시를 먼저 본다.
+   *
+   * @return 검색 키가 비어 있으면 빈 값
+   */
+  public Optional<IdentifierSearchResponse> search(
+      IdentifierType type, String query, MatchMode mode) {
+    String key = IdentifierType.normalize(query);
+    if (key.isEmpty()) {
+      return Optional.empty();
+    }
+    MatchMode match =
+        mode == MatchMode.FUZZY && key.length() < MIN_FUZZY_KEY_LENGTH ? MatchMode.PREFIX : mode;
+
+    String source = "memory";
+    Set<Object> entityIds =
+        match == MatchMode.EXACT ? recentIdentifierCache.lookup(type, key) : null;
+    if (entityIds == null) {
+      source = "database";
+      IdentifierMatches found =
+          identifierSearchReader.findMatches(type, key, match, properties.maxMatches());
+      entityIds = new LinkedHashSet<>();
+      for (IdentifierMatch matched : found.matches()) {
+        entityIds.add(matched.entityId());
+      }
+      // 스캔이 상한에 걸렸거나 응답 상한만큼 찾았으면 빠진 엔티티가 있을 수 있다
+      if (match == MatchMode.EXACT
+          && found.scanComplete()
+          && found.matches().size() < properties.maxMatches()) {
+        recentIdentifierCache.remember(type, key, entityIds);
+      }
+    }
+
+    Map<Object, List<TimelineEntry>> timelines = new LinkedHashMap<>();
+    entityIds.forEach(entityId -> timelines.put(entityId, new ArrayList<>()));
+    for (TimelineEntry entry :
+        identifierSearchReader.findTimelines(type, entityIds, properties.eventsPerEntity())) {
+      timelines.computeIfAbsent(entry.entityId(), id -> new ArrayList<>()).add(entry);
+    }
+
+    List<EntityTimeline> entities = new ArrayList<>(timelines.size());
+    timelines.forEach(
+        (entityId, entries) -> {
+          if (!entries.isEmpty()) {
+            entities.add(
+                new EntityTimeline(
+                    entityId,
+                    entries.get(entries.size() - 1).identifier(),
+                    entries.stream().map(IdentifierSearchResponse.Event::from).toList()));
+          }
+        });
+    return Optional.of(
+        new IdentifierSearchResponse(type.getKey(), query, key, match, source, entities));
+  }
+}
@@ -0,0 +1,99 @@
+package com.tickatch.logservice.logsearch.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tickatch.logservice.logsearch.domain.IdentifierType;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 정규화된 식별자 키 → 엔티티 ID 캐시. 정확히 일치 검색은 여기서 찾으면 식별자 인덱스를 읽지 않는다.
+ *
+ * <p>캐시에 있는 키는 그 식별자의 엔티티를 빠짐없이 담고 있어야 한다. 그래서 Consumer는 엔티티가 하나뿐인 식별자(예매 번호)만 새 키로 넣고,
+ * 여러 엔티티가 쓰는 식별자(좌석 번호)는 이미 있는 키에만 엔티티를 더한다. 그 외 키는 DB 검색 결과가 전부 담겼을 때 채운다. 엔티티가
+ * {@code maxMatches}를 넘는 키는 버리고 DB에서 찾는다.
+ *
+ * <p>캐시는 인스턴스마다 따로 있어 다른 인스턴스가 저장한 엔티티는 더해지지 않는다. 엔티티가 하나뿐인 식별자는 한 번 찾으면 바뀌지 않으므로
+ * {@code recentCacheTtl} 동안 두고, 여러 엔티티가 쓰는 식별자는 {@code matchCacheTtl}이 지나면 DB에서 다시 찾는다.
+ *
+ * @since 1.0.0
+ */
+@Component
+public class RecentIdentifierCache {
+
+  private final int maxEntities;
+  private final Map<IdentifierType, Cache<String, Set<Object>>> caches =
+      new EnumMap<>(IdentifierType.class);
+
+  public RecentIdentifierCache(IdentifierSearchProperties properties) {
+    this.maxEntities = properties.maxMatches();
+    for (IdentifierType type : IdentifierType.values()) {
+      caches.put(
+          type,
+          Caffeine.newBuilder()
+              .maximumSize(properties.recentCacheSize())
+              .expireAfterWrite(
+                  type.isUnique() ? properties.recentCacheTtl() : properties.matchCacheTtl())
+              .build());
+    }
+  }
+
+  /** 로그 저장이 커밋된 뒤 식별자를 캐시에 반영한다. */
+  public void recordAfterCommit(IdentifierType type, String identifier, Object entityId) {
+    if (identifier == null || entityId == null) {
+      return;
+    }
+
+    String key = IdentifierType.normalize(identifier);
+    if (key.isEmpty()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      record(type, key, entityId);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            record(type, key, entityId);
+          }
+        });
+  }
+
+  /** 키에 대응하는 엔티티 ID (먼저 본 순). 캐시에 없으면 {@code null}. */
+  Set<Object> lookup(IdentifierType type, String key) {
+    return caches.get(type).getIfPresent(key);
+  }
+
+  /** DB에서 찾은 키의 엔티티 전체를 넣는다. */
+  void remember(IdentifierType type, String key, Set<Object> entityIds) {
+    if (!entityIds.isEmpty() && entityIds.size() <= maxEntities) {
+      caches.get(type).put(key, Set.copyOf(entityIds));
+    }
+  }
+
+  private void record(IdentifierType type, String key, Object entityId) {
+    Map<String, Set<Object>> map = caches.get(type).asMap();
+    if (type.isUnique()) {
+      map.merge(key, Set.of(entityId), this::union);
+    } else {
+      map.computeIfPresent(key, (k, entityIds) -> union(entityIds, Set.of(entityId)));
+    }
+  }
+
+  private Set<Object> union(Set<Object> entityIds, Set<Object> added) {
+    if (entityIds.containsAll(added)) {
+      return entityIds;
+    }
+    Set<Object> merged = new LinkedHashSet<>(entityIds);
+    merged.addAll(added);
+    return merged.size() > maxEntities ? null : Set.copyOf(merged);
+  }
+}
@@ -0,0 +1,46 @@
+package com.tickatch.logservice.logsearch.application;
+
+import com.tickatch.logservice.global.tracing.TraceParent;
+import com.tickatch.logservice.logsearch.application.dto.TraceSearchResponse;
+import com.tickatch.logservice.logsearch.domain.TraceEvent;
+import com.tickatch.logservice.logsearch.domain.repository.TraceEventReader;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TraceSearchService {
+
+  private final TraceEventReader traceEventReader;
+  private final IdentifierSearchProperties properties;
+
+  /**
+   * trace ID로 모든 도메인의 감사 이벤트를 찾는다.
+   *
+   * @param traceId 16진 trace ID (16 또는 32자리)
+   * @return trace ID 형식이 틀리면 빈 값
+   */
+  public Optional<TraceSearchResponse> search(String traceId) {
+    Optional<UUID> parsed = TraceParent.parseTraceId(traceId);
+    if (parsed.isEmpty()) {
+      return Optional.empty();
+    }
+
+    int limit = properties.maxTraceEvents();
+    List<TraceEvent> events = traceEventReader.findByTraceId(parsed.get(), limit + 1);
+    boolean truncated = events.size() > limit;
+    if (truncated) {
+      events = events.subList(0, limit);
+    }
+    return Optional.of(
+        new TraceSearchResponse(
+            TraceParent.traceIdHex(parsed.get()),
+            truncated,
+            events.stream().map(TraceSearchResponse.Event::from).toList()));
+  }
+}
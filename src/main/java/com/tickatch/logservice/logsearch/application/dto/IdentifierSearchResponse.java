@@ -0,0 +1,45 @@
+package com.tickatch.logservice.logsearch.application.dto;
+
+import com.tickatch.logservice.logsearch.domain.MatchMode;
+import com.tickatch.logservice.logsearch.domain.TimelineEntry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 식별자 검색 결과.
+ *
+ * @param key 정규화된 검색 키
+ * @param match 실제 적용한 검색 방식 (trigram이 없는 짧은 키의 FUZZY는 PREFIX로 바뀐다)
+ * @param source 엔티티를 찾은 곳 ({@code memory}: 최근 식별자 캐시, {@code database}: 식별자 인덱스)
+ */
+public record IdentifierSearchResponse(
+    String type,
+    String query,
+    String key,
+    MatchMode match,
+    String source,
+    List<EntityTimeline> entities) {
+
+  /** 검색에 걸린 엔티티와 최근 이력 (발생 시각 순). */
+  public record EntityTimeline(Object entityId, String identifier, List<Event> events) {}
+
+  public record Event(
+      UUID logId,
+      String identifier,
+      String actionType,
+      String actorType,
+      UUID actorUserId,
+      LocalDateTime occurredAt) {
+
+    public static Event from(TimelineEntry entry) {
+      return new Event(
+          entry.logId(),
+          entry.identifier(),
+          entry.actionType(),
+          entry.actorType(),
+          entry.actorUserId(),
+          entry.occurredAt());
+    }
+  }
+}
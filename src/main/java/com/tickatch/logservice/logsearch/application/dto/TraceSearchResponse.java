@@ -0,0 +1,37 @@
+package com.tickatch.logservice.logsearch.application.dto;
+
+import com.tickatch.logservice.logsearch.domain.TraceEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * trace 조회 결과.
+ *
+ * @param traceId 조회한 trace ID (16진)
+ * @param truncated 이벤트가 {@code max-trace-events}건을 넘어 잘렸는지 여부
+ * @param events 모든 도메인의 이벤트 (발생 시각 순)
+ */
+public record TraceSearchResponse(String traceId, boolean truncated, List<Event> events) {
+
+  public record Event(
+      String domain,
+      UUID logId,
+      String entityId,
+      String actionType,
+      String actorType,
+      UUID actorUserId,
+      LocalDateTime occurredAt) {
+
+    public static Event from(TraceEvent event) {
+      return new Event(
+          event.domain().getKey(),
+          event.logId(),
+          event.entityId(),
+          event.actionType(),
+          event.actorType(),
+          event.actorUserId(),
+          event.occurredAt());
+    }
+  }
+}
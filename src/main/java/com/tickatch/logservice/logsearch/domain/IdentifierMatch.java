@@ -0,0 +1,12 @@
+package com.tickatch.logservice.logsearch.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * 식별자 검색에 걸린 엔티티.
+ *
+ * @param entityId 엔티티 ID (예매 ID UUID 또는 예매 좌석 ID)
+ * @param identifier 저장된 식별자 원문
+ * @param lastOccurredAt 검색에 걸린 로그 중 가장 최근 발생 시각
+ */
+public record IdentifierMatch(Object entityId, String identifier, LocalDateTime lastOccurredAt) {}
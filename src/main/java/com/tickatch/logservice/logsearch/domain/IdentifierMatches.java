@@ -0,0 +1,11 @@
+package com.tickatch.logservice.logsearch.domain;
+
+import java.util.List;
+
+/**
+ * 식별자 검색 결과.
+ *
+ * @param matches 최근 발생 순 엔티티
+ * @param scanComplete 인덱스 스캔이 {@code scanRows}에 걸리지 않고 끝까지 읽었는지. 아니면 더 오래된 엔티티가 빠졌을 수 있다
+ */
+public record IdentifierMatches(List<IdentifierMatch> matches, boolean scanComplete) {}
@@ -0,0 +1,45 @@
+package com.tickatch.logservice.logsearch.domain;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 고객이 문의에서 말하는 사람이 읽는 식별자.
+ *
+ * <p>검색 키는 대문자로 바꾸고 문자와 숫자만 남긴 값이다 ({@code "a-12"}, {@code "A 12"} → {@code "A12"}). DB 인덱스도
+ * {@link #getKeyExpression()} 식으로 같은 키를 만든다.
+ *
+ * @since 1.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum IdentifierType {
+  RESERVATION_NUMBER("reservation-number", LogDomain.RESERVATION, "reservation_number", true),
+  SEAT_NUMBER("seat-number", LogDomain.RESERVATION_SEAT, "seat_number", false);
+
+  private final String key;
+  private final LogDomain domain;
+  private final String column;
+
+  /** 식별자 하나가 엔티티 하나에만 대응하는지 여부. 좌석 번호는 공연마다 다시 쓰인다. */
+  private final boolean unique;
+
+  /** 검색 키를 만드는 SQL 식. 관리 인덱스 정의와 같아야 인덱스를 탄다. */
+  public String getKeyExpression() {
+    return "upper(regexp_replace(" + column + ", '[^[:alnum:]]', '', 'g'))";
+  }
+
+  public static String normalize(String identifier) {
+    return identifier == null
+        ? ""
+        : identifier.toUpperCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]", "");
+  }
+
+  public static Optional<IdentifierType> fromKey(String key) {
+    return Arrays.stream(values()).filter(type -> type.getKey().equals(key)).findFirst();
+  }
+}
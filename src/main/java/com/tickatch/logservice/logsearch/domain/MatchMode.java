@@ -0,0 +1,18 @@
+package com.tickatch.logservice.logsearch.domain;
+
+/**
+ * 식별자 검색 방식.
+ *
+ * @since 1.0.0
+ */
+public enum MatchMode {
+
+  /** 검색 키가 같은 식별자. */
+  EXACT,
+
+  /** 검색 키로 시작하는 식별자. */
+  PREFIX,
+
+  /** 검색 키를 포함하거나 trigram 유사도가 높은 식별자. */
+  FUZZY
+}
@@ -0,0 +1,14 @@
+package com.tickatch.logservice.logsearch.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** 식별자 검색 결과 엔티티의 이력 한 건. */
+public record TimelineEntry(
+    UUID logId,
+    Object entityId,
+    String identifier,
+    String actionType,
+    String actorType,
+    UUID actorUserId,
+    LocalDateTime occurredAt) {}
@@ -0,0 +1,19 @@
+package com.tickatch.logservice.logsearch.domain;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 한 trace에서 발생한 감사 이벤트.
+ *
+ * @param entityId 도메인 엔티티 ID (도메인마다 타입이 달라 문자열로 읽는다)
+ */
+public record TraceEvent(
+    LogDomain domain,
+    UUID logId,
+    String entityId,
+    String actionType,
+    String actorType,
+    UUID actorUserId,
+    LocalDateTime occurredAt) {}
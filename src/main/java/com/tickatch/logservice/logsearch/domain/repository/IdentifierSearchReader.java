@@ -0,0 +1,19 @@
+package com.tickatch.logservice.logsearch.domain.repository;
+
+import com.tickatch.logservice.logsearch.domain.IdentifierMatches;
+import com.tickatch.logservice.logsearch.domain.IdentifierType;
+import com.tickatch.logservice.logsearch.domain.MatchMode;
+import com.tickatch.logservice.logsearch.domain.TimelineEntry;
+import java.util.Collection;
+import java.util.List;
+
+/** 식별자 인덱스로 엔티티를 찾고, 엔티티 인덱스로 타임라인을 읽는다. */
+public interface IdentifierSearchReader {
+
+  /** 검색 키에 걸린 엔티티를 최근 발생 순으로 최대 {@code limit}개 찾는다. */
+  IdentifierMatches findMatches(IdentifierType type, String key, MatchMode mode, int limit);
+
+  /** 엔티티별 최근 이력을 최대 {@code eventsPerEntity}건씩 발생 시각 순으로 읽는다. */
+  List<TimelineEntry> findTimelines(
+      IdentifierType type, Collection<Object> entityIds, int eventsPerEntity);
+}
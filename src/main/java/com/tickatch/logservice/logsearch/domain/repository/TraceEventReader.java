@@ -0,0 +1,12 @@
+package com.tickatch.logservice.logsearch.domain.repository;
+
+import com.tickatch.logservice.logsearch.domain.TraceEvent;
+import java.util.List;
+import java.util.UUID;
+
+/** trace ID 인덱스로 모든 도메인의 감사 이벤트를 읽는다. */
+public interface TraceEventReader {
+
+  /** trace의 이벤트를 도메인 구분 없이 발생 시각 순으로 최대 {@code limit}건 읽는다. */
+  List<TraceEvent> findByTraceId(UUID traceId, int limit);
+}
@@ -0,0 +1,52 @@
+package com.tickatch.logservice.logsearch.infrastructure.persistence;
+
+import com.tickatch.logservice.global.index.ManagedIndex;
+import com.tickatch.logservice.global.index.ManagedIndexSource;
+import com.tickatch.logservice.logsearch.domain.IdentifierType;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * 식별자 검색 인덱스. 정규화 키 식의 B-tree(text_pattern_ops, 정확히/접두어 일치)와 GIN trigram(부분/유사 일치)이며, pg_trgm 확장이
+ * 필요하다. init.sql과 동일하게 유지한다.
+ */
+@Component
+public class IdentifierSearchIndexes implements ManagedIndexSource {
+
+  @Override
+  public List<ManagedIndex> managedIndexes() {
+    return List.of(
+        identifierKey(IdentifierType.SEAT_NUMBER, "idx_reservation_seat_log_seat_number_key"),
+        identifierTrigram(IdentifierType.SEAT_NUMBER, "idx_reservation_seat_log_seat_number_trgm"),
+        identifierKey(
+            IdentifierType.RESERVATION_NUMBER, "idx_reservation_log_reservation_number_key"),
+        identifierTrigram(
+            IdentifierType.RESERVATION_NUMBER, "idx_reservation_log_reservation_number_trgm"));
+  }
+
+  private static ManagedIndex identifierKey(IdentifierType type, String name) {
+    return new ManagedIndex(
+        name,
+        type.getDomain().getTable(),
+        "(("
+            + type.getKeyExpression()
+            + ") text_pattern_ops, occurred_at) INCLUDE ("
+            + type.getDomain().getEntityColumn()
+            + ") WHERE "
+            + type.getColumn()
+            + " IS NOT NULL",
+        "식별자 정확히/접두어 일치 검색");
+  }
+
+  private static ManagedIndex identifierTrigram(IdentifierType type, String name) {
+    return new ManagedIndex(
+        name,
+        type.getDomain().getTable(),
+        "USING GIN (("
+            + type.getKeyExpression()
+            + ") gin_trgm_ops) WHERE "
+            + type.getColumn()
+            + " IS NOT NULL",
+        "식별자 부분/유사 일치 검색");
+  }
+}
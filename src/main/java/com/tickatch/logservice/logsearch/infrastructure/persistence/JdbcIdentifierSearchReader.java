@@ -0,0 +1,148 @@
+package com.tickatch.logservice.logsearch.infrastructure.persistence;
+
+import com.tickatch.logservice.logsearch.application.IdentifierSearchProperties;
+import com.tickatch.logservice.logsearch.domain.IdentifierMatch;
+import com.tickatch.logservice.logsearch.domain.IdentifierMatches;
+import com.tickatch.logservice.logsearch.domain.IdentifierType;
+import com.tickatch.logservice.logsearch.domain.MatchMode;
+import com.tickatch.logservice.logsearch.domain.TimelineEntry;
+import com.tickatch.logservice.logsearch.domain.repository.IdentifierSearchReader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 식별자 검색 키 인덱스(B-tree text_pattern_ops / GIN trigram)를 쓰는 검색.
+ *
+ * <p>정확히 일치는 (키, occurred_at) 인덱스를 역순으로 읽어 최근 엔티티부터 찾는다. 접두어와 부분 일치는 인덱스에서 {@code scanRows}행까지만
+ * 읽고 멈추므로 짧은 키가 많은 행에 걸려도 읽는 양이 늘지 않는다. 정확히 일치도 같은 상한에서 멈추며, 상한에 걸렸는지를 함께 반환한다. 모든
+ * 쿼리에 {@code queryTimeout}을 건다.
+ */
+@Repository
+public class JdbcIdentifierSearchReader implements IdentifierSearchReader {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final IdentifierSearchProperties properties;
+
+  public JdbcIdentifierSearchReader(DataSource dataSource, IdentifierSearchProperties properties) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setQueryTimeout((int) Math.max(1, properties.queryTimeout().toSeconds()));
+    this.properties = properties;
+  }
+
+  @Override
+  public IdentifierMatches findMatches(
+      IdentifierType type, String key, MatchMode mode, int limit) {
+    String table = type.getDomain().getTable();
+    String expression = type.getKeyExpression();
+    String select =
+        "SELECT "
+            + type.getDomain().getEntityColumn()
+            + " AS entity, "
+            + type.getColumn()
+            + " AS identifier, occurred_at, ";
+    String scan =
+        switch (mode) {
+          case EXACT ->
+              select
+                  + "0 AS score FROM "
+                  + table
+                  + " WHERE "
+                  + expression
+                  + " = ? ORDER BY occurred_at DESC LIMIT ?";
+          case PREFIX ->
+              select + "0 AS score FROM " + table + " WHERE " + expression + " LIKE ? LIMIT ?";
+          case FUZZY ->
+              select
+                  + "similarity("
+                  + expression
+                  + ", ?) AS score FROM "
+                  + table
+                  + " WHERE ("
+                  + expression
+                  + " LIKE ? OR "
+                  + expression
+                  + " % ?) LIMIT ?";
+        };
+    List<Object> args =
+        new ArrayList<>(
+            switch (mode) {
+              case EXACT -> List.of(key);
+              case PREFIX -> List.of(escapeLike(key) + "%");
+              case FUZZY -> List.of(key, "%" + escapeLike(key) + "%", key);
+            });
+    args.add(properties.scanRows());
+    args.add(limit);
+
+    List<IdentifierMatch> matches = new ArrayList<>();
+    long[] scanned = new long[1];
+    jdbcTemplate.query(
+        "SELECT entity, MAX(identifier) AS identifier, MAX(occurred_at) AS last_occurred_at,"
+            + " SUM(COUNT(*)) OVER () AS scanned FROM ("
+            + scan
+            + ") m GROUP BY entity ORDER BY MAX(score) DESC, last_occurred_at DESC LIMIT ?",
+        rs -> {
+          scanned[0] = rs.getLong("scanned");
+          matches.add(
+              new IdentifierMatch(
+                  rs.getObject("entity"),
+                  rs.getString("identifier"),
+                  toLocalDateTime(rs.getTimestamp("last_occurred_at"))));
+        },
+        args.toArray());
+    return new IdentifierMatches(matches, scanned[0] < properties.scanRows());
+  }
+
+  @Override
+  public List<TimelineEntry> findTimelines(
+      IdentifierType type, Collection<Object> entityIds, int eventsPerEntity) {
+    if (entityIds.isEmpty()) {
+      return List.of();
+    }
+
+    String entity = type.getDomain().getEntityColumn();
+    List<Object> args = new ArrayList<>(entityIds);
+    args.add(eventsPerEntity);
+    return jdbcTemplate.query(
+        "SELECT * FROM (SELECT id, "
+            + entity
+            + " AS entity, "
+            + type.getColumn()
+            + " AS identifier, action_type, actor_type, actor_user_id, occurred_at,"
+            + " ROW_NUMBER() OVER (PARTITION BY "
+            + entity
+            + " ORDER BY occurred_at DESC) AS rn FROM "
+            + type.getDomain().getTable()
+            + " WHERE "
+            + entity
+            + " IN ("
+            + String.join(", ", Collections.nCopies(entityIds.size(), "?"))
+            + ")) t WHERE rn <= ? ORDER BY entity, occurred_at",
+        (rs, rowNum) ->
+            new TimelineEntry(
+                rs.getObject("id", UUID.class),
+                rs.getObject("entity"),
+                rs.getString("identifier"),
+                rs.getString("action_type"),
+                rs.getString("actor_type"),
+                rs.getObject("actor_user_id", UUID.class),
+                toLocalDateTime(rs.getTimestamp("occurred_at"))),
+        args.toArray());
+  }
+
+  private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+    return timestamp == null ? null : timestamp.toLocalDateTime();
+  }
+
+  /** LIKE 패턴 문자를 이스케이프한다. 키는 문자와 숫자만 남지만 정규화 규칙이 바뀌어도 안전하도록 둔다. */
+  private static String escapeLike(String key) {
+    return key.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
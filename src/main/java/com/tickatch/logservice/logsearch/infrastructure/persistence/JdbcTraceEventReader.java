@@ -0,0 +1,71 @@
+package com.tickatch.logservice.logsearch.infrastructure.persistence;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.logsearch.application.IdentifierSearchProperties;
+import com.tickatch.logservice.logsearch.domain.TraceEvent;
+import com.tickatch.logservice.logsearch.domain.repository.TraceEventReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 도메인 테이블마다 trace_id 부분 인덱스를 읽는 {@code UNION ALL} 쿼리 하나로 trace를 조회한다.
+ *
+ * <p>갈래마다 같은 trace의 행만 인덱스로 읽고 {@code limit}으로 자르므로, 한 trace에 걸린 행 수만큼만 읽는다. 엔티티 ID는 도메인마다
+ * 타입(UUID, bigint)이 달라 문자열로 맞춘다. 쿼리에 {@code queryTimeout}을 건다.
+ */
+@Repository
+public class JdbcTraceEventReader implements TraceEventReader {
+
+  private static final LogDomain[] DOMAINS = LogDomain.values();
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String sql;
+
+  public JdbcTraceEventReader(DataSource dataSource, IdentifierSearchProperties properties) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setQueryTimeout((int) Math.max(1, properties.queryTimeout().toSeconds()));
+    this.sql =
+        Arrays.stream(DOMAINS)
+                .map(
+                    domain ->
+                        "(SELECT "
+                            + domain.ordinal()
+                            + " AS domain, id, "
+                            + domain.getEntityColumn()
+                            + "::text AS entity, action_type, actor_type, actor_user_id,"
+                            + " occurred_at FROM "
+                            + domain.getTable()
+                            + " WHERE trace_id = ? ORDER BY occurred_at LIMIT ?)")
+                .collect(Collectors.joining(" UNION ALL "))
+            + " ORDER BY occurred_at, id LIMIT ?";
+  }
+
+  @Override
+  public List<TraceEvent> findByTraceId(UUID traceId, int limit) {
+    List<Object> args = new ArrayList<>(DOMAINS.length * 2 + 1);
+    for (int i = 0; i < DOMAINS.length; i++) {
+      args.add(traceId);
+      args.add(limit);
+    }
+    args.add(limit);
+
+    return jdbcTemplate.query(
+        sql,
+        (rs, rowNum) ->
+            new TraceEvent(
+                DOMAINS[rs.getInt("domain")],
+                rs.getObject("id", UUID.class),
+                rs.getString("entity"),
+                rs.getString("action_type"),
+                rs.getString("actor_type"),
+                rs.getObject("actor_user_id", UUID.class),
+                rs.getTimestamp("occurred_at").toLocalDateTime()),
+        args.toArray());
+  }
+}
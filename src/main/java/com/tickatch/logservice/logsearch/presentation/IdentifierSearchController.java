@@ -0,0 +1,37 @@
+package com.tickatch.logservice.logsearch.presentation;
+
+import com.tickatch.logservice.logsearch.application.IdentifierSearchService;
+import com.tickatch.logservice.logsearch.application.dto.IdentifierSearchResponse;
+import com.tickatch.logservice.logsearch.domain.IdentifierType;
+import com.tickatch.logservice.logsearch.domain.MatchMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/logs/search")
+@RequiredArgsConstructor
+public class IdentifierSearchController {
+
+  private final IdentifierSearchService identifierSearchService;
+
+  /** 식별자 종류(reservation-number, seat-number)로 엔티티 타임라인을 찾는다. 예: {@code ?q=A-12&match=PREFIX} */
+  @GetMapping("/{type}")
+  public ResponseEntity<IdentifierSearchResponse> search(
+      @PathVariable String type,
+      @RequestParam String q,
+      @RequestParam(defaultValue = "EXACT") MatchMode match) {
+    return IdentifierType.fromKey(type)
+        .map(
+            identifierType ->
+                identifierSearchService
+                    .search(identifierType, q, match)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.badRequest().build()))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+}
@@ -0,0 +1,27 @@
+package com.tickatch.logservice.logsearch.presentation;
+
+import com.tickatch.logservice.logsearch.application.TraceSearchService;
+import com.tickatch.logservice.logsearch.application.dto.TraceSearchResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/logs/traces")
+@RequiredArgsConstructor
+public class TraceSearchController {
+
+  private final TraceSearchService traceSearchService;
+
+  /** 요청 trace에서 발생한 모든 도메인의 감사 이벤트를 발생 순으로 반환한다. trace ID는 16진 16/32자리. */
+  @GetMapping("/{traceId}")
+  public ResponseEntity<TraceSearchResponse> search(@PathVariable String traceId) {
+    return traceSearchService
+        .search(traceId)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.badRequest().build());
+  }
+}
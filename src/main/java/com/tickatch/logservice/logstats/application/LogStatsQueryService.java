@@ -0,0 +1,53 @@
+package com.tickatch.logservice.logstats.application;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.recent.RecentWindowStore;
+import com.tickatch.logservice.logstats.application.dto.LogStatsResponse;
+import com.tickatch.logservice.logstats.domain.repository.LogStatsReader;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class LogStatsQueryService {
+
+  private final RecentWindowStore recentWindowStore;
+  private final LogStatsReader logStatsReader;
+
+  /**
+   * 조회 구간을 이 인스턴스가 빠짐없이 보유하면 최근 구간 저장소에서, 아니면 로그 테이블에서 action_type별 건수를 집계한다.
+   *
+   * @return 엔티티 ID 형식이 도메인에 맞지 않으면 비어 있다
+   */
+  public Optional<LogStatsResponse> countByAction(
+      LogDomain domain,
+      LocalDateTime from,
+      LocalDateTime to,
+      String entityId,
+      UUID actorUserId) {
+    Object parsedEntityId = null;
+    if (entityId != null && !entityId.isBlank()) {
+      Optional<Object> parsed = domain.parseEntityId(entityId.trim());
+      if (parsed.isEmpty()) {
+        return Optional.empty();
+      }
+      parsedEntityId = parsed.get();
+    }
+
+    if (recentWindowStore.covers(domain, from, to)) {
+      Map<String, Long> counts =
+          recentWindowStore.countByAction(domain, from, to, parsedEntityId, actorUserId);
+      return Optional.of(LogStatsResponse.of(domain.getKey(), from, to, "memory", counts));
+    }
+
+    Map<String, Long> counts =
+        logStatsReader.countByAction(domain, from, to, parsedEntityId, actorUserId);
+    return Optional.of(LogStatsResponse.of(domain.getKey(), from, to, "database", counts));
+  }
+}
@@ -0,0 +1,138 @@
+package com.tickatch.logservice.logstats.application;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.sketch.CountMinTopK;
+import com.tickatch.logservice.global.sketch.HyperLogLog;
+import com.tickatch.logservice.global.sketch.MergeableSketch;
+import com.tickatch.logservice.global.sketch.SketchKey;
+import com.tickatch.logservice.global.sketch.SketchKind;
+import com.tickatch.logservice.global.sketch.SketchProperties;
+import com.tickatch.logservice.global.sketch.SketchRecorder;
+import com.tickatch.logservice.global.sketch.SketchStore;
+import com.tickatch.logservice.logstats.application.dto.DistinctUsersResponse;
+import com.tickatch.logservice.logstats.application.dto.TopEntitiesResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * 버킷별 요약을 합쳐 고유 사용자 수와 상위 엔티티를 추정한다.
+ *
+ * <p>구간은 버킷 경계로 넓혀지고, DB에 반영된 요약에 이 인스턴스의 미반영 요약을 더한다. 다른 인스턴스의 미반영 요약(최대 {@code
+ * flush-interval})은 포함되지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SketchQueryService {
+
+  private final SketchStore sketchStore;
+  private final SketchRecorder sketchRecorder;
+  private final SketchProperties properties;
+
+  /**
+   * 구간의 고유 행위자 수.
+   *
+   * @param actionType {@code null}이면 모든 액션 타입의 합집합
+   * @param scope 엔티티 ID 범위 ({@code scoped-domains}) 또는 상품 ID 범위 ({@code product-scoped-domains}).
+   *     {@code null}이면 도메인 전체
+   * @return 범위를 지원하지 않는 도메인이거나 구간이 잘못되었으면 빈 값
+   */
+  public Optional<DistinctUsersResponse> distinctUsers(
+      LogDomain domain, LocalDateTime from, LocalDateTime to, String actionType, String scope) {
+    if (scope != null && !sketchRecorder.isScoped(domain)) {
+      return Optional.empty();
+    }
+    String sketchScope = scope != null ? scope : SketchKey.ALL;
+    return align(from, to)
+        .map(
+            range -> {
+              HyperLogLog hll =
+                  (HyperLogLog)
+                      combine(SketchKind.DISTINCT_USERS, domain, actionType, sketchScope, range);
+              return DistinctUsersResponse.of(
+                  domain.getKey(),
+                  actionType,
+                  sketchScope,
+                  range.from(),
+                  range.to(),
+                  hll != null ? hll.estimate() : 0,
+                  hll != null
+                      ? hll.relativeStandardError()
+                      : new HyperLogLog(properties.precision()).relativeStandardError());
+            });
+  }
+
+  /**
+   * 구간에서 이벤트가 가장 많은 엔티티.
+   *
+   * @param actionType {@code null}이면 모든 액션 타입의 합계
+   * @param limit 최대 항목 수 ({@code top-k}로 제한)
+   * @return 구간이 잘못되었으면 빈 값
+   */
+  public Optional<TopEntitiesResponse> topEntities(
+      LogDomain domain, LocalDateTime from, LocalDateTime to, String actionType, int limit) {
+    return align(from, to)
+        .map(
+            range -> {
+              CountMinTopK topK =
+                  (CountMinTopK)
+                      combine(SketchKind.TOP_ENTITIES, domain, actionType, SketchKey.ALL, range);
+              if (topK == null) {
+                return new TopEntitiesResponse(
+                    domain.getKey(), actionType, range.from(), range.to(), 0, 0, 0, List.of());
+              }
+              List<TopEntitiesResponse.Entry> entries =
+                  topK.top(Math.max(1, Math.min(limit, properties.topK()))).stream()
+                      .map(entry -> new TopEntitiesResponse.Entry(entry.getKey(), entry.getValue()))
+                      .toList();
+              return new TopEntitiesResponse(
+                  domain.getKey(),
+                  actionType,
+                  range.from(),
+                  range.to(),
+                  topK.total(),
+                  topK.errorBound(),
+                  topK.confidence(),
+                  entries);
+            });
+  }
+
+  private MergeableSketch combine(
+      SketchKind kind,
+      LogDomain domain,
+      String actionType,
+      String scope,
+      Range range) {
+    Optional<MergeableSketch> local =
+        sketchRecorder.pending(kind, domain, actionType, scope, range.from(), range.to());
+    Optional<MergeableSketch> stored =
+        sketchStore.load(kind, domain, actionType, scope, range.from(), range.to());
+    if (stored.isEmpty()) {
+      return local.orElse(null);
+    }
+    local.ifPresent(stored.get()::merge);
+    return stored.get();
+  }
+
+  /** [from, to)를 버킷 경계로 넓힌다. 버킷 수가 {@code max-query-buckets}를 넘으면 빈 값. */
+  private Optional<Range> align(LocalDateTime from, LocalDateTime to) {
+    if (!from.isBefore(to)) {
+      return Optional.empty();
+    }
+    Duration bucket = sketchRecorder.bucket();
+    LocalDateTime start = sketchRecorder.bucketStart(from);
+    LocalDateTime end = sketchRecorder.bucketStart(to);
+    if (end.isBefore(to)) {
+      end = end.plus(bucket);
+    }
+    if (Duration.between(start, end).dividedBy(bucket) > properties.maxQueryBuckets()) {
+      return Optional.empty();
+    }
+    return Optional.of(new Range(start, end));
+  }
+
+  private record Range(LocalDateTime from, LocalDateTime to) {}
+}
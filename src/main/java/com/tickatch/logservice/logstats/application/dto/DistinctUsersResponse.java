@@ -0,0 +1,43 @@
+package com.tickatch.logservice.logstats.application.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * HyperLogLog로 추정한 고유 행위자 수.
+ *
+ * @param from 버킷 경계로 내린 구간 시작
+ * @param to 버킷 경계로 올린 구간 끝 (제외)
+ * @param relativeStandardError 상대 표준 오차. 실제 값은 약 95% 확률로 {@code [lower95, upper95]} 안에 있다
+ */
+public record DistinctUsersResponse(
+    String domain,
+    String actionType,
+    String scope,
+    LocalDateTime from,
+    LocalDateTime to,
+    long estimate,
+    double relativeStandardError,
+    long lower95,
+    long upper95) {
+
+  public static DistinctUsersResponse of(
+      String domain,
+      String actionType,
+      String scope,
+      LocalDateTime from,
+      LocalDateTime to,
+      long estimate,
+      double relativeStandardError) {
+    double margin = 2 * relativeStandardError * estimate;
+    return new DistinctUsersResponse(
+        domain,
+        actionType,
+        scope,
+        from,
+        to,
+        estimate,
+        relativeStandardError,
+        Math.max(0, (long) Math.floor(estimate - margin)),
+        (long) Math.ceil(estimate + margin));
+  }
+}
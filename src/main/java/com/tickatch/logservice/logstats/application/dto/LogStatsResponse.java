@@ -0,0 +1,28 @@
+package com.tickatch.logservice.logstats.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 도메인 이벤트 집계 결과.
+ *
+ * @param source 응답 출처 ({@code memory}: 최근 구간 저장소, {@code database}: 로그 테이블)
+ */
+public record LogStatsResponse(
+    String domain,
+    LocalDateTime from,
+    LocalDateTime to,
+    String source,
+    long total,
+    Map<String, Long> countsByAction) {
+
+  public static LogStatsResponse of(
+      String domain,
+      LocalDateTime from,
+      LocalDateTime to,
+      String source,
+      Map<String, Long> countsByAction) {
+    long total = countsByAction.values().stream().mapToLong(Long::longValue).sum();
+    return new LogStatsResponse(domain, from, to, source, total, countsByAction);
+  }
+}
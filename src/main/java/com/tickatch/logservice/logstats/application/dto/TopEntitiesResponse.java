@@ -0,0 +1,26 @@
+package com.tickatch.logservice.logstats.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Count-Min 스케치로 추정한 건수 상위 엔티티.
+ *
+ * @param from 버킷 경계로 내린 구간 시작
+ * @param to 버킷 경계로 올린 구간 끝 (제외)
+ * @param totalEvents 구간의 전체 이벤트 수 (정확한 값)
+ * @param errorBound 추정 건수가 실제보다 클 수 있는 최대 건수. 추정치는 실제보다 작지 않다
+ * @param confidence {@code errorBound}가 성립할 확률
+ */
+public record TopEntitiesResponse(
+    String domain,
+    String actionType,
+    LocalDateTime from,
+    LocalDateTime to,
+    long totalEvents,
+    long errorBound,
+    double confidence,
+    List<Entry> entries) {
+
+  public record Entry(String entityId, long estimatedCount) {}
+}
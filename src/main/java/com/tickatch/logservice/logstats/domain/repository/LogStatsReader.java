@@ -0,0 +1,13 @@
+package com.tickatch.logservice.logstats.domain.repository;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/** 최근 구간 저장소가 응답할 수 없는 구간을 로그 테이블에서 집계한다. */
+public interface LogStatsReader {
+
+  Map<String, Long> countByAction(
+      LogDomain domain, LocalDateTime from, LocalDateTime to, Object entityId, UUID actorUserId);
+}
@@ -0,0 +1,52 @@
+package com.tickatch.logservice.logstats.infrastructure.persistence;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.logstats.domain.repository.LogStatsReader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcLogStatsReader implements LogStatsReader {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public Map<String, Long> countByAction(
+      LogDomain domain, LocalDateTime from, LocalDateTime to, Object entityId, UUID actorUserId) {
+    StringBuilder sql =
+        new StringBuilder("SELECT action_type, COUNT(*) AS cnt FROM ")
+            .append(domain.getTable())
+            .append(" WHERE occurred_at >= ? AND occurred_at <= ?");
+
+    List<Object> args = new ArrayList<>();
+    args.add(Timestamp.valueOf(from));
+    args.add(Timestamp.valueOf(to));
+    if (entityId != null) {
+      sql.append(" AND ").append(domain.getEntityColumn()).append(" = ?");
+      args.add(entityId);
+    }
+    if (actorUserId != null) {
+      sql.append(" AND actor_user_id = ?");
+      args.add(actorUserId);
+    }
+    sql.append(" GROUP BY action_type");
+
+    Map<String, Long> counts = new LinkedHashMap<>();
+    jdbcTemplate.query(
+        sql.toString(),
+        rs -> {
+          counts.put(rs.getString("action_type"), rs.getLong("cnt"));
+        },
+        args.toArray());
+    return counts;
+  }
+}
@@ -0,0 +1,99 @@
+package com.tickatch.logservice.logstats.presentation;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.logstats.application.LogStatsQueryService;
+import com.tickatch.logservice.logstats.application.SketchQueryService;
+import com.tickatch.logservice.logstats.application.dto.DistinctUsersResponse;
+import com.tickatch.logservice.logstats.application.dto.LogStatsResponse;
+import com.tickatch.logservice.logstats.application.dto.TopEntitiesResponse;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/logs/stats")
+@RequiredArgsConstructor
+public class LogStatsController {
+
+  private final LogStatsQueryService logStatsQueryService;
+  private final SketchQueryService sketchQueryService;
+
+  /**
+   * 도메인 키(예: payment)의 구간별 action_type 건수. {@code to}가 없으면 현재 시각까지. 엔티티 ID 형식이 도메인에 맞지 않으면 400.
+   */
+  @GetMapping("/{domain}")
+  public ResponseEntity<LogStatsResponse> countByAction(
+      @PathVariable String domain,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      @RequestParam(required = false) String entityId,
+      @RequestParam(required = false) UUID actorUserId) {
+    return LogDomain.fromKey(domain)
+        .map(
+            logDomain ->
+                logStatsQueryService
+                    .countByAction(
+                        logDomain,
+                        from,
+                        to != null ? to : LocalDateTime.now(),
+                        entityId,
+                        actorUserId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.badRequest().build()))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * 구간의 고유 행위자 수 추정치 (HyperLogLog). {@code scope}에 상품 / 공연장 ID를 주면 그 엔티티만 센다. 좌석 / 예매
+   * 도메인에서는 {@code scope}가 상품 ID이다.
+   *
+   * <p>예: {@code /product/distinct-users?from=...&scope=42&actionType=SALE_STARTED}, {@code
+   * /reservation-seat/distinct-users?from=...&scope=42} (상품 42의 좌석을 다룬 고유 사용자)
+   */
+  @GetMapping("/{domain}/distinct-users")
+  public ResponseEntity<DistinctUsersResponse> distinctUsers(
+      @PathVariable String domain,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      @RequestParam(required = false) String actionType,
+      @RequestParam(required = false) String scope) {
+    return LogDomain.fromKey(domain)
+        .map(
+            logDomain ->
+                sketchQueryService
+                    .distinctUsers(
+                        logDomain, from, to != null ? to : LocalDateTime.now(), actionType, scope)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.badRequest().build()))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /** 구간에서 이벤트가 많은 엔티티 상위 목록 (Count-Min). 예: 선점이 몰린 좌석 {@code /reservation-seat/top-entities}. */
+  @GetMapping("/{domain}/top-entities")
+  public ResponseEntity<TopEntitiesResponse> topEntities(
+      @PathVariable String domain,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime to,
+      @RequestParam(required = false) String actionType,
+      @RequestParam(defaultValue = "100") int limit) {
+    return LogDomain.fromKey(domain)
+        .map(
+            logDomain ->
+                sketchQueryService
+                    .topEntities(
+                        logDomain, from, to != null ? to : LocalDateTime.now(), actionType, limit)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.badRequest().build()))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+}
@@ -0,0 +1,27 @@
+package com.tickatch.logservice.paymentlog.application;
+
+import com.tickatch.logservice.global.config.cache.CacheNames;
+import com.tickatch.logservice.paymentlog.application.dto.PaymentLogResponse;
+import com.tickatch.logservice.paymentlog.domain.repository.PaymentLogRepository;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PaymentLogQueryService {
+
+  private final PaymentLogRepository paymentLogRepository;
+
+  /** 결제 ID 기준 이력을 발생 시각 순으로 조회한다. 새 이벤트 저장 시 Consumer가 캐시를 무효화한다. */
+  @Cacheable(cacheNames = CacheNames.PAYMENT_LOG_TIMELINE, key = "#paymentId", sync = true)
+  public List<PaymentLogResponse> getTimeline(UUID paymentId) {
+    return paymentLogRepository.findAllByPaymentIdOrderByOccurredAtAsc(paymentId).stream()
+        .map(PaymentLogResponse::from)
+        .toList();
+  }
+}
@@ -0,0 +1,28 @@
+package com.tickatch.logservice.paymentlog.application.dto;
+
+import com.tickatch.logservice.paymentlog.domain.PaymentLog;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record PaymentLogResponse(
+    UUID paymentLogId,
+    UUID paymentId,
+    String method,
+    int retryCount,
+    String actionType,
+    String actorType,
+    UUID actorUserId,
+    LocalDateTime occurredAt) {
+
+  public static PaymentLogResponse from(PaymentLog log) {
+    return new PaymentLogResponse(
+        log.getPaymentLogId(),
+        log.getPaymentId(),
+        log.getMethod(),
+        log.getRetryCount(),
+        log.getActionType(),
+        log.getActorType(),
+        log.getActorUserId(),
+        log.getOccurredAt());
+  }
+}
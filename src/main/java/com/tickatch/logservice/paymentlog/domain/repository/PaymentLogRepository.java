@@ -1,7 +1,30 @@
 package com.tickatch.logservice.paymentlog.domain.repository;
 
 import com.tickatch.logservice.paymentlog.domain.PaymentLog;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface PaymentLogRepository extends JpaRepository<PaymentLog, UUID> {}
+public interface PaymentLogRepository extends JpaRepository<PaymentLog, UUID> {
+
+  List<PaymentLog> findAllByPaymentIdOrderByOccurredAtAsc(UUID paymentId);
+
+  /**
+   * 재전달된 메시지는 id 유일 인덱스 충돌로 건너뛴다. 새로 저장했을 때만 1을 반환한다. 충돌 대상을 지정하지 않으므로 인덱스가 없는 기존 DB에서도
+   * 실패하지 않는다 (db/migration/002_log_id_unique.sql 적용 전에는 중복을 막지 못한다).
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO p_payment_log (id, payment_id, method, retry_count, action_type,"
+              + " actor_type, actor_user_id, occurred_at, overflow, trace_id) VALUES"
+              + " (:#{#log.paymentLogId}, :#{#log.paymentId}, :#{#log.method},"
+              + " :#{#log.retryCount}, :#{#log.actionType}, :#{#log.actorType},"
+              + " :#{#log.actorUserId}, :#{#log.occurredAt}, CAST(:#{#log.overflow} AS jsonb),"
+              + " :#{#log.traceId}) ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(@Param("log") PaymentLog log);
+}
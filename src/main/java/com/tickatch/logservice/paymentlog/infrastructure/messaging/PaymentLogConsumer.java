@@ -1,12 +1,25 @@
 package com.tickatch.logservice.paymentlog.infrastructure.messaging;
 
+import com.tickatch.logservice.global.cache.LogCacheInvalidator;
+import com.tickatch.logservice.global.config.cache.CacheNames;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
 import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.eventtime.EventTimeProcessor;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.fidelity.FidelityPolicy;
+import com.tickatch.logservice.global.schema.EventSchemaHeaders;
+import com.tickatch.logservice.global.tracing.TraceContextHeaders;
 import com.tickatch.logservice.paymentlog.domain.PaymentLog;
 import com.tickatch.logservice.paymentlog.domain.event.PaymentEvent;
 import com.tickatch.logservice.paymentlog.domain.repository.PaymentLogRepository;
+import com.tickatch.logservice.projection.application.ProjectionService;
+import com.tickatch.logservice.projection.domain.EntityType;
+import com.tickatch.logservice.projection.domain.ProjectionEvent;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,15 +29,28 @@ import org.springframework.transaction.annotation.Transactional;
 public class PaymentLogConsumer {
 
   private final PaymentLogRepository paymentLogRepository;
+  private final LogCacheInvalidator logCacheInvalidator;
+  private final EventTimeProcessor eventTimeProcessor;
+  private final FidelityPolicy fidelityPolicy;
+  private final ProjectionService projectionService;
 
   @RabbitListener(
+      id = RabbitMQConfig.LISTENER_PAYMENT_LOG,
       queues = RabbitMQConfig.QUEUE_PAYMENT_LOG,
-      containerFactory = "rabbitListenerContainerFactory")
+      containerFactory = "rabbitListenerContainerFactory",
+      autoStartup = RabbitMQConfig.CONSUMER_AUTO_STARTUP)
   @Transactional
-  public void consume(PaymentEvent event) {
-    try {
-      log.debug("Consuming payment log: {}", event);
+  public void consume(
+      PaymentEvent event,
+      @Header(name = EventSchemaHeaders.OVERFLOW, required = false) String overflow,
+      @Header(name = TraceContextHeaders.TRACE_ID, required = false) UUID traceId) {
+    log.debug("Consuming payment log: eventId={}", event.eventId());
 
+    // 저장 수준 정책은 행 저장 여부만 정한다. 저장하지 않는 이벤트도 재전달만 거르고 집계에는 반영한다
+    FidelityPolicy.Outcome outcome =
+        fidelityPolicy.admit(
+            LogDomain.PAYMENT, event.eventId(), event.paymentId(), event.actionType());
+    if (outcome.stored()) {
       PaymentLog log =
           PaymentLog.create(
               event.eventId(),
@@ -34,13 +60,32 @@ public class PaymentLogConsumer {
               event.actionType(),
               event.actorType(),
               event.actorUserId(),
-              event.occurredAt());
-
-      paymentLogRepository.save(log);
-
-    } catch (Exception e) {
-      log.error("Failed to save payment log: {}", event, e);
-      throw e; // DLQ로 전송
+              event.occurredAt(),
+              overflow,
+              traceId);
+      if (paymentLogRepository.insertIfAbsent(log) == 0) {
+        return; // 재전달: 이미 저장하고 집계했다
+      }
+    } else if (!fidelityPolicy.acceptUnstored(
+        outcome, LogDomain.PAYMENT, event.eventId(), event.actionType(), event.occurredAt())) {
+      return; // 재전달: 이미 집계했다
     }
+
+    projectionService.apply(
+        ProjectionEvent.of(
+            EntityType.PAYMENT,
+            event.paymentId(),
+            event.eventId(),
+            event.actionType(),
+            event.actorUserId(),
+            event.method(),
+            event.occurredAt()));
+    eventTimeProcessor.onAccepted(
+        LogDomain.PAYMENT,
+        event.eventId(),
+        event.occurredAt(),
+        new LogEventFields(event.paymentId(), event.actionType(), event.actorUserId(), overflow),
+        event);
+    logCacheInvalidator.evictAfterCommit(CacheNames.PAYMENT_LOG_TIMELINE, event.paymentId());
   }
 }
@@ -0,0 +1,24 @@
+package com.tickatch.logservice.paymentlog.presentation;
+
+import com.tickatch.logservice.paymentlog.application.PaymentLogQueryService;
+import com.tickatch.logservice.paymentlog.application.dto.PaymentLogResponse;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/logs/payments")
+@RequiredArgsConstructor
+public class PaymentLogController {
+
+  private final PaymentLogQueryService paymentLogQueryService;
+
+  @GetMapping("/{paymentId}")
+  public List<PaymentLogResponse> getTimeline(@PathVariable UUID paymentId) {
+    return paymentLogQueryService.getTimeline(paymentId);
+  }
+}
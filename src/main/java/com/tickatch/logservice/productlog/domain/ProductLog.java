@@ -9,6 +9,8 @@ import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "p_product_log")
@@ -35,13 +37,24 @@ public class ProductLog {
   @Column(name = "occurred_at", nullable = false)
   private LocalDateTime occurredAt;
 
+  // 현재 이벤트 스키마에 없는 필드 (발행 서비스가 추가한 값을 스키마 갱신 전까지 보존)
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "overflow")
+  private String overflow;
+
+  // 이벤트를 발생시킨 요청의 trace ID (발행 쪽 전파 헤더가 없으면 null)
+  @Column(name = "trace_id")
+  private UUID traceId;
+
   public static ProductLog create(
       UUID productLogId,
       Long productId,
       String actionType,
       String actorType,
       UUID actorUserId,
-      LocalDateTime occurredAt) {
+      LocalDateTime occurredAt,
+      String overflow,
+      UUID traceId) {
 
     ProductLog log = new ProductLog();
     log.productLogId = productLogId;
@@ -50,6 +63,8 @@ public class ProductLog {
     log.actorType = actorType;
     log.actorUserId = actorUserId;
     log.occurredAt = occurredAt;
+    log.overflow = overflow;
+    log.traceId = traceId;
     return log;
   }
 }
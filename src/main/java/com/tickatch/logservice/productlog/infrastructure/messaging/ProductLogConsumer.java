@@ -1,12 +1,20 @@
 package com.tickatch.logservice.productlog.infrastructure.messaging;
 
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
 import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.eventtime.EventTimeProcessor;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.fidelity.FidelityPolicy;
+import com.tickatch.logservice.global.schema.EventSchemaHeaders;
+import com.tickatch.logservice.global.tracing.TraceContextHeaders;
 import com.tickatch.logservice.productlog.domain.ProductLog;
 import com.tickatch.logservice.productlog.domain.event.ProductEvent;
 import com.tickatch.logservice.productlog.domain.repository.ProductLogRepository;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,15 +24,26 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProductLogConsumer {
 
   private final ProductLogRepository productLogRepository;
+  private final EventTimeProcessor eventTimeProcessor;
+  private final FidelityPolicy fidelityPolicy;
 
   @RabbitListener(
+      id = RabbitMQConfig.LISTENER_PRODUCT_LOG,
       queues = RabbitMQConfig.QUEUE_PRODUCT_LOG,
-      containerFactory = "rabbitListenerContainerFactory")
+      containerFactory = "rabbitListenerContainerFactory",
+      autoStartup = RabbitMQConfig.CONSUMER_AUTO_STARTUP)
   @Transactional
-  public void consume(ProductEvent event) {
-    try {
-      log.debug("Consuming product log: {}", event);
+  public void consume(
+      ProductEvent event,
+      @Header(name = EventSchemaHeaders.OVERFLOW, required = false) String overflow,
+      @Header(name = TraceContextHeaders.TRACE_ID, required = false) UUID traceId) {
+    log.debug("Consuming product log: eventId={}", event.eventId());
 
+    // 저장 수준 정책은 행 저장 여부만 정한다. 저장하지 않는 이벤트도 재전달만 거르고 집계에는 반영한다
+    FidelityPolicy.Outcome outcome =
+        fidelityPolicy.admit(
+            LogDomain.PRODUCT, event.eventId(), event.productId(), event.actionType());
+    if (outcome.stored()) {
       ProductLog log =
           ProductLog.create(
               event.eventId(),
@@ -32,13 +51,22 @@ public class ProductLogConsumer {
               event.actionType(),
               event.actorType(),
               event.actorUserId(),
-              event.occurredAt());
-
-      productLogRepository.save(log);
-
-    } catch (Exception e) {
-      log.error("Failed to save product log: {}", event, e);
-      throw e; // DLQ로 전송되도록
+              event.occurredAt(),
+              overflow,
+              traceId);
+      if (productLogRepository.insertIfAbsent(log) == 0) {
+        return; // 재전달: 이미 저장하고 집계했다
+      }
+    } else if (!fidelityPolicy.acceptUnstored(
+        outcome, LogDomain.PRODUCT, event.eventId(), event.actionType(), event.occurredAt())) {
+      return; // 재전달: 이미 집계했다
     }
+
+    eventTimeProcessor.onAccepted(
+        LogDomain.PRODUCT,
+        event.eventId(),
+        event.occurredAt(),
+        new LogEventFields(event.productId(), event.actionType(), event.actorUserId(), overflow),
+        event);
   }
 }
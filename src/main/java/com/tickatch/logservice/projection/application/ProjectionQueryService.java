@@ -0,0 +1,56 @@
+package com.tickatch.logservice.projection.application;
+
+import com.tickatch.logservice.projection.application.dto.EntityStateResponse;
+import com.tickatch.logservice.projection.domain.EntitySnapshot;
+import com.tickatch.logservice.projection.domain.EntityState;
+import com.tickatch.logservice.projection.domain.EntityStateData;
+import com.tickatch.logservice.projection.domain.EntityType;
+import com.tickatch.logservice.projection.domain.ProjectionEvent;
+import com.tickatch.logservice.projection.domain.repository.EntitySnapshotRepository;
+import com.tickatch.logservice.projection.domain.repository.EntityStateRepository;
+import com.tickatch.logservice.projection.domain.repository.ProjectionEventReader;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProjectionQueryService {
+
+  private final EntityStateRepository entityStateRepository;
+  private final EntitySnapshotRepository entitySnapshotRepository;
+  private final ProjectionEventReader projectionEventReader;
+
+  /** 프로젝션 테이블에서 현재 상태를 단건 조회한다. */
+  public Optional<EntityStateResponse> getCurrent(EntityType entityType, String entityId) {
+    return entityStateRepository
+        .findById(EntityState.idOf(entityType, entityId))
+        .map(state -> EntityStateResponse.of(entityType, entityId, state.toData()));
+  }
+
+  /** 가장 가까운 스냅샷에서 시작해 스냅샷의 (발생 시각, 이벤트 ID) 위치 이후 {@code asOf}까지의 이벤트만 재생한다. */
+  public Optional<EntityStateResponse> getAsOf(
+      EntityType entityType, String entityId, LocalDateTime asOf) {
+    Optional<EntitySnapshot> snapshot =
+        entitySnapshotRepository
+            .findFirstByEntityTypeAndEntityIdAndAsOfLessThanEqualOrderByAsOfDesc(
+                entityType, entityId, asOf);
+
+    EntityStateData data = snapshot.map(EntitySnapshot::toData).orElse(EntityStateData.EMPTY);
+    List<ProjectionEvent> events =
+        projectionEventReader.read(
+            entityType, entityId, data.lastOccurredAt(), data.lastEventId(), asOf);
+    for (ProjectionEvent event : events) {
+      data = data.apply(event);
+    }
+
+    if (data.eventCount() == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(EntityStateResponse.of(entityType, entityId, data));
+  }
+}
@@ -0,0 +1,100 @@
+package com.tickatch.logservice.projection.application;
+
+import com.tickatch.logservice.projection.domain.EntitySnapshot;
+import com.tickatch.logservice.projection.domain.EntityState;
+import com.tickatch.logservice.projection.domain.EntityStateData;
+import com.tickatch.logservice.projection.domain.EntityType;
+import com.tickatch.logservice.projection.domain.ProjectionEvent;
+import com.tickatch.logservice.projection.domain.repository.EntitySnapshotRepository;
+import com.tickatch.logservice.projection.domain.repository.EntityStateRepository;
+import com.tickatch.logservice.projection.domain.repository.ProjectionEventReader;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 로그 이벤트를 엔티티 상태 프로젝션에 반영한다.
+ *
+ * <p>Consumer 트랜잭션 안에서 로그 저장과 함께 커밋된다. 재전달된 메시지는 로그 INSERT가 PK 충돌로 건너뛰어져 상태가 두 번 반영되지 않는다.
+ * 저장 수준 정책으로 행을 저장하지 않는 이벤트도 반영하므로 현재 상태는 정확하지만, 그런 이벤트는 재생할 행이 없어 시점 조회와 스냅샷 재구성에서는
+ * 빠진다.
+ *
+ * <p>이벤트 순서는 재생 조회와 같은 (발생 시각, 이벤트 ID)이다. 늦게 도착한 이벤트는 그 시각 이후 스냅샷을 지운다. 지운 구간은 남은 스냅샷 중
+ * 가장 가까운 것부터 로그를 다시 재생해 {@code snapshot-interval}건마다 스냅샷을 다시 만들므로, 이후 시점 조회의 재생 구간이 스냅샷 주기를
+ * 넘지 않는다.
+ *
+ * @since 1.0.0
+ */
+@Service
+public class ProjectionService {
+
+  private final EntityStateRepository entityStateRepository;
+  private final EntitySnapshotRepository entitySnapshotRepository;
+  private final ProjectionEventReader projectionEventReader;
+  private final int snapshotInterval;
+
+  public ProjectionService(
+      EntityStateRepository entityStateRepository,
+      EntitySnapshotRepository entitySnapshotRepository,
+      ProjectionEventReader projectionEventReader,
+      @Value("${log.projection.snapshot-interval:50}") int snapshotInterval) {
+    this.entityStateRepository = entityStateRepository;
+    this.entitySnapshotRepository = entitySnapshotRepository;
+    this.projectionEventReader = projectionEventReader;
+    this.snapshotInterval = snapshotInterval;
+  }
+
+  @Transactional
+  public void apply(ProjectionEvent event) {
+    String id = EntityState.idOf(event.entityType(), event.entityId());
+    entityStateRepository.insertIfAbsent(id, event.entityType().name(), event.entityId());
+    EntityState state = entityStateRepository.findForUpdate(id).orElseThrow();
+
+    int invalidated = 0;
+    if (!state.toData().supersededBy(event)) {
+      // 늦게 도착한 이벤트: 이 시각 이후 스냅샷은 해당 이벤트가 빠져 있다
+      invalidated =
+          entitySnapshotRepository.deleteInvalidated(
+              event.entityType(), event.entityId(), event.occurredAt());
+    }
+
+    state.apply(event);
+
+    if (invalidated > 0) {
+      rebuildSnapshots(event.entityType(), event.entityId(), event.occurredAt(), state.toData());
+    } else if (state.getEventCount() % snapshotInterval == 0) {
+      entitySnapshotRepository.save(
+          EntitySnapshot.of(event.entityType(), event.entityId(), state.toData()));
+    }
+  }
+
+  /**
+   * {@code from} 이전의 가장 가까운 스냅샷부터 현재 상태의 마지막 이벤트까지 로그를 재생하며, 건수가 스냅샷 주기의 배수가 될 때마다 스냅샷을
+   * 남긴다. 같은 트랜잭션에서 저장한 늦은 이벤트의 행도 재생에 포함된다.
+   */
+  private void rebuildSnapshots(
+      EntityType entityType, String entityId, LocalDateTime from, EntityStateData current) {
+    EntityStateData data =
+        entitySnapshotRepository
+            .findFirstByEntityTypeAndEntityIdAndAsOfLessThanEqualOrderByAsOfDesc(
+                entityType, entityId, from)
+            .map(EntitySnapshot::toData)
+            .orElse(EntityStateData.EMPTY);
+
+    List<ProjectionEvent> events =
+        projectionEventReader.read(
+            entityType,
+            entityId,
+            data.lastOccurredAt(),
+            data.lastEventId(),
+            current.lastOccurredAt());
+    for (ProjectionEvent replayed : events) {
+      data = data.apply(replayed);
+      if (data.eventCount() % snapshotInterval == 0) {
+        entitySnapshotRepository.save(EntitySnapshot.of(entityType, entityId, data));
+      }
+    }
+  }
+}
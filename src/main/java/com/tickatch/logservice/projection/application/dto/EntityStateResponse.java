@@ -0,0 +1,32 @@
+package com.tickatch.logservice.projection.application.dto;
+
+import com.tickatch.logservice.projection.domain.EntityStateData;
+import com.tickatch.logservice.projection.domain.EntityType;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record EntityStateResponse(
+    EntityType entityType,
+    String entityId,
+    String status,
+    String attribute,
+    UUID lastActorUserId,
+    UUID lastEventId,
+    LocalDateTime firstOccurredAt,
+    LocalDateTime lastOccurredAt,
+    long eventCount) {
+
+  public static EntityStateResponse of(
+      EntityType entityType, String entityId, EntityStateData data) {
+    return new EntityStateResponse(
+        entityType,
+        entityId,
+        data.status(),
+        data.attribute(),
+        data.lastActorUserId(),
+        data.lastEventId(),
+        data.firstOccurredAt(),
+        data.lastOccurredAt(),
+        data.eventCount());
+  }
+}
@@ -0,0 +1,78 @@
+package com.tickatch.logservice.projection.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 엔티티 상태 체크포인트.
+ *
+ * <p>{@code asOf}(포함된 이벤트 중 가장 늦은 발생 시각) 이전의 이벤트가 모두 반영된 상태이다. 시점 조회는 가장 가까운 스냅샷 이후 이벤트만
+ * 재생한다.
+ */
+@Entity
+@Table(name = "p_entity_snapshot")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EntitySnapshot {
+
+  @Id
+  @Column(name = "id", nullable = false)
+  private UUID entitySnapshotId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "entity_type", nullable = false, length = 30)
+  private EntityType entityType;
+
+  @Column(name = "entity_id", nullable = false, length = 64)
+  private String entityId;
+
+  @Column(name = "status", length = 50)
+  private String status;
+
+  @Column(name = "attribute")
+  private String attribute;
+
+  @Column(name = "last_actor_user_id")
+  private UUID lastActorUserId;
+
+  @Column(name = "last_event_id")
+  private UUID lastEventId;
+
+  @Column(name = "first_occurred_at")
+  private LocalDateTime firstOccurredAt;
+
+  @Column(name = "as_of", nullable = false)
+  private LocalDateTime asOf;
+
+  @Column(name = "event_count", nullable = false)
+  private long eventCount;
+
+  public static EntitySnapshot of(EntityType entityType, String entityId, EntityStateData data) {
+    EntitySnapshot snapshot = new EntitySnapshot();
+    snapshot.entitySnapshotId = UUID.randomUUID();
+    snapshot.entityType = entityType;
+    snapshot.entityId = entityId;
+    snapshot.status = data.status();
+    snapshot.attribute = data.attribute();
+    snapshot.lastActorUserId = data.lastActorUserId();
+    snapshot.lastEventId = data.lastEventId();
+    snapshot.firstOccurredAt = data.firstOccurredAt();
+    snapshot.asOf = data.lastOccurredAt();
+    snapshot.eventCount = data.eventCount();
+    return snapshot;
+  }
+
+  public EntityStateData toData() {
+    return new EntityStateData(
+        status, attribute, lastActorUserId, lastEventId, firstOccurredAt, asOf, eventCount);
+  }
+}
@@ -0,0 +1,88 @@
+package com.tickatch.logservice.projection.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** 엔티티별 현재 상태 프로젝션. 이벤트가 도착할 때마다 증분 갱신된다. */
+@Entity
+@Table(name = "p_entity_state")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class EntityState {
+
+  @Id
+  @Column(name = "id", nullable = false, length = 100)
+  private String entityStateId; // {entity_type}:{entity_id}
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "entity_type", nullable = false, length = 30)
+  private EntityType entityType;
+
+  @Column(name = "entity_id", nullable = false, length = 64)
+  private String entityId;
+
+  @Column(name = "status", length = 50)
+  private String status;
+
+  @Column(name = "attribute")
+  private String attribute;
+
+  @Column(name = "last_actor_user_id")
+  private UUID lastActorUserId;
+
+  @Column(name = "last_event_id")
+  private UUID lastEventId;
+
+  @Column(name = "first_occurred_at")
+  private LocalDateTime firstOccurredAt;
+
+  @Column(name = "last_occurred_at")
+  private LocalDateTime lastOccurredAt;
+
+  @Column(name = "event_count", nullable = false)
+  private long eventCount;
+
+  /** 아직 이벤트가 반영되지 않은 빈 상태. {@code insertIfAbsent}가 만드는 행과 같다. */
+  public static EntityState empty(EntityType entityType, String entityId) {
+    EntityState state = new EntityState();
+    state.entityStateId = idOf(entityType, entityId);
+    state.entityType = entityType;
+    state.entityId = entityId;
+    return state;
+  }
+
+  public static String idOf(EntityType entityType, String entityId) {
+    return entityType.name() + ":" + entityId;
+  }
+
+  public EntityStateData toData() {
+    return new EntityStateData(
+        status,
+        attribute,
+        lastActorUserId,
+        lastEventId,
+        firstOccurredAt,
+        lastOccurredAt,
+        eventCount);
+  }
+
+  public void apply(ProjectionEvent event) {
+    EntityStateData next = toData().apply(event);
+    this.status = next.status();
+    this.attribute = next.attribute();
+    this.lastActorUserId = next.lastActorUserId();
+    this.lastEventId = next.lastEventId();
+    this.firstOccurredAt = next.firstOccurredAt();
+    this.lastOccurredAt = next.lastOccurredAt();
+    this.eventCount = next.eventCount();
+  }
+}
@@ -0,0 +1,66 @@
+package com.tickatch.logservice.projection.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 이벤트를 접어(fold) 만든 엔티티 상태.
+ *
+ * <p>상태(status)는 (발생 시각, 이벤트 ID) 순서로 가장 늦은 이벤트의 action_type이다. 재생 조회도 같은 순서로 읽으므로 발생 시각이
+ * 같은 이벤트도 도착 순서와 무관하게 같은 이벤트가 이긴다. 늦게 도착한 과거 이벤트는 건수와 최초 시각에만 반영된다.
+ *
+ * @since 1.0.0
+ */
+public record EntityStateData(
+    String status,
+    String attribute,
+    UUID lastActorUserId,
+    UUID lastEventId,
+    LocalDateTime firstOccurredAt,
+    LocalDateTime lastOccurredAt,
+    long eventCount) {
+
+  public static final EntityStateData EMPTY =
+      new EntityStateData(null, null, null, null, null, null, 0);
+
+  public EntityStateData apply(ProjectionEvent event) {
+    LocalDateTime occurredAt = event.occurredAt();
+    LocalDateTime first =
+        firstOccurredAt == null || occurredAt.isBefore(firstOccurredAt)
+            ? occurredAt
+            : firstOccurredAt;
+
+    if (!supersededBy(event)) {
+      return new EntityStateData(
+          status, attribute, lastActorUserId, lastEventId, first, lastOccurredAt, eventCount + 1);
+    }
+
+    return new EntityStateData(
+        event.actionType(),
+        event.attribute() != null ? event.attribute() : attribute,
+        event.actorUserId(),
+        event.eventId(),
+        first,
+        occurredAt,
+        eventCount + 1);
+  }
+
+  /** {@code event}가 현재 마지막 이벤트보다 (발생 시각, 이벤트 ID) 순서로 뒤인지 여부. */
+  public boolean supersededBy(ProjectionEvent event) {
+    return lastOccurredAt == null
+        || compare(event.occurredAt(), event.eventId(), lastOccurredAt, lastEventId) > 0;
+  }
+
+  /** 로그 테이블의 {@code ORDER BY occurred_at, id}와 같은 순서. UUID는 PostgreSQL처럼 부호 없는 바이트 순으로 비교한다. */
+  static int compare(LocalDateTime at, UUID id, LocalDateTime otherAt, UUID otherId) {
+    int byTime = at.compareTo(otherAt);
+    if (byTime != 0 || id == null || otherId == null) {
+      return byTime;
+    }
+    int byHigh =
+        Long.compareUnsigned(id.getMostSignificantBits(), otherId.getMostSignificantBits());
+    return byHigh != 0
+        ? byHigh
+        : Long.compareUnsigned(id.getLeastSignificantBits(), otherId.getLeastSignificantBits());
+  }
+}
@@ -0,0 +1,33 @@
+package com.tickatch.logservice.projection.domain;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 상태 프로젝션 대상 엔티티 종류.
+ *
+ * <p>각 엔티티는 자신의 로그 테이블만으로 상태를 재구성한다 (결제/티켓 이벤트에는 예매 ID가 없어 엔티티 간 결합은 하지 않는다).
+ *
+ * @since 1.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EntityType {
+  RESERVATION(LogDomain.RESERVATION, "reservation_id", "reservation_number", UUID::fromString),
+  RESERVATION_SEAT(LogDomain.RESERVATION_SEAT, "reservation_seat_id", "seat_number", Long::valueOf),
+  PAYMENT(LogDomain.PAYMENT, "payment_id", "method", UUID::fromString),
+  TICKET(LogDomain.TICKET, "ticket_id", "receive_method", UUID::fromString);
+
+  private final LogDomain logDomain;
+  private final String entityIdColumn;
+  private final String attributeColumn;
+  private final Function<String, Object> idParser;
+
+  /** 로그 테이블 컬럼 타입에 맞게 엔티티 ID를 변환한다. */
+  public Object parseId(String entityId) {
+    return idParser.apply(entityId);
+  }
+}
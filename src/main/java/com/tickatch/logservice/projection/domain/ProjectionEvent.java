@@ -0,0 +1,37 @@
+package com.tickatch.logservice.projection.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 프로젝션에 반영할 로그 이벤트.
+ *
+ * @param attribute 엔티티별 부가 속성 (예매 번호, 좌석 번호, 결제 수단, 수령 방법)
+ */
+public record ProjectionEvent(
+    EntityType entityType,
+    String entityId,
+    UUID eventId,
+    String actionType,
+    UUID actorUserId,
+    String attribute,
+    LocalDateTime occurredAt) {
+
+  public static ProjectionEvent of(
+      EntityType entityType,
+      Object entityId,
+      UUID eventId,
+      String actionType,
+      UUID actorUserId,
+      String attribute,
+      LocalDateTime occurredAt) {
+    return new ProjectionEvent(
+        entityType,
+        String.valueOf(entityId),
+        eventId,
+        actionType,
+        actorUserId,
+        attribute,
+        occurredAt);
+  }
+}
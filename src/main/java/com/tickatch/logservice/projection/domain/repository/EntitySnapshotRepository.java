@@ -0,0 +1,27 @@
+package com.tickatch.logservice.projection.domain.repository;
+
+import com.tickatch.logservice.projection.domain.EntitySnapshot;
+import com.tickatch.logservice.projection.domain.EntityType;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface EntitySnapshotRepository extends JpaRepository<EntitySnapshot, UUID> {
+
+  Optional<EntitySnapshot> findFirstByEntityTypeAndEntityIdAndAsOfLessThanEqualOrderByAsOfDesc(
+      EntityType entityType, String entityId, LocalDateTime asOf);
+
+  /** 스냅샷 시점 이전에 발생한 이벤트가 늦게 도착하면 그 이후 스냅샷은 더 이상 정확하지 않다. */
+  @Modifying
+  @Query(
+      "delete from EntitySnapshot s where s.entityType = :entityType"
+          + " and s.entityId = :entityId and s.asOf >= :occurredAt")
+  int deleteInvalidated(
+      @Param("entityType") EntityType entityType,
+      @Param("entityId") String entityId,
+      @Param("occurredAt") LocalDateTime occurredAt);
+}
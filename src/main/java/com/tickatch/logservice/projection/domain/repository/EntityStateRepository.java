@@ -0,0 +1,29 @@
+package com.tickatch.logservice.projection.domain.repository;
+
+import com.tickatch.logservice.projection.domain.EntityState;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface EntityStateRepository extends JpaRepository<EntityState, String> {
+
+  /** 동시 최초 이벤트에서도 PK 충돌 없이 빈 상태 행을 만든다. */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO p_entity_state (id, entity_type, entity_id, event_count)"
+              + " VALUES (:id, :entityType, :entityId, 0) ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(
+      @Param("id") String id,
+      @Param("entityType") String entityType,
+      @Param("entityId") String entityId);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from EntityState s where s.entityStateId = :id")
+  Optional<EntityState> findForUpdate(@Param("id") String id);
+}
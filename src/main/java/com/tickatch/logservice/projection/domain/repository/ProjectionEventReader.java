@@ -0,0 +1,25 @@
+package com.tickatch.logservice.projection.domain.repository;
+
+import com.tickatch.logservice.projection.domain.EntityType;
+import com.tickatch.logservice.projection.domain.ProjectionEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/** 시점 조회 재생을 위해 원본 로그 테이블에서 엔티티 이벤트를 읽는다. */
+public interface ProjectionEventReader {
+
+  /**
+   * (발생 시각, 이벤트 ID) 순으로 이벤트를 읽는다.
+   *
+   * @param after 이 위치 이후(미포함) 이벤트만 읽는다. {@code null}이면 처음부터
+   * @param afterEventId {@code after} 시각의 마지막 이벤트 ID. {@code null}이면 그 시각 전체를 건너뛴다
+   * @param until 이 시각까지(포함)
+   */
+  List<ProjectionEvent> read(
+      EntityType entityType,
+      String entityId,
+      LocalDateTime after,
+      UUID afterEventId,
+      LocalDateTime until);
+}
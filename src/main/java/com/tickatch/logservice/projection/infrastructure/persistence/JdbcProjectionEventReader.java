@@ -0,0 +1,64 @@
+package com.tickatch.logservice.projection.infrastructure.persistence;
+
+import com.tickatch.logservice.projection.domain.EntityType;
+import com.tickatch.logservice.projection.domain.ProjectionEvent;
+import com.tickatch.logservice.projection.domain.repository.ProjectionEventReader;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/** 엔티티 종류별 로그 테이블을 (entity_id, occurred_at) 인덱스로 범위 조회한다. */
+@Repository
+@RequiredArgsConstructor
+public class JdbcProjectionEventReader implements ProjectionEventReader {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public List<ProjectionEvent> read(
+      EntityType entityType,
+      String entityId,
+      LocalDateTime after,
+      UUID afterEventId,
+      LocalDateTime until) {
+    StringBuilder sql =
+        new StringBuilder("SELECT id, action_type, actor_user_id, ")
+            .append(entityType.getAttributeColumn())
+            .append(" AS attribute, occurred_at FROM ")
+            .append(entityType.getLogDomain().getTable())
+            .append(" WHERE ")
+            .append(entityType.getEntityIdColumn())
+            .append(" = ? AND occurred_at <= ?");
+
+    List<Object> args = new ArrayList<>();
+    args.add(entityType.parseId(entityId));
+    args.add(Timestamp.valueOf(until));
+    if (after != null && afterEventId != null) {
+      sql.append(" AND (occurred_at, id) > (?, ?)");
+      args.add(Timestamp.valueOf(after));
+      args.add(afterEventId);
+    } else if (after != null) {
+      sql.append(" AND occurred_at > ?");
+      args.add(Timestamp.valueOf(after));
+    }
+    sql.append(" ORDER BY occurred_at, id");
+
+    return jdbcTemplate.query(
+        sql.toString(),
+        (rs, rowNum) ->
+            new ProjectionEvent(
+                entityType,
+                entityId,
+                rs.getObject("id", UUID.class),
+                rs.getString("action_type"),
+                rs.getObject("actor_user_id", UUID.class),
+                rs.getString("attribute"),
+                rs.getTimestamp("occurred_at").toLocalDateTime()),
+        args.toArray());
+  }
+}
@@ -0,0 +1,35 @@
+package com.tickatch.logservice.projection.presentation;
+
+import com.tickatch.logservice.projection.application.ProjectionQueryService;
+import com.tickatch.logservice.projection.application.dto.EntityStateResponse;
+import com.tickatch.logservice.projection.domain.EntityType;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/projections")
+@RequiredArgsConstructor
+public class ProjectionController {
+
+  private final ProjectionQueryService projectionQueryService;
+
+  /** {@code asOf}가 없으면 현재 상태, 있으면 해당 시점의 상태를 반환한다. */
+  @GetMapping("/{entityType}/{entityId}")
+  public ResponseEntity<EntityStateResponse> getState(
+      @PathVariable EntityType entityType,
+      @PathVariable String entityId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime asOf) {
+    return ResponseEntity.of(
+        asOf == null
+            ? projectionQueryService.getCurrent(entityType, entityId)
+            : projectionQueryService.getAsOf(entityType, entityId, asOf));
+  }
+}
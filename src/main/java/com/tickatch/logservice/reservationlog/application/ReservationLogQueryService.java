@@ -0,0 +1,29 @@
+package com.tickatch.logservice.reservationlog.application;
+
+import com.tickatch.logservice.global.config.cache.CacheNames;
+import com.tickatch.logservice.reservationlog.application.dto.ReservationLogResponse;
+import com.tickatch.logservice.reservationlog.domain.repository.ReservationLogRepository;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReservationLogQueryService {
+
+  private final ReservationLogRepository reservationLogRepository;
+
+  /** 예매 ID 기준 이력을 발생 시각 순으로 조회한다. 새 이벤트 저장 시 Consumer가 캐시를 무효화한다. */
+  @Cacheable(cacheNames = CacheNames.RESERVATION_LOG_TIMELINE, key = "#reservationId", sync = true)
+  public List<ReservationLogResponse> getTimeline(UUID reservationId) {
+    return reservationLogRepository
+        .findAllByReservationIdOrderByOccurredAtAsc(reservationId)
+        .stream()
+        .map(ReservationLogResponse::from)
+        .toList();
+  }
+}
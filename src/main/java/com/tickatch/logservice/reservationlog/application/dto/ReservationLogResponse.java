@@ -0,0 +1,26 @@
+package com.tickatch.logservice.reservationlog.application.dto;
+
+import com.tickatch.logservice.reservationlog.domain.ReservationLog;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ReservationLogResponse(
+    UUID reservationLogId,
+    UUID reservationId,
+    String reservationNumber,
+    String actionType,
+    String actorType,
+    UUID actorUserId,
+    LocalDateTime occurredAt) {
+
+  public static ReservationLogResponse from(ReservationLog log) {
+    return new ReservationLogResponse(
+        log.getReservationLogId(),
+        log.getReservationId(),
+        log.getReservationNumber(),
+        log.getActionType(),
+        log.getActorType(),
+        log.getActorUserId(),
+        log.getOccurredAt());
+  }
+}
@@ -9,6 +9,8 @@ import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Entity
 @Table(name = "p_reservation_log")
@@ -38,6 +40,15 @@ public class ReservationLog {
   @Column(name = "occurred_at", nullable = false)
   private LocalDateTime occurredAt;
 
+  // 현재 이벤트 스키마에 없는 필드 (발행 서비스가 추가한 값을 스키마 갱신 전까지 보존)
+  @JdbcTypeCode(SqlTypes.JSON)
+  @Column(name = "overflow")
+  private String overflow;
+
+  // 이벤트를 발생시킨 요청의 trace ID (발행 쪽 전파 헤더가 없으면 null)
+  @Column(name = "trace_id")
+  private UUID traceId;
+
   public static ReservationLog create(
       UUID reservationLogId,
       UUID reservationId,
@@ -45,7 +56,9 @@ public class ReservationLog {
       String actionType,
       String actorType,
       UUID actorUserId,
-      LocalDateTime occurredAt) {
+      LocalDateTime occurredAt,
+      String overflow,
+      UUID traceId) {
 
     ReservationLog log = new ReservationLog();
     log.reservationLogId = reservationLogId;
@@ -55,6 +68,8 @@ public class ReservationLog {
     log.actorType = actorType;
     log.actorUserId = actorUserId;
     log.occurredAt = occurredAt;
+    log.overflow = overflow;
+    log.traceId = traceId;
     return log;
   }
 }
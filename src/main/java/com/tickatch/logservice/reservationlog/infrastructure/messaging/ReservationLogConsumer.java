@@ -1,12 +1,27 @@
 package com.tickatch.logservice.reservationlog.infrastructure.messaging;
 
+import com.tickatch.logservice.global.cache.LogCacheInvalidator;
+import com.tickatch.logservice.global.config.cache.CacheNames;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
 import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.eventtime.EventTimeProcessor;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.fidelity.FidelityPolicy;
+import com.tickatch.logservice.global.schema.EventSchemaHeaders;
+import com.tickatch.logservice.global.tracing.TraceContextHeaders;
+import com.tickatch.logservice.logsearch.application.RecentIdentifierCache;
+import com.tickatch.logservice.logsearch.domain.IdentifierType;
+import com.tickatch.logservice.projection.application.ProjectionService;
+import com.tickatch.logservice.projection.domain.EntityType;
+import com.tickatch.logservice.projection.domain.ProjectionEvent;
 import com.tickatch.logservice.reservationlog.domain.ReservationLog;
 import com.tickatch.logservice.reservationlog.domain.event.ReservationEvent;
 import com.tickatch.logservice.reservationlog.domain.repository.ReservationLogRepository;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,15 +31,29 @@ import org.springframework.transaction.annotation.Transactional;
 public class ReservationLogConsumer {
 
   private final ReservationLogRepository reservationLogRepository;
+  private final LogCacheInvalidator logCacheInvalidator;
+  private final EventTimeProcessor eventTimeProcessor;
+  private final RecentIdentifierCache recentIdentifierCache;
+  private final FidelityPolicy fidelityPolicy;
+  private final ProjectionService projectionService;
 
   @RabbitListener(
+      id = RabbitMQConfig.LISTENER_RESERVATION_LOG,
       queues = RabbitMQConfig.QUEUE_RESERVATION_LOG,
-      containerFactory = "rabbitListenerContainerFactory")
+      containerFactory = "rabbitListenerContainerFactory",
+      autoStartup = RabbitMQConfig.CONSUMER_AUTO_STARTUP)
   @Transactional
-  public void consume(ReservationEvent event) {
-    try {
-      log.debug("Consuming reservation log: {}", event);
+  public void consume(
+      ReservationEvent event,
+      @Header(name = EventSchemaHeaders.OVERFLOW, required = false) String overflow,
+      @Header(name = TraceContextHeaders.TRACE_ID, required = false) UUID traceId) {
+    log.debug("Consuming reservation log: eventId={}", event.eventId());
 
+    // 저장 수준 정책은 행 저장 여부만 정한다. 저장하지 않는 이벤트도 재전달만 거르고 집계에는 반영한다
+    FidelityPolicy.Outcome outcome =
+        fidelityPolicy.admit(
+            LogDomain.RESERVATION, event.eventId(), event.reservationId(), event.actionType());
+    if (outcome.stored()) {
       ReservationLog log =
           ReservationLog.create(
               event.eventId(),
@@ -33,13 +62,40 @@ public class ReservationLogConsumer {
               event.actionType(),
               event.actorType(),
               event.actorUserId(),
-              event.occurredAt());
-
-      reservationLogRepository.save(log);
-
-    } catch (Exception e) {
-      log.error("Failed to save reservation log: {}", event, e);
-      throw e; // DLQ로 전송
+              event.occurredAt(),
+              overflow,
+              traceId);
+      if (reservationLogRepository.insertIfAbsent(log) == 0) {
+        return; // 재전달: 이미 저장하고 집계했다
+      }
+      recentIdentifierCache.recordAfterCommit(
+          IdentifierType.RESERVATION_NUMBER, event.reservationNumber(), event.reservationId());
+    } else if (!fidelityPolicy.acceptUnstored(
+        outcome,
+        LogDomain.RESERVATION,
+        event.eventId(),
+        event.actionType(),
+        event.occurredAt())) {
+      return; // 재전달: 이미 집계했다
     }
+
+    projectionService.apply(
+        ProjectionEvent.of(
+            EntityType.RESERVATION,
+            event.reservationId(),
+            event.eventId(),
+            event.actionType(),
+            event.actorUserId(),
+            event.reservationNumber(),
+            event.occurredAt()));
+    eventTimeProcessor.onAccepted(
+        LogDomain.RESERVATION,
+        event.eventId(),
+        event.occurredAt(),
+        new LogEventFields(
+            event.reservationId(), event.actionType(), event.actorUserId(), overflow),
+        event);
+    logCacheInvalidator.evictAfterCommit(
+        CacheNames.RESERVATION_LOG_TIMELINE, event.reservationId());
   }
 }
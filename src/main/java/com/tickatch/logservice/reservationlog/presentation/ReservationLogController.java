@@ -0,0 +1,24 @@
+package com.tickatch.logservice.reservationlog.presentation;
+
+import com.tickatch.logservice.reservationlog.application.ReservationLogQueryService;
+import com.tickatch.logservice.reservationlog.application.dto.ReservationLogResponse;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/logs/reservations")
+@RequiredArgsConstructor
+public class ReservationLogController {
+
+  private final ReservationLogQueryService reservationLogQueryService;
+
+  @GetMapping("/{reservationId}")
+  public List<ReservationLogResponse> getTimeline(@PathVariable UUID reservationId) {
+    return reservationLogQueryService.getTimeline(reservationId);
+  }
+}
@@ -0,0 +1,70 @@
+package com.tickatch.logservice.reservationseatlog.infrastructure.messaging;
+
+import com.rabbitmq.client.Channel;
+import com.tickatch.logservice.global.buffer.AckHandle;
+import com.tickatch.logservice.global.config.buffer.WriteBufferConfig;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.fidelity.FidelityPolicy;
+import com.tickatch.logservice.global.schema.EventSchemaHeaders;
+import com.tickatch.logservice.global.tracing.TraceContextHeaders;
+import com.tickatch.logservice.global.tracing.TraceParent;
+import com.tickatch.logservice.reservationseatlog.domain.event.ReservationSeatEvent;
+import com.tickatch.logservice.reservationseatlog.infrastructure.persistence.ReservationSeatLogWriteBuffer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+
+/**
+ * 오프힙 쓰기 버퍼 모드의 예매 좌석 로그 Consumer.
+ *
+ * <p>{@code log.write-buffer.enabled=true}이면 {@link ReservationSeatLogConsumer} 대신 등록된다. 메시지는 버퍼에
+ * 적재만 하고, ack는 배치 커밋 후 flush 스레드가 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "log.write-buffer.enabled", havingValue = "true")
+public class BufferedReservationSeatLogConsumer {
+
+  private final ReservationSeatLogWriteBuffer writeBuffer;
+  private final FidelityPolicy fidelityPolicy;
+
+  @RabbitListener(
+      id = RabbitMQConfig.LISTENER_RESERVATION_SEAT_LOG,
+      queues = RabbitMQConfig.QUEUE_RESERVATION_SEAT_LOG,
+      containerFactory = WriteBufferConfig.BUFFERED_CONTAINER_FACTORY,
+      autoStartup = RabbitMQConfig.CONSUMER_AUTO_STARTUP)
+  public void consume(
+      ReservationSeatEvent event,
+      @Header(name = EventSchemaHeaders.OVERFLOW, required = false) String overflow,
+      @Header(name = TraceContextHeaders.PARENT, required = false) TraceParent parent,
+      Channel channel,
+      @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) {
+    log.debug("Buffering reservation seat log: eventId={}", event.eventId());
+
+    AckHandle ackHandle = new AckHandle(channel, deliveryTag);
+    FidelityPolicy.Outcome outcome =
+        fidelityPolicy.admit(
+            LogDomain.RESERVATION_SEAT,
+            event.eventId(),
+            event.reservationSeatId(),
+            event.actionType());
+    if (!outcome.stored()) {
+      // 저장하지 않는 이벤트는 재전달을 거른 뒤 집계에만 반영
+      writeBuffer.aggregateOnly(event, overflow, outcome, ackHandle);
+      return;
+    }
+
+    try {
+      writeBuffer.enqueue(event, overflow, parent, ackHandle);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      ackHandle.requeue(); // 종료 중: DLQ 대신 큐로 되돌린다
+    }
+  }
+}
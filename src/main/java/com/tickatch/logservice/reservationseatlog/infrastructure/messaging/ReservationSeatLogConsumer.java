@@ -1,30 +1,64 @@
 package com.tickatch.logservice.reservationseatlog.infrastructure.messaging;
 
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
 import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.eventtime.EventTimeProcessor;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.fidelity.FidelityPolicy;
+import com.tickatch.logservice.global.schema.EventSchemaHeaders;
+import com.tickatch.logservice.global.tracing.TraceContextHeaders;
+import com.tickatch.logservice.logsearch.application.RecentIdentifierCache;
+import com.tickatch.logservice.logsearch.domain.IdentifierType;
+import com.tickatch.logservice.projection.application.ProjectionService;
+import com.tickatch.logservice.projection.domain.EntityType;
+import com.tickatch.logservice.projection.domain.ProjectionEvent;
 import com.tickatch.logservice.reservationseatlog.domain.ReservationSeatLog;
 import com.tickatch.logservice.reservationseatlog.domain.event.ReservationSeatEvent;
 import com.tickatch.logservice.reservationseatlog.domain.repository.ReservationSeatLogRepository;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(
+    name = "log.write-buffer.enabled",
+    havingValue = "false",
+    matchIfMissing = true)
 public class ReservationSeatLogConsumer {
 
   private final ReservationSeatLogRepository reservationSeatLogRepository;
+  private final EventTimeProcessor eventTimeProcessor;
+  private final RecentIdentifierCache recentIdentifierCache;
+  private final FidelityPolicy fidelityPolicy;
+  private final ProjectionService projectionService;
 
   @RabbitListener(
+      id = RabbitMQConfig.LISTENER_RESERVATION_SEAT_LOG,
       queues = RabbitMQConfig.QUEUE_RESERVATION_SEAT_LOG,
-      containerFactory = "rabbitListenerContainerFactory")
+      containerFactory = "rabbitListenerContainerFactory",
+      autoStartup = RabbitMQConfig.CONSUMER_AUTO_STARTUP)
   @Transactional
-  public void consume(ReservationSeatEvent event) {
-    try {
-      log.debug("Consuming reservation seat log: {}", event);
+  public void consume(
+      ReservationSeatEvent event,
+      @Header(name = EventSchemaHeaders.OVERFLOW, required = false) String overflow,
+      @Header(name = TraceContextHeaders.TRACE_ID, required = false) UUID traceId) {
+    log.debug("Consuming reservation seat log: eventId={}", event.eventId());
 
+    // 저장 수준 정책은 행 저장 여부만 정한다. 저장하지 않는 이벤트도 재전달만 거르고 집계에는 반영한다
+    FidelityPolicy.Outcome outcome =
+        fidelityPolicy.admit(
+            LogDomain.RESERVATION_SEAT,
+            event.eventId(),
+            event.reservationSeatId(),
+            event.actionType());
+    if (outcome.stored()) {
       ReservationSeatLog log =
           ReservationSeatLog.create(
               event.eventId(),
@@ -33,13 +67,38 @@ public class ReservationSeatLogConsumer {
               event.actionType(),
               event.actorType(),
               event.actorUserId(),
-              event.occurredAt());
-
-      reservationSeatLogRepository.save(log);
-
-    } catch (Exception e) {
-      log.error("Failed to save reservation seat log: {}", event, e);
-      throw e; // DLQ로 전송되도록
+              event.occurredAt(),
+              overflow,
+              traceId);
+      if (reservationSeatLogRepository.insertIfAbsent(log) == 0) {
+        return; // 재전달: 이미 저장하고 집계했다
+      }
+      recentIdentifierCache.recordAfterCommit(
+          IdentifierType.SEAT_NUMBER, event.seatNumber(), event.reservationSeatId());
+    } else if (!fidelityPolicy.acceptUnstored(
+        outcome,
+        LogDomain.RESERVATION_SEAT,
+        event.eventId(),
+        event.actionType(),
+        event.occurredAt())) {
+      return; // 재전달: 이미 집계했다
     }
+
+    projectionService.apply(
+        ProjectionEvent.of(
+            EntityType.RESERVATION_SEAT,
+            event.reservationSeatId(),
+            event.eventId(),
+            event.actionType(),
+            event.actorUserId(),
+            event.seatNumber(),
+            event.occurredAt()));
+    eventTimeProcessor.onAccepted(
+        LogDomain.RESERVATION_SEAT,
+        event.eventId(),
+        event.occurredAt(),
+        new LogEventFields(
+            event.reservationSeatId(), event.actionType(), event.actorUserId(), overflow),
+        event);
   }
 }
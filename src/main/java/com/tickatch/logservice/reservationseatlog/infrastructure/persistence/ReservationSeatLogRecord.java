@@ -0,0 +1,83 @@
+package com.tickatch.logservice.reservationseatlog.infrastructure.persistence;
+
+import com.tickatch.logservice.global.buffer.RecordCodec;
+import com.tickatch.logservice.global.tracing.TraceParent;
+import com.tickatch.logservice.reservationseatlog.domain.event.ReservationSeatEvent;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 예매 좌석 로그의 버퍼 슬롯 레이아웃.
+ *
+ * <p>eventId(UUID) | reservationSeatId(long) | occurredAt(micros) | actorUserId(UUID) |
+ * traceId(UUID) | parentSpanId(long) | seatNumber | actionType | actorType | overflow
+ *
+ * @since 1.0.0
+ */
+final class ReservationSeatLogRecord {
+
+  /** trace 필드의 시작 위치 (고정 길이 필드 뒤). */
+  private static final int TRACE_OFFSET = 17 + 8 + 8 + 17;
+
+  /** traceId(UUID) + parentSpanId(long). */
+  private static final int TRACE_BYTES = 17 + 8;
+
+  private ReservationSeatLogRecord() {}
+
+  static void write(
+      ByteBuffer slot, ReservationSeatEvent event, String overflow, TraceParent parent) {
+    RecordCodec.putUuid(slot, event.eventId());
+    slot.putLong(event.reservationSeatId());
+    RecordCodec.putTime(slot, event.occurredAt());
+    RecordCodec.putUuid(slot, event.actorUserId());
+    RecordCodec.putUuid(slot, parent == null ? null : parent.traceId());
+    slot.putLong(parent == null ? 0 : parent.spanId());
+    RecordCodec.putString(slot, event.seatNumber());
+    RecordCodec.putString(slot, event.actionType());
+    RecordCodec.putString(slot, event.actorType());
+    RecordCodec.putString(slot, overflow);
+  }
+
+  /** 슬롯을 읽으며 INSERT 파라미터를 바로 바인딩한다 (이벤트 객체를 만들지 않는다). */
+  static void bind(PreparedStatement ps, ByteBuffer slot) throws SQLException {
+    ps.setObject(1, RecordCodec.getUuid(slot));
+    ps.setLong(2, slot.getLong());
+    ps.setTimestamp(7, Timestamp.valueOf(RecordCodec.getTime(slot)));
+    ps.setObject(6, RecordCodec.getUuid(slot));
+    ps.setObject(9, RecordCodec.getUuid(slot));
+    slot.getLong(); // parentSpanId: 배치 span 링크에만 쓴다
+    ps.setString(3, RecordCodec.getString(slot));
+    ps.setString(4, RecordCodec.getString(slot));
+    ps.setString(5, RecordCodec.getString(slot));
+    ps.setString(8, RecordCodec.getString(slot));
+  }
+
+  static ReservationSeatEvent read(ByteBuffer slot) {
+    UUID eventId = RecordCodec.getUuid(slot);
+    long reservationSeatId = slot.getLong();
+    LocalDateTime occurredAt = RecordCodec.getTime(slot);
+    UUID actorUserId = RecordCodec.getUuid(slot);
+    slot.position(slot.position() + TRACE_BYTES);
+    String seatNumber = RecordCodec.getString(slot);
+    String actionType = RecordCodec.getString(slot);
+    String actorType = RecordCodec.getString(slot);
+    return new ReservationSeatEvent(
+        eventId, reservationSeatId, seatNumber, actionType, actorType, actorUserId, occurredAt);
+  }
+
+  /** {@link #read}로 이벤트를 읽은 슬롯에서 이어서 overflow를 읽는다. */
+  static String readOverflow(ByteBuffer slot) {
+    return RecordCodec.getString(slot);
+  }
+
+  /** 슬롯의 발행 쪽 trace 컨텍스트. 읽기 위치와 무관하게 고정 위치에서 읽는다. 없으면 {@code null}. */
+  static TraceParent readParent(ByteBuffer slot) {
+    UUID traceId = RecordCodec.getUuid(slot.position(TRACE_OFFSET));
+    long spanId = slot.getLong();
+    return traceId == null ? null : new TraceParent(traceId, spanId);
+  }
+}
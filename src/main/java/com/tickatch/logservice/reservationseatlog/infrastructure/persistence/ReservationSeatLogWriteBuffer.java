@@ -0,0 +1,446 @@
+package com.tickatch.logservice.reservationseatlog.infrastructure.persistence;
+
+import com.tickatch.logservice.global.buffer.AckHandle;
+import com.tickatch.logservice.global.buffer.GcImpactMetrics;
+import com.tickatch.logservice.global.buffer.OffHeapRecordBuffer;
+import com.tickatch.logservice.global.buffer.WriteBufferProperties;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.dbhealth.DbHealthBreaker;
+import com.tickatch.logservice.global.eventtime.EventTimeProcessor;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.fidelity.FidelityPolicy;
+import com.tickatch.logservice.global.lifecycle.FlushableWriteBuffer;
+import com.tickatch.logservice.global.logging.FailureLogLimiter;
+import com.tickatch.logservice.global.profiling.IngestBatchEvent;
+import com.tickatch.logservice.global.tracing.TraceParent;
+import com.tickatch.logservice.logsearch.application.RecentIdentifierCache;
+import com.tickatch.logservice.logsearch.domain.IdentifierType;
+import com.tickatch.logservice.projection.application.ProjectionService;
+import com.tickatch.logservice.projection.domain.EntityType;
+import com.tickatch.logservice.projection.domain.ProjectionEvent;
+import com.tickatch.logservice.reservationseatlog.domain.event.ReservationSeatEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Link;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import jakarta.annotation.PreDestroy;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 예매 좌석 로그 오프힙 쓰기 버퍼.
+ *
+ * <p>리스너는 디코딩한 이벤트를 고정 레이아웃 바이트로 슬롯에 적재만 하고 반환한다. flush 스레드가 슬롯을 직접 읽어 JDBC 배치 INSERT를 만들고,
+ * 커밋 후에 메시지를 ack한다. 커밋 전에 프로세스가 죽으면 ack되지 않은 메시지가 재전달되고, {@code ON CONFLICT DO NOTHING}으로 중복 저장과
+ * 후속 처리(프로젝션 등) 중복이 걸러진다. DB 연결 불가나 타임아웃으로 실패한 메시지는 DLQ 대신 재큐잉하고, 배치 저장 시간은 DB 상태 차단기에
+ * 알린다.
+ *
+ * <p>메트릭: {@code log.write-buffer.occupancy}, {@code log.write-buffer.backpressure.wait}, {@code
+ * log.write-buffer.batch.size}, {@code log.write-buffer.bytes.written} (힙 대신 다이렉트 메모리에 기록된 바이트).
+ * GC 영향은 {@link GcImpactMetrics}가 {@code log.write-buffer.gc.pause}와 {@code
+ * log.write-buffer.heap.allocated}로 남긴다.
+ *
+ * <p>배치 INSERT는 {@code reservation-seat-log.batch} span 하나로 기록한다. span의 부모는 하나뿐이므로 배치에 담긴 메시지의 발행
+ * 쪽 span은 링크로 건다. 느린 요청 trace에서 그 요청이 만든 로그가 어느 배치로 저장되었는지 따라갈 수 있다.
+ * JFR recording 중에는 같은 구간을 {@link IngestBatchEvent}로도 남긴다.
+ *
+ * @since 1.0.0
+ */
+@Slf4j
+@Component
+@Order(FlushableWriteBuffer.PERSIST_ORDER)
+@ConditionalOnProperty(name = "log.write-buffer.enabled", havingValue = "true")
+public class ReservationSeatLogWriteBuffer implements FlushableWriteBuffer, SmartLifecycle {
+
+  private static final String INSERT_SQL =
+      "INSERT INTO "
+          + LogDomain.RESERVATION_SEAT.getTable()
+          + " (id, reservation_seat_id, seat_number, action_type, actor_type, actor_user_id,"
+          + " occurred_at, overflow, trace_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?::jsonb, ?)"
+          + " ON CONFLICT (id) DO NOTHING";
+
+  private final WriteBufferProperties properties;
+  private final OffHeapRecordBuffer buffer;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ProjectionService projectionService;
+  private final EventTimeProcessor eventTimeProcessor;
+  private final FidelityPolicy fidelityPolicy;
+  private final RecentIdentifierCache recentIdentifierCache;
+  private final FailureLogLimiter failureLogLimiter;
+  private final DbHealthBreaker dbHealthBreaker;
+  private final Tracer tracer;
+
+  private final Timer backpressureTimer;
+  private final DistributionSummary batchSizes;
+  private final Counter bytesWritten;
+  private final Counter directWrites;
+  private final GcImpactMetrics gcImpact;
+
+  private volatile boolean running;
+  private volatile Thread flusher;
+
+  public ReservationSeatLogWriteBuffer(
+      WriteBufferProperties properties,
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      ProjectionService projectionService,
+      EventTimeProcessor eventTimeProcessor,
+      FidelityPolicy fidelityPolicy,
+      RecentIdentifierCache recentIdentifierCache,
+      FailureLogLimiter failureLogLimiter,
+      DbHealthBreaker dbHealthBreaker,
+      ObjectProvider<Tracer> tracerProvider,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.buffer = new OffHeapRecordBuffer(properties.capacity(), properties.slotSize());
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.projectionService = projectionService;
+    this.eventTimeProcessor = eventTimeProcessor;
+    this.fidelityPolicy = fidelityPolicy;
+    this.recentIdentifierCache = recentIdentifierCache;
+    this.failureLogLimiter = failureLogLimiter;
+    this.dbHealthBreaker = dbHealthBreaker;
+    this.tracer = tracerProvider.getIfAvailable(() -> Tracer.NOOP);
+
+    String queue = LogDomain.RESERVATION_SEAT.getQueue();
+    Gauge.builder("log.write-buffer.occupancy", buffer, OffHeapRecordBuffer::size)
+        .tag("queue", queue)
+        .description("flush 대기 중인 레코드 수")
+        .register(meterRegistry);
+    Gauge.builder("log.write-buffer.capacity", buffer, OffHeapRecordBuffer::capacity)
+        .tag("queue", queue)
+        .register(meterRegistry);
+    Gauge.builder("log.write-buffer.direct.memory", buffer, OffHeapRecordBuffer::bytes)
+        .tag("queue", queue)
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    this.backpressureTimer =
+        Timer.builder("log.write-buffer.backpressure.wait")
+            .tag("queue", queue)
+            .description("버퍼가 가득 차 리스너가 대기한 시간")
+            .register(meterRegistry);
+    this.batchSizes =
+        DistributionSummary.builder("log.write-buffer.batch.size")
+            .tag("queue", queue)
+            .register(meterRegistry);
+    this.bytesWritten =
+        Counter.builder("log.write-buffer.bytes.written")
+            .tag("queue", queue)
+            .baseUnit("bytes")
+            .description("힙 객체 대신 버퍼에 기록된 바이트")
+            .register(meterRegistry);
+    this.directWrites =
+        Counter.builder("log.write-buffer.direct.writes")
+            .tag("queue", queue)
+            .description("슬롯 크기를 넘어 버퍼 없이 바로 저장한 레코드 수")
+            .register(meterRegistry);
+    this.gcImpact = new GcImpactMetrics(queue, buffer::size, meterRegistry);
+  }
+
+  /** 리스너 스레드에서 호출된다. 버퍼가 가득 차면 빈 슬롯이 생길 때까지 기다린다. */
+  public void enqueue(
+      ReservationSeatEvent event, String overflow, TraceParent parent, AckHandle ackHandle)
+      throws InterruptedException {
+    long allocatedBefore = gcImpact.allocatedBytes();
+    try {
+      long waitedNanos =
+          buffer.put(
+              slot -> {
+                ReservationSeatLogRecord.write(slot, event, overflow, parent);
+                bytesWritten.increment(slot.position());
+              },
+              ackHandle);
+      if (waitedNanos > 0) {
+        backpressureTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+      }
+      gcImpact.recordEnqueue(allocatedBefore);
+    } catch (BufferOverflowException e) {
+      directWrites.increment();
+      writeOne(event, overflow, parent, ackHandle);
+    }
+  }
+
+  /**
+   * 저장 수준 정책으로 행을 저장하지 않는 이벤트를 버퍼를 거치지 않고 프로젝션과 이벤트 시간 처리에만 반영한다. 리스너 스레드에서 호출된다.
+   * 재전달은 같은 트랜잭션에서 {@link FidelityPolicy#acceptUnstored}로 거른다.
+   */
+  public void aggregateOnly(
+      ReservationSeatEvent event,
+      String overflow,
+      FidelityPolicy.Outcome outcome,
+      AckHandle ackHandle) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            if (fidelityPolicy.acceptUnstored(
+                outcome,
+                LogDomain.RESERVATION_SEAT,
+                event.eventId(),
+                event.actionType(),
+                event.occurredAt())) {
+              aggregate(event, overflow);
+            }
+          });
+      ackHandle.ack();
+    } catch (Exception e) {
+      onWriteFailure(event, e, ackHandle);
+    }
+  }
+
+  @Override
+  public String name() {
+    return "reservation-seat-log";
+  }
+
+  @Override
+  public int pending() {
+    return buffer.size();
+  }
+
+  @Override
+  public void flush(Duration timeout) {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (buffer.size() > 0 && System.nanoTime() < deadline) {
+      try {
+        Thread.sleep(properties.linger().toMillis() + 1);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void start() {
+    running = true;
+    flusher = Thread.ofPlatform().name("reservation-seat-log-flusher").start(this::runFlusher);
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    Thread current = flusher;
+    if (current != null) {
+      try {
+        current.join(properties.linger().multipliedBy(10).toMillis() + 1_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  @PreDestroy
+  public void close() {
+    gcImpact.close();
+  }
+
+  private void runFlusher() {
+    while (running || buffer.size() > 0) {
+      try {
+        int count = buffer.awaitBatch(properties.batchSize(), properties.linger());
+        if (count > 0) {
+          flushBatch(count);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        log.error("Reservation seat log flusher failed", e);
+      }
+    }
+  }
+
+  private void flushBatch(int count) {
+    batchSizes.record(count);
+    long allocatedBefore = gcImpact.allocatedBytes();
+    IngestBatchEvent event = IngestBatchEvent.start();
+    Span span = startBatchSpan(count);
+    try (Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+      insertBatch(count, span, event);
+    } finally {
+      span.end();
+      event.finish(RabbitMQConfig.QUEUE_RESERVATION_SEAT_LOG, count);
+      gcImpact.recordFlush(allocatedBefore);
+    }
+  }
+
+  private void insertBatch(int count, Span span, IngestBatchEvent event) {
+    boolean timed = event.isEnabled();
+    long start = System.nanoTime();
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            int[] results =
+                jdbcTemplate.batchUpdate(
+                    INSERT_SQL,
+                    new BatchPreparedStatementSetter() {
+                      @Override
+                      public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        long bindStart = timed ? System.nanoTime() : 0;
+                        ReservationSeatLogRecord.bind(ps, buffer.record(i));
+                        if (timed) {
+                          event.addDecodeNanos(System.nanoTime() - bindStart);
+                        }
+                      }
+
+                      @Override
+                      public int getBatchSize() {
+                        return count;
+                      }
+                    });
+            for (int i = 0; i < count; i++) {
+              if (results[i] != 0) { // 0: 이미 저장된 재전달 메시지
+                ByteBuffer record = buffer.record(i);
+                afterInsert(
+                    ReservationSeatLogRecord.read(record),
+                    ReservationSeatLogRecord.readOverflow(record));
+              }
+            }
+          });
+      dbHealthBreaker.record(LogDomain.RESERVATION_SEAT, System.nanoTime() - start, false);
+      for (int i = 0; i < count; i++) {
+        ((AckHandle) buffer.attachment(i)).ack();
+      }
+    } catch (Exception e) {
+      span.error(e);
+      if (DbHealthBreaker.isDatabaseUnavailable(e)) {
+        // DB 장애 중 한 건씩 다시 쓰면 부하만 늘어난다. 배치 전체를 큐로 되돌리고 차단기에 알린다
+        dbHealthBreaker.record(LogDomain.RESERVATION_SEAT, System.nanoTime() - start, true);
+        log.warn("Batch insert failed, database unavailable, requeued: size={}", count, e);
+        for (int i = 0; i < count; i++) {
+          ((AckHandle) buffer.attachment(i)).requeue();
+        }
+        return;
+      }
+      log.warn("Batch insert failed, retrying one by one: size={}", count, e);
+      for (int i = 0; i < count; i++) {
+        ByteBuffer record = buffer.record(i);
+        writeOne(
+            ReservationSeatLogRecord.read(record),
+            ReservationSeatLogRecord.readOverflow(record),
+            ReservationSeatLogRecord.readParent(buffer.record(i)),
+            (AckHandle) buffer.attachment(i));
+      }
+    } finally {
+      buffer.release(count);
+    }
+  }
+
+  /** 배치에 담긴 메시지의 발행 쪽 span마다 링크를 건 새 trace의 span을 시작한다. */
+  private Span startBatchSpan(int count) {
+    Span.Builder builder =
+        tracer
+            .spanBuilder()
+            .setNoParent()
+            .name("reservation-seat-log.batch")
+            .kind(Span.Kind.CONSUMER)
+            .tag("messaging.batch.message_count", String.valueOf(count));
+    Set<TraceParent> parents = new LinkedHashSet<>();
+    for (int i = 0; i < count; i++) {
+      TraceParent parent = ReservationSeatLogRecord.readParent(buffer.record(i));
+      if (parent != null && parents.add(parent)) {
+        builder.addLink(
+            new Link(
+                tracer
+                    .traceContextBuilder()
+                    .traceId(parent.traceIdHex())
+                    .spanId(parent.spanIdHex())
+                    .build()));
+      }
+    }
+    return builder.start();
+  }
+
+  private void writeOne(
+      ReservationSeatEvent event, String overflow, TraceParent parent, AckHandle ackHandle) {
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            int inserted =
+                jdbcTemplate.update(
+                    INSERT_SQL,
+                    event.eventId(),
+                    event.reservationSeatId(),
+                    event.seatNumber(),
+                    event.actionType(),
+                    event.actorType(),
+                    event.actorUserId(),
+                    Timestamp.valueOf(event.occurredAt()),
+                    overflow,
+                    parent == null ? null : parent.traceId());
+            if (inserted != 0) {
+              afterInsert(event, overflow);
+            }
+          });
+      ackHandle.ack();
+    } catch (Exception e) {
+      onWriteFailure(event, e, ackHandle);
+    }
+  }
+
+  private void onWriteFailure(ReservationSeatEvent event, Exception e, AckHandle ackHandle) {
+    long suppressed = failureLogLimiter.tryAcquire(RabbitMQConfig.QUEUE_RESERVATION_SEAT_LOG);
+    if (suppressed != FailureLogLimiter.DENIED) {
+      log.error("Failed to save reservation seat log: {} (suppressed={})", event, suppressed, e);
+    }
+    if (DbHealthBreaker.isDatabaseUnavailable(e)) {
+      ackHandle.requeue();
+    } else {
+      ackHandle.reject(); // DLQ
+    }
+  }
+
+  private void afterInsert(ReservationSeatEvent event, String overflow) {
+    aggregate(event, overflow);
+    recentIdentifierCache.recordAfterCommit(
+        IdentifierType.SEAT_NUMBER, event.seatNumber(), event.reservationSeatId());
+  }
+
+  private void aggregate(ReservationSeatEvent event, String overflow) {
+    projectionService.apply(
+        ProjectionEvent.of(
+            EntityType.RESERVATION_SEAT,
+            event.reservationSeatId(),
+            event.eventId(),
+            event.actionType(),
+            event.actorUserId(),
+            event.seatNumber(),
+            event.occurredAt()));
+    eventTimeProcessor.onAccepted(
+        LogDomain.RESERVATION_SEAT,
+        event.eventId(),
+        event.occurredAt(),
+        new LogEventFields(
+            event.reservationSeatId(), event.actionType(), event.actorUserId(), overflow),
+        event);
+  }
+}
@@ -0,0 +1,27 @@
+package com.tickatch.logservice.ticketlog.application;
+
+import com.tickatch.logservice.global.config.cache.CacheNames;
+import com.tickatch.logservice.ticketlog.application.dto.TicketLogResponse;
+import com.tickatch.logservice.ticketlog.domain.repository.TicketLogRepository;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TicketLogQueryService {
+
+  private final TicketLogRepository ticketLogRepository;
+
+  /** 티켓 ID 기준 이력을 발생 시각 순으로 조회한다. 새 이벤트 저장 시 Consumer가 캐시를 무효화한다. */
+  @Cacheable(cacheNames = CacheNames.TICKET_LOG_TIMELINE, key = "#ticketId", sync = true)
+  public List<TicketLogResponse> getTimeline(UUID ticketId) {
+    return ticketLogRepository.findAllByTicketIdOrderByOccurredAtAsc(ticketId).stream()
+        .map(TicketLogResponse::from)
+        .toList();
+  }
+}
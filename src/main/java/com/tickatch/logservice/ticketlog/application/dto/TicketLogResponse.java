@@ -0,0 +1,26 @@
+package com.tickatch.logservice.ticketlog.application.dto;
+
+import com.tickatch.logservice.ticketlog.domain.TicketLog;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TicketLogResponse(
+    UUID ticketLogId,
+    UUID ticketId,
+    String receiveMethod,
+    String actionType,
+    String actorType,
+    UUID actorUserId,
+    LocalDateTime occurredAt) {
+
+  public static TicketLogResponse from(TicketLog log) {
+    return new TicketLogResponse(
+        log.getTicketLogId(),
+        log.getTicketId(),
+        log.getReceiveMethod(),
+        log.getActionType(),
+        log.getActorType(),
+        log.getActorUserId(),
+        log.getOccurredAt());
+  }
+}
@@ -1,12 +1,25 @@
 package com.tickatch.logservice.ticketlog.infrastructure.messaging;
 
+import com.tickatch.logservice.global.cache.LogCacheInvalidator;
+import com.tickatch.logservice.global.config.cache.CacheNames;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
 import com.tickatch.logservice.global.config.rabbitmq.RabbitMQConfig;
+import com.tickatch.logservice.global.eventtime.EventTimeProcessor;
+import com.tickatch.logservice.global.eventtime.LogEventFields;
+import com.tickatch.logservice.global.fidelity.FidelityPolicy;
+import com.tickatch.logservice.global.schema.EventSchemaHeaders;
+import com.tickatch.logservice.global.tracing.TraceContextHeaders;
+import com.tickatch.logservice.projection.application.ProjectionService;
+import com.tickatch.logservice.projection.domain.EntityType;
+import com.tickatch.logservice.projection.domain.ProjectionEvent;
 import com.tickatch.logservice.ticketlog.domain.TicketLog;
 import com.tickatch.logservice.ticketlog.domain.event.TicketEvent;
 import com.tickatch.logservice.ticketlog.domain.repository.TicketLogRepository;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,15 +29,28 @@ import org.springframework.transaction.annotation.Transactional;
 public class TicketLogConsumer {
 
   private final TicketLogRepository ticketLogRepository;
+  private final LogCacheInvalidator logCacheInvalidator;
+  private final EventTimeProcessor eventTimeProcessor;
+  private final FidelityPolicy fidelityPolicy;
+  private final ProjectionService projectionService;
 
   @RabbitListener(
+      id = RabbitMQConfig.LISTENER_TICKET_LOG,
       queues = RabbitMQConfig.QUEUE_TICKET_LOG,
-      containerFactory = "rabbitListenerContainerFactory")
+      containerFactory = "rabbitListenerContainerFactory",
+      autoStartup = RabbitMQConfig.CONSUMER_AUTO_STARTUP)
   @Transactional
-  public void consume(TicketEvent event) {
-    try {
-      log.debug("Consuming ticket log: {}", event);
+  public void consume(
+      TicketEvent event,
+      @Header(name = EventSchemaHeaders.OVERFLOW, required = false) String overflow,
+      @Header(name = TraceContextHeaders.TRACE_ID, required = false) UUID traceId) {
+    log.debug("Consuming ticket log: eventId={}", event.eventId());
 
+    // 저장 수준 정책은 행 저장 여부만 정한다. 저장하지 않는 이벤트도 재전달만 거르고 집계에는 반영한다
+    FidelityPolicy.Outcome outcome =
+        fidelityPolicy.admit(
+            LogDomain.TICKET, event.eventId(), event.ticketId(), event.actionType());
+    if (outcome.stored()) {
       TicketLog log =
           TicketLog.create(
               event.eventId(),
@@ -33,13 +59,32 @@ public class TicketLogConsumer {
               event.actionType(),
               event.actorType(),
               event.actorUserId(),
-              event.occurredAt());
-
-      ticketLogRepository.save(log);
-
-    } catch (Exception e) {
-      log.error("Failed to save ticket log: {}", event, e);
-      throw e; // DLQ로 전송
+              event.occurredAt(),
+              overflow,
+              traceId);
+      if (ticketLogRepository.insertIfAbsent(log) == 0) {
+        return; // 재전달: 이미 저장하고 집계했다
+      }
+    } else if (!fidelityPolicy.acceptUnstored(
+        outcome, LogDomain.TICKET, event.eventId(), event.actionType(), event.occurredAt())) {
+      return; // 재전달: 이미 집계했다
     }
+
+    projectionService.apply(
+        ProjectionEvent.of(
+            EntityType.TICKET,
+            event.ticketId(),
+            event.eventId(),
+            event.actionType(),
+            event.actorUserId(),
+            event.receiveMethod(),
+            event.occurredAt()));
+    eventTimeProcessor.onAccepted(
+        LogDomain.TICKET,
+        event.eventId(),
+        event.occurredAt(),
+        new LogEventFields(event.ticketId(), event.actionType(), event.actorUserId(), overflow),
+        event);
+    logCacheInvalidator.evictAfterCommit(CacheNames.TICKET_LOG_TIMELINE, event.ticketId());
   }
 }
@@ -0,0 +1,24 @@
+package com.tickatch.logservice.ticketlog.presentation;
+
+import com.tickatch.logservice.ticketlog.application.TicketLogQueryService;
+import com.tickatch.logservice.ticketlog.application.dto.TicketLogResponse;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/logs/tickets")
+@RequiredArgsConstructor
+public class TicketLogController {
+
+  private final TicketLogQueryService ticketLogQueryService;
+
+  @GetMapping("/{ticketId}")
+  public List<TicketLogResponse> getTimeline(@PathVariable UUID ticketId) {
+    return ticketLogQueryService.getTimeline(ticketId);
+  }
+}
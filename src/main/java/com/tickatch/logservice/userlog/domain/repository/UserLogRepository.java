@@ -3,5 +3,24 @@ package com.tickatch.logservice.userlog.domain.repository;
 import com.tickatch.logservice.userlog.domain.UserLog;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface UserLogRepository extends JpaRepository<UserLog, UUID> {}
+public interface UserLogRepository extends JpaRepository<UserLog, UUID> {
+
+  /**
+   * 재전달된 메시지는 id 유일 인덱스 충돌로 건너뛴다. 새로 저장했을 때만 1을 반환한다. 충돌 대상을 지정하지 않으므로 인덱스가 없는 기존 DB에서도
+   * 실패하지 않는다 (db/migration/002_log_id_unique.sql 적용 전에는 중복을 막지 못한다).
+   */
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO p_user_log (id, user_id, action_type, actor_type, actor_user_id,"
+              + " occurred_at, overflow, trace_id) VALUES (:#{#log.userLogId}, :#{#log.userId},"
+              + " :#{#log.actionType}, :#{#log.actorType}, :#{#log.actorUserId},"
+              + " :#{#log.occurredAt}, CAST(:#{#log.overflow} AS jsonb), :#{#log.traceId})"
+              + " ON CONFLICT DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(@Param("log") UserLog log);
+}
@@ -0,0 +1,116 @@
+package com.tickatch.logservice.funnel.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class FunnelJourneyTest {
+
+  private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+  @Test
+  void measuresSaleStartToFirstHold() {
+    FunnelJourney journey = FunnelJourney.start("42", T0, T0.plusSeconds(3));
+
+    assertThat(journey.getStage()).isEqualTo(FunnelStage.SEAT_HELD);
+    assertThat(journey.latencyInto(FunnelStage.SEAT_HELD)).isEqualTo(3_000L);
+    assertThat(journey.getVersion()).isZero();
+  }
+
+  @Test
+  void ignoresSaleStartAfterHold() {
+    FunnelJourney journey = FunnelJourney.start("42", T0.plusSeconds(1), T0);
+
+    assertThat(journey.latencyInto(FunnelStage.SEAT_HELD)).isNull();
+  }
+
+  @Test
+  void advancesOnlyForward() {
+    FunnelJourney journey = FunnelJourney.start(null, null, T0);
+
+    assertThat(journey.advance(FunnelStage.RESERVED, null, T0.plusSeconds(10))).isTrue();
+    assertThat(journey.advance(FunnelStage.RESERVED, null, T0.plusSeconds(20))).isFalse();
+    assertThat(journey.advance(FunnelStage.SEAT_HELD, null, T0.plusSeconds(30))).isFalse();
+
+    assertThat(journey.getStage()).isEqualTo(FunnelStage.RESERVED);
+    assertThat(journey.getStageAt()).isEqualTo(T0.plusSeconds(10));
+    assertThat(journey.latencyInto(FunnelStage.RESERVED)).isEqualTo(10_000L);
+  }
+
+  @Test
+  void skippedStageHasNoLatencyButCountsAsReached() {
+    FunnelJourney journey = FunnelJourney.start(null, null, T0);
+
+    journey.advance(FunnelStage.PAID, null, T0.plusSeconds(5));
+
+    assertThat(journey.latencyInto(FunnelStage.RESERVED)).isNull();
+    assertThat(journey.latencyInto(FunnelStage.PAID)).isNull();
+    assertThat(journey.reached(FunnelStage.RESERVED)).isTrue();
+    assertThat(journey.reached(FunnelStage.PAID)).isTrue();
+    assertThat(journey.reached(FunnelStage.TICKET_ISSUED)).isFalse();
+    assertThat(journey.reached(FunnelStage.SALE_STARTED)).isFalse();
+  }
+
+  @Test
+  void completesOnTicketIssuedAndIgnoresLaterEvents() {
+    FunnelJourney journey = FunnelJourney.start(null, null, T0);
+    journey.advance(FunnelStage.RESERVED, null, T0.plusSeconds(1));
+    journey.advance(FunnelStage.PAID, null, T0.plusSeconds(2));
+
+    assertThat(journey.advance(FunnelStage.TICKET_ISSUED, null, T0.plusSeconds(4))).isTrue();
+    assertThat(journey.isCompleted()).isTrue();
+    assertThat(journey.latencyInto(FunnelStage.TICKET_ISSUED)).isEqualTo(2_000L);
+    assertThat(journey.advance(FunnelStage.TICKET_ISSUED, null, T0.plusSeconds(5))).isFalse();
+  }
+
+  @Test
+  void keepsFirstKnownProduct() {
+    FunnelJourney journey = FunnelJourney.start(null, null, T0);
+    assertThat(journey.getProductKey()).isEqualTo(FunnelStatKey.UNATTRIBUTED);
+
+    journey.advance(FunnelStage.RESERVED, "42", T0.plusSeconds(1));
+    journey.attach("43");
+
+    assertThat(journey.getProductId()).isEqualTo("42");
+    assertThat(journey.getProductKey()).isEqualTo("42");
+  }
+
+  @Test
+  void attachesProductFromIgnoredEvent() {
+    FunnelJourney journey = FunnelJourney.start(null, null, T0);
+    journey.advance(FunnelStage.PAID, null, T0.plusSeconds(1));
+
+    assertThat(journey.advance(FunnelStage.RESERVED, "42", T0.plusSeconds(2))).isFalse();
+    assertThat(journey.getProductKey()).isEqualTo("42");
+  }
+
+  @Test
+  void restoresStoredJourney() {
+    FunnelJourney journey =
+        FunnelJourney.restore(
+            "42",
+            FunnelStage.RESERVED,
+            T0,
+            T0.plusSeconds(10),
+            Map.of(FunnelStage.SEAT_HELD, 500L, FunnelStage.RESERVED, 10_000L),
+            7);
+
+    assertThat(journey.getVersion()).isEqualTo(7);
+    assertThat(journey.getStartedAt()).isEqualTo(T0);
+    assertThat(journey.isCompleted()).isFalse();
+    assertThat(journey.latencyInto(FunnelStage.SEAT_HELD)).isEqualTo(500L);
+
+    assertThat(journey.advance(FunnelStage.PAID, null, T0.plusSeconds(13))).isTrue();
+    assertThat(journey.latencyInto(FunnelStage.PAID)).isEqualTo(3_000L);
+  }
+
+  @Test
+  void restoredTicketIssuedJourneyIsCompleted() {
+    FunnelJourney journey =
+        FunnelJourney.restore(null, FunnelStage.TICKET_ISSUED, T0, T0, Map.of(), 1);
+
+    assertThat(journey.isCompleted()).isTrue();
+  }
+}
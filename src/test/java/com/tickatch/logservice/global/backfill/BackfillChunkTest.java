@@ -0,0 +1,66 @@
+package com.tickatch.logservice.global.backfill;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BackfillChunkTest {
+
+  @TempDir Path dir;
+
+  @Test
+  void everyLineBelongsToExactlyOneChunk() throws IOException {
+    StringBuilder dump = new StringBuilder();
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      String line = "{\"eventId\":\"" + i + "\",\"note\":\"" + "x".repeat(i % 17) + "\"}";
+      expected.add(line);
+      dump.append(line).append(i % 3 == 0 ? "\r\n" : "\n");
+    }
+    Path path = write("reservation-seat-2025.ndjson", dump.toString());
+
+    BackfillFile file = BackfillFile.open(path);
+    assertThat(file.domain()).isEqualTo(LogDomain.RESERVATION_SEAT);
+
+    for (long chunkBytes : new long[] {1, 7, 64, 1000, 1 << 20}) {
+      List<String> lines = new ArrayList<>();
+      for (BackfillChunk chunk : file.chunks(chunkBytes)) {
+        chunk.read((lineStart, line) -> lines.add(line));
+      }
+      assertThat(lines).as("chunkBytes=%d", chunkBytes).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void readsCsvWithSnakeCaseHeaderAndQuotedValues() throws IOException {
+    Path path =
+        write(
+            "payment.csv",
+            "id,payment_id,method,retry_count\n"
+                + "e1,p1,\"CARD, \"\"VISA\"\"\",2\n"
+                + "e2,p2,,0\n");
+
+    BackfillFile file = BackfillFile.open(path);
+    List<String> lines = new ArrayList<>();
+    for (BackfillChunk chunk : file.chunks(8)) {
+      chunk.read((lineStart, line) -> lines.add(line));
+    }
+
+    assertThat(file.header()).containsExactly("eventId", "paymentId", "method", "retryCount");
+    assertThat(lines).hasSize(2);
+    assertThat(file.parse(lines.get(0)).get("method").asText()).isEqualTo("CARD, \"VISA\"");
+    assertThat(file.parse(lines.get(1)).has("method")).isFalse();
+  }
+
+  private Path write(String name, String content) throws IOException {
+    return Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+  }
+}
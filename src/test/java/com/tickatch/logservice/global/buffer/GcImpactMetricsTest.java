@@ -0,0 +1,64 @@
+package com.tickatch.logservice.global.buffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class GcImpactMetricsTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final AtomicInteger occupancy = new AtomicInteger();
+
+  @Test
+  void tagsPausesByWhetherRecordsWereBuffered() {
+    try (GcImpactMetrics metrics = new GcImpactMetrics("q", occupancy::get, registry)) {
+      metrics.recordPause("G1 Young Generation", "end of minor GC", 5);
+      occupancy.set(3);
+      metrics.recordPause("G1 Young Generation", "end of minor GC", 7);
+      metrics.recordPause("G1 Young Generation", "end of minor GC", 9);
+    }
+
+    Timer idle = pauseTimer("false");
+    Timer buffering = pauseTimer("true");
+    assertThat(idle.count()).isEqualTo(1L);
+    assertThat(buffering.count()).isEqualTo(2L);
+    assertThat(buffering.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(16.0);
+  }
+
+  @Test
+  void recordsHeapAllocatedPerStage() {
+    try (GcImpactMetrics metrics = new GcImpactMetrics("q", occupancy::get, registry)) {
+      long before = metrics.allocatedBytes();
+      byte[][] garbage = new byte[16][];
+      for (int i = 0; i < garbage.length; i++) {
+        garbage[i] = new byte[64 * 1024];
+      }
+      metrics.recordFlush(before);
+      metrics.recordEnqueue(metrics.allocatedBytes());
+
+      assertThat(garbage[15].length).isEqualTo(64 * 1024);
+      if (before > 0) { // 스레드별 할당 측정을 지원하는 JVM
+        assertThat(allocated("flush").count()).isGreaterThanOrEqualTo(1024.0 * 1024);
+      }
+      assertThat(allocated("enqueue").count()).isLessThan(1024.0 * 1024);
+    }
+  }
+
+  private Timer pauseTimer(String buffering) {
+    return registry
+        .get("log.write-buffer.gc.pause")
+        .tag("queue", "q")
+        .tag("action", "end of minor GC")
+        .tag("buffering", buffering)
+        .timer();
+  }
+
+  private Counter allocated(String stage) {
+    return registry.get("log.write-buffer.heap.allocated").tag("stage", stage).counter();
+  }
+}
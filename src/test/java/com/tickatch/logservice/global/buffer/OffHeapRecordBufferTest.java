@@ -0,0 +1,109 @@
+package com.tickatch.logservice.global.buffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.nio.BufferOverflowException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class OffHeapRecordBufferTest {
+
+  @Test
+  void readsRecordsAndAttachmentsInWriteOrder() throws Exception {
+    OffHeapRecordBuffer buffer = new OffHeapRecordBuffer(4, 16);
+
+    buffer.put(slot -> slot.putLong(1).putInt(10), "a");
+    buffer.put(slot -> slot.putLong(2).putInt(20), "b");
+
+    assertThat(buffer.size()).isEqualTo(2);
+    assertThat(buffer.record(0).getLong()).isEqualTo(1L);
+    assertThat(buffer.record(1).getInt(8)).isEqualTo(20);
+    assertThat(buffer.attachment(0)).isEqualTo("a");
+    assertThat(buffer.attachment(1)).isEqualTo("b");
+  }
+
+  @Test
+  void wrapsAroundAfterRelease() throws Exception {
+    OffHeapRecordBuffer buffer = new OffHeapRecordBuffer(4, 8);
+    for (long i = 0; i < 3; i++) {
+      long value = i;
+      buffer.put(slot -> slot.putLong(value), value);
+    }
+    buffer.release(3);
+
+    for (long i = 3; i < 7; i++) {
+      long value = i;
+      buffer.put(slot -> slot.putLong(value), value);
+    }
+
+    assertThat(buffer.size()).isEqualTo(4);
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.record(i).getLong()).isEqualTo(3L + i);
+      assertThat(buffer.attachment(i)).isEqualTo(3L + i);
+    }
+  }
+
+  @Test
+  void recordIsReadOnlyViewOfItsSlot() throws Exception {
+    OffHeapRecordBuffer buffer = new OffHeapRecordBuffer(2, 8);
+    buffer.put(slot -> slot.putLong(42), null);
+
+    assertThat(buffer.record(0).isReadOnly()).isTrue();
+    assertThat(buffer.record(0).capacity()).isEqualTo(8);
+    assertThat(buffer.bytes()).isEqualTo(16L);
+  }
+
+  @Test
+  void oversizedRecordThrowsWithoutTakingSlot() throws Exception {
+    OffHeapRecordBuffer buffer = new OffHeapRecordBuffer(2, 8);
+    buffer.put(slot -> slot.putLong(1), "kept");
+
+    Throwable thrown =
+        catchThrowable(() -> buffer.put(slot -> slot.putLong(2).putLong(3), "dropped"));
+
+    assertThat(thrown).isInstanceOf(BufferOverflowException.class);
+    assertThat(buffer.size()).isEqualTo(1);
+    buffer.put(slot -> slot.putLong(4), "next");
+    assertThat(buffer.record(1).getLong()).isEqualTo(4L);
+    assertThat(buffer.attachment(1)).isEqualTo("next");
+  }
+
+  @Test
+  void putBlocksWhileFullAndReportsWait() throws Exception {
+    OffHeapRecordBuffer buffer = new OffHeapRecordBuffer(1, 8);
+    buffer.put(slot -> slot.putLong(1), null);
+
+    CompletableFuture<Long> blocked =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return buffer.put(slot -> slot.putLong(2), null);
+              } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    Thread.sleep(100);
+    assertThat(blocked.isDone()).isFalse();
+
+    buffer.release(1);
+
+    assertThat(blocked.get(1, TimeUnit.SECONDS)).isGreaterThan(50_000_000L);
+    assertThat(buffer.record(0).getLong()).isEqualTo(2L);
+  }
+
+  @Test
+  void awaitBatchReturnsFullBatchOrWhatArrivedWithinLinger() throws Exception {
+    OffHeapRecordBuffer buffer = new OffHeapRecordBuffer(8, 8);
+    for (int i = 0; i < 3; i++) {
+      buffer.put(slot -> slot.putLong(0), null);
+    }
+
+    assertThat(buffer.awaitBatch(2, Duration.ofSeconds(5))).isEqualTo(2);
+    assertThat(buffer.awaitBatch(5, Duration.ofMillis(20))).isEqualTo(3);
+    buffer.release(3);
+    assertThat(buffer.awaitBatch(5, Duration.ofMillis(20))).isZero();
+  }
+}
@@ -0,0 +1,92 @@
+package com.tickatch.logservice.global.buffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class RecordCodecTest {
+
+  @Test
+  void roundTripsFieldsInOrder() {
+    UUID id = UUID.randomUUID();
+    LocalDateTime occurredAt = LocalDateTime.of(2026, 10, 19, 9, 30, 15, 123_456_000);
+    ByteBuffer buffer = ByteBuffer.allocate(256);
+
+    RecordCodec.putUuid(buffer, id);
+    RecordCodec.putTime(buffer, occurredAt);
+    RecordCodec.putString(buffer, "RESERVED");
+    buffer.flip();
+
+    assertThat(RecordCodec.getUuid(buffer)).isEqualTo(id);
+    assertThat(RecordCodec.getTime(buffer)).isEqualTo(occurredAt);
+    assertThat(RecordCodec.getString(buffer)).isEqualTo("RESERVED");
+    assertThat(buffer.remaining()).isZero();
+  }
+
+  @Test
+  void nullUuidKeepsFixedWidth() {
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+
+    RecordCodec.putUuid(buffer, null);
+    int nullWidth = buffer.position();
+    RecordCodec.putUuid(buffer, UUID.randomUUID());
+    buffer.flip();
+
+    assertThat(nullWidth).isEqualTo(17);
+    assertThat(buffer.remaining()).isEqualTo(34);
+    assertThat(RecordCodec.getUuid(buffer)).isNull();
+    assertThat(RecordCodec.getUuid(buffer)).isNotNull();
+  }
+
+  @Test
+  void timeKeepsMicrosecondsAndDatesBeforeEpoch() {
+    LocalDateTime beforeEpoch = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000);
+    ByteBuffer buffer = ByteBuffer.allocate(16);
+
+    RecordCodec.putTime(buffer, beforeEpoch);
+    RecordCodec.putTime(buffer, LocalDateTime.of(2026, 1, 1, 0, 0, 0, 1_999));
+    buffer.flip();
+
+    assertThat(RecordCodec.getTime(buffer)).isEqualTo(beforeEpoch);
+    assertThat(RecordCodec.getTime(buffer)).isEqualTo(LocalDateTime.of(2026, 1, 1, 0, 0, 0, 1_000));
+  }
+
+  @Test
+  void distinguishesNullFromEmptyAndEncodesUtf8() {
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+
+    RecordCodec.putString(buffer, null);
+    RecordCodec.putString(buffer, "");
+    RecordCodec.putString(buffer, "좌석 A-12");
+    buffer.flip();
+
+    assertThat(RecordCodec.getString(buffer)).isNull();
+    assertThat(RecordCodec.getString(buffer)).isEqualTo("");
+    assertThat(RecordCodec.getString(buffer)).isEqualTo("좌석 A-12");
+  }
+
+  @Test
+  void stringLargerThanBufferOverflows() {
+    ByteBuffer buffer = ByteBuffer.allocate(8);
+
+    Throwable thrown = catchThrowable(() -> RecordCodec.putString(buffer, "0123456789"));
+
+    assertThat(thrown).isInstanceOf(BufferOverflowException.class);
+  }
+
+  @Test
+  void stringLongerThanLengthPrefixOverflows() {
+    ByteBuffer buffer = ByteBuffer.allocate(Short.MAX_VALUE + 16);
+    String tooLong = "x".repeat(Short.MAX_VALUE + 1);
+
+    Throwable thrown = catchThrowable(() -> RecordCodec.putString(buffer, tooLong));
+
+    assertThat(thrown).isInstanceOf(BufferOverflowException.class);
+    assertThat(buffer.position()).isZero();
+  }
+}
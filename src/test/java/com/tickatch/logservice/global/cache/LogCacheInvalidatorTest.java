@@ -0,0 +1,101 @@
+package com.tickatch.logservice.global.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tickatch.logservice.global.config.cache.CacheConfig;
+import com.tickatch.logservice.global.config.cache.CacheNames;
+import com.tickatch.logservice.global.config.cache.LogCacheProperties;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class LogCacheInvalidatorTest {
+
+  private final CacheManager cacheManager =
+      new CacheConfig().cacheManager(new LogCacheProperties(0, null));
+  private final LogCacheInvalidator invalidator = new LogCacheInvalidator(cacheManager);
+  private final Cache timelines = cacheManager.getCache(CacheNames.PAYMENT_LOG_TIMELINE);
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void evictsImmediatelyOutsideTransaction() {
+    UUID paymentId = UUID.randomUUID();
+    timelines.put(paymentId, List.of("REQUESTED"));
+
+    invalidator.evictAfterCommit(CacheNames.PAYMENT_LOG_TIMELINE, paymentId);
+
+    assertThat(timelines.get(paymentId)).isNull();
+  }
+
+  @Test
+  void keepsTimelineUntilNewEventCommits() {
+    UUID paymentId = UUID.randomUUID();
+    timelines.put(paymentId, List.of("REQUESTED"));
+    TransactionSynchronizationManager.initSynchronization();
+
+    invalidator.evictAfterCommit(CacheNames.PAYMENT_LOG_TIMELINE, paymentId);
+    // 커밋 전 조회가 이전 타임라인을 다시 올려도 커밋 후에 제거된다
+    timelines.put(paymentId, List.of("REQUESTED"));
+    assertThat(timelines.get(paymentId)).isNotNull();
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertThat(timelines.get(paymentId)).isNull();
+  }
+
+  @Test
+  void keepsTimelineWhenTransactionRollsBack() {
+    UUID paymentId = UUID.randomUUID();
+    timelines.put(paymentId, List.of("REQUESTED"));
+    TransactionSynchronizationManager.initSynchronization();
+
+    invalidator.evictAfterCommit(CacheNames.PAYMENT_LOG_TIMELINE, paymentId);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    assertThat(timelines.get(paymentId)).isNotNull();
+  }
+
+  @Test
+  void evictsOnlyTheEntityOfTheNewEvent() {
+    UUID paymentId = UUID.randomUUID();
+    UUID otherPaymentId = UUID.randomUUID();
+    Cache ticketTimelines = cacheManager.getCache(CacheNames.TICKET_LOG_TIMELINE);
+    timelines.put(paymentId, List.of("REQUESTED"));
+    timelines.put(otherPaymentId, List.of("REQUESTED"));
+    ticketTimelines.put(paymentId, List.of("ISSUED"));
+
+    invalidator.evictAfterCommit(CacheNames.PAYMENT_LOG_TIMELINE, paymentId);
+
+    assertThat(timelines.get(paymentId)).isNull();
+    assertThat(timelines.get(otherPaymentId)).isNotNull();
+    assertThat(ticketTimelines.get(paymentId)).isNotNull();
+  }
+
+  @Test
+  void ignoresNullKeyAndUnknownCache() {
+    UUID paymentId = UUID.randomUUID();
+    timelines.put(paymentId, List.of("REQUESTED"));
+    TransactionSynchronizationManager.initSynchronization();
+
+    invalidator.evictAfterCommit(CacheNames.PAYMENT_LOG_TIMELINE, null);
+    invalidator.evictAfterCommit("unknown", paymentId);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+    assertThat(timelines.get(paymentId)).isNotNull();
+  }
+}
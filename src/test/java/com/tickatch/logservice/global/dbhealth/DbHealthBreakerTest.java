@@ -0,0 +1,352 @@
+package com.tickatch.logservice.global.dbhealth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.lifecycle.IngestLifecycleCoordinator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.listener.MessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+class DbHealthBreakerTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+  private static final long SLOW = TimeUnit.SECONDS.toNanos(1);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final Map<LogDomain, FakeContainer> containers = new EnumMap<>(LogDomain.class);
+  private final RabbitListenerEndpointRegistry listenerRegistry =
+      new RabbitListenerEndpointRegistry() {
+        @Override
+        public MessageListenerContainer getListenerContainer(String id) {
+          for (Map.Entry<LogDomain, FakeContainer> entry : containers.entrySet()) {
+            if (entry.getKey().getListenerId().equals(id)) {
+              return entry.getValue().mock;
+            }
+          }
+          return null;
+        }
+      };
+  private final IngestLifecycleCoordinator coordinator =
+      new IngestLifecycleCoordinator(null, null, null, null, null, false) {
+        @Override
+        public boolean isRunning() {
+          return true;
+        }
+      };
+
+  @Test
+  void opensWhenSlowCallRateIsReachedAndStopsContainer() throws Throwable {
+    DbHealthBreaker breaker = breaker(Duration.ofMinutes(1), 2);
+    FakeContainer container = container(LogDomain.PRODUCT);
+    AtomicInteger processed = new AtomicInteger();
+
+    recordCalls(breaker, LogDomain.PRODUCT, 2, 2);
+    breaker.evaluate();
+
+    assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.OPEN);
+    assertThat(container.running).isFalse();
+    assertThat(circuit(breaker, LogDomain.PRODUCT).paused()).isTrue();
+    assertThatThrownBy(
+            () -> breaker.invoke(invocation(LogDomain.PRODUCT, processed::incrementAndGet)))
+        .isInstanceOf(ImmediateRequeueAmqpException.class)
+        .hasMessageContaining("open");
+    assertThat(processed).hasValue(0);
+    assertThat(stateGauge(LogDomain.PRODUCT)).isEqualTo(2.0);
+    assertThat(state(breaker, LogDomain.TICKET)).isEqualTo(DbHealthBreaker.State.CLOSED);
+  }
+
+  @Test
+  void staysClosedBelowMinimumCallsOrRate() {
+    DbHealthBreaker breaker = breaker(Duration.ofMinutes(1), 2);
+    FakeContainer product = container(LogDomain.PRODUCT);
+    FakeContainer ticket = container(LogDomain.TICKET);
+
+    recordCalls(breaker, LogDomain.PRODUCT, 0, 3); // 최소 호출 수 미만
+    recordCalls(breaker, LogDomain.TICKET, 4, 1); // 느린 호출 비율 미만
+    breaker.evaluate();
+
+    assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.CLOSED);
+    assertThat(state(breaker, LogDomain.TICKET)).isEqualTo(DbHealthBreaker.State.CLOSED);
+    assertThat(product.running).isTrue();
+    assertThat(ticket.running).isTrue();
+  }
+
+  @Test
+  void halfOpensAfterOpenDurationThenClosesAfterRampSteps() throws Throwable {
+    DbHealthBreaker breaker = breaker(Duration.ofMillis(1), 2);
+    FakeContainer container = container(LogDomain.PRODUCT);
+    recordCalls(breaker, LogDomain.PRODUCT, 0, 4);
+    breaker.evaluate();
+    Thread.sleep(5);
+
+    breaker.evaluate();
+    assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.HALF_OPEN);
+    assertThat(container.running).isTrue();
+    assertThat(container.starts).hasValue(1);
+    assertThat(circuit(breaker, LogDomain.PRODUCT).probePermitsPerSecond()).isEqualTo(1000.0);
+    assertThat(breaker.invoke(invocation(LogDomain.PRODUCT, () -> "probe"))).isEqualTo("probe");
+
+    breaker.evaluate();
+    assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.HALF_OPEN);
+    assertThat(circuit(breaker, LogDomain.PRODUCT).probePermitsPerSecond()).isEqualTo(2000.0);
+
+    breaker.evaluate();
+    assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.CLOSED);
+    assertThat(circuit(breaker, LogDomain.PRODUCT).probePermitsPerSecond()).isNull();
+    assertThat(transitions(LogDomain.PRODUCT, DbHealthBreaker.State.CLOSED)).isEqualTo(1.0);
+    assertThat(container.starts).hasValue(1);
+  }
+
+  @Test
+  void slowProbeReopensWithDoubledDurationUpToMaximum() throws Throwable {
+    DbHealthBreaker breaker = breaker(Duration.ofMillis(1), 4);
+    FakeContainer container = container(LogDomain.PRODUCT);
+    recordCalls(breaker, LogDomain.PRODUCT, 0, 4);
+    breaker.evaluate();
+
+    for (long expectedMillis : new long[] {2, 3, 3}) {
+      Thread.sleep(5);
+      breaker.evaluate();
+      assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.HALF_OPEN);
+
+      breaker.record(LogDomain.PRODUCT, SLOW, false);
+      breaker.evaluate();
+
+      assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.OPEN);
+      assertThat(circuit(breaker, LogDomain.PRODUCT).openForMillis()).isEqualTo(expectedMillis);
+      assertThat(container.running).isFalse();
+    }
+  }
+
+  @Test
+  void poolWaitOpensOnlyUnprotectedDomainsWithTraffic() {
+    DbHealthBreaker breaker = breaker(Duration.ofMinutes(1), 2);
+    FakeContainer product = container(LogDomain.PRODUCT);
+    FakeContainer payment = container(LogDomain.PAYMENT);
+    container(LogDomain.TICKET);
+    Timer acquire = Timer.builder("hikaricp.connections.acquire").register(meterRegistry);
+    breaker.evaluate(); // 첫 평가는 기준값만 잡는다
+
+    acquire.record(Duration.ofMillis(800));
+    acquire.record(Duration.ofMillis(600));
+    recordCalls(breaker, LogDomain.PRODUCT, 1, 0);
+    recordCalls(breaker, LogDomain.PAYMENT, 1, 0);
+    breaker.evaluate();
+
+    assertThat(breaker.status().poolWaitMillis()).isEqualTo(700.0);
+    assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.OPEN);
+    assertThat(state(breaker, LogDomain.PAYMENT)).isEqualTo(DbHealthBreaker.State.CLOSED);
+    assertThat(state(breaker, LogDomain.TICKET)).isEqualTo(DbHealthBreaker.State.CLOSED);
+    assertThat(product.running).isFalse();
+    assertThat(payment.running).isTrue();
+  }
+
+  @Test
+  void doesNotStartContainerItDidNotStop() throws Exception {
+    DbHealthBreaker breaker = breaker(Duration.ofMillis(1), 2);
+    FakeContainer container = container(LogDomain.PRODUCT);
+    container.running = false; // 다른 경로가 이미 멈춘 컨테이너
+
+    recordCalls(breaker, LogDomain.PRODUCT, 0, 4);
+    breaker.evaluate();
+    Thread.sleep(5);
+    breaker.evaluate();
+
+    assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.HALF_OPEN);
+    assertThat(container.starts).hasValue(0);
+    assertThat(container.running).isFalse();
+  }
+
+  @Test
+  void requeuesDatabaseUnavailableFailuresAndCountsThemAsSlow() throws Throwable {
+    DbHealthBreaker breaker = breaker(Duration.ofMinutes(1), 2);
+    container(LogDomain.PRODUCT);
+
+    for (int i = 0; i < 4; i++) {
+      assertThatThrownBy(
+              () ->
+                  breaker.invoke(
+                      invocation(
+                          LogDomain.PRODUCT,
+                          () -> {
+                            throw new CannotGetJdbcConnectionException("pool exhausted");
+                          })))
+          .isInstanceOf(ImmediateRequeueAmqpException.class);
+    }
+    assertThatThrownBy(
+            () ->
+                breaker.invoke(
+                    invocation(
+                        LogDomain.PRODUCT,
+                        () -> {
+                          throw new IllegalArgumentException("bad payload");
+                        })))
+        .isInstanceOf(IllegalArgumentException.class);
+    breaker.evaluate();
+
+    assertThat(circuit(breaker, LogDomain.PRODUCT).calls()).isEqualTo(5L);
+    assertThat(circuit(breaker, LogDomain.PRODUCT).slowCalls()).isEqualTo(4L);
+    assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.OPEN);
+    assertThat(
+            meterRegistry
+                .get("log.db-health.requeued")
+                .tag("queue", LogDomain.PRODUCT.getQueue())
+                .counter()
+                .count())
+        .isEqualTo(4.0);
+  }
+
+  @Test
+  void classifiesRetryableDatabaseFailures() {
+    assertThat(DbHealthBreaker.isDatabaseUnavailable(new SQLException("down", "08006"))).isTrue();
+    assertThat(DbHealthBreaker.isDatabaseUnavailable(new SQLException("timeout", "57014")))
+        .isTrue();
+    assertThat(
+            DbHealthBreaker.isDatabaseUnavailable(
+                new IllegalStateException("wrapped", new SQLException("too many", "53300"))))
+        .isTrue();
+    assertThat(DbHealthBreaker.isDatabaseUnavailable(new SQLException("duplicate", "23505")))
+        .isFalse();
+    assertThat(DbHealthBreaker.isDatabaseUnavailable(new IllegalStateException("bug"))).isFalse();
+  }
+
+  @Test
+  void passesThroughWhenDisabled() throws Throwable {
+    DbHealthBreaker breaker =
+        new DbHealthBreaker(
+            new DbHealthProperties(false, null, 0, 0, null, null, null, 0, 0, null),
+            false,
+            listenerRegistry,
+            coordinator,
+            meterRegistry);
+    FakeContainer container = container(LogDomain.PRODUCT);
+
+    recordCalls(breaker, LogDomain.PRODUCT, 0, 100);
+    breaker.evaluate();
+
+    assertThat(breaker.invoke(invocation(LogDomain.PRODUCT, () -> "ok"))).isEqualTo("ok");
+    assertThat(state(breaker, LogDomain.PRODUCT)).isEqualTo(DbHealthBreaker.State.CLOSED);
+    assertThat(container.running).isTrue();
+  }
+
+  private DbHealthBreaker breaker(Duration openDuration, int rampSteps) {
+    DbHealthProperties properties =
+        new DbHealthProperties(
+            true,
+            Duration.ofMillis(500),
+            0.5,
+            4,
+            Duration.ofMillis(500),
+            openDuration,
+            openDuration.multipliedBy(3),
+            1000,
+            rampSteps,
+            Set.of("payment", "auth"));
+    return new DbHealthBreaker(properties, false, listenerRegistry, coordinator, meterRegistry);
+  }
+
+  private static void recordCalls(DbHealthBreaker breaker, LogDomain domain, int fast, int slow) {
+    for (int i = 0; i < fast; i++) {
+      breaker.record(domain, FAST, false);
+    }
+    for (int i = 0; i < slow; i++) {
+      breaker.record(domain, SLOW, false);
+    }
+  }
+
+  private static DbHealthStatus.Circuit circuit(DbHealthBreaker breaker, LogDomain domain) {
+    return breaker.status().circuits().stream()
+        .filter(circuit -> circuit.domain().equals(domain.getKey()))
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static DbHealthBreaker.State state(DbHealthBreaker breaker, LogDomain domain) {
+    return circuit(breaker, domain).state();
+  }
+
+  private double stateGauge(LogDomain domain) {
+    return meterRegistry
+        .get("log.db-health.state")
+        .tag("queue", domain.getQueue())
+        .gauge()
+        .value();
+  }
+
+  private double transitions(LogDomain domain, DbHealthBreaker.State state) {
+    return meterRegistry
+        .get("log.db-health.transition")
+        .tag("queue", domain.getQueue())
+        .tag("state", state.name())
+        .counter()
+        .count();
+  }
+
+  private FakeContainer container(LogDomain domain) {
+    FakeContainer container = new FakeContainer();
+    containers.put(domain, container);
+    return container;
+  }
+
+  private static MethodInvocation invocation(LogDomain domain, Callable<?> listener)
+      throws Throwable {
+    MessageProperties properties = new MessageProperties();
+    properties.setConsumerQueue(domain.getQueue());
+    Object[] arguments = {new Message("{}".getBytes(StandardCharsets.UTF_8), properties)};
+    MethodInvocation invocation = mock(MethodInvocation.class);
+    when(invocation.getArguments()).thenReturn(arguments);
+    when(invocation.proceed()).thenAnswer(call -> listener.call());
+    return invocation;
+  }
+
+  /** 실행 상태와 시작 횟수만 기록하는 리스너 컨테이너. */
+  private static final class FakeContainer {
+
+    private final AtomicInteger starts = new AtomicInteger();
+    private volatile boolean running = true;
+    private final MessageListenerContainer mock = mock(MessageListenerContainer.class);
+
+    private FakeContainer() {
+      when(mock.isRunning()).thenAnswer(invocation -> running);
+      doAnswer(
+              invocation -> {
+                starts.incrementAndGet();
+                running = true;
+                return null;
+              })
+          .when(mock)
+          .start();
+      doAnswer(
+              invocation -> {
+                running = false;
+                invocation.<Runnable>getArgument(0).run();
+                return null;
+              })
+          .when(mock)
+          .stop(any(Runnable.class));
+    }
+  }
+}
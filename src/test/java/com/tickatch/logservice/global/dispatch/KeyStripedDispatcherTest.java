@@ -0,0 +1,205 @@
+package com.tickatch.logservice.global.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.rabbitmq.client.Channel;
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.logging.FailureLogLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+class KeyStripedDispatcherTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<String> acks = new CopyOnWriteArrayList<>();
+  private final Channel channel = mock(Channel.class);
+  private final KeyStripedDispatcher dispatcher =
+      new KeyStripedDispatcher(
+          new StripedDispatchProperties(true, 4, 16, 0, null),
+          new FailureLogLimiter(1, 5, meterRegistry),
+          false,
+          meterRegistry);
+
+  @BeforeEach
+  void setUp() throws IOException {
+    doAnswer(
+            invocation ->
+                acks.add("ack:" + invocation.getArgument(0) + ":" + invocation.getArgument(1)))
+        .when(channel)
+        .basicAck(anyLong(), anyBoolean());
+    doAnswer(
+            invocation ->
+                acks.add(
+                    "nack:"
+                        + invocation.getArgument(0)
+                        + ":"
+                        + invocation.getArgument(1)
+                        + ":"
+                        + invocation.getArgument(2)))
+        .when(channel)
+        .basicNack(anyLong(), anyBoolean(), anyBoolean());
+  }
+
+  @AfterEach
+  void tearDown() {
+    dispatcher.stop();
+  }
+
+  @Test
+  void readsTopLevelEntityKeyOnly() {
+    assertThat(entityKey("{\"paymentId\":\"p-1\",\"amount\":3}", "paymentId")).isEqualTo("p-1");
+    assertThat(entityKey("{\"reservationSeatId\":42}", "reservationSeatId")).isEqualTo("42");
+    assertThat(entityKey("{\"a\":{\"paymentId\":\"inner\"},\"paymentId\":\"outer\"}", "paymentId"))
+        .isEqualTo("outer");
+    assertThat(entityKey("{\"items\":[{\"paymentId\":\"inner\"}]}", "paymentId")).isNull();
+  }
+
+  @Test
+  void returnsNullForMissingNullOrNonScalarKey() {
+    assertThat(entityKey("{\"amount\":3}", "paymentId")).isNull();
+    assertThat(entityKey("{\"paymentId\":null}", "paymentId")).isNull();
+    assertThat(entityKey("{\"paymentId\":{\"id\":1}}", "paymentId")).isNull();
+    assertThat(entityKey("[\"paymentId\"]", "paymentId")).isNull();
+    assertThat(entityKey("{\"paymentId\":", "paymentId")).isNull();
+  }
+
+  @Test
+  void sameEntityKeyAlwaysMapsToSameStripe() {
+    Message first = message(1, "{\"paymentId\":\"p-1\",\"amount\":1}");
+    Message second = message(2, "{\"amount\":2,\"paymentId\":\"p-1\"}");
+
+    assertThat(KeyStripedDispatcher.stripeOf(LogDomain.PAYMENT, first, 4))
+        .isEqualTo(KeyStripedDispatcher.stripeOf(LogDomain.PAYMENT, second, 4));
+  }
+
+  @Test
+  void acksEachMessageOnItsOwnWhenLaterMessageFinishesFirst() throws Throwable {
+    dispatcher.start();
+    String slowKey = "p-0";
+    String fastKey = keyOnOtherStripe(slowKey);
+    CountDownLatch fastAcked = new CountDownLatch(1);
+
+    dispatcher.invoke(
+        invocation(
+            message(1, "{\"paymentId\":\"" + slowKey + "\"}"),
+            () -> fastAcked.await(5, TimeUnit.SECONDS)));
+    dispatcher.invoke(invocation(message(2, "{\"paymentId\":\"" + fastKey + "\"}"), () -> null));
+    await().atMost(Duration.ofSeconds(5)).until(() -> acks.contains("ack:2:false"));
+    fastAcked.countDown();
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> acks.size() == 2);
+    assertThat(acks).containsExactly("ack:2:false", "ack:1:false");
+    assertThat(dispatcher.pending()).isZero();
+  }
+
+  @Test
+  void processesSameEntityInArrivalOrder() throws Throwable {
+    dispatcher.start();
+    List<Long> processed = new CopyOnWriteArrayList<>();
+    for (long tag = 1; tag <= 20; tag++) {
+      long deliveryTag = tag;
+      dispatcher.invoke(
+          invocation(
+              message(tag, "{\"paymentId\":\"p-1\"}"),
+              () -> {
+                Thread.sleep(deliveryTag % 3);
+                return processed.add(deliveryTag);
+              }));
+    }
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> processed.size() == 20);
+    assertThat(processed).isSorted();
+  }
+
+  @Test
+  void rejectsFailedMessageAndRequeuesBreakerRequeue() throws Throwable {
+    dispatcher.start();
+    dispatcher.invoke(
+        invocation(
+            message(1, "{\"paymentId\":\"p-1\"}"),
+            () -> {
+              throw new IllegalStateException("boom");
+            }));
+    dispatcher.invoke(
+        invocation(
+            message(2, "{\"paymentId\":\"p-1\"}"),
+            () -> {
+              throw new ImmediateRequeueAmqpException("open");
+            }));
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> acks.size() == 2);
+    assertThat(acks).containsExactly("nack:1:false:false", "nack:2:false:true");
+  }
+
+  @Test
+  void processesUnknownQueueOnListenerThread() throws Throwable {
+    dispatcher.start();
+    MessageProperties properties = new MessageProperties();
+    properties.setDeliveryTag(7);
+    properties.setConsumerQueue("unknown.queue");
+    Thread listener = Thread.currentThread();
+    List<Thread> ranOn = new CopyOnWriteArrayList<>();
+
+    dispatcher.invoke(
+        invocation(
+            new Message("{}".getBytes(StandardCharsets.UTF_8), properties),
+            () -> ranOn.add(Thread.currentThread())));
+
+    assertThat(ranOn).containsExactly(listener);
+    assertThat(acks).containsExactly("ack:7:false");
+  }
+
+  private String keyOnOtherStripe(String key) {
+    int stripe = stripeOf(key);
+    for (int i = 1; ; i++) {
+      String candidate = "p-" + i;
+      if (stripeOf(candidate) != stripe) {
+        return candidate;
+      }
+    }
+  }
+
+  private static int stripeOf(String paymentId) {
+    return KeyStripedDispatcher.stripeOf(
+        LogDomain.PAYMENT, message(0, "{\"paymentId\":\"" + paymentId + "\"}"), 4);
+  }
+
+  private static String entityKey(String json, String field) {
+    return KeyStripedDispatcher.entityKey(json.getBytes(StandardCharsets.UTF_8), field);
+  }
+
+  private static Message message(long deliveryTag, String body) {
+    MessageProperties properties = new MessageProperties();
+    properties.setDeliveryTag(deliveryTag);
+    properties.setConsumerQueue(LogDomain.PAYMENT.getQueue());
+    return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+  }
+
+  private MethodInvocation invocation(Message message, Callable<?> listener) throws Throwable {
+    MethodInvocation invocation = mock(MethodInvocation.class);
+    when(invocation.getArguments()).thenReturn(new Object[] {channel, message});
+    when(invocation.proceed()).thenAnswer(call -> listener.call());
+    return invocation;
+  }
+}
@@ -0,0 +1,123 @@
+package com.tickatch.logservice.global.eventtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EventTimeStreamTest {
+
+  private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 12, 0);
+  private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+  private final EventTimeStream stream =
+      new EventTimeStream(
+          LogDomain.PAYMENT,
+          new EventTimeProperties(
+              Duration.ofSeconds(5), Duration.ofMinutes(1), 100, Duration.ofSeconds(30)));
+
+  @Test
+  void emitsOutOfOrderEventsInEventTimeOrderOnceWatermarkPasses() {
+    accept(T0.plusSeconds(3), 0);
+    accept(T0.plusSeconds(1), 0);
+    accept(T0.plusSeconds(2), 0);
+
+    assertThat(stream.advance(T0, 0).ready()).isEmpty();
+
+    accept(T0.plusSeconds(8), 0); // 워터마크 = T0+3s
+    List<TimedLogEvent> ready = stream.advance(T0, 0).ready();
+
+    assertThat(ready)
+        .extracting(TimedLogEvent::occurredAt)
+        .containsExactly(T0.plusSeconds(1), T0.plusSeconds(2), T0.plusSeconds(3));
+    assertThat(ready).noneMatch(TimedLogEvent::late);
+    assertThat(stream.buffered()).isEqualTo(1);
+  }
+
+  @Test
+  void flagsEventBehindWatermarkAsLate() {
+    accept(T0.plusSeconds(20), 0); // 워터마크 = T0+15s
+
+    assertThat(accept(T0.plusSeconds(10), 0)).isEqualTo(Timeliness.LATE);
+
+    List<TimedLogEvent> ready = stream.advance(T0, 0).ready();
+    assertThat(ready).singleElement().satisfies(event -> assertThat(event.late()).isTrue());
+  }
+
+  @Test
+  void sendsEventBeyondAllowedLatenessToSideOutput() {
+    accept(T0.plusMinutes(10), 0);
+
+    assertThat(accept(T0, 0)).isEqualTo(Timeliness.TOO_LATE);
+
+    EventTimeStream.Emission emission = stream.advance(T0, 0);
+    assertThat(emission.ready()).isEmpty();
+    assertThat(emission.tooLate())
+        .singleElement()
+        .satisfies(
+            event -> {
+              assertThat(event.occurredAt()).isEqualTo(T0);
+              assertThat(event.watermark()).isEqualTo(T0.plusMinutes(10).minusSeconds(5));
+            });
+    assertThat(stream.advance(T0, 0).tooLate()).isEmpty();
+  }
+
+  @Test
+  void overflowPullsWatermarkUpToOldestBufferedEvent() {
+    for (int i = 0; i <= 100; i++) {
+      accept(T0.plusNanos(i), 0);
+    }
+
+    assertThat(stream.overflowed()).isEqualTo(1);
+    assertThat(stream.watermark()).isEqualTo(T0);
+    assertThat(stream.advance(T0, 0).ready())
+        .singleElement()
+        .satisfies(event -> assertThat(event.occurredAt()).isEqualTo(T0));
+  }
+
+  @Test
+  void idleStreamAdvancesWatermarkByWallClock() {
+    accept(T0, 0);
+
+    assertThat(stream.advance(T0.plusSeconds(10), 10 * SECOND).ready()).isEmpty();
+
+    List<TimedLogEvent> ready = stream.advance(T0.plusSeconds(31), 31 * SECOND).ready();
+    assertThat(ready).hasSize(1);
+    assertThat(stream.watermark()).isEqualTo(T0.plusSeconds(26));
+  }
+
+  @Test
+  void drainAllEmitsEverythingRegardlessOfWatermark() {
+    accept(T0.plusSeconds(2), 0);
+    accept(T0.plusSeconds(1), 0);
+
+    assertThat(stream.drainAll().ready())
+        .extracting(TimedLogEvent::occurredAt)
+        .containsExactly(T0.plusSeconds(1), T0.plusSeconds(2));
+    assertThat(stream.buffered()).isZero();
+  }
+
+  @Test
+  void carriesFieldsToSubscribers() {
+    LogEventFields fields =
+        new LogEventFields(UUID.randomUUID(), "SUCCESS", UUID.randomUUID(), "{\"productId\":1}");
+    stream.accept(UUID.randomUUID(), T0, fields, "payload", 0);
+
+    assertThat(stream.drainAll().ready())
+        .singleElement()
+        .satisfies(
+            event -> {
+              assertThat(event.domain()).isEqualTo(LogDomain.PAYMENT);
+              assertThat(event.fields()).isEqualTo(fields);
+              assertThat(event.payload()).isEqualTo("payload");
+            });
+  }
+
+  private Timeliness accept(LocalDateTime occurredAt, long nowNanos) {
+    return stream.accept(UUID.randomUUID(), occurredAt, null, null, nowNanos);
+  }
+}
@@ -0,0 +1,231 @@
+package com.tickatch.logservice.global.fidelity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.fidelity.FidelityPolicy.Outcome;
+import com.tickatch.logservice.global.fidelity.FidelityProperties.Rule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class FidelityPolicyTest {
+
+  private static final LocalDateTime AT = LocalDateTime.of(2025, 1, 1, 12, 0, 30);
+  private static final Map<String, Map<String, Rule>> ROLLUP_LOGIN =
+      Map.of("auth", Map.of("login-success", new Rule(Fidelity.ROLLUP, 1.0)));
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void sampleFractionIsStableAndUniform() {
+    Random random = new Random(42);
+    int below = 0;
+    int samples = 100_000;
+    for (int i = 0; i < samples; i++) {
+      UUID key = new UUID(random.nextLong(), random.nextLong());
+      double fraction = FidelityPolicy.sampleFraction(key);
+      assertThat(fraction).isGreaterThanOrEqualTo(0).isLessThan(1);
+      assertThat(FidelityPolicy.sampleFraction(copy(key))).isEqualTo(fraction);
+      if (fraction < 0.1) {
+        below++;
+      }
+    }
+    assertThat(below / (double) samples).isCloseTo(0.1, within(0.01));
+
+    // 순차 숫자 ID도 한쪽으로 몰리지 않는다
+    int sequentialBelow = 0;
+    for (long id = 1; id <= samples; id++) {
+      if (FidelityPolicy.sampleFraction(id) < 0.25) {
+        sequentialBelow++;
+      }
+    }
+    assertThat(sequentialBelow / (double) samples).isCloseTo(0.25, within(0.01));
+    assertThat(FidelityPolicy.sampleFraction("seat-A1"))
+        .isEqualTo(FidelityPolicy.sampleFraction("seat-A1"))
+        .isNotEqualTo(FidelityPolicy.sampleFraction("seat-A2"));
+  }
+
+  @Test
+  void resolvesActionRuleThenDefaultThenFull() {
+    FidelityPolicy policy =
+        policy(
+            true,
+            Map.of(
+                "auth",
+                Map.of(
+                    "login-success", new Rule(Fidelity.ROLLUP, 1.0),
+                    "default", new Rule(Fidelity.SAMPLE, 0.0))),
+            new FidelityRollup(null, new SimpleMeterRegistry()));
+
+    // 액션 타입은 대소문자와 구분 기호를 무시하고 비교한다
+    assertThat(admit(policy, LogDomain.AUTH, "LOGIN_SUCCESS")).isEqualTo(Outcome.ROLLED_UP);
+    assertThat(admit(policy, LogDomain.AUTH, "loginSuccess")).isEqualTo(Outcome.ROLLED_UP);
+    assertThat(admit(policy, LogDomain.AUTH, "LOGOUT")).isEqualTo(Outcome.SAMPLED_OUT);
+    assertThat(admit(policy, LogDomain.AUTH, null)).isEqualTo(Outcome.SAMPLED_OUT);
+    assertThat(admit(policy, LogDomain.PAYMENT, "PAID")).isEqualTo(Outcome.STORED);
+  }
+
+  @Test
+  void countsRedeliveredRollupEventOnce() {
+    RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+    FidelityRollup rollup = new FidelityRollup(jdbcTemplate, new SimpleMeterRegistry());
+    FidelityPolicy policy = policy(true, ROLLUP_LOGIN, rollup);
+    UUID eventId = UUID.randomUUID();
+
+    for (int delivery = 0; delivery < 2; delivery++) {
+      TransactionSynchronizationManager.initSynchronization();
+      Outcome outcome = policy.admit(LogDomain.AUTH, eventId, null, "LOGIN_SUCCESS");
+      boolean accepted =
+          policy.acceptUnstored(outcome, LogDomain.AUTH, eventId, "LOGIN_SUCCESS", AT);
+      assertThat(accepted).isEqualTo(delivery == 0); // 재전달은 거른다
+      commit();
+    }
+    rollup.flush(Duration.ZERO);
+
+    assertThat(jdbcTemplate.upserted).hasSize(1);
+    assertThat(jdbcTemplate.upserted.get(0)[3]).isEqualTo(1L);
+  }
+
+  @Test
+  void addsRollupCountOnlyAfterCommit() {
+    FidelityRollup rollup = new FidelityRollup(null, new SimpleMeterRegistry());
+    FidelityPolicy policy = policy(true, ROLLUP_LOGIN, rollup);
+    UUID eventId = UUID.randomUUID();
+
+    TransactionSynchronizationManager.initSynchronization();
+    policy.acceptUnstored(Outcome.ROLLED_UP, LogDomain.AUTH, eventId, "LOGIN_SUCCESS", AT);
+    assertThat(rollup.pending()).isZero();
+    rollBack();
+
+    assertThat(rollup.pending()).isZero();
+  }
+
+  @Test
+  void samplesWholeEntitiesAtTheConfiguredRate() {
+    FidelityPolicy policy =
+        policy(
+            true,
+            Map.of("payment", Map.of("default", new Rule(Fidelity.SAMPLE, 0.3))),
+            new FidelityRollup(null, new SimpleMeterRegistry()));
+
+    Random random = new Random(7);
+    int stored = 0;
+    int entities = 20_000;
+    for (int i = 0; i < entities; i++) {
+      UUID paymentId = new UUID(random.nextLong(), random.nextLong());
+      Outcome first = policy.admit(LogDomain.PAYMENT, UUID.randomUUID(), paymentId, "PAID");
+      // 같은 엔티티의 다른 이벤트도 같은 결정을 받는다
+      assertThat(policy.admit(LogDomain.PAYMENT, UUID.randomUUID(), paymentId, "REFUNDED"))
+          .isEqualTo(first);
+      if (first.stored()) {
+        stored++;
+      }
+    }
+    assertThat(stored / (double) entities).isCloseTo(0.3, within(0.02));
+  }
+
+  @Test
+  void disabledPolicyStoresEverything() {
+    FidelityPolicy policy =
+        policy(
+            false,             Map.of("auth", Map.of("default", new Rule(Fidelity.ROLLUP, 1.0))),
+            new FidelityRollup(null, new SimpleMeterRegistry()));
+
+    assertThat(admit(policy, LogDomain.AUTH, "LOGIN_SUCCESS")).isEqualTo(Outcome.STORED);
+  }
+
+  @Test
+  void rejectsUnknownDomainAndOutOfRangeRate() {
+    FidelityRollup rollup = new FidelityRollup(null, new SimpleMeterRegistry());
+
+    assertThatThrownBy(() -> policy(true, Map.of("nope", Map.of("default", Rule.FULL)), rollup))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new Rule(Fidelity.SAMPLE, 1.5))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static FidelityPolicy policy(
+      boolean enabled, Map<String, Map<String, Rule>> rules, FidelityRollup rollup) {
+    return new FidelityPolicy(
+        new FidelityProperties(enabled, Duration.ofMinutes(1), rules),
+        null,
+        rollup,
+        new InMemoryLedger(),
+        new SimpleMeterRegistry());
+  }
+
+  private static Outcome admit(FidelityPolicy policy, LogDomain domain, String actionType) {
+    return policy.admit(domain, UUID.randomUUID(), UUID.randomUUID(), actionType);
+  }
+
+  private static void commit() {
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    synchronizations.forEach(TransactionSynchronization::afterCommit);
+  }
+
+  private static void rollBack() {
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    synchronizations.forEach(
+        sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+  }
+
+  private static UUID copy(UUID key) {
+    return new UUID(key.getMostSignificantBits(), key.getLeastSignificantBits());
+  }
+
+  /** 기록한 이벤트 ID를 메모리에 둔다. */
+  private static final class InMemoryLedger extends UnstoredEventLedger {
+
+    private final Set<UUID> recorded = new HashSet<>();
+
+    InMemoryLedger() {
+      super(null, Duration.ofDays(7));
+    }
+
+    @Override
+    public boolean record(LogDomain domain, UUID eventId) {
+      return recorded.add(eventId);
+    }
+  }
+
+  /** 롤업 upsert 인자를 기록한다. */
+  private static final class RecordingJdbcTemplate extends JdbcTemplate {
+
+    private final List<Object[]> upserted = new ArrayList<>();
+
+    @Override
+    public <T> T queryForObject(String sql, Class<T> requiredType, Object... args) {
+      return requiredType.cast(Boolean.TRUE); // 롤업 테이블이 있다
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+      upserted.addAll(batchArgs);
+      return new int[batchArgs.size()];
+    }
+  }
+}
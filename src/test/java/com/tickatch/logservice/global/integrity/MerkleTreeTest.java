@@ -0,0 +1,65 @@
+package com.tickatch.logservice.global.integrity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MerkleTreeTest {
+
+  private final byte[] a = leaf("a");
+  private final byte[] b = leaf("b");
+  private final byte[] c = leaf("c");
+
+  @Test
+  void emptyRangeHasGenesisRoot() {
+    assertThat(MerkleTree.root(List.of())).isEqualTo(RowDigest.GENESIS);
+  }
+
+  @Test
+  void singleLeafIsItsOwnRoot() {
+    assertThat(MerkleTree.root(List.of(a))).isEqualTo(a);
+  }
+
+  @Test
+  void hashesPairsWithNodePrefix() {
+    assertThat(MerkleTree.root(List.of(a, b))).isEqualTo(node(a, b));
+  }
+
+  @Test
+  void promotesUnpairedLastNode() {
+    assertThat(MerkleTree.root(List.of(a, b, c))).isEqualTo(node(node(a, b), c));
+  }
+
+  @Test
+  void rootChangesWithLeafOrderAndContent() {
+    byte[] root = MerkleTree.root(List.of(a, b, c));
+
+    assertThat(MerkleTree.root(List.of(b, a, c))).isNotEqualTo(root);
+    assertThat(MerkleTree.root(List.of(a, b, leaf("c'")))).isNotEqualTo(root);
+  }
+
+  @Test
+  void doesNotModifyLeaves() {
+    List<byte[]> leaves = List.of(a, b, c);
+
+    MerkleTree.root(leaves);
+
+    assertThat(leaves.get(0)).isEqualTo(leaf("a"));
+    assertThat(leaves.get(2)).isEqualTo(leaf("c"));
+  }
+
+  private static byte[] node(byte[] left, byte[] right) {
+    MessageDigest digest = RowDigest.sha256();
+    digest.update((byte) 0x01);
+    digest.update(left);
+    digest.update(right);
+    return digest.digest();
+  }
+
+  private static byte[] leaf(String value) {
+    return RowDigest.sha256().digest(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
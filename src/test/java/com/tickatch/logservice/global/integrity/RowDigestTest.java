@@ -0,0 +1,96 @@
+package com.tickatch.logservice.global.integrity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.security.MessageDigest;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class RowDigestTest {
+
+  private final MessageDigest digest = RowDigest.sha256();
+
+  @Test
+  void hashesColumnsByNameRegardlessOfSelectOrder() throws SQLException {
+    ResultSet row = row("id", "1", "action_type", "CREATE", "occurred_at", "2026-09-01");
+    ResultSet reordered = row("occurred_at", "2026-09-01", "ID", "1", "action_type", "CREATE");
+
+    assertThat(hash(reordered, 1)).isEqualTo(hash(row, 1));
+  }
+
+  @Test
+  void skipsNullColumnsSoAddedNullableColumnKeepsHash() throws SQLException {
+    ResultSet before = row("id", "1", "action_type", "CREATE");
+    ResultSet after = row("id", "1", "action_type", "CREATE", "trace_id", null);
+
+    assertThat(hash(after, 1)).isEqualTo(hash(before, 1));
+  }
+
+  @Test
+  void changesWhenValueIsFilledClearedOrEdited() throws SQLException {
+    byte[] original = hash(row("id", "1", "reason", "refund"), 1);
+
+    assertThat(hash(row("id", "1", "reason", null), 1)).isNotEqualTo(original);
+    assertThat(hash(row("id", "1", "reason", "refunded"), 1)).isNotEqualTo(original);
+  }
+
+  @Test
+  void lengthPrefixSeparatesAdjacentValues() throws SQLException {
+    byte[] split = hash(row("a", "xy", "b", "z"), 1);
+
+    assertThat(hash(row("a", "x", "b", "yz"), 1)).isNotEqualTo(split);
+  }
+
+  @Test
+  void ignoresColumnsBeforeFirstLogColumn() throws SQLException {
+    ResultSet joined = row("chain_seq", "7", "chain_hash_value", "ff", "id", "1", "x", "y");
+
+    assertThat(hash(joined, 3)).isEqualTo(hash(row("id", "1", "x", "y"), 1));
+  }
+
+  @Test
+  void chainsOnPreviousHash() throws SQLException {
+    ResultSet row = row("id", "1");
+    RowDigest rowDigest = RowDigest.of(row.getMetaData(), 1);
+
+    byte[] first = rowDigest.chain(digest, RowDigest.GENESIS, row);
+    byte[] second = rowDigest.chain(digest, first, row);
+
+    assertThat(first).hasSize(RowDigest.HASH_BYTES);
+    assertThat(second).isNotEqualTo(first);
+    assertThat(rowDigest.chain(digest, first, row)).isEqualTo(second);
+  }
+
+  private byte[] hash(ResultSet row, int firstColumn) throws SQLException {
+    return RowDigest.of(row.getMetaData(), firstColumn).chain(digest, RowDigest.GENESIS, row);
+  }
+
+  /** 이름, 값을 번갈아 받아 한 행짜리 결과를 만든다. */
+  private static ResultSet row(String... namesAndValues) throws SQLException {
+    Map<String, String> columns = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      columns.put(namesAndValues[i], namesAndValues[i + 1]);
+    }
+    List<String> labels = new ArrayList<>(columns.keySet());
+    List<String> values = new ArrayList<>(columns.values());
+
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(metaData.getColumnCount()).thenReturn(labels.size());
+    when(metaData.getColumnLabel(anyInt()))
+        .thenAnswer(invocation -> labels.get(invocation.<Integer>getArgument(0) - 1));
+    ResultSet row = mock(ResultSet.class);
+    when(row.getMetaData()).thenReturn(metaData);
+    when(row.getString(anyInt()))
+        .thenAnswer(invocation -> values.get(invocation.<Integer>getArgument(0) - 1));
+    return row;
+  }
+}
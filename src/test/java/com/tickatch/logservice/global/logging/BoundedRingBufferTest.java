@@ -0,0 +1,107 @@
+package com.tickatch.logservice.global.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class BoundedRingBufferTest {
+
+  @Test
+  void roundsCapacityUpToPowerOfTwo() {
+    assertThat(new BoundedRingBuffer<>(8).capacity()).isEqualTo(8);
+    assertThat(new BoundedRingBuffer<>(9).capacity()).isEqualTo(16);
+    assertThat(new BoundedRingBuffer<>(8192).capacity()).isEqualTo(8192);
+  }
+
+  @Test
+  void rejectsOfferWhenFullWithoutBlocking() {
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+    for (int i = 0; i < 4; i++) {
+      assertThat(buffer.offer(i)).isTrue();
+    }
+
+    assertThat(buffer.offer(4)).isFalse();
+    assertThat(buffer.size()).isEqualTo(4);
+    assertThat(buffer.remainingCapacity()).isZero();
+  }
+
+  @Test
+  void pollsInOrderAcrossWraparound() {
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+    List<Integer> polled = new ArrayList<>();
+
+    for (int i = 0; i < 12; i += 3) {
+      for (int j = i; j < i + 3; j++) {
+        assertThat(buffer.offer(j)).isTrue();
+      }
+      for (int j = 0; j < 3; j++) {
+        polled.add(buffer.poll());
+      }
+    }
+
+    assertThat(polled).isEqualTo(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11));
+    assertThat(buffer.poll()).isNull();
+    assertThat(buffer.isEmpty()).isTrue();
+  }
+
+  @Test
+  void concurrentProducersAndConsumersNeitherLoseNorDuplicate() throws Exception {
+    BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(64);
+    int producers = 4;
+    int perProducer = 10_000;
+    Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(producers + 2);
+    try {
+      List<Future<?>> producing = new ArrayList<>();
+      for (int p = 0; p < producers; p++) {
+        int base = p * perProducer;
+        producing.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                      Thread.yield();
+                    }
+                  }
+                }));
+      }
+      List<Future<Integer>> consuming = new ArrayList<>();
+      for (int c = 0; c < 2; c++) {
+        consuming.add(
+            executor.submit(
+                () -> {
+                  int duplicates = 0;
+                  while (consumed.size() < producers * perProducer) {
+                    Integer element = buffer.poll();
+                    if (element == null) {
+                      Thread.yield();
+                    } else if (!consumed.add(element)) {
+                      duplicates++;
+                    }
+                  }
+                  return duplicates;
+                }));
+      }
+
+      for (Future<?> future : producing) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+      for (Future<Integer> future : consuming) {
+        assertThat(future.get(10, TimeUnit.SECONDS)).isZero();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(consumed.size()).isEqualTo(producers * perProducer);
+    assertThat(buffer.isEmpty()).isTrue();
+  }
+}
@@ -0,0 +1,59 @@
+package com.tickatch.logservice.global.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class FailureLogLimiterTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void allowsBurstThenSuppressesWithinWindow() {
+    FailureLogLimiter limiter = new FailureLogLimiter(0.001, 3, registry);
+
+    assertThat(limiter.tryAcquire("q")).isZero();
+    assertThat(limiter.tryAcquire("q")).isZero();
+    assertThat(limiter.tryAcquire("q")).isZero();
+    assertThat(limiter.tryAcquire("q")).isEqualTo(FailureLogLimiter.DENIED);
+    assertThat(limiter.tryAcquire("q")).isEqualTo(FailureLogLimiter.DENIED);
+
+    assertThat(suppressed("q")).isEqualTo(2.0);
+  }
+
+  @Test
+  void reportsSuppressedCountOnceNextWindowOpens() throws Exception {
+    FailureLogLimiter limiter = new FailureLogLimiter(20, 1, registry);
+    assertThat(limiter.tryAcquire("q")).isZero();
+    assertThat(limiter.tryAcquire("q")).isEqualTo(FailureLogLimiter.DENIED);
+    assertThat(limiter.tryAcquire("q")).isEqualTo(FailureLogLimiter.DENIED);
+
+    Thread.sleep(120); // 50ms마다 1건 충전, burst 1로 상한
+
+    assertThat(limiter.tryAcquire("q")).isEqualTo(2L);
+    assertThat(limiter.tryAcquire("q")).isEqualTo(FailureLogLimiter.DENIED);
+    Thread.sleep(120);
+    assertThat(limiter.tryAcquire("q")).isOne();
+  }
+
+  @Test
+  void limitsEachQueueSeparately() {
+    FailureLogLimiter limiter = new FailureLogLimiter(0.001, 1, registry);
+
+    assertThat(limiter.tryAcquire("payment")).isZero();
+    assertThat(limiter.tryAcquire("payment")).isEqualTo(FailureLogLimiter.DENIED);
+    assertThat(limiter.tryAcquire("ticket")).isZero();
+
+    assertThat(suppressed("payment")).isEqualTo(1.0);
+    assertThat(suppressed("ticket")).isZero();
+  }
+
+  private double suppressed(String queue) {
+    return registry
+        .get("log.consumer.failure.log.suppressed")
+        .tag("queue", queue)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,69 @@
+package com.tickatch.logservice.global.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+class RateLimitedListenerErrorHandlerTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final RateLimitedListenerErrorHandler handler =
+      new RateLimitedListenerErrorHandler(new FailureLogLimiter(0.001, 1, registry));
+
+  @Test
+  void limitsFailureLogsPerConsumerQueue() {
+    handler.handleError(failure("payment.log.queue"));
+    handler.handleError(failure("payment.log.queue"));
+    handler.handleError(failure("payment.log.queue"));
+    handler.handleError(failure("ticket.log.queue"));
+
+    assertThat(suppressed("payment.log.queue")).isEqualTo(2.0);
+    assertThat(suppressed("ticket.log.queue")).isZero();
+  }
+
+  @Test
+  void groupsFailuresWithoutMessageUnderUnknownQueue() {
+    handler.handleError(new IllegalStateException("container failure"));
+    handler.handleError(new ListenerExecutionFailedException("failed", new RuntimeException()));
+
+    assertThat(suppressed(RateLimitedListenerErrorHandler.UNKNOWN_QUEUE)).isEqualTo(1.0);
+  }
+
+  @Test
+  void doesNotCountRequeuesAsFailures() {
+    for (int i = 0; i < 3; i++) {
+      handler.handleError(
+          new ListenerExecutionFailedException(
+              "paused",
+              new ImmediateRequeueAmqpException("database unavailable"),
+              message("payment.log.queue")));
+    }
+    handler.handleError(failure("payment.log.queue"));
+
+    assertThat(suppressed("payment.log.queue")).isZero();
+  }
+
+  private static ListenerExecutionFailedException failure(String queue) {
+    return new ListenerExecutionFailedException(
+        "Listener threw exception", new IllegalStateException("boom"), message(queue));
+  }
+
+  private static Message message(String queue) {
+    MessageProperties properties = new MessageProperties();
+    properties.setConsumerQueue(queue);
+    return new Message(new byte[0], properties);
+  }
+
+  private double suppressed(String queue) {
+    return registry
+        .get("log.consumer.failure.log.suppressed")
+        .tag("queue", queue)
+        .counter()
+        .count();
+  }
+}
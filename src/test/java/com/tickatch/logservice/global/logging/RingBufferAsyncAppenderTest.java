@@ -0,0 +1,163 @@
+package com.tickatch.logservice.global.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RingBufferAsyncAppenderTest {
+
+  private final LoggerContext context = new LoggerContext();
+  private final String name = "test-" + UUID.randomUUID();
+  private final StallingAppender output = new StallingAppender();
+  private final RingBufferAsyncAppender appender = new RingBufferAsyncAppender();
+
+  @AfterEach
+  void stop() {
+    output.release.countDown();
+    appender.stop();
+  }
+
+  @Test
+  void deliversEventsInOrderOnWorkerThread() {
+    output.release.countDown();
+    start(128, 0);
+
+    for (int i = 0; i < 100; i++) {
+      append(Level.WARN, "event-" + i);
+    }
+    appender.stop();
+
+    assertThat(output.list).hasSize(100);
+    assertThat(output.list.get(0).getMessage()).isEqualTo("event-0");
+    assertThat(output.list.get(99).getMessage()).isEqualTo("event-99");
+    assertThat(output.threadName).startsWith("async-log-");
+    assertThat(statistics().getOverflowed()).isZero();
+  }
+
+  @Test
+  void dropsAndCountsEventsWhenBufferIsFull() throws Exception {
+    start(4, 0);
+    stallWorker();
+
+    for (int i = 0; i < 7; i++) {
+      append(Level.ERROR, "event-" + i);
+    }
+
+    assertThat(statistics().getQueued()).isEqualTo(4);
+    assertThat(statistics().getOverflowed()).isEqualTo(3L);
+    assertThat(statistics().getDiscarded()).isZero();
+
+    output.release.countDown();
+    appender.stop();
+    assertThat(output.list).hasSize(5); // 워커가 잡고 있던 1건 + 버퍼 4건
+    assertThat(output.list.get(4).getMessage()).isEqualTo("event-3");
+  }
+
+  @Test
+  void discardsInfoUnderPressureButKeepsWarn() throws Exception {
+    start(8, 4);
+    stallWorker();
+    for (int i = 0; i < 4; i++) {
+      append(Level.INFO, "info-" + i); // 남은 용량 8 -> 4
+    }
+
+    append(Level.DEBUG, "debug");
+    append(Level.INFO, "info");
+    append(Level.WARN, "warn");
+
+    assertThat(statistics().getDiscarded()).isEqualTo(2L);
+    assertThat(statistics().getOverflowed()).isZero();
+    assertThat(statistics().getQueued()).isEqualTo(5);
+  }
+
+  @Test
+  void defaultThresholdDiscardsInfoWhenFifthOfBufferRemains() throws Exception {
+    start(10, -1); // 용량 16, 임계치 3
+    stallWorker();
+    for (int i = 0; i < 13; i++) {
+      append(Level.INFO, "info-" + i);
+    }
+
+    append(Level.INFO, "dropped");
+
+    assertThat(statistics().getDiscarded()).isEqualTo(1L);
+    assertThat(statistics().getQueued()).isEqualTo(13);
+  }
+
+  @Test
+  void doesNotStartWithoutAttachedAppenders() {
+    appender.setContext(context);
+    appender.setName(name);
+
+    appender.start();
+
+    assertThat(appender.isStarted()).isFalse();
+  }
+
+  private void start(int bufferSize, int discardingThreshold) {
+    output.setContext(context);
+    output.start();
+    appender.setContext(context);
+    appender.setName(name);
+    appender.setBufferSize(bufferSize);
+    appender.setDiscardingThreshold(discardingThreshold);
+    appender.setMaxFlushTime(2_000);
+    appender.addAppender(output);
+    appender.start();
+  }
+
+  /** 워커가 첫 이벤트를 출력하는 중에 멈추게 하여 이후 이벤트가 버퍼에 쌓이게 한다. */
+  private void stallWorker() throws InterruptedException {
+    append(Level.ERROR, "stall");
+    assertThat(output.entered.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private void append(Level level, String message) {
+    LoggingEvent event = new LoggingEvent();
+    event.setLevel(level);
+    event.setLoggerName("test");
+    event.setMessage(message);
+    event.setMDCPropertyMap(Map.of());
+    appender.doAppend(event);
+  }
+
+  private RingBufferAsyncAppender.Statistics statistics() {
+    List<RingBufferAsyncAppender.Statistics> matching =
+        RingBufferAsyncAppender.statistics().stream()
+            .filter(statistics -> statistics.getAppenderName().equals(name))
+            .toList();
+    assertThat(matching).hasSize(1);
+    return matching.get(0);
+  }
+
+  /** 첫 이벤트에서 {@code release}까지 대기하는 출력 Appender. */
+  private static final class StallingAppender extends ListAppender<ILoggingEvent> {
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile String threadName;
+
+    @Override
+    protected void append(ILoggingEvent event) {
+      threadName = Thread.currentThread().getName();
+      entered.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      super.append(event);
+    }
+  }
+}
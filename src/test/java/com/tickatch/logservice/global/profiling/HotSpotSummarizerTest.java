@@ -0,0 +1,53 @@
+package com.tickatch.logservice.global.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HotSpotSummarizerTest {
+
+  @Test
+  void aggregatesIngestEventsPerQueueSlowestFirst(@TempDir Path directory) throws Exception {
+    Path file = directory.resolve("ingest.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(IngestMessageEvent.class);
+      recording.enable(IngestBatchEvent.class);
+      recording.start();
+      for (int i = 0; i < 100; i++) {
+        IngestMessageEvent event = new IngestMessageEvent();
+        event.begin();
+        event.queue = i % 2 == 0 ? "payment.log" : "auth.log";
+        event.decodeNanos = 2_000;
+        event.persistNanos = i % 2 == 0 ? 50_000 : 10_000;
+        event.failed = i == 0;
+        event.commit();
+      }
+      IngestBatchEvent batch = IngestBatchEvent.start();
+      batch.addDecodeNanos(1_000);
+      batch.finish("reservation-seat.log", 500);
+      recording.stop();
+      recording.dump(file);
+    }
+
+    HotSpotSummary summary = HotSpotSummarizer.summarize(file, null, null, 5);
+
+    assertThat(summary.messages())
+        .extracting(HotSpotSummary.MessageStat::queue)
+        .containsExactly("payment.log", "auth.log");
+    HotSpotSummary.MessageStat payment = summary.messages().get(0);
+    assertThat(payment.messages()).isEqualTo(50);
+    assertThat(payment.failed()).isEqualTo(1);
+    assertThat(payment.meanDecodeMicros()).isEqualTo(2.0);
+    assertThat(payment.meanPersistMicros()).isEqualTo(50.0);
+    assertThat(summary.batches())
+        .singleElement()
+        .satisfies(
+            stat -> {
+              assertThat(stat.queue()).isEqualTo("reservation-seat.log");
+              assertThat(stat.meanBatchSize()).isEqualTo(500.0);
+            });
+  }
+}
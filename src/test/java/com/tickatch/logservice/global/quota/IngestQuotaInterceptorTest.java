@@ -0,0 +1,159 @@
+package com.tickatch.logservice.global.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import com.tickatch.logservice.global.lifecycle.IngestLifecycleCoordinator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+
+class IngestQuotaInterceptorTest {
+
+  private static final IngestQuotaProperties.Budget UNLIMITED =
+      new IngestQuotaProperties.Budget(1_000_000, 1_000_000);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger headroom = new AtomicInteger(ConnectionHeadroom.UNKNOWN);
+
+  @Test
+  void passesThroughWhenDisabled() throws Throwable {
+    IngestQuotaInterceptor interceptor =
+        interceptor(new IngestQuotaProperties(false, null, null, null, 4, null), 10);
+    headroom.set(0);
+
+    assertThat(interceptor.invoke(invocation(LogDomain.PRODUCT, () -> "ok"))).isEqualTo("ok");
+  }
+
+  @Test
+  void requeuesOverBudgetAndLeftoverMessagesUntilPauseExpires() throws Throwable {
+    IngestQuotaProperties properties =
+        new IngestQuotaProperties(
+            true,
+            UNLIMITED,
+            Map.of("product", new IngestQuotaProperties.Budget(1, 2)),
+            Set.of(),
+            0,
+            Duration.ofMillis(1));
+    IngestQuotaInterceptor interceptor = interceptor(properties, 10);
+    AtomicInteger processed = new AtomicInteger();
+
+    interceptor.invoke(invocation(LogDomain.PRODUCT, processed::incrementAndGet));
+    interceptor.invoke(invocation(LogDomain.PRODUCT, processed::incrementAndGet));
+    assertThatThrownBy(
+            () -> interceptor.invoke(invocation(LogDomain.PRODUCT, processed::incrementAndGet)))
+        .isInstanceOf(ImmediateRequeueAmqpException.class)
+        .hasMessageContaining("over budget");
+    assertThatThrownBy(
+            () -> interceptor.invoke(invocation(LogDomain.PRODUCT, processed::incrementAndGet)))
+        .isInstanceOf(ImmediateRequeueAmqpException.class)
+        .hasMessageContaining("paused");
+
+    assertThat(processed).hasValue(2);
+    assertThat(interceptor.invoke(invocation(LogDomain.PAYMENT, () -> "other"))).isEqualTo("other");
+    assertThat(pausedGauge(LogDomain.PRODUCT)).isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get("log.quota.requeued")
+                .tag("queue", LogDomain.PRODUCT.getQueue())
+                .counter()
+                .count())
+        .isEqualTo(2.0);
+  }
+
+  @Test
+  void criticalDomainSkipsLaneWhenPoolIsDownToReservedConnections() throws Throwable {
+    IngestQuotaInterceptor interceptor = interceptor(properties(Duration.ofMillis(1)), 10);
+    headroom.set(4);
+
+    assertThat(interceptor.invoke(invocation(LogDomain.PAYMENT, () -> "payment")))
+        .isEqualTo("payment");
+    assertThatThrownBy(() -> interceptor.invoke(invocation(LogDomain.PRODUCT, () -> "product")))
+        .isInstanceOf(ImmediateRequeueAmqpException.class)
+        .hasMessageContaining("connection pool reserved");
+    assertThat(meterRegistry.get("log.quota.lane.saturated").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void countsConnectionsHeldOutsideListenersAgainstSharedLane() throws Throwable {
+    IngestQuotaInterceptor interceptor = interceptor(properties(Duration.ofMillis(1)), 10);
+    headroom.set(5);
+
+    assertThat(interceptor.invoke(invocation(LogDomain.PRODUCT, () -> "ok"))).isEqualTo("ok");
+
+    // 조회 API가 커넥션 하나를 더 쓰면 공유 레인 세마포어에 여유가 있어도 멈춘다
+    headroom.set(4);
+    assertThatThrownBy(() -> interceptor.invoke(invocation(LogDomain.TICKET, () -> "ok")))
+        .isInstanceOf(ImmediateRequeueAmqpException.class);
+  }
+
+  @Test
+  void requeuesWhenSharedLaneIsFullAndResumesAfterPause() throws Throwable {
+    IngestQuotaInterceptor interceptor = interceptor(properties(Duration.ofMillis(1)), 5);
+
+    Object inner =
+        interceptor.invoke(
+            invocation(
+                LogDomain.PRODUCT,
+                () ->
+                    catchThrowable(
+                        () -> interceptor.invoke(invocation(LogDomain.PRODUCT, () -> "inner")))));
+    assertThat(inner).isInstanceOf(ImmediateRequeueAmqpException.class);
+    assertThat(((Throwable) inner).getMessage()).contains("shared lane full");
+    assertThat(meterRegistry.get("log.quota.lane.available").gauge().value()).isEqualTo(1);
+
+    Thread.sleep(5);
+    interceptor.resumeExpired();
+
+    assertThat(pausedGauge(LogDomain.PRODUCT)).isZero();
+    assertThat(interceptor.invoke(invocation(LogDomain.PRODUCT, () -> "ok"))).isEqualTo("ok");
+  }
+
+  private IngestQuotaProperties properties(Duration minPause) {
+    return new IngestQuotaProperties(true, UNLIMITED, null, Set.of("payment", "auth"), 4, minPause);
+  }
+
+  private IngestQuotaInterceptor interceptor(IngestQuotaProperties properties, int poolSize) {
+    // 수집 파이프라인이 시작 전이라 컨테이너는 건드리지 않는다
+    IngestLifecycleCoordinator coordinator =
+        new IngestLifecycleCoordinator(null, null, null, null, null, false);
+    return new IngestQuotaInterceptor(
+        properties,
+        false,
+        poolSize,
+        new RabbitListenerEndpointRegistry(),
+        coordinator,
+        headroom::get,
+        meterRegistry);
+  }
+
+  private double pausedGauge(LogDomain domain) {
+    return meterRegistry.get("log.quota.paused").tag("queue", domain.getQueue()).gauge().value();
+  }
+
+  private static MethodInvocation invocation(LogDomain domain, Callable<?> listener)
+      throws Throwable {
+    MessageProperties properties = new MessageProperties();
+    properties.setConsumerQueue(domain.getQueue());
+    Object[] arguments = {new Message("{}".getBytes(StandardCharsets.UTF_8), properties)};
+    MethodInvocation invocation = mock(MethodInvocation.class);
+    when(invocation.getArguments()).thenReturn(arguments);
+    when(invocation.proceed()).thenAnswer(call -> listener.call());
+    return invocation;
+  }
+}
@@ -0,0 +1,61 @@
+package com.tickatch.logservice.global.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ThroughputBucketTest {
+
+  @Test
+  void allowsBurstThenReportsWaitUntilRefill() {
+    ThroughputBucket bucket = new ThroughputBucket(1, 3);
+
+    assertThat(bucket.tryReserve(1)).isZero();
+    assertThat(bucket.tryReserve(1)).isZero();
+    assertThat(bucket.tryReserve(1)).isZero();
+    assertThat(bucket.tryReserve(1)).isBetween(900_000_000L, 1_000_000_000L);
+  }
+
+  @Test
+  void tryReserveDoesNotDeductWhenShort() {
+    ThroughputBucket bucket = new ThroughputBucket(0.001, 2);
+    bucket.tryReserve(2);
+
+    long first = bucket.tryReserve(1);
+    long second = bucket.tryReserve(1);
+
+    assertThat(first).isPositive();
+    assertThat(second).isLessThanOrEqualTo(first);
+  }
+
+  @Test
+  void reserveGoesIntoDebtSoCallersQueueUp() {
+    ThroughputBucket bucket = new ThroughputBucket(1, 1);
+
+    assertThat(bucket.reserve()).isZero();
+    long first = bucket.reserve();
+    long second = bucket.reserve();
+
+    assertThat(first).isBetween(900_000_000L, 1_000_000_000L);
+    assertThat(second).isBetween(1_900_000_000L, 2_000_000_000L);
+  }
+
+  @Test
+  void refillsAtConfiguredRateUpToBurst() throws InterruptedException {
+    ThroughputBucket bucket = new ThroughputBucket(1_000, 2);
+    bucket.tryReserve(2);
+
+    Thread.sleep(50);
+
+    assertThat(bucket.tryReserve(2)).isZero();
+    assertThat(bucket.tryReserve(1)).isPositive();
+  }
+
+  @Test
+  void allowsRequestLargerThanBurstOnlyFromFullBucket() {
+    ThroughputBucket bucket = new ThroughputBucket(0.001, 2);
+
+    assertThat(bucket.tryReserve(5)).isZero();
+    assertThat(bucket.tryReserve(5)).isPositive();
+  }
+}
@@ -0,0 +1,39 @@
+package com.tickatch.logservice.global.recent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ActionDictionaryTest {
+
+  private final ActionDictionary dictionary = new ActionDictionary();
+
+  @Test
+  void assignsSequentialCodesAndReusesExistingOnes() {
+    assertThat(dictionary.encode("CREATED")).isZero();
+    assertThat(dictionary.encode("CANCELED")).isEqualTo(1);
+    assertThat(dictionary.encode("CREATED")).isZero();
+
+    assertThat(dictionary.names()).containsExactly("CREATED", "CANCELED");
+  }
+
+  @Test
+  void lookupDoesNotAssignCodes() {
+    dictionary.encode("CREATED");
+
+    assertThat(dictionary.lookup("CREATED")).isZero();
+    assertThat(dictionary.lookup("UNKNOWN")).isEqualTo(ActionDictionary.ABSENT);
+    assertThat(dictionary.names()).hasSize(1);
+  }
+
+  @Test
+  void namesSnapshotIsNotChangedByLaterEncodes() {
+    dictionary.encode("CREATED");
+    String[] snapshot = dictionary.names();
+
+    dictionary.encode("CANCELED");
+
+    assertThat(snapshot).containsExactly("CREATED");
+    assertThat(dictionary.names()).hasSize(2);
+  }
+}
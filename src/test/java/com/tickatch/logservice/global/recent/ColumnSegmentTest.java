@@ -0,0 +1,69 @@
+package com.tickatch.logservice.global.recent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ColumnSegmentTest {
+
+  private static final long NO = ColumnSegment.NO_ID;
+
+  @Test
+  void countsRowsInsideInclusiveRangeByActionCode() {
+    ColumnSegment segment = new ColumnSegment(8);
+    segment.append(100, 0, NO, 1, NO, 10);
+    segment.append(200, 1, NO, 1, NO, 10);
+    segment.append(300, 0, NO, 2, NO, 20);
+    segment.append(400, 1, NO, 2, NO, 20);
+
+    long[] counts = new long[2];
+    segment.countByAction(200, 300, false, 0, 0, false, 0, 0, counts);
+
+    assertThat(counts).containsExactly(1L, 1L);
+  }
+
+  @Test
+  void filtersByEntityAndActorOnBothHalves() {
+    ColumnSegment segment = new ColumnSegment(8);
+    segment.append(100, 0, 7, 1, 9, 10);
+    segment.append(100, 0, 8, 1, 9, 10); // 하위 long만 같은 다른 엔티티
+    segment.append(100, 0, 7, 1, 9, 11);
+
+    long[] byEntity = new long[1];
+    segment.countByAction(0, 1_000, true, 7, 1, false, 0, 0, byEntity);
+    long[] byBoth = new long[1];
+    segment.countByAction(0, 1_000, true, 7, 1, true, 9, 10, byBoth);
+
+    assertThat(byEntity).containsExactly(2L);
+    assertThat(byBoth).containsExactly(1L);
+  }
+
+  @Test
+  void skipsSegmentOutsideRangeAndIgnoresCodesBeyondCounts() {
+    ColumnSegment segment = new ColumnSegment(8);
+    segment.append(500, 0, NO, 1, NO, 1);
+    segment.append(600, 3, NO, 1, NO, 1);
+
+    long[] before = new long[4];
+    segment.countByAction(0, 499, false, 0, 0, false, 0, 0, before);
+    long[] narrow = new long[1];
+    segment.countByAction(0, 1_000, false, 0, 0, false, 0, 0, narrow);
+
+    assertThat(before).containsExactly(0L, 0L, 0L, 0L);
+    assertThat(narrow).containsExactly(1L);
+  }
+
+  @Test
+  void tracksFullnessAndMaxOccurredAt() {
+    ColumnSegment segment = new ColumnSegment(2);
+    segment.append(300, 0, NO, 1, NO, 1);
+    assertThat(segment.isFull()).isFalse();
+
+    segment.append(100, 0, NO, 1, NO, 1);
+
+    assertThat(segment.isFull()).isTrue();
+    assertThat(segment.size()).isEqualTo(2);
+    assertThat(segment.maxOccurredAt()).isEqualTo(300L);
+    assertThat(segment.bytes()).isEqualTo(2L * ColumnSegment.BYTES_PER_ROW);
+  }
+}
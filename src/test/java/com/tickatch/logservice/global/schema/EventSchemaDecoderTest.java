@@ -0,0 +1,65 @@
+package com.tickatch.logservice.global.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tickatch.logservice.global.config.rabbitmq.LogDomain;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+class EventSchemaDecoderTest {
+
+  private static final String SPOOFED = "{\"isAdmin\":true}";
+
+  @Test
+  void dropsOverflowHeaderSentByPublisher() throws Exception {
+    EventSchemaDecoder decoder = decoder(true);
+    Message message =
+        message(
+            LogDomain.PAYMENT.getQueue(),
+            "{\"eventId\":\"e1\",\"paymentId\":\"p1\",\"actionType\":\"PAID\"}");
+
+    Message decoded = decoder.postProcessMessage(message);
+
+    assertThat(decoded.getMessageProperties().getHeaders())
+        .doesNotContainKey(EventSchemaHeaders.OVERFLOW);
+  }
+
+  @Test
+  void replacesSpoofedOverflowWithFieldsMissingFromSchema() throws Exception {
+    EventSchemaDecoder decoder = decoder(true);
+    Message message =
+        message(LogDomain.PAYMENT.getQueue(), "{\"eventId\":\"e1\",\"coupon\":\"WELCOME\"}");
+
+    Message decoded = decoder.postProcessMessage(message);
+
+    Object overflow = decoded.getMessageProperties().getHeader(EventSchemaHeaders.OVERFLOW);
+    assertThat(overflow).isEqualTo("{\"coupon\":\"WELCOME\"}");
+  }
+
+  @Test
+  void dropsOverflowHeaderWhenSchemaHandlingIsDisabled() throws Exception {
+    EventSchemaDecoder decoder = decoder(false);
+    Message message = message(LogDomain.PAYMENT.getQueue(), "{\"eventId\":\"e1\"}");
+
+    Message decoded = decoder.postProcessMessage(message);
+
+    assertThat(decoded.getMessageProperties().getHeaders())
+        .doesNotContainKey(EventSchemaHeaders.OVERFLOW);
+  }
+
+  private static EventSchemaDecoder decoder(boolean enabled) throws Exception {
+    EventSchemaProperties properties = new EventSchemaProperties(enabled, null);
+    return new EventSchemaDecoder(
+        new EventSchemaRegistry(properties), properties, false, new SimpleMeterRegistry());
+  }
+
+  private static Message message(String queue, String body) {
+    MessageProperties properties = new MessageProperties();
+    properties.setConsumerQueue(queue);
+    properties.setHeader(EventSchemaHeaders.OVERFLOW, SPOOFED);
+    return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+  }
+}
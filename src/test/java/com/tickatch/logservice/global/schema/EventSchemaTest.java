@@ -0,0 +1,64 @@
+package com.tickatch.logservice.global.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+class EventSchemaTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final String SCHEMA =
+      """
+      {
+        "domain": "product",
+        "versions": [
+          { "version": 1 },
+          { "version": 2,
+            "upcast": { "renameFields": { "productNo": "productCode" },
+                        "renameActions": { "OPENED": "SALE_OPENED" } } },
+          { "version": 3,
+            "fields": ["eventId", "productId", "actionType", "actorType"],
+            "upcast": { "renameFields": { "productCode": "productId" },
+                        "renameActions": { "SALE_OPENED": "SALE_STARTED" },
+                        "defaults": { "actorType": "SYSTEM" } } }
+        ]
+      }
+      """;
+
+  @Test
+  void oldestVersionIsUpcastThroughAllSteps() throws Exception {
+    EventSchema schema = compile();
+    ObjectNode body = body("{\"eventId\":\"e1\",\"productNo\":7,\"actionType\":\"OPENED\"}");
+
+    ObjectNode overflow = schema.upcast(body, 1);
+
+    assertThat(body.get("productId").asLong()).isEqualTo(7);
+    assertThat(body.get("actionType").asText()).isEqualTo("SALE_STARTED");
+    assertThat(body.get("actorType").asText()).isEqualTo("SYSTEM");
+    assertThat(body.has("productNo")).isFalse();
+    assertThat(overflow).isNull();
+  }
+
+  @Test
+  void unknownFieldsMoveToOverflow() throws Exception {
+    EventSchema schema = compile();
+    ObjectNode body =
+        body("{\"eventId\":\"e1\",\"productId\":7,\"actionType\":\"CREATED\",\"venue\":\"A\"}");
+
+    ObjectNode overflow = schema.upcast(body, 4);
+
+    assertThat(body.has("venue")).isFalse();
+    assertThat(overflow.get("venue").asText()).isEqualTo("A");
+  }
+
+  private static EventSchema compile() throws Exception {
+    return EventSchema.compile(MAPPER.readValue(SCHEMA, EventSchemaDefinition.class));
+  }
+
+  private static ObjectNode body(String json) throws Exception {
+    return (ObjectNode) MAPPER.readTree(json);
+  }
+}
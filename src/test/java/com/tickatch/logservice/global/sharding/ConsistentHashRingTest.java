@@ -0,0 +1,40 @@
+package com.tickatch.logservice.global.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+  private static final List<String> KEYS =
+      IntStream.range(0, 1_000).mapToObj(i -> "payment#" + i).toList();
+
+  @Test
+  void sameMembersResolveSameOwnerRegardlessOfOrder() {
+    ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+    ConsistentHashRing reordered = new ConsistentHashRing(List.of("c", "a", "b"), 64);
+
+    KEYS.forEach(key -> assertThat(reordered.ownerOf(key)).isEqualTo(ring.ownerOf(key)));
+  }
+
+  @Test
+  void addingMemberMovesOnlyKeysToNewMember() {
+    ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+    ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 64);
+
+    long moved =
+        KEYS.stream()
+            .filter(key -> !before.ownerOf(key).equals(after.ownerOf(key)))
+            .peek(key -> assertThat(after.ownerOf(key)).isEqualTo("d"))
+            .count();
+
+    assertThat(moved).isBetween(100L, 400L);
+  }
+
+  @Test
+  void emptyRingHasNoOwner() {
+    assertThat(new ConsistentHashRing(List.of(), 64).ownerOf("key")).isNull();
+  }
+}
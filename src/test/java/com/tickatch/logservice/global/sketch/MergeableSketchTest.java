@@ -0,0 +1,53 @@
+package com.tickatch.logservice.global.sketch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class MergeableSketchTest {
+
+  @Test
+  void hyperLogLogMergeEstimatesUnionWithinErrorBound() {
+    HyperLogLog first = new HyperLogLog(12);
+    HyperLogLog second = new HyperLogLog(12);
+    for (int i = 0; i < 60_000; i++) {
+      UUID user = new UUID(0, i);
+      (i < 40_000 ? first : second).add(user);
+      if (i >= 20_000 && i < 40_000) {
+        second.add(user); // 두 버킷에 모두 나타난 사용자
+      }
+    }
+
+    HyperLogLog merged = HyperLogLog.fromBytes(first.toBytes());
+    merged.merge(second);
+
+    double bound = 3 * merged.relativeStandardError() * 60_000;
+    assertThat((double) merged.estimate()).isCloseTo(60_000, within(bound));
+  }
+
+  @Test
+  void countMinTopKKeepsHeavyHittersAcrossMerge() {
+    CountMinTopK first = new CountMinTopK(1024, 4, 10);
+    CountMinTopK second = new CountMinTopK(1024, 4, 10);
+    for (int i = 0; i < 20_000; i++) {
+      first.add("seat-" + i); // 한 번씩만 나온 좌석
+      if (i % 4 == 0) {
+        second.add("hot-" + (i % 40)); // 10개 좌석에 500건씩
+      }
+    }
+
+    CountMinTopK merged = CountMinTopK.fromBytes(first.toBytes());
+    merged.merge(second);
+
+    assertThat(merged.total()).isEqualTo(25_000);
+    assertThat(merged.top(10))
+        .extracting(Map.Entry::getKey)
+        .allMatch(item -> item.startsWith("hot-"));
+    assertThat(merged.top(10))
+        .allSatisfy(
+            entry -> assertThat(entry.getValue()).isBetween(500L, 500L + merged.errorBound()));
+  }
+}
@@ -0,0 +1,85 @@
+package com.tickatch.logservice.global.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+/** 브로커 없이 워커를 검증하기 위한 메모리 스트림. 구독마다 별도 스레드가 오프셋 순서대로 전달한다. */
+final class InMemoryStreamSource implements StreamSource {
+
+  private final Map<String, List<Entry>> streams = new HashMap<>();
+
+  synchronized void publish(String stream, String body) {
+    streams
+        .computeIfAbsent(stream, key -> new ArrayList<>())
+        .add(new Entry(System.currentTimeMillis(), body));
+  }
+
+  @Override
+  public Subscription subscribe(
+      String stream,
+      String consumerName,
+      Supplier<StreamPosition> position,
+      Consumer<StreamRecord> handler) {
+    long start = resolve(stream, position.get());
+    Thread thread =
+        Thread.ofPlatform()
+            .daemon()
+            .start(
+                () -> {
+                  long offset = start;
+                  while (!Thread.currentThread().isInterrupted()) {
+                    Entry entry = entryAt(stream, offset);
+                    if (entry == null) {
+                      try {
+                        Thread.sleep(5);
+                      } catch (InterruptedException e) {
+                        return;
+                      }
+                      continue;
+                    }
+                    handler.accept(new StreamRecord(offset++, entry.toMessage()));
+                  }
+                });
+    return thread::interrupt;
+  }
+
+  @Override
+  public synchronized long lastOffset(String stream) {
+    return streams.getOrDefault(stream, List.of()).size() - 1;
+  }
+
+  private synchronized Entry entryAt(String stream, long offset) {
+    List<Entry> entries = streams.getOrDefault(stream, List.of());
+    return offset < entries.size() ? entries.get((int) offset) : null;
+  }
+
+  private synchronized long resolve(String stream, StreamPosition position) {
+    List<Entry> entries = streams.getOrDefault(stream, List.of());
+    return switch (position.kind()) {
+      case FIRST -> 0;
+      case NEXT -> entries.size();
+      case OFFSET -> position.value();
+      case TIMESTAMP -> {
+        int offset = 0;
+        while (offset < entries.size() && entries.get(offset).timestamp() < position.value()) {
+          offset++;
+        }
+        yield offset;
+      }
+    };
+  }
+
+  private record Entry(long timestamp, String body) {
+
+    Message toMessage() {
+      return new Message(body.getBytes(StandardCharsets.UTF_8), new MessageProperties());
+    }
+  }
+}
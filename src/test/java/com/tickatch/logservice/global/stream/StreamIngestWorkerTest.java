@@ -0,0 +1,232 @@
+package com.tickatch.logservice.global.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import com.tickatch.logservice.global.logging.FailureLogLimiter;
+import com.tickatch.logservice.global.stream.StreamIngestStatus.State;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+class StreamIngestWorkerTest {
+
+  private static final String STREAM = "tickatch.payment.log.queue.stream";
+  private static final String CONSUMER = "log-service";
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final InMemoryStreamSource source = new InMemoryStreamSource();
+  private final InMemoryOffsetStore offsetStore = new InMemoryOffsetStore();
+  private final List<Long> written = new CopyOnWriteArrayList<>();
+  private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+  private final List<Long> deadLettered = new CopyOnWriteArrayList<>();
+  private StreamIngestWorker worker;
+
+  @AfterEach
+  void stopWorker() {
+    if (worker != null) {
+      worker.stop(Duration.ofSeconds(1));
+    }
+  }
+
+  @Test
+  void writesInBatchesAndCommitsNextOffset() {
+    publish(5);
+
+    worker = startWorker(StreamIngestWorker.UNBOUNDED, offset -> false);
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> written.size() == 5);
+    assertThat(written).containsExactly(0L, 1L, 2L, 3L, 4L);
+    assertThat(batchSizes).allMatch(size -> size <= 2);
+    await().until(() -> offsetStore.nextOffset() == 5);
+  }
+
+  @Test
+  void resumesFromCommittedOffsetAfterRestart() {
+    publish(3);
+    worker = startWorker(StreamIngestWorker.UNBOUNDED, offset -> false);
+    await().atMost(Duration.ofSeconds(5)).until(() -> offsetStore.nextOffset() == 3);
+    worker.stop(Duration.ofSeconds(1));
+    written.clear();
+
+    publish(2);
+    worker = startWorker(StreamIngestWorker.UNBOUNDED, offset -> false);
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> written.size() == 2);
+    assertThat(written).containsExactly(3L, 4L);
+  }
+
+  @Test
+  void deadLettersFailingMessageAndKeepsTheRestOfTheBatch() {
+    publish(5);
+
+    worker =
+        startWorker(
+            StreamIngestWorker.UNBOUNDED,
+            offset -> offset == 2,
+            (record, cause) -> deadLettered.add(record.offset()));
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> offsetStore.nextOffset() == 5);
+    assertThat(written).containsExactlyInAnyOrder(0L, 1L, 3L, 4L);
+    assertThat(deadLettered).containsExactly(2L);
+    StreamIngestStatus status = worker.status("payment", "p_payment_log");
+    assertThat(status.deadLettered()).isEqualTo(1);
+    assertThat(status.skipped()).isZero();
+  }
+
+  @Test
+  void holdsOffsetUntilDeadLetterSucceeds() {
+    publish(5);
+    AtomicInteger attempts = new AtomicInteger();
+
+    worker =
+        startWorker(
+            StreamIngestWorker.UNBOUNDED,
+            offset -> offset == 2,
+            (record, cause) -> {
+              if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("broker unavailable");
+              }
+              deadLettered.add(record.offset());
+            });
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> offsetStore.nextOffset() == 5);
+    assertThat(attempts).hasValue(3);
+    assertThat(deadLettered).containsExactly(2L);
+    assertThat(written).containsExactlyInAnyOrder(0L, 1L, 3L, 4L);
+  }
+
+  @Test
+  void skipsFailingMessageWithoutDeadLetterTarget() {
+    publish(5);
+
+    worker = startWorker(StreamIngestWorker.UNBOUNDED, offset -> offset == 2, null);
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> offsetStore.nextOffset() == 5);
+    assertThat(written).containsExactlyInAnyOrder(0L, 1L, 3L, 4L);
+    assertThat(worker.status("payment", "p_payment_log").skipped()).isEqualTo(1);
+  }
+
+  @Test
+  void resubscribesFromRewoundPosition() {
+    publish(3);
+    worker = startWorker(StreamIngestWorker.UNBOUNDED, offset -> false);
+    await().atMost(Duration.ofSeconds(5)).until(() -> offsetStore.nextOffset() == 3);
+
+    offsetStore.reset(STREAM, CONSUMER, StreamPosition.offset(1));
+    written.clear();
+    publish(1);
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> written.containsAll(Set.of(1L, 2L, 3L)));
+    await().until(() -> offsetStore.nextOffset() == 4);
+  }
+
+  @Test
+  void replayStopsAtLastOffset() {
+    publish(5);
+
+    worker = startWorker(2, offset -> false);
+
+    await().atMost(Duration.ofSeconds(5)).until(() -> worker.state() == State.DONE);
+    assertThat(written).containsExactly(0L, 1L, 2L);
+  }
+
+  private StreamIngestWorker startWorker(long lastOffset, LongPredicate failing) {
+    return startWorker(lastOffset, failing, null);
+  }
+
+  private StreamIngestWorker startWorker(
+      long lastOffset, LongPredicate failing, StreamDeadLetters deadLetters) {
+    StreamProperties properties =
+        new StreamProperties(
+            true, null, 2, Duration.ofMillis(20), 0, Duration.ofMillis(10), "first", null);
+    StreamIngestWorker started =
+        new StreamIngestWorker(
+            STREAM,
+            CONSUMER,
+            true,
+            lastOffset,
+            source,
+            offsetStore,
+            records -> {
+              for (StreamRecord record : records) {
+                if (failing.test(record.offset())) {
+                  throw new IllegalStateException("poison message " + record.offset());
+                }
+              }
+              // 트랜잭션이 없으므로 배치가 끝까지 성공했을 때만 반영한다.
+              batchSizes.add(records.size());
+              records.forEach(record -> written.add(record.offset()));
+            },
+            deadLetters,
+            TransactionOperations.withoutTransaction(),
+            properties,
+            new FailureLogLimiter(1, 5, meterRegistry),
+            meterRegistry);
+    started.start(properties.initial());
+    return started;
+  }
+
+  private void publish(int count) {
+    for (int i = 0; i < count; i++) {
+      source.publish(STREAM, "{\"eventId\":\"" + i + "\"}");
+    }
+  }
+
+  /** 세대 비교와 역행 방지를 JDBC 구현과 같게 흉내 낸 메모리 저장소. */
+  private static final class InMemoryOffsetStore implements StreamOffsetStore {
+
+    private final Map<String, Checkpoint> checkpoints = new HashMap<>();
+
+    @Override
+    public synchronized Optional<Checkpoint> load(String stream, String consumerName) {
+      return Optional.ofNullable(checkpoints.get(stream + "/" + consumerName));
+    }
+
+    @Override
+    public synchronized boolean commit(
+        String stream, String consumerName, long generation, long nextOffset) {
+      String key = stream + "/" + consumerName;
+      Checkpoint current = checkpoints.get(key);
+      if (current != null
+          && (current.generation() != generation
+              || (current.position().kind() == StreamPosition.Kind.OFFSET
+                  && current.position().value() > nextOffset))) {
+        return false;
+      }
+      checkpoints.put(key, new Checkpoint(StreamPosition.offset(nextOffset), generation));
+      return true;
+    }
+
+    @Override
+    public synchronized boolean initialize(
+        String stream, String consumerName, StreamPosition position) {
+      return checkpoints.putIfAbsent(stream + "/" + consumerName, new Checkpoint(position, 1))
+          == null;
+    }
+
+    @Override
+    public synchronized void reset(String stream, String consumerName, StreamPosition position) {
+      String key = stream + "/" + consumerName;
+      Checkpoint current = checkpoints.get(key);
+      checkpoints.put(
+          key, new Checkpoint(position, current == null ? 1 : current.generation() + 1));
+    }
+
+    synchronized long nextOffset() {
+      Checkpoint checkpoint = checkpoints.get(STREAM + "/" + CONSUMER);
+      return checkpoint == null ? -1 : checkpoint.position().value();
+    }
+  }
+}
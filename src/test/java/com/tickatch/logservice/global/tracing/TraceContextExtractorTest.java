@@ -0,0 +1,38 @@
+package com.tickatch.logservice.global.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessageProperties;
+
+class TraceContextExtractorTest {
+
+  @Test
+  void readsW3cTraceparentAsFullTraceId() {
+    MessageProperties properties = new MessageProperties();
+    properties.setHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+    TraceParent parent = TraceContextExtractor.extract(properties).orElseThrow();
+
+    assertThat(parent.traceId()).isEqualTo(UUID.fromString("4bf92f35-77b3-4da6-a3ce-929d0e0e4736"));
+    assertThat(parent.traceIdHex()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+    assertThat(parent.spanIdHex()).isEqualTo("00f067aa0ba902b7");
+  }
+
+  @Test
+  void padsShortB3TraceIdAndIgnoresSamplingOnlyHeader() {
+    MessageProperties sampledOnly = new MessageProperties();
+    sampledOnly.setHeader("b3", "1");
+    assertThat(TraceContextExtractor.extract(sampledOnly)).isEmpty();
+
+    MessageProperties properties = new MessageProperties();
+    properties.setHeader("b3", "463ac35c9f6413ad-a2fb4a1d1a96d312-1");
+
+    TraceParent parent = TraceContextExtractor.extract(properties).orElseThrow();
+
+    assertThat(parent.traceId()).isEqualTo(new UUID(0, 0x463ac35c9f6413adL));
+    assertThat(parent.traceIdHex()).isEqualTo("463ac35c9f6413ad");
+    assertThat(TraceParent.parseTraceId(parent.traceId().toString())).contains(parent.traceId());
+  }
+}
@@ -0,0 +1,138 @@
+package com.tickatch.logservice.projection.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tickatch.logservice.projection.domain.EntitySnapshot;
+import com.tickatch.logservice.projection.domain.EntityState;
+import com.tickatch.logservice.projection.domain.EntityStateData;
+import com.tickatch.logservice.projection.domain.EntityType;
+import com.tickatch.logservice.projection.domain.ProjectionEvent;
+import com.tickatch.logservice.projection.domain.repository.EntitySnapshotRepository;
+import com.tickatch.logservice.projection.domain.repository.EntityStateRepository;
+import com.tickatch.logservice.projection.domain.repository.ProjectionEventReader;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectionServiceTest {
+
+  private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+  @Mock private EntityStateRepository stateRepository;
+  @Mock private EntitySnapshotRepository snapshotRepository;
+  @Mock private ProjectionEventReader eventReader;
+
+  private final EntityState state = EntityState.empty(EntityType.RESERVATION, "r-1");
+
+  @BeforeEach
+  void setUp() {
+    when(stateRepository.findForUpdate(EntityState.idOf(EntityType.RESERVATION, "r-1")))
+        .thenReturn(Optional.of(state));
+  }
+
+  @Test
+  void takesSnapshotEveryInterval() {
+    ProjectionService service = service(2);
+
+    service.apply(event("CREATED", T0));
+    service.apply(event("CONFIRMED", T0.plusSeconds(1)));
+    service.apply(event("CANCELED", T0.plusSeconds(2)));
+
+    ArgumentCaptor<EntitySnapshot> saved = ArgumentCaptor.forClass(EntitySnapshot.class);
+    verify(snapshotRepository).save(saved.capture());
+    assertThat(saved.getValue().getAsOf()).isEqualTo(T0.plusSeconds(1));
+    assertThat(saved.getValue().getEventCount()).isEqualTo(2);
+  }
+
+  @Test
+  void rebuildsSnapshotAtIntervalPositionAfterLateEventInvalidatesIt() {
+    ProjectionService service = service(2);
+    ProjectionEvent created = event("CREATED", T0);
+    ProjectionEvent confirmed = event("CONFIRMED", T0.plusSeconds(1));
+    ProjectionEvent canceled = event("CANCELED", T0.plusSeconds(2));
+    service.apply(confirmed);
+    service.apply(canceled);
+    when(snapshotRepository.deleteInvalidated(EntityType.RESERVATION, "r-1", T0)).thenReturn(1);
+    when(eventReader.read(EntityType.RESERVATION, "r-1", null, null, T0.plusSeconds(2)))
+        .thenReturn(List.of(created, confirmed, canceled));
+
+    service.apply(created);
+
+    ArgumentCaptor<EntitySnapshot> saved = ArgumentCaptor.forClass(EntitySnapshot.class);
+    verify(snapshotRepository, times(2)).save(saved.capture());
+    EntitySnapshot rebuilt = saved.getAllValues().get(1);
+    assertThat(rebuilt.getStatus()).isEqualTo("CONFIRMED");
+    assertThat(rebuilt.getAsOf()).isEqualTo(T0.plusSeconds(1));
+    assertThat(rebuilt.getFirstOccurredAt()).isEqualTo(T0);
+    assertThat(rebuilt.getEventCount()).isEqualTo(2);
+  }
+
+  @Test
+  void rebuildsFromNearestSurvivingSnapshot() {
+    ProjectionService service = service(2);
+    ProjectionEvent created = event("CREATED", T0);
+    ProjectionEvent confirmed = event("CONFIRMED", T0.plusSeconds(1));
+    ProjectionEvent late = event("MODIFIED", T0.plusSeconds(2));
+    ProjectionEvent canceled = event("CANCELED", T0.plusSeconds(3));
+    ProjectionEvent refunded = event("REFUNDED", T0.plusSeconds(4));
+    for (ProjectionEvent event : List.of(created, confirmed, canceled, refunded)) {
+      state.apply(event);
+    }
+    EntityStateData surviving = EntityStateData.EMPTY.apply(created).apply(confirmed);
+    when(snapshotRepository.deleteInvalidated(EntityType.RESERVATION, "r-1", T0.plusSeconds(2)))
+        .thenReturn(1);
+    when(snapshotRepository.findFirstByEntityTypeAndEntityIdAndAsOfLessThanEqualOrderByAsOfDesc(
+            EntityType.RESERVATION, "r-1", T0.plusSeconds(2)))
+        .thenReturn(Optional.of(EntitySnapshot.of(EntityType.RESERVATION, "r-1", surviving)));
+    when(eventReader.read(
+            EntityType.RESERVATION,
+            "r-1",
+            T0.plusSeconds(1),
+            confirmed.eventId(),
+            T0.plusSeconds(4)))
+        .thenReturn(List.of(late, canceled, refunded));
+
+    service.apply(late);
+
+    ArgumentCaptor<EntitySnapshot> saved = ArgumentCaptor.forClass(EntitySnapshot.class);
+    verify(snapshotRepository).save(saved.capture());
+    assertThat(saved.getValue().getStatus()).isEqualTo("CANCELED");
+    assertThat(saved.getValue().getAsOf()).isEqualTo(T0.plusSeconds(3));
+    assertThat(saved.getValue().getEventCount()).isEqualTo(4);
+  }
+
+  @Test
+  void lateEventWithoutInvalidatedSnapshotDoesNotSnapshot() {
+    ProjectionService service = service(10);
+    service.apply(event("CONFIRMED", T0.plusSeconds(1)));
+
+    service.apply(event("CREATED", T0));
+
+    verify(snapshotRepository, never()).save(any(EntitySnapshot.class));
+    verify(eventReader, never()).read(any(), anyString(), any(), any(), any());
+  }
+
+  private ProjectionService service(int snapshotInterval) {
+    return new ProjectionService(
+        stateRepository, snapshotRepository, eventReader, snapshotInterval);
+  }
+
+  private static ProjectionEvent event(String actionType, LocalDateTime occurredAt) {
+    return new ProjectionEvent(
+        EntityType.RESERVATION, "r-1", UUID.randomUUID(), actionType, null, null, occurredAt);
+  }
+}
@@ -0,0 +1,103 @@
+package com.tickatch.logservice.projection.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EntityStateDataTest {
+
+  private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+  // 부호 있는 비교(UUID.compareTo)로는 HIGH_ID가 더 작다
+  private static final UUID LOW_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+  private static final UUID HIGH_ID = UUID.fromString("ffffffff-0000-0000-0000-000000000001");
+
+  @Test
+  void laterEventReplacesStatus() {
+    EntityStateData data =
+        EntityStateData.EMPTY
+            .apply(event(UUID.randomUUID(), "CREATED", T0))
+            .apply(event(UUID.randomUUID(), "CONFIRMED", T0.plusSeconds(1)));
+
+    assertThat(data.status()).isEqualTo("CONFIRMED");
+    assertThat(data.lastOccurredAt()).isEqualTo(T0.plusSeconds(1));
+    assertThat(data.eventCount()).isEqualTo(2);
+  }
+
+  @Test
+  void lateEventOnlyCountsAndMovesFirstOccurredAt() {
+    EntityStateData data =
+        EntityStateData.EMPTY
+            .apply(event(UUID.randomUUID(), "CONFIRMED", T0.plusSeconds(1)))
+            .apply(event(UUID.randomUUID(), "CREATED", T0));
+
+    assertThat(data.status()).isEqualTo("CONFIRMED");
+    assertThat(data.firstOccurredAt()).isEqualTo(T0);
+    assertThat(data.lastOccurredAt()).isEqualTo(T0.plusSeconds(1));
+    assertThat(data.eventCount()).isEqualTo(2);
+  }
+
+  @Test
+  void sameTimeEventsResolveByUnsignedIdRegardlessOfArrival() {
+    ProjectionEvent low = event(LOW_ID, "CANCELED", T0);
+    ProjectionEvent high = event(HIGH_ID, "CONFIRMED", T0);
+
+    EntityStateData lowFirst = EntityStateData.EMPTY.apply(low).apply(high);
+    EntityStateData highFirst = EntityStateData.EMPTY.apply(high).apply(low);
+
+    assertThat(lowFirst.status()).isEqualTo("CONFIRMED");
+    assertThat(highFirst).isEqualTo(lowFirst);
+  }
+
+  @Test
+  void liveApplyInAnyArrivalOrderMatchesReplayInLogOrder() {
+    List<ProjectionEvent> events =
+        List.of(
+            event(HIGH_ID, "CONFIRMED", T0.plusSeconds(1)),
+            event(UUID.randomUUID(), "CREATED", T0),
+            event(LOW_ID, "CANCELED", T0.plusSeconds(1)),
+            event(UUID.randomUUID(), "REFUNDED", T0.plusSeconds(2)));
+
+    List<ProjectionEvent> logOrder = new ArrayList<>(events);
+    logOrder.sort(
+        Comparator.comparing(ProjectionEvent::occurredAt)
+            .thenComparing(
+                ProjectionEvent::eventId, (a, b) -> EntityStateData.compare(T0, a, T0, b)));
+    EntityStateData replayed = fold(logOrder);
+
+    for (int shift = 0; shift < events.size(); shift++) {
+      List<ProjectionEvent> arrival = new ArrayList<>(events.subList(shift, events.size()));
+      arrival.addAll(events.subList(0, shift));
+      assertThat(fold(arrival)).isEqualTo(replayed);
+    }
+    assertThat(replayed.status()).isEqualTo("REFUNDED");
+  }
+
+  @Test
+  void supersededByComparesTimeThenId() {
+    EntityStateData data = EntityStateData.EMPTY.apply(event(LOW_ID, "CREATED", T0));
+
+    assertThat(data.supersededBy(event(HIGH_ID, "X", T0))).isTrue();
+    assertThat(data.supersededBy(event(HIGH_ID, "X", T0.minusNanos(1000)))).isFalse();
+    assertThat(data.supersededBy(event(LOW_ID, "X", T0))).isFalse();
+    assertThat(EntityStateData.EMPTY.supersededBy(event(LOW_ID, "X", T0))).isTrue();
+  }
+
+  private static EntityStateData fold(List<ProjectionEvent> events) {
+    EntityStateData data = EntityStateData.EMPTY;
+    for (ProjectionEvent event : events) {
+      data = data.apply(event);
+    }
+    return data;
+  }
+
+  private static ProjectionEvent event(UUID eventId, String actionType, LocalDateTime occurredAt) {
+    return new ProjectionEvent(
+        EntityType.RESERVATION, "r-1", eventId, actionType, null, null, occurredAt);
+  }
+}